@@ -0,0 +1,513 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.conformance.tests.performance.concurrent;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.odpi.openmetadata.conformance.tests.performance.OpenMetadataPerformanceTestCase;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceProfile;
+import org.odpi.openmetadata.conformance.workbenches.performance.PerformanceWorkPad;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Test performance of a mix of read and write operations made by several clients at the same time.
+ * <p>
+ * Each client makes requests until the warm-up and measurement periods have passed.  The latency of each request is
+ * recorded in a histogram for its operation, and the histograms are reset at the end of the warm-up so that only the
+ * measurement period is reported.  When a target rate is set, each client works to a fixed schedule and latency is
+ * measured from the time the request should have started, so that a slow response does not hide the requests that
+ * queue behind it.
+ */
+public class TestConcurrentLoad extends OpenMetadataPerformanceTestCase
+{
+
+    private static final String TEST_CASE_ID   = "repository-concurrent-load-performance";
+    private static final String TEST_CASE_NAME = "Repository concurrent load performance test case";
+
+    private static final String A_FIND_ENTITIES     = TEST_CASE_ID + "-findEntities";
+    private static final String A_FIND_ENTITIES_MSG = "Repository performs search for entities to use in the concurrent load.";
+
+    private static final String A_OPERATION_ERRORS     = TEST_CASE_ID + "-errors-";
+    private static final String A_OPERATION_ERRORS_MSG = "Repository completes concurrent requests without error for method: ";
+
+    private static final String A_NOT_SUPPORTED_MSG = "Repository supports concurrent requests for method: ";
+
+    private static final int  LOAD_INSTANCE_OFFSET      = 1000000;
+    private static final int  SIGNIFICANT_VALUE_DIGITS  = 3;
+    private static final long NANOS_PER_SECOND          = 1000000000L;
+
+    private final List<EntityDef>        entityDefs;
+    private final Map<String, EntityDef> entityDefsByGUID = new HashMap<>();
+
+    private final List<String>       existingEntityGUIDs = new ArrayList<>();
+    private final List<EntityDef>    writableEntityDefs  = new ArrayList<>();
+    private final List<EntityDetail> createdEntities     = new ArrayList<>();
+
+    private final Map<Operation, Recorder>   latencyRecorders  = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errorCounts       = new EnumMap<>(Operation.class);
+    private final Set<Operation>             notSupported      = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger              instanceCounter   = new AtomicInteger(LOAD_INSTANCE_OFFSET);
+
+    private volatile boolean stopLoad = false;
+
+
+    /**
+     * The operations that make up the concurrent load.
+     */
+    private enum Operation
+    {
+        GET_ENTITY_DETAIL       ("getEntityDetail", true),
+        FIND_ENTITIES           ("findEntities", true),
+        GET_ENTITY_NEIGHBORHOOD ("getEntityNeighborhood", true),
+        ADD_ENTITY              ("addEntity", false),
+        UPDATE_ENTITY_PROPERTIES("updateEntityProperties", false);
+
+        private final String  methodName;
+        private final boolean isRead;
+
+        Operation(String methodName, boolean isRead)
+        {
+            this.methodName = methodName;
+            this.isRead = isRead;
+        }
+    }
+
+
+    /**
+     * Typical constructor sets up superclass and discovered information needed for tests
+     *
+     * @param workPad place for parameters and results
+     * @param entityDefs types of entities the load can use
+     */
+    public TestConcurrentLoad(PerformanceWorkPad    workPad,
+                              Collection<EntityDef> entityDefs)
+    {
+        super(workPad, PerformanceProfile.CONCURRENT_LOAD.getProfileId());
+
+        this.entityDefs = new ArrayList<>(entityDefs);
+
+        super.updateTestId(TEST_CASE_ID, TEST_CASE_ID, TEST_CASE_NAME);
+    }
+
+
+    /**
+     * Method implemented by the actual test case.
+     *
+     * @throws Exception something went wrong with the test.
+     */
+    protected void run() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = super.getMetadataCollection();
+
+        List<Operation> readOperations = new ArrayList<>();
+        List<Operation> writeOperations = new ArrayList<>();
+        List<String> methodsToSkip = performanceWorkPad.getMethodsToSkip();
+        for (Operation operation : Operation.values()) {
+            if (!methodsToSkip.contains(operation.methodName)) {
+                if (operation.isRead) {
+                    readOperations.add(operation);
+                } else {
+                    writeOperations.add(operation);
+                }
+            }
+        }
+
+        findEntitiesForLoad(metadataCollection);
+
+        if (existingEntityGUIDs.isEmpty()) {
+            readOperations.clear();
+        }
+        if (writableEntityDefs.isEmpty() || !writeOperations.contains(Operation.ADD_ENTITY)) {
+            // Updates are only made to entities created by the load
+            writeOperations.clear();
+        }
+
+        List<Operation> operations = new ArrayList<>(readOperations);
+        operations.addAll(writeOperations);
+        for (Operation operation : operations) {
+            latencyRecorders.put(operation, new Recorder(SIGNIFICANT_VALUE_DIGITS));
+            errorCounts.put(operation, new AtomicLong());
+        }
+
+        if (!operations.isEmpty()) {
+            Map<Operation, Histogram> results = applyLoad(metadataCollection, readOperations, writeOperations);
+            reportResults(results);
+            purgeCreatedEntities(metadataCollection);
+        }
+
+        super.setSuccessMessage("Concurrent load performance tests complete");
+    }
+
+
+    /**
+     * Retrieve the entities that the read operations of the load use, and note the types that can be written.
+     *
+     * @param metadataCollection through which to call findEntities
+     * @throws Exception on any errors
+     */
+    private void findEntitiesForLoad(OMRSMetadataCollection metadataCollection) throws Exception
+    {
+        for (EntityDef entityDef : entityDefs) {
+            try {
+                List<EntityDetail> entities = metadataCollection.findEntities(workPad.getLocalServerUserId(),
+                        entityDef.getGUID(),
+                        null,
+                        null,
+                        0,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        super.getInstancesPerType());
+                if (entities != null && !entities.isEmpty()) {
+                    for (EntityDetail entity : entities) {
+                        existingEntityGUIDs.add(entity.getGUID());
+                    }
+                    writableEntityDefs.add(entityDef);
+                    entityDefsByGUID.put(entityDef.getGUID(), entityDef);
+                }
+            } catch (FunctionNotSupportedException exception) {
+                super.addNotSupportedAssertion(A_FIND_ENTITIES,
+                        A_FIND_ENTITIES_MSG,
+                        PerformanceProfile.CONCURRENT_LOAD.getProfileId(),
+                        null);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Run the clients through the warm-up and measurement periods and return the latencies recorded during the
+     * measurement period.
+     *
+     * @param metadataCollection through which to call the repository
+     * @param readOperations read operations to choose from
+     * @param writeOperations write operations to choose from
+     * @return latency histogram (in microseconds) for each operation
+     * @throws Exception on any errors
+     */
+    private Map<Operation, Histogram> applyLoad(OMRSMetadataCollection metadataCollection,
+                                                List<Operation>        readOperations,
+                                                List<Operation>        writeOperations) throws Exception
+    {
+        int clients = performanceWorkPad.getConcurrentClients();
+        int targetRate = performanceWorkPad.getConcurrentTargetRate();
+        long intervalNanos = (targetRate > 0) ? (clients * NANOS_PER_SECOND) / targetRate : 0L;
+        long loadStart = System.nanoTime();
+
+        SplittableRandom random = new SplittableRandom();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            final SplittableRandom clientRandom = random.split();
+            final long clientStart = loadStart + ((intervalNanos * i) / clients);
+            executor.execute(() -> runClient(metadataCollection, readOperations, writeOperations, clientRandom, clientStart, intervalNanos));
+        }
+
+        Map<Operation, Histogram> results = new EnumMap<>(Operation.class);
+        try {
+            Thread.sleep(performanceWorkPad.getConcurrentWarmUp() * 1000L);
+            for (Operation operation : latencyRecorders.keySet()) {
+                latencyRecorders.get(operation).reset();
+                errorCounts.get(operation).set(0);
+            }
+
+            long measureStart = System.nanoTime();
+            Thread.sleep(performanceWorkPad.getConcurrentDuration() * 1000L);
+            for (Operation operation : latencyRecorders.keySet()) {
+                Histogram histogram = latencyRecorders.get(operation).getIntervalHistogram();
+                histogram.setStartTimeStamp(TimeUnit.NANOSECONDS.toMillis(measureStart));
+                histogram.setEndTimeStamp(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+                results.put(operation, histogram);
+            }
+        } finally {
+            stopLoad = true;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Make requests until the load is stopped.  With a target rate, each request has an intended start time and its
+     * latency is measured from that time; otherwise the next request starts as soon as the previous one completes.
+     *
+     * @param metadataCollection through which to call the repository
+     * @param readOperations read operations to choose from
+     * @param writeOperations write operations to choose from
+     * @param random source of random choices for this client
+     * @param clientStart time (nanoseconds) of the first request
+     * @param intervalNanos time between the requests of this client - or 0 for back-to-back requests
+     */
+    private void runClient(OMRSMetadataCollection metadataCollection,
+                           List<Operation>        readOperations,
+                           List<Operation>        writeOperations,
+                           SplittableRandom       random,
+                           long                   clientStart,
+                           long                   intervalNanos)
+    {
+        int readPercentage = performanceWorkPad.getConcurrentReadPercentage();
+        long intendedStart = clientStart;
+
+        while (!stopLoad) {
+            if (intervalNanos > 0) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+            }
+
+            boolean read = random.nextInt(100) < readPercentage;
+            Operation operation = read ? chooseRead(readOperations, random) : chooseWrite(writeOperations, random);
+            if (operation == null) {
+                operation = read ? chooseWrite(writeOperations, random) : chooseRead(readOperations, random);
+                if (operation == null) {
+                    return;
+                }
+            }
+
+            long start = (intervalNanos > 0) ? intendedStart : System.nanoTime();
+            try {
+                invoke(metadataCollection, operation, random);
+                long latency = System.nanoTime() - start;
+                latencyRecorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latency));
+            } catch (FunctionNotSupportedException exception) {
+                notSupported.add(operation);
+            } catch (Exception exception) {
+                errorCounts.get(operation).incrementAndGet();
+            }
+
+            intendedStart = intendedStart + intervalNanos;
+        }
+    }
+
+
+    /**
+     * Choose one of the supported read operations.
+     *
+     * @param readOperations read operations to choose from
+     * @param random source of random choices for this client
+     * @return operation or null if none are supported
+     */
+    private Operation chooseRead(List<Operation> readOperations, SplittableRandom random)
+    {
+        if (readOperations.isEmpty()) {
+            return null;
+        }
+        Operation operation = readOperations.get(random.nextInt(readOperations.size()));
+        if (notSupported.contains(operation)) {
+            for (Operation candidate : readOperations) {
+                if (!notSupported.contains(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+        return operation;
+    }
+
+
+    /**
+     * Choose one of the supported write operations.  Updates are only made to entities created by the load, so
+     * entities are added until there are some to update.
+     *
+     * @param writeOperations write operations to choose from
+     * @param random source of random choices for this client
+     * @return operation or null if none are supported
+     */
+    private Operation chooseWrite(List<Operation> writeOperations, SplittableRandom random)
+    {
+        if (writeOperations.isEmpty()) {
+            return null;
+        }
+        Operation operation = writeOperations.get(random.nextInt(writeOperations.size()));
+        if (operation == Operation.UPDATE_ENTITY_PROPERTIES) {
+            synchronized (createdEntities) {
+                if (createdEntities.isEmpty()) {
+                    operation = Operation.ADD_ENTITY;
+                }
+            }
+        }
+        if (!writeOperations.contains(operation) || notSupported.contains(operation)) {
+            for (Operation candidate : writeOperations) {
+                if (candidate != Operation.UPDATE_ENTITY_PROPERTIES && !notSupported.contains(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+        return operation;
+    }
+
+
+    /**
+     * Make a single request to the repository.
+     *
+     * @param metadataCollection through which to call the repository
+     * @param operation the operation to call
+     * @param random source of random choices for this client
+     * @throws Exception on any errors
+     */
+    private void invoke(OMRSMetadataCollection metadataCollection,
+                        Operation              operation,
+                        SplittableRandom       random) throws Exception
+    {
+        String userId = workPad.getLocalServerUserId();
+
+        switch (operation) {
+            case GET_ENTITY_DETAIL:
+                metadataCollection.getEntityDetail(userId, existingEntityGUIDs.get(random.nextInt(existingEntityGUIDs.size())));
+                break;
+            case FIND_ENTITIES:
+                EntityDef typeToFind = writableEntityDefs.get(random.nextInt(writableEntityDefs.size()));
+                metadataCollection.findEntities(userId,
+                        typeToFind.getGUID(),
+                        null,
+                        null,
+                        0,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        performanceWorkPad.getMaxSearchResults());
+                break;
+            case GET_ENTITY_NEIGHBORHOOD:
+                metadataCollection.getEntityNeighborhood(userId,
+                        existingEntityGUIDs.get(random.nextInt(existingEntityGUIDs.size())),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        1);
+                break;
+            case ADD_ENTITY:
+                EntityDef typeToAdd = writableEntityDefs.get(random.nextInt(writableEntityDefs.size()));
+                EntityDetail added = metadataCollection.addEntity(userId,
+                        typeToAdd.getGUID(),
+                        super.getAllPropertiesForInstance(userId, typeToAdd, instanceCounter.getAndIncrement()),
+                        null,
+                        null);
+                if (added != null) {
+                    synchronized (createdEntities) {
+                        createdEntities.add(added);
+                    }
+                }
+                break;
+            case UPDATE_ENTITY_PROPERTIES:
+                EntityDetail toUpdate;
+                synchronized (createdEntities) {
+                    toUpdate = createdEntities.get(random.nextInt(createdEntities.size()));
+                }
+                EntityDef typeToUpdate = entityDefsByGUID.get(toUpdate.getType().getTypeDefGUID());
+                metadataCollection.updateEntityProperties(userId,
+                        toUpdate.getGUID(),
+                        super.getAllPropertiesForInstance(userId, typeToUpdate, instanceCounter.getAndIncrement()));
+                break;
+        }
+    }
+
+
+    /**
+     * Record the latency percentiles, throughput and errors of each operation.
+     *
+     * @param results latency histogram (in microseconds) for each operation
+     */
+    private void reportResults(Map<Operation, Histogram> results)
+    {
+        Integer profileId = PerformanceProfile.CONCURRENT_LOAD.getProfileId();
+
+        addDiscoveredProperty("concurrentClients", performanceWorkPad.getConcurrentClients(), profileId, null);
+        addDiscoveredProperty("concurrentTargetRate", performanceWorkPad.getConcurrentTargetRate(), profileId, null);
+        addDiscoveredProperty("concurrentReadPercentage", performanceWorkPad.getConcurrentReadPercentage(), profileId, null);
+
+        long totalCount = 0L;
+        double totalSeconds = 0.0;
+        for (Map.Entry<Operation, Histogram> result : results.entrySet()) {
+            Operation operation = result.getKey();
+            Histogram histogram = result.getValue();
+            String methodName = operation.methodName;
+
+            if (notSupported.contains(operation)) {
+                super.addNotSupportedAssertion(A_OPERATION_ERRORS + methodName,
+                        A_NOT_SUPPORTED_MSG + methodName,
+                        profileId,
+                        null);
+                continue;
+            }
+
+            double seconds = Math.max(1L, histogram.getEndTimeStamp() - histogram.getStartTimeStamp()) / 1000.0;
+            long count = histogram.getTotalCount();
+            long errors = errorCounts.get(operation).get();
+            totalCount += count;
+            totalSeconds = Math.max(totalSeconds, seconds);
+
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("count", count);
+            statistics.put("errors", errors);
+            statistics.put("throughputPerSecond", count / seconds);
+            statistics.put("p50Millis", histogram.getValueAtPercentile(50.0) / 1000.0);
+            statistics.put("p99Millis", histogram.getValueAtPercentile(99.0) / 1000.0);
+            statistics.put("p999Millis", histogram.getValueAtPercentile(99.9) / 1000.0);
+            statistics.put("maxMillis", histogram.getMaxValue() / 1000.0);
+            addDiscoveredProperty(methodName, statistics, profileId, null);
+
+            verifyCondition(errors == 0,
+                    A_OPERATION_ERRORS + methodName,
+                    A_OPERATION_ERRORS_MSG + methodName,
+                    profileId,
+                    null,
+                    methodName,
+                    null);
+        }
+
+        if (totalSeconds > 0) {
+            addDiscoveredProperty("throughputPerSecond", totalCount / totalSeconds, profileId, null);
+        }
+    }
+
+
+    /**
+     * Remove the entities created by the load so they do not change the results of the profiles that follow.
+     *
+     * @param metadataCollection through which to call the repository
+     */
+    private void purgeCreatedEntities(OMRSMetadataCollection metadataCollection)
+    {
+        String userId = workPad.getLocalServerUserId();
+
+        for (EntityDetail entity : createdEntities) {
+            String typeDefGUID = entity.getType().getTypeDefGUID();
+            String typeDefName = entity.getType().getTypeDefName();
+            try {
+                try {
+                    metadataCollection.deleteEntity(userId, typeDefGUID, typeDefName, entity.getGUID());
+                } catch (FunctionNotSupportedException exception) {
+                    // Soft-delete is not supported, so the entity can be purged directly
+                }
+                metadataCollection.purgeEntity(userId, typeDefGUID, typeDefName, entity.getGUID());
+            } catch (Exception exception) {
+                // Leave the entity in place - it does not affect the results of this profile
+            }
+        }
+        createdEntities.clear();
+    }
+}
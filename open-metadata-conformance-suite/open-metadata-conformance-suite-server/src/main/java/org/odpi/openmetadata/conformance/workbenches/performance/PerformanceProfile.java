@@ -149,6 +149,10 @@ public enum PerformanceProfile implements Serializable
             "Performance tests for the technology under test's ability to purge entities.",
             "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/entity-purge",
             OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
+    CONCURRENT_LOAD      (33, "Concurrent load",
+            "Performance tests for the technology under test's ability to serve a mix of requests from concurrent clients.",
+            "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/concurrent-load",
+            OpenMetadataConformanceProfilePriority.OPTIONAL_PROFILE),
     ENVIRONMENT          (999, "Environment",
             "Information about the environment in which the performance tests were executed.",
             "https://egeria.odpi.org/open-metadata-conformance-suite/docs/performance-workbench/profiles/environment",
@@ -32,6 +32,11 @@ public class PerformanceWorkPad extends OpenMetadataConformanceWorkbenchWorkPad
     private int                     waitBetweenScenarios        = 0;
     private List<String>            profilesToSkip              = Collections.emptyList();
     private List<String>            methodsToSkip               = Collections.emptyList();
+    private int                     concurrentClients           = 0;
+    private int                     concurrentDuration          = 60;
+    private int                     concurrentWarmUp            = 10;
+    private int                     concurrentTargetRate        = 0;
+    private int                     concurrentReadPercentage    = 80;
 
     private OMRSRepositoryConnector tutRepositoryConnector      = null;
 
@@ -80,6 +85,11 @@ public class PerformanceWorkPad extends OpenMetadataConformanceWorkbenchWorkPad
             this.waitBetweenScenarios = configuration.getWaitBetweenScenarios();
             this.profilesToSkip = configuration.getProfilesToSkip();
             this.methodsToSkip  = configuration.getMethodsToSkip();
+            this.concurrentClients = configuration.getConcurrentClients();
+            this.concurrentDuration = configuration.getConcurrentDuration();
+            this.concurrentWarmUp = configuration.getConcurrentWarmUp();
+            this.concurrentTargetRate = configuration.getConcurrentTargetRate();
+            this.concurrentReadPercentage = configuration.getConcurrentReadPercentage();
             super.tutName = this.tutServerName;
         }
     }
@@ -158,6 +168,58 @@ public class PerformanceWorkPad extends OpenMetadataConformanceWorkbenchWorkPad
         return methodsToSkip;
     }
 
+    /**
+     * Return the number of clients that call the repository under test at the same time in the concurrent load
+     * profile.  Zero means the profile is not run.
+     *
+     * @return number of concurrent clients
+     */
+    public int getConcurrentClients()
+    {
+        return concurrentClients;
+    }
+
+    /**
+     * Return the amount of time (in seconds) that the concurrent load is measured for, after the warm-up.
+     *
+     * @return measurement time in seconds
+     */
+    public int getConcurrentDuration()
+    {
+        return concurrentDuration;
+    }
+
+    /**
+     * Return the amount of time (in seconds) that the concurrent load runs before it is measured.
+     *
+     * @return warm-up time in seconds
+     */
+    public int getConcurrentWarmUp()
+    {
+        return concurrentWarmUp;
+    }
+
+    /**
+     * Return the total number of requests per second that the concurrent clients aim to make.  Zero means each client
+     * makes its next request as soon as the previous one completes.
+     *
+     * @return requests per second across all clients
+     */
+    public int getConcurrentTargetRate()
+    {
+        return concurrentTargetRate;
+    }
+
+    /**
+     * Return the percentage of the concurrent requests that are reads - the rest are writes.
+     *
+     * @return percentage between 0 and 100
+     */
+    public int getConcurrentReadPercentage()
+    {
+        return concurrentReadPercentage;
+    }
+
     /**
      * Return the server type of the technology under test.  This is extracted from the registration
      * events.
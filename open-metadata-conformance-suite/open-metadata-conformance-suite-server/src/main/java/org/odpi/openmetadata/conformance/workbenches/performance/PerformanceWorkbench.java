@@ -9,6 +9,7 @@ import org.odpi.openmetadata.conformance.tests.performance.create.TestEntityCrea
 import org.odpi.openmetadata.conformance.tests.performance.create.TestRelationshipCreation;
 import org.odpi.openmetadata.conformance.tests.performance.delete.TestEntityDelete;
 import org.odpi.openmetadata.conformance.tests.performance.delete.TestRelationshipDelete;
+import org.odpi.openmetadata.conformance.tests.performance.concurrent.TestConcurrentLoad;
 import org.odpi.openmetadata.conformance.tests.performance.environment.TestEnvironment;
 import org.odpi.openmetadata.conformance.tests.performance.graph.TestGraphHistoryQueries;
 import org.odpi.openmetadata.conformance.tests.performance.graph.TestGraphQueries;
@@ -370,6 +371,13 @@ public class PerformanceWorkbench extends OpenMetadataConformanceWorkbench
             }
         }
 
+        // Concurrent load of mixed read and write requests against the instances created so far
+        if (workPad.getConcurrentClients() > 0 && !profilesToSkip.contains(PerformanceProfile.CONCURRENT_LOAD.getProfileName()))
+        {
+            TestConcurrentLoad testConcurrentLoad = new TestConcurrentLoad(workPad, entityDefs.values());
+            testConcurrentLoad.executeTest();
+        }
+
         // 20. Re-home entity instances
         if (!profilesToSkip.contains(PerformanceProfile.ENTITY_RE_HOME.getProfileName()))
         {
@@ -26,10 +26,14 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
@@ -42,11 +46,15 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorExceptio
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -363,6 +371,10 @@ public class AssetCatalogHandler {
     }
 
     /**
+     * Return one page of the entities of the requested types (or the default search types) whose name matches the
+     * search criteria. The from and page size of the search parameters apply to the combined, sorted result, not to
+     * each type.
+     *
      * @param userId           user identifier that issues the call
      * @param searchCriteria   search criteria string used for finding the entities
      * @param searchParameters additional parameters for searching and filtering
@@ -391,37 +403,20 @@ public class AssetCatalogHandler {
         invalidParameterHandler.validateObject(searchParameters, SEARCH_PARAMETER, methodName);
         invalidParameterHandler.validatePaging(searchParameters.getFrom(), searchParameters.getPageSize(), methodName);
 
-        List<EntityDetail> result;
         List<String> typesFilter;
         if (CollectionUtils.isNotEmpty(searchParameters.getEntityTypes())) {
             typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter);
         } else {
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, defaultSearchTypes);
+            typesFilter = defaultSearchTypes;
         }
 
-        Set<Elements> searchResults = new HashSet<>();
+        List<EntityDetail> result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter, methodName);
 
+        List<Elements> searchResults = new ArrayList<>(result.size());
         for (EntityDetail entityDetail : result) {
-            try {
-                invalidParameterHandler.validateAssetInSupportedZone(entityDetail.getGUID(),
-                        GUID_PARAMETER,
-                        commonHandler.getAssetZoneMembership(entityDetail.getClassifications()),
-                        supportedZones,
-                        serverUserName,
-                        methodName);
-                Elements elements = assetCatalogConverter.buildAssetElements(entityDetail);
-                searchResults.add(elements);
-            } catch (org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException e) {
-                log.debug("This asset if a different zone: {}", entityDetail.getGUID());
-            }
+            searchResults.add(assetCatalogConverter.buildAssetElements(entityDetail));
         }
-        SequencingOrder sequencingOrder = searchParameters.getSequencingOrder();
-        String sequencingProperty = searchParameters.getSequencingProperty();
-        List<Elements> results = new ArrayList<>(searchResults);
-        results.sort((firstAsset, secondAsset) ->
-                orderElements(firstAsset, secondAsset, sequencingProperty, sequencingOrder));
-        return results;
+        return searchResults;
     }
 
     /**
@@ -546,15 +541,29 @@ public class AssetCatalogHandler {
         invalidParameterHandler.validateGUID(endAssetGUID, "endAssetGUID", methodName);
     }
 
+    /**
+     * Collect one page of the entities that match the search criteria. The types are grouped by the property that
+     * holds their name, so each group is retrieved with a single search that is sorted and paged by the repository.
+     * The sorted results of the groups are merged, skipping the entities that are not in the supported zones,
+     * until the page is full. When the page is sequenced by displayName, the group of the types without a
+     * displayName is sorted by name instead, and the merge compares each entity by the property its group
+     * was sorted on.
+     *
+     * @param userId           user identifier that issues the call
+     * @param searchCriteria   search criteria string used for finding the entities
+     * @param searchParameters additional parameters for searching and filtering
+     * @param types            unique identifiers of the types to search
+     * @param methodName       calling method
+     * @return the entities of the requested page
+     */
     private List<EntityDetail> collectSearchedEntitiesByType(String userId,
                                                              String searchCriteria,
                                                              SearchParameters searchParameters,
-                                                             List<String> types)
+                                                             List<String> types,
+                                                             String methodName)
             throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException,
             org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, PropertyErrorException,
             TypeErrorException, PagingErrorException, RepositoryErrorException, InvalidParameterException {
-        List<EntityDetail> result = new ArrayList<>();
-
         OMRSMetadataCollection metadataCollection = commonHandler.getOMRSMetadataCollection();
 
         if(searchParameters.getExactMatch()) {
@@ -564,12 +573,77 @@ public class AssetCatalogHandler {
             searchCriteria = repositoryHelper.getContainsRegex(searchCriteria, searchParameters.getCaseInsensitive());
         }
 
+        Map<String, List<String>> typesByNameProperty = new LinkedHashMap<>();
         for (String type : types) {
-            result.addAll(searchEntityByCriteria(userId, searchCriteria, type, searchParameters, metadataCollection));
+            String nameProperty = commonHandler.hasDisplayName(userId, type) ? DISPLAY_NAME : NAME;
+            typesByNameProperty.computeIfAbsent(nameProperty, property -> new ArrayList<>()).add(type);
+        }
+
+        SearchClassifications searchClassifications =
+                repositoryHelper.getSearchClassificationsFromList(searchParameters.getLimitResultsByClassification());
+
+        String sequencingProperty = searchParameters.getSequencingProperty();
+        SequencingOrder sequencingOrder = searchParameters.getSequencingOrder();
+
+        List<EntitySearchCursor> cursors = new ArrayList<>();
+        for (Map.Entry<String, List<String>> typeGroup : typesByNameProperty.entrySet()) {
+            cursors.add(new EntitySearchCursor(userId,
+                    metadataCollection,
+                    typeGroup.getValue(),
+                    getSearchProperties(typeGroup.getKey(), searchCriteria),
+                    searchClassifications,
+                    DISPLAY_NAME.equals(sequencingProperty) ? typeGroup.getKey() : sequencingProperty,
+                    searchParameters));
+        }
+
+        int from = searchParameters.getFrom();
+        int pageSize = searchParameters.getPageSize();
+
+        List<EntityDetail> result = new ArrayList<>();
+        Set<String> collectedGUIDs = new HashSet<>();
+        int skipped = 0;
+
+        while (pageSize == 0 || result.size() < pageSize) {
+            EntitySearchCursor nextCursor = null;
+            for (EntitySearchCursor cursor : cursors) {
+                EntityDetail candidate = cursor.peek();
+                if (candidate != null && (nextCursor == null || orderEntities(candidate, cursor.getSequencingProperty(),
+                        nextCursor.peek(), nextCursor.getSequencingProperty(), sequencingOrder) < 0)) {
+                    nextCursor = cursor;
+                }
+            }
+
+            if (nextCursor == null) {
+                break;
+            }
+
+            EntityDetail entityDetail = nextCursor.next();
+            if (collectedGUIDs.add(entityDetail.getGUID()) && isInSupportedZone(entityDetail, methodName)) {
+                if (skipped < from) {
+                    skipped++;
+                } else {
+                    result.add(entityDetail);
+                }
+            }
         }
         return result;
     }
 
+    private boolean isInSupportedZone(EntityDetail entityDetail, String methodName) {
+        try {
+            invalidParameterHandler.validateAssetInSupportedZone(entityDetail.getGUID(),
+                    GUID_PARAMETER,
+                    commonHandler.getAssetZoneMembership(entityDetail.getClassifications()),
+                    supportedZones,
+                    serverUserName,
+                    methodName);
+            return true;
+        } catch (org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException e) {
+            log.debug("This asset if a different zone: {}", entityDetail.getGUID());
+            return false;
+        }
+    }
+
     private void getContextForSchemaElement(String userId,
                                             EntityDetail entityDetail,
                                             AssetCatalogItemElement assetCatalogItemElement)
@@ -1382,15 +1456,7 @@ public class AssetCatalogHandler {
         return entityDetails.getClassifications();
     }
 
-    private List<EntityDetail> searchEntityByCriteria(String userId,
-                                                      String searchCriteria,
-                                                      String entityTypeGUID,
-                                                      SearchParameters searchParameters, OMRSMetadataCollection metadataCollection)
-            throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException,
-            FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
-            PropertyErrorException, TypeErrorException, PagingErrorException, RepositoryErrorException, InvalidParameterException {
-
-        InstanceProperties matchProperties = new InstanceProperties();
+    private SearchProperties getSearchProperties(String propertyName, String searchCriteria) {
         PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
 
         primitivePropertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
@@ -1398,27 +1464,15 @@ public class AssetCatalogHandler {
         primitivePropertyValue.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getName());
         primitivePropertyValue.setTypeGUID(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID());
 
-        if (commonHandler.hasDisplayName(userId, entityTypeGUID)) {
-            matchProperties.setProperty(DISPLAY_NAME, primitivePropertyValue);
-        } else {
-            matchProperties.setProperty(NAME, primitivePropertyValue);
-        }
-        List<EntityDetail> entitiesByPropertyValue = metadataCollection.findEntitiesByProperty(userId,
-                entityTypeGUID,
-                matchProperties,
-                MatchCriteria.ANY,
-                searchParameters.getFrom(),
-                Collections.singletonList(InstanceStatus.ACTIVE),
-                searchParameters.getLimitResultsByClassification(),
-                null,
-                searchParameters.getSequencingProperty(),
-                searchParameters.getSequencingOrder() == null ? SequencingOrder.ANY : searchParameters.getSequencingOrder(),
-                searchParameters.getPageSize());
+        PropertyCondition propertyCondition = new PropertyCondition();
+        propertyCondition.setProperty(propertyName);
+        propertyCondition.setOperator(PropertyComparisonOperator.LIKE);
+        propertyCondition.setValue(primitivePropertyValue);
 
-        if (CollectionUtils.isNotEmpty(entitiesByPropertyValue)) {
-            return entitiesByPropertyValue;
-        }
-        return new ArrayList<>();
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setConditions(Collections.singletonList(propertyCondition));
+        searchProperties.setMatchCriteria(MatchCriteria.ANY);
+        return searchProperties;
     }
 
     private List<Classification> filterClassificationByName(List<Classification> classifications, String classificationName) {
@@ -1493,34 +1547,45 @@ public class AssetCatalogHandler {
         return response;
     }
 
-    private int orderElements(Elements firstAsset, Elements secondAsset, String sequencingProperty, SequencingOrder sequencingOrder) {
+    /**
+     * Compare two entities by the properties the repository sorted their searches on, so the order of the
+     * merged results is the order of each search.
+     *
+     * @param firstAsset                 the first entity
+     * @param firstSequencingProperty    the property the search of the first entity was sorted on
+     * @param secondAsset                the second entity
+     * @param secondSequencingProperty   the property the search of the second entity was sorted on
+     * @param sequencingOrder            the order of the searches
+     * @return negative if the first entity comes first, positive if the second one does, zero otherwise
+     */
+    private int orderEntities(EntityDetail firstAsset, String firstSequencingProperty,
+                              EntityDetail secondAsset, String secondSequencingProperty, SequencingOrder sequencingOrder) {
         String firstField;
         String secondField;
-        if (TYPE_SEQUENCING.equals(sequencingProperty)) {
+        if (TYPE_SEQUENCING.equals(firstSequencingProperty)) {
             if (firstAsset.getType() == null || secondAsset.getType() == null) {
                 return 0;
             }
-            firstField = firstAsset.getType().getName();
-            secondField = secondAsset.getType().getName();
+            firstField = firstAsset.getType().getTypeDefName();
+            secondField = secondAsset.getType().getTypeDefName();
         } else {
             if (firstAsset.getProperties() == null || secondAsset.getProperties() == null) {
                 return 0;
             }
-            firstField = firstAsset.getProperties().get(sequencingProperty);
-            secondField = secondAsset.getProperties().get(sequencingProperty);
-            if (DISPLAY_NAME.equals(sequencingProperty)) {
-                if (firstField == null) {
-                    firstField = firstAsset.getProperties().get(NAME);
-                }
-                if (secondField == null) {
-                    secondField = secondAsset.getProperties().get(NAME);
-                }
-            }
+            firstField = getPropertyAsString(firstAsset, firstSequencingProperty);
+            secondField = getPropertyAsString(secondAsset, secondSequencingProperty);
         }
 
         return compareFields(firstField, secondField, sequencingOrder);
+    }
 
+    private String getPropertyAsString(EntityDetail entityDetail, String propertyName) {
+        if (propertyName == null) {
+            return null;
+        }
 
+        InstancePropertyValue propertyValue = entityDetail.getProperties().getPropertyValue(propertyName);
+        return propertyValue == null ? null : propertyValue.valueAsString();
     }
 
     private int compareFields(String firstComparedProperty, String secondComparedProperty, SequencingOrder sequencingOrder) {
@@ -1539,4 +1604,98 @@ public class AssetCatalogHandler {
         }
         return 0;
     }
+
+    /**
+     * Reads the sorted results of one search from the repository a page at a time, so the results of several
+     * searches can be merged without retrieving more of each than the requested page needs.
+     */
+    private static class EntitySearchCursor {
+
+        private final String userId;
+        private final OMRSMetadataCollection metadataCollection;
+        private final List<String> entityTypeGUIDs;
+        private final SearchProperties searchProperties;
+        private final SearchClassifications searchClassifications;
+        private final String sequencingProperty;
+        private final SequencingOrder sequencingOrder;
+        private final int pageSize;
+        private final Deque<EntityDetail> buffer = new ArrayDeque<>();
+
+        private int fetchSize;
+        private int offset = 0;
+        private boolean exhausted = false;
+
+        EntitySearchCursor(String userId,
+                           OMRSMetadataCollection metadataCollection,
+                           List<String> entityTypeGUIDs,
+                           SearchProperties searchProperties,
+                           SearchClassifications searchClassifications,
+                           String sequencingProperty,
+                           SearchParameters searchParameters) {
+            this.userId = userId;
+            this.metadataCollection = metadataCollection;
+            this.entityTypeGUIDs = entityTypeGUIDs;
+            this.searchProperties = searchProperties;
+            this.searchClassifications = searchClassifications;
+            this.sequencingProperty = sequencingProperty;
+            this.sequencingOrder = searchParameters.getSequencingOrder() == null ? SequencingOrder.ANY : searchParameters.getSequencingOrder();
+            this.pageSize = searchParameters.getPageSize();
+
+            /*
+             * The merged page can not contain entities beyond from + pageSize of any one search unless entities
+             * are dropped because of their zones, so that is all that is requested first.
+             */
+            this.fetchSize = pageSize == 0 ? 0 : searchParameters.getFrom() + pageSize;
+        }
+
+        /**
+         * Return the next entity without consuming it.
+         *
+         * @return entity or null if there are no more results
+         */
+        EntityDetail peek()
+                throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException,
+                org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, PropertyErrorException,
+                TypeErrorException, PagingErrorException, RepositoryErrorException {
+            if (buffer.isEmpty() && !exhausted) {
+                List<EntityDetail> entities = metadataCollection.findEntities(userId,
+                        null,
+                        entityTypeGUIDs,
+                        searchProperties,
+                        offset,
+                        Collections.singletonList(InstanceStatus.ACTIVE),
+                        searchClassifications,
+                        null,
+                        sequencingProperty,
+                        sequencingOrder,
+                        fetchSize);
+
+                if (CollectionUtils.isNotEmpty(entities)) {
+                    buffer.addAll(entities);
+                    offset += entities.size();
+                }
+                exhausted = fetchSize == 0 || entities == null || entities.size() < fetchSize;
+                fetchSize = pageSize;
+            }
+            return buffer.peekFirst();
+        }
+
+        /**
+         * Return the property the results are sorted on.
+         *
+         * @return property name
+         */
+        String getSequencingProperty() {
+            return sequencingProperty;
+        }
+
+        /**
+         * Consume the entity returned by peek.
+         *
+         * @return entity
+         */
+        EntityDetail next() {
+            return buffer.pollFirst();
+        }
+    }
 }
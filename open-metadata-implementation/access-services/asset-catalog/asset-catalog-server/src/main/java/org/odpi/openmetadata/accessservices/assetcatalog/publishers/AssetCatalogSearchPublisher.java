@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.assetcatalog.publishers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,7 +36,7 @@ public class AssetCatalogSearchPublisher {
         {
             if (topicConnector != null)
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                ObjectMapper objectMapper = OpenMetadataEventCodec.getJSONMapper();
                 topicConnector.sendEvent(objectMapper.writeValueAsString(event));
             }
             else
@@ -29,8 +29,12 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
@@ -41,16 +45,21 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.DISPLAY_NAME;
 import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.GUID_PARAMETER;
 import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.NAME;
 
@@ -546,20 +555,20 @@ public class AssetCatalogHandlerTest {
         SearchParameters searchParams = mockSearchParams();
         mockTypeDef(ASSET_TYPE, ASSET_TYPE_GUID);
         mockSearchString(SEARCH_CRITERIA, searchParams.getCaseInsensitive());
-        InstanceProperties matchProperties = mockMatchProperties();
+        SearchProperties matchProperties = mockMatchProperties();
 
         OMRSMetadataCollection metadataCollection = mockMetadataCollection();
-        when(metadataCollection.findEntitiesByProperty(USER,
-                ASSET_TYPE_GUID,
+        when(metadataCollection.findEntities(USER,
+                null,
+                Collections.singletonList(ASSET_TYPE_GUID),
                 matchProperties,
-                MatchCriteria.ANY,
                 FROM,
                 Collections.singletonList(InstanceStatus.ACTIVE),
                 null,
                 null,
                 null,
                 SequencingOrder.ANY,
-                PAGE_SIZE)).thenReturn(mockEntities());
+                FROM + PAGE_SIZE)).thenReturn(mockEntities());
 
         List<Elements> elements = assetCatalogHandler.searchByType(USER, SEARCH_CRITERIA, searchParams);
         assertEquals(2, elements.size());
@@ -578,6 +587,80 @@ public class AssetCatalogHandlerTest {
         verify(invalidParameterHandler, times(1)).validateObject(searchParams, "searchParameter", methodName);
     }
 
+    @Test
+    public void searchByType_appliesPagingToCombinedResult() throws InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
+        SearchParameters searchParams = mockSearchParams();
+        searchParams.setFrom(1);
+        searchParams.setPageSize(1);
+        mockTypeDef(ASSET_TYPE, ASSET_TYPE_GUID);
+        mockSearchString(SEARCH_CRITERIA, searchParams.getCaseInsensitive());
+        SearchProperties matchProperties = mockMatchProperties();
+
+        OMRSMetadataCollection metadataCollection = mockMetadataCollection();
+        when(metadataCollection.findEntities(USER,
+                null,
+                Collections.singletonList(ASSET_TYPE_GUID),
+                matchProperties,
+                0,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null,
+                null,
+                SequencingOrder.ANY,
+                2)).thenReturn(mockEntities());
+
+        List<Elements> elements = assetCatalogHandler.searchByType(USER, SEARCH_CRITERIA, searchParams);
+        assertEquals(1, elements.size());
+        assertEquals(PROCESS_TYPE, elements.get(0).getType().getName());
+    }
+
+    @Test
+    public void searchByType_mergesTypesSortedOnDifferentNameProperties() throws InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
+        SearchParameters searchParams = mockSearchParams();
+        searchParams.setEntityTypes(Arrays.asList(ASSET_TYPE, PROCESS_TYPE));
+        searchParams.setSequencingProperty(DISPLAY_NAME);
+        searchParams.setSequencingOrder(SequencingOrder.PROPERTY_ASCENDING);
+        searchParams.setPageSize(3);
+        mockTypeDef(ASSET_TYPE, ASSET_TYPE_GUID);
+        mockTypeDef(PROCESS_TYPE, PROCESS_TYPE_GUID);
+        mockDisplayName(ASSET_TYPE_GUID);
+        mockSearchString(SEARCH_CRITERIA, searchParams.getCaseInsensitive());
+
+        /*
+         * The types with a displayName are sorted on displayName and the types without one on name, so the
+         * merged page interleaves the two searches.
+         */
+        OMRSMetadataCollection metadataCollection = mockMetadataCollection();
+        when(metadataCollection.findEntities(USER,
+                null,
+                Collections.singletonList(ASSET_TYPE_GUID),
+                mockMatchProperties(DISPLAY_NAME),
+                FROM,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null,
+                DISPLAY_NAME,
+                SequencingOrder.PROPERTY_ASCENDING,
+                3)).thenReturn(Arrays.asList(mockNamedEntity("asset-beta", ASSET_TYPE, ASSET_TYPE_GUID, DISPLAY_NAME, "Beta"),
+                mockNamedEntity("asset-delta", ASSET_TYPE, ASSET_TYPE_GUID, DISPLAY_NAME, "Delta")));
+        when(metadataCollection.findEntities(USER,
+                null,
+                Collections.singletonList(PROCESS_TYPE_GUID),
+                mockMatchProperties(NAME),
+                FROM,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null,
+                NAME,
+                SequencingOrder.PROPERTY_ASCENDING,
+                3)).thenReturn(Arrays.asList(mockNamedEntity("process-alpha", PROCESS_TYPE, PROCESS_TYPE_GUID, NAME, "alpha"),
+                mockNamedEntity("process-charlie", PROCESS_TYPE, PROCESS_TYPE_GUID, NAME, "Charlie")));
+
+        List<Elements> elements = assetCatalogHandler.searchByType(USER, SEARCH_CRITERIA, searchParams);
+        assertEquals(Arrays.asList("process-alpha", "asset-beta", "process-charlie"),
+                elements.stream().map(Elements::getGuid).collect(Collectors.toList()));
+    }
+
     @Test
     public void searchByType_throwsInvalidParameterException() throws org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
         String methodName = "searchByType";
@@ -693,6 +776,30 @@ public class AssetCatalogHandlerTest {
         return entityDetails;
     }
 
+    private EntityDetail mockNamedEntity(String guid, String typeName, String typeGUID, String nameProperty, String name) {
+        PrimitivePropertyValue nameValue = new PrimitivePropertyValue();
+        nameValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        nameValue.setPrimitiveValue(name);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty(nameProperty, nameValue);
+
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(guid);
+        entityDetail.setType(mockInstanceType(typeName, typeGUID));
+        entityDetail.setProperties(properties);
+        return entityDetail;
+    }
+
+    private void mockDisplayName(String typeGUID) throws TypeErrorException {
+        TypeDef typeDef = mock(TypeDef.class);
+        when(repositoryHelper.getTypeDef(any(), eq(GUID_PARAMETER), eq(typeGUID), any())).thenReturn(typeDef);
+
+        TypeDefAttribute displayName = new TypeDefAttribute();
+        displayName.setAttributeName(DISPLAY_NAME);
+        when(repositoryHelper.getAllPropertiesForTypeDef(any(), eq(typeDef), any())).thenReturn(Collections.singletonList(displayName));
+    }
+
     private void mockEntityDetails(String guid) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
         EntityDetail entityDetail = mock(EntityDetail.class);
         when(commonHandler
@@ -757,8 +864,11 @@ public class AssetCatalogHandlerTest {
         when(repositoryHelper.getContainsRegex(searchCriteria, isCaseSensitive)).thenReturn(searchCriteria);
     }
 
-    private InstanceProperties mockMatchProperties() {
-        InstanceProperties matchProperties = new InstanceProperties();
+    private SearchProperties mockMatchProperties() {
+        return mockMatchProperties(NAME);
+    }
+
+    private SearchProperties mockMatchProperties(String propertyName) {
         PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
 
         primitivePropertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
@@ -766,7 +876,14 @@ public class AssetCatalogHandlerTest {
         primitivePropertyValue.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getName());
         primitivePropertyValue.setTypeGUID(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID());
 
-        matchProperties.setProperty(NAME, primitivePropertyValue);
+        PropertyCondition propertyCondition = new PropertyCondition();
+        propertyCondition.setProperty(propertyName);
+        propertyCondition.setOperator(PropertyComparisonOperator.LIKE);
+        propertyCondition.setValue(primitivePropertyValue);
+
+        SearchProperties matchProperties = new SearchProperties();
+        matchProperties.setConditions(Collections.singletonList(propertyCondition));
+        matchProperties.setMatchCriteria(MatchCriteria.ANY);
         return matchProperties;
     }
 
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationError
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -136,7 +137,7 @@ public class AssetConsumerPublisher
      */
     private String getJSONPayload(AssetConsumerEvent event)
     {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = OpenMetadataEventCodec.getJSONMapper();
         String       jsonString   = null;
 
         /*
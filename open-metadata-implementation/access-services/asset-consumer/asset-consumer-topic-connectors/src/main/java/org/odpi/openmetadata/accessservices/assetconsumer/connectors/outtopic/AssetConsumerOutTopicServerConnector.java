@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.accessservices.assetconsumer.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerAuditCode;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerErrorCode;
@@ -28,11 +27,10 @@ public class AssetConsumerOutTopicServerConnector extends OpenMetadataTopicSende
     public void sendEvent(AssetConsumerEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = super.encodeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
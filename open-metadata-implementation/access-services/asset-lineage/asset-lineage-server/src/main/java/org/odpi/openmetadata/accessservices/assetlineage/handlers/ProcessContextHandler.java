@@ -16,7 +16,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -66,6 +68,30 @@ public class ProcessContextHandler {
      * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
      */
     public Multimap<String, RelationshipsContext> buildProcessContext(String userId, EntityDetail process) throws OCFCheckedExceptionBase {
+        return buildProcessContext(userId, process, new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * Retrieves the full context for a Process, reusing the lineage context of the columns and the context of the mapped
+     * columns that have already been built. Processes that are neighbours in the lineage graph share the columns at their ends,
+     * and many columns are mapped to the same column, so a publish run over many processes builds each of these contexts once.
+     *
+     * @param userId                userId of user making request.
+     * @param process               the process entity for which the context is built
+     * @param columnLineageContexts lineage context of the columns built so far, by column GUID; it is updated with the
+     *                              columns of this process and must be safe for concurrent use if it is shared between threads
+     * @param schemaElementContexts context of the mapped columns built so far, by column GUID; it is updated with the
+     *                              columns mapped to the columns of this process and must be safe for concurrent use if it is
+     *                              shared between threads
+     *
+     * @return Map of the relationships between the Entities that are relevant to a Process
+     *
+     * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
+     */
+    public Multimap<String, RelationshipsContext> buildProcessContext(String userId, EntityDetail process,
+                                                                      Map<String, Multimap<String, RelationshipsContext>> columnLineageContexts,
+                                                                      Map<String, Map<String, RelationshipsContext>> schemaElementContexts)
+            throws OCFCheckedExceptionBase {
         final String methodName = "buildProcessContext";
         handlerHelper.validateAsset(process, methodName, supportedZones);
 
@@ -102,34 +128,54 @@ public class ProcessContextHandler {
                     .map(GraphContext::getToVertex).collect(Collectors.toSet());
 
             for (LineageEntity tabularColumn : tabularColumns) {
-                addLineageContextForColumn(userId, context, tabularColumn.getGuid(), tabularColumn.getTypeDefName());
+                Multimap<String, RelationshipsContext> columnLineageContext = columnLineageContexts.get(tabularColumn.getGuid());
+                if (columnLineageContext == null) {
+                    columnLineageContext = buildLineageContextForColumn(userId, tabularColumn.getGuid(), tabularColumn.getTypeDefName(),
+                            schemaElementContexts);
+                    columnLineageContexts.putIfAbsent(tabularColumn.getGuid(), columnLineageContext);
+                }
+                context.putAll(columnLineageContext);
             }
         }
         return context;
     }
 
     /**
-     * Adds lineage context for the tabular column. It adds the lineage mappings for the column and the column context for all the technical assets
-     * that have lineage mappings to it.
+     * Builds lineage context for the tabular column. It contains the lineage mappings for the column and the column context for all the technical
+     * assets that have lineage mappings to it.
      *
      * @param userId      userId of user making request.
-     * @param context     the context to be updated
      * @param columnGUID  the column GUID
      * @param typeDefName the column type name
+     * @param schemaElementContexts context of the mapped columns built so far, by column GUID
+     *
+     * @return the lineage context of the column
      *
      * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
      */
-    private void addLineageContextForColumn(String userId, Multimap<String, RelationshipsContext> context, String columnGUID,
-                                            String typeDefName) throws OCFCheckedExceptionBase {
+    private Multimap<String, RelationshipsContext> buildLineageContextForColumn(String userId, String columnGUID, String typeDefName,
+                                                                                Map<String, Map<String, RelationshipsContext>> schemaElementContexts)
+            throws OCFCheckedExceptionBase {
+        Multimap<String, RelationshipsContext> context = ArrayListMultimap.create();
         List<Relationship> lineageMappings = handlerHelper.getRelationshipsByType(userId, columnGUID, LINEAGE_MAPPING, typeDefName);
 
         context.put(AssetLineageEventType.LINEAGE_MAPPINGS_EVENT.getEventTypeName(),
                 handlerHelper.buildContextForRelationships(userId, columnGUID, lineageMappings));
 
         for (Relationship lineageMapping : lineageMappings) {
-            context.putAll(Multimaps.forMap(assetContextHandler.buildSchemaElementContext(userId, handlerHelper.getEntityAtTheEnd(userId,
-                    columnGUID, lineageMapping))));
+            EntityDetail mappedColumn = handlerHelper.getEntityAtTheEnd(userId, columnGUID, lineageMapping);
+            String mappedColumnGUID = mappedColumn == null ? null : mappedColumn.getGUID();
+
+            Map<String, RelationshipsContext> schemaElementContext = mappedColumnGUID == null ? null : schemaElementContexts.get(mappedColumnGUID);
+            if (schemaElementContext == null) {
+                schemaElementContext = assetContextHandler.buildSchemaElementContext(userId, mappedColumn);
+                if (mappedColumnGUID != null) {
+                    schemaElementContexts.putIfAbsent(mappedColumnGUID, schemaElementContext);
+                }
+            }
+            context.putAll(Multimaps.forMap(schemaElementContext));
         }
+        return context;
     }
 
     /**
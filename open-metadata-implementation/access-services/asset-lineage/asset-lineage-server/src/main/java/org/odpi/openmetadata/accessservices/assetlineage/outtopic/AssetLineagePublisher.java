@@ -30,6 +30,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.slf4j.Logger;
@@ -37,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -55,6 +57,11 @@ public class AssetLineagePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(AssetLineagePublisher.class);
     private static final String GLOSSARY_TERM_LINEAGE_EVENTS_CHUNK_SIZE = "glossaryTermLineageEventsChunkSize";
+    private static final String LINEAGE_EVENTS_CHUNK_SIZE = "lineageEventsChunkSize";
+    private static final String PUBLISH_LINEAGE_THREAD_COUNT = "publishLineageThreadCount";
+    private static final int DEFAULT_LINEAGE_EVENTS_CHUNK_SIZE = 500;
+    private static final Set<String> COALESCED_EVENT_TYPES = Set.of(AssetLineageEventType.PROCESS_CONTEXT_EVENT.getEventTypeName(),
+            AssetLineageEventType.LINEAGE_MAPPINGS_EVENT.getEventTypeName());
     private static AssetLineageInstanceHandler instanceHandler = new AssetLineageInstanceHandler();
     private final OpenMetadataTopicConnector outTopicConnector;
     private final String serverUserName;
@@ -63,6 +70,8 @@ public class AssetLineagePublisher {
     private final GlossaryContextHandler glossaryHandler;
     private final AssetContextHandler assetContextHandler;
     private int glossaryTermLineageEventsChunkSize;
+    private int lineageEventsChunkSize = DEFAULT_LINEAGE_EVENTS_CHUNK_SIZE;
+    private int publishLineageThreadCount = Runtime.getRuntime().availableProcessors();
 
     /**
      * The constructor is given the connection to the out topic for Asset Lineage OMAS
@@ -88,7 +97,22 @@ public class AssetLineagePublisher {
         if (glossaryTermLineageEventsChunkSize < 1) {
             glossaryTermLineageEventsChunkSize = 1;
         }
+        if (accessServiceOptions != null && accessServiceOptions.get(LINEAGE_EVENTS_CHUNK_SIZE) != null) {
+            lineageEventsChunkSize = Math.max(1, (int) accessServiceOptions.get(LINEAGE_EVENTS_CHUNK_SIZE));
+        }
+        if (accessServiceOptions != null && accessServiceOptions.get(PUBLISH_LINEAGE_THREAD_COUNT) != null) {
+            publishLineageThreadCount = Math.max(1, (int) accessServiceOptions.get(PUBLISH_LINEAGE_THREAD_COUNT));
+        }
+    }
 
+    /**
+     * Returns the number of entities whose context is built and published at the same time when publishing the lineage
+     * of many entities.
+     *
+     * @return the number of threads
+     */
+    public int getPublishLineageThreadCount() {
+        return publishLineageThreadCount;
     }
 
     /**
@@ -103,8 +127,28 @@ public class AssetLineagePublisher {
      */
     public Multimap<String, RelationshipsContext> publishProcessContext(EntityDetail entityDetail) throws OCFCheckedExceptionBase,
                                                                                                           JsonProcessingException {
-        Multimap<String, RelationshipsContext> processContext = processContextHandler.buildProcessContext(serverUserName, entityDetail);
-        publishLineageRelationshipsEvents(processContext);
+        return publishProcessContext(entityDetail, new LineagePublishRun());
+    }
+
+    /**
+     * Takes the context for a Process and publishes the event to the output topic as part of a publish run.
+     * The column contexts and mapped column contexts already built in the run are reused, and the column contexts already published
+     * in the run are not published again. The process context and lineage mappings are combined into events of up to
+     * lineageEventsChunkSize relationships.
+     *
+     * @param entityDetail entity to get context
+     * @param publishRun   the publish run the entity belongs to
+     *
+     * @return the Process context
+     *
+     * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
+     * @throws JsonProcessingException exception parsing the event json
+     */
+    public Multimap<String, RelationshipsContext> publishProcessContext(EntityDetail entityDetail, LineagePublishRun publishRun)
+            throws OCFCheckedExceptionBase, JsonProcessingException {
+        Multimap<String, RelationshipsContext> processContext = processContextHandler.buildProcessContext(serverUserName, entityDetail,
+                publishRun.getColumnLineageContexts(), publishRun.getSchemaElementContexts());
+        publishCoalescedLineageRelationshipsEvents(entityDetail.getGUID(), processContext, publishRun);
 
         return processContext;
     }
@@ -171,6 +215,70 @@ public class AssetLineagePublisher {
     }
 
 
+    /**
+     * Publishes the context map of an entity. The contexts of the event types that are stored as a whole by the consumers are combined into
+     * events of up to lineageEventsChunkSize relationships. The contexts of other entities (such as the columns at the ends of the lineage
+     * mappings) that were already published in the publish run are skipped.
+     *
+     * @param entityGUID the GUID of the published entity
+     * @param contextMap the context map to be published
+     * @param publishRun the publish run the entity belongs to
+     *
+     * @throws ConnectorCheckedException unable to send the event due to connectivity issue
+     * @throws JsonProcessingException   exception parsing the event json
+     */
+    private void publishCoalescedLineageRelationshipsEvents(String entityGUID, Multimap<String, RelationshipsContext> contextMap,
+                                                            LineagePublishRun publishRun) throws JsonProcessingException,
+                                                                                                 ConnectorCheckedException {
+        for (String eventType : contextMap.keySet()) {
+            Set<GraphContext> coalescedRelationships = new LinkedHashSet<>();
+
+            for (RelationshipsContext relationshipsContext : contextMap.get(eventType)) {
+                if (CollectionUtils.isEmpty(relationshipsContext.getRelationships())) {
+                    continue;
+                }
+                if (!entityGUID.equals(relationshipsContext.getEntityGuid()) &&
+                        !publishRun.markPublished(eventType, relationshipsContext.getEntityGuid())) {
+                    continue;
+                }
+
+                if (COALESCED_EVENT_TYPES.contains(eventType)) {
+                    coalescedRelationships.addAll(relationshipsContext.getRelationships());
+                } else {
+                    publishLineageRelationshipsEvent(eventType, relationshipsContext);
+                }
+            }
+
+            Iterator<GraphContext> relationshipsIterator = coalescedRelationships.iterator();
+            while (relationshipsIterator.hasNext()) {
+                Set<GraphContext> chunk = new HashSet<>();
+                while (chunk.size() < lineageEventsChunkSize && relationshipsIterator.hasNext()) {
+                    chunk.add(relationshipsIterator.next());
+                }
+                publishLineageRelationshipsEvent(eventType, new RelationshipsContext(entityGUID, chunk));
+            }
+        }
+    }
+
+    /**
+     * Publishes a {@link LineageRelationshipsEvent} for a context
+     *
+     * @param eventType            the type of the event
+     * @param relationshipsContext the context to be published
+     *
+     * @throws ConnectorCheckedException unable to send the event due to connectivity issue
+     * @throws JsonProcessingException   exception parsing the event json
+     */
+    private void publishLineageRelationshipsEvent(String eventType, RelationshipsContext relationshipsContext) throws JsonProcessingException,
+                                                                                                                     ConnectorCheckedException {
+        LineageRelationshipsEvent event = new LineageRelationshipsEvent();
+
+        event.setRelationshipsContext(relationshipsContext);
+        event.setAssetLineageEventType(AssetLineageEventType.getByEventTypeName(eventType));
+
+        publishEvent(event);
+    }
+
     /**
      * Publishes events for the relationships of an entity based on the context map. The context is built in chunks of relationships configurable
      * by glossaryTermLineageEventsChunkSize.
@@ -319,7 +427,7 @@ public class AssetLineagePublisher {
         if (outTopicConnector == null)
             return;
 
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = OpenMetadataEventCodec.getJSONMapper();
         outTopicConnector.sendEvent(objectMapper.writeValueAsString(event));
 
     }
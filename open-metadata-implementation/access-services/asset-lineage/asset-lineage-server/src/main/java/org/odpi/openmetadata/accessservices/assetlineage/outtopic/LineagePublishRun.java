@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
+
+import com.google.common.collect.Multimap;
+import org.odpi.openmetadata.accessservices.assetlineage.model.RelationshipsContext;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LineagePublishRun holds the state shared by the entities published together in one run, such as a request to publish
+ * all the entities of a type. It remembers the column contexts that have been built so they are not built again for the
+ * neighbouring processes, and the contexts that have been published so they are only sent out once per run.
+ * It is safe for use by several threads at once.
+ */
+public class LineagePublishRun {
+
+    private final Map<String, Multimap<String, RelationshipsContext>> columnLineageContexts = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, RelationshipsContext>> schemaElementContexts = new ConcurrentHashMap<>();
+    private final Set<String> publishedContexts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the lineage context of the columns built so far in this run, by column GUID.
+     *
+     * @return the column lineage contexts
+     */
+    public Map<String, Multimap<String, RelationshipsContext>> getColumnLineageContexts() {
+        return columnLineageContexts;
+    }
+
+    /**
+     * Returns the context of the mapped columns built so far in this run, by column GUID.
+     *
+     * @return the schema element contexts
+     */
+    public Map<String, Map<String, RelationshipsContext>> getSchemaElementContexts() {
+        return schemaElementContexts;
+    }
+
+    /**
+     * Records that the context of an entity is being published for an event type.
+     *
+     * @param eventType  the type of the event
+     * @param entityGUID the GUID of the entity the context belongs to
+     *
+     * @return true if the context has not been published before in this run
+     */
+    boolean markPublished(String eventType, String entityGUID) {
+        return publishedContexts.add(eventType + ":" + entityGUID);
+    }
+}
@@ -15,6 +15,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.model.FindEntitiesParam
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineagePublishSummary;
 import org.odpi.openmetadata.accessservices.assetlineage.model.RelationshipsContext;
 import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
+import org.odpi.openmetadata.accessservices.assetlineage.outtopic.LineagePublishRun;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
 import org.odpi.openmetadata.commonservices.ffdc.rest.ConnectionResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
@@ -36,7 +37,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -150,14 +156,50 @@ public class AssetLineageRestServices {
           publishLineageTaskActive.set(true);
           if(entities.isPresent()) {
               auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition(PROCESS_STARTED, entityType, String.valueOf(entities.get().size())));
-              result = Optional.of(entities.get().parallelStream().map(entityDetail -> publishEntityContext(publisher, entityDetail, auditLog)).collect(Collectors.toList()));
-              CollectionUtils.filter(result.get(), PredicateUtils.notNullPredicate());
+              result = Optional.of(publishEntitiesContext(publisher, entities.get(), auditLog));
               auditLog.logMessage(methodName, AssetLineageAuditCode.PUBLISH_PROCESS_INFO.getMessageDefinition(PROCESS_COMPLETED, entityType, String.valueOf(result.get().size())));
           }
           return result;
       };
     }
 
+    /**
+     * Builds and publishes the context of the entities using publishLineageThreadCount threads. The entities share a single
+     * publish run so the context common to several of them is built and published once.
+     *
+     * @param publisher instance of the asset-lineage topic publisher
+     * @param entities  entity detail collection to be processed
+     * @param auditLog  instance of auditLog logging interface
+     *
+     * @return the GUIDs of the entities whose context was published
+     */
+    private List<String> publishEntitiesContext(AssetLineagePublisher publisher, List<EntityDetail> entities, AuditLog auditLog) {
+        String methodName = "publishEntitiesContext";
+        LineagePublishRun publishRun = new LineagePublishRun();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, publisher.getPublishLineageThreadCount()));
+        List<String> publishedGUIDs = new ArrayList<>();
+
+        try {
+            List<Callable<String>> tasks = entities.stream()
+                    .map(entityDetail -> (Callable<String>) () -> publishEntityContext(publisher, entityDetail, auditLog, publishRun))
+                    .collect(Collectors.toList());
+
+            for (Future<String> publishedGUID : executor.invokeAll(tasks)) {
+                publishedGUIDs.add(publishedGUID.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Publishing the lineage context was interrupted in {}", methodName);
+        } catch (ExecutionException e) {
+            log.error("Unexpected error publishing the lineage context in {}", methodName, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CollectionUtils.filter(publishedGUIDs, PredicateUtils.notNullPredicate());
+        return publishedGUIDs;
+    }
+
     /**
      * Find the entity the element with the provided guid and the given type
      * Publish the context for the entity on the AL OMAS out Topic
@@ -208,10 +250,24 @@ public class AssetLineageRestServices {
      * @return the GUID published on the Asset Lineage Out Topic
      */
     private String publishEntityContext(AssetLineagePublisher publisher, EntityDetail entityDetail, AuditLog auditLog) {
+        return publishEntityContext(publisher, entityDetail, auditLog, null);
+    }
+
+    /**
+     * Returns GUID that was published on the Out Topic as part of a publish run
+     *
+     * @param entityDetail the entity for which the event is published
+     * @param publisher    Asset Lineage publisher
+     * @param publishRun   the publish run the entity belongs to, or null if it is published on its own
+     *
+     * @return the GUID published on the Asset Lineage Out Topic
+     */
+    private String publishEntityContext(AssetLineagePublisher publisher, EntityDetail entityDetail, AuditLog auditLog,
+                                        LineagePublishRun publishRun) {
         String methodName = "publishEntityContext";
 
         try {
-            String result = publishContext(entityDetail, publisher);
+            String result = publishContext(entityDetail, publisher, publishRun);
             auditLog.logMessage(methodName, AssetLineageAuditCode.ENTITY_INFO.getMessageDefinition(ENTITY_CONTEXT_PUBLISHED,
                     entityDetail.getType().getTypeDefName(), entityDetail.getGUID()));
             return result;
@@ -229,14 +285,15 @@ public class AssetLineageRestServices {
      *
      * @param entityDetail - the entity based on which we want to build the context
      * @param publisher    Asset Lineage publisher
+     * @param publishRun   the publish run the entity belongs to, or null if it is published on its own
      *
      * @return the entity GUID if the context is not empty
      *
      * @throws OCFCheckedExceptionBase checked exception for reporting errors found when using OCF connectors
      * @throws JsonProcessingException exception parsing the event json
      */
-    private String publishContext(EntityDetail entityDetail, AssetLineagePublisher publisher) throws OCFCheckedExceptionBase,
-                                                                                                     JsonProcessingException {
+    private String publishContext(EntityDetail entityDetail, AssetLineagePublisher publisher, LineagePublishRun publishRun)
+            throws OCFCheckedExceptionBase, JsonProcessingException {
         String typeName = entityDetail.getType().getTypeDefName();
         Multimap<String, RelationshipsContext> context = ArrayListMultimap.create();
         switch (typeName) {
@@ -245,7 +302,8 @@ public class AssetLineageRestServices {
                 break;
             }
             case PROCESS: {
-                context = publisher.publishProcessContext(entityDetail);
+                context = publishRun == null ? publisher.publishProcessContext(entityDetail)
+                        : publisher.publishProcessContext(entityDetail, publishRun);
                 break;
             }
             default:
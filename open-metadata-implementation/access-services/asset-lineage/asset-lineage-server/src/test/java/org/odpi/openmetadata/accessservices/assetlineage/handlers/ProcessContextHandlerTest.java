@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.assetlineage.handlers;
 
+import com.google.common.collect.Multimap;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -23,8 +24,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +35,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType.COLUMN_CONTEXT_EVENT;
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.ATTRIBUTE_FOR_SCHEMA;
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.COLLECTION_MEMBERSHIP;
 import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.LINEAGE_MAPPING;
@@ -49,6 +53,7 @@ import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineag
 class ProcessContextHandlerTest {
     private static final String GUID = "guid";
     private static final String USER = "user";
+    private static final String MAPPED_COLUMN_GUID = "mappedColumnGUID";
     @Mock
     private HandlerHelper handlerHelper;
     @Mock
@@ -121,6 +126,67 @@ class ProcessContextHandlerTest {
         verify(assetContextHandler, times(1)).buildSchemaElementContext(USER, entityDetail);
     }
 
+    @Test
+    void buildProcessContext_reusesColumnLineageContext() throws OCFCheckedExceptionBase {
+        EntityDetail process = mockProcess();
+
+        List<Relationship> port = mockGetRelationships(PROCESS_PORT, PROCESS);
+        EntityDetail portEntity = mockEntityAtTheEnd(port.get(0));
+        InstanceType instanceType = mock(InstanceType.class);
+        when(instanceType.getTypeDefName()).thenReturn(PORT_IMPLEMENTATION);
+        when(portEntity.getType()).thenReturn(instanceType);
+        Set<GraphContext> portContext = mockGraphContext(port, ATTRIBUTE_FOR_SCHEMA);
+
+        EntityDetail tabularSchemaType = mock(EntityDetail.class);
+        when(handlerHelper.addContextForRelationships(USER, portEntity, PORT_SCHEMA, portContext)).thenReturn(tabularSchemaType);
+
+        List<Relationship> lineageMappings = mockLineageMappings(portContext.stream().findFirst().get());
+        EntityDetail entityDetail = mockEntityAtTheEnd(lineageMappings.get(0));
+
+        Map<String, Multimap<String, RelationshipsContext>> columnLineageContexts = new HashMap<>();
+        Map<String, Map<String, RelationshipsContext>> schemaElementContexts = new HashMap<>();
+        processContextHandler.buildProcessContext(USER, process, columnLineageContexts, schemaElementContexts);
+        processContextHandler.buildProcessContext(USER, process, columnLineageContexts, schemaElementContexts);
+
+        assertTrue(columnLineageContexts.containsKey(GUID));
+        verify(handlerHelper, times(1)).getRelationshipsByType(USER, GUID, LINEAGE_MAPPING, RELATIONAL_COLUMN);
+        verify(assetContextHandler, times(1)).buildSchemaElementContext(USER, entityDetail);
+    }
+
+    @Test
+    void buildProcessContext_reusesMappedColumnContext() throws OCFCheckedExceptionBase {
+        EntityDetail process = mockProcess();
+
+        List<Relationship> port = mockGetRelationships(PROCESS_PORT, PROCESS);
+        EntityDetail portEntity = mockEntityAtTheEnd(port.get(0));
+        InstanceType instanceType = mock(InstanceType.class);
+        when(instanceType.getTypeDefName()).thenReturn(PORT_IMPLEMENTATION);
+        when(portEntity.getType()).thenReturn(instanceType);
+        Set<GraphContext> portContext = mockGraphContext(port, ATTRIBUTE_FOR_SCHEMA);
+
+        EntityDetail tabularSchemaType = mock(EntityDetail.class);
+        when(handlerHelper.addContextForRelationships(USER, portEntity, PORT_SCHEMA, portContext)).thenReturn(tabularSchemaType);
+
+        List<Relationship> lineageMappings = mockLineageMappings(portContext.stream().findFirst().get());
+        EntityDetail mappedColumn = mockEntityAtTheEnd(lineageMappings.get(0));
+        when(mappedColumn.getGUID()).thenReturn(MAPPED_COLUMN_GUID);
+        Map<String, RelationshipsContext> mappedColumnContext = Collections.singletonMap(COLUMN_CONTEXT_EVENT.getEventTypeName(),
+                new RelationshipsContext(MAPPED_COLUMN_GUID, new HashSet<>()));
+        when(assetContextHandler.buildSchemaElementContext(USER, mappedColumn)).thenReturn(mappedColumnContext);
+
+        /*
+         * A new column lineage context map stands for another process whose columns are mapped to the same column.
+         */
+        Map<String, Map<String, RelationshipsContext>> schemaElementContexts = new HashMap<>();
+        processContextHandler.buildProcessContext(USER, process, new HashMap<>(), schemaElementContexts);
+        Multimap<String, RelationshipsContext> context = processContextHandler.buildProcessContext(USER, process, new HashMap<>(),
+                schemaElementContexts);
+
+        assertEquals(mappedColumnContext, schemaElementContexts.get(MAPPED_COLUMN_GUID));
+        assertTrue(context.containsEntry(COLUMN_CONTEXT_EVENT.getEventTypeName(), mappedColumnContext.get(COLUMN_CONTEXT_EVENT.getEventTypeName())));
+        verify(handlerHelper, times(2)).getRelationshipsByType(USER, GUID, LINEAGE_MAPPING, RELATIONAL_COLUMN);
+        verify(assetContextHandler, times(1)).buildSchemaElementContext(USER, mappedColumn);
+    }
 
     private Set<GraphContext> mockGraphContext(List<Relationship> collection, String relationshipType) throws OCFCheckedExceptionBase {
         RelationshipsContext relationshipContext = mock(RelationshipsContext.class);
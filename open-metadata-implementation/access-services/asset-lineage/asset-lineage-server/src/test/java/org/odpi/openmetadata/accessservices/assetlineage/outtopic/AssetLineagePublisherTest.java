@@ -0,0 +1,247 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType;
+import org.odpi.openmetadata.accessservices.assetlineage.event.LineageRelationshipsEvent;
+import org.odpi.openmetadata.accessservices.assetlineage.handlers.ProcessContextHandler;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.accessservices.assetlineage.model.RelationshipsContext;
+import org.odpi.openmetadata.accessservices.assetlineage.server.AssetLineageInstanceHandler;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType.COLUMN_CONTEXT_EVENT;
+import static org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType.LINEAGE_MAPPINGS_EVENT;
+import static org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType.PROCESS_CONTEXT_EVENT;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.LINEAGE_MAPPING;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.PROCESS_PORT;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineageConstants.TABULAR_COLUMN;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+class AssetLineagePublisherTest {
+    private static final String USER = "user";
+    private static final String SERVER_NAME = "serverName";
+    private static final String FIRST_PROCESS_GUID = "firstProcessGUID";
+    private static final String SECOND_PROCESS_GUID = "secondProcessGUID";
+    private static final String COLUMN_GUID = "columnGUID";
+    private static final String MAPPED_COLUMN_GUID = "mappedColumnGUID";
+    @Mock
+    private AssetLineageInstanceHandler instanceHandler;
+    @Mock
+    private ProcessContextHandler processContextHandler;
+    @Mock
+    private OpenMetadataTopicConnector outTopicConnector;
+    private Field instanceHandlerField;
+    private Object originalInstanceHandler;
+    private AssetLineagePublisher publisher;
+
+    @BeforeEach
+    void before() throws OCFCheckedExceptionBase {
+        instanceHandlerField = ReflectionUtils.findField(AssetLineagePublisher.class, "instanceHandler");
+        instanceHandlerField.setAccessible(true);
+        originalInstanceHandler = ReflectionUtils.getField(instanceHandlerField, null);
+        ReflectionUtils.setField(instanceHandlerField, null, instanceHandler);
+
+        when(instanceHandler.getProcessHandler(USER, SERVER_NAME, "AssetLineagePublisher")).thenReturn(processContextHandler);
+
+        Map<String, Object> accessServiceOptions = new HashMap<>();
+        accessServiceOptions.put("lineageEventsChunkSize", 2);
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, accessServiceOptions);
+    }
+
+    @AfterEach
+    void after() {
+        ReflectionUtils.setField(instanceHandlerField, null, originalInstanceHandler);
+        instanceHandlerField.setAccessible(false);
+    }
+
+    @Test
+    void publishProcessContext_coalescesContextsIntoChunks() throws Exception {
+        EntityDetail process = mockProcess(FIRST_PROCESS_GUID);
+
+        /*
+         * The collection context and the port context of the process, and the lineage mappings of its column, are merged per
+         * event type and sent in events of up to two relationships.
+         */
+        Multimap<String, RelationshipsContext> context = ArrayListMultimap.create();
+        context.put(PROCESS_CONTEXT_EVENT.getEventTypeName(), getContext(FIRST_PROCESS_GUID, PROCESS_PORT, "r1", "r2"));
+        context.put(PROCESS_CONTEXT_EVENT.getEventTypeName(), getContext(FIRST_PROCESS_GUID, PROCESS_PORT, "r3"));
+        context.put(LINEAGE_MAPPINGS_EVENT.getEventTypeName(), getContext(COLUMN_GUID, LINEAGE_MAPPING, "m1"));
+        context.put(COLUMN_CONTEXT_EVENT.getEventTypeName(), getContext(MAPPED_COLUMN_GUID, TABULAR_COLUMN, "c1"));
+        mockProcessContext(process, context);
+
+        publisher.publishProcessContext(process, new LineagePublishRun());
+
+        List<LineageRelationshipsEvent> events = getSentEvents();
+        assertEquals(4, events.size());
+
+        List<LineageRelationshipsEvent> processContextEvents = getEventsOfType(events, PROCESS_CONTEXT_EVENT);
+        assertEquals(2, processContextEvents.size());
+        assertEquals(List.of(2, 1), processContextEvents.stream().map(event -> event.getRelationshipsContext().getRelationships().size())
+                .collect(Collectors.toList()));
+        assertEquals(Set.of("r1", "r2", "r3"), getRelationshipGUIDs(processContextEvents));
+        processContextEvents.forEach(event -> assertEquals(FIRST_PROCESS_GUID, event.getRelationshipsContext().getEntityGuid()));
+
+        List<LineageRelationshipsEvent> lineageMappingsEvents = getEventsOfType(events, LINEAGE_MAPPINGS_EVENT);
+        assertEquals(1, lineageMappingsEvents.size());
+        assertEquals(FIRST_PROCESS_GUID, lineageMappingsEvents.get(0).getRelationshipsContext().getEntityGuid());
+        assertEquals(Set.of("m1"), getRelationshipGUIDs(lineageMappingsEvents));
+
+        List<LineageRelationshipsEvent> columnContextEvents = getEventsOfType(events, COLUMN_CONTEXT_EVENT);
+        assertEquals(1, columnContextEvents.size());
+        assertEquals(MAPPED_COLUMN_GUID, columnContextEvents.get(0).getRelationshipsContext().getEntityGuid());
+        assertEquals(Set.of("c1"), getRelationshipGUIDs(columnContextEvents));
+    }
+
+    @Test
+    void publishProcessContext_skipsContextsPublishedInTheRun() throws Exception {
+        EntityDetail firstProcess = mockProcess(FIRST_PROCESS_GUID);
+        Multimap<String, RelationshipsContext> firstContext = ArrayListMultimap.create();
+        firstContext.put(PROCESS_CONTEXT_EVENT.getEventTypeName(), getContext(FIRST_PROCESS_GUID, PROCESS_PORT, "r1"));
+        firstContext.put(LINEAGE_MAPPINGS_EVENT.getEventTypeName(), getContext(COLUMN_GUID, LINEAGE_MAPPING, "m1"));
+        firstContext.put(COLUMN_CONTEXT_EVENT.getEventTypeName(), getContext(MAPPED_COLUMN_GUID, TABULAR_COLUMN, "c1"));
+        mockProcessContext(firstProcess, firstContext);
+
+        /*
+         * The second process shares the column of the first one, so the column contexts are repeated in its context.
+         */
+        EntityDetail secondProcess = mockProcess(SECOND_PROCESS_GUID);
+        Multimap<String, RelationshipsContext> secondContext = ArrayListMultimap.create();
+        secondContext.put(PROCESS_CONTEXT_EVENT.getEventTypeName(), getContext(SECOND_PROCESS_GUID, PROCESS_PORT, "r2"));
+        secondContext.put(LINEAGE_MAPPINGS_EVENT.getEventTypeName(), getContext(COLUMN_GUID, LINEAGE_MAPPING, "m1"));
+        secondContext.put(COLUMN_CONTEXT_EVENT.getEventTypeName(), getContext(MAPPED_COLUMN_GUID, TABULAR_COLUMN, "c1"));
+        mockProcessContext(secondProcess, secondContext);
+
+        LineagePublishRun publishRun = new LineagePublishRun();
+        publisher.publishProcessContext(firstProcess, publishRun);
+        publisher.publishProcessContext(secondProcess, publishRun);
+
+        List<LineageRelationshipsEvent> events = getSentEvents();
+        assertEquals(4, events.size());
+
+        List<LineageRelationshipsEvent> processContextEvents = getEventsOfType(events, PROCESS_CONTEXT_EVENT);
+        assertEquals(List.of(FIRST_PROCESS_GUID, SECOND_PROCESS_GUID), processContextEvents.stream()
+                .map(event -> event.getRelationshipsContext().getEntityGuid()).collect(Collectors.toList()));
+        assertEquals(Set.of("r1", "r2"), getRelationshipGUIDs(processContextEvents));
+
+        List<LineageRelationshipsEvent> lineageMappingsEvents = getEventsOfType(events, LINEAGE_MAPPINGS_EVENT);
+        assertEquals(1, lineageMappingsEvents.size());
+        assertEquals(FIRST_PROCESS_GUID, lineageMappingsEvents.get(0).getRelationshipsContext().getEntityGuid());
+
+        List<LineageRelationshipsEvent> columnContextEvents = getEventsOfType(events, COLUMN_CONTEXT_EVENT);
+        assertEquals(1, columnContextEvents.size());
+        assertEquals(MAPPED_COLUMN_GUID, columnContextEvents.get(0).getRelationshipsContext().getEntityGuid());
+    }
+
+    @Test
+    void publishProcessContext_republishesContextsInANewRun() throws Exception {
+        EntityDetail process = mockProcess(FIRST_PROCESS_GUID);
+        Multimap<String, RelationshipsContext> context = ArrayListMultimap.create();
+        context.put(PROCESS_CONTEXT_EVENT.getEventTypeName(), getContext(FIRST_PROCESS_GUID, PROCESS_PORT, "r1"));
+        context.put(COLUMN_CONTEXT_EVENT.getEventTypeName(), getContext(MAPPED_COLUMN_GUID, TABULAR_COLUMN, "c1"));
+        mockProcessContext(process, context);
+
+        publisher.publishProcessContext(process);
+        publisher.publishProcessContext(process);
+
+        List<LineageRelationshipsEvent> events = getSentEvents();
+        assertEquals(4, events.size());
+        assertEquals(2, getEventsOfType(events, COLUMN_CONTEXT_EVENT).size());
+    }
+
+    @Test
+    void markPublished() {
+        LineagePublishRun publishRun = new LineagePublishRun();
+
+        assertTrue(publishRun.markPublished(COLUMN_CONTEXT_EVENT.getEventTypeName(), COLUMN_GUID));
+        assertFalse(publishRun.markPublished(COLUMN_CONTEXT_EVENT.getEventTypeName(), COLUMN_GUID));
+        assertTrue(publishRun.markPublished(LINEAGE_MAPPINGS_EVENT.getEventTypeName(), COLUMN_GUID));
+        assertTrue(publishRun.markPublished(COLUMN_CONTEXT_EVENT.getEventTypeName(), MAPPED_COLUMN_GUID));
+    }
+
+    private EntityDetail mockProcess(String guid) {
+        EntityDetail process = mock(EntityDetail.class);
+        when(process.getGUID()).thenReturn(guid);
+        return process;
+    }
+
+    private void mockProcessContext(EntityDetail process, Multimap<String, RelationshipsContext> context) throws OCFCheckedExceptionBase {
+        when(processContextHandler.buildProcessContext(eq(USER), eq(process), any(), any())).thenReturn(context);
+    }
+
+    private RelationshipsContext getContext(String entityGUID, String relationshipType, String... relationshipGUIDs) {
+        Set<GraphContext> relationships = new HashSet<>();
+        for (String relationshipGUID : relationshipGUIDs) {
+            relationships.add(new GraphContext(relationshipType, relationshipGUID, getLineageEntity(relationshipGUID + "-from"),
+                    getLineageEntity(relationshipGUID + "-to")));
+        }
+        return new RelationshipsContext(entityGUID, relationships);
+    }
+
+    private LineageEntity getLineageEntity(String guid) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(TABULAR_COLUMN);
+        return lineageEntity;
+    }
+
+    private List<LineageRelationshipsEvent> getSentEvents() throws Exception {
+        ArgumentCaptor<String> eventCaptor = ArgumentCaptor.forClass(String.class);
+        verify(outTopicConnector, atLeastOnce()).sendEvent(eventCaptor.capture());
+
+        List<LineageRelationshipsEvent> events = new ArrayList<>();
+        for (String event : eventCaptor.getAllValues()) {
+            events.add(readEvent(event));
+        }
+        return events;
+    }
+
+    private LineageRelationshipsEvent readEvent(String event) throws JsonProcessingException {
+        return OpenMetadataEventCodec.getJSONMapper().readValue(event, LineageRelationshipsEvent.class);
+    }
+
+    private List<LineageRelationshipsEvent> getEventsOfType(List<LineageRelationshipsEvent> events, AssetLineageEventType eventType) {
+        return events.stream().filter(event -> eventType == event.getAssetLineageEventType()).collect(Collectors.toList());
+    }
+
+    private Set<String> getRelationshipGUIDs(List<LineageRelationshipsEvent> events) {
+        return events.stream().flatMap(event -> event.getRelationshipsContext().getRelationships().stream())
+                .map(GraphContext::getRelationshipGuid).collect(Collectors.toSet());
+    }
+}
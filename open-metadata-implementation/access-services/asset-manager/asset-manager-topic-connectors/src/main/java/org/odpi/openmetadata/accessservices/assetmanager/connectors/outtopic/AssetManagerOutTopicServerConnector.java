@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.accessservices.assetmanager.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetmanager.ffdc.AssetManagerAuditCode;
 import org.odpi.openmetadata.accessservices.assetmanager.events.AssetManagerOutTopicEvent;
 import org.odpi.openmetadata.accessservices.assetmanager.ffdc.AssetManagerErrorCode;
@@ -28,11 +27,10 @@ public class AssetManagerOutTopicServerConnector extends OpenMetadataTopicSender
     public void sendEvent(AssetManagerOutTopicEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = super.encodeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
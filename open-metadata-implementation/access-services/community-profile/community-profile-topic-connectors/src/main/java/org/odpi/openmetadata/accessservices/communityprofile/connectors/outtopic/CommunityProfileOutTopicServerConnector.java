@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.accessservices.communityprofile.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.communityprofile.events.CommunityProfileOutboundEvent;
 import org.odpi.openmetadata.accessservices.communityprofile.ffdc.CommunityProfileAuditCode;
 import org.odpi.openmetadata.accessservices.communityprofile.ffdc.CommunityProfileErrorCode;
@@ -28,11 +27,10 @@ public class CommunityProfileOutTopicServerConnector extends OpenMetadataTopicSe
     public void sendEvent(CommunityProfileOutboundEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = super.encodeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHead
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineAuditCode;
 import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,11 +39,16 @@ public class DataEngineInTopicListener implements OpenMetadataTopicListener {
     /**
      * Method to pass an event received on topic.
      *
-     * @param dataEngineEvent inbound event
+     * @param inTopicEvent inbound event
      */
     @Override
-    public void processEvent(String dataEngineEvent) {
-        log.debug("Processing instance event {}", dataEngineEvent);
+    public void processEvent(String inTopicEvent) {
+        log.debug("Processing instance event {}", inTopicEvent);
+
+        /*
+         * The event processor works with JSON so events sent in the compact encoding are converted first.
+         */
+        String dataEngineEvent = OpenMetadataEventCodec.toJSON(inTopicEvent);
 
         if (dataEngineEvent == null) {
             log.debug("Null instance event - ignoring event");
@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.accessservices.dataengine.connectors.intopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineAuditCode;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
@@ -30,12 +29,11 @@ public class DataEngineInTopicClientConnector extends OpenMetadataTopicSenderCon
     public void sendEvent(DataEngineEventHeader event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
 
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = super.encodeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
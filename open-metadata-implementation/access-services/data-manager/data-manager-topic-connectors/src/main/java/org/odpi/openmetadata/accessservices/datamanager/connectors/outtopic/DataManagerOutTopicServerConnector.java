@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.accessservices.datamanager.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.datamanager.events.DataManagerOutboundEvent;
 import org.odpi.openmetadata.accessservices.datamanager.ffdc.DataManagerAuditCode;
 import org.odpi.openmetadata.accessservices.datamanager.ffdc.DataManagerErrorCode;
@@ -28,11 +27,10 @@ public class DataManagerOutTopicServerConnector extends OpenMetadataTopicSenderC
     public void sendEvent(DataManagerOutboundEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
 
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = super.encodeEvent(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
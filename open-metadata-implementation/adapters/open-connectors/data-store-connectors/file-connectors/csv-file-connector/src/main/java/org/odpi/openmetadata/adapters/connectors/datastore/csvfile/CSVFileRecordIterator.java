@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * CSVFileRecordIterator streams the data records of a CSV file in a single pass.  The file is closed when the last
+ * record has been returned.  If the caller stops early, it should call close.  Blank rows are returned as empty lists.
+ * An error reading the file is reported as an UncheckedIOException since the Iterator methods can not throw checked
+ * exceptions.
+ */
+public class CSVFileRecordIterator implements Iterator<List<String>>, Closeable
+{
+    private final CSVRecordReader recordReader;
+
+    private List<String> nextRecord = null;
+    private boolean      closed     = false;
+
+
+    /**
+     * Constructor.
+     *
+     * @param recordReader reader positioned at the first data record
+     */
+    CSVFileRecordIterator(CSVRecordReader recordReader)
+    {
+        this.recordReader = recordReader;
+    }
+
+
+    /**
+     * Return whether there is another record in the file.
+     *
+     * @return boolean flag
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (nextRecord == null && ! closed)
+        {
+            try
+            {
+                nextRecord = recordReader.readRecord();
+
+                if (nextRecord == null)
+                {
+                    close();
+                }
+            }
+            catch (IOException error)
+            {
+                throw new UncheckedIOException(error);
+            }
+        }
+
+        return nextRecord != null;
+    }
+
+
+    /**
+     * Return the next record in the file.
+     *
+     * @return list of values
+     */
+    @Override
+    public List<String> next()
+    {
+        if (! hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        List<String> result = nextRecord;
+
+        nextRecord = null;
+
+        return result;
+    }
+
+
+    /**
+     * Close the file.
+     */
+    @Override
+    public void close()
+    {
+        if (! closed)
+        {
+            closed = true;
+
+            try
+            {
+                recordReader.close();
+            }
+            catch (IOException error)
+            {
+                throw new UncheckedIOException(error);
+            }
+        }
+    }
+}
@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time this is called, and again
+     * if the file changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +74,28 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.
+     *
+     * @param startRecordNumber first record to return
+     * @param maxRecords maximum number of records to return
+     * @return list of records - empty if the start record is beyond the end of the file
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    List<List<String>> readRecords(long startRecordNumber, int maxRecords) throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator that streams all the data records of the file in a single pass.  The iterator
+     * should be closed if the caller does not read to the end of the file.
+     *
+     * @return iterator over the records
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    CSVFileRecordIterator getRecordIterator() throws FileException, FileReadException;
 }
@@ -13,12 +13,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 
 /**
  * CSVFileStoreConnector works with structured files to retrieve simple tables of data.
+ * <p>
+ * The first time a record is requested, the file is scanned once to build an index of the byte offset of every
+ * 64th row.  A request for a record seeks to the nearest indexed row and reads forward from there, so random access
+ * and record counts do not rescan the file.  The index is rebuilt if the size or last modified time of the file
+ * changes.  The index assumes that the delimiter, quote and line feed characters are single bytes in the file's
+ * encoding, which is true for ASCII-compatible encodings such as UTF-8.
+ * </p>
  */
 public class CSVFileStoreConnector extends BasicFileStoreConnector implements CSVFileStore
 {
@@ -29,6 +43,18 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
 
+    /*
+     * Variables used for the index of row offsets.
+     */
+    private static final int indexInterval       = 64;
+    private static final int readBufferSize      = 65536;
+
+    private long[]         rowIndex            = null;
+    private int            rowIndexSize        = 0;
+    private long           rowCount            = 0;
+    private long           indexedFileLength   = -1;
+    private long           indexedLastModified = -1;
+
     /*
      * Variables used for logging and debug.
      */
@@ -127,8 +153,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time this is called, and again
+     * if the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,34 +164,16 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
         File fileStore = getFile(methodName);
 
-        try (Scanner scanner  = new Scanner(fileStore))
-        {
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
+        long recordCount = getRowCount(fileStore, methodName);
 
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
+        if ((recordCount > 0) && (columnNames == null))
         {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            recordCount = recordCount - 1;
         }
 
-        return rowCount;
+        return recordCount;
     }
 
 
@@ -220,44 +228,158 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  The batch is read in a single pass.
+     *
+     * @param startRecordNumber first record to return
+     * @param maxRecords maximum number of records to return
+     * @return list of records - empty if the start record is beyond the end of the file.  Blank rows are returned as
+     * empty lists
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    public List<List<String>> readRecords(long startRecordNumber,
+                                          int  maxRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        if (columnNames == null)
+        {
+            return readRows(startRecordNumber + 1, maxRecords, methodName);
+        }
+        else
+        {
+            return readRows(startRecordNumber, maxRecords, methodName);
+        }
+    }
+
+
+    /**
+     * Return an iterator that streams all the data records of the file in a single pass.  The iterator
+     * should be closed if the caller does not read to the end of the file.
+     *
+     * @return iterator over the records
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    public CSVFileRecordIterator getRecordIterator() throws FileException, FileReadException
+    {
+        final String  methodName = "getRecordIterator";
+
+        File fileStore = super.getFile(methodName);
+
+        CSVRecordReader recordReader = null;
+
+        try
+        {
+            recordReader = getRecordReader(fileStore, 0);
+
+            if (columnNames == null)
+            {
+                recordReader.skipRecords(1);
+            }
+
+            return new CSVFileRecordIterator(recordReader);
+        }
+        catch (IOException  error)
+        {
+            closeQuietly(recordReader);
+
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
      * @param recordLocation long
      * @param methodName name of calling method
-     * @return List of strings, each string is the value from the column.
+     * @return List of strings, each string is the value from the column.  Null for a blank row.
      * @throws FileException problem accessing the file
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        List<List<String>> rows = readRows(recordLocation, 1, methodName);
 
+        if (rows.isEmpty())
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                      Integer.toString(recordLocation)),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        List<String> row = rows.get(0);
+
+        if (row.isEmpty())
+        {
+            return null;
+        }
+
+        return row;
+    }
+
+
+    /**
+     * Return a range of rows from the file.  The reading starts from the nearest indexed row before the first
+     * requested row.
+     *
+     * @param startRow first row to return - the first row in the file is row 0
+     * @param maxRows maximum number of rows to return
+     * @param methodName name of calling method
+     * @return list of rows
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file
+     */
+    private List<List<String>> readRows(long    startRow,
+                                        int     maxRows,
+                                        String  methodName) throws FileException, FileReadException
+    {
         File fileStore = super.getFile(methodName);
 
-        try (Scanner scanner = new Scanner(fileStore))
+        List<List<String>> rows = new ArrayList<>();
+
+        long   startOffset;
+        long   rowsToSkip;
+
+        synchronized (this)
         {
+            long fileRowCount = getRowCount(fileStore, methodName);
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            if ((startRow < 0) || (startRow >= fileRowCount) || (maxRows <= 0))
             {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
+                return rows;
             }
 
-            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
-                                                                                                      Integer.toString(recordLocation)),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        fileStoreName);
+            startOffset = rowIndex[(int)(startRow / indexInterval)];
+            rowsToSkip  = startRow % indexInterval;
+        }
+
+        try (CSVRecordReader recordReader = getRecordReader(fileStore, startOffset))
+        {
+            recordReader.skipRecords(rowsToSkip);
+
+            while (rows.size() < maxRows)
+            {
+                List<String> row = recordReader.readRecord();
 
+                if (row == null)
+                {
+                    break;
+                }
+
+                rows.add(row);
+            }
         }
         catch (IOException  error)
         {
@@ -268,99 +390,179 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                         error,
                                         fileStoreName);
         }
+
+        return rows;
     }
 
 
     /**
-     * Step through the record, character by character, extracting each column and enduring that escaped double quotes
-     * and other tricks found in CSV files are handled.
+     * Open the file at a byte offset.  The offset must be the start of a row.
      *
-     * @param fileRecord a single record from the CSV file store
-     * @return an array of column values extracted from the record
+     * @param fileStore file to read
+     * @param offset byte offset of the first row to read
+     * @return record reader
+     * @throws IOException problem opening the file
      */
-    private  List<String> parseRecord(String fileRecord)
+    private CSVRecordReader getRecordReader(File fileStore,
+                                            long offset) throws IOException
     {
-        if ((fileRecord == null) || (fileRecord.isEmpty()))
+        FileChannel fileChannel = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ);
+
+        try
         {
-            return null;
+            fileChannel.position(offset);
+        }
+        catch (IOException error)
+        {
+            fileChannel.close();
+            throw error;
         }
 
-        List<String> result = new ArrayList<>();
-        StringBuffer currentValue = new StringBuffer();
+        return new CSVRecordReader(new InputStreamReader(Channels.newInputStream(fileChannel), Charset.defaultCharset()),
+                                   delimiterChar,
+                                   quoteChar);
+    }
+
+
+    /**
+     * Return the number of rows in the file (including the column names if they are in the file).
+     * The index of row offsets is built if needed.
+     *
+     * @param fileStore file to read
+     * @param methodName name of calling method
+     * @return row count
+     * @throws FileReadException unable to read the file
+     */
+    private synchronized long getRowCount(File   fileStore,
+                                          String methodName) throws FileReadException
+    {
+        long fileLength   = fileStore.length();
+        long lastModified = fileStore.lastModified();
+
+        if ((rowIndex == null) || (fileLength != indexedFileLength) || (lastModified != indexedLastModified))
+        {
+            buildRowIndex(fileStore, methodName);
+
+            indexedFileLength   = fileLength;
+            indexedLastModified = lastModified;
+        }
 
-        boolean inQuotes = false;
-        boolean startCollectingCharacters = false;
-        boolean doubleQuotesInColumn = false;
+        return rowCount;
+    }
 
-        char[] characters = fileRecord.toCharArray();
 
-        for (char character : characters)
+    /**
+     * Scan the file once to count the rows and record the byte offset of every indexInterval-th row.  The rows
+     * are found with the same CSVTokenizer used to read the records so line feeds inside quoted values do not end
+     * a row.  Blank rows at the end of the file are not counted.
+     *
+     * @param fileStore file to read
+     * @param methodName name of calling method
+     * @throws FileReadException unable to read the file
+     */
+    private void buildRowIndex(File   fileStore,
+                               String methodName) throws FileReadException
+    {
+        long[]       index           = new long[1024];
+        int          indexSize       = 0;
+        long         offset          = 0;
+        long         rows            = 0;
+        long         rowsWithContent = 0;
+        boolean      rowHasContent   = false;
+        boolean      atRowStart      = true;
+        CSVTokenizer tokenizer       = new CSVTokenizer((delimiterChar < 128) ? delimiterChar : -1,
+                                                        (quoteChar < 128) ? quoteChar : -1);
+
+        byte[]       buffer          = new byte[readBufferSize];
+
+        try (InputStream inputStream = new FileInputStream(fileStore))
         {
-            if (inQuotes)
+            int bytesRead;
+
+            while ((bytesRead = inputStream.read(buffer)) != -1)
             {
-                startCollectingCharacters = true;
-                if (character == quoteChar)
-                {
-                    inQuotes = false;
-                    doubleQuotesInColumn = false;
-                }
-                else
+                for (int i = 0; i < bytesRead; i++)
                 {
-                    if (character == '\"')
+                    int character = buffer[i] & 0xFF;
+
+                    if (atRowStart)
                     {
-                        if (!doubleQuotesInColumn)
+                        if (rows % indexInterval == 0)
                         {
-                            currentValue.append(character);
-                            doubleQuotesInColumn = true;
+                            if (indexSize == index.length)
+                            {
+                                index = Arrays.copyOf(index, index.length * 2);
+                            }
+
+                            index[indexSize ++] = offset;
                         }
-                    }
-                    else
-                    {
-                        currentValue.append(character);
+
+                        atRowStart = false;
                     }
 
-                }
-            }
-            else
-            {
-                if (character == quoteChar)
-                {
+                    if (tokenizer.next(character) == CSVTokenizer.END_OF_RECORD)
+                    {
+                        rows ++;
 
-                    inQuotes = true;
+                        if (rowHasContent)
+                        {
+                            rowsWithContent = rows;
+                        }
 
-                    if (characters[0] != '"' && quoteChar == '\"')
-                    {
-                        currentValue.append('"');
+                        rowHasContent = false;
+                        atRowStart    = true;
                     }
 
-                    if (startCollectingCharacters)
+                    if ((character != '\n') && (character != '\r') && (character != ' ') && (character != '\t'))
                     {
-                        currentValue.append('"');
+                        rowHasContent = true;
                     }
-                }
-                else if (character == delimiterChar)
-                {
-                    result.add(currentValue.toString());
-
-                    currentValue = new StringBuffer();
-                    startCollectingCharacters = false;
 
-                }
-                else if (character == '\n')
-                {
-                    break;
-                }
-                else if (character != '\r')
-                {
-                    currentValue.append(character);
+                    offset ++;
                 }
             }
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
 
+        if ((! atRowStart) && (rowHasContent))
+        {
+            rowsWithContent = rows + 1;
         }
 
-        result.add(currentValue.toString());
+        rowIndex     = index;
+        rowIndexSize = indexSize;
+        rowCount     = rowsWithContent;
+
+        log.debug("Indexed " + rowCount + " rows of file " + fileStoreName + " with " + rowIndexSize + " index entries");
+    }
+
 
-        return result;
+    /**
+     * Close a record reader after an error.
+     *
+     * @param recordReader reader to close - may be null
+     */
+    private void closeQuietly(CSVRecordReader recordReader)
+    {
+        if (recordReader != null)
+        {
+            try
+            {
+                recordReader.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Ignoring exception closing file " + fileStoreName + ": " + error.getMessage());
+            }
+        }
     }
 
 
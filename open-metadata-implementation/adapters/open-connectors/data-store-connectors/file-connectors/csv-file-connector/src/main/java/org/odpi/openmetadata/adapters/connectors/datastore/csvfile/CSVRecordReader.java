@@ -0,0 +1,204 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * CSVRecordReader parses records from a stream of characters following RFC 4180.  A value may be enclosed in the
+ * quote character, in which case it may contain the delimiter, line breaks and doubled quote characters (that
+ * represent a single quote character).  Records are separated by line feeds, optionally preceded by a carriage return.
+ * The meaning of each character is decided by a CSVTokenizer.
+ */
+class CSVRecordReader implements Closeable
+{
+    private static final int bufferSize = 65536;
+
+    private final Reader reader;
+    private final char   delimiterChar;
+    private final char   quoteChar;
+    private final char[] buffer = new char[bufferSize];
+
+    private int bufferPosition = 0;
+    private int bufferLength   = 0;
+
+
+    /**
+     * Constructor.
+     *
+     * @param reader source of characters - positioned at the start of a record
+     * @param delimiterChar character that separates the values
+     * @param quoteChar character that encloses values
+     */
+    CSVRecordReader(Reader reader,
+                    char   delimiterChar,
+                    char   quoteChar)
+    {
+        this.reader        = reader;
+        this.delimiterChar = delimiterChar;
+        this.quoteChar     = quoteChar;
+    }
+
+
+    /**
+     * Return the next record.  A blank line is returned as an empty list.
+     *
+     * @return list of values or null if the end of the file has been reached
+     * @throws IOException problem reading the file
+     */
+    List<String> readRecord() throws IOException
+    {
+        int character = read();
+
+        if (character == -1)
+        {
+            return null;
+        }
+
+        CSVTokenizer  tokenizer     = new CSVTokenizer(delimiterChar, quoteChar);
+        List<String>  result        = new ArrayList<>();
+        StringBuilder currentValue  = new StringBuilder();
+        boolean       recordStarted = false;
+
+        while (character != -1)
+        {
+            int token = tokenizer.next(character);
+
+            if (token == CSVTokenizer.END_OF_RECORD)
+            {
+                break;
+            }
+            else if (token == CSVTokenizer.VALUE_CHARACTER)
+            {
+                currentValue.append((char)character);
+                recordStarted = true;
+            }
+            else if (token == CSVTokenizer.END_OF_VALUE)
+            {
+                result.add(currentValue.toString());
+                currentValue  = new StringBuilder();
+                recordStarted = true;
+            }
+            else if (token == CSVTokenizer.OPEN_QUOTE)
+            {
+                recordStarted = true;
+            }
+
+            character = read();
+        }
+
+        if (recordStarted)
+        {
+            result.add(currentValue.toString());
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Skip over records without building their values.
+     *
+     * @param recordCount number of records to skip
+     * @return number of records skipped - less than requested if the end of the file is reached
+     * @throws IOException problem reading the file
+     */
+    long skipRecords(long recordCount) throws IOException
+    {
+        CSVTokenizer tokenizer = new CSVTokenizer(delimiterChar, quoteChar);
+        long         skipped   = 0;
+        int          character;
+
+        while (skipped < recordCount)
+        {
+            character = read();
+
+            if (character == -1)
+            {
+                return skipped;
+            }
+            else if (tokenizer.next(character) == CSVTokenizer.END_OF_RECORD)
+            {
+                skipped ++;
+            }
+        }
+
+        return skipped;
+    }
+
+
+    /**
+     * Return the next character and move past it.
+     *
+     * @return character or -1 for the end of the file
+     * @throws IOException problem reading the file
+     */
+    private int read() throws IOException
+    {
+        if (! fillBuffer())
+        {
+            return -1;
+        }
+
+        return buffer[bufferPosition ++];
+    }
+
+
+    /**
+     * Return the next character without moving past it.
+     *
+     * @return character or -1 for the end of the file
+     * @throws IOException problem reading the file
+     */
+    private int peek() throws IOException
+    {
+        if (! fillBuffer())
+        {
+            return -1;
+        }
+
+        return buffer[bufferPosition];
+    }
+
+
+    /**
+     * Make sure there is at least one unread character in the buffer.
+     *
+     * @return false if the end of the file has been reached
+     * @throws IOException problem reading the file
+     */
+    private boolean fillBuffer() throws IOException
+    {
+        while (bufferPosition >= bufferLength)
+        {
+            bufferLength = reader.read(buffer, 0, bufferSize);
+            bufferPosition = 0;
+
+            if (bufferLength == -1)
+            {
+                bufferLength = 0;
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Close the underlying reader.
+     *
+     * @throws IOException problem closing the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
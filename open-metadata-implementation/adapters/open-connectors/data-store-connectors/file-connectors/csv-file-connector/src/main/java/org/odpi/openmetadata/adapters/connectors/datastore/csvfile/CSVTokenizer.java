@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+
+/**
+ * CSVTokenizer is the state machine that decides what each character of a CSV file means.  It is shared by the
+ * code that builds the row index, the code that skips records and the code that reads records so that they all
+ * agree on where each record ends.
+ * <p>
+ * A quote character only starts a quoted value if it is the first character of the value.  Inside a quoted value,
+ * the delimiter and line breaks are part of the value and a doubled quote character represents a single quote
+ * character.  After the closing quote, and anywhere in a value that did not start with a quote, the quote character
+ * is an ordinary character.  Records are separated by line feeds.  A carriage return outside a quoted value is ignored.
+ * </p>
+ */
+class CSVTokenizer
+{
+    /**
+     * The character is part of the current value.
+     */
+    static final int VALUE_CHARACTER = 0;
+
+    /**
+     * The character opens a quoted value.  It is not part of the value but the record is not blank.
+     */
+    static final int OPEN_QUOTE      = 1;
+
+    /**
+     * The character ends the current value.
+     */
+    static final int END_OF_VALUE    = 2;
+
+    /**
+     * The character ends the current record.
+     */
+    static final int END_OF_RECORD   = 3;
+
+    /**
+     * The character is not part of a value - a carriage return or a quote character that may close a quoted value.
+     */
+    static final int IGNORED         = 4;
+
+    private static final int startOfValue  = 0;
+    private static final int inValue       = 1;
+    private static final int inQuotes      = 2;
+    private static final int quoteInQuotes = 3;
+
+    private final int delimiterChar;
+    private final int quoteChar;
+
+    private int state = startOfValue;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delimiterChar character that separates the values - -1 if it can not occur
+     * @param quoteChar character that encloses values - -1 if it can not occur
+     */
+    CSVTokenizer(int delimiterChar,
+                 int quoteChar)
+    {
+        this.delimiterChar = delimiterChar;
+        this.quoteChar     = quoteChar;
+    }
+
+
+    /**
+     * Process the next character.
+     *
+     * @param character next character
+     * @return what the character means - one of the constants defined in this class
+     */
+    int next(int character)
+    {
+        if (state == inQuotes)
+        {
+            if (character == quoteChar)
+            {
+                state = quoteInQuotes;
+                return IGNORED;
+            }
+
+            return VALUE_CHARACTER;
+        }
+
+        if (state == quoteInQuotes)
+        {
+            if (character == quoteChar)
+            {
+                /*
+                 * A doubled quote character inside a quoted value.
+                 */
+                state = inQuotes;
+                return VALUE_CHARACTER;
+            }
+
+            /*
+             * The previous quote closed the quoted value.
+             */
+            state = inValue;
+        }
+
+        if ((character == quoteChar) && (state == startOfValue))
+        {
+            state = inQuotes;
+            return OPEN_QUOTE;
+        }
+        else if (character == delimiterChar)
+        {
+            state = startOfValue;
+            return END_OF_VALUE;
+        }
+        else if (character == '\n')
+        {
+            state = startOfValue;
+            return END_OF_RECORD;
+        }
+        else if (character == '\r')
+        {
+            return IGNORED;
+        }
+
+        state = inValue;
+        return VALUE_CHARACTER;
+    }
+}
@@ -10,6 +10,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
 
 import static org.testng.Assert.assertFalse;
@@ -95,11 +98,24 @@ public class CSVFileStoreConnectorTest
         assertTrue(columnNames != null);
         assertFalse(columnNames.isEmpty());
 
+        List<List<String>> records = new ArrayList<>();
+
         for (int i=0; i<connector.getRecordCount(); i++)
         {
             List<String>  columns = connector.readRecord(i);
             assertTrue(columnNames.size() == columns.size());
+            records.add(columns);
+        }
+
+        assertTrue(records.equals(connector.readRecords(0, 10000)));
+        assertTrue(connector.readRecords(10000, 10).isEmpty());
+
+        List<List<String>> streamedRecords = new ArrayList<>();
+        try (CSVFileRecordIterator iterator = connector.getRecordIterator())
+        {
+            iterator.forEachRemaining(streamedRecords::add);
         }
+        assertTrue(records.equals(streamedRecords));
 
         try
         {
@@ -206,6 +222,112 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    @Test public void testQuotedValues()
+    {
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        try
+        {
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(resourcesDirectory + complexColumnsWithColumnNamesFile));
+            connector.start();
+
+            assertTrue("Data Steward, \"New\" Clinical Trials".equals(connector.readRecord(3).get(5)));
+
+            connector.disconnect();
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
+    @Test public void testLargeChangingFile()
+    {
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        try
+        {
+            File          file    = File.createTempFile("LargeFile", ".csv");
+            StringBuilder content = new StringBuilder("Id,Description\r\n");
+
+            file.deleteOnExit();
+
+            for (int i=0; i<1000; i++)
+            {
+                content.append(i).append(",\"Line one of ").append(i).append("\nline two, with \"\"quotes\"\"\"\r\n");
+            }
+
+            Files.write(file.toPath(), content.toString().getBytes(Charset.defaultCharset()));
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(file.getPath()));
+            connector.start();
+
+            assertTrue(connector.getRecordCount() == 1000);
+            assertTrue("Line one of 777\nline two, with \"quotes\"".equals(connector.readRecord(777).get(1)));
+            assertTrue(connector.readRecords(990, 100).size() == 10);
+            assertTrue("129".equals(connector.readRecords(129, 1).get(0).get(0)));
+
+            content.append("1000,Appended\r\n");
+            Files.write(file.toPath(), content.toString().getBytes(Charset.defaultCharset()));
+
+            assertTrue(connector.getRecordCount() == 1001);
+            assertTrue("Appended".equals(connector.readRecord(1000).get(1)));
+
+            connector.disconnect();
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
+    @Test public void testEmbeddedAndStrayQuotes()
+    {
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        try
+        {
+            File          file    = File.createTempFile("QuotesFile", ".csv");
+            StringBuilder content = new StringBuilder("Id,Stray,Embedded,Middle,AfterClose\r\n");
+
+            file.deleteOnExit();
+
+            /*
+             * Each row has an odd number of quote characters so a reader that simply toggles on each quote
+             * loses track of where the rows end.
+             */
+            for (int i=0; i<300; i++)
+            {
+                content.append(i).append(",5\"x,\"Quoted, \"\"embedded\"\"\nline ").append(i).append("\",a\"b\"c,\"ab\"c\"\r\n");
+            }
+
+            Files.write(file.toPath(), content.toString().getBytes(Charset.defaultCharset()));
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(file.getPath()));
+            connector.start();
+
+            assertTrue(connector.getRecordCount() == 300);
+
+            for (int i : new int[]{0, 1, 63, 64, 65, 200, 299})
+            {
+                List<String> record = connector.readRecord(i);
+
+                assertTrue(Arrays.asList(Integer.toString(i), "5\"x", "Quoted, \"embedded\"\nline " + i, "a\"b\"c", "abc\"").equals(record));
+            }
+
+            List<List<String>> records = connector.readRecords(120, 20);
+
+            assertTrue(records.size() == 20);
+            assertTrue("139".equals(records.get(19).get(0)));
+
+            connector.disconnect();
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
     @Test public void testNullFileName()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
@@ -0,0 +1,203 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * AssetFeatures turns the properties of an asset into the features and property value hashes held in the
+ * AssetSimilarityIndex.  The same features must be produced whether the properties come from an asset event or
+ * from the asset store of a discovery request, so both the DuplicateSuspectDiscoveryService and the
+ * AssetSimilarityIndexListener use this class.
+ */
+class AssetFeatures
+{
+    static final String   DISPLAY_NAME_PROPERTY = "displayName";
+    static final String   DESCRIPTION_PROPERTY = "description";
+    static final String   SCHEMA_ATTRIBUTES_PROPERTY = "SchemaType::SchemaAttribute::displayName";
+    static final String   NETWORK_ADDRESS_PROPERTY = "Connection::Endpoint::address";
+
+
+    /**
+     * Return the features of the catalog properties of an asset.
+     *
+     * @param qualifiedName unique name of the asset
+     * @param displayName display name of the asset
+     * @param description description of the asset
+     * @return features
+     */
+    static Set<String> getCatalogFeatures(String qualifiedName,
+                                          String displayName,
+                                          String description)
+    {
+        Set<String> features = new HashSet<>();
+
+        addNameFeatures(features, qualifiedName);
+        addNameFeatures(features, displayName);
+        addWordFeatures(features, "description:", description);
+
+        return features;
+    }
+
+
+    /**
+     * Return the hashes of the catalog properties of an asset.
+     *
+     * @param displayName display name of the asset
+     * @param description description of the asset
+     * @return map of property name to hash
+     */
+    static Map<String, Long> getCatalogPropertyValueHashes(String displayName,
+                                                           String description)
+    {
+        Map<String, Long> propertyValueHashes = new HashMap<>();
+
+        addPropertyValueHash(propertyValueHashes, DISPLAY_NAME_PROPERTY, displayName);
+        addPropertyValueHash(propertyValueHashes, DESCRIPTION_PROPERTY, description);
+
+        return propertyValueHashes;
+    }
+
+
+    /**
+     * Return the features found by analysing an asset.
+     *
+     * @param columnNames lower case names of the schema attributes or null
+     * @param networkAddresses endpoint addresses or null
+     * @return features
+     */
+    static Set<String> getDiscoveredFeatures(List<String> columnNames,
+                                             List<String> networkAddresses)
+    {
+        Set<String> features = new HashSet<>();
+
+        if (columnNames != null)
+        {
+            for (String columnName : columnNames)
+            {
+                features.add("column:" + columnName);
+            }
+        }
+
+        if (networkAddresses != null)
+        {
+            for (String networkAddress : networkAddresses)
+            {
+                if (networkAddress != null)
+                {
+                    features.add("endpoint:" + networkAddress.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        return features;
+    }
+
+
+    /**
+     * Return the hashes of the properties found by analysing an asset.
+     *
+     * @param columnNames lower case names of the schema attributes or null
+     * @param networkAddresses endpoint addresses or null
+     * @return map of property name to hash
+     */
+    static Map<String, Long> getDiscoveredPropertyValueHashes(List<String> columnNames,
+                                                              List<String> networkAddresses)
+    {
+        Map<String, Long> propertyValueHashes = new HashMap<>();
+
+        if (columnNames != null)
+        {
+            addPropertyValueHash(propertyValueHashes, SCHEMA_ATTRIBUTES_PROPERTY, String.join(",", new TreeSet<>(columnNames)));
+        }
+
+        if (networkAddresses != null)
+        {
+            Set<String> addresses = new TreeSet<>();
+
+            for (String networkAddress : networkAddresses)
+            {
+                if (networkAddress != null)
+                {
+                    addresses.add(networkAddress);
+                }
+            }
+
+            addPropertyValueHash(propertyValueHashes, NETWORK_ADDRESS_PROPERTY, String.join(",", addresses));
+        }
+
+        return propertyValueHashes;
+    }
+
+
+    /**
+     * Add the words and the three character sequences of a name.  The sequences match names that differ in
+     * punctuation or spelling such as "customer_accounts" and "CustomerAccount".
+     *
+     * @param features features of the asset
+     * @param name qualified name or display name
+     */
+    private static void addNameFeatures(Set<String> features,
+                                        String      name)
+    {
+        if (name != null)
+        {
+            addWordFeatures(features, "name:", name);
+
+            String letters = name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{Alnum}]", "");
+
+            for (int i = 0; i + 3 <= letters.length(); i++)
+            {
+                features.add("trigram:" + letters.substring(i, i + 3));
+            }
+        }
+    }
+
+
+    /**
+     * Add the words of a property value.  Single character words are ignored.
+     *
+     * @param features features of the asset
+     * @param prefix prefix that identifies the source of the word
+     * @param value property value
+     */
+    private static void addWordFeatures(Set<String> features,
+                                        String      prefix,
+                                        String      value)
+    {
+        if (value != null)
+        {
+            for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+"))
+            {
+                if (word.length() > 1)
+                {
+                    features.add(prefix + word);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Save the hash of a property value so that exact matches can be reported.
+     *
+     * @param propertyValueHashes map of property name to hash
+     * @param propertyName name of the property
+     * @param value property value
+     */
+    private static void addPropertyValueHash(Map<String, Long> propertyValueHashes,
+                                             String            propertyName,
+                                             String            value)
+    {
+        if ((value != null) && (! value.isEmpty()))
+        {
+            propertyValueHashes.put(propertyName, ValueHash.hash(value.toLowerCase(Locale.ROOT)));
+        }
+    }
+}
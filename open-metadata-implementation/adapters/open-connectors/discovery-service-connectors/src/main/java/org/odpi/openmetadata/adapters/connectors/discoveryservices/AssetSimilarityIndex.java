@@ -0,0 +1,525 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * AssetSimilarityIndex finds assets whose features (words of their names, schema column names, endpoint addresses ...)
+ * overlap.  Each asset is summarized by a MinHash signature whose positions agree with the signature of another asset
+ * with a probability equal to the Jaccard similarity of their feature sets.  The signature is cut into bands and the
+ * asset is filed under the hash of each band, so similar assets are found by looking up the buckets of the
+ * requesting asset's bands rather than comparing it with every asset.  With the default of 20 bands of 5 rows,
+ * assets with a similarity of 0.5 share a bucket 47% of the time, and assets with a similarity of 0.8 share a bucket
+ * more than 99.9% of the time.
+ * <p>
+ * The features of an asset come from two places.  The catalog properties (names and description) are carried on the
+ * asset events of the catalog, and the schema column names and endpoint addresses are found when the asset is
+ * analysed.  The two parts are held separately so that an asset event replaces the catalog part without losing the
+ * discovered part.  Since the signature of a set of features is the positionwise minimum of the signatures of its
+ * parts, the signature of the asset is the combination of the two.
+ * <p>
+ * The number of assets in the index is bounded.  When it is full, the asset that was added or refreshed longest
+ * ago is removed.
+ * <p>
+ * The index is safe for concurrent use.  Queries take a read lock and so can run in parallel.
+ */
+class AssetSimilarityIndex
+{
+    private static final int defaultBandCount = 20;
+    private static final int defaultRowCount  = 5;
+
+    private final int    maxAssets;
+    private final int    bandCount;
+    private final int    rowCount;
+    private final long[] hashMultipliers;
+    private final long[] hashIncrements;
+
+    private final Map<String, IndexedAsset> indexedAssets = new LinkedHashMap<>();
+    private final Map<Long, Set<String>>    buckets       = new HashMap<>();
+    private final ReadWriteLock             lock          = new ReentrantReadWriteLock();
+
+
+    /**
+     * Constructor using the default number of bands.
+     *
+     * @param maxAssets maximum number of assets held in the index
+     */
+    AssetSimilarityIndex(int maxAssets)
+    {
+        this(maxAssets, defaultBandCount, defaultRowCount);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxAssets maximum number of assets held in the index
+     * @param bandCount number of bands that the signature is cut into
+     * @param rowCount number of signature positions in each band
+     */
+    AssetSimilarityIndex(int maxAssets,
+                         int bandCount,
+                         int rowCount)
+    {
+        this.maxAssets       = Math.max(1, maxAssets);
+        this.bandCount       = bandCount;
+        this.rowCount        = rowCount;
+        this.hashMultipliers = new long[bandCount * rowCount];
+        this.hashIncrements  = new long[bandCount * rowCount];
+
+        /*
+         * The hash functions must be the same each time the index is built so a fixed seed is used.
+         */
+        SplittableRandom random = new SplittableRandom(0x5ca1ab1eL);
+
+        for (int position = 0; position < hashMultipliers.length; position++)
+        {
+            hashMultipliers[position] = random.nextLong() | 1L;
+            hashIncrements[position]  = random.nextLong();
+        }
+    }
+
+
+    /**
+     * Return the MinHash signature for a set of features.
+     *
+     * @param features features of the asset
+     * @return signature
+     */
+    int[] getSignature(Collection<String> features)
+    {
+        int[] signature = new int[hashMultipliers.length];
+
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (String feature : features)
+        {
+            long featureHash = ValueHash.hash(feature);
+
+            for (int position = 0; position < signature.length; position++)
+            {
+                int positionHash = (int)((featureHash * hashMultipliers[position] + hashIncrements[position]) >>> 33);
+
+                if (positionHash < signature[position])
+                {
+                    signature[position] = positionHash;
+                }
+            }
+        }
+
+        return signature;
+    }
+
+
+    /**
+     * Return the signature of the union of two sets of features from their signatures.
+     *
+     * @param firstSignature signature of the first set of features
+     * @param secondSignature signature of the second set of features or null
+     * @return combined signature
+     */
+    static int[] combineSignatures(int[] firstSignature,
+                                   int[] secondSignature)
+    {
+        if (secondSignature == null)
+        {
+            return firstSignature;
+        }
+
+        int[] signature = new int[firstSignature.length];
+
+        for (int position = 0; position < signature.length; position++)
+        {
+            signature[position] = Math.min(firstSignature[position], secondSignature[position]);
+        }
+
+        return signature;
+    }
+
+
+    /**
+     * Add an asset to the index from its catalog properties only, replacing any earlier entry for the asset.
+     *
+     * @param assetGUID unique identifier of the asset
+     * @param qualifiedName unique name of the asset
+     * @param signature signature of the asset's features
+     * @param propertyValueHashes hash of the value of each property, used to report which properties match exactly
+     */
+    void put(String              assetGUID,
+             String              qualifiedName,
+             int[]               signature,
+             Map<String, Long>   propertyValueHashes)
+    {
+        this.put(assetGUID, qualifiedName, signature, propertyValueHashes, null, null);
+    }
+
+
+    /**
+     * Add an asset to the index, replacing any earlier entry for the asset.  If the index is full, the oldest
+     * asset is removed.
+     *
+     * @param assetGUID unique identifier of the asset
+     * @param qualifiedName unique name of the asset
+     * @param catalogSignature signature of the features of the asset's catalog properties
+     * @param catalogPropertyValueHashes hash of the value of each catalog property
+     * @param discoveredSignature signature of the features found by analysing the asset or null
+     * @param discoveredPropertyValueHashes hash of the value of each property found by analysing the asset or null
+     */
+    void put(String              assetGUID,
+             String              qualifiedName,
+             int[]               catalogSignature,
+             Map<String, Long>   catalogPropertyValueHashes,
+             int[]               discoveredSignature,
+             Map<String, Long>   discoveredPropertyValueHashes)
+    {
+        lock.writeLock().lock();
+
+        try
+        {
+            this.putAsset(assetGUID,
+                          new IndexedAsset(qualifiedName,
+                                           catalogSignature,
+                                           catalogPropertyValueHashes,
+                                           discoveredSignature,
+                                           discoveredPropertyValueHashes));
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Add or refresh the catalog properties of an asset.  The features found by analysing the asset, if it is
+     * already in the index, are kept.
+     *
+     * @param assetGUID unique identifier of the asset
+     * @param qualifiedName unique name of the asset
+     * @param catalogSignature signature of the features of the asset's catalog properties
+     * @param catalogPropertyValueHashes hash of the value of each catalog property
+     */
+    void putCatalogProperties(String              assetGUID,
+                              String              qualifiedName,
+                              int[]               catalogSignature,
+                              Map<String, Long>   catalogPropertyValueHashes)
+    {
+        lock.writeLock().lock();
+
+        try
+        {
+            IndexedAsset existingAsset = indexedAssets.get(assetGUID);
+
+            if (existingAsset == null)
+            {
+                this.putAsset(assetGUID, new IndexedAsset(qualifiedName, catalogSignature, catalogPropertyValueHashes, null, null));
+            }
+            else
+            {
+                this.putAsset(assetGUID,
+                              new IndexedAsset(qualifiedName,
+                                               catalogSignature,
+                                               catalogPropertyValueHashes,
+                                               existingAsset.discoveredSignature,
+                                               existingAsset.discoveredPropertyValueHashes));
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove an asset from the index.
+     *
+     * @param assetGUID unique identifier of the asset
+     */
+    void remove(String assetGUID)
+    {
+        lock.writeLock().lock();
+
+        try
+        {
+            this.removeAsset(assetGUID);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the number of assets in the index.
+     *
+     * @return count
+     */
+    int size()
+    {
+        lock.readLock().lock();
+
+        try
+        {
+            return indexedAssets.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the assets that share a bucket with the signature and whose estimated similarity is at least the
+     * minimum, most similar first.
+     *
+     * @param assetGUID unique identifier of the requesting asset - it is not returned
+     * @param signature signature of the requesting asset
+     * @param propertyValueHashes hash of the value of each property of the requesting asset
+     * @param minimumSimilarity lowest similarity to return (0.0 - 1.0)
+     * @param maxResults maximum number of assets to return
+     * @return list of similar assets
+     */
+    List<SimilarAsset> findSimilarAssets(String            assetGUID,
+                                         int[]             signature,
+                                         Map<String, Long> propertyValueHashes,
+                                         double            minimumSimilarity,
+                                         int               maxResults)
+    {
+        List<SimilarAsset> results = new ArrayList<>();
+
+        lock.readLock().lock();
+
+        try
+        {
+            Set<String> candidateGUIDs = new HashSet<>();
+
+            for (int band = 0; band < bandCount; band++)
+            {
+                Set<String> bucket = buckets.get(getBucketKey(signature, band));
+
+                if (bucket != null)
+                {
+                    candidateGUIDs.addAll(bucket);
+                }
+            }
+
+            candidateGUIDs.remove(assetGUID);
+
+            for (String candidateGUID : candidateGUIDs)
+            {
+                IndexedAsset candidate = indexedAssets.get(candidateGUID);
+                int          matches   = 0;
+
+                for (int position = 0; position < signature.length; position++)
+                {
+                    if (signature[position] == candidate.signature[position])
+                    {
+                        matches++;
+                    }
+                }
+
+                double similarity = (double)matches / signature.length;
+
+                if (similarity >= minimumSimilarity)
+                {
+                    List<String> matchingPropertyNames = new ArrayList<>();
+
+                    for (Map.Entry<String, Long> propertyValueHash : propertyValueHashes.entrySet())
+                    {
+                        if (propertyValueHash.getValue().equals(candidate.getPropertyValueHash(propertyValueHash.getKey())))
+                        {
+                            matchingPropertyNames.add(propertyValueHash.getKey());
+                        }
+                    }
+
+                    results.add(new SimilarAsset(candidateGUID, candidate.qualifiedName, similarity, matchingPropertyNames));
+                }
+            }
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+
+        results.sort((first, second) -> Double.compare(second.getSimilarity(), first.getSimilarity()));
+
+        if (results.size() > maxResults)
+        {
+            return new ArrayList<>(results.subList(0, maxResults));
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Add an asset and its bucket entries, then remove the oldest assets until the index is within its bound.
+     * The caller holds the write lock.
+     *
+     * @param assetGUID unique identifier of the asset
+     * @param indexedAsset asset to add
+     */
+    private void putAsset(String       assetGUID,
+                          IndexedAsset indexedAsset)
+    {
+        this.removeAsset(assetGUID);
+
+        indexedAssets.put(assetGUID, indexedAsset);
+
+        for (int band = 0; band < bandCount; band++)
+        {
+            buckets.computeIfAbsent(getBucketKey(indexedAsset.signature, band), key -> new HashSet<>()).add(assetGUID);
+        }
+
+        /*
+         * The assets are held in the order they were added so the first is the oldest.
+         */
+        while (indexedAssets.size() > maxAssets)
+        {
+            this.removeAsset(indexedAssets.keySet().iterator().next());
+        }
+    }
+
+
+    /**
+     * Remove an asset and its bucket entries.  The caller holds the write lock.
+     *
+     * @param assetGUID unique identifier of the asset
+     */
+    private void removeAsset(String assetGUID)
+    {
+        IndexedAsset indexedAsset = indexedAssets.remove(assetGUID);
+
+        if (indexedAsset != null)
+        {
+            for (int band = 0; band < bandCount; band++)
+            {
+                Long        bucketKey = getBucketKey(indexedAsset.signature, band);
+                Set<String> bucket    = buckets.get(bucketKey);
+
+                if (bucket != null)
+                {
+                    bucket.remove(assetGUID);
+
+                    if (bucket.isEmpty())
+                    {
+                        buckets.remove(bucketKey);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the key of the bucket for one band of a signature.  The band number is part of the key so equal
+     * rows in different bands do not collide.
+     *
+     * @param signature signature
+     * @param band band number
+     * @return bucket key
+     */
+    private long getBucketKey(int[] signature, int band)
+    {
+        long key = band;
+
+        for (int row = 0; row < rowCount; row++)
+        {
+            key = key * 0x9e3779b97f4a7c15L + signature[band * rowCount + row];
+        }
+
+        return key;
+    }
+
+
+    /**
+     * An asset in the index.
+     */
+    private static class IndexedAsset
+    {
+        private final String            qualifiedName;
+        private final int[]             signature;
+        private final Map<String, Long> catalogPropertyValueHashes;
+        private final int[]             discoveredSignature;
+        private final Map<String, Long> discoveredPropertyValueHashes;
+
+        IndexedAsset(String            qualifiedName,
+                     int[]             catalogSignature,
+                     Map<String, Long> catalogPropertyValueHashes,
+                     int[]             discoveredSignature,
+                     Map<String, Long> discoveredPropertyValueHashes)
+        {
+            this.qualifiedName                 = qualifiedName;
+            this.signature                     = combineSignatures(catalogSignature, discoveredSignature);
+            this.catalogPropertyValueHashes    = catalogPropertyValueHashes;
+            this.discoveredSignature           = discoveredSignature;
+            this.discoveredPropertyValueHashes = discoveredPropertyValueHashes;
+        }
+
+        Long getPropertyValueHash(String propertyName)
+        {
+            if ((discoveredPropertyValueHashes != null) && (discoveredPropertyValueHashes.containsKey(propertyName)))
+            {
+                return discoveredPropertyValueHashes.get(propertyName);
+            }
+
+            return catalogPropertyValueHashes.get(propertyName);
+        }
+    }
+
+
+    /**
+     * An asset returned by a query with its estimated similarity to the requesting asset.
+     */
+    static class SimilarAsset
+    {
+        private final String       assetGUID;
+        private final String       qualifiedName;
+        private final double       similarity;
+        private final List<String> matchingPropertyNames;
+
+        SimilarAsset(String assetGUID, String qualifiedName, double similarity, List<String> matchingPropertyNames)
+        {
+            this.assetGUID             = assetGUID;
+            this.qualifiedName         = qualifiedName;
+            this.similarity            = similarity;
+            this.matchingPropertyNames = matchingPropertyNames;
+        }
+
+        String getAssetGUID()
+        {
+            return assetGUID;
+        }
+
+        String getQualifiedName()
+        {
+            return qualifiedName;
+        }
+
+        double getSimilarity()
+        {
+            return similarity;
+        }
+
+        List<String> getMatchingPropertyNames()
+        {
+            return matchingPropertyNames;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.accessservices.assetconsumer.api.AssetConsumerEventListener;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEvent;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetEvent;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+
+import java.util.Set;
+
+/**
+ * AssetSimilarityIndexListener keeps an AssetSimilarityIndex current from the new and updated asset events of the
+ * Asset Consumer OMAS out topic, so the index covers the assets of the catalog and not just the assets that have
+ * been analysed.  The events only carry the catalog properties of the asset, so the features found by analysing
+ * the asset are kept when it is updated.  Deleted assets are removed when they are next returned as a suspect.
+ */
+class AssetSimilarityIndexListener extends AssetConsumerEventListener
+{
+    private final AssetSimilarityIndex similarityIndex;
+
+
+    /**
+     * Constructor.
+     *
+     * @param similarityIndex index to update
+     */
+    AssetSimilarityIndexListener(AssetSimilarityIndex similarityIndex)
+    {
+        this.similarityIndex = similarityIndex;
+    }
+
+
+    /**
+     * Add the asset from a new or updated asset event to the index.
+     *
+     * @param event event object
+     */
+    @Override
+    public void processEvent(AssetConsumerEvent event)
+    {
+        if (event instanceof AssetEvent)
+        {
+            Asset asset = ((AssetEvent)event).getAsset();
+
+            if ((asset != null) && (asset.getGUID() != null))
+            {
+                Set<String> features = AssetFeatures.getCatalogFeatures(asset.getQualifiedName(),
+                                                                        asset.getDisplayName(),
+                                                                        asset.getDescription());
+
+                if (! features.isEmpty())
+                {
+                    similarityIndex.putCatalogProperties(asset.getGUID(),
+                                                         asset.getQualifiedName(),
+                                                         similarityIndex.getSignature(features),
+                                                         AssetFeatures.getCatalogPropertyValueHashes(asset.getDisplayName(),
+                                                                                                     asset.getDescription()));
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.frameworks.discovery.DiscoveryService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AuditableDiscoveryService is a base class for discovery services that wish to use the audit log.
@@ -144,4 +145,58 @@ public abstract class AuditableDiscoveryService extends DiscoveryService impleme
 
         return null;
     }
+
+
+    /**
+     * Return a positive integer from the configuration properties of the connection.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a positive integer
+     * @return value
+     */
+    protected int getIntegerConfigurationProperty(String propertyName,
+                                                  int    defaultValue)
+    {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if ((configurationProperties != null) && (configurationProperties.get(propertyName) != null))
+        {
+            try
+            {
+                int value = Integer.parseInt(configurationProperties.get(propertyName).toString());
+
+                if (value > 0)
+                {
+                    return value;
+                }
+            }
+            catch (NumberFormatException error)
+            {
+                /*
+                 * Fall through to the default.
+                 */
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return a string from the configuration properties of the connection.
+     *
+     * @param propertyName name of the property
+     * @return value or null if the property is not set
+     */
+    protected String getStringConfigurationProperty(String propertyName)
+    {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if ((configurationProperties != null) && (configurationProperties.get(propertyName) != null))
+        {
+            return configurationProperties.get(propertyName).toString();
+        }
+
+        return null;
+    }
 }
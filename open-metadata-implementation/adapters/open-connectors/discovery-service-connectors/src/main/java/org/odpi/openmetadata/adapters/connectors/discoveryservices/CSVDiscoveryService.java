@@ -2,134 +2,33 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileRecordIterator;
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileStoreConnector;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
-import org.odpi.openmetadata.frameworks.discovery.DiscoveryService;
-import org.odpi.openmetadata.frameworks.discovery.ffdc.DiscoveryServiceException;
 import org.odpi.openmetadata.frameworks.discovery.properties.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
- * CSVDiscoveryService is a discovery service implementation for analysing CSF Files.
+ * CSVDiscoveryService is a discovery service implementation for analysing CSF Files.  The file is read once.  The records
+ * are passed in chunks to a pool of threads that each build a profile of the chunk's columns, and the chunk profiles
+ * are merged into the profile of the file.  The profiles use fixed size summaries (see ColumnProfile) and only a
+ * few chunks are in memory at a time, so the memory used does not depend on the size of the file.
  */
 public class CSVDiscoveryService extends AuditableDiscoveryService
 {
-    private final static String STRING_TYPE_NAME  = "string";
-    private final static String CHAR_TYPE_NAME    = "char";
-    private final static String DATE_TYPE_NAME    = "date";
-    private final static String INT_TYPE_NAME     = "int";
-    private final static String LONG_TYPE_NAME    = "long";
-    private final static String BOOLEAN_TYPE_NAME = "boolean";
-    private final static String FLOAT_TYPE_NAME   = "float";
-    private final static String BOOLEAN_UC_TRUE   = "TRUE";
-    private final static String BOOLEAN_LC_TRUE   = "true";
-    private final static String BOOLEAN_UC_FALSE  = "FALSE";
-    private final static String BOOLEAN_LC_FALSE  = "false";
-
-
-
-    /**
-     * Return the best guess for the data field type.
-     *
-     * @param existingType current type guess
-     * @param newFieldValue next field value to process
-     * @return new best guess
-     */
-    private String getDataFieldType(String  existingType, String newFieldValue)
-    {
-        if (STRING_TYPE_NAME.equals(existingType))
-        {
-            return STRING_TYPE_NAME;
-        }
-
-        if (newFieldValue == null)
-        {
-            return existingType;
-        }
-
-        if ((BOOLEAN_LC_TRUE.equals(newFieldValue)) ||
-            (BOOLEAN_UC_TRUE.equals(newFieldValue)) ||
-            (BOOLEAN_LC_FALSE.equals(newFieldValue)) ||
-            (BOOLEAN_UC_FALSE.equals(newFieldValue)))
-
-        {
-            if ((existingType == null) || (existingType.equals(BOOLEAN_TYPE_NAME)))
-            {
-                return BOOLEAN_TYPE_NAME;
-            }
-            else
-            {
-                return STRING_TYPE_NAME;
-            }
-        }
-        return STRING_TYPE_NAME;
-    }
-
-
-    /**
-     * Return the updated value count for this column.
-     *
-     * @param existingValueCount current value count
-     * @param newFieldValue next field value to process
-     * @return new value count
-     */
-    private Map<String, Integer> getValueCount(Map<String, Integer> existingValueCount, String newFieldValue)
-    {
-        if (existingValueCount == null)
-        {
-            Map<String, Integer> newValueCount = new HashMap<>();
-
-            newValueCount.put(newFieldValue, 1);
-
-            return newValueCount;
-        }
-
-        Integer   countForValue = existingValueCount.get(newFieldValue);
-
-        if (countForValue == null)
-        {
-            existingValueCount.put(newFieldValue, 1);
-        }
-        else
-        {
-            existingValueCount.put(newFieldValue, countForValue + 1);
-        }
-
-        return existingValueCount;
-    }
-
-
-    /**
-     * Return the updated value list.
-     *
-     * @param existingValueList existing value list
-     * @param newFieldValue next field value to process
-     * @return updated value list
-     */
-    private List<String> getValueList(List<String> existingValueList, String newFieldValue)
-    {
-        if (existingValueList == null)
-        {
-            List<String> newValueList = new ArrayList<>();
-
-            newValueList.add(newFieldValue);
-
-            return newValueList;
-        }
-
-        if (! existingValueList.contains(newFieldValue))
-        {
-            existingValueList.add(newFieldValue);
-        }
-
-        return existingValueList;
-    }
+    private static final int defaultChunkSize          = 10000;
+    private static final int defaultFrequentValueLimit = 100;
 
 
     /**
@@ -148,9 +47,8 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
         {
             CSVFileStoreConnector    assetConnector  = (CSVFileStoreConnector)discoveryContext.getAssetStore().getConnectorToAsset();
             DiscoveryAnnotationStore annotationStore = discoveryContext.getAnnotationStore();
-            int                      size            = 0;
-            int                      delimiterCount  = 0;
-            long                     recordCount     = assetConnector.getRecordCount();
+            long                     size            = 0;
+            long                     recordCount     = 0;
 
             SchemaAnalysisAnnotation  schemaAnnotation      = new SchemaAnalysisAnnotation();
 
@@ -160,73 +58,44 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             String schemaAnnotationGUID = annotationStore.addAnnotationToDiscoveryReport(schemaAnnotation);
 
-            List<String>                        columnNames = assetConnector.getColumnNames();
-            Map<Integer, DataField>             dataFields  = new HashMap<>();
-            Map<Integer, DataProfileAnnotation> dataProfiles  = new HashMap<>();
+            List<String>  columnNames = assetConnector.getColumnNames();
 
             if (columnNames != null)
             {
-                int position = 0;
+                int delimiterCount = 0;
 
                 for (String  columnName : columnNames)
                 {
                     if (columnName != null)
                     {
-                        DataField  dataField = new DataField();
-
-                        dataField.setDataFieldPosition(position);
-                        dataField.setDataFieldName(columnName);
-                        dataFields.put(position, dataField);
-
-                        DataProfileAnnotation dataProfile = new DataProfileAnnotation();
-
-                        dataProfiles.put(position, dataProfile);
-
                         size = size + columnName.length();
-                        position++;
                     }
                 }
 
-                if (position > 0)
+                if (columnNames.size() > 0)
                 {
-                    delimiterCount = position - 1;
+                    delimiterCount = columnNames.size() - 1;
                 }
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
-                {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
-
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
-                    {
-                        int columnPosition = 0;
-                        int recordLength = 0;
-
-                        for (String fieldValue : recordValues)
-                        {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
-
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
+                FileProfile fileProfile = this.profileRecords(assetConnector, columnNames.size());
 
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
-
-                            recordLength = recordLength + fieldValue.length();
-
-                            columnPosition++;
-                        }
-
-                        size = size + recordLength + delimiterCount;
-                    }
-                }
+                recordCount = fileProfile.recordCount;
+                size        = size + fileProfile.size + (recordCount * delimiterCount);
 
                 for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
                 {
-                    String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataFields.get(columnNumber));
+                    ColumnProfile columnProfile = fileProfile.columnProfiles.get(columnNumber);
+                    DataField     dataField     = new DataField();
 
-                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfiles.get(columnNumber));
+                    dataField.setDataFieldPosition(columnNumber);
+                    dataField.setDataFieldName(columnNames.get(columnNumber));
+                    dataField.setDataFieldType(columnProfile.getInferredDataType());
+
+                    String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataField);
+
+                    annotationStore.addAnnotationToDataField(dataFieldGUID, this.getDataProfileAnnotation(columnProfile));
                 }
             }
 
@@ -238,7 +107,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             measurementAnnotation.setModifiedTime(assetConnector.getLastUpdateDate());
             measurementAnnotation.setDataSourceProperties(measurementProperties);
-            measurementAnnotation.setSize(size);
+            measurementAnnotation.setSize((int)Math.min(size, Integer.MAX_VALUE));
 
             annotationStore.addAnnotationToDiscoveryReport(measurementAnnotation);
         }
@@ -251,4 +120,248 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
             super.handleUnexpectedException(methodName, error);
         }
     }
+
+
+    /**
+     * Read the records of the file once and build the profile of each column.  The reading thread hands chunks of
+     * records to the profiling threads.  It waits when the profiling threads have a chunk each and one queued,
+     * which bounds the number of records held in memory.
+     *
+     * @param assetConnector connector to the file
+     * @param columnCount number of columns
+     * @return profile of the file
+     * @throws Exception problem reading the file or profiling a chunk
+     */
+    private FileProfile profileRecords(CSVFileStoreConnector assetConnector,
+                                       int                   columnCount) throws Exception
+    {
+        /*
+         * At least one thread is needed or the reading thread waits for a permit that is never released.
+         */
+        int threadCount        = Math.max(1, super.getIntegerConfigurationProperty(CSVDiscoveryServiceProvider.PROFILE_THREAD_COUNT_PROPERTY,
+                                                                                   Runtime.getRuntime().availableProcessors()));
+        int chunkSize          = super.getIntegerConfigurationProperty(CSVDiscoveryServiceProvider.PROFILE_CHUNK_SIZE_PROPERTY,
+                                                                      defaultChunkSize);
+        int frequentValueLimit = super.getIntegerConfigurationProperty(CSVDiscoveryServiceProvider.FREQUENT_VALUE_LIMIT_PROPERTY,
+                                                                      defaultFrequentValueLimit);
+
+        FileProfile                fileProfile  = new FileProfile(columnCount, frequentValueLimit, 0);
+        AtomicReference<Throwable> chunkFailure = new AtomicReference<>();
+        Semaphore                  chunkPermits = new Semaphore(threadCount * 2);
+        ExecutorService            executor     = null;
+        CSVFileRecordIterator      records      = assetConnector.getRecordIterator();
+
+        if (threadCount > 1)
+        {
+            executor = Executors.newFixedThreadPool(threadCount);
+        }
+
+        try
+        {
+            int                chunkNumber = 0;
+            List<List<String>> chunk       = new ArrayList<>(chunkSize);
+
+            while ((records.hasNext()) && (chunkFailure.get() == null))
+            {
+                chunk.add(records.next());
+
+                if ((chunk.size() >= chunkSize) || (! records.hasNext()))
+                {
+                    List<List<String>> chunkRecords = chunk;
+                    FileProfile        chunkProfile = new FileProfile(columnCount, frequentValueLimit, ++chunkNumber);
+
+                    Runnable profileChunk = () ->
+                    {
+                        try
+                        {
+                            chunkProfile.addRecords(chunkRecords);
+                            fileProfile.merge(chunkProfile);
+                        }
+                        catch (Throwable error)
+                        {
+                            chunkFailure.compareAndSet(null, error);
+                        }
+                        finally
+                        {
+                            chunkPermits.release();
+                        }
+                    };
+
+                    chunkPermits.acquire();
+
+                    if (executor == null)
+                    {
+                        profileChunk.run();
+                    }
+                    else
+                    {
+                        executor.execute(profileChunk);
+                    }
+
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        finally
+        {
+            records.close();
+
+            if (executor != null)
+            {
+                executor.shutdown();
+
+                if (! executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS))
+                {
+                    executor.shutdownNow();
+                }
+            }
+        }
+
+        if (chunkFailure.get() != null)
+        {
+            throw new Exception(chunkFailure.get());
+        }
+
+        return fileProfile;
+    }
+
+
+    /**
+     * Convert a column profile into the annotation for the data field.
+     *
+     * @param columnProfile merged profile for the column
+     * @return annotation
+     */
+    private DataProfileAnnotation getDataProfileAnnotation(ColumnProfile columnProfile)
+    {
+        DataProfileAnnotation dataProfile       = new DataProfileAnnotation();
+        Map<String, Long>     profileCounts     = new HashMap<>();
+        Map<String, Boolean>  profileFlags      = new HashMap<>();
+        Map<String, String>   profileProperties = new HashMap<>();
+        Map<String, Integer>  frequentValues    = columnProfile.getFrequentValues();
+
+        dataProfile.setInferredDataType(columnProfile.getInferredDataType());
+        dataProfile.setInferredLength(columnProfile.getMaxLength());
+        dataProfile.setLength(columnProfile.getMaxLength());
+        dataProfile.setValueRangeFrom(columnProfile.getValueRangeFrom());
+        dataProfile.setValueRangeTo(columnProfile.getValueRangeTo());
+        dataProfile.setAverageValue(columnProfile.getAverageValue());
+        dataProfile.setValueCount(frequentValues);
+
+        /*
+         * The value list is only meaningful when it holds every value of the column.
+         */
+        if (columnProfile.isExact())
+        {
+            dataProfile.setValueList(new ArrayList<>(frequentValues.keySet()));
+        }
+
+        profileCounts.put("valueCount", columnProfile.getValueCount());
+        profileCounts.put("nullCount", columnProfile.getNullCount());
+        profileCounts.put("distinctCount", columnProfile.getDistinctCount());
+        profileCounts.put("minLength", (long)columnProfile.getMinLength());
+        profileCounts.put("maxLength", (long)columnProfile.getMaxLength());
+        dataProfile.setProfileCounts(profileCounts);
+
+        profileFlags.put("estimatedCounts", ! columnProfile.isExact());
+        dataProfile.setProfileFlags(profileFlags);
+
+        if (columnProfile.getValueCount() > 0)
+        {
+            List<String> quantiles = columnProfile.getQuantiles(0.25, 0.5, 0.75);
+
+            profileProperties.put("lowerQuartile", quantiles.get(0));
+            profileProperties.put("median", quantiles.get(1));
+            profileProperties.put("upperQuartile", quantiles.get(2));
+            profileProperties.put("averageLength",
+                                  Double.toString((double)columnProfile.getTotalLength() / columnProfile.getValueCount()));
+        }
+        dataProfile.setProfileProperties(profileProperties);
+
+        return dataProfile;
+    }
+
+
+    /**
+     * FileProfile holds the column profiles for a chunk of records, or for the whole file once the chunks have
+     * been merged into it.
+     */
+    private static class FileProfile
+    {
+        private final List<ColumnProfile> columnProfiles = new ArrayList<>();
+
+        private long recordCount = 0;
+        private long size        = 0;
+
+
+        /**
+         * Constructor.
+         *
+         * @param columnCount number of columns
+         * @param frequentValueLimit maximum number of frequent values to track for each column
+         * @param chunkNumber number of the chunk - used to seed the sampling so that the result does not depend on
+         *                    how the chunks are scheduled
+         */
+        FileProfile(int columnCount,
+                    int frequentValueLimit,
+                    int chunkNumber)
+        {
+            for (int columnNumber = 0; columnNumber < columnCount; columnNumber++)
+            {
+                columnProfiles.add(new ColumnProfile(frequentValueLimit, ((long)chunkNumber << 32) + columnNumber));
+            }
+        }
+
+
+        /**
+         * Profile a chunk of records.  Blank records are counted but not profiled.  Missing values are counted as
+         * nulls and values beyond the last column are ignored.
+         *
+         * @param records records from the file
+         */
+        void addRecords(List<List<String>> records)
+        {
+            for (List<String> recordValues : records)
+            {
+                recordCount++;
+
+                if ((recordValues != null) && (! recordValues.isEmpty()))
+                {
+                    for (int columnNumber = 0; columnNumber < columnProfiles.size(); columnNumber++)
+                    {
+                        String fieldValue = null;
+
+                        if (columnNumber < recordValues.size())
+                        {
+                            fieldValue = recordValues.get(columnNumber);
+                        }
+
+                        columnProfiles.get(columnNumber).addValue(fieldValue);
+
+                        if (fieldValue != null)
+                        {
+                            size = size + fieldValue.length();
+                        }
+                    }
+                }
+            }
+        }
+
+
+        /**
+         * Merge the profile of a chunk into this profile.
+         *
+         * @param chunkProfile profile of the chunk
+         */
+        synchronized void merge(FileProfile chunkProfile)
+        {
+            recordCount = recordCount + chunkProfile.recordCount;
+            size        = size + chunkProfile.size;
+
+            for (int columnNumber = 0; columnNumber < columnProfiles.size(); columnNumber++)
+            {
+                columnProfiles.get(columnNumber).merge(chunkProfile.columnProfiles.get(columnNumber));
+            }
+        }
+    }
 }
@@ -9,6 +9,21 @@ import org.odpi.openmetadata.frameworks.discovery.DiscoveryServiceProvider;
  */
 public class CSVDiscoveryServiceProvider extends DiscoveryServiceProvider
 {
+    /**
+     * Number of threads that profile chunks of the file.  The default is the number of processors.
+     */
+    static final String PROFILE_THREAD_COUNT_PROPERTY = "profileThreadCount";
+
+    /**
+     * Number of records in each chunk passed to a profiling thread.
+     */
+    static final String PROFILE_CHUNK_SIZE_PROPERTY   = "profileChunkSize";
+
+    /**
+     * Maximum number of frequent values reported for each column.
+     */
+    static final String FREQUENT_VALUE_LIMIT_PROPERTY = "frequentValueLimit";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -0,0 +1,660 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+
+/**
+ * ColumnProfile accumulates the profile of the values of one column using fixed size summaries so that the memory
+ * used does not grow with the number of rows.  A profile is built for each chunk of a file and the profiles are then
+ * merged, which gives the same result (within the error bounds of the summaries) as a single sequential pass.
+ * <ul>
+ *     <li>The distinct count is estimated with a HyperLogLog sketch (about 1.6% standard error).</li>
+ *     <li>The frequent values are tracked with the Misra-Gries summary.  The counts are exact while the column has no
+ *     more distinct values than the summary holds, otherwise they are lower bounds.</li>
+ *     <li>The quantiles are taken from a uniform sample of the values, chosen by random priority so that
+ *     samples can be merged.</li>
+ * </ul>
+ * A profile is not thread-safe.  Each chunk is profiled by one thread and merges are synchronized by the caller.
+ */
+class ColumnProfile
+{
+    private static final int    hyperLogLogPrecision = 12;
+    private static final int    hyperLogLogRegisters = 1 << hyperLogLogPrecision;
+    private static final double hyperLogLogAlpha     = 0.7213 / (1 + 1.079 / hyperLogLogRegisters);
+    private static final int    sampleSize           = 1024;
+
+    static final String BOOLEAN_TYPE_NAME = "boolean";
+    static final String INT_TYPE_NAME     = "int";
+    static final String LONG_TYPE_NAME    = "long";
+    static final String FLOAT_TYPE_NAME   = "float";
+    static final String DATE_TYPE_NAME    = "date";
+    static final String STRING_TYPE_NAME  = "string";
+
+    private static final int BOOLEAN_CANDIDATE = 0x01;
+    private static final int INT_CANDIDATE     = 0x02;
+    private static final int LONG_CANDIDATE    = 0x04;
+    private static final int FLOAT_CANDIDATE   = 0x08;
+    private static final int DATE_CANDIDATE    = 0x10;
+    private static final int ALL_CANDIDATES    = 0x1F;
+
+    private final int               frequentValueLimit;
+    private final byte[]            registers       = new byte[hyperLogLogRegisters];
+    private final Map<String, Long> frequentValues  = new HashMap<>();
+    private final SplittableRandom  random;
+    private final PriorityQueue<SampledValue> sample = new PriorityQueue<>(Comparator.comparingLong((SampledValue sampledValue) -> sampledValue.priority).reversed());
+
+    private boolean frequentValuesExact = true;
+    private int     typeCandidates      = ALL_CANDIDATES;
+    private long    valueCount          = 0;
+    private long    nullCount           = 0;
+    private long    totalLength         = 0;
+    private int     minLength           = Integer.MAX_VALUE;
+    private int     maxLength           = 0;
+    private String  minValue            = null;
+    private String  maxValue            = null;
+    private long    numericCount        = 0;
+    private double  numericMin          = Double.POSITIVE_INFINITY;
+    private double  numericMax          = Double.NEGATIVE_INFINITY;
+    private double  numericSum          = 0;
+
+
+    /**
+     * Constructor.
+     *
+     * @param frequentValueLimit maximum number of values to track in the frequent value summary
+     * @param seed seed for the sample priorities
+     */
+    ColumnProfile(int  frequentValueLimit,
+                  long seed)
+    {
+        this.frequentValueLimit = frequentValueLimit;
+        this.random             = new SplittableRandom(seed);
+    }
+
+
+    /**
+     * Add a value from the column.  Empty values and missing values (passed as null) are counted as nulls.
+     *
+     * @param value field value
+     */
+    void addValue(String value)
+    {
+        if ((value == null) || (value.isEmpty()))
+        {
+            nullCount++;
+            return;
+        }
+
+        valueCount++;
+        totalLength = totalLength + value.length();
+        minLength   = Math.min(minLength, value.length());
+        maxLength   = Math.max(maxLength, value.length());
+
+        if ((minValue == null) || (value.compareTo(minValue) < 0))
+        {
+            minValue = value;
+        }
+        if ((maxValue == null) || (value.compareTo(maxValue) > 0))
+        {
+            maxValue = value;
+        }
+
+        addToHyperLogLog(value);
+        addToFrequentValues(value, 1);
+        addToSample(new SampledValue(value, random.nextLong()));
+        addToTypeCandidates(value);
+    }
+
+
+    /**
+     * Merge the profile of another chunk of the same column into this profile.
+     *
+     * @param other profile to merge
+     */
+    void merge(ColumnProfile other)
+    {
+        valueCount  = valueCount + other.valueCount;
+        nullCount   = nullCount + other.nullCount;
+        totalLength = totalLength + other.totalLength;
+        minLength   = Math.min(minLength, other.minLength);
+        maxLength   = Math.max(maxLength, other.maxLength);
+
+        if ((other.minValue != null) && ((minValue == null) || (other.minValue.compareTo(minValue) < 0)))
+        {
+            minValue = other.minValue;
+        }
+        if ((other.maxValue != null) && ((maxValue == null) || (other.maxValue.compareTo(maxValue) > 0)))
+        {
+            maxValue = other.maxValue;
+        }
+
+        typeCandidates = typeCandidates & other.typeCandidates;
+        numericCount   = numericCount + other.numericCount;
+        numericMin     = Math.min(numericMin, other.numericMin);
+        numericMax     = Math.max(numericMax, other.numericMax);
+        numericSum     = numericSum + other.numericSum;
+
+        for (int register = 0; register < hyperLogLogRegisters; register++)
+        {
+            registers[register] = (byte)Math.max(registers[register], other.registers[register]);
+        }
+
+        frequentValuesExact = frequentValuesExact && other.frequentValuesExact;
+        for (Map.Entry<String, Long> frequentValue : other.frequentValues.entrySet())
+        {
+            frequentValues.merge(frequentValue.getKey(), frequentValue.getValue(), Long::sum);
+        }
+        trimFrequentValues();
+
+        for (SampledValue sampledValue : other.sample)
+        {
+            addToSample(sampledValue);
+        }
+    }
+
+
+    /**
+     * Return the number of non-null values.
+     *
+     * @return count
+     */
+    long getValueCount()
+    {
+        return valueCount;
+    }
+
+
+    /**
+     * Return the number of empty or missing values.
+     *
+     * @return count
+     */
+    long getNullCount()
+    {
+        return nullCount;
+    }
+
+
+    /**
+     * Return the total length of the non-null values.
+     *
+     * @return number of characters
+     */
+    long getTotalLength()
+    {
+        return totalLength;
+    }
+
+
+    /**
+     * Return the length of the shortest non-null value.
+     *
+     * @return number of characters
+     */
+    int getMinLength()
+    {
+        return valueCount == 0 ? 0 : minLength;
+    }
+
+
+    /**
+     * Return the length of the longest value.
+     *
+     * @return number of characters
+     */
+    int getMaxLength()
+    {
+        return maxLength;
+    }
+
+
+    /**
+     * Return whether the frequent values, and hence the distinct count, are exact.
+     *
+     * @return boolean flag
+     */
+    boolean isExact()
+    {
+        return frequentValuesExact;
+    }
+
+
+    /**
+     * Return the number of distinct values.  This is exact when every value fitted in the frequent value summary,
+     * otherwise it is the HyperLogLog estimate.
+     *
+     * @return count
+     */
+    long getDistinctCount()
+    {
+        if (frequentValuesExact)
+        {
+            return frequentValues.size();
+        }
+
+        double harmonicSum = 0;
+        int    zeroRegisters = 0;
+
+        for (byte register : registers)
+        {
+            harmonicSum = harmonicSum + 1.0 / (1L << register);
+
+            if (register == 0)
+            {
+                zeroRegisters++;
+            }
+        }
+
+        double estimate = hyperLogLogAlpha * hyperLogLogRegisters * hyperLogLogRegisters / harmonicSum;
+
+        if ((estimate <= 2.5 * hyperLogLogRegisters) && (zeroRegisters > 0))
+        {
+            estimate = hyperLogLogRegisters * Math.log((double)hyperLogLogRegisters / zeroRegisters);
+        }
+
+        return Math.min(Math.round(estimate), valueCount);
+    }
+
+
+    /**
+     * Return the most frequent values with their counts, most frequent first.
+     *
+     * @return map of value to count
+     */
+    Map<String, Integer> getFrequentValues()
+    {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(frequentValues.entrySet());
+
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Long> entry : entries)
+        {
+            result.put(entry.getKey(), (int)Math.min(entry.getValue(), Integer.MAX_VALUE));
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Return the inferred type of the column.
+     *
+     * @return type name or null if the column has no values
+     */
+    String getInferredDataType()
+    {
+        if (valueCount == 0)
+        {
+            return null;
+        }
+        if ((typeCandidates & BOOLEAN_CANDIDATE) != 0)
+        {
+            return BOOLEAN_TYPE_NAME;
+        }
+        if ((typeCandidates & INT_CANDIDATE) != 0)
+        {
+            return INT_TYPE_NAME;
+        }
+        if ((typeCandidates & LONG_CANDIDATE) != 0)
+        {
+            return LONG_TYPE_NAME;
+        }
+        if ((typeCandidates & FLOAT_CANDIDATE) != 0)
+        {
+            return FLOAT_TYPE_NAME;
+        }
+        if ((typeCandidates & DATE_CANDIDATE) != 0)
+        {
+            return DATE_TYPE_NAME;
+        }
+
+        return STRING_TYPE_NAME;
+    }
+
+
+    /**
+     * Return whether the inferred type is a number.
+     *
+     * @return boolean flag
+     */
+    boolean isNumeric()
+    {
+        String inferredDataType = getInferredDataType();
+
+        return INT_TYPE_NAME.equals(inferredDataType) ||
+               LONG_TYPE_NAME.equals(inferredDataType) ||
+               FLOAT_TYPE_NAME.equals(inferredDataType);
+    }
+
+
+    /**
+     * Return the lowest value - numerically for numeric columns, otherwise in string order.
+     *
+     * @return value or null if the column has no values
+     */
+    String getValueRangeFrom()
+    {
+        if (isNumeric())
+        {
+            return formatNumber(numericMin);
+        }
+
+        return minValue;
+    }
+
+
+    /**
+     * Return the highest value - numerically for numeric columns, otherwise in string order.
+     *
+     * @return value or null if the column has no values
+     */
+    String getValueRangeTo()
+    {
+        if (isNumeric())
+        {
+            return formatNumber(numericMax);
+        }
+
+        return maxValue;
+    }
+
+
+    /**
+     * Return the average of a numeric column.
+     *
+     * @return formatted number or null for non-numeric columns
+     */
+    String getAverageValue()
+    {
+        if ((isNumeric()) && (numericCount > 0))
+        {
+            return Double.toString(numericSum / numericCount);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the approximate quantiles of the values from the sample.  Numeric columns are ordered numerically.
+     *
+     * @param fractions fractions between 0 and 1 to return the quantiles for
+     * @return list of values, one for each fraction, or null if the column has no values
+     */
+    List<String> getQuantiles(double... fractions)
+    {
+        if (sample.isEmpty())
+        {
+            return null;
+        }
+
+        List<String> sortedSample = new ArrayList<>(sample.size());
+
+        for (SampledValue sampledValue : sample)
+        {
+            sortedSample.add(sampledValue.value);
+        }
+
+        if (isNumeric())
+        {
+            sortedSample.sort(Comparator.comparingDouble(Double::parseDouble));
+        }
+        else
+        {
+            sortedSample.sort(Comparator.naturalOrder());
+        }
+
+        List<String> quantiles = new ArrayList<>();
+
+        for (double fraction : fractions)
+        {
+            int index = (int)Math.min(sortedSample.size() - 1, Math.max(0, Math.round(fraction * (sortedSample.size() - 1))));
+
+            quantiles.add(sortedSample.get(index));
+        }
+
+        return quantiles;
+    }
+
+
+    /**
+     * Set the register for the value's hash to the longest run of leading zeros seen.
+     *
+     * @param value field value
+     */
+    private void addToHyperLogLog(String value)
+    {
+        long hash     = ValueHash.hash(value);
+        int  register = (int)(hash >>> (64 - hyperLogLogPrecision));
+        byte rank     = (byte)(Long.numberOfLeadingZeros((hash << hyperLogLogPrecision) | (1L << (hyperLogLogPrecision - 1))) + 1);
+
+        if (rank > registers[register])
+        {
+            registers[register] = rank;
+        }
+    }
+
+
+    /**
+     * Add to the Misra-Gries summary.
+     *
+     * @param value field value
+     * @param count number of occurrences
+     */
+    private void addToFrequentValues(String value, long count)
+    {
+        Long existingCount = frequentValues.get(value);
+
+        if (existingCount != null)
+        {
+            frequentValues.put(value, existingCount + count);
+        }
+        else if (frequentValues.size() < frequentValueLimit)
+        {
+            frequentValues.put(value, count);
+        }
+        else
+        {
+            frequentValuesExact = false;
+            frequentValues.replaceAll((key, valueCount) -> valueCount - 1);
+            frequentValues.values().removeIf(valueCount -> valueCount <= 0);
+        }
+    }
+
+
+    /**
+     * After a merge the summary may hold more values than the limit.  Subtracting the count of the first value
+     * beyond the limit from every count keeps the Misra-Gries error bound.
+     */
+    private void trimFrequentValues()
+    {
+        if (frequentValues.size() > frequentValueLimit)
+        {
+            List<Long> counts = new ArrayList<>(frequentValues.values());
+
+            counts.sort(Comparator.reverseOrder());
+
+            long threshold = counts.get(frequentValueLimit);
+
+            frequentValuesExact = false;
+            frequentValues.replaceAll((key, valueCount) -> valueCount - threshold);
+            frequentValues.values().removeIf(valueCount -> valueCount <= 0);
+        }
+    }
+
+
+    /**
+     * Keep the value if its priority is among the lowest seen.
+     *
+     * @param sampledValue value with its priority
+     */
+    private void addToSample(SampledValue sampledValue)
+    {
+        if (sample.size() < sampleSize)
+        {
+            sample.add(sampledValue);
+        }
+        else if (sampledValue.priority < sample.peek().priority)
+        {
+            sample.poll();
+            sample.add(sampledValue);
+        }
+    }
+
+
+    /**
+     * Remove the types that the value does not fit and accumulate the numeric statistics.
+     *
+     * @param value field value
+     */
+    private void addToTypeCandidates(String value)
+    {
+        if ((typeCandidates & BOOLEAN_CANDIDATE) != 0)
+        {
+            if (! ("true".equals(value) || "TRUE".equals(value) || "false".equals(value) || "FALSE".equals(value)))
+            {
+                typeCandidates = typeCandidates & ~BOOLEAN_CANDIDATE;
+            }
+        }
+
+        if ((typeCandidates & (INT_CANDIDATE | LONG_CANDIDATE | FLOAT_CANDIDATE)) != 0)
+        {
+            Double number = null;
+
+            if ((typeCandidates & (INT_CANDIDATE | LONG_CANDIDATE)) != 0)
+            {
+                try
+                {
+                    long longValue = Long.parseLong(value);
+
+                    if ((longValue < Integer.MIN_VALUE) || (longValue > Integer.MAX_VALUE))
+                    {
+                        typeCandidates = typeCandidates & ~INT_CANDIDATE;
+                    }
+
+                    number = (double)longValue;
+                }
+                catch (NumberFormatException notLong)
+                {
+                    typeCandidates = typeCandidates & ~(INT_CANDIDATE | LONG_CANDIDATE);
+                }
+            }
+
+            if ((number == null) && ((typeCandidates & FLOAT_CANDIDATE) != 0))
+            {
+                number = parseFloat(value);
+
+                if (number == null)
+                {
+                    typeCandidates = typeCandidates & ~FLOAT_CANDIDATE;
+                }
+            }
+
+            if (number != null)
+            {
+                numericCount++;
+                numericMin = Math.min(numericMin, number);
+                numericMax = Math.max(numericMax, number);
+                numericSum = numericSum + number;
+            }
+        }
+
+        if ((typeCandidates & DATE_CANDIDATE) != 0)
+        {
+            if ((value.length() != 10) || (value.charAt(4) != '-') || (value.charAt(7) != '-'))
+            {
+                typeCandidates = typeCandidates & ~DATE_CANDIDATE;
+            }
+            else
+            {
+                try
+                {
+                    LocalDate.parse(value);
+                }
+                catch (DateTimeParseException notDate)
+                {
+                    typeCandidates = typeCandidates & ~DATE_CANDIDATE;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Parse a decimal number.  Values such as "NaN" or "1f" that Java accepts but other tools do not are rejected.
+     *
+     * @param value field value
+     * @return number or null if the value is not a decimal number
+     */
+    private Double parseFloat(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char character = value.charAt(i);
+
+            if (! (Character.isDigit(character) || character == '.' || character == '-' || character == '+' || character == 'e' || character == 'E'))
+            {
+                return null;
+            }
+        }
+
+        try
+        {
+            return Double.parseDouble(value);
+        }
+        catch (NumberFormatException notFloat)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Format a number without a fractional part when it is whole.
+     *
+     * @param number number to format
+     * @return string value
+     */
+    private String formatNumber(double number)
+    {
+        if (numericCount == 0)
+        {
+            return null;
+        }
+        if ((number == Math.rint(number)) && (Math.abs(number) < 1e18))
+        {
+            return Long.toString((long)number);
+        }
+
+        return Double.toString(number);
+    }
+
+
+    /**
+     * A value in the sample with the random priority that decides whether it stays in the sample.
+     */
+    private static class SampledValue
+    {
+        private final String value;
+        private final long   priority;
+
+        SampledValue(String value, long priority)
+        {
+            this.value    = value;
+            this.priority = priority;
+        }
+    }
+}
@@ -45,6 +45,12 @@ public enum DiscoveryServiceErrorCode implements ExceptionMessageSet
              "No type name is available for the asset passed to discovery service {0}.  The full asset contents are: {1}.",
              "The discovery service terminates without running any automated metadata discovery function.",
              "This is an unexpected condition because if the metadata server was unavailable, an exception would have been caught."),
+
+    NO_ASSET_EVENTS(500, "OMAG-DISCOVERY-SERVICE-500-003 ",
+             "Discovery service {0} is unable to register for the asset events of server {1} at {2}. The error message was {3}",
+             "The discovery service terminates without running any automated metadata discovery function.  The registration is retried by the next discovery request.",
+             "Check that the server name and platform URL root in the configuration properties of the discovery service connection " +
+                             "refer to a running server with the Asset Consumer OMAS enabled, and that the user of the connection may use it."),
         ;
 
 
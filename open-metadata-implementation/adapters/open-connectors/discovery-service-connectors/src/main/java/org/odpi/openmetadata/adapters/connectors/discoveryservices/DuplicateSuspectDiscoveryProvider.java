@@ -6,8 +6,18 @@ package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryServiceProvider;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * DuplicateSuspectDiscoveryProvider is the provider for the DuplicateSuspectDiscoveryService - an ODF discovery service connector.
+ * The discovery engine creates a new discovery service instance for each discovery request, so the provider holds
+ * the similarity indexes that the instances share.  There is one index for each connection that the service is
+ * configured with.
  */
 public class DuplicateSuspectDiscoveryProvider extends DiscoveryServiceProvider
 {
@@ -15,6 +25,34 @@ public class DuplicateSuspectDiscoveryProvider extends DiscoveryServiceProvider
     static final String  connectorTypeName = "Duplicate Suspect Discovery Service Connector";
     static final String  connectorTypeDescription = "Connector supports the detection of potentially duplicate assets.";
 
+    /**
+     * Lowest estimated similarity (as a percentage) of an asset from the similarity index that is reported as a suspect.
+     */
+    static final String  MINIMUM_CONFIDENCE_LEVEL_PROPERTY = "minimumConfidenceLevel";
+
+    /**
+     * Maximum number of suspects taken from the similarity index.
+     */
+    static final String  MAX_SUSPECTS_PROPERTY = "maxSuspects";
+
+    /**
+     * Maximum number of assets held in the similarity index shared by the discovery service instances.
+     */
+    static final String  MAX_INDEXED_ASSETS_PROPERTY = "maxIndexedAssets";
+
+    /**
+     * Name of the server running the Asset Consumer OMAS whose asset events keep the similarity index current.
+     */
+    static final String  ASSET_CONSUMER_SERVER_NAME_PROPERTY = "assetConsumerServerName";
+
+    /**
+     * Platform URL root of the server running the Asset Consumer OMAS.
+     */
+    static final String  ASSET_CONSUMER_SERVER_URL_PROPERTY = "assetConsumerServerPlatformURLRoot";
+
+    private static final Map<String, AssetSimilarityIndex> similarityIndexes = new HashMap<>();
+    private static final Set<String>                       listeningIndexes  = new HashSet<>();
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * discovery service implementation.
@@ -33,6 +71,54 @@ public class DuplicateSuspectDiscoveryProvider extends DiscoveryServiceProvider
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(MINIMUM_CONFIDENCE_LEVEL_PROPERTY);
+        recognizedConfigurationProperties.add(MAX_SUSPECTS_PROPERTY);
+        recognizedConfigurationProperties.add(MAX_INDEXED_ASSETS_PROPERTY);
+        recognizedConfigurationProperties.add(ASSET_CONSUMER_SERVER_NAME_PROPERTY);
+        recognizedConfigurationProperties.add(ASSET_CONSUMER_SERVER_URL_PROPERTY);
+
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
+
+
+    /**
+     * Return the similarity index for a connection, creating it on first use.  The size of the index is set
+     * when it is created.
+     *
+     * @param indexName qualified name or unique identifier of the connection
+     * @param maxIndexedAssets maximum number of assets held in the index
+     * @return similarity index
+     */
+    static synchronized AssetSimilarityIndex getSimilarityIndex(String indexName,
+                                                                int    maxIndexedAssets)
+    {
+        return similarityIndexes.computeIfAbsent(indexName, key -> new AssetSimilarityIndex(maxIndexedAssets));
+    }
+
+
+    /**
+     * Claim the registration of the asset event listener for a similarity index.  Only the first caller
+     * registers the listener.
+     *
+     * @param indexName qualified name or unique identifier of the connection
+     * @return true if the caller should register the listener
+     */
+    static synchronized boolean claimAssetEventListener(String indexName)
+    {
+        return listeningIndexes.add(indexName);
+    }
+
+
+    /**
+     * Give up the registration of the asset event listener after it failed so that the next caller can retry.
+     *
+     * @param indexName qualified name or unique identifier of the connection
+     */
+    static synchronized void releaseAssetEventListener(String indexName)
+    {
+        listeningIndexes.remove(indexName);
+    }
 }
@@ -3,10 +3,15 @@
 
 package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 
+import org.odpi.openmetadata.accessservices.assetconsumer.client.AssetConsumerEventClient;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetComplexSchemaType;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetSchemaAttribute;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetSchemaAttributes;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetSchemaType;
 import org.odpi.openmetadata.frameworks.connectors.properties.AssetUniverse;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAssetCatalogStore;
@@ -15,19 +20,36 @@ import org.odpi.openmetadata.frameworks.discovery.properties.SuspectDuplicateAnn
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * DuplicateSuspectDiscoveryService is a discovery service that looks for assets in the asset catalog that seem to be
- * duplicates of the asset supplied in the context.
+ * duplicates of the asset supplied in the context.  Assets with the same qualified name, display name or endpoint
+ * address are found with exact searches of the catalog.  Near-duplicates are found in an AssetSimilarityIndex built
+ * from the words of the names and description, the schema column names and the endpoint addresses of the assets.
+ * The discovery engine creates a new instance of the service for each request, so the index is held by the
+ * DuplicateSuspectDiscoveryProvider and shared by all instances configured with the same connection.  It holds a
+ * bounded number of assets: each asset analysed by the service is added, and when the connection names a server
+ * running the Asset Consumer OMAS, the new and updated assets from its out topic are added too.
+ * The suspects found in the index are checked with the catalog before they are reported, which also removes
+ * deleted assets from the index.
  */
 public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
 {
     private static final String   QUALIFIED_NAME_PROPERTY = "qualifiedName";
-    private static final String   DISPLAY_NAME_PROPERTY = "displayName";
-    private static final String   NETWORK_ADDRESS_PROPERTY = "Connection::Endpoint::address";
+    private static final String   defaultSimilarityIndexName = "DuplicateSuspectDiscoveryService";
 
-    private Map<String, List<String>> suspectDuplicateReport = new HashMap<>();
+    private static final int      defaultMinimumConfidenceLevel = 50;
+    private static final int      defaultMaxSuspects            = 10;
+    private static final int      defaultMaxIndexedAssets       = 10000;
+    private static final int      exactMatchConfidenceLevel     = 100;
+
+    private AssetSimilarityIndex similarityIndex = null;
+
+    private final Map<String, List<String>> suspectDuplicateReport  = new HashMap<>();
+    private final Map<String, Integer>      suspectConfidenceLevels = new HashMap<>();
 
     /**
      * Indicates that the discovery service is completely configured and can begin processing.
@@ -41,6 +63,12 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
 
         super.start();
 
+        /*
+         * The similarity index is shared with the other instances but each run reports its own suspects.
+         */
+        suspectDuplicateReport.clear();
+        suspectConfidenceLevels.clear();
+
         try
         {
             String        assetGUID = discoveryContext.getAssetGUID();
@@ -61,17 +89,26 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
 
             DiscoveryAssetCatalogStore assetCatalogStore = discoveryContext.getAssetCatalogStore();
 
+            String similarityIndexName = this.getSimilarityIndexName();
+
+            similarityIndex = DuplicateSuspectDiscoveryProvider.getSimilarityIndex(similarityIndexName,
+                                                                                   super.getIntegerConfigurationProperty(DuplicateSuspectDiscoveryProvider.MAX_INDEXED_ASSETS_PROPERTY,
+                                                                                                                         defaultMaxIndexedAssets));
+
+            this.registerAssetEventListener(similarityIndexName, assetCatalogStore.getMaxPageSize(), methodName);
+
             /*
-             * Just pull in up to the maximum page size - if locating more duplicates that this upper limit then there are bigger problems.
              * Duplicate assets are returned based on qualified name, display name and endpoint address.
+             * Just pull in up to the maximum page size - if locating more duplicates that this upper limit then
+             * there are bigger problems.
              */
             List<String> retrievedAssetGUIDs = assetCatalogStore.getAssetsByQualifiedName(qualifiedName,0, assetCatalogStore.getMaxPageSize());
-            this.captureDuplicateSuspects(retrievedAssetGUIDs, QUALIFIED_NAME_PROPERTY);
+            this.captureDuplicateSuspects(assetGUID, retrievedAssetGUIDs, QUALIFIED_NAME_PROPERTY, exactMatchConfidenceLevel);
 
             if (displayName != null)
             {
                 retrievedAssetGUIDs = assetCatalogStore.getAssetsByName(displayName,0, assetCatalogStore.getMaxPageSize());
-                this.captureDuplicateSuspects(retrievedAssetGUIDs, DISPLAY_NAME_PROPERTY);
+                this.captureDuplicateSuspects(assetGUID, retrievedAssetGUIDs, AssetFeatures.DISPLAY_NAME_PROPERTY, exactMatchConfidenceLevel);
             }
 
             if (endpointNetworkAddresses != null)
@@ -80,12 +117,53 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
                 {
                     if (networkAddress != null)
                     {
-                        retrievedAssetGUIDs = assetCatalogStore.getAssetsByName(displayName,0, assetCatalogStore.getMaxPageSize());
-                        this.captureDuplicateSuspects(retrievedAssetGUIDs, NETWORK_ADDRESS_PROPERTY);
+                        retrievedAssetGUIDs = assetCatalogStore.getAssetsByEndpoint(networkAddress,0, assetCatalogStore.getMaxPageSize());
+                        this.captureDuplicateSuspects(assetGUID, retrievedAssetGUIDs, AssetFeatures.NETWORK_ADDRESS_PROPERTY, exactMatchConfidenceLevel);
                     }
                 }
             }
 
+            /*
+             * Near-duplicates share most of their features.  The features of the catalog properties are held
+             * apart from the discovered ones so the asset events can refresh them.
+             */
+            List<String> columnNames        = this.getSchemaAttributeNames(asset.getSchema());
+            Set<String>  catalogFeatures    = AssetFeatures.getCatalogFeatures(qualifiedName, displayName, asset.getDescription());
+            Set<String>  discoveredFeatures = AssetFeatures.getDiscoveredFeatures(columnNames, endpointNetworkAddresses);
+
+            if ((! catalogFeatures.isEmpty()) || (! discoveredFeatures.isEmpty()))
+            {
+                Map<String, Long> catalogPropertyValueHashes    = AssetFeatures.getCatalogPropertyValueHashes(displayName, asset.getDescription());
+                Map<String, Long> discoveredPropertyValueHashes = AssetFeatures.getDiscoveredPropertyValueHashes(columnNames, endpointNetworkAddresses);
+                Map<String, Long> propertyValueHashes           = new HashMap<>(catalogPropertyValueHashes);
+                int[]             catalogSignature              = similarityIndex.getSignature(catalogFeatures);
+                int[]             discoveredSignature           = null;
+
+                if (! discoveredFeatures.isEmpty())
+                {
+                    discoveredSignature = similarityIndex.getSignature(discoveredFeatures);
+                }
+
+                propertyValueHashes.putAll(discoveredPropertyValueHashes);
+
+                this.captureSimilarAssets(assetGUID,
+                                          assetCatalogStore,
+                                          similarityIndex.findSimilarAssets(assetGUID,
+                                                                            AssetSimilarityIndex.combineSignatures(catalogSignature, discoveredSignature),
+                                                                            propertyValueHashes,
+                                                                            super.getIntegerConfigurationProperty(DuplicateSuspectDiscoveryProvider.MINIMUM_CONFIDENCE_LEVEL_PROPERTY,
+                                                                                                                  defaultMinimumConfidenceLevel) / 100.0,
+                                                                            super.getIntegerConfigurationProperty(DuplicateSuspectDiscoveryProvider.MAX_SUSPECTS_PROPERTY,
+                                                                                                                  defaultMaxSuspects)));
+
+                similarityIndex.put(assetGUID,
+                                    qualifiedName,
+                                    catalogSignature,
+                                    catalogPropertyValueHashes,
+                                    discoveredSignature,
+                                    discoveredPropertyValueHashes);
+            }
+
             recordAnnotations();
         }
         catch (ConnectorCheckedException error)
@@ -99,20 +177,92 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
     }
 
 
+    /**
+     * Return the name of the similarity index for the connection of this instance.  The instances that the
+     * discovery engine creates for the same discovery service share a connection.
+     *
+     * @return qualified name or unique identifier of the connection
+     */
+    private String getSimilarityIndexName()
+    {
+        if (connectionProperties.getQualifiedName() != null)
+        {
+            return connectionProperties.getQualifiedName();
+        }
+
+        if (connectionProperties.getGUID() != null)
+        {
+            return connectionProperties.getGUID();
+        }
+
+        return defaultSimilarityIndexName;
+    }
+
+
+    /**
+     * Register a listener for the asset events of the Asset Consumer OMAS if the connection names its server and
+     * no other instance has registered one for the similarity index.
+     *
+     * @param similarityIndexName name of the similarity index
+     * @param maxPageSize maximum number of elements that can be returned on a request
+     * @param methodName calling method
+     * @throws ConnectorCheckedException the listener could not be registered
+     */
+    private void registerAssetEventListener(String similarityIndexName,
+                                            int    maxPageSize,
+                                            String methodName) throws ConnectorCheckedException
+    {
+        String serverName            = super.getStringConfigurationProperty(DuplicateSuspectDiscoveryProvider.ASSET_CONSUMER_SERVER_NAME_PROPERTY);
+        String serverPlatformURLRoot = super.getStringConfigurationProperty(DuplicateSuspectDiscoveryProvider.ASSET_CONSUMER_SERVER_URL_PROPERTY);
+
+        if ((serverName != null) && (serverPlatformURLRoot != null) && (DuplicateSuspectDiscoveryProvider.claimAssetEventListener(similarityIndexName)))
+        {
+            try
+            {
+                AssetConsumerEventClient eventClient = new AssetConsumerEventClient(serverName,
+                                                                                    serverPlatformURLRoot,
+                                                                                    connectionProperties.getUserId(),
+                                                                                    connectionProperties.getClearPassword(),
+                                                                                    maxPageSize,
+                                                                                    auditLog,
+                                                                                    discoveryServiceName);
+
+                eventClient.registerListener(connectionProperties.getUserId(), new AssetSimilarityIndexListener(similarityIndex));
+            }
+            catch (Exception error)
+            {
+                DuplicateSuspectDiscoveryProvider.releaseAssetEventListener(similarityIndexName);
+
+                throw new ConnectorCheckedException(DiscoveryServiceErrorCode.NO_ASSET_EVENTS.getMessageDefinition(discoveryServiceName,
+                                                                                                                   serverName,
+                                                                                                                   serverPlatformURLRoot,
+                                                                                                                   error.getMessage()),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    error);
+            }
+        }
+    }
+
+
     /**
      * Capture details of the assets that match on a specific property.
      *
+     * @param assetGUID unique identifier of the asset being analysed - it is not a duplicate of itself
      * @param duplicateSuspectGUIDs list of matching unique identifiers
      * @param propertyName property name that they match on
+     * @param confidenceLevel confidence that the assets are duplicates (0-100)
      */
-    private void captureDuplicateSuspects(List<String>    duplicateSuspectGUIDs,
-                                          String          propertyName)
+    private void captureDuplicateSuspects(String          assetGUID,
+                                          List<String>    duplicateSuspectGUIDs,
+                                          String          propertyName,
+                                          int             confidenceLevel)
     {
         if (duplicateSuspectGUIDs != null)
         {
             for (String duplicateSuspectGUID : duplicateSuspectGUIDs)
             {
-                if (duplicateSuspectGUID != null)
+                if ((duplicateSuspectGUID != null) && (! duplicateSuspectGUID.equals(assetGUID)))
                 {
                     List<String>  duplicateSuspectRecord = suspectDuplicateReport.get(duplicateSuspectGUID);
 
@@ -121,14 +271,108 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
                         duplicateSuspectRecord = new ArrayList<>();
                     }
 
-                    duplicateSuspectRecord.add(propertyName);
+                    if (! duplicateSuspectRecord.contains(propertyName))
+                    {
+                        duplicateSuspectRecord.add(propertyName);
+                    }
+
                     suspectDuplicateReport.put(duplicateSuspectGUID, duplicateSuspectRecord);
+                    suspectConfidenceLevels.merge(duplicateSuspectGUID, confidenceLevel, Math::max);
                 }
             }
         }
     }
 
 
+    /**
+     * Capture the assets from the similarity index that are still in the catalog.  The check uses the qualified name
+     * that was recorded in the index.  Assets that are no longer in the catalog, or are not visible to this user,
+     * are removed from the index.
+     *
+     * @param assetGUID unique identifier of the asset being analysed
+     * @param assetCatalogStore catalog to check the suspects with
+     * @param similarAssets suspects from the index, most similar first
+     * @throws InvalidParameterException problem with the qualified name
+     * @throws UserNotAuthorizedException problem with user id
+     * @throws PropertyServerException problem connecting to metadata server
+     */
+    private void captureSimilarAssets(String                                  assetGUID,
+                                      DiscoveryAssetCatalogStore              assetCatalogStore,
+                                      List<AssetSimilarityIndex.SimilarAsset> similarAssets) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException,
+                                                                                                    PropertyServerException
+    {
+        for (AssetSimilarityIndex.SimilarAsset similarAsset : similarAssets)
+        {
+            List<String> currentAssetGUIDs = null;
+
+            if (similarAsset.getQualifiedName() != null)
+            {
+                currentAssetGUIDs = assetCatalogStore.getAssetsByQualifiedName(similarAsset.getQualifiedName(), 0, assetCatalogStore.getMaxPageSize());
+            }
+
+            if ((currentAssetGUIDs == null) || (! currentAssetGUIDs.contains(similarAsset.getAssetGUID())))
+            {
+                similarityIndex.remove(similarAsset.getAssetGUID());
+            }
+            else
+            {
+                List<String> assetGUIDs      = new ArrayList<>();
+                int          confidenceLevel = (int)Math.round(similarAsset.getSimilarity() * 100);
+
+                assetGUIDs.add(similarAsset.getAssetGUID());
+
+                if (similarAsset.getMatchingPropertyNames().isEmpty())
+                {
+                    this.captureDuplicateSuspects(assetGUID, assetGUIDs, null, confidenceLevel);
+                }
+
+                for (String propertyName : similarAsset.getMatchingPropertyNames())
+                {
+                    this.captureDuplicateSuspects(assetGUID, assetGUIDs, propertyName, confidenceLevel);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the names of the top level attributes of the asset's schema.
+     *
+     * @param schemaType schema type of the asset
+     * @return list of lower case names or null if the schema does not have attributes
+     */
+    private List<String> getSchemaAttributeNames(AssetSchemaType schemaType)
+    {
+        if (schemaType instanceof AssetComplexSchemaType)
+        {
+            AssetSchemaAttributes schemaAttributes = ((AssetComplexSchemaType)schemaType).getSchemaAttributes();
+
+            if (schemaAttributes != null)
+            {
+                List<String> attributeNames = new ArrayList<>();
+
+                while (schemaAttributes.hasNext())
+                {
+                    AssetSchemaAttribute schemaAttribute = schemaAttributes.next();
+
+                    if ((schemaAttribute != null) && (schemaAttribute.getAttributeName() != null))
+                    {
+                        attributeNames.add(schemaAttribute.getAttributeName().toLowerCase(Locale.ROOT));
+                    }
+                }
+
+                if (! attributeNames.isEmpty())
+                {
+                    return attributeNames;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Take the suspect duplicates report and turn it into annotations.
      *
@@ -152,7 +396,7 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
             SuspectDuplicateAnnotation  annotation = new SuspectDuplicateAnnotation();
 
             annotation.setAnnotationType("Unique Asset");
-            annotation.setSummary("No matching assets found based on qualified name, display name and endpoint addresses.");
+            annotation.setSummary("No matching assets found based on qualified name, display name, endpoint addresses or similar names, description and schema attributes.");
 
             annotationStore.addAnnotationToDiscoveryReport(annotation);
         }
@@ -167,9 +411,19 @@ public class DuplicateSuspectDiscoveryService extends AuditableDiscoveryService
                 {
                     SuspectDuplicateAnnotation  annotation = new SuspectDuplicateAnnotation();
 
+                    List<String> duplicateAnchorGUIDs  = new ArrayList<>();
+                    List<String> matchingPropertyNames = new ArrayList<>(suspectDuplicateReport.get(suspectGUID));
+
+                    duplicateAnchorGUIDs.add(suspectGUID);
+                    matchingPropertyNames.remove(null);
+
                     annotation.setAnnotationType("Duplicate Suspect Asset");
                     annotation.setSummary("This asset appears to refer to the same physical asset.");
-                    annotation.setMatchingPropertyNames(suspectDuplicateReport.get(suspectGUID));
+                    annotation.setConfidenceLevel(suspectConfidenceLevels.get(suspectGUID));
+                    annotation.setExplanation("Estimated similarity of names, description, schema attributes and endpoint addresses is " +
+                                                      suspectConfidenceLevels.get(suspectGUID) + "%.");
+                    annotation.setDuplicateAnchorGUIDs(duplicateAnchorGUIDs);
+                    annotation.setMatchingPropertyNames(matchingPropertyNames);
 
                     annotationStore.addAnnotationToDiscoveryReport(annotation);
                 }
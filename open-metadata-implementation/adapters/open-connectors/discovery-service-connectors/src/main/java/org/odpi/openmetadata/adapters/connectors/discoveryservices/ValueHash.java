@@ -0,0 +1,41 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+
+/**
+ * ValueHash provides the 64-bit string hash used by the sketches of the discovery services.  The column profiles
+ * use it to place values in the HyperLogLog registers and the similarity index uses it to hash features and
+ * property values.  It is not String.hashCode() because the sketches need all 64 bits to be well spread.
+ */
+final class ValueHash
+{
+    /**
+     * The class only has static methods.
+     */
+    private ValueHash()
+    {
+    }
+
+
+    /**
+     * Return a 64-bit hash of a string (FNV-1a followed by the MurmurHash3 finalizer to spread the bits).
+     *
+     * @param value string to hash
+     * @return hash
+     */
+    static long hash(String value)
+    {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,220 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that AssetSimilarityIndex finds similar assets, ignores dissimilar ones and stays within its size bound.
+ */
+public class AssetSimilarityIndexTest
+{
+    /**
+     * Return a set of numbered features.
+     *
+     * @param prefix prefix of each feature
+     * @param first first number
+     * @param last last number (inclusive)
+     * @return features
+     */
+    private Set<String> getFeatures(String prefix, int first, int last)
+    {
+        Set<String> features = new HashSet<>();
+
+        for (int i = first; i <= last; i++)
+        {
+            features.add(prefix + i);
+        }
+
+        return features;
+    }
+
+
+    /**
+     * Test that a near-duplicate is found with a similarity close to its Jaccard similarity and that an
+     * unrelated asset is not.
+     */
+    @Test
+    public void testFindSimilarAssets()
+    {
+        AssetSimilarityIndex index = new AssetSimilarityIndex(100);
+
+        Map<String, Long> propertyValueHashes = new HashMap<>();
+
+        propertyValueHashes.put("displayName", ValueHash.hash("customers"));
+
+        index.put("original", "original-qn", index.getSignature(getFeatures("f", 1, 100)), propertyValueHashes);
+        index.put("unrelated", "unrelated-qn", index.getSignature(getFeatures("g", 1, 100)), new HashMap<>());
+
+        /*
+         * 90 shared features out of 110 gives a Jaccard similarity of 0.82.
+         */
+        List<AssetSimilarityIndex.SimilarAsset> similarAssets = index.findSimilarAssets("request",
+                                                                                        index.getSignature(getFeatures("f", 11, 110)),
+                                                                                        propertyValueHashes,
+                                                                                        0.5,
+                                                                                        10);
+
+        assertEquals(similarAssets.size(), 1);
+        assertEquals(similarAssets.get(0).getAssetGUID(), "original");
+        assertEquals(similarAssets.get(0).getQualifiedName(), "original-qn");
+        assertTrue(Math.abs(similarAssets.get(0).getSimilarity() - 0.82) < 0.15, "Similarity " + similarAssets.get(0).getSimilarity());
+        assertEquals(similarAssets.get(0).getMatchingPropertyNames().size(), 1);
+        assertEquals(similarAssets.get(0).getMatchingPropertyNames().get(0), "displayName");
+
+        /*
+         * The requesting asset is not returned as a duplicate of itself.
+         */
+        assertTrue(index.findSimilarAssets("original",
+                                           index.getSignature(getFeatures("f", 1, 100)),
+                                           propertyValueHashes,
+                                           0.5,
+                                           10).isEmpty());
+    }
+
+
+    /**
+     * Test that removed and replaced assets are no longer found.
+     */
+    @Test
+    public void testRemoveAndReplace()
+    {
+        AssetSimilarityIndex index     = new AssetSimilarityIndex(100);
+        int[]                signature = index.getSignature(getFeatures("f", 1, 50));
+
+        index.put("asset", "asset-qn", signature, new HashMap<>());
+        index.put("asset", "asset-qn", index.getSignature(getFeatures("g", 1, 50)), new HashMap<>());
+
+        assertEquals(index.size(), 1);
+        assertTrue(index.findSimilarAssets("request", signature, new HashMap<>(), 0.5, 10).isEmpty());
+
+        index.put("asset", "asset-qn", signature, new HashMap<>());
+
+        assertEquals(index.findSimilarAssets("request", signature, new HashMap<>(), 0.5, 10).size(), 1);
+
+        index.remove("asset");
+
+        assertEquals(index.size(), 0);
+        assertTrue(index.findSimilarAssets("request", signature, new HashMap<>(), 0.5, 10).isEmpty());
+    }
+
+
+    /**
+     * Test that refreshing the catalog properties of an asset keeps the features found by analysing it, and that
+     * the signature of the two parts is the signature of the union of their features.
+     */
+    @Test
+    public void testCatalogRefreshKeepsDiscoveredFeatures()
+    {
+        AssetSimilarityIndex index = new AssetSimilarityIndex(100);
+
+        Set<String> allFeatures = getFeatures("catalog", 1, 20);
+
+        allFeatures.addAll(getFeatures("column", 1, 80));
+
+        int[] discoveredSignature = index.getSignature(getFeatures("column", 1, 80));
+
+        assertTrue(Arrays.equals(AssetSimilarityIndex.combineSignatures(index.getSignature(getFeatures("catalog", 1, 20)), discoveredSignature),
+                                 index.getSignature(allFeatures)));
+
+        Map<String, Long> discoveredPropertyValueHashes = new HashMap<>();
+
+        discoveredPropertyValueHashes.put("SchemaType::SchemaAttribute::displayName", ValueHash.hash("columns"));
+
+        index.put("asset",
+                  "asset-qn",
+                  index.getSignature(getFeatures("catalog", 1, 20)),
+                  new HashMap<>(),
+                  discoveredSignature,
+                  discoveredPropertyValueHashes);
+
+        /*
+         * An asset event changes the catalog properties.
+         */
+        index.putCatalogProperties("asset", "asset-qn", index.getSignature(getFeatures("changed", 1, 20)), new HashMap<>());
+
+        assertEquals(index.size(), 1);
+
+        Set<String> requestFeatures = getFeatures("changed", 1, 20);
+
+        requestFeatures.addAll(getFeatures("column", 1, 80));
+
+        List<AssetSimilarityIndex.SimilarAsset> similarAssets = index.findSimilarAssets("request",
+                                                                                        index.getSignature(requestFeatures),
+                                                                                        discoveredPropertyValueHashes,
+                                                                                        0.9,
+                                                                                        10);
+
+        assertEquals(similarAssets.size(), 1);
+        assertEquals(similarAssets.get(0).getMatchingPropertyNames().get(0), "SchemaType::SchemaAttribute::displayName");
+
+        /*
+         * An asset only known from its events has no discovered part.
+         */
+        index.putCatalogProperties("other", "other-qn", index.getSignature(getFeatures("other", 1, 20)), new HashMap<>());
+
+        assertEquals(index.findSimilarAssets("request", index.getSignature(getFeatures("other", 1, 20)), new HashMap<>(), 0.9, 10).size(), 1);
+    }
+
+
+    /**
+     * Test that the index drops the oldest asset when it is full and that refreshing an asset makes it the newest.
+     */
+    @Test
+    public void testSizeBound()
+    {
+        AssetSimilarityIndex index = new AssetSimilarityIndex(3);
+
+        int[] first  = index.getSignature(getFeatures("a", 1, 50));
+        int[] second = index.getSignature(getFeatures("b", 1, 50));
+        int[] third  = index.getSignature(getFeatures("c", 1, 50));
+        int[] fourth = index.getSignature(getFeatures("d", 1, 50));
+
+        index.put("first", "first-qn", first, new HashMap<>());
+        index.put("second", "second-qn", second, new HashMap<>());
+        index.put("third", "third-qn", third, new HashMap<>());
+        index.put("first", "first-qn", first, new HashMap<>());
+        index.put("fourth", "fourth-qn", fourth, new HashMap<>());
+
+        assertEquals(index.size(), 3);
+        assertTrue(index.findSimilarAssets("request", second, new HashMap<>(), 0.5, 10).isEmpty());
+        assertEquals(index.findSimilarAssets("request", first, new HashMap<>(), 0.5, 10).size(), 1);
+        assertEquals(index.findSimilarAssets("request", third, new HashMap<>(), 0.5, 10).size(), 1);
+        assertEquals(index.findSimilarAssets("request", fourth, new HashMap<>(), 0.5, 10).size(), 1);
+    }
+
+
+    /**
+     * Test that the results are limited and sorted with the most similar first.
+     */
+    @Test
+    public void testMaxResults()
+    {
+        AssetSimilarityIndex index = new AssetSimilarityIndex(100);
+
+        for (int i = 0; i < 5; i++)
+        {
+            index.put("asset" + i, "qn" + i, index.getSignature(getFeatures("f", 1 + i * 5, 100)), new HashMap<>());
+        }
+
+        List<AssetSimilarityIndex.SimilarAsset> similarAssets = index.findSimilarAssets("request",
+                                                                                        index.getSignature(getFeatures("f", 1, 100)),
+                                                                                        new HashMap<>(),
+                                                                                        0.5,
+                                                                                        3);
+
+        assertEquals(similarAssets.size(), 3);
+        assertTrue(similarAssets.get(0).getSimilarity() >= similarAssets.get(1).getSimilarity());
+        assertTrue(similarAssets.get(1).getSimilarity() >= similarAssets.get(2).getSimilarity());
+    }
+}
@@ -0,0 +1,283 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that ColumnProfile summarizes a column correctly and that merging the profiles of chunks gives the same
+ * result as profiling the column in one pass.
+ */
+public class ColumnProfileTest
+{
+    /**
+     * Build a profile from a list of values.
+     *
+     * @param values column values
+     * @param frequentValueLimit size of the frequent value summary
+     * @param seed sample seed
+     * @return profile
+     */
+    private ColumnProfile getProfile(List<String> values,
+                                     int          frequentValueLimit,
+                                     long         seed)
+    {
+        ColumnProfile profile = new ColumnProfile(frequentValueLimit, seed);
+
+        for (String value : values)
+        {
+            profile.addValue(value);
+        }
+
+        return profile;
+    }
+
+
+    /**
+     * Build a profile by splitting the values into chunks and merging the chunk profiles.
+     *
+     * @param values column values
+     * @param frequentValueLimit size of the frequent value summary
+     * @param chunkSize number of values in each chunk
+     * @return merged profile
+     */
+    private ColumnProfile getMergedProfile(List<String> values,
+                                           int          frequentValueLimit,
+                                           int          chunkSize)
+    {
+        ColumnProfile merged = new ColumnProfile(frequentValueLimit, 0);
+
+        for (int start = 0; start < values.size(); start = start + chunkSize)
+        {
+            merged.merge(getProfile(values.subList(start, Math.min(values.size(), start + chunkSize)), frequentValueLimit, start));
+        }
+
+        return merged;
+    }
+
+
+    /**
+     * Test the counts, lengths and ranges of a string column with nulls.
+     */
+    @Test
+    public void testStringColumn()
+    {
+        List<String> values = new ArrayList<>();
+
+        values.add("pear");
+        values.add("apple");
+        values.add(null);
+        values.add("");
+        values.add("fig");
+        values.add("apple");
+
+        ColumnProfile profile = getProfile(values, 10, 0);
+
+        assertEquals(profile.getValueCount(), 4);
+        assertEquals(profile.getNullCount(), 2);
+        assertEquals(profile.getTotalLength(), 17);
+        assertEquals(profile.getMinLength(), 3);
+        assertEquals(profile.getMaxLength(), 5);
+        assertEquals(profile.getInferredDataType(), ColumnProfile.STRING_TYPE_NAME);
+        assertEquals(profile.getValueRangeFrom(), "apple");
+        assertEquals(profile.getValueRangeTo(), "pear");
+        assertNull(profile.getAverageValue());
+        assertTrue(profile.isExact());
+        assertEquals(profile.getDistinctCount(), 3);
+
+        Map<String, Integer> frequentValues = profile.getFrequentValues();
+
+        assertEquals(frequentValues.keySet().iterator().next(), "apple");
+        assertEquals(frequentValues.get("apple"), Integer.valueOf(2));
+        assertEquals(frequentValues.get("fig"), Integer.valueOf(1));
+    }
+
+
+    /**
+     * Test the type inference and numeric statistics.
+     */
+    @Test
+    public void testTypeInference()
+    {
+        List<String> intValues = new ArrayList<>();
+
+        intValues.add("3");
+        intValues.add("-7");
+        intValues.add("10");
+
+        ColumnProfile intProfile = getProfile(intValues, 10, 0);
+
+        assertEquals(intProfile.getInferredDataType(), ColumnProfile.INT_TYPE_NAME);
+        assertEquals(intProfile.getValueRangeFrom(), "-7");
+        assertEquals(intProfile.getValueRangeTo(), "10");
+        assertEquals(intProfile.getAverageValue(), "2.0");
+
+        List<String> longValues = new ArrayList<>(intValues);
+
+        longValues.add("5000000000");
+
+        assertEquals(getProfile(longValues, 10, 0).getInferredDataType(), ColumnProfile.LONG_TYPE_NAME);
+
+        List<String> floatValues = new ArrayList<>(intValues);
+
+        floatValues.add("2.5");
+
+        assertEquals(getProfile(floatValues, 10, 0).getInferredDataType(), ColumnProfile.FLOAT_TYPE_NAME);
+
+        List<String> notFloatValues = new ArrayList<>(floatValues);
+
+        notFloatValues.add("NaN");
+
+        assertEquals(getProfile(notFloatValues, 10, 0).getInferredDataType(), ColumnProfile.STRING_TYPE_NAME);
+
+        List<String> booleanValues = new ArrayList<>();
+
+        booleanValues.add("true");
+        booleanValues.add("FALSE");
+
+        assertEquals(getProfile(booleanValues, 10, 0).getInferredDataType(), ColumnProfile.BOOLEAN_TYPE_NAME);
+
+        List<String> dateValues = new ArrayList<>();
+
+        dateValues.add("2021-02-28");
+        dateValues.add("2020-02-29");
+
+        assertEquals(getProfile(dateValues, 10, 0).getInferredDataType(), ColumnProfile.DATE_TYPE_NAME);
+
+        dateValues.add("2021-02-29");
+
+        assertEquals(getProfile(dateValues, 10, 0).getInferredDataType(), ColumnProfile.STRING_TYPE_NAME);
+
+        assertNull(getProfile(new ArrayList<>(), 10, 0).getInferredDataType());
+    }
+
+
+    /**
+     * Test that merging chunk profiles matches a single pass while the values fit in the summary.
+     */
+    @Test
+    public void testMergeMatchesSinglePass()
+    {
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            values.add((i % 7 == 0) ? null : Integer.toString(i % 50));
+        }
+
+        ColumnProfile single = getProfile(values, 100, 0);
+        ColumnProfile merged = getMergedProfile(values, 100, 64);
+
+        assertEquals(merged.getValueCount(), single.getValueCount());
+        assertEquals(merged.getNullCount(), single.getNullCount());
+        assertEquals(merged.getTotalLength(), single.getTotalLength());
+        assertEquals(merged.getMinLength(), single.getMinLength());
+        assertEquals(merged.getMaxLength(), single.getMaxLength());
+        assertEquals(merged.getInferredDataType(), single.getInferredDataType());
+        assertEquals(merged.getValueRangeFrom(), single.getValueRangeFrom());
+        assertEquals(merged.getValueRangeTo(), single.getValueRangeTo());
+        assertEquals(merged.getAverageValue(), single.getAverageValue());
+        assertTrue(merged.isExact());
+        assertEquals(merged.getDistinctCount(), 50);
+        assertEquals(merged.getFrequentValues(), single.getFrequentValues());
+    }
+
+
+    /**
+     * Test that the frequent value summary keeps the heavy values when it overflows and reports that it is
+     * no longer exact.
+     */
+    @Test
+    public void testFrequentValuesOverflow()
+    {
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++)
+        {
+            values.add((i % 2 == 0) ? "common" : "rare" + i);
+        }
+
+        ColumnProfile single = getProfile(values, 10, 0);
+        ColumnProfile merged = getMergedProfile(values, 10, 500);
+
+        for (ColumnProfile profile : new ColumnProfile[]{ single, merged })
+        {
+            Map<String, Integer> frequentValues = profile.getFrequentValues();
+
+            assertFalse(profile.isExact());
+            assertTrue(frequentValues.size() <= 10);
+            assertEquals(frequentValues.keySet().iterator().next(), "common");
+
+            /*
+             * Misra-Gries counts are lower bounds that are at most n / (k + 1) below the true count.
+             */
+            assertTrue(frequentValues.get("common") <= 2500);
+            assertTrue(frequentValues.get("common") >= 2500 - 5000 / 11);
+        }
+    }
+
+
+    /**
+     * Test that the HyperLogLog estimate is within a few standard errors of the true distinct count, for a
+     * single pass and for merged chunks, and that duplicates do not change it.
+     */
+    @Test
+    public void testDistinctCountEstimate()
+    {
+        final int distinctValues = 100000;
+
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < distinctValues; i++)
+        {
+            values.add("value-" + i);
+        }
+
+        ColumnProfile single = getProfile(values, 100, 0);
+        ColumnProfile merged = getMergedProfile(values, 100, 7919);
+
+        assertFalse(single.isExact());
+        assertEquals(merged.getDistinctCount(), single.getDistinctCount());
+        assertTrue(Math.abs(single.getDistinctCount() - distinctValues) < distinctValues * 0.05,
+                   "Estimate " + single.getDistinctCount());
+
+        values.addAll(values);
+
+        assertEquals(getMergedProfile(values, 100, 7919).getDistinctCount(), single.getDistinctCount());
+    }
+
+
+    /**
+     * Test that the quantiles of the merged sample are close to the true quantiles.
+     */
+    @Test
+    public void testQuantiles()
+    {
+        List<String> values = new ArrayList<>();
+
+        for (int i = 1; i <= 20000; i++)
+        {
+            values.add(Integer.toString(i));
+        }
+
+        ColumnProfile merged = getMergedProfile(values, 10, 1000);
+
+        List<String> quantiles = merged.getQuantiles(0.0, 0.5, 1.0);
+
+        assertEquals(quantiles.size(), 3);
+        assertTrue(Integer.parseInt(quantiles.get(0)) <= Integer.parseInt(quantiles.get(1)));
+        assertTrue(Integer.parseInt(quantiles.get(1)) <= Integer.parseInt(quantiles.get(2)));
+        assertTrue(Math.abs(Integer.parseInt(quantiles.get(1)) - 10000) < 1500, "Median " + quantiles.get(1));
+
+        assertNull(new ColumnProfile(10, 0).getQuantiles(0.5));
+    }
+}
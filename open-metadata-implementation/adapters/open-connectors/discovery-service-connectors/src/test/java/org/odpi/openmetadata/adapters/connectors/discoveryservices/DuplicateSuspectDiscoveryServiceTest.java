@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.mockito.ArgumentCaptor;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEventType;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.NewAssetEvent;
+import org.odpi.openmetadata.frameworks.connectors.properties.AssetUniverse;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryAssetCatalogStore;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryAssetStore;
+import org.odpi.openmetadata.frameworks.discovery.DiscoveryContext;
+import org.odpi.openmetadata.frameworks.discovery.properties.Annotation;
+import org.odpi.openmetadata.frameworks.discovery.properties.SuspectDuplicateAnnotation;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that DuplicateSuspectDiscoveryService reports exact matches from the catalog searches and near-duplicates
+ * from the similarity index that the service instances share.  Like the discovery engine, the tests create a new
+ * instance of the service for each request.
+ */
+public class DuplicateSuspectDiscoveryServiceTest
+{
+    private static final String description = "Accounts held by each customer of the retail business";
+
+    private DiscoveryAssetCatalogStore assetCatalogStore = null;
+    private String                     connectionName    = null;
+
+
+    /**
+     * Each test starts with an empty catalog and a connection of its own, so it starts with an empty
+     * similarity index.
+     */
+    @BeforeMethod
+    public void setUpCatalog()
+    {
+        assetCatalogStore = mock(DiscoveryAssetCatalogStore.class);
+        connectionName    = "DuplicateSuspectDiscoveryServiceTest:" + UUID.randomUUID().toString();
+    }
+
+
+    /**
+     * Return a new discovery service that has been initialized with the connection of the test.
+     *
+     * @return discovery service
+     */
+    private DuplicateSuspectDiscoveryService getDiscoveryService()
+    {
+        return getDiscoveryService(connectionName);
+    }
+
+
+    /**
+     * Return a new discovery service that has been initialized with a connection.
+     *
+     * @param qualifiedName qualified name of the connection
+     * @return discovery service
+     */
+    private DuplicateSuspectDiscoveryService getDiscoveryService(String qualifiedName)
+    {
+        DuplicateSuspectDiscoveryService discoveryService = new DuplicateSuspectDiscoveryService();
+        Connection                       connection       = new Connection();
+
+        connection.setQualifiedName(qualifiedName);
+        discoveryService.initialize("test", new ConnectionProperties(connection));
+
+        return discoveryService;
+    }
+
+
+    /**
+     * Run the discovery service against an asset and return the annotations it produced.
+     *
+     * @param discoveryService service to run
+     * @param assetGUID unique identifier of the asset
+     * @param qualifiedName unique name of the asset
+     * @param displayName display name of the asset
+     * @return annotations
+     * @throws Exception problem running the service
+     */
+    private List<Annotation> runDiscoveryService(DuplicateSuspectDiscoveryService discoveryService,
+                                                 String                           assetGUID,
+                                                 String                           qualifiedName,
+                                                 String                           displayName) throws Exception
+    {
+        AssetUniverse            asset           = mock(AssetUniverse.class);
+        DiscoveryAssetStore      assetStore      = mock(DiscoveryAssetStore.class);
+        DiscoveryAnnotationStore annotationStore = mock(DiscoveryAnnotationStore.class);
+        DiscoveryContext         context         = mock(DiscoveryContext.class);
+
+        when(asset.getQualifiedName()).thenReturn(qualifiedName);
+        when(asset.getDisplayName()).thenReturn(displayName);
+        when(asset.getDescription()).thenReturn(description);
+        when(assetStore.getAssetProperties()).thenReturn(asset);
+        when(context.getAssetGUID()).thenReturn(assetGUID);
+        when(context.getAssetStore()).thenReturn(assetStore);
+        when(context.getAssetCatalogStore()).thenReturn(assetCatalogStore);
+        when(context.getAnnotationStore()).thenReturn(annotationStore);
+
+        discoveryService.setDiscoveryContext(context);
+        discoveryService.start();
+
+        ArgumentCaptor<Annotation> annotations = ArgumentCaptor.forClass(Annotation.class);
+
+        verify(annotationStore, times(1)).addAnnotationToDiscoveryReport(annotations.capture());
+
+        return annotations.getAllValues();
+    }
+
+
+    /**
+     * Test that an asset with the same display name is reported from the exact search with full confidence.
+     *
+     * @throws Exception problem running the service
+     */
+    @Test
+    public void testExactDisplayNameMatch() throws Exception
+    {
+        when(assetCatalogStore.getAssetsByName(eq("Customer Accounts"), anyInt(), anyInt())).thenReturn(Collections.singletonList("other-asset"));
+
+        List<Annotation> annotations = runDiscoveryService(getDiscoveryService(), "asset", "Database::sales::customer_accounts", "Customer Accounts");
+
+        SuspectDuplicateAnnotation annotation = (SuspectDuplicateAnnotation)annotations.get(0);
+
+        assertEquals(annotation.getDuplicateAnchorGUIDs(), Collections.singletonList("other-asset"));
+        assertEquals(annotation.getMatchingPropertyNames(), Collections.singletonList("displayName"));
+        assertEquals(annotation.getConfidenceLevel(), 100);
+    }
+
+
+    /**
+     * Test that a near-duplicate analysed by an earlier instance is reported from the shared similarity index and
+     * that an instance with another connection does not share the index.
+     *
+     * @throws Exception problem running the service
+     */
+    @Test
+    public void testNearDuplicateFromSharedIndex() throws Exception
+    {
+        final String firstQualifiedName = "Database::sales::customer_accounts";
+
+        when(assetCatalogStore.getAssetsByQualifiedName(anyString(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+        when(assetCatalogStore.getAssetsByQualifiedName(eq(firstQualifiedName), anyInt(), anyInt())).thenReturn(Collections.singletonList("first-asset"));
+
+        List<Annotation> annotations = runDiscoveryService(getDiscoveryService(), "first-asset", firstQualifiedName, "customer accounts");
+
+        assertEquals(annotations.get(0).getAnnotationType(), "Unique Asset");
+
+        annotations = runDiscoveryService(getDiscoveryService(), "second-asset", "Database::sales::customer_accounts_2", "customer accounts 2");
+
+        SuspectDuplicateAnnotation annotation = (SuspectDuplicateAnnotation)annotations.get(0);
+
+        assertEquals(annotation.getDuplicateAnchorGUIDs(), Collections.singletonList("first-asset"));
+        assertTrue(annotation.getMatchingPropertyNames().contains("description"));
+        assertTrue((annotation.getConfidenceLevel() >= 50) && (annotation.getConfidenceLevel() < 100),
+                   "Confidence " + annotation.getConfidenceLevel());
+
+        annotations = runDiscoveryService(getDiscoveryService(connectionName + ":other"),
+                                          "second-asset",
+                                          "Database::sales::customer_accounts_2",
+                                          "customer accounts 2");
+
+        assertEquals(annotations.get(0).getAnnotationType(), "Unique Asset");
+    }
+
+
+    /**
+     * Test that an asset from an asset event is reported as a near-duplicate of an asset analysed afterwards.
+     *
+     * @throws Exception problem running the service
+     */
+    @Test
+    public void testNearDuplicateFromAssetEvent() throws Exception
+    {
+        final String catalogQualifiedName = "Database::sales::customer_accounts";
+
+        when(assetCatalogStore.getAssetsByQualifiedName(anyString(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+        when(assetCatalogStore.getAssetsByQualifiedName(eq(catalogQualifiedName), anyInt(), anyInt())).thenReturn(Collections.singletonList("catalog-asset"));
+
+        Asset         asset = new Asset();
+        NewAssetEvent event = new NewAssetEvent();
+
+        asset.setGUID("catalog-asset");
+        asset.setQualifiedName(catalogQualifiedName);
+        asset.setDisplayName("customer accounts");
+        asset.setDescription(description);
+        event.setEventType(AssetConsumerEventType.NEW_ASSET_EVENT);
+        event.setAsset(asset);
+
+        AssetSimilarityIndex similarityIndex = DuplicateSuspectDiscoveryProvider.getSimilarityIndex(connectionName, 100);
+
+        new AssetSimilarityIndexListener(similarityIndex).processEvent(event);
+
+        assertEquals(similarityIndex.size(), 1);
+
+        List<Annotation> annotations = runDiscoveryService(getDiscoveryService(), "new-asset", "Database::sales::customer_accounts_2", "customer accounts 2");
+
+        SuspectDuplicateAnnotation annotation = (SuspectDuplicateAnnotation)annotations.get(0);
+
+        assertEquals(annotation.getDuplicateAnchorGUIDs(), Collections.singletonList("catalog-asset"));
+        assertTrue(annotation.getMatchingPropertyNames().contains("description"));
+        assertEquals(similarityIndex.size(), 2);
+    }
+}
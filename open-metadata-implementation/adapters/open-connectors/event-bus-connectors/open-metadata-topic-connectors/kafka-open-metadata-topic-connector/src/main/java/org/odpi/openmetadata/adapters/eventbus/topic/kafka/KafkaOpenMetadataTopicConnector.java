@@ -442,6 +442,16 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     	return incomingEventsList.size();
     }
 
+    /**
+     * Return the number of events received from Kafka that are waiting to be passed to the listeners.
+     *
+     * @return int
+     */
+    @Override
+    protected int getQueuedEventCount() {
+        return getNumberOfUnprocessedEvents();
+    }
+
     private class KafkaStatusChecker {
 
         //instantiate empty objects to avoid if null checks
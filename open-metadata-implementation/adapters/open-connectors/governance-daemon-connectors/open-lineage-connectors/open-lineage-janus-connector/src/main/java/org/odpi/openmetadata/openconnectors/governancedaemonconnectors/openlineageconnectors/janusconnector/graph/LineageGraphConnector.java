@@ -19,6 +19,8 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.graph.LineageGraphConnectorBase;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageGraphJobStatistics;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryCacheStatistics;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
@@ -31,12 +33,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -90,6 +97,7 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PREFIX_ELEMENT;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PREFIX_INSTANCE_PROPERTY;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_NAME_PORT_TYPE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.VARIABLE_NAME_ASSET_LINEAGE_LAST_UPDATE_TIME;
@@ -132,10 +140,27 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
     public static final String THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR = "The Lineage graph could not be initialized due to an error";
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS = "Something went wrong when trying to map a process.";
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS = SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS + " The error is: ";
+    public static final String LINEAGE_GRAPH_JOB_BATCH_SIZE = "lineageGraphJobBatchSize";
+    public static final String LINEAGE_GRAPH_JOB_ALREADY_RUNNING = "The lineage graph job is still running from the previous trigger, skipping this run";
+    public static final String LINEAGE_GRAPH_JOB_FINISHED = "The lineage graph job processed {} changed processes in {} batches and {} ms; {} failed and {} are waiting";
+    public static final String UNABLE_TO_MAP_PROCESS_WITH_GUID = "Unable to map the process with guid {}, it will be retried by the next run";
+    public static final String UNABLE_TO_MARK_PROCESSES_CHANGED = "Unable to mark the processes related to the entity with guid ";
+    public static final String LINEAGE_QUERY_CACHE_SIZE = "lineageQueryCacheSize";
+    public static final String LINEAGE_QUERY_CACHE_TIME_TO_LIVE = "lineageQueryCacheTimeToLive";
+    public static final String INVALID_CONFIGURATION_PROPERTY = "Invalid value for {}, using the default";
+    private static final int DEFAULT_LINEAGE_GRAPH_JOB_BATCH_SIZE = 500;
+    private static final int DEFAULT_LINEAGE_QUERY_CACHE_SIZE = 64;
+    private static final int DEFAULT_LINEAGE_QUERY_CACHE_TIME_TO_LIVE = 600;
+    private static final int MAX_NEIGHBOURS_TO_INVALIDATE = 1000;
     private LineageGraphConnectorHelper helper;
     private GraphTraversalSource g;
     private GraphFactory graphFactory;
     private AuditLog auditLog;
+    private int jobBatchSize = DEFAULT_LINEAGE_GRAPH_JOB_BATCH_SIZE;
+    private boolean unmarkedProcessesChecked = false;
+    private final AtomicBoolean lineageGraphJobRunning = new AtomicBoolean(false);
+    private final LineageGraphJobStatistics lineageGraphJobStatistics = new LineageGraphJobStatistics();
+    private LineageQueryCache lineageQueryCache = new LineageQueryCache(0, 0);
 
     /**
      * Instantiates the graph based on the configuration passed.
@@ -155,6 +180,10 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             }
 
             this.helper = new LineageGraphConnectorHelper(g, graphFactory.isSupportingTransactions());
+            this.jobBatchSize = Math.max(1, getConfigurationProperty(LINEAGE_GRAPH_JOB_BATCH_SIZE, DEFAULT_LINEAGE_GRAPH_JOB_BATCH_SIZE));
+            this.lineageQueryCache = new LineageQueryCache(
+                    getConfigurationProperty(LINEAGE_QUERY_CACHE_SIZE, DEFAULT_LINEAGE_QUERY_CACHE_SIZE) * 1024L * 1024L,
+                    getConfigurationProperty(LINEAGE_QUERY_CACHE_TIME_TO_LIVE, DEFAULT_LINEAGE_QUERY_CACHE_TIME_TO_LIVE) * 1000L);
 
         } catch (JanusConnectorException error) {
             log.error(THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR, error);
@@ -175,25 +204,247 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         }
     }
 
+    /**
+     * Maps the processes that have changed since the last run. The write operations mark the processes they affect
+     * by setting the lineage completed flag to false. The processes are claimed and mapped in batches, so each batch
+     * is committed separately and the cost of a run depends on the amount of change rather than the size of the graph.
+     */
     @Override
     public void performLineageGraphJob() {
+        if (!lineageGraphJobRunning.compareAndSet(false, true)) {
+            log.debug(LINEAGE_GRAPH_JOB_ALREADY_RUNNING);
+            return;
+        }
+
+        Date startTime = new Date();
+        long processedCount = 0;
+        long failedCount = 0;
+        long batchCount = 0;
         try {
-            //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
+            if (!unmarkedProcessesChecked) {
+                batchCount += markUnmarkedProcesses();
+                unmarkedProcessesChecked = true;
+            }
 
-            List<String> guidList = vertices.stream()
-                    .map(v -> g.V(v.id()).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString())
-                    .collect(Collectors.toList());
+            /*
+             * Only the processes that are waiting at the start are processed by this run so a process that keeps
+             * failing, or a steady stream of changes, can not keep the job running.
+             */
+            long changedProcessCount = countChangedProcesses();
+            while (processedCount + failedCount < changedProcessCount) {
+                List<Object> processIds = g.V().has(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false)
+                        .has(PROPERTY_KEY_LABEL, PROCESS).limit(jobBatchSize).id().toList();
+                if (processIds.isEmpty()) {
+                    break;
+                }
 
-            guidList.forEach(
-                    guid -> findInputColumns(g, guid)
-            );
-            commitTransaction(g);
+                /*
+                 * The batch is claimed before it is mapped. A change made while a process is mapped marks it again
+                 * so that it is picked up by the next run.
+                 */
+                g.V(processIds.toArray()).property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, true).iterate();
+                commitTransaction(g);
+                batchCount++;
+
+                for (Object processId : processIds) {
+                    if (mapProcess(processId)) {
+                        processedCount++;
+                    } else {
+                        failedCount++;
+                    }
+                }
+            }
         } catch (Exception e) {
             log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e);
             auditLog.logException(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS, PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
             rollbackTransaction(g);
+        } finally {
+            recordLineageGraphJobRun(startTime, processedCount, failedCount, batchCount);
+            lineageGraphJobRunning.set(false);
+        }
+    }
+
+    @Override
+    public LineageGraphJobStatistics getLineageGraphJobStatistics() {
+        synchronized (lineageGraphJobStatistics) {
+            return new LineageGraphJobStatistics(lineageGraphJobStatistics);
+        }
+    }
+
+    /**
+     * Returns the traversal source of the lineage graph, so the tests can arrange and inspect its content.
+     *
+     * @return the graph traversal source
+     */
+    GraphTraversalSource getGraphTraversalSource() {
+        return g;
+    }
+
+    /**
+     * Maps a single process that has been claimed by the lineage graph job. If the mapping fails, the process
+     * is marked as changed again so it is retried by the next run.
+     *
+     * @param processId - the id of the process vertex
+     * @return true if the process was mapped
+     */
+    private boolean mapProcess(Object processId) {
+        String guid = null;
+        try {
+            guid = g.V(processId).elementMap(PROPERTY_KEY_ENTITY_GUID).toList().get(0).get(PROPERTY_KEY_ENTITY_GUID).toString();
+            findInputColumns(g, guid);
+            commitTransaction(g);
+            return true;
+        } catch (Exception e) {
+            log.error(UNABLE_TO_MAP_PROCESS_WITH_GUID, guid, e);
+            rollbackTransaction(g);
+            Consumer<Object> markProcess = id -> g.V(id).property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false).iterate();
+            commit(graphFactory, g, markProcess, processId, UNABLE_TO_MARK_PROCESSES_CHANGED + guid);
+            return false;
+        }
+    }
+
+    /**
+     * Marks the processes that do not have the lineage completed flag as changed. These are the processes stored
+     * before the flag was introduced. It runs once after the connector starts and only touches unmarked processes.
+     *
+     * @return the number of batches committed
+     */
+    private long markUnmarkedProcesses() {
+        long batchCount = 0;
+        List<Object> processIds = g.V().has(PROPERTY_KEY_LABEL, PROCESS).hasNot(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG)
+                .limit(jobBatchSize).id().toList();
+        while (!processIds.isEmpty()) {
+            g.V(processIds.toArray()).property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false).iterate();
+            commitTransaction(g);
+            batchCount++;
+            processIds = g.V().has(PROPERTY_KEY_LABEL, PROCESS).hasNot(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG)
+                    .limit(jobBatchSize).id().toList();
+        }
+        return batchCount;
+    }
+
+    /**
+     * Returns the number of processes waiting for the lineage graph job.
+     *
+     * @return number of changed processes
+     */
+    private long countChangedProcesses() {
+        long count = g.V().has(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false).has(PROPERTY_KEY_LABEL, PROCESS).count().next();
+        commitTransaction(g);
+        return count;
+    }
+
+    /**
+     * Updates the statistics at the end of a run of the lineage graph job.
+     *
+     * @param startTime      - the time the run started
+     * @param processedCount - the number of processes mapped
+     * @param failedCount    - the number of processes that failed
+     * @param batchCount     - the number of batches committed
+     */
+    private void recordLineageGraphJobRun(Date startTime, long processedCount, long failedCount, long batchCount) {
+        long duration = System.currentTimeMillis() - startTime.getTime();
+        long remainingCount = 0;
+        try {
+            remainingCount = countChangedProcesses();
+        } catch (Exception e) {
+            rollbackTransaction(g);
+        }
+
+        synchronized (lineageGraphJobStatistics) {
+            lineageGraphJobStatistics.setRunCount(lineageGraphJobStatistics.getRunCount() + 1);
+            lineageGraphJobStatistics.setLastRunStartTime(startTime);
+            lineageGraphJobStatistics.setLastRunDuration(duration);
+            lineageGraphJobStatistics.setLastRunProcessedCount(processedCount);
+            lineageGraphJobStatistics.setLastRunFailedCount(failedCount);
+            lineageGraphJobStatistics.setLastRunBatchCount(batchCount);
+            lineageGraphJobStatistics.setRemainingCount(remainingCount);
+            lineageGraphJobStatistics.setTotalProcessedCount(lineageGraphJobStatistics.getTotalProcessedCount() + processedCount);
+        }
+
+        log.debug(LINEAGE_GRAPH_JOB_FINISHED, processedCount, batchCount, duration, failedCount, remainingCount);
+    }
+
+    /**
+     * Marks the processes whose lineage depends on an entity as changed, so they are mapped again by the lineage
+     * graph job. These are the process itself, or the processes reached from a column through its schema and ports,
+     * including the processes of the columns linked to it by lineage mappings.
+     *
+     * @param guid - the unique identifier of the entity that changed
+     */
+    private void markProcessesAsChanged(String guid) {
+        if (guid == null) {
+            return;
+        }
+
+        Consumer<String> markProcesses = entityGUID -> g.V().has(PROPERTY_KEY_ENTITY_GUID, entityGUID)
+                .union(__.identity(), __.both(LINEAGE_MAPPING))
+                .emit().repeat(__.in(ATTRIBUTE_FOR_SCHEMA, PORT_SCHEMA, PORT_DELEGATION, PROCESS_PORT)).times(4)
+                .has(PROPERTY_KEY_LABEL, PROCESS).dedup()
+                .property(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false).iterate();
+
+        commit(graphFactory, g, markProcesses, guid, UNABLE_TO_MARK_PROCESSES_CHANGED + guid);
+    }
+
+    /**
+     * Removes the cached lineage responses that touched the entities, or their direct neighbours. A neighbour can be
+     * in a cached response when the entity is not, for example a column whose table was renamed. If an entity has
+     * too many neighbours, the whole cache is cleared rather than walking them all. The generation of the cache is
+     * always advanced, even when it is empty, so a query that read the graph before the change does not cache its result.
+     *
+     * @param guids - the unique identifiers of the entities that changed
+     */
+    private void invalidateLineageQueries(String... guids) {
+        if (lineageQueryCache.isEmpty()) {
+            lineageQueryCache.invalidateAll();
+            return;
+        }
+
+        Set<String> invalidatedGUIDs = new HashSet<>();
+        try {
+            for (String guid : guids) {
+                if (guid == null) {
+                    continue;
+                }
+                invalidatedGUIDs.add(guid);
+                List<Object> neighbourGUIDs = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).both()
+                        .values(PROPERTY_KEY_ENTITY_GUID, PROPERTY_KEY_PROCESS_GUID).limit(MAX_NEIGHBOURS_TO_INVALIDATE + 1L).toList();
+                if (neighbourGUIDs.size() > MAX_NEIGHBOURS_TO_INVALIDATE) {
+                    commitTransaction(g);
+                    lineageQueryCache.invalidateAll();
+                    return;
+                }
+                neighbourGUIDs.forEach(neighbourGUID -> invalidatedGUIDs.add(neighbourGUID.toString()));
+            }
+            commitTransaction(g);
+        } catch (Exception e) {
+            rollbackTransaction(g);
+            lineageQueryCache.invalidateAll();
+            return;
         }
+        lineageQueryCache.invalidate(invalidatedGUIDs);
+    }
+
+    /**
+     * Reads a positive integer from the configuration properties of the connection.
+     *
+     * @param propertyName - the name of the configuration property
+     * @param defaultValue - the value to use if the property is not set or not valid
+     * @return the value
+     */
+    private int getConfigurationProperty(String propertyName, int defaultValue) {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties != null && configurationProperties.get(propertyName) != null) {
+            try {
+                int value = Integer.parseInt(configurationProperties.get(propertyName).toString());
+                if (value >= 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                log.debug(INVALID_CONFIGURATION_PROPERTY, propertyName);
+            }
+        }
+        return defaultValue;
     }
 
     @Override
@@ -231,7 +482,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
     }
 
     /**
-     * Finds the paths to the input columns from all the processes in the graph.
+     * Finds the paths to the input columns of a process.
      *
      * @param g    - Graph traversal object
      * @param guid - The unique identifier of a Process
@@ -352,6 +603,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
 
             addAssetToProcessEdges(columnIn, columnOut, process);
 
+            invalidateLineageQueries(columnInGuid, columnOutGuid, processGuid);
+
             log.info(OLS_HAS_CORRESPONDING_ELEMENTS, columnInGuid, columnOutGuid, processGuid);
         }
     }
@@ -364,11 +617,13 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
      * @param process   - The vertex of the process.
      */
     private void addAssetToProcessEdges(Vertex columnIn, Vertex columnOut, Vertex process) {
+        List<String> changedAssetGUIDs = new ArrayList<>();
         Optional<Vertex> assetIn = getAsset(columnIn);
         if (assetIn.isPresent()) {
             Iterator<Vertex> tableVertex = g.V(assetIn.get().id()).outE(EDGE_LABEL_TABLE_DATA_FLOW).inV().hasId(process.id());
             if (!tableVertex.hasNext()) {
                 g.V(assetIn.get().id()).addE(EDGE_LABEL_TABLE_DATA_FLOW).to(g.V(process.id())).next();
+                changedAssetGUIDs.add(getGuid(assetIn.get()));
             }
         }
 
@@ -377,10 +632,12 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             Iterator<Vertex> tableVertex = g.V(assetOut.get().id()).inE(EDGE_LABEL_TABLE_DATA_FLOW).outV().hasId(process.id());
             if (!tableVertex.hasNext()) {
                 g.V(process.id()).addE(EDGE_LABEL_TABLE_DATA_FLOW).to(g.V(assetOut.get().id())).next();
+                changedAssetGUIDs.add(getGuid(assetOut.get()));
             }
         }
 
         commitTransaction(g);
+        invalidateLineageQueries(changedAssetGUIDs.toArray(new String[0]));
     }
 
     /**
@@ -447,6 +704,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         List<String> existingNeighboursGUIDs = getAllNeighbours(nodeGUID);
         if (isDifferentGraphContext(neighboursGUIDS, existingNeighboursGUIDs)) {
             removeObsoleteEdges(nodeGUID, neighboursGUIDS, existingNeighboursGUIDs);
+            markProcessesAsChanged(nodeGUID);
+            invalidateLineageQueries(nodeGUID);
         }
     }
 
@@ -517,6 +776,10 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 UNABLE_TO_ADD_PROPERTIES + fromEntity.getTypeDefName() + AND_GUID + fromEntity.getGuid());
         commit(graphFactory, g, addOrUpdatePropertiesVertexConsumer, to, toEntity,
                 UNABLE_TO_ADD_PROPERTIES + toEntity.getTypeDefName() + AND_GUID + toEntity.getGuid());
+
+        markProcessesAsChanged(fromEntity.getGuid());
+        markProcessesAsChanged(toEntity.getGuid());
+        invalidateLineageQueries(fromEntity.getGuid(), toEntity.getGuid());
     }
 
     /**
@@ -573,7 +836,10 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         } catch (Exception e) {
             log.error(PROPERTIES_UPDATE_EXCEPTION, e);
             rollbackTransaction(g);
+            return;
         }
+        markProcessesAsChanged(lineageEntity.getGuid());
+        invalidateLineageQueries(lineageEntity.getGuid());
     }
 
     /**
@@ -617,7 +883,16 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         } catch (Exception e) {
             log.debug(PROPERTIES_UPDATE_EXCEPTION, e);
             rollbackTransaction(g);
+            return;
+        }
+        if (lineageRelationship.getSourceEntity() != null) {
+            markProcessesAsChanged(lineageRelationship.getSourceEntity().getGuid());
         }
+        if (lineageRelationship.getTargetEntity() != null) {
+            markProcessesAsChanged(lineageRelationship.getTargetEntity().getGuid());
+        }
+        invalidateLineageQueries(g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, lineageRelationship.getGuid()).bothV()
+                .values(PROPERTY_KEY_ENTITY_GUID).toList().stream().map(Object::toString).toArray(String[]::new));
     }
 
     /**
@@ -642,6 +917,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             if (storedClassificationVersion < graphContext.getToVertex().getVersion()) {
                 addOrUpdatePropertiesVertex(storedClassification, graphContext.getToVertex());
                 commitTransaction(g);
+                invalidateLineageQueries(classificationGuid);
                 break;
             }
         }
@@ -671,6 +947,7 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                         g.V().has(PROPERTY_KEY_ENTITY_GUID, storedClassificationGuid).drop().iterate();
                         g.E(edge.id()).drop().iterate();
                         commitTransaction(g);
+                        invalidateLineageQueries(context.getFromVertex().getGuid(), storedClassificationGuid);
                         break;
                     } catch (Exception e) {
                         log.debug(DELETE_CLASSIFICATION_EXCEPTION, e);
@@ -696,6 +973,8 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
 
+        markProcessesAsChanged(guid);
+        invalidateLineageQueries(guid);
         g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).drop().iterate();
         commitTransaction(g);
         log.debug(VERTEX_WITH_GUID_DELETED, guid);
@@ -710,9 +989,13 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return;
         }
 
-        g.E(edge.next().id()).drop().iterate();
+        Edge edgeToDelete = edge.next();
+        List<Object> endGUIDs = g.E(edgeToDelete.id()).bothV().values(PROPERTY_KEY_ENTITY_GUID).toList();
+        g.E(edgeToDelete.id()).drop().iterate();
         commitTransaction(g);
         log.debug(EDGE_WITH_GUID_DELETED, guid);
+        endGUIDs.forEach(endGUID -> markProcessesAsChanged(endGUID.toString()));
+        invalidateLineageQueries(endGUIDs.stream().map(Object::toString).toArray(String[]::new));
     }
 
     /**
@@ -819,7 +1102,30 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
             return new LineageResponse();
         }
 
+        Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = lineageQueryCache.get(guid, scope, includeProcesses);
+        if (lineageVerticesAndEdges.isEmpty()) {
+            lineageVerticesAndEdges = queryLineage(scope, guid, includeProcesses);
+        }
+
+        if (lineageVerticesAndEdges.isPresent() && !displayNameMustContain.isEmpty()) {
+            helper.filterDisplayName(lineageVerticesAndEdges.get(), displayNameMustContain);
+        }
+
+        return new LineageResponse(lineageVerticesAndEdges.orElse(null));
+    }
+
+    /**
+     * Runs the lineage query against the graph and caches the response with the guids of the vertices it touched.
+     *
+     * @param scope            - the scope of the query
+     * @param guid             - the queried guid
+     * @param includeProcesses - include processes
+     * @return the lineage, if the queried vertex has any
+     */
+    private Optional<LineageVerticesAndEdges> queryLineage(Scope scope, String guid, boolean includeProcesses) {
+        long generation = lineageQueryCache.getGeneration();
         Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = Optional.empty();
+        Optional<Set<String>> touchedGUIDs = Optional.of(new HashSet<>(Collections.singleton(guid)));
 
         switch (scope) {
             case END_TO_END:
@@ -835,11 +1141,20 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
                 lineageVerticesAndEdges = helper.verticalLineage(guid);
                 break;
         }
-        if (lineageVerticesAndEdges.isPresent() && !displayNameMustContain.isEmpty()) {
-            helper.filterDisplayName(lineageVerticesAndEdges.get(), displayNameMustContain);
-        }
 
-        return new LineageResponse(lineageVerticesAndEdges.orElse(null));
+        if (lineageVerticesAndEdges.isPresent() && lineageQueryCache.isEnabled()) {
+            if (scope != Scope.VERTICAL) {
+                touchedGUIDs = helper.getHorizontalLineageGUIDs(guid, scope != Scope.ULTIMATE_DESTINATION, scope != Scope.ULTIMATE_SOURCE);
+            }
+            if (touchedGUIDs.isPresent()) {
+                Set<LineageVertex> lineageVertices = lineageVerticesAndEdges.get().getLineageVertices();
+                if (lineageVertices != null) {
+                    lineageVertices.stream().map(LineageVertex::getGuid).filter(Objects::nonNull).forEach(touchedGUIDs.get()::add);
+                }
+                lineageQueryCache.put(guid, scope, includeProcesses, generation, lineageVerticesAndEdges.get(), touchedGUIDs.get());
+            }
+        }
+        return lineageVerticesAndEdges;
     }
 
     /**
@@ -852,6 +1167,14 @@ public class LineageGraphConnector extends LineageGraphConnectorBase {
         return new LineageVertexResponse(lineageVertex);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LineageQueryCacheStatistics getLineageQueryCacheStatistics() {
+        return lineageQueryCache.getStatistics();
+    }
+
     /**
      * {@inheritDoc}
      */
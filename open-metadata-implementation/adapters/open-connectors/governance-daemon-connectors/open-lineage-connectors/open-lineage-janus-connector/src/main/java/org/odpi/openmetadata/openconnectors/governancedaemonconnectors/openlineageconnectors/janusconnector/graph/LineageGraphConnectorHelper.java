@@ -7,6 +7,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -121,6 +122,7 @@ public class LineageGraphConnectorHelper {
     private static final String GLOSSARY_TERM_VERTICAL_LINEAGE = "glossary term vertical lineage";
     private static final String END_TO_END_HORIZONTAL_LINEAGE = "end to end horizontal lineage";
     private static final String ULTIMATE_SOURCE_HORIZONTAL_LINEAGE = "ultimate source horizontal lineage";
+    private static final String LINEAGE_GUIDS = "guids of the horizontal lineage";
     private static final String S = "s";
 
     private final GraphTraversalSource g;
@@ -428,6 +430,47 @@ public class LineageGraphConnectorHelper {
         }
     }
 
+    /**
+     * Returns the guids of the vertices reached from the queried vertex by following the lineage edges upstream,
+     * downstream or both. It covers the vertices that the horizontal lineage queries traverse, including the ones
+     * condensed out of the response. Each vertex is visited once, so the walk is cheaper than the queries.
+     *
+     * @param guid       queried entity
+     * @param upstream   follow the edges towards the sources
+     * @param downstream follow the edges towards the destinations
+     *
+     * @return the guids, or empty if the graph could not be queried
+     */
+    Optional<Set<String>> getHorizontalLineageGUIDs(String guid, boolean upstream, boolean downstream) {
+        Set<String> guids = new HashSet<>();
+        guids.add(guid);
+        try {
+            if (upstream) {
+                guids.addAll(walkLineageEdges(guid, Direction.IN));
+            }
+            if (downstream) {
+                guids.addAll(walkLineageEdges(guid, Direction.OUT));
+            }
+            commitTransaction();
+        } catch (Exception e) {
+            if (supportingTransactions) {
+                g.tx().rollback();
+            }
+            log.error(GENERIC_QUERY_EXCEPTION, LINEAGE_GUIDS, guid, e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(guids);
+    }
+
+    private List<String> walkLineageEdges(String guid, Direction direction) {
+        String[] edgeLabels = {LINEAGE_MAPPING, EDGE_LABEL_COLUMN_DATA_FLOW, EDGE_LABEL_TABLE_DATA_FLOW};
+        GraphTraversal<Vertex, Vertex> step = direction == Direction.IN ? __.in(edgeLabels) : __.out(edgeLabels);
+
+        return g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).repeat(step.dedup()).emit()
+                .values(PROPERTY_KEY_ENTITY_GUID, PROPERTY_KEY_PROCESS_GUID).dedup()
+                .map(value -> value.get().toString()).toList();
+    }
+
     /**
      * Remove all nodes which displayname does not include the provided String. Any connected edges will also be removed.
      *
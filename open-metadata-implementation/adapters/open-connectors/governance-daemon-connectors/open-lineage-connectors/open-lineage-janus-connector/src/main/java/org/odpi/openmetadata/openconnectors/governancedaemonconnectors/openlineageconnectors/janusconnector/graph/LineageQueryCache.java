@@ -0,0 +1,259 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryCacheStatistics;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of lineage query results, keyed by the queried guid, the scope and the include processes flag.
+ * Each entry records the guids of the vertices the query touched. A write to one of these vertices removes the entry.
+ * The cache is bounded by the estimated memory weight of the responses, and the least recently used responses are
+ * removed first. The responses also expire after a time to live, which bounds the staleness caused by changes to
+ * vertices that were read for context but are not in the touched set.
+ */
+public class LineageQueryCache {
+
+    private static final long VERTEX_WEIGHT = 160;
+    private static final long EDGE_WEIGHT = 96;
+    private static final long GUID_WEIGHT = 120;
+    private static final long PROPERTY_WEIGHT = 64;
+
+    private final long maxWeight;
+    private final long timeToLive;
+    private final LinkedHashMap<String, CachedLineage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByGUID = new HashMap<>();
+    private final LineageQueryCacheStatistics statistics = new LineageQueryCacheStatistics();
+
+    private long weight = 0;
+    private long generation = 0;
+
+    /**
+     * @param maxWeight  - the maximum estimated memory of the cached responses in bytes, 0 disables the cache
+     * @param timeToLive - the time in milliseconds a response stays in the cache, 0 means no expiry
+     */
+    public LineageQueryCache(long maxWeight, long timeToLive) {
+        this.maxWeight = maxWeight;
+        this.timeToLive = timeToLive;
+        this.statistics.setMaxWeight(maxWeight);
+    }
+
+    public boolean isEnabled() {
+        return maxWeight > 0;
+    }
+
+    /**
+     * Returns a copy of the cached response.
+     *
+     * @param guid             - the queried guid
+     * @param scope            - the scope of the query
+     * @param includeProcesses - the include processes flag of the query
+     * @return the cached response, if present
+     */
+    public synchronized Optional<LineageVerticesAndEdges> get(String guid, Scope scope, boolean includeProcesses) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        String key = getKey(guid, scope, includeProcesses);
+        CachedLineage cachedLineage = entries.get(key);
+
+        if (cachedLineage != null && isExpired(cachedLineage)) {
+            remove(key);
+            statistics.setEvictionCount(statistics.getEvictionCount() + 1);
+            cachedLineage = null;
+        }
+
+        if (cachedLineage == null) {
+            statistics.setMissCount(statistics.getMissCount() + 1);
+            return Optional.empty();
+        }
+
+        statistics.setHitCount(statistics.getHitCount() + 1);
+        return Optional.of(copy(cachedLineage.lineageVerticesAndEdges));
+    }
+
+    /**
+     * Returns a marker that must be passed to {@link #put}. A response computed while the graph was changing is
+     * not cached, since it could have been read before the change was committed.
+     *
+     * @return the current generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a response.
+     *
+     * @param guid                    - the queried guid
+     * @param scope                   - the scope of the query
+     * @param includeProcesses        - the include processes flag of the query
+     * @param generation              - the generation returned before the query ran
+     * @param lineageVerticesAndEdges - the response
+     * @param touchedGUIDs            - the guids of the vertices the query touched
+     */
+    public synchronized void put(String guid, Scope scope, boolean includeProcesses, long generation,
+                                 LineageVerticesAndEdges lineageVerticesAndEdges, Set<String> touchedGUIDs) {
+        if (generation != this.generation || lineageVerticesAndEdges == null) {
+            return;
+        }
+
+        CachedLineage cachedLineage = new CachedLineage(copy(lineageVerticesAndEdges), new HashSet<>(touchedGUIDs));
+        if (cachedLineage.weight > maxWeight) {
+            return;
+        }
+
+        String key = getKey(guid, scope, includeProcesses);
+        remove(key);
+        entries.put(key, cachedLineage);
+        weight += cachedLineage.weight;
+        for (String touchedGUID : cachedLineage.touchedGUIDs) {
+            keysByGUID.computeIfAbsent(touchedGUID, k -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<String, CachedLineage>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (weight > maxWeight && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, CachedLineage> evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            removeFromIndex(evicted.getKey(), evicted.getValue());
+            weight -= evicted.getValue().weight;
+            statistics.setEvictionCount(statistics.getEvictionCount() + 1);
+        }
+    }
+
+    /**
+     * Removes the responses that touched any of the guids.
+     *
+     * @param guids - the guids of the vertices that changed
+     */
+    public synchronized void invalidate(Collection<String> guids) {
+        generation++;
+        for (String guid : guids) {
+            Set<String> keys = keysByGUID.remove(guid);
+            if (keys != null) {
+                for (String key : keys) {
+                    if (remove(key)) {
+                        statistics.setInvalidationCount(statistics.getInvalidationCount() + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the responses.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        statistics.setInvalidationCount(statistics.getInvalidationCount() + entries.size());
+        entries.clear();
+        keysByGUID.clear();
+        weight = 0;
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public synchronized LineageQueryCacheStatistics getStatistics() {
+        LineageQueryCacheStatistics copy = new LineageQueryCacheStatistics(statistics);
+        copy.setEntryCount(entries.size());
+        copy.setWeight(weight);
+        return copy;
+    }
+
+    private boolean remove(String key) {
+        CachedLineage removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        removeFromIndex(key, removed);
+        weight -= removed.weight;
+        return true;
+    }
+
+    private void removeFromIndex(String key, CachedLineage cachedLineage) {
+        for (String touchedGUID : cachedLineage.touchedGUIDs) {
+            Set<String> keys = keysByGUID.get(touchedGUID);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByGUID.remove(touchedGUID);
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(CachedLineage cachedLineage) {
+        return timeToLive > 0 && System.currentTimeMillis() - cachedLineage.creationTime > timeToLive;
+    }
+
+    private String getKey(String guid, Scope scope, boolean includeProcesses) {
+        return guid + ":" + scope + ":" + includeProcesses;
+    }
+
+    /**
+     * The vertices and edges are not changed once the response is built, but the sets are filtered by display name
+     * so each caller gets its own sets.
+     */
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges lineageVerticesAndEdges) {
+        Set<LineageVertex> lineageVertices = lineageVerticesAndEdges.getLineageVertices() == null ? null :
+                new LinkedHashSet<>(lineageVerticesAndEdges.getLineageVertices());
+        Set<LineageEdge> lineageEdges = lineageVerticesAndEdges.getLineageEdges() == null ? null :
+                new LinkedHashSet<>(lineageVerticesAndEdges.getLineageEdges());
+        return new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+    }
+
+    private static long estimateWeight(LineageVerticesAndEdges lineageVerticesAndEdges, Set<String> touchedGUIDs) {
+        long estimate = touchedGUIDs.size() * GUID_WEIGHT;
+        if (lineageVerticesAndEdges.getLineageVertices() != null) {
+            for (LineageVertex lineageVertex : lineageVerticesAndEdges.getLineageVertices()) {
+                estimate += VERTEX_WEIGHT + 2L * (length(lineageVertex.getNodeID()) + length(lineageVertex.getDisplayName())
+                        + length(lineageVertex.getGuid()) + length(lineageVertex.getQualifiedName()));
+                if (lineageVertex.getProperties() != null) {
+                    for (Map.Entry<String, String> property : lineageVertex.getProperties().entrySet()) {
+                        estimate += PROPERTY_WEIGHT + 2L * (length(property.getKey()) + length(property.getValue()));
+                    }
+                }
+            }
+        }
+        if (lineageVerticesAndEdges.getLineageEdges() != null) {
+            for (LineageEdge lineageEdge : lineageVerticesAndEdges.getLineageEdges()) {
+                estimate += EDGE_WEIGHT + 2L * (length(lineageEdge.getEdgeType()) + length(lineageEdge.getSourceNodeID())
+                        + length(lineageEdge.getDestinationNodeID()));
+            }
+        }
+        return estimate;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static class CachedLineage {
+        private final LineageVerticesAndEdges lineageVerticesAndEdges;
+        private final Set<String> touchedGUIDs;
+        private final long weight;
+        private final long creationTime = System.currentTimeMillis();
+
+        CachedLineage(LineageVerticesAndEdges lineageVerticesAndEdges, Set<String> touchedGUIDs) {
+            this.lineageVerticesAndEdges = lineageVerticesAndEdges;
+            this.touchedGUIDs = touchedGUIDs;
+            this.weight = estimateWeight(lineageVerticesAndEdges, touchedGUIDs);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageGraphJobStatistics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector.LINEAGE_GRAPH_JOB_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_DELEGATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_IMPLEMENTATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_SCHEMA_TYPE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_LABEL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG;
+
+/**
+ * Tests that the lineage graph job only maps the processes that changed, in batches of lineageGraphJobBatchSize,
+ * marks the processes stored before the completed flag once, and retries the processes that failed.
+ */
+public class LineageGraphJobTest {
+
+    private static final String PORT_ALIAS = "PortAlias";
+
+    private LineageGraphConnector connector;
+    private GraphTraversalSource g;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setConnectorProviderClassName(LineageGraphConnectorProvider.class.getName());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("storage.backend", "inmemory");
+        configurationProperties.put(LINEAGE_GRAPH_JOB_BATCH_SIZE, 2);
+
+        Connection connection = new Connection();
+        connection.setConnectorType(connectorType);
+        connection.setConfigurationProperties(configurationProperties);
+
+        connector = (LineageGraphConnector) new LineageGraphConnectorProvider().getConnector(connection);
+        connector.initializeGraphDB(mock(AuditLog.class));
+        g = connector.getGraphTraversalSource();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        connector.disconnect();
+    }
+
+    @Test
+    void unchangedProcessesAreSkipped() {
+        addProcess("p1");
+        addProcess("p2");
+        addProcess("p3");
+
+        LineageGraphJobStatistics statistics = runJob();
+        assertEquals(3, statistics.getLastRunProcessedCount());
+        assertEquals(2, statistics.getLastRunBatchCount());
+        assertEquals(0, statistics.getRemainingCount());
+
+        statistics = runJob();
+        assertEquals(0, statistics.getLastRunProcessedCount());
+        assertEquals(0, statistics.getLastRunBatchCount());
+
+        connector.updateEntity(getEntity("p2-column", TABULAR_COLUMN));
+        assertEquals(Set.of("p2"), getChangedProcesses());
+
+        statistics = runJob();
+        assertEquals(1, statistics.getLastRunProcessedCount());
+        assertEquals(1, statistics.getLastRunBatchCount());
+        assertEquals(4, statistics.getTotalProcessedCount());
+        assertTrue(getChangedProcesses().isEmpty());
+    }
+
+    @Test
+    void changedProcessesAreClaimedInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            addProcess("p" + i);
+        }
+        assertEquals(5, getChangedProcesses().size());
+
+        LineageGraphJobStatistics statistics = runJob();
+        assertEquals(5, statistics.getLastRunProcessedCount());
+        assertEquals(3, statistics.getLastRunBatchCount());
+        assertEquals(0, statistics.getLastRunFailedCount());
+        assertTrue(getChangedProcesses().isEmpty());
+    }
+
+    @Test
+    void unmarkedProcessesAreMarkedOnce() {
+        addUnmarkedProcess("p1");
+        addUnmarkedProcess("p2");
+        addUnmarkedProcess("p3");
+
+        LineageGraphJobStatistics statistics = runJob();
+        assertEquals(3, statistics.getLastRunProcessedCount());
+        assertEquals(4, statistics.getLastRunBatchCount());
+        assertTrue(g.V().has(PROPERTY_KEY_LABEL, PROCESS).hasNot(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG).toList().isEmpty());
+
+        /*
+         * The unmarked processes are only looked for by the first run of the connector.
+         */
+        addUnmarkedProcess("p4");
+
+        statistics = runJob();
+        assertEquals(0, statistics.getLastRunProcessedCount());
+        assertEquals(0, statistics.getLastRunBatchCount());
+        assertFalse(g.V().has(PROPERTY_KEY_ENTITY_GUID, "p4").has(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG).hasNext());
+        g.tx().commit();
+    }
+
+    @Test
+    void failedProcessIsRetriedByTheNextRun() {
+        addProcess("p1");
+        addProcess("p2");
+
+        /*
+         * A process without a guid can not be mapped.
+         */
+        Object processId = g.V().has(PROPERTY_KEY_ENTITY_GUID, "p1").id().next();
+        g.V(processId).properties(PROPERTY_KEY_ENTITY_GUID).drop().iterate();
+        g.tx().commit();
+
+        LineageGraphJobStatistics statistics = runJob();
+        assertEquals(1, statistics.getLastRunProcessedCount());
+        assertEquals(1, statistics.getLastRunFailedCount());
+        assertEquals(1, statistics.getRemainingCount());
+        assertEquals(Boolean.FALSE, g.V(processId).values(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG).next());
+        g.tx().commit();
+
+        g.V(processId).property(PROPERTY_KEY_ENTITY_GUID, "p1").iterate();
+        g.tx().commit();
+
+        statistics = runJob();
+        assertEquals(1, statistics.getLastRunProcessedCount());
+        assertEquals(0, statistics.getLastRunFailedCount());
+        assertEquals(0, statistics.getRemainingCount());
+        assertTrue(getChangedProcesses().isEmpty());
+    }
+
+    /**
+     * Stores a process with a port that leads to a column, the way the Asset Lineage events describe it.
+     *
+     * @param processGUID - the unique identifier of the process
+     */
+    private void addProcess(String processGUID) {
+        LineageEntity process = getEntity(processGUID, PROCESS);
+        LineageEntity portAlias = getEntity(processGUID + "-port", PORT_ALIAS);
+        LineageEntity portImplementation = getEntity(processGUID + "-port-implementation", PORT_IMPLEMENTATION);
+        LineageEntity schema = getEntity(processGUID + "-schema", TABULAR_SCHEMA_TYPE);
+        LineageEntity column = getEntity(processGUID + "-column", TABULAR_COLUMN);
+
+        Set<GraphContext> graphContext = new HashSet<>();
+        graphContext.add(new GraphContext(PROCESS_PORT, processGUID + "-r1", process, portAlias));
+        graphContext.add(new GraphContext(PORT_DELEGATION, processGUID + "-r2", portAlias, portImplementation));
+        graphContext.add(new GraphContext(PORT_SCHEMA, processGUID + "-r3", portImplementation, schema));
+        graphContext.add(new GraphContext(ATTRIBUTE_FOR_SCHEMA, processGUID + "-r4", schema, column));
+
+        connector.storeToGraph(graphContext);
+    }
+
+    /**
+     * Adds a process without the lineage completed flag, as stored by an earlier release.
+     *
+     * @param processGUID - the unique identifier of the process
+     */
+    private void addUnmarkedProcess(String processGUID) {
+        g.addV(PROCESS).property(PROPERTY_KEY_ENTITY_GUID, processGUID).property(PROPERTY_KEY_LABEL, PROCESS).iterate();
+        g.tx().commit();
+    }
+
+    private LineageEntity getEntity(String guid, String typeDefName) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(typeDefName);
+        lineageEntity.setVersion(1);
+        lineageEntity.setProperties(new HashMap<>());
+        return lineageEntity;
+    }
+
+    private LineageGraphJobStatistics runJob() {
+        connector.performLineageGraphJob();
+        return connector.getLineageGraphJobStatistics();
+    }
+
+    private Set<Object> getChangedProcesses() {
+        List<Object> processGUIDs = g.V().has(PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG, false)
+                .values(PROPERTY_KEY_ENTITY_GUID).toList();
+        g.tx().commit();
+        return new HashSet<>(processGUIDs);
+    }
+}
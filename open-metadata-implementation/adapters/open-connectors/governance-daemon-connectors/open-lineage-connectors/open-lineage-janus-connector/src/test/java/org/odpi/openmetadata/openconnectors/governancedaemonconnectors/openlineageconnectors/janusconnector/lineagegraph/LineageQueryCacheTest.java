@@ -0,0 +1,116 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryCacheStatistics;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageQueryCache;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LineageQueryCacheTest {
+
+    private static final long MAX_WEIGHT = 1024 * 1024;
+
+    @Test
+    void cachedResponseIsReturnedUntilATouchedVertexChanges() {
+        LineageQueryCache cache = new LineageQueryCache(MAX_WEIGHT, 0);
+
+        cache.put("c1", Scope.END_TO_END, false, cache.getGeneration(), lineage("c1", "c2"), Set.of("c1", "c2", "p1"));
+
+        assertTrue(cache.get("c1", Scope.END_TO_END, false).isPresent());
+        assertFalse(cache.get("c1", Scope.END_TO_END, true).isPresent());
+        assertFalse(cache.get("c1", Scope.ULTIMATE_SOURCE, false).isPresent());
+
+        cache.invalidate(Collections.singleton("x1"));
+        assertTrue(cache.get("c1", Scope.END_TO_END, false).isPresent());
+
+        cache.invalidate(Collections.singleton("p1"));
+        assertFalse(cache.get("c1", Scope.END_TO_END, false).isPresent());
+
+        LineageQueryCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(3, statistics.getMissCount());
+        assertEquals(1, statistics.getInvalidationCount());
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getWeight());
+    }
+
+    @Test
+    void responseComputedDuringAChangeIsNotCached() {
+        LineageQueryCache cache = new LineageQueryCache(MAX_WEIGHT, 0);
+
+        long generation = cache.getGeneration();
+        cache.invalidate(Collections.singleton("c2"));
+        cache.put("c1", Scope.END_TO_END, false, generation, lineage("c1", "c2"), Set.of("c1", "c2"));
+
+        assertFalse(cache.get("c1", Scope.END_TO_END, false).isPresent());
+    }
+
+    @Test
+    void callersGetTheirOwnCopy() {
+        LineageQueryCache cache = new LineageQueryCache(MAX_WEIGHT, 0);
+        cache.put("c1", Scope.END_TO_END, false, cache.getGeneration(), lineage("c1", "c2"), Set.of("c1", "c2"));
+
+        Optional<LineageVerticesAndEdges> first = cache.get("c1", Scope.END_TO_END, false);
+        assertTrue(first.isPresent());
+        first.get().getLineageVertices().clear();
+
+        Optional<LineageVerticesAndEdges> second = cache.get("c1", Scope.END_TO_END, false);
+        assertTrue(second.isPresent());
+        assertEquals(2, second.get().getLineageVertices().size());
+    }
+
+    @Test
+    void leastRecentlyUsedResponsesAreEvictedWhenTheWeightIsExceeded() {
+        LineageQueryCache cache = new LineageQueryCache(2000, 0);
+
+        cache.put("c1", Scope.END_TO_END, false, cache.getGeneration(), lineage("c1", "c2"), Set.of("c1", "c2"));
+        cache.put("c3", Scope.END_TO_END, false, cache.getGeneration(), lineage("c3", "c4"), Set.of("c3", "c4"));
+        cache.get("c1", Scope.END_TO_END, false);
+        cache.put("c5", Scope.END_TO_END, false, cache.getGeneration(), lineage("c5", "c6"), Set.of("c5", "c6"));
+
+        LineageQueryCacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.getWeight() <= 2000);
+        assertTrue(statistics.getEvictionCount() > 0);
+        assertFalse(cache.get("c3", Scope.END_TO_END, false).isPresent());
+        assertTrue(cache.get("c5", Scope.END_TO_END, false).isPresent());
+    }
+
+    @Test
+    void disabledCacheKeepsNothing() {
+        LineageQueryCache cache = new LineageQueryCache(0, 0);
+        cache.put("c1", Scope.END_TO_END, false, cache.getGeneration(), lineage("c1", "c2"), Set.of("c1", "c2"));
+
+        assertFalse(cache.isEnabled());
+        assertTrue(cache.isEmpty());
+        assertFalse(cache.get("c1", Scope.END_TO_END, false).isPresent());
+    }
+
+    private LineageVerticesAndEdges lineage(String sourceGUID, String destinationGUID) {
+        Set<LineageVertex> lineageVertices = new HashSet<>();
+        lineageVertices.add(vertex(sourceGUID));
+        lineageVertices.add(vertex(destinationGUID));
+        Set<LineageEdge> lineageEdges = new HashSet<>();
+        lineageEdges.add(new LineageEdge("ColumnDataFlow", sourceGUID, destinationGUID));
+        return new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+    }
+
+    private LineageVertex vertex(String guid) {
+        LineageVertex lineageVertex = new LineageVertex(guid, "TabularColumn");
+        lineageVertex.setGuid(guid);
+        lineageVertex.setDisplayName(guid);
+        return lineageVertex;
+    }
+}
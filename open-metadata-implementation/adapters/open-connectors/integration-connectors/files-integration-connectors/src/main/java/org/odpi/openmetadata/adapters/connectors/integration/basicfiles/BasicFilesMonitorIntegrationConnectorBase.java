@@ -17,8 +17,11 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.integrationservices.files.connector.FilesIntegratorConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,12 +32,19 @@ import java.util.Map;
  */
 public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesIntegratorConnector
 {
+    private static final Logger log = LoggerFactory.getLogger(BasicFilesMonitorIntegrationConnectorBase.class);
+
     String  templateQualifiedName = null;
     boolean allowCatalogDelete    = false;
+    String  manifestDirectoryName = null;
+    boolean manifestChecksums     = false;
+    int     catalogThreadCount    = 4;
 
     private String            fileDirectoryName     = null;
     private FileFolderElement dataFolderElement = null;
     private File              dataFolderFile    = null;
+    private String            monitoringMode    = null;
+    private DirectoryWatcher  directoryWatcher  = null;
 
 
     private Map<String, FileAlterationMonitor> monitors = new HashMap<>();
@@ -69,7 +79,37 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
                 allowCatalogDelete = true;
             }
 
-            templateQualifiedName = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY).toString();
+            if (configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY) != null)
+            {
+                templateQualifiedName = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY).toString();
+            }
+
+            if (configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MONITORING_MODE_CONFIGURATION_PROPERTY) != null)
+            {
+                monitoringMode = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MONITORING_MODE_CONFIGURATION_PROPERTY).toString();
+            }
+
+            if (configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MANIFEST_DIRECTORY_CONFIGURATION_PROPERTY) != null)
+            {
+                manifestDirectoryName = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MANIFEST_DIRECTORY_CONFIGURATION_PROPERTY).toString();
+            }
+
+            if (configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MANIFEST_CHECKSUMS_CONFIGURATION_PROPERTY) != null)
+            {
+                manifestChecksums = Boolean.parseBoolean(configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.MANIFEST_CHECKSUMS_CONFIGURATION_PROPERTY).toString());
+            }
+
+            if (configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.CATALOG_THREAD_COUNT_CONFIGURATION_PROPERTY) != null)
+            {
+                try
+                {
+                    catalogThreadCount = Math.max(1, Integer.parseInt(configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.CATALOG_THREAD_COUNT_CONFIGURATION_PROPERTY).toString()));
+                }
+                catch (NumberFormatException error)
+                {
+                    log.debug("Ignoring invalid catalogThreadCount", error);
+                }
+            }
         }
     }
 
@@ -297,7 +337,10 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
 
     /**
      * Register a listener for a particular directory (folder).  This results in events whenever there are changes to the files and
-     * folders immediately in this directory.
+     * folders in this directory or the directories below it.
+     * <p>
+     * File system notifications are used where they are available, otherwise the Apache Commons FileAlterationMonitor
+     * lists the directory tree at intervals.  The monitoringMode configuration property overrides this choice.
      *
      * @param directory directory to monitor
      * @param methodName calling method
@@ -305,7 +348,108 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
     synchronized void initiateDirectoryMonitoring(File   directory,
                                                   String methodName)
     {
-        FileAlterationObserver observer = new FileAlterationObserver(fileDirectoryName);
+        if (directoryWatcher == null)
+        {
+            if (monitors.isEmpty())
+            {
+                String pollingReason = this.getPollingReason(directory);
+
+                if (pollingReason == null)
+                {
+                    try
+                    {
+                        directoryWatcher = new DirectoryWatcher(this.getListener(), () -> this.refreshAfterLostEvents(directory));
+                    }
+                    catch (Exception error)
+                    {
+                        pollingReason = error.getMessage();
+                    }
+                }
+
+                if (pollingReason != null)
+                {
+                    if (auditLog != null)
+                    {
+                        auditLog.logMessage(methodName,
+                                            BasicFilesIntegrationConnectorsAuditCode.DIRECTORY_POLLING_FALLBACK.getMessageDefinition(connectorName,
+                                                                                                                                     directory.getAbsolutePath(),
+                                                                                                                                     pollingReason));
+                    }
+
+                    this.initiateDirectoryPolling(directory, methodName);
+                    return;
+                }
+            }
+            else
+            {
+                /*
+                 * The directory is already covered by the polling of its parent.
+                 */
+                return;
+            }
+        }
+
+        try
+        {
+            directoryWatcher.watchDirectory(directory);
+            directoryWatcher.start(connectorName + " directory watcher");
+
+            if ((auditLog != null) && (directory.getAbsolutePath().equals(this.getRootDirectoryFile().getAbsolutePath())))
+            {
+                auditLog.logMessage(methodName,
+                                    BasicFilesIntegrationConnectorsAuditCode.DIRECTORY_WATCHING_STARTING.getMessageDefinition(connectorName,
+                                                                                                                              directory.getAbsolutePath()));
+            }
+        }
+        catch (Exception error)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_MONITOR_START.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                 connectorName,
+                                                                                                                                 directory.getAbsolutePath(),
+                                                                                                                                 error.getMessage()),
+                                      error);
+            }
+        }
+    }
+
+
+    /**
+     * Return the reason why the directory needs to be polled.
+     *
+     * @param directory directory to monitor
+     * @return reason or null if file system notifications can be used
+     */
+    private String getPollingReason(File directory)
+    {
+        if (BasicFilesMonitorIntegrationProviderBase.POLL_MONITORING_MODE.equals(monitoringMode))
+        {
+            return "polling is requested in the monitoringMode configuration property";
+        }
+
+        if ((! BasicFilesMonitorIntegrationProviderBase.WATCH_MONITORING_MODE.equals(monitoringMode)) &&
+            (! DirectoryWatcher.supportsNotifications(directory)))
+        {
+            return "the file system does not report changes made by other hosts";
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Start polling the directory tree with the Apache Commons FileAlterationMonitor.  The observer covers the
+     * directories below the directory too.
+     *
+     * @param directory directory to monitor
+     * @param methodName calling method
+     */
+    private void initiateDirectoryPolling(File   directory,
+                                          String methodName)
+    {
+        FileAlterationObserver observer = new FileAlterationObserver(directory);
         FileAlterationMonitor  monitor  = new FileAlterationMonitor(POLL_INTERVAL);
         FileAlterationListener listener = this.getListener();
 
@@ -340,6 +484,31 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
     }
 
 
+    /**
+     * The file system has dropped change events, so ask the integration daemon to refresh the connector.  The refresh
+     * compares the whole directory with the catalog.  It is not run here because this is the watcher's thread and
+     * the refresh must not run at the same time as a refresh started by the integration daemon.
+     *
+     * @param directory directory that is monitored
+     */
+    private void refreshAfterLostEvents(File directory)
+    {
+        final String methodName = "refreshAfterLostEvents";
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(methodName,
+                                BasicFilesIntegrationConnectorsAuditCode.FILE_EVENTS_LOST.getMessageDefinition(connectorName,
+                                                                                                              directory.getAbsolutePath()));
+        }
+
+        if (! super.requestRefresh())
+        {
+            log.debug("Lost file events are picked up by the next refresh of " + connectorName);
+        }
+    }
+
+
     /**
      * Set up the file listener class - this is implemented by the subclasses
      *
@@ -394,11 +563,43 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
     {
         final String methodName = "disconnect";
 
-        for (String fileName : monitors.keySet())
+        for (String fileName : new ArrayList<>(monitors.keySet()))
         {
             this.stopDirectoryMonitoring(fileName, methodName);
         }
 
+        synchronized (this)
+        {
+            if (directoryWatcher != null)
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logMessage(methodName,
+                                        BasicFilesIntegrationConnectorsAuditCode.DIRECTORY_MONITORING_STOPPING.getMessageDefinition(connectorName,
+                                                                                                                                    fileDirectoryName));
+                }
+
+                try
+                {
+                    directoryWatcher.stop();
+                }
+                catch (Exception error)
+                {
+                    if (auditLog != null)
+                    {
+                        auditLog.logException(methodName,
+                                              BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_MONITOR_STOP.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                        connectorName,
+                                                                                                                                        fileDirectoryName,
+                                                                                                                                        error.getMessage()),
+                                              error);
+                    }
+                }
+
+                directoryWatcher = null;
+            }
+        }
+
         if (auditLog != null)
         {
             auditLog.logMessage(methodName,
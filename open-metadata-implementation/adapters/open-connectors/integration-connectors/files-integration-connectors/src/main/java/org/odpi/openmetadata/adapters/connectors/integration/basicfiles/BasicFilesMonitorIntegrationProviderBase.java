@@ -17,6 +17,13 @@ class BasicFilesMonitorIntegrationProviderBase extends ConnectorProviderBase
 {
     static final String TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY = "templateQualifiedName";
     static final String ALLOW_CATALOG_DELETE_CONFIGURATION_PROPERTY    = "allowCatalogDelete";
+    static final String MONITORING_MODE_CONFIGURATION_PROPERTY         = "monitoringMode";
+    static final String MANIFEST_DIRECTORY_CONFIGURATION_PROPERTY      = "manifestDirectory";
+    static final String MANIFEST_CHECKSUMS_CONFIGURATION_PROPERTY      = "manifestChecksums";
+    static final String CATALOG_THREAD_COUNT_CONFIGURATION_PROPERTY    = "catalogThreadCount";
+
+    static final String WATCH_MONITORING_MODE = "watch";
+    static final String POLL_MONITORING_MODE  = "poll";
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -48,6 +55,10 @@ class BasicFilesMonitorIntegrationProviderBase extends ConnectorProviderBase
         List<String> recognizedConfigurationProperties = new ArrayList<>();
         recognizedConfigurationProperties.add(TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY);
         recognizedConfigurationProperties.add(ALLOW_CATALOG_DELETE_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(MONITORING_MODE_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(MANIFEST_DIRECTORY_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(MANIFEST_CHECKSUMS_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(CATALOG_THREAD_COUNT_CONFIGURATION_PROPERTY);
 
         connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
@@ -19,6 +19,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -28,7 +32,10 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
 {
     private static final Logger log = LoggerFactory.getLogger(DataFilesMonitorIntegrationConnector.class);
 
-    private String templateGUID = null;
+    private static final int catalogBatchesPerThread = 100;
+
+    private String         templateGUID = null;
+    private FolderManifest manifest     = null;
 
     /**
      * Set up the file listener class - this is implemented by the subclasses
@@ -60,7 +67,11 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
             final String methodName = "onFileCreate";
 
             log.debug("File created: " + file.getName());
-            connector.catalogFile(file, methodName);
+
+            if (connector.catalogFile(file, methodName))
+            {
+                connector.recordFileInManifest(file, methodName);
+            }
         }
 
         @Override
@@ -69,14 +80,24 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
             final String methodName = "onFileDelete";
 
             log.debug("File deleted: " + file.getName());
-            connector.archiveFileInCatalog(file, null, methodName);
+
+            if (connector.archiveFileInCatalog(file, null, methodName))
+            {
+                connector.removeFileFromManifest(file);
+            }
         }
 
         @Override
         public void onFileChange(File file)
         {
+            final String methodName = "onFileChange";
+
             log.debug("File changed: " + file.getName());
-            connector.updateFileInCatalog(file);
+
+            if (connector.updateFileInCatalog(file))
+            {
+                connector.recordFileInManifest(file, methodName);
+            }
         }
 
         @Override
@@ -104,9 +125,10 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
      * Refresh is called when the integration connector first starts and then at intervals defined in the connector's configuration
      * as well as any external REST API calls to explicitly refresh the connector.
      *
-     * This method performs two sweeps.  It first retrieves the files in the directory and validates that are in the
-     * catalog - adding or updating them if necessary.  The second sweep is to ensure that all of the assets catalogued
-     * in this directory actually exist on the file system.
+     * The files in the directory are compared with the manifest of the files catalogued by the last refresh, so only
+     * new, changed and removed files result in calls to the catalog.  These calls are made by a pool of threads, a batch
+     * of files at a time.  If there is no manifest from an earlier refresh, a second sweep pages through the files
+     * catalogued in this directory to ensure that they actually exist on the file system.
      *
      * @throws ConnectorCheckedException there is a problem with the connector.  It is not able to refresh the metadata.
      */
@@ -119,94 +141,486 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
 
         if (directory != null)
         {
+            FolderManifest manifest = this.getManifest(directory, methodName);
+
+            if (! manifest.validateFolder(this.getFolderGUID()))
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logMessage(methodName,
+                                        BasicFilesIntegrationConnectorsAuditCode.MANIFEST_NOT_FOR_CATALOG.getMessageDefinition(connectorName,
+                                                                                                                               directory.getAbsolutePath()));
+                }
+            }
+
+            boolean        hasBaseline = manifest.hasBaseline();
+            RefreshCounts  counts      = new RefreshCounts();
+
             /*
-             * Sweep one - cataloguing all files
+             * Sweep one - cataloguing new and changed files and removing the files that have gone.
              */
-            File[] filesArray = directory.listFiles();
+            List<Callable<Void>> catalogRequests = new ArrayList<>();
+            Set<String>          removedFiles    = manifest.getFileNames();
+            File[]               filesArray      = directory.listFiles();
 
             if (filesArray != null)
             {
                 for (File file : filesArray)
                 {
-                    if (file != null)
+                    if ((file != null) && (file.isFile()))
                     {
-                        this.catalogFile(file, methodName);
+                        removedFiles.remove(file.getName());
+                        catalogRequests.add(() -> this.refreshFile(file, manifest, counts, methodName));
                     }
                 }
             }
 
+            for (String fileName : removedFiles)
+            {
+                catalogRequests.add(() -> this.refreshRemovedFile(new File(directory, fileName), manifest, counts, methodName));
+            }
+
+            this.runCatalogRequests(catalogRequests);
+
             /*
              * Sweep two - ensuring all catalogued files still exist.  Notice that if the folder does not exist, it is
              * ignored.  It will be dynamically created when a new file is added.
              */
+            if (! hasBaseline)
+            {
+                this.archiveMissingFiles(directory, methodName);
+            }
+
             try
             {
-                FileFolderElement folder = super.getFolderElement();
+                manifest.setFolderGUID(this.getFolderGUID());
+                manifest.save();
+            }
+            catch (Exception error)
+            {
+                this.logManifestException(error, manifest, methodName);
+            }
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    BasicFilesIntegrationConnectorsAuditCode.DATA_FILES_REFRESHED.getMessageDefinition(connectorName,
+                                                                                                                       directory.getAbsolutePath(),
+                                                                                                                       Integer.toString(counts.newFiles.get()),
+                                                                                                                       Integer.toString(counts.changedFiles.get()),
+                                                                                                                       Integer.toString(counts.removedFiles.get()),
+                                                                                                                       Integer.toString(counts.unchangedFiles.get()),
+                                                                                                                       Integer.toString(counts.failures.get())));
+            }
+        }
+    }
+
+
+    /**
+     * Bring the catalog entry for a file in the directory up to date if it has changed since the last refresh.
+     *
+     * @param file file in the directory
+     * @param manifest manifest from the last refresh
+     * @param counts counts for the refresh
+     * @param methodName calling method
+     * @return null
+     */
+    private Void refreshFile(File           file,
+                             FolderManifest manifest,
+                             RefreshCounts  counts,
+                             String         methodName)
+    {
+        try
+        {
+            FolderManifest.FileChange fileChange = manifest.getFileChange(file);
+
+            if (fileChange == FolderManifest.FileChange.UNCHANGED)
+            {
+                counts.unchangedFiles.incrementAndGet();
+            }
+            else if (((fileChange == FolderManifest.FileChange.NEW) && (this.catalogFile(file, methodName))) ||
+                     ((fileChange == FolderManifest.FileChange.CHANGED) && (this.updateFileInCatalog(file))))
+            {
+                manifest.recordFile(file);
+
+                if (fileChange == FolderManifest.FileChange.NEW)
+                {
+                    counts.newFiles.incrementAndGet();
+                }
+                else
+                {
+                    counts.changedFiles.incrementAndGet();
+                }
+            }
+            else
+            {
+                counts.failures.incrementAndGet();
+            }
+        }
+        catch (Exception error)
+        {
+            counts.failures.incrementAndGet();
+            this.logManifestException(error, manifest, methodName);
+        }
+
+        return null;
+    }
+
 
-                if (folder != null)
+    /**
+     * Update the catalog for a file that was in the manifest but is no longer in the directory.
+     *
+     * @param file file that has gone
+     * @param manifest manifest from the last refresh
+     * @param counts counts for the refresh
+     * @param methodName calling method
+     * @return null
+     */
+    private Void refreshRemovedFile(File           file,
+                                    FolderManifest manifest,
+                                    RefreshCounts  counts,
+                                    String         methodName)
+    {
+        if (this.archiveFileInCatalog(file, null, methodName))
+        {
+            manifest.removeFile(file.getName());
+            counts.removedFiles.incrementAndGet();
+        }
+        else
+        {
+            counts.failures.incrementAndGet();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Run the catalog requests on a pool of threads, a batch at a time so that the queue of requests stays small.
+     *
+     * @param catalogRequests requests to run
+     * @throws ConnectorCheckedException the refresh was interrupted
+     */
+    private void runCatalogRequests(List<Callable<Void>> catalogRequests) throws ConnectorCheckedException
+    {
+        final String methodName = "runCatalogRequests";
+
+        if (catalogThreadCount <= 1)
+        {
+            for (Callable<Void> catalogRequest : catalogRequests)
+            {
+                try
                 {
-                    int startFrom = 0;
-                    int pageSize  = 100;
+                    catalogRequest.call();
+                }
+                catch (Exception error)
+                {
+                    log.error("Unexpected exception from catalog request", error);
+                }
+            }
+
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(catalogThreadCount);
+
+        try
+        {
+            int batchSize = catalogThreadCount * catalogBatchesPerThread;
+
+            for (int batchStart = 0; (batchStart < catalogRequests.size()) && (this.isActive()); batchStart = batchStart + batchSize)
+            {
+                executor.invokeAll(catalogRequests.subList(batchStart, Math.min(batchStart + batchSize, catalogRequests.size())));
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new FileException(
+                    BasicFilesIntegrationConnectorsErrorCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(error.getClass().getName(),
+                                                                                                                  connectorName,
+                                                                                                                  this.getRootDirectoryFile().getAbsolutePath(),
+                                                                                                                  error.getMessage()),
+                    error.getClass().getName(),
+                    methodName,
+                    error,
+                    this.getRootDirectoryFile().getAbsolutePath());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
 
-                    List<DataFileElement> cataloguedFiles = this.getContext().getFolderFiles(folder.getElementHeader().getGUID(), startFrom, pageSize);
+    /**
+     * Page through the files catalogued in this directory and archive the ones that no longer exist.  This is only
+     * needed when there is no manifest to say which files were in the directory at the last refresh.
+     *
+     * @param directory monitored directory
+     * @param methodName calling method
+     * @throws ConnectorCheckedException there is a problem retrieving the catalogued files
+     */
+    private void archiveMissingFiles(File   directory,
+                                     String methodName) throws ConnectorCheckedException
+    {
+        try
+        {
+            FileFolderElement folder = super.getFolderElement();
+
+            if (folder != null)
+            {
+                int startFrom = 0;
+                int pageSize  = 100;
 
-                    while ((cataloguedFiles != null) && (! cataloguedFiles.isEmpty()))
+                List<DataFileElement> cataloguedFiles = this.getContext().getFolderFiles(folder.getElementHeader().getGUID(), startFrom, pageSize);
+
+                while ((cataloguedFiles != null) && (! cataloguedFiles.isEmpty()))
+                {
+                    for (DataFileElement dataFile : cataloguedFiles)
                     {
-                        for (DataFileElement dataFile : cataloguedFiles)
+                        if (dataFile != null)
                         {
-                            if (dataFile != null)
+                            if ((dataFile.getElementHeader() != null) && (dataFile.getElementHeader().getGUID() != null) &&
+                                (dataFile.getDataFileProperties() != null) && (dataFile.getDataFileProperties().getQualifiedName() != null))
                             {
-                                if ((dataFile.getElementHeader() != null) && (dataFile.getElementHeader().getGUID() != null) &&
-                                    (dataFile.getDataFileProperties() != null) && (dataFile.getDataFileProperties().getQualifiedName() != null))
-                                {
-                                    File file = new File(dataFile.getDataFileProperties().getQualifiedName());
+                                File file = new File(dataFile.getDataFileProperties().getQualifiedName());
 
-                                    if (! file.exists())
-                                    {
-                                        this.archiveFileInCatalog(file, dataFile, methodName);
-                                    }
+                                if (! file.exists())
+                                {
+                                    this.archiveFileInCatalog(file, dataFile, methodName);
                                 }
-                                else
+                            }
+                            else
+                            {
+                                if (auditLog != null)
                                 {
-                                    if (auditLog != null)
-                                    {
-                                        auditLog.logMessage(methodName,
-                                                            BasicFilesIntegrationConnectorsAuditCode.BAD_FILE_ELEMENT.getMessageDefinition(connectorName,
-                                                                                                                                           dataFile.toString()));
-                                    }
+                                    auditLog.logMessage(methodName,
+                                                        BasicFilesIntegrationConnectorsAuditCode.BAD_FILE_ELEMENT.getMessageDefinition(connectorName,
+                                                                                                                                       dataFile.toString()));
                                 }
                             }
                         }
-
-                        startFrom = startFrom + cataloguedFiles.size();
-                        cataloguedFiles = this.getContext().getFolderFiles(folder.getElementHeader().getGUID(), startFrom, pageSize);
                     }
+
+                    startFrom = startFrom + cataloguedFiles.size();
+                    cataloguedFiles = this.getContext().getFolderFiles(folder.getElementHeader().getGUID(), startFrom, pageSize);
                 }
             }
+        }
+        catch (Exception error)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                    connectorName,
+                                                                                                                                    directory.getAbsolutePath(),
+                                                                                                                                    error.getMessage()),
+                                      error);
+
+            }
+
+            throw new FileException(
+                    BasicFilesIntegrationConnectorsErrorCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(error.getClass().getName(),
+                                                                                                                  connectorName,
+                                                                                                                  directory.getAbsolutePath(),
+                                                                                                                  error.getMessage()),
+                    error.getClass().getName(),
+                    methodName,
+                    error,
+                    directory.getAbsolutePath());
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the catalog entry for the monitored directory.
+     *
+     * @return unique identifier or null if the directory is not catalogued
+     * @throws ConnectorCheckedException there is a problem retrieving the folder element
+     */
+    private String getFolderGUID() throws ConnectorCheckedException
+    {
+        FileFolderElement folder = super.getFolderElement();
+
+        if (folder == null)
+        {
+            return null;
+        }
+
+        return folder.getElementHeader().getGUID();
+    }
+
+
+    /**
+     * Return the manifest for the directory, loading the manifest saved by an earlier run of the connector the first
+     * time it is requested.  The manifest is saved in the directory named in the manifestDirectory configuration
+     * property.  If this is not set, the manifest is only kept in memory.
+     *
+     * @param directory monitored directory
+     * @param methodName calling method
+     * @return manifest
+     */
+    private synchronized FolderManifest getManifest(File   directory,
+                                                    String methodName)
+    {
+        if (manifest == null)
+        {
+            File manifestFile = null;
+
+            if (manifestDirectoryName != null)
+            {
+                String manifestFileName = directory.getName().replaceAll("[^A-Za-z0-9._-]", "_") + "-" +
+                                          Integer.toHexString(directory.getAbsolutePath().hashCode()) + ".manifest";
+
+                manifestFile = new File(manifestDirectoryName, manifestFileName);
+            }
+
+            manifest = new FolderManifest(manifestFile, manifestChecksums);
+
+            try
+            {
+                manifest.load();
+            }
             catch (Exception error)
             {
-                if (auditLog != null)
-                {
-                    auditLog.logException(methodName,
-                                          BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                        connectorName,
-                                                                                                                                        directory.getAbsolutePath(),
-                                                                                                                                        error.getMessage()),
-                                          error);
+                this.logManifestException(error, manifest, methodName);
+            }
+        }
 
-                }
+        return manifest;
+    }
 
-                throw new FileException(
-                        BasicFilesIntegrationConnectorsErrorCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(error.getClass().getName(),
-                                                                                                                      connectorName,
-                                                                                                                      directory.getAbsolutePath(),
-                                                                                                                      error.getMessage()),
-                        error.getClass().getName(),
-                        methodName,
-                        error,
-                        directory.getAbsolutePath());
+
+    /**
+     * Record a file that has been catalogued by the listener so the next refresh does not process it again.
+     * Files in the directories below the monitored directory are not part of the manifest.
+     *
+     * @param file file that changed
+     * @param methodName calling method
+     */
+    private void recordFileInManifest(File   file,
+                                      String methodName)
+    {
+        try
+        {
+            File directory = this.getRootDirectoryFile();
+
+            if (directory.getAbsoluteFile().equals(file.getAbsoluteFile().getParentFile()))
+            {
+                FolderManifest manifest = this.getManifest(directory, methodName);
+
+                manifest.recordFile(file);
             }
         }
+        catch (Exception error)
+        {
+            log.debug("Unable to record file " + file.getAbsolutePath() + " in the manifest", error);
+        }
+    }
+
+
+    /**
+     * Remove a file that has been removed from the catalog by the listener.
+     *
+     * @param file file that has been deleted
+     */
+    private void removeFileFromManifest(File file)
+    {
+        final String methodName = "removeFileFromManifest";
+
+        try
+        {
+            File directory = this.getRootDirectoryFile();
+
+            if (directory.getAbsoluteFile().equals(file.getAbsoluteFile().getParentFile()))
+            {
+                this.getManifest(directory, methodName).removeFile(file.getName());
+            }
+        }
+        catch (Exception error)
+        {
+            log.debug("Unable to remove file " + file.getAbsolutePath() + " from the manifest", error);
+        }
+    }
+
+
+    /**
+     * Log a problem with the manifest.
+     *
+     * @param error exception
+     * @param manifest manifest
+     * @param methodName calling method
+     */
+    private void logManifestException(Exception      error,
+                                      FolderManifest manifest,
+                                      String         methodName)
+    {
+        if (auditLog != null)
+        {
+            String directoryName = null;
+
+            try
+            {
+                directoryName = this.getRootDirectoryFile().getAbsolutePath();
+            }
+            catch (Exception notKnown)
+            {
+                log.debug("Directory not known", notKnown);
+            }
+
+            auditLog.logException(methodName,
+                                  BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_MANIFEST.getMessageDefinition(error.getClass().getName(),
+                                                                                                                        connectorName,
+                                                                                                                        manifest.getManifestFileName(),
+                                                                                                                        directoryName,
+                                                                                                                        error.getMessage()),
+                                  error);
+        }
+    }
+
+
+    /**
+     * Save the manifest before the connector stops.
+     *
+     * @throws ConnectorCheckedException something failed in the super class
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        final String methodName = "disconnect";
+
+        super.disconnect();
+
+        synchronized (this)
+        {
+            if (manifest != null)
+            {
+                try
+                {
+                    manifest.save();
+                }
+                catch (Exception error)
+                {
+                    this.logManifestException(error, manifest, methodName);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The number of files processed by a refresh.  They are updated by the threads that call the catalog.
+     */
+    private static class RefreshCounts
+    {
+        private final AtomicInteger newFiles       = new AtomicInteger(0);
+        private final AtomicInteger changedFiles   = new AtomicInteger(0);
+        private final AtomicInteger removedFiles   = new AtomicInteger(0);
+        private final AtomicInteger unchangedFiles = new AtomicInteger(0);
+        private final AtomicInteger failures       = new AtomicInteger(0);
     }
 
 
@@ -215,9 +629,10 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
      *
      * @param file Java File accessor
      * @param methodName calling method
+     * @return true if the file is now in the catalog
      */
-    private void catalogFile(File   file,
-                             String methodName)
+    private boolean catalogFile(File   file,
+                                String methodName)
     {
         if (this.isActive())
         {
@@ -304,8 +719,14 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                                                             templateGUID));
                             }
                         }
+                        else
+                        {
+                            return false;
+                        }
                     }
                 }
+
+                return true;
             }
             catch (Exception error)
             {
@@ -322,6 +743,8 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                 }
             }
         }
+
+        return false;
     }
 
 
@@ -384,10 +807,11 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
      * @param file Java file access object
      * @param retrievedElement catalogued element
      * @param methodName calling method
+     * @return true if the file is no longer active in the catalog
      */
-    private void archiveFileInCatalog(File            file,
-                                      DataFileElement retrievedElement,
-                                      String          methodName)
+    private boolean archiveFileInCatalog(File            file,
+                                         DataFileElement retrievedElement,
+                                         String          methodName)
     {
         if (this.isActive())
         {
@@ -402,7 +826,7 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
 
                 if (cataloguedElement == null)
                 {
-                    return;
+                    return true;
                 }
 
                 if ((cataloguedElement.getElementHeader() != null) && (cataloguedElement.getElementHeader().getGUID() != null) &&
@@ -438,6 +862,8 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                                                                                                                                  cataloguedElement.getElementHeader().getGUID()));
                         }
                     }
+
+                    return true;
                 }
                 else
                 {
@@ -463,6 +889,8 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                 }
             }
         }
+
+        return false;
     }
 
 
@@ -470,8 +898,9 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
      * Update the last modified time in the catalogued asset for the file.
      *
      * @param file file object from operating system
+     * @return true if the catalog is up to date
      */
-    private void updateFileInCatalog(File   file)
+    private boolean updateFileInCatalog(File   file)
     {
         if (isActive())
         {
@@ -499,6 +928,8 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                                                                                                                                 dataFileInCatalog.getDataFileProperties().getQualifiedName(),
                                                                                                                                 dataFileInCatalog.getElementHeader().getGUID()));
                         }
+
+                        return true;
                     }
                     else
                     {
@@ -512,7 +943,7 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                 }
                 else
                 {
-                    this.catalogFile(file, methodName);
+                    return this.catalogFile(file, methodName);
                 }
             }
             catch (Exception error)
@@ -529,5 +960,7 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                 }
             }
         }
+
+        return false;
     }
 }
@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import org.apache.commons.io.monitor.FileAlterationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * DirectoryWatcher passes the changes to the files in a directory tree to a FileAlterationListener using the
+ * notifications of the file system (java.nio.file.WatchService) rather than by listing the directories at
+ * intervals.  This means the cost of monitoring does not grow with the number of files.  A WatchService only watches
+ * the directories that are registered with it, so each new directory is registered as it is created.
+ * <p>
+ * If the file system drops events (because they arrived faster than they were processed) the overflow callback is
+ * called so the caller can rescan the directory.
+ */
+class DirectoryWatcher implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+    /**
+     * File system types that accept a watch request but do not report changes made by other hosts.
+     */
+    private static final List<String> remoteFileSystemTypes = Arrays.asList("nfs", "nfs4", "cifs", "smbfs", "smb2", "fuse.sshfs", "afs", "9p");
+
+    private final WatchService            watchService;
+    private final FileAlterationListener  listener;
+    private final Runnable                overflowCallback;
+    private final Map<WatchKey, Path>     watchedDirectories = new HashMap<>();
+    private final Set<Path>               knownDirectories   = new HashSet<>();
+
+    private Thread watcherThread = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param listener listener to pass the changes to
+     * @param overflowCallback called when events have been lost
+     * @throws IOException the file system does not support a watch service
+     */
+    DirectoryWatcher(FileAlterationListener listener,
+                     Runnable               overflowCallback) throws IOException
+    {
+        this.watchService     = FileSystems.getDefault().newWatchService();
+        this.listener         = listener;
+        this.overflowCallback = overflowCallback;
+    }
+
+
+    /**
+     * Return whether the directory is on a file system that reports the changes made to it.  Network file systems
+     * only report changes made through the local host, so they need to be polled.
+     *
+     * @param directory directory to test
+     * @return boolean flag
+     */
+    static boolean supportsNotifications(File directory)
+    {
+        try
+        {
+            String fileSystemType = Files.getFileStore(directory.toPath()).type();
+
+            return (fileSystemType == null) || (! remoteFileSystemTypes.contains(fileSystemType.toLowerCase()));
+        }
+        catch (IOException error)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Watch a directory and the directories below it.
+     *
+     * @param directory directory to watch
+     * @throws IOException unable to register the directory
+     */
+    synchronized void watchDirectory(File directory) throws IOException
+    {
+        Path path = directory.toPath().toAbsolutePath();
+
+        if (knownDirectories.add(path))
+        {
+            WatchKey watchKey = path.register(watchService,
+                                              StandardWatchEventKinds.ENTRY_CREATE,
+                                              StandardWatchEventKinds.ENTRY_DELETE,
+                                              StandardWatchEventKinds.ENTRY_MODIFY);
+
+            watchedDirectories.put(watchKey, path);
+
+            File[] nestedFiles = directory.listFiles();
+
+            if (nestedFiles != null)
+            {
+                for (File nestedFile : nestedFiles)
+                {
+                    if (nestedFile.isDirectory())
+                    {
+                        this.watchDirectory(nestedFile);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Start the thread that receives the events.
+     *
+     * @param threadName name for the thread
+     */
+    synchronized void start(String threadName)
+    {
+        if (watcherThread == null)
+        {
+            watcherThread = new Thread(this, threadName);
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+    }
+
+
+    /**
+     * Stop watching.
+     *
+     * @throws IOException problem closing the watch service
+     */
+    void stop() throws IOException
+    {
+        watchService.close();
+    }
+
+
+    /**
+     * Receive the events and pass them to the listener.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (true)
+            {
+                WatchKey watchKey = watchService.take();
+                Path     directory;
+
+                synchronized (this)
+                {
+                    directory = watchedDirectories.get(watchKey);
+                }
+
+                for (WatchEvent<?> event : watchKey.pollEvents())
+                {
+                    try
+                    {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                        {
+                            overflowCallback.run();
+                        }
+                        else if (directory != null)
+                        {
+                            this.processEvent(event.kind(), directory.resolve((Path)event.context()));
+                        }
+                    }
+                    catch (Exception error)
+                    {
+                        log.error("Unexpected exception processing file event " + event.kind() + " in " + directory, error);
+                    }
+                }
+
+                if (! watchKey.reset())
+                {
+                    synchronized (this)
+                    {
+                        watchedDirectories.remove(watchKey);
+                    }
+                }
+            }
+        }
+        catch (ClosedWatchServiceException | InterruptedException stopped)
+        {
+            log.debug("Directory watcher stopped");
+        }
+    }
+
+
+    /**
+     * Report a new directory and everything in it.  Files and directories may have been added below the new
+     * directory before it was registered (for example when a directory tree is copied or moved in) and no events
+     * are received for them.
+     *
+     * @param directory new directory
+     */
+    private void reportNewDirectory(File directory)
+    {
+        listener.onDirectoryCreate(directory);
+
+        File[] nestedFiles = directory.listFiles();
+
+        if (nestedFiles != null)
+        {
+            for (File nestedFile : nestedFiles)
+            {
+                if (nestedFile.isDirectory())
+                {
+                    this.reportNewDirectory(nestedFile);
+                }
+                else if (nestedFile.isFile())
+                {
+                    listener.onFileCreate(nestedFile);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Convert a watch event into a call to the listener.
+     *
+     * @param kind type of event
+     * @param path file that changed
+     * @throws IOException unable to watch a new directory
+     */
+    private void processEvent(WatchEvent.Kind<?> kind,
+                              Path               path) throws IOException
+    {
+        File file = path.toFile();
+
+        if (kind == StandardWatchEventKinds.ENTRY_CREATE)
+        {
+            if (file.isDirectory())
+            {
+                this.watchDirectory(file);
+                this.reportNewDirectory(file);
+            }
+            else
+            {
+                listener.onFileCreate(file);
+            }
+        }
+        else if (kind == StandardWatchEventKinds.ENTRY_DELETE)
+        {
+            boolean wasDirectory;
+
+            synchronized (this)
+            {
+                wasDirectory = knownDirectories.contains(path);
+                knownDirectories.removeIf(knownDirectory -> knownDirectory.startsWith(path));
+            }
+
+            if (wasDirectory)
+            {
+                listener.onDirectoryDelete(file);
+            }
+            else
+            {
+                listener.onFileDelete(file);
+            }
+        }
+        else if ((kind == StandardWatchEventKinds.ENTRY_MODIFY) && (file.isFile()))
+        {
+            listener.onFileChange(file);
+        }
+    }
+}
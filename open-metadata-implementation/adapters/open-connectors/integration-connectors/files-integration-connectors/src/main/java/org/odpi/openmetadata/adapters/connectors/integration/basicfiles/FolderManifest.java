@@ -0,0 +1,369 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+
+/**
+ * FolderManifest records the size, modification time and (optionally) a checksum of each file in a folder that has
+ * been catalogued.  The refresh compares the folder with the manifest so that only the files that have been added,
+ * changed or removed since the last refresh result in calls to the catalog.
+ * <p>
+ * If a manifest file is supplied, the manifest is saved to it after each refresh so it survives a restart of the
+ * connector.  The file is written to a temporary file first and then renamed so a failure part way through leaves
+ * the previous manifest in place.
+ * <p>
+ * The manifest also records the unique identifier of the folder's entry in the catalog.  A saved manifest is only
+ * trusted if the catalog still has the same folder entry, so pointing the connector at a different metadata server,
+ * or removing the folder from the catalog, causes a full refresh rather than leaving files out of the catalog.
+ */
+class FolderManifest
+{
+    private static final int manifestFormatIdentifier = 0x45464d31;  // EFM1
+    private static final int noChecksum               = -1;
+
+    private final File                   manifestFile;
+    private final boolean                useChecksums;
+    private final Map<String, FileState> fileStates = new HashMap<>();
+
+    private String  folderGUID  = null;
+    private boolean hasBaseline = false;
+    private boolean changed     = false;
+
+
+    /**
+     * Constructor.
+     *
+     * @param manifestFile file to save the manifest in - or null to only keep it in memory
+     * @param useChecksums compare the content of files whose size or modification time has changed
+     */
+    FolderManifest(File    manifestFile,
+                   boolean useChecksums)
+    {
+        this.manifestFile = manifestFile;
+        this.useChecksums = useChecksums;
+    }
+
+
+    /**
+     * Return the name of the file that the manifest is saved in.
+     *
+     * @return file name or null
+     */
+    String getManifestFileName()
+    {
+        if (manifestFile == null)
+        {
+            return null;
+        }
+
+        return manifestFile.getAbsolutePath();
+    }
+
+
+    /**
+     * Read the manifest saved by an earlier run of the connector.
+     *
+     * @throws IOException the manifest could not be read
+     */
+    synchronized void load() throws IOException
+    {
+        if ((manifestFile != null) && (manifestFile.exists()))
+        {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(manifestFile))))
+            {
+                if (input.readInt() != manifestFormatIdentifier)
+                {
+                    throw new IOException("File " + manifestFile.getAbsolutePath() + " is not a folder manifest");
+                }
+
+                String savedFolderGUID = null;
+
+                if (input.readBoolean())
+                {
+                    savedFolderGUID = input.readUTF();
+                }
+
+                int fileCount = input.readInt();
+
+                folderGUID = savedFolderGUID;
+                fileStates.clear();
+
+                for (int i = 0; i < fileCount; i++)
+                {
+                    String fileName = input.readUTF();
+
+                    fileStates.put(fileName, new FileState(input.readLong(), input.readLong(), input.readLong()));
+                }
+
+                hasBaseline = true;
+                changed     = false;
+            }
+        }
+    }
+
+
+    /**
+     * Save the manifest if it has changed since it was loaded or last saved.
+     *
+     * @throws IOException the manifest could not be written
+     */
+    synchronized void save() throws IOException
+    {
+        if ((manifestFile != null) && (changed))
+        {
+            File temporaryFile = new File(manifestFile.getAbsolutePath() + ".tmp");
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+            {
+                output.writeInt(manifestFormatIdentifier);
+                output.writeBoolean(folderGUID != null);
+
+                if (folderGUID != null)
+                {
+                    output.writeUTF(folderGUID);
+                }
+
+                output.writeInt(fileStates.size());
+
+                for (Map.Entry<String, FileState> fileState : fileStates.entrySet())
+                {
+                    output.writeUTF(fileState.getKey());
+                    output.writeLong(fileState.getValue().size);
+                    output.writeLong(fileState.getValue().modifiedTime);
+                    output.writeLong(fileState.getValue().checksum);
+                }
+            }
+
+            Files.move(temporaryFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            changed = false;
+        }
+
+        hasBaseline = true;
+    }
+
+
+    /**
+     * Check that the manifest describes the catalog that the connector is using.  A manifest that lists files is
+     * only valid if it was saved with the unique identifier of the folder's current catalog entry.  If it is not
+     * valid, its content is discarded so the next refresh treats every file as new and checks every catalogued file.
+     *
+     * @param currentFolderGUID unique identifier of the folder's entry in the catalog - or null if it has no entry
+     * @return whether the manifest was valid
+     */
+    synchronized boolean validateFolder(String currentFolderGUID)
+    {
+        if ((fileStates.isEmpty()) || ((folderGUID != null) && (folderGUID.equals(currentFolderGUID))))
+        {
+            return true;
+        }
+
+        fileStates.clear();
+        folderGUID  = null;
+        hasBaseline = false;
+        changed     = true;
+
+        return false;
+    }
+
+
+    /**
+     * Record the unique identifier of the folder's entry in the catalog.  It is saved with the manifest.
+     *
+     * @param currentFolderGUID unique identifier of the folder's entry in the catalog - or null if it has no entry
+     */
+    synchronized void setFolderGUID(String currentFolderGUID)
+    {
+        if ((currentFolderGUID != null) && (! currentFolderGUID.equals(folderGUID)))
+        {
+            folderGUID = currentFolderGUID;
+            changed    = true;
+        }
+    }
+
+
+    /**
+     * Return whether the manifest describes the folder as it was at the end of an earlier refresh.  If not, files
+     * may have been removed from the folder (and not from the catalog) while the connector was not running.
+     *
+     * @return boolean flag
+     */
+    synchronized boolean hasBaseline()
+    {
+        return hasBaseline;
+    }
+
+
+    /**
+     * Return the names of the files in the manifest.
+     *
+     * @return set of file names
+     */
+    synchronized Set<String> getFileNames()
+    {
+        return new HashSet<>(fileStates.keySet());
+    }
+
+
+    /**
+     * Compare a file with the manifest.  If the size or modification time has changed but the checksum has not, the
+     * manifest is updated and the file is reported as unchanged.
+     *
+     * @param file file in the folder
+     * @return whether the file is new, changed or unchanged
+     * @throws IOException unable to read the file to compute the checksum
+     */
+    FileChange getFileChange(File file) throws IOException
+    {
+        FileState fileState;
+
+        synchronized (this)
+        {
+            fileState = fileStates.get(file.getName());
+        }
+
+        if (fileState == null)
+        {
+            return FileChange.NEW;
+        }
+
+        long size         = file.length();
+        long modifiedTime = file.lastModified();
+
+        if ((fileState.size == size) && (fileState.modifiedTime == modifiedTime))
+        {
+            return FileChange.UNCHANGED;
+        }
+
+        if ((useChecksums) && (fileState.checksum != noChecksum) && (fileState.size == size))
+        {
+            long checksum = computeChecksum(file);
+
+            if (checksum == fileState.checksum)
+            {
+                synchronized (this)
+                {
+                    fileStates.put(file.getName(), new FileState(size, modifiedTime, checksum));
+                    changed = true;
+                }
+
+                return FileChange.UNCHANGED;
+            }
+        }
+
+        return FileChange.CHANGED;
+    }
+
+
+    /**
+     * Record the current state of a file once it has been catalogued.
+     *
+     * @param file file in the folder
+     * @throws IOException unable to read the file to compute the checksum
+     */
+    void recordFile(File file) throws IOException
+    {
+        long size         = file.length();
+        long modifiedTime = file.lastModified();
+        long checksum     = noChecksum;
+
+        if (useChecksums)
+        {
+            checksum = computeChecksum(file);
+        }
+
+        synchronized (this)
+        {
+            fileStates.put(file.getName(), new FileState(size, modifiedTime, checksum));
+            changed = true;
+        }
+    }
+
+
+    /**
+     * Remove a file from the manifest once it has been removed from the catalog.
+     *
+     * @param fileName name of the file within the folder
+     */
+    synchronized void removeFile(String fileName)
+    {
+        if (fileStates.remove(fileName) != null)
+        {
+            changed = true;
+        }
+    }
+
+
+    /**
+     * Return the CRC-32 checksum of the content of a file.
+     *
+     * @param file file to read
+     * @return checksum
+     * @throws IOException unable to read the file
+     */
+    private static long computeChecksum(File file) throws IOException
+    {
+        CRC32  crc    = new CRC32();
+        byte[] buffer = new byte[65536];
+
+        try (InputStream input = new FileInputStream(file))
+        {
+            int bytesRead = input.read(buffer);
+
+            while (bytesRead != -1)
+            {
+                crc.update(buffer, 0, bytesRead);
+                bytesRead = input.read(buffer);
+            }
+        }
+
+        return crc.getValue();
+    }
+
+
+    /**
+     * The result of comparing a file with the manifest.
+     */
+    enum FileChange
+    {
+        NEW,
+        CHANGED,
+        UNCHANGED
+    }
+
+
+    /**
+     * The recorded state of a file.
+     */
+    private static class FileState
+    {
+        private final long size;
+        private final long modifiedTime;
+        private final long checksum;
+
+        FileState(long size, long modifiedTime, long checksum)
+        {
+            this.size         = size;
+            this.modifiedTime = modifiedTime;
+            this.checksum     = checksum;
+        }
+    }
+}
@@ -179,6 +179,55 @@ public enum BasicFilesIntegrationConnectorsAuditCode implements AuditLogMessageS
                               "Its presence is still needed in the metadata repository for lineage reporting.",
                       "No action is required.  This message is to record the reason why the DataFile was archived."),
 
+    DIRECTORY_WATCHING_STARTING("BASIC-FILES-INTEGRATION-CONNECTORS-0021",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The {0} integration connector is using file system notifications to monitor file directory {1}",
+                              "The connector has registered the directory, and the directories below it, with the file system's watch service.  " +
+                                      "A background thread receives the changes to the files as they happen, so the directory is not listed at intervals.",
+                              "No action is required.  If changes to the files are missed, set the monitoringMode configuration property " +
+                                      "to poll and restart the connector."),
+
+    DIRECTORY_POLLING_FALLBACK("BASIC-FILES-INTEGRATION-CONNECTORS-0022",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The {0} integration connector is polling file directory {1} because file system notifications are not available: {2}",
+                              "The connector uses the Apache Commons FileAlterationMonitor to list the directory at intervals.  " +
+                                      "Network file systems do not report changes made by other hosts, so they are always polled.",
+                              "No action is required.  Set the monitoringMode configuration property to watch if the file system does report " +
+                                      "all changes, or to poll to always poll the directory."),
+
+    FILE_EVENTS_LOST("BASIC-FILES-INTEGRATION-CONNECTORS-0023",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The {0} integration connector has been told by the file system that changes to directory {1} were lost",
+                              "The changes arrived faster than the connector processed them.  The connector asks the integration daemon to " +
+                                      "refresh it to pick up the lost changes.  Outside of an integration daemon, they are picked up by the next refresh.",
+                              "No action is required.  If this message is frequent, consider monitoring fewer files with each connector."),
+
+    UNEXPECTED_EXC_MANIFEST("BASIC-FILES-INTEGRATION-CONNECTORS-0024",
+                              OMRSAuditLogRecordSeverity.EXCEPTION,
+                              "An unexpected {0} exception was received by the {1} integration connector while it was reading or writing the " +
+                                      "manifest {2} of directory {3}.  The error message was {4}",
+                              "The manifest records the files that were catalogued by the last refresh.  Without it, the next refresh " +
+                                      "checks every file in the directory with the catalog.",
+                              "Use the message in the unexpected exception to determine the root cause of the error.  Check that the " +
+                                      "directory named in the manifestDirectory configuration property exists and can be written to."),
+
+    DATA_FILES_REFRESHED("BASIC-FILES-INTEGRATION-CONNECTORS-0025",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The {0} integration connector has refreshed the catalog for directory {1}: {2} new files, {3} changed files, " +
+                                      "{4} removed files, {5} unchanged files and {6} failures",
+                              "The connector compared the files in the directory with its manifest and only called the catalog for the " +
+                                      "files that had changed.",
+                              "No action is required unless there are failures.  The failures are described in earlier messages."),
+
+    MANIFEST_NOT_FOR_CATALOG("BASIC-FILES-INTEGRATION-CONNECTORS-0026",
+                              OMRSAuditLogRecordSeverity.INFO,
+                              "The {0} integration connector has discarded its manifest of directory {1} because it does not match the " +
+                                      "directory's entry in the catalog",
+                              "The manifest was saved for a different catalog entry for the directory.  Either the connector is using a " +
+                                      "different metadata server or the directory has been removed from the catalog.  The connector checks " +
+                                      "every file in the directory with the catalog.",
+                              "No action is required."),
+
 
     ;
 
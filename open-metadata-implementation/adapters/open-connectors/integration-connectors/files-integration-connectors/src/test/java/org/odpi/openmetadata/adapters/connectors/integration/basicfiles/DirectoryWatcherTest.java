@@ -0,0 +1,213 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import org.apache.commons.io.monitor.FileAlterationListenerAdaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that DirectoryWatcher passes the file system events for a directory tree to the listener, including the
+ * content of directories that are moved into the tree.
+ */
+public class DirectoryWatcherTest
+{
+    private static final long eventTimeout = 10000;
+
+    private File             testDirectory = null;
+    private File             watchedDirectory = null;
+    private DirectoryWatcher directoryWatcher = null;
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+
+    /**
+     * Listener that records the events it receives.
+     */
+    private class RecordingListener extends FileAlterationListenerAdaptor
+    {
+        @Override
+        public void onDirectoryCreate(File directory)
+        {
+            events.add("directoryCreate:" + getRelativePath(directory));
+        }
+
+        @Override
+        public void onDirectoryDelete(File directory)
+        {
+            events.add("directoryDelete:" + getRelativePath(directory));
+        }
+
+        @Override
+        public void onFileCreate(File file)
+        {
+            events.add("fileCreate:" + getRelativePath(file));
+        }
+
+        @Override
+        public void onFileChange(File file)
+        {
+            events.add("fileChange:" + getRelativePath(file));
+        }
+
+        @Override
+        public void onFileDelete(File file)
+        {
+            events.add("fileDelete:" + getRelativePath(file));
+        }
+    }
+
+
+    /**
+     * Create a watched directory and start the watcher.
+     *
+     * @throws IOException unable to create the directory
+     */
+    @BeforeMethod public void setUp() throws IOException
+    {
+        events.clear();
+
+        testDirectory    = Files.createTempDirectory("directory-watcher-test").toFile();
+        watchedDirectory = new File(testDirectory, "watched");
+
+        assertTrue(new File(watchedDirectory, "existing").mkdirs());
+
+        directoryWatcher = new DirectoryWatcher(new RecordingListener(), () -> events.add("overflow"));
+        directoryWatcher.watchDirectory(watchedDirectory);
+        directoryWatcher.start("DirectoryWatcherTest");
+    }
+
+
+    /**
+     * Stop the watcher and remove the test directory.
+     *
+     * @throws IOException unable to remove the directory
+     */
+    @AfterMethod public void tearDown() throws IOException
+    {
+        directoryWatcher.stop();
+
+        try (Stream<File> files = Files.walk(testDirectory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile))
+        {
+            files.forEach(File::delete);
+        }
+    }
+
+
+    /**
+     * Return the path of a file relative to the watched directory.
+     *
+     * @param file file
+     * @return relative path using forward slashes
+     */
+    private String getRelativePath(File file)
+    {
+        return watchedDirectory.toPath().toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+    }
+
+
+    /**
+     * Wait for an event to be received.
+     *
+     * @param event expected event
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void waitForEvent(String event) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + eventTimeout;
+
+        while ((! events.contains(event)) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(50);
+        }
+
+        assertTrue(events.contains(event), "Event " + event + " not received; received " + events);
+    }
+
+
+    /**
+     * Validate that files created, changed and deleted in the watched directory and in existing directories below
+     * it are reported.
+     *
+     * @throws Exception problem with the test files
+     */
+    @Test public void testFileEvents() throws Exception
+    {
+        File file       = new File(watchedDirectory, "data.csv");
+        File nestedFile = new File(watchedDirectory, "existing/nested.csv");
+
+        Files.write(file.toPath(), "a,b,c".getBytes());
+        Files.write(nestedFile.toPath(), "a,b,c".getBytes());
+
+        waitForEvent("fileCreate:data.csv");
+        waitForEvent("fileCreate:existing/nested.csv");
+
+        Files.write(file.toPath(), "a,b,c,d".getBytes());
+
+        waitForEvent("fileChange:data.csv");
+
+        assertTrue(file.delete());
+        assertTrue(nestedFile.delete());
+
+        waitForEvent("fileDelete:data.csv");
+        waitForEvent("fileDelete:existing/nested.csv");
+    }
+
+
+    /**
+     * Validate that when a directory tree is moved into the watched directory, every directory and file in the tree
+     * is reported and the new directories are watched.
+     *
+     * @throws Exception problem with the test files
+     */
+    @Test public void testNewDirectoryTree() throws Exception
+    {
+        File tree = new File(testDirectory, "tree");
+
+        assertTrue(new File(tree, "level1/level2").mkdirs());
+        Files.write(new File(tree, "top.csv").toPath(), "1".getBytes());
+        Files.write(new File(tree, "level1/middle.csv").toPath(), "2".getBytes());
+        Files.write(new File(tree, "level1/level2/bottom.csv").toPath(), "3".getBytes());
+
+        Files.move(tree.toPath(), new File(watchedDirectory, "tree").toPath());
+
+        waitForEvent("directoryCreate:tree");
+        waitForEvent("directoryCreate:tree/level1");
+        waitForEvent("directoryCreate:tree/level1/level2");
+        waitForEvent("fileCreate:tree/top.csv");
+        waitForEvent("fileCreate:tree/level1/middle.csv");
+        waitForEvent("fileCreate:tree/level1/level2/bottom.csv");
+
+        /*
+         * The directories in the tree are now watched too.
+         */
+        Files.write(new File(watchedDirectory, "tree/level1/level2/later.csv").toPath(), "4".getBytes());
+
+        waitForEvent("fileCreate:tree/level1/level2/later.csv");
+    }
+
+
+    /**
+     * Validate that deleting a watched directory is reported as a directory delete.
+     *
+     * @throws Exception problem with the test files
+     */
+    @Test public void testDirectoryDelete() throws Exception
+    {
+        assertTrue(new File(watchedDirectory, "existing").delete());
+
+        waitForEvent("directoryDelete:existing");
+    }
+}
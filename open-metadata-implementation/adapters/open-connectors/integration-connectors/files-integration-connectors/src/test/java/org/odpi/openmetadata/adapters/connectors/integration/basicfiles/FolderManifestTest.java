@@ -0,0 +1,243 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that FolderManifest detects new, changed and removed files, survives a restart and is discarded when it
+ * does not match the folder's catalog entry.
+ */
+public class FolderManifestTest
+{
+    private File testDirectory = null;
+
+
+    /**
+     * Create an empty directory for each test.
+     *
+     * @throws IOException unable to create the directory
+     */
+    @BeforeMethod public void setUp() throws IOException
+    {
+        testDirectory = Files.createTempDirectory("folder-manifest-test").toFile();
+    }
+
+
+    /**
+     * Remove the test directory.
+     *
+     * @throws IOException unable to remove the directory
+     */
+    @AfterMethod public void tearDown() throws IOException
+    {
+        try (Stream<File> files = Files.walk(testDirectory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile))
+        {
+            files.forEach(File::delete);
+        }
+    }
+
+
+    /**
+     * Write a file in the test directory with a fixed modification time.
+     *
+     * @param fileName name of the file
+     * @param content content of the file
+     * @param modifiedTime modification time
+     * @return file
+     * @throws IOException unable to write the file
+     */
+    private File writeFile(String fileName,
+                           String content,
+                           long   modifiedTime) throws IOException
+    {
+        File file = new File(testDirectory, fileName);
+
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(modifiedTime));
+
+        return file;
+    }
+
+
+    /**
+     * Validate that files are reported as new until they are recorded and as changed when their size or
+     * modification time changes.
+     *
+     * @throws IOException problem with the test files
+     */
+    @Test public void testFileChanges() throws IOException
+    {
+        FolderManifest manifest = new FolderManifest(null, false);
+        File           file     = writeFile("data.csv", "a,b,c", 1000000L);
+
+        assertNull(manifest.getManifestFileName());
+        assertFalse(manifest.hasBaseline());
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.NEW);
+
+        manifest.recordFile(file);
+
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.UNCHANGED);
+        assertEquals(manifest.getFileNames(), Collections.singleton("data.csv"));
+
+        writeFile("data.csv", "a,b,d", 2000000L);
+
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.CHANGED);
+
+        manifest.removeFile("data.csv");
+
+        assertTrue(manifest.getFileNames().isEmpty());
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.NEW);
+
+        manifest.save();
+
+        assertTrue(manifest.hasBaseline());
+    }
+
+
+    /**
+     * Validate that, with checksums, a file that is touched but not changed is reported as unchanged and a file
+     * whose content changes without changing size is reported as changed.
+     *
+     * @throws IOException problem with the test files
+     */
+    @Test public void testChecksums() throws IOException
+    {
+        FolderManifest manifest = new FolderManifest(null, true);
+        File           file     = writeFile("data.csv", "a,b,c", 1000000L);
+
+        manifest.recordFile(file);
+
+        writeFile("data.csv", "a,b,c", 2000000L);
+
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.UNCHANGED);
+
+        writeFile("data.csv", "a,b,d", 3000000L);
+
+        assertEquals(manifest.getFileChange(file), FolderManifest.FileChange.CHANGED);
+    }
+
+
+    /**
+     * Validate that a saved manifest is loaded by a new instance along with the folder's unique identifier.
+     *
+     * @throws IOException problem with the test files
+     */
+    @Test public void testSaveAndLoad() throws IOException
+    {
+        File manifestDirectory = new File(testDirectory, "manifests");
+
+        assertTrue(manifestDirectory.mkdir());
+
+        File           manifestFile = new File(manifestDirectory, "data.manifest");
+        FolderManifest manifest     = new FolderManifest(manifestFile, true);
+        File           firstFile    = writeFile("first.csv", "1,2,3", 1000000L);
+        File           secondFile   = writeFile("second.csv", "4,5,6", 1000000L);
+
+        manifest.recordFile(firstFile);
+        manifest.recordFile(secondFile);
+        manifest.setFolderGUID("folder-guid");
+        manifest.save();
+
+        assertTrue(manifestFile.exists());
+        assertFalse(new File(manifestDirectory, "data.manifest.tmp").exists());
+
+        FolderManifest loadedManifest = new FolderManifest(manifestFile, true);
+
+        loadedManifest.load();
+
+        assertTrue(loadedManifest.hasBaseline());
+        assertTrue(loadedManifest.validateFolder("folder-guid"));
+        assertEquals(loadedManifest.getFileNames().size(), 2);
+        assertEquals(loadedManifest.getFileChange(firstFile), FolderManifest.FileChange.UNCHANGED);
+        assertEquals(loadedManifest.getFileChange(secondFile), FolderManifest.FileChange.UNCHANGED);
+
+        /*
+         * A manifest with no file for it is simply empty.
+         */
+        FolderManifest missingManifest = new FolderManifest(new File(manifestDirectory, "missing.manifest"), true);
+
+        missingManifest.load();
+
+        assertFalse(missingManifest.hasBaseline());
+        assertTrue(missingManifest.getFileNames().isEmpty());
+    }
+
+
+    /**
+     * Validate that a manifest saved for a different catalog entry is discarded.
+     *
+     * @throws IOException problem with the test files
+     */
+    @Test public void testValidateFolder() throws IOException
+    {
+        File           manifestFile = new File(testDirectory, "data.manifest");
+        FolderManifest manifest     = new FolderManifest(manifestFile, false);
+
+        assertTrue(manifest.validateFolder(null));
+
+        manifest.recordFile(writeFile("data.csv", "a,b,c", 1000000L));
+        manifest.setFolderGUID("old-folder-guid");
+        manifest.save();
+
+        FolderManifest loadedManifest = new FolderManifest(manifestFile, false);
+
+        loadedManifest.load();
+
+        assertFalse(loadedManifest.validateFolder("new-folder-guid"));
+        assertFalse(loadedManifest.hasBaseline());
+        assertTrue(loadedManifest.getFileNames().isEmpty());
+
+        loadedManifest = new FolderManifest(manifestFile, false);
+        loadedManifest.load();
+
+        assertFalse(loadedManifest.validateFolder(null));
+
+        /*
+         * A manifest that lists files but was saved before the folder was catalogued can not be trusted either.
+         */
+        FolderManifest unknownFolderManifest = new FolderManifest(null, false);
+
+        unknownFolderManifest.recordFile(new File(testDirectory, "data.csv"));
+
+        assertFalse(unknownFolderManifest.validateFolder("folder-guid"));
+    }
+
+
+    /**
+     * Validate that a file that is not a manifest is rejected.
+     *
+     * @throws IOException problem with the test files
+     */
+    @Test public void testNotAManifest() throws IOException
+    {
+        FolderManifest manifest = new FolderManifest(writeFile("data.manifest", "not a manifest", 1000000L), false);
+
+        try
+        {
+            manifest.load();
+            fail("Loaded a file that is not a manifest");
+        }
+        catch (IOException expected)
+        {
+            assertFalse(manifest.hasBaseline());
+        }
+    }
+}
@@ -9,31 +9,36 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * In memory entity neighbourhood processing to return the entities and relationships that radiate out from the supplied entity GUID.
  * The results are scoped both the instance type guids, classifications, status and the level.
+ * <p>
+ * The graph is built breadth first.  The relationships of each entity are located through an index of relationships by
+ * entity rather than by scanning the relationship store.  The entities at the same distance from the root (the frontier)
+ * are expanded on the calling thread since the lookups into the store are synchronized.
  */
 class InMemoryEntityNeighbourhood
 {
-    private OMRSRepositoryValidator   repositoryValidator;
-    private OMRSRepositoryHelper      repositoryHelper;
-    private String                    repositoryName;
-    private Map<String, EntityDetail> entityStore;
-    private Map<String, Relationship> relationshipStore;
-    private String                    rootEntityGUID;
-    private List<String>              entityTypeGUIDs;
-    private List<String>              relationshipTypeGUIDs;
-    private List<InstanceStatus>      limitResultsByStatus;
-    private List<String>              limitResultsByClassification;
-    private int                       level;
-    private Set<String>               graphEntities          = new HashSet<>();
-    private Set<String>               graphRelationships     = new HashSet<>();
-    private Map<String, Set<String>>  entityToRelationships  = new HashMap<>();
-    private Map<String, Set<String>>  relationshipToEntities = new HashMap<>();
+    private final OMRSRepositoryValidator            repositoryValidator;
+    private final OMRSRepositoryHelper               repositoryHelper;
+    private final String                             repositoryName;
+    private final Function<String, EntityDetail>     entityLookup;
+    private final Function<String, Relationship>     relationshipLookup;
+    private final Function<String, Set<String>>      relationshipIndex;
+    private final String                             rootEntityGUID;
+    private final List<String>                       entityTypeGUIDs;
+    private final List<String>                       relationshipTypeGUIDs;
+    private final List<InstanceStatus>               limitResultsByStatus;
+    private final List<String>                       limitResultsByClassification;
+    private final int                                level;
+    private List<String>                             entityTypeNames        = null;
+    private final Map<String, EntityDetail>          graphEntities          = new LinkedHashMap<>();
+    private final Map<String, Relationship>          graphRelationships     = new LinkedHashMap<>();
 
     /**
-     * Constructor
+     * Constructor used when the entities and relationships have already been extracted into maps.
      *
      * @param repositoryHelper             helper methods when calling the repository connector
      * @param repositoryName               name of this repository
@@ -62,12 +67,104 @@ class InMemoryEntityNeighbourhood
                                 List<InstanceStatus>      limitResultsByStatus,
                                 List<String>              limitResultsByClassification,
                                 int                       level)
+    {
+        this(repositoryHelper,
+             repositoryName,
+             repositoryValidator,
+             entityStore::get,
+             relationshipStore::get,
+             buildRelationshipIndex(relationshipStore),
+             rootEntityGUID,
+             entityTypeGUIDs,
+             relationshipTypeGUIDs,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             level);
+    }
+
+
+    /**
+     * Constructor used to traverse the repository store directly.  Only the instances that are reached are retrieved,
+     * as they were at the asOfTime.
+     *
+     * @param repositoryHelper             helper methods when calling the repository connector
+     * @param repositoryName               name of this repository
+     * @param repositoryValidator          repository validator
+     * @param repositoryStore              in memory store of instances
+     * @param asOfTime                     time for the graph (or null means now)
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.  Null means include
+     *                                     all entities found, irrespective of their type.
+     * @param limitResultsByStatus         By default, relationships in all statuses are returned.  However, it is possible
+     *                                     to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                                     status values.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     */
+    InMemoryEntityNeighbourhood(OMRSRepositoryHelper      repositoryHelper,
+                                String                    repositoryName,
+                                OMRSRepositoryValidator   repositoryValidator,
+                                InMemoryOMRSMetadataStore repositoryStore,
+                                Date                      asOfTime,
+                                String                    rootEntityGUID,
+                                List<String>              entityTypeGUIDs,
+                                List<String>              relationshipTypeGUIDs,
+                                List<InstanceStatus>      limitResultsByStatus,
+                                List<String>              limitResultsByClassification,
+                                int                       level)
+    {
+        this(repositoryHelper,
+             repositoryName,
+             repositoryValidator,
+             guid -> repositoryStore.timeWarpEntity(guid, asOfTime),
+             guid -> repositoryStore.timeWarpRelationship(guid, asOfTime),
+             repositoryStore::getRelationshipGUIDsForEntity,
+             rootEntityGUID,
+             entityTypeGUIDs,
+             relationshipTypeGUIDs,
+             limitResultsByStatus,
+             limitResultsByClassification,
+             level);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param repositoryHelper             helper methods when calling the repository connector
+     * @param repositoryName               name of this repository
+     * @param repositoryValidator          repository validator
+     * @param entityLookup                 returns the entity for a guid
+     * @param relationshipLookup           returns the relationship for a guid
+     * @param relationshipIndex            returns the guids of the relationships connected to an entity guid
+     * @param rootEntityGUID               the starting point of the query.
+     * @param entityTypeGUIDs              list of entity types to include in the query results.
+     * @param relationshipTypeGUIDs        list of relationship types to include in the query results.
+     * @param limitResultsByStatus         list of statuses to restrict the results to.
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param level                        the number of the relationships out from the starting entity that the query will traverse to
+     */
+    private InMemoryEntityNeighbourhood(OMRSRepositoryHelper           repositoryHelper,
+                                        String                         repositoryName,
+                                        OMRSRepositoryValidator        repositoryValidator,
+                                        Function<String, EntityDetail> entityLookup,
+                                        Function<String, Relationship> relationshipLookup,
+                                        Function<String, Set<String>>  relationshipIndex,
+                                        String                         rootEntityGUID,
+                                        List<String>                   entityTypeGUIDs,
+                                        List<String>                   relationshipTypeGUIDs,
+                                        List<InstanceStatus>           limitResultsByStatus,
+                                        List<String>                   limitResultsByClassification,
+                                        int                            level)
     {
         this.repositoryHelper = repositoryHelper;
         this.repositoryName = repositoryName;
         this.repositoryValidator = repositoryValidator;
-        this.entityStore = entityStore;
-        this.relationshipStore = relationshipStore;
+        this.entityLookup = entityLookup;
+        this.relationshipLookup = relationshipLookup;
+        this.relationshipIndex = relationshipIndex;
         this.rootEntityGUID = rootEntityGUID;
         this.entityTypeGUIDs = entityTypeGUIDs;
         this.relationshipTypeGUIDs = relationshipTypeGUIDs;
@@ -81,359 +178,322 @@ class InMemoryEntityNeighbourhood
             level = 100;
         }
         this.level = level;
-        initializeMaps();
     }
 
+
     /**
-     * Initialize maps that help us traverse between entities and relationships using their guids
+     * Build the index of relationship guids by entity guid for a map of relationships.
+     *
+     * @param relationshipStore relationships to index
+     * @return function returning the relationship guids for an entity guid
      */
-    private void initializeMaps()
+    private static Function<String, Set<String>> buildRelationshipIndex(Map<String, Relationship> relationshipStore)
     {
+        Map<String, Set<String>> entityToRelationships = new HashMap<>();
+
         for (Relationship relationship : relationshipStore.values())
         {
-            String      relationshipGuid     = relationship.getGUID();
-            String      relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String      relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            Set<String> endsGuids            = new HashSet<>();
+            String relationshipGUID = relationship.getGUID();
 
-            endsGuids.add(relationshipEnd1Guid);
-            endsGuids.add(relationshipEnd2Guid);
-            relationshipToEntities.put(relationshipGuid, endsGuids);
-            Set<String> relationshipGuids;
-
-            /*
-             * process end1
-             */
-            if (entityToRelationships.containsKey(relationshipEnd1Guid))
+            for (String entityGUID : Arrays.asList(getEnd1EntityGUID(relationship), getEnd2EntityGUID(relationship)))
             {
-                relationshipGuids = entityToRelationships.get(relationshipEnd1Guid);
-                if (relationshipGuids == null)
+                if (entityGUID != null)
                 {
-                    relationshipGuids = new HashSet<>();
+                    entityToRelationships.computeIfAbsent(entityGUID, guid -> new HashSet<>()).add(relationshipGUID);
                 }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
             }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd1Guid, relationshipGuids);
-            /*
-             * process end2
-             */
-            if (entityToRelationships.containsKey(relationshipEnd2Guid))
-            {
-                relationshipGuids = entityToRelationships.get(relationshipEnd2Guid);
-                if (relationshipGuids == null)
-                {
-                    relationshipGuids = new HashSet<>();
-                }
-            } else
-            {
-                relationshipGuids = new HashSet<>();
-            }
-            relationshipGuids.add(relationshipGuid);
-            entityToRelationships.put(relationshipEnd2Guid, relationshipGuids);
         }
+
+        return entityGUID -> entityToRelationships.getOrDefault(entityGUID, Collections.emptySet());
     }
 
+
     /**
-     * Verify that the supplied relationship and the 2 entities that enclose it are valid, by checking the scoping conditions
+     * Create the instance graph
      *
-     * @param relationship relationship to verify
-     * @return true if valid otherwise false
-     * @throws TypeErrorException type error
+     * @return InstanceGraph  the instance graph that contains the entities and relationships that radiate out from the supplied entity GUID.
+     * @throws TypeErrorException Type error.
      */
-    private boolean verifyRelationshipForEntityNeighbourhood(Relationship relationship) throws TypeErrorException
+    InstanceGraph createInstanceGraph() throws TypeErrorException
     {
-        boolean valid = false;
-        boolean validEntity1 = false;
-        boolean validEntity2 = false;
-        boolean validRelationship = false;
+        resolveEntityTypeNames();
 
-        if (!validateRelationshipAgainstEntityTypes(relationship))
-        {
-           return false;
-        }
+        /*
+         * add the root entity first so the returned graph is consistent.
+         */
+        graphEntities.put(rootEntityGUID, entityLookup.apply(rootEntityGUID));
 
-        if (relationship != null)
+        List<String> frontier = Collections.singletonList(rootEntityGUID);
+
+        for (int currentLevel = 0; currentLevel < this.level && !frontier.isEmpty(); currentLevel++)
         {
-            String relationshipEnd1Guid = getEnd1EntityGUID(relationship);
-            String relationshipEnd2Guid = getEnd2EntityGUID(relationship);
-            EntityDetail entity1 = entityStore.get(relationshipEnd1Guid);
-            EntityDetail entity2 = entityStore.get(relationshipEnd2Guid);
-            if (relationshipTypeGUIDs != null)
+            List<String> nextFrontier = new ArrayList<>();
+
+            for (String frontierEntityGUID : frontier)
             {
-                for (String relationshipTypeGUID : relationshipTypeGUIDs)
+                for (Relationship relationship : expandEntity(frontierEntityGUID))
                 {
-                    if (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship))
+                    if (graphRelationships.putIfAbsent(relationship.getGUID(), relationship) == null)
                     {
-                        validRelationship = true;
-                    }
-                }
-            } else
-            {
-                validRelationship = true;
-            }
-            if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship))
-            {
-                if (limitResultsByClassification == null ||
-                    limitResultsByClassification != null &&
-                    (includeEntityIfClassifiedAppropriately(limitResultsByClassification, entity1) &&
-                    (includeEntityIfClassifiedAppropriately(limitResultsByClassification, entity2))))
-                {
-                    if (entityTypeGUIDs != null) {
-                        if (graphEntities.contains(relationshipEnd1Guid)) {
-                            validEntity1 = true;
-                        }
-                        else {
-                            /*
-                             * If the entity is already included there is no need to test the type of this end entity.
-                             * By omitting the test there is no need to include the root entity type GUID in the
-                             * entityTypeGUIDs filtering list. This is beneficial because, although it could be included
-                             * and the relationship validation would work correctly, if the root type is a higher level (in
-                             * hierarchy terms), inclusion of its type in the filter list will admit all other entities
-                             * of that type or any of its subtypes. A finer-grain graph can be achieved by not
-                             * including the root type and instead not validating the types of entities already visited
-                             * and included in the graph.
-                             */
-
-                            for (String typeGUID1 : entityTypeGUIDs) {
-                                if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID1, entity1)) {
-                                    /*
-                                     * Valid type
-                                     */
-
-                                    if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity1)) {
-                                        validEntity1 = true;
-                                    }
-                                }
-                            }
-                        }
-
-                        if (graphEntities.contains(relationshipEnd2Guid)) {
-                            validEntity2 = true;
-                        }
-                        else {
-                            /*
-                             * If the entity is already included there is no need to test the type of this end entity.
-                             * By omitting the test there is no need to include the root entity type GUID in the
-                             * entityTypeGUIDs filtering list. This is beneficial because, although it could be included
-                             * and the relationship validation would work correctly, if the root type is a higher level (in
-                             * hierarchy terms) inclusion of its type in the filter list will admit all other entities
-                             * of that type or any of its subtypes. A finer-grain graph can be achieved by not
-                             * including the root type and instead not validating the types of entities already visited
-                             * and included in the graph.
-                             */
-
-                            for (String typeGUID2 : entityTypeGUIDs) {
-                                if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID2, entity2)) {
-                                    /*
-                                     * Valid type
-                                     */
-
-                                    if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity2)) {
-                                        validEntity2 = true;
-                                    }
-                                }
+                        /*
+                         * if we have not seen the other end then we need to traverse to it.
+                         */
+                        for (String entityGUID : Arrays.asList(getEnd1EntityGUID(relationship), getEnd2EntityGUID(relationship)))
+                        {
+                            if (!graphEntities.containsKey(entityGUID))
+                            {
+                                graphEntities.put(entityGUID, entityLookup.apply(entityGUID));
+                                nextFrontier.add(entityGUID);
                             }
                         }
-
-                    } else
-                    {
-                        validEntity1 = true;
-                        validEntity2 = true;
                     }
                 }
             }
+
+            frontier = nextFrontier;
         }
 
-        if (validEntity1 && validEntity2 && validRelationship)
+        List<EntityDetail> entityList = new ArrayList<>();
+
+        for (EntityDetail entity : graphEntities.values())
         {
-            valid = true;
+            if (entity != null)
+            {
+                entityList.add(entity);
+            }
         }
-        return valid;
+
+        return new InstanceGraph(entityList, new ArrayList<>(graphRelationships.values()));
     }
 
+
     /**
-     * Check whether the supplied entities have one or more of the required classifications.
-     * The root entity is always always included, irrespective of whether it matches the classifications.
-     * @param limitingClassifications classification names that limit the entity
-     * @param entity entity to check for inclusion against the classification list.
-     * @return whether to include this entity
+     * Look up the names of the entity types that scope the graph so they are only retrieved once.
+     *
+     * @throws TypeErrorException Type error.
      */
-    private boolean includeEntityIfClassifiedAppropriately(List<String> limitingClassifications, EntityDetail entity)
+    private void resolveEntityTypeNames() throws TypeErrorException
+    {
+        final String methodName = "validateRelationshipAgainstEntityTypes";
+
+        if (entityTypeGUIDs != null && !entityTypeGUIDs.isEmpty())
         {
-       boolean  includeEntity = true;
-
-       if (!entity.getGUID().equals(rootEntityGUID))
-       {
-           // returns true if entity is classified appropriately
-           includeEntity =repositoryValidator.verifyEntityIsClassified(limitingClassifications, entity);
-       }
-       return includeEntity;
+            entityTypeNames = new ArrayList<>();
+
+            for (String entityTypeGUID : entityTypeGUIDs)
+            {
+                TypeDef entityTypeDef = repositoryHelper.getTypeDef(repositoryName,
+                                                                    "guid",
+                                                                    entityTypeGUID,
+                                                                    methodName);
+                entityTypeNames.add(entityTypeDef.getName());
+            }
+        }
     }
 
+
     /**
-     * Validate the relationship proxy types against the entity types that are scoping the graph
-     * @param relationship to validate
-     * @return flag indicating whether the relationships proxy types are includes
-     * @throws TypeErrorException Type error.
+     * Return the relationships of an entity in the frontier that should be added to the graph.
+     * The checks are ordered so the ones that only need the relationship are made before the entity at the other end
+     * is retrieved.
+     *
+     * @param entityGUID entity in the frontier
+     * @return list of relationships
      */
-    private boolean validateRelationshipAgainstEntityTypes(Relationship relationship) throws TypeErrorException
+    private List<Relationship> expandEntity(String entityGUID)
     {
-        String methodName  ="validateRelationshipAgainstEntityTypes";
-        boolean valid = false;
-        /*
-         * If we have entityType Guids specified then they will scope this relationship. So we need to check that the relationship
-         * entity types of the ends are in scope
-         *
-         * This check is replaced for an entity that has already been added to the graph. This is slightly more efficient, but
-         * more importantly it means the root entity is always included and entity type filters are only evaluated against the
-         * other (non-root) neighbour entities.
-         */
+        List<Relationship> relationships = new ArrayList<>();
 
-        boolean found1 = false;
-        boolean found2 = false;
+        for (String relationshipGUID : relationshipIndex.apply(entityGUID))
+        {
+            /*
+             * Check to see if we have already visited this relationship
+             */
+            if (graphRelationships.containsKey(relationshipGUID))
+            {
+                continue;
+            }
+
+            Relationship relationship = relationshipLookup.apply(relationshipGUID);
 
-        if (entityTypeGUIDs !=null && !entityTypeGUIDs.isEmpty()) {
+            if (relationship == null)
+            {
+                continue;
+            }
 
-            String end1GUID = relationship.getEntityOneProxy().getGUID();
-            String end2GUID = relationship.getEntityTwoProxy().getGUID();
+            String end1GUID = getEnd1EntityGUID(relationship);
+            String end2GUID = getEnd2EntityGUID(relationship);
 
-            String actualTypeName1 = relationship.getEntityOneProxy().getType().getTypeDefName();
-            String actualTypeName2 = relationship.getEntityTwoProxy().getType().getTypeDefName();
             /*
-             * Need to go through each guid in entityTypeGUIDs and check whether the entity types of each proxy are a subtype of them or not
+             * The index covers every version of the relationship so the ends of the version in use are checked.
              */
-            for (String entityTypeGUID:entityTypeGUIDs)
+            if (entityGUID.equals(end1GUID))
             {
-                TypeDef entityTypeDef = repositoryHelper.getTypeDef(repositoryName,
-                        "guid",
-                        entityTypeGUID,
-                        methodName);
-                if (graphEntities.contains(end1GUID) || repositoryHelper.isTypeOf(methodName, actualTypeName1, entityTypeDef.getName()))
-                {
-                    found1 = true;
-                }
-                if (graphEntities.contains(end2GUID) || repositoryHelper.isTypeOf(methodName, actualTypeName2, entityTypeDef.getName()))
+                if (verifyRelationshipForEntityNeighbourhood(relationship, end2GUID, relationship.getEntityTwoProxy()))
                 {
-                    found2 = true;
+                    relationships.add(relationship);
                 }
             }
-
-            if (found1 && found2)
+            else if (entityGUID.equals(end2GUID))
             {
-                valid = true;
+                if (verifyRelationshipForEntityNeighbourhood(relationship, end1GUID, relationship.getEntityOneProxy()))
+                {
+                    relationships.add(relationship);
+                }
             }
-        } else {
-            /*
-             * No restrictions on relationship
-             */
-            valid = true;
         }
-        return valid;
+
+        return relationships;
     }
 
+
     /**
-     * Create the instance graph
+     * Verify that the supplied relationship and the entity at its other end are valid, by checking the scoping conditions.
+     * The entity that the relationship was reached from is already in the graph.
      *
-     * @return InstanceGraph  the instance graph that contains the entities and relationships that radiate out from the supplied entity GUID.
-     * @throws TypeErrorException Type error.
+     * @param relationship relationship to verify
+     * @param otherEndGUID guid of the entity at the other end of the relationship
+     * @param otherEndProxy proxy for the entity at the other end of the relationship
+     * @return true if valid otherwise false
      */
-    InstanceGraph createInstanceGraph() throws TypeErrorException
+    private boolean verifyRelationshipForEntityNeighbourhood(Relationship relationship,
+                                                             String       otherEndGUID,
+                                                             EntityProxy  otherEndProxy)
     {
-        Set<String> entities = new HashSet<>();
-        Set<String> visitedEntities = new HashSet<>();
-        Set<String> visitedRelationships = new HashSet<>();
-        entities.add(rootEntityGUID);
-        this.createGraph(entities, visitedEntities, visitedRelationships, 0);
-        List<EntityDetail> entityList = new ArrayList<>();
+        if (relationshipTypeGUIDs != null)
+        {
+            boolean validRelationship = false;
+
+            for (String relationshipTypeGUID : relationshipTypeGUIDs)
+            {
+                if (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship))
+                {
+                    validRelationship = true;
+                    break;
+                }
+            }
+
+            if (!validRelationship)
+            {
+                return false;
+            }
+        }
+
+        if (!repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship))
+        {
+            return false;
+        }
+
         /*
-         * add the root entity so the returned graph is consistent.
+         * If the entity is already included there is no need to test the type of this end entity.
+         * By omitting the test there is no need to include the root entity type GUID in the
+         * entityTypeGUIDs filtering list. This is beneficial because, although it could be included
+         * and the relationship validation would work correctly, if the root type is a higher level (in
+         * hierarchy terms), inclusion of its type in the filter list will admit all other entities
+         * of that type or any of its subtypes. A finer-grain graph can be achieved by not
+         * including the root type and instead not validating the types of entities already visited
+         * and included in the graph.
          */
-        List<Relationship> relationshipList = new ArrayList<>();
-        EntityDetail rootEntity = (entityStore.get(rootEntityGUID));
-        entityList.add(rootEntity);
-        for (String entityGuid : this.graphEntities)
+        boolean alreadyInGraph = graphEntities.containsKey(otherEndGUID);
+
+        if (!alreadyInGraph && !validateProxyAgainstEntityTypes(otherEndProxy))
         {
-            if (!entityGuid.equals(rootEntityGUID))
+            return false;
+        }
+
+        EntityDetail otherEnd = entityLookup.apply(otherEndGUID);
+
+        if (limitResultsByClassification != null && !includeEntityIfClassifiedAppropriately(limitResultsByClassification, otherEnd))
+        {
+            return false;
+        }
+
+        if (entityTypeGUIDs != null && !alreadyInGraph)
+        {
+            for (String typeGUID : entityTypeGUIDs)
             {
-                entityList.add(this.entityStore.get(entityGuid));
+                if (repositoryValidator.verifyInstanceType(repositoryName, typeGUID, otherEnd))
+                {
+                    /*
+                     * Valid type
+                     */
+                    if (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, otherEnd))
+                    {
+                        return true;
+                    }
+                }
             }
+
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Check whether the supplied entities have one or more of the required classifications.
+     * The root entity is always always included, irrespective of whether it matches the classifications.
+     * @param limitingClassifications classification names that limit the entity
+     * @param entity entity to check for inclusion against the classification list.
+     * @return whether to include this entity
+     */
+    private boolean includeEntityIfClassifiedAppropriately(List<String> limitingClassifications, EntityDetail entity)
+    {
+        if (entity == null)
+        {
+            return false;
         }
-        for (String relationshipGuid : this.graphRelationships)
+
+        boolean includeEntity = true;
+
+        if (!entity.getGUID().equals(rootEntityGUID))
         {
-            relationshipList.add(this.relationshipStore.get(relationshipGuid));
+            // returns true if entity is classified appropriately
+            includeEntity = repositoryValidator.verifyEntityIsClassified(limitingClassifications, entity);
         }
-        return new InstanceGraph(entityList, relationshipList);
+        return includeEntity;
     }
 
+
     /**
-     * CreateGraph populates maps with entities and relationships that are required in the instance graph. This is a recursive method that is called for each level that is required.
+     * Validate the type of the relationship proxy for an entity that is not yet in the graph against the entity types
+     * that are scoping the graph.
      *
-     * @param entities             the entities on which we need to find the relationships out to the radiated level out.
-     * @param visitedEntities      the entities that have already been visited (seen)
-     * @param visitedRelationships the relationship that have already been visited (seen)
-     * @param currentLevel         the current level
-     * @throws TypeErrorException Type error.
+     * @param entityProxy proxy to validate
+     * @return flag indicating whether the proxy type is included
      */
-    private void createGraph(Set<String> entities, Set<String> visitedEntities, Set<String> visitedRelationships, int currentLevel) throws TypeErrorException
+    private boolean validateProxyAgainstEntityTypes(EntityProxy entityProxy)
     {
+        final String methodName = "validateRelationshipAgainstEntityTypes";
 
-        Set<String> nextEntitySet = new HashSet<>();
-        for (String entityGuid : entities)
-        {
-            if (currentLevel == 0) {
-                graphEntities.add(entityGuid);
-            }
-            if (currentLevel < this.level) {
-                Set<String> relationships = this.entityToRelationships.get(entityGuid);
-                if (relationships != null) {
-                    for (String relationshipGuid : relationships) {
-                        Relationship relationship = this.relationshipStore.get(relationshipGuid);
-                        /*
-                         * Check to see if we have already visited this relationship
-                         */
-                        if (!visitedRelationships.contains(relationshipGuid)) {
-                            if (verifyRelationshipForEntityNeighbourhood(relationship)) {
-                                /*
-                                 * valid relationship and entities
-                                 */
-                                graphEntities.add(entityGuid);
-                                final String end1Guid = getEnd1EntityGUID(relationship);
-                                final String end2Guid = getEnd2EntityGUID(relationship);
-                                graphRelationships.add(relationshipGuid);
-                                /*
-                                 * add the entities - one end will already be there so will be replaced.
-                                 */
-                                graphEntities.add(end1Guid);
-                                graphEntities.add(end2Guid);
-                                /*
-                                 * if we have not seen the other end then we need to traverse to it.
-                                 */
-                                if (end1Guid.equals(entityGuid) && !visitedEntities.contains(end2Guid)) {
-                                    nextEntitySet.add(end2Guid);
-                                }
-                                if (end2Guid.equals(entityGuid) && !visitedEntities.contains(end1Guid)) {
-                                    nextEntitySet.add(end1Guid);
-                                }
-                                visitedEntities.add(end1Guid);
-                                visitedEntities.add(end2Guid);
-                                visitedRelationships.add(relationshipGuid);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        int nextLevel = currentLevel + 1;
-        if (nextLevel <= this.level && nextEntitySet.size() > 0)
+        if (entityTypeNames == null)
         {
             /*
-             * recurse
+             * No restrictions on relationship
              */
-            createGraph(nextEntitySet, visitedEntities, visitedRelationships, nextLevel);
+            return true;
+        }
+
+        if (entityProxy == null || entityProxy.getType() == null)
+        {
+            return false;
         }
+
+        String actualTypeName = entityProxy.getType().getTypeDefName();
+
+        /*
+         * Need to go through each entity type and check whether the entity type of the proxy is a subtype of it or not
+         */
+        for (String entityTypeName : entityTypeNames)
+        {
+            if (repositoryHelper.isTypeOf(methodName, actualTypeName, entityTypeName))
+            {
+                return true;
+            }
+        }
+
+        return false;
     }
 
 
@@ -443,7 +503,7 @@ class InMemoryEntityNeighbourhood
      * @param relationship relationship to parse
      * @return String unique identifier
      */
-    private String getEnd1EntityGUID(Relationship relationship)
+    private static String getEnd1EntityGUID(Relationship relationship)
     {
         if (relationship != null)
         {
@@ -466,7 +526,7 @@ class InMemoryEntityNeighbourhood
      * @param relationship relationship to parse
      * @return String unique identifier
      */
-    private String getEnd2EntityGUID(Relationship relationship)
+    private static String getEnd2EntityGUID(Relationship relationship)
     {
         if (relationship != null)
         {
@@ -482,4 +542,4 @@ class InMemoryEntityNeighbourhood
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,1057 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * InMemoryOMRSDurableStore keeps a copy of the in-memory store on disk so that its content survives a restart
+ * of the server.  Each change to the store is appended to a write-ahead log.  Callers wait for their change to
+ * be forced to disk, and the changes of callers that are waiting at the same time are written together (group commit).
+ * Periodically the whole store is written to a snapshot file and a new log is started.
+ * When the server restarts, the snapshot is loaded and the log written since the snapshot is replayed.
+ *
+ * The files are kept in a directory named in the configuration properties of the repository connector's connection.
+ * The file names begin with the metadata collection id so the directory may be shared by servers:
+ * <ul>
+ *     <li>{metadataCollectionId}.snapshot - the content of the store at the last checkpoint</li>
+ *     <li>{metadataCollectionId}.{generation}.log - the changes made since the snapshot was taken</li>
+ * </ul>
+ *
+ * Each record in both files is a binary header (payload length, CRC-32 checksum and operation code) followed by
+ * the instance in its standard JSON form.  The checksum means an incomplete record at the end of a log (from a crash
+ * part way through a write) is detected.  The log is truncated at the last complete record and a new snapshot is
+ * written before the store is used so the changes made after recovery are never behind a damaged record.
+ *
+ * If a change can not be written to the log, the store is marked as failed and rejects all further changes
+ * because the files no longer match the in-memory content.
+ */
+class InMemoryOMRSDurableStore
+{
+    private static final int    snapshotMagic       = 0x45474d53;   // EGMS
+    private static final int    logMagic            = 0x45474d4c;   // EGML
+    private static final int    formatVersion       = 1;
+    private static final int    recordHeaderLength  = 9;
+    private static final String snapshotFileSuffix  = ".snapshot";
+    private static final String logFileSuffix       = ".log";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * StoreOperation describes the changes to the in-memory store that are recorded in the files.
+     */
+    enum StoreOperation
+    {
+        PUT_ENTITY               (1,  EntityDetail.class),
+        UPDATE_ENTITY            (2,  EntityDetail.class),
+        RESTORE_ENTITY           (3,  EntityDetail.class),
+        PURGE_ENTITY             (4,  String.class),
+        ENTITY_HISTORY           (5,  EntityDetail.class),
+        PUT_ENTITY_PROXY         (6,  EntityProxy.class),
+        PURGE_ENTITY_PROXY       (7,  String.class),
+        PUT_RELATIONSHIP         (8,  Relationship.class),
+        UPDATE_RELATIONSHIP      (9,  Relationship.class),
+        RESTORE_RELATIONSHIP     (10, Relationship.class),
+        PURGE_RELATIONSHIP       (11, Relationship.class),
+        RELATIONSHIP_HISTORY     (12, Relationship.class);
+
+        private final byte      code;
+        private final Class<?>  payloadClass;
+
+        StoreOperation(int code, Class<?> payloadClass)
+        {
+            this.code = (byte)code;
+            this.payloadClass = payloadClass;
+        }
+
+        /**
+         * Return the operation for a code read from a file.
+         *
+         * @param code operation code
+         * @return operation or null if the code is not known
+         */
+        static StoreOperation getOperation(byte code)
+        {
+            for (StoreOperation operation : StoreOperation.values())
+            {
+                if (operation.code == code)
+                {
+                    return operation;
+                }
+            }
+
+            return null;
+        }
+    }
+
+
+    private final File                     directory;
+    private final String                   metadataCollectionId;
+    private final String                   repositoryName;
+    private final AuditLog                 auditLog;
+    private final long                     checkpointInterval;
+
+    /*
+     * The lock protects the log records waiting to be written and the positions of the log.
+     */
+    private final ReentrantLock            logLock           = new ReentrantLock();
+    private final Condition                logCommitted      = logLock.newCondition();
+    private final ByteArrayOutputStream    pendingRecords    = new ByteArrayOutputStream();
+    private long                           appendedPosition  = 0;
+    private long                           committedPosition = 0;
+    private boolean                        committing        = false;
+    private boolean                        closed            = false;
+    private FileChannel                    logChannel        = null;
+    private long                           logGeneration     = 0;
+    private long                           checkpointedPosition = 0;
+    private IOException                    failure           = null;
+    private boolean                        snapshotRequired  = false;
+
+    private ScheduledExecutorService       checkpointService = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param directory directory where the snapshot and log files are kept
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param repositoryName name of the repository for messages
+     * @param auditLog logging destination
+     * @param checkpointInterval number of seconds between checkpoints
+     */
+    InMemoryOMRSDurableStore(String   directory,
+                             String   metadataCollectionId,
+                             String   repositoryName,
+                             AuditLog auditLog,
+                             long     checkpointInterval)
+    {
+        this.directory = new File(directory);
+        this.metadataCollectionId = metadataCollectionId;
+        this.repositoryName = repositoryName;
+        this.auditLog = auditLog;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+
+    /**
+     * Load the snapshot and replay the log into the in-memory store, then open a new log for the changes that follow.
+     * The store is not in use while it is being recovered.  If a log is damaged, it is truncated at its last
+     * complete record and a snapshot is required before the store is used (see isSnapshotRequired).
+     *
+     * @param metadataStore store to load
+     * @throws IOException the files can not be read or the new log can not be created
+     */
+    void recover(InMemoryOMRSMetadataStore metadataStore) throws IOException
+    {
+        final String actionDescription = "Recover in-memory repository";
+
+        Files.createDirectories(directory.toPath());
+
+        File snapshotFile       = getSnapshotFile();
+        long snapshotGeneration = 0;
+        long snapshotRecords    = 0;
+
+        if (snapshotFile.exists())
+        {
+            try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ))
+            {
+                ByteBuffer buffer = this.mapFile(channel, snapshotFile);
+
+                if ((buffer.remaining() < 16) || (buffer.getInt() != snapshotMagic) || (buffer.getInt() != formatVersion))
+                {
+                    throw new IOException("File " + snapshotFile.getPath() + " is not an in-memory repository snapshot");
+                }
+
+                snapshotGeneration = buffer.getLong();
+                snapshotRecords = this.replayRecords(buffer, metadataStore);
+
+                if (buffer.hasRemaining())
+                {
+                    throw new IOException("Snapshot " + snapshotFile.getPath() + " is damaged at offset " + buffer.position());
+                }
+            }
+        }
+
+        /*
+         * The logs from the generation of the snapshot onwards are replayed in order.  Replay stops at the first
+         * incomplete record because the changes after it may depend on the missing change.
+         */
+        long logRecords        = 0;
+        long latestGeneration  = snapshotGeneration;
+        boolean replayStopped  = false;
+        File damagedLogFile    = null;
+        long damagedLogLength  = 0;
+
+        for (Map.Entry<Long, File> logFile : this.getLogFiles().entrySet())
+        {
+            latestGeneration = Math.max(latestGeneration, logFile.getKey());
+
+            if ((logFile.getKey() >= snapshotGeneration) && (! replayStopped))
+            {
+                try (FileChannel channel = FileChannel.open(logFile.getValue().toPath(), StandardOpenOption.READ))
+                {
+                    ByteBuffer buffer     = this.mapFile(channel, logFile.getValue());
+                    long       goodLength = 0;
+
+                    if ((buffer.remaining() >= 8) && (buffer.getInt() == logMagic) && (buffer.getInt() == formatVersion))
+                    {
+                        logRecords = logRecords + this.replayRecords(buffer, metadataStore);
+                        goodLength = buffer.position();
+                    }
+
+                    if (buffer.hasRemaining())
+                    {
+                        replayStopped = true;
+                        damagedLogFile = logFile.getValue();
+                        damagedLogLength = goodLength;
+
+                        if (auditLog != null)
+                        {
+                            auditLog.logMessage(actionDescription,
+                                                OMRSAuditCode.IN_MEMORY_LOG_DAMAGED.getMessageDefinition(repositoryName,
+                                                                                                         logFile.getValue().getPath(),
+                                                                                                         Integer.toString(buffer.position())));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (damagedLogFile != null)
+        {
+            /*
+             * The damaged records are removed so the log can be replayed again if the server stops before the
+             * snapshot is written.  The snapshot replaces the logs that follow the damaged log, which were not replayed.
+             */
+            try (FileChannel channel = FileChannel.open(damagedLogFile.toPath(), StandardOpenOption.WRITE))
+            {
+                channel.truncate(damagedLogLength);
+                channel.force(true);
+            }
+
+            snapshotRequired = true;
+        }
+
+        logChannel = this.openLog(latestGeneration + 1);
+        logGeneration = latestGeneration + 1;
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.IN_MEMORY_REPOSITORY_RECOVERED.getMessageDefinition(repositoryName,
+                                                                                                  Long.toString(snapshotRecords),
+                                                                                                  Long.toString(logRecords),
+                                                                                                  directory.getPath()));
+        }
+    }
+
+
+    /**
+     * Start the regular checkpoints of the store.
+     *
+     * @param metadataStore store to checkpoint
+     */
+    void startCheckpoints(InMemoryOMRSMetadataStore metadataStore)
+    {
+        if (checkpointInterval > 0)
+        {
+            checkpointService = Executors.newSingleThreadScheduledExecutor(runnable ->
+                                                                           {
+                                                                               Thread thread = new Thread(runnable, "InMemoryCheckpoint:" + repositoryName);
+                                                                               thread.setDaemon(true);
+                                                                               return thread;
+                                                                           });
+
+            checkpointService.scheduleWithFixedDelay(metadataStore::checkpoint, checkpointInterval, checkpointInterval, TimeUnit.SECONDS);
+        }
+    }
+
+
+    /**
+     * Check that the store is able to save changes.  This is called before a change is made to the in-memory store.
+     *
+     * @throws RepositoryErrorException an earlier change could not be saved
+     */
+    void validateWritable() throws RepositoryErrorException
+    {
+        final String methodName = "validateWritable";
+
+        logLock.lock();
+
+        try
+        {
+            if (failure != null)
+            {
+                throw this.getStoreFailedException(methodName);
+            }
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Add a change to the log.  This is called while the in-memory store is locked so the records are in the same
+     * order as the changes.  The change is not on disk until waitForCommit returns.
+     *
+     * @param operation type of change
+     * @param payload instance or unique identifier
+     * @return position of the record in the log or 0 if the store is closed
+     * @throws RepositoryErrorException the change can not be added to the log so the store has failed
+     */
+    long append(StoreOperation operation,
+                Object         payload) throws RepositoryErrorException
+    {
+        final String methodName = "append";
+
+        byte[] record;
+
+        try
+        {
+            record = encodeRecord(operation, payload);
+        }
+        catch (IOException error)
+        {
+            this.logError("encode", getLogFile(logGeneration), error);
+
+            logLock.lock();
+
+            try
+            {
+                this.setFailure(error);
+
+                throw this.getStoreFailedException(methodName);
+            }
+            finally
+            {
+                logLock.unlock();
+            }
+        }
+
+        logLock.lock();
+
+        try
+        {
+            if (failure != null)
+            {
+                throw this.getStoreFailedException(methodName);
+            }
+
+            if (closed)
+            {
+                return 0;
+            }
+
+            pendingRecords.write(record, 0, record.length);
+
+            return ++appendedPosition;
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Wait until a record is on disk.  The first caller to find records waiting becomes the writer for all of them
+     * while the other callers wait for it to finish.
+     *
+     * @param position position returned by append
+     * @throws RepositoryErrorException the record could not be written so the store has failed
+     */
+    void waitForCommit(long position) throws RepositoryErrorException
+    {
+        final String methodName = "waitForCommit";
+
+        logLock.lock();
+
+        try
+        {
+            while ((committedPosition < position) && (failure == null) && (! closed))
+            {
+                if (committing)
+                {
+                    logCommitted.awaitUninterruptibly();
+                }
+                else
+                {
+                    this.writePendingRecords();
+                }
+            }
+
+            if ((committedPosition < position) && (failure != null))
+            {
+                throw this.getStoreFailedException(methodName);
+            }
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Write the records waiting in the buffer to the current log and force them to disk.  The lock is held by the
+     * caller and is released while the records are written.  If the write fails, the records are not committed
+     * and the store is marked as failed.  Nothing more is written once the store has failed because the log would
+     * have a gap in it.
+     */
+    private void writePendingRecords()
+    {
+        if (failure != null)
+        {
+            pendingRecords.reset();
+            return;
+        }
+
+        committing = true;
+
+        byte[]      records        = pendingRecords.toByteArray();
+        long        batchPosition  = appendedPosition;
+        FileChannel channel        = logChannel;
+        long        generation     = logGeneration;
+
+        pendingRecords.reset();
+        logLock.unlock();
+
+        IOException writeError = null;
+
+        try
+        {
+            if ((records.length > 0) && (channel != null))
+            {
+                ByteBuffer buffer = ByteBuffer.wrap(records);
+
+                while (buffer.hasRemaining())
+                {
+                    channel.write(buffer);
+                }
+
+                channel.force(false);
+            }
+        }
+        catch (IOException error)
+        {
+            this.logError("write", getLogFile(generation), error);
+            writeError = error;
+        }
+        finally
+        {
+            logLock.lock();
+
+            committing = false;
+
+            if (writeError == null)
+            {
+                committedPosition = Math.max(committedPosition, batchPosition);
+            }
+            else
+            {
+                this.setFailure(writeError);
+            }
+
+            logCommitted.signalAll();
+        }
+    }
+
+
+    /**
+     * Return whether there have been changes since the last checkpoint or a snapshot is required after recovery.
+     *
+     * @return boolean flag
+     */
+    boolean isCheckpointNeeded()
+    {
+        logLock.lock();
+
+        try
+        {
+            return (appendedPosition > checkpointedPosition) || (snapshotRequired);
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Return whether the store must write a snapshot before it is used because a damaged log was found
+     * during recovery.
+     *
+     * @return boolean flag
+     */
+    boolean isSnapshotRequired()
+    {
+        logLock.lock();
+
+        try
+        {
+            return snapshotRequired;
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Finish the current log and start a new one.  This is called while the in-memory store is locked so that the
+     * content passed to writeSnapshot matches the end of the finished log.
+     *
+     * @return generation of the new log
+     * @throws IOException the new log can not be created or the store has failed
+     */
+    long startNewLog() throws IOException
+    {
+        logLock.lock();
+
+        try
+        {
+            while (committing)
+            {
+                logCommitted.awaitUninterruptibly();
+            }
+
+            this.writePendingRecords();
+
+            /*
+             * A snapshot is not taken once the store has failed because the in-memory content includes changes
+             * that the callers were told had failed.
+             */
+            if (failure != null)
+            {
+                throw new IOException("The in-memory repository " + repositoryName + " has failed", failure);
+            }
+
+            /*
+             * The current log stays in use if the new log can not be created.
+             */
+            FileChannel newLogChannel = this.openLog(logGeneration + 1);
+
+            if (logChannel != null)
+            {
+                try
+                {
+                    logChannel.close();
+                }
+                catch (IOException error)
+                {
+                    this.logError("close", getLogFile(logGeneration), error);
+                }
+            }
+
+            logChannel = newLogChannel;
+            logGeneration = logGeneration + 1;
+            checkpointedPosition = appendedPosition;
+
+            return logGeneration;
+        }
+        finally
+        {
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Write the content of the store to a new snapshot and remove the logs that it replaces.  The snapshot is
+     * written to a new file first so a failure part way through leaves the previous snapshot and logs in place.
+     *
+     * @param logGeneration generation of the first log that is not included in the snapshot
+     * @param entities current entities
+     * @param entityHistory previous versions of entities
+     * @param entityProxies entity proxies
+     * @param relationships current relationships
+     * @param relationshipHistory previous versions of relationships
+     */
+    void writeSnapshot(long                     logGeneration,
+                       Collection<EntityDetail> entities,
+                       List<EntityDetail>       entityHistory,
+                       Collection<EntityProxy>  entityProxies,
+                       Collection<Relationship> relationships,
+                       List<Relationship>       relationshipHistory)
+    {
+        File snapshotFile    = getSnapshotFile();
+        File newSnapshotFile = new File(snapshotFile.getPath() + ".new");
+
+        try
+        {
+            try (FileChannel channel = FileChannel.open(newSnapshotFile.toPath(),
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                                        StandardOpenOption.WRITE))
+            {
+                ByteArrayOutputStream snapshotContent = new ByteArrayOutputStream();
+                DataOutputStream      dataStream      = new DataOutputStream(snapshotContent);
+
+                dataStream.writeInt(snapshotMagic);
+                dataStream.writeInt(formatVersion);
+                dataStream.writeLong(logGeneration);
+
+                this.writeSnapshotRecords(channel, snapshotContent, StoreOperation.PUT_ENTITY, entities);
+                this.writeSnapshotRecords(channel, snapshotContent, StoreOperation.ENTITY_HISTORY, entityHistory);
+                this.writeSnapshotRecords(channel, snapshotContent, StoreOperation.PUT_ENTITY_PROXY, entityProxies);
+                this.writeSnapshotRecords(channel, snapshotContent, StoreOperation.PUT_RELATIONSHIP, relationships);
+                this.writeSnapshotRecords(channel, snapshotContent, StoreOperation.RELATIONSHIP_HISTORY, relationshipHistory);
+                this.writeBuffer(channel, snapshotContent);
+
+                channel.force(true);
+            }
+
+            Files.move(newSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (Map.Entry<Long, File> logFile : this.getLogFiles().entrySet())
+            {
+                if (logFile.getKey() < logGeneration)
+                {
+                    Files.deleteIfExists(logFile.getValue().toPath());
+                }
+            }
+
+            logLock.lock();
+
+            try
+            {
+                snapshotRequired = false;
+            }
+            finally
+            {
+                logLock.unlock();
+            }
+        }
+        catch (IOException error)
+        {
+            this.logError("write", newSnapshotFile, error);
+        }
+    }
+
+
+    /**
+     * Stop the regular checkpoints, waiting for any checkpoint in progress to complete.
+     */
+    void stopCheckpoints()
+    {
+        if (checkpointService != null)
+        {
+            checkpointService.shutdown();
+
+            try
+            {
+                checkpointService.awaitTermination(checkpointInterval, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * Write any outstanding records and close the log.
+     */
+    void close()
+    {
+        logLock.lock();
+
+        try
+        {
+            while (committing)
+            {
+                logCommitted.awaitUninterruptibly();
+            }
+
+            this.writePendingRecords();
+
+            closed = true;
+
+            if (logChannel != null)
+            {
+                logChannel.close();
+                logChannel = null;
+            }
+        }
+        catch (IOException error)
+        {
+            this.logError("close", getLogFile(logGeneration), error);
+        }
+        finally
+        {
+            logCommitted.signalAll();
+            logLock.unlock();
+        }
+    }
+
+
+    /**
+     * Create a new log file and write its header.
+     *
+     * @param generation generation of the new log
+     * @return open file positioned after the header
+     * @throws IOException the file can not be created
+     */
+    private FileChannel openLog(long generation) throws IOException
+    {
+        FileChannel channel = FileChannel.open(getLogFile(generation).toPath(),
+                                               StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING,
+                                               StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(8);
+
+        header.putInt(logMagic);
+        header.putInt(formatVersion);
+        header.flip();
+
+        while (header.hasRemaining())
+        {
+            channel.write(header);
+        }
+
+        channel.force(true);
+
+        return channel;
+    }
+
+
+    /**
+     * Add the records for a collection of instances to the snapshot.  The buffer is written to the file as it fills.
+     *
+     * @param channel snapshot file
+     * @param snapshotContent buffer of encoded records
+     * @param operation operation to record for each instance
+     * @param instances instances to write
+     * @throws IOException the file can not be written
+     */
+    private void writeSnapshotRecords(FileChannel           channel,
+                                      ByteArrayOutputStream snapshotContent,
+                                      StoreOperation        operation,
+                                      Collection<?>         instances) throws IOException
+    {
+        final int bufferLimit = 1024 * 1024;
+
+        for (Object instance : instances)
+        {
+            if (instance != null)
+            {
+                byte[] record = encodeRecord(operation, instance);
+
+                snapshotContent.write(record, 0, record.length);
+
+                if (snapshotContent.size() > bufferLimit)
+                {
+                    this.writeBuffer(channel, snapshotContent);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Write the content of a buffer to a file and empty the buffer.
+     *
+     * @param channel file to write to
+     * @param content buffer
+     * @throws IOException the file can not be written
+     */
+    private void writeBuffer(FileChannel           channel,
+                             ByteArrayOutputStream content) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(content.toByteArray());
+
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+
+        content.reset();
+    }
+
+
+    /**
+     * Map a snapshot or log file into memory for reading.
+     *
+     * @param channel open file
+     * @param file file description for messages
+     * @return buffer positioned at the start of the file
+     * @throws IOException the file can not be mapped
+     */
+    private ByteBuffer mapFile(FileChannel channel,
+                               File        file) throws IOException
+    {
+        if (channel.size() > Integer.MAX_VALUE)
+        {
+            throw new IOException("File " + file.getPath() + " is too large to be loaded into the in-memory repository");
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        buffer.load();
+
+        return buffer;
+    }
+
+
+    /**
+     * Apply the records in a buffer to the in-memory store.  Processing stops at the end of the buffer or at the
+     * first record that is incomplete or fails its checksum.  The buffer is left positioned at this record.
+     *
+     * @param buffer content of a snapshot or log file positioned after the file header
+     * @param metadataStore store to update
+     * @return number of records applied
+     * @throws IOException a complete record could not be decoded
+     */
+    private long replayRecords(ByteBuffer                buffer,
+                               InMemoryOMRSMetadataStore metadataStore) throws IOException
+    {
+        long  recordCount = 0;
+        CRC32 checksum    = new CRC32();
+
+        while (buffer.remaining() >= recordHeaderLength)
+        {
+            int  recordStart   = buffer.position();
+            int  payloadLength = buffer.getInt();
+            int  recordCRC     = buffer.getInt();
+            byte code          = buffer.get();
+
+            if ((payloadLength < 0) || (payloadLength > buffer.remaining()))
+            {
+                buffer.position(recordStart);
+                break;
+            }
+
+            byte[] payload = new byte[payloadLength];
+
+            buffer.get(payload);
+
+            checksum.reset();
+            checksum.update(code);
+            checksum.update(payload, 0, payloadLength);
+
+            StoreOperation operation = StoreOperation.getOperation(code);
+
+            if (((int)checksum.getValue() != recordCRC) || (operation == null))
+            {
+                buffer.position(recordStart);
+                break;
+            }
+
+            metadataStore.applyStoreOperation(operation, decodePayload(operation, payload));
+            recordCount++;
+        }
+
+        return recordCount;
+    }
+
+
+    /**
+     * Encode a change as a record.
+     *
+     * @param operation type of change
+     * @param payload instance or unique identifier
+     * @return record bytes
+     * @throws IOException the instance can not be converted to JSON
+     */
+    private static byte[] encodeRecord(StoreOperation operation,
+                                       Object         payload) throws IOException
+    {
+        byte[] payloadBytes;
+
+        if (payload instanceof String)
+        {
+            payloadBytes = ((String)payload).getBytes(StandardCharsets.UTF_8);
+        }
+        else
+        {
+            payloadBytes = objectMapper.writeValueAsBytes(payload);
+        }
+
+        CRC32 checksum = new CRC32();
+
+        checksum.update(operation.code);
+        checksum.update(payloadBytes, 0, payloadBytes.length);
+
+        ByteBuffer record = ByteBuffer.allocate(recordHeaderLength + payloadBytes.length);
+
+        record.putInt(payloadBytes.length);
+        record.putInt((int)checksum.getValue());
+        record.put(operation.code);
+        record.put(payloadBytes);
+
+        return record.array();
+    }
+
+
+    /**
+     * Decode the payload of a record.
+     *
+     * @param operation type of change
+     * @param payload bytes from the record
+     * @return instance or unique identifier
+     * @throws IOException the JSON can not be parsed
+     */
+    private static Object decodePayload(StoreOperation operation,
+                                        byte[]         payload) throws IOException
+    {
+        if (operation.payloadClass == String.class)
+        {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+
+        return objectMapper.readValue(payload, operation.payloadClass);
+    }
+
+
+    /**
+     * Return the log files for the metadata collection in generation order.
+     *
+     * @return map of generation to file
+     */
+    private TreeMap<Long, File> getLogFiles()
+    {
+        TreeMap<Long, File> logFiles = new TreeMap<>();
+        File[]              files    = directory.listFiles();
+
+        if (files != null)
+        {
+            String prefix = metadataCollectionId + ".";
+
+            for (File file : files)
+            {
+                String fileName = file.getName();
+
+                if ((fileName.startsWith(prefix)) && (fileName.endsWith(logFileSuffix)))
+                {
+                    try
+                    {
+                        logFiles.put(Long.parseLong(fileName.substring(prefix.length(), fileName.length() - logFileSuffix.length())), file);
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        /*
+                         * Not a log file from this store.
+                         */
+                    }
+                }
+            }
+        }
+
+        return logFiles;
+    }
+
+
+    /**
+     * Return the snapshot file.
+     *
+     * @return file
+     */
+    private File getSnapshotFile()
+    {
+        return new File(directory, metadataCollectionId + snapshotFileSuffix);
+    }
+
+
+    /**
+     * Return the log file for a generation.
+     *
+     * @param generation generation of the log
+     * @return file
+     */
+    private File getLogFile(long generation)
+    {
+        return new File(directory, metadataCollectionId + "." + generation + logFileSuffix);
+    }
+
+
+    /**
+     * Record the first failure to save a change.  The lock is held by the caller.
+     *
+     * @param error exception from the file system or JSON parser
+     */
+    private void setFailure(IOException error)
+    {
+        if (failure == null)
+        {
+            failure = error;
+        }
+    }
+
+
+    /**
+     * Return the exception for a change that is rejected because the store has failed.  The lock is held by the caller.
+     *
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private RepositoryErrorException getStoreFailedException(String methodName)
+    {
+        return new RepositoryErrorException(OMRSErrorCode.IN_MEMORY_STORE_FAILED.getMessageDefinition(repositoryName,
+                                                                                                     directory.getPath(),
+                                                                                                     failure.getClass().getName(),
+                                                                                                     failure.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            failure);
+    }
+
+
+    /**
+     * Log a problem with one of the files.
+     *
+     * @param operation what was being done to the file
+     * @param file file in error
+     * @param error exception from the file system or JSON parser
+     */
+    private void logError(String    operation,
+                          File      file,
+                          Exception error)
+    {
+        final String actionDescription = "Maintain in-memory repository files";
+
+        if (auditLog != null)
+        {
+            auditLog.logException(actionDescription,
+                                  OMRSAuditCode.IN_MEMORY_FILE_ERROR.getMessageDefinition(repositoryName,
+                                                                                          operation,
+                                                                                          file.getPath(),
+                                                                                          error.getClass().getName(),
+                                                                                          error.getMessage()),
+                                  error);
+        }
+    }
+}
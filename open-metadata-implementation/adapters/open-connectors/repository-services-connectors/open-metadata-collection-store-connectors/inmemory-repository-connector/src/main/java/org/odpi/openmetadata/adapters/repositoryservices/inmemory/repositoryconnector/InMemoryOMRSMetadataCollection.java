@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSDynamicTypeMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.HistorySequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
@@ -53,6 +54,17 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the store that holds the instances of this metadata collection.
+     *
+     * @return in-memory store
+     */
+    InMemoryOMRSMetadataStore getRepositoryStore()
+    {
+        return repositoryStore;
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -216,7 +228,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.timeWarpEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -234,6 +246,81 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
+     * versions of an entity, set both the 'fromTime' and 'toTime' to null.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid String unique identifier for the entity.
+     * @param fromTime the earliest point in time from which to retrieve historical versions of the entity (inclusive)
+     * @param toTime the latest point in time from which to retrieve historical versions of the entity (exclusive)
+     * @param startFromElement the starting element number of the historical versions to return. This is used when retrieving
+     *                         versions beyond the first page of results. Zero means start from the first element.
+     * @param pageSize the maximum number of result versions that can be returned on this request. Zero means unrestricted
+     *                 return results size.
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return {@code List<EntityDetail>} of each historical version of the entity detail within the bounds, and in the order requested.
+     * @throws InvalidParameterException the guid or date is null or fromTime is after the toTime
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection
+     *                                   at the time requested.
+     * @throws EntityProxyOnlyException the requested entity instance is only a proxy in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetailHistory(String                 userId,
+                                                     String                 guid,
+                                                     Date                   fromTime,
+                                                     Date                   toTime,
+                                                     int                    startFromElement,
+                                                     int                    pageSize,
+                                                     HistorySequencingOrder sequencingOrder) throws InvalidParameterException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    EntityNotKnownException,
+                                                                                                    EntityProxyOnlyException,
+                                                                                                    UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetailHistory";
+        final String  guidParameterName = "guid";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceHistoryParameterValidation(userId, guid, fromTime, toTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        EntityDetail  entity = repositoryStore.getEntity(guid);
+        if (entity == null)
+        {
+            EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
+
+            if (entityProxy != null)
+            {
+                reportEntityProxyOnly(guid, guidParameterName, methodName);
+            }
+        }
+
+        repositoryValidator.validateEntityFromStore(repositoryName, guid, entity, methodName);
+
+        List<EntityDetail> entityHistory = repositoryStore.getEntityHistory(guid,
+                                                                            fromTime,
+                                                                            toTime,
+                                                                            startFromElement,
+                                                                            pageSize,
+                                                                            sequencingOrder != HistorySequencingOrder.BACKWARDS);
+
+        if (entityHistory.isEmpty())
+        {
+            return null;
+        }
+
+        return entityHistory;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -303,34 +390,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
         repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
 
-        List<Relationship> entityRelationships = new ArrayList<>();
-
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        List<Relationship> entityRelationships = repositoryStore.findRelationships(asOfTime, storedRelationship ->
         {
-            if (storedRelationship != null)
+            if (storedRelationship.getStatus() != InstanceStatus.DELETED)
             {
-                if (storedRelationship.getStatus() != InstanceStatus.DELETED)
-                {
-                    repositoryValidator.validRelationship(repositoryName, storedRelationship);
+                repositoryValidator.validRelationship(repositoryName, storedRelationship);
 
-                    if (repositoryHelper.relatedEntity(repositoryName,
-                                                       entityGUID,
-                                                       storedRelationship))
-                    {
-                        if (relationshipTypeGUID == null)
-                        {
-                            entityRelationships.add(storedRelationship);
-                        }
-                        else if (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID()))
-                        {
-                            entityRelationships.add(storedRelationship);
-                        }
-                    }
+                if (repositoryHelper.relatedEntity(repositoryName,
+                                                   entityGUID,
+                                                   storedRelationship))
+                {
+                    return (relationshipTypeGUID == null) || (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID()));
                 }
             }
-        }
+
+            return false;
+        });
 
         if (entityRelationships.isEmpty())
         {
@@ -419,26 +494,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
-        {
-            if (entity != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
-                {
-                    foundEntities.add(entity);
-                }
-            }
-        }
+        List<EntityDetail> foundEntities = repositoryStore.findEntities(asOfTime, entity ->
+                (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
+                (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                          entity,
+                                                                          entity.getProperties(),
+                                                                          matchCriteria
+                                                                          )));
 
         return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
     }
@@ -516,22 +580,11 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
-        {
-            if (entity != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties())))
-                {
-                    foundEntities.add(entity);
-                }
-            }
-        }
+        List<EntityDetail> foundEntities = repositoryStore.findEntities(asOfTime, entity ->
+                (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
+                (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties())));
 
         return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
     }
@@ -614,51 +667,40 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-        List<EntityDetail>          foundEntities = new ArrayList<>();
-
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        List<EntityDetail> foundEntities = repositoryStore.findEntities(asOfTime, entity ->
         {
-            if (entity != null)
+            if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                (repositoryValidator.verifyEntityIsClassified(classificationList, entity)))
             {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(classificationList, entity)))
-                {
-                    List<Classification>   entityClassifications = entity.getClassifications();
+                List<Classification>   entityClassifications = entity.getClassifications();
 
-                    if (entityClassifications != null)
+                if (entityClassifications != null)
+                {
+                    /*
+                     * Locate the matching classification and validate its properties
+                     */
+                    for (Classification entityClassification : entityClassifications)
                     {
-                        /*
-                         * Locate the matching classification and validate its properties
-                         */
-                        for (Classification entityClassification : entityClassifications)
+                        if (entityClassification != null)
                         {
-                            if (entityClassification != null)
+                            if (classificationName.equals(entityClassification.getName()))
                             {
-                                if (classificationName.equals(entityClassification.getName()))
-                                {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
-
-                                    {
-                                        foundEntities.add(entity);
-                                    }
-                                    break;
-                                }
+                                return repositoryValidator.verifyMatchingInstancePropertyValues(matchClassificationProperties,
+                                                                                                entityClassification,
+                                                                                                entityClassification.getProperties(),
+                                                                                                matchCriteria);
                             }
                         }
                     }
                 }
             }
-        }
+
+            return false;
+        });
 
         return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
     }
@@ -739,24 +781,14 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating in entity since it iterates through all of
          * the stored entities.
          */
-        List<EntityDetail>   foundEntities = new ArrayList<>();
-
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
-        {
-            if (entity != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                    entity.getProperties(),
-                                                                                    searchCriteria,
-                                                                                    methodName)))
-                {
-                    foundEntities.add(entity);
-                }
-            }
-        }
+        List<EntityDetail> foundEntities = repositoryStore.findEntities(asOfTime, entity ->
+                (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
+                (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
+                                                                                entity.getProperties(),
+                                                                                searchCriteria,
+                                                                                methodName)));
 
         return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
     }
@@ -865,7 +897,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.timeWarpRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -874,6 +906,69 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
+     * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guid String unique identifier for the relationship.
+     * @param fromTime the earliest point in time from which to retrieve historical versions of the relationship (inclusive)
+     * @param toTime the latest point in time from which to retrieve historical versions of the relationship (exclusive)
+     * @param startFromElement the starting element number of the historical versions to return. This is used when retrieving
+     *                         versions beyond the first page of results. Zero means start from the first element.
+     * @param pageSize the maximum number of result versions that can be returned on this request. Zero means unrestricted
+     *                 return results size.
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return {@code List<Relationship>} of each historical version of the relationship within the bounds, and in the order requested.
+     * @throws InvalidParameterException the guid or date is null or fromTime is after the toTime
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws RelationshipNotKnownException the requested relationship instance is not known in the metadata collection
+     *                                       at the time requested.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipHistory(String                 userId,
+                                                     String                 guid,
+                                                     Date                   fromTime,
+                                                     Date                   toTime,
+                                                     int                    startFromElement,
+                                                     int                    pageSize,
+                                                     HistorySequencingOrder sequencingOrder) throws InvalidParameterException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    RelationshipNotKnownException,
+                                                                                                    UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationshipHistory";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstanceHistoryParameterValidation(userId, guid, fromTime, toTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        Relationship  relationship = repositoryStore.getRelationship(guid);
+
+        repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
+
+        List<Relationship> relationshipHistory = repositoryStore.getRelationshipHistory(guid,
+                                                                                        fromTime,
+                                                                                        toTime,
+                                                                                        startFromElement,
+                                                                                        pageSize,
+                                                                                        sequencingOrder != HistorySequencingOrder.BACKWARDS);
+
+        if (relationshipHistory.isEmpty())
+        {
+            return null;
+        }
+
+        return relationshipHistory;
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be received as a series of
      * pages.
@@ -949,21 +1044,10 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating a relationship since it iterates through all of
          * the stored entities.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  relationship : relationshipStore.values())
-        {
-            if (relationship != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, relationship, relationship.getProperties())))
-                {
-                    foundRelationships.add(relationship);
-                }
-            }
-        }
+        List<Relationship> foundRelationships = repositoryStore.findRelationships(asOfTime, relationship ->
+                (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
+                (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, relationship, relationship.getProperties())));
 
         return repositoryHelper.formatRelationshipResults(foundRelationships,
                 fromRelationshipElement,
@@ -1051,24 +1135,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating a relationship since it iterates through all of
          * the stored entities.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  relationship : relationshipStore.values())
-        {
-            if (relationship != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              relationship,
-                                                                              relationship.getProperties(),
-                                                                              matchCriteria)))
-                {
-                    foundRelationships.add(relationship);
-                }
-            }
-        }
+        List<Relationship> foundRelationships = repositoryStore.findRelationships(asOfTime, relationship ->
+                (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
+                (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                          relationship,
+                                                                          relationship.getProperties(),
+                                                                          matchCriteria)));
 
         return repositoryHelper.formatRelationshipResults(foundRelationships,
                                          fromRelationshipElement,
@@ -1150,23 +1223,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          * This is a brute force implementation of locating a relationship since it iterates through all of
          * the stored relationships.
          */
-        List<Relationship>  foundRelationships = new ArrayList<>();
-
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
-        {
-            if (relationship != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                     relationship.getProperties(),
-                                                                                     searchCriteria,
-                                                                                     methodName)))
-                {
-                    foundRelationships.add(relationship);
-                }
-            }
-        }
+        List<Relationship> foundRelationships = repositoryStore.findRelationships(asOfTime, relationship ->
+                (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
+                (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
+                (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
+                                                                                 relationship.getProperties(),
+                                                                                 searchCriteria,
+                                                                                 methodName)));
 
         return repositoryHelper.formatRelationshipResults(foundRelationships,
                                          fromRelationshipElement,
@@ -1264,16 +1327,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         }
 
         /*
-         * Time warp the stores
+         * The neighbourhood retrieves the instances it reaches from the store as they were at the asOfTime
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
         InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper,
                                                                                                   repositoryName,
                                                                                                   repositoryValidator,
-                                                                                                  entityStore,
-                                                                                                  relationshipStore,
+                                                                                                  repositoryStore,
+                                                                                                  asOfTime,
                                                                                                   entityGUID,
                                                                                                   entityTypeGUIDs,
                                                                                                   relationshipTypeGUIDs,
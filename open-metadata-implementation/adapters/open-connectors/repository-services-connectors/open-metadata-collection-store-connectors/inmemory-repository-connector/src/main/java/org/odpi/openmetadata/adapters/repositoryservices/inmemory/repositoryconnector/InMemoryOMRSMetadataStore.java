@@ -3,23 +3,34 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryOMRSDurableStore.StoreOperation;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * The history of each instance is kept as a list of its previous versions in the order of their update time
+ * so that the version of an instance at a point in time is found with a binary search.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private String                                     repositoryName           = null;
+    private volatile Map<String, EntityDetail>         entityStore              = new HashMap<>();
+    private volatile Map<String, EntityProxy>          entityProxyStore         = new HashMap<>();
+    private final    Map<String, List<EntityDetail>>   entityHistoryStore       = new HashMap<>();
+    private volatile Map<String, Relationship>         relationshipStore        = new HashMap<>();
+    private final    Map<String, List<Relationship>>   relationshipHistoryStore = new HashMap<>();
+    private final    Map<String, Set<String>>          entityRelationshipIndex  = new HashMap<>();
+    private volatile InMemoryOMRSDurableStore          durableStore             = null;
+    private final    Object                            checkpointLock           = new Object();
 
 
     /**
@@ -77,86 +88,79 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the entities that match a search as they were at the time supplied in the asOfTime parameter.
+     * The version of each entity at that time is found as the store is scanned, and only the versions that
+     * match are collected.  Entities that did not exist at that time are not included.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @param asOfTime - time for the entities (or null means now)
+     * @param matcher - criteria of the search
+     * @return list of EntityDetail objects
+     * @throws InvalidParameterException - the criteria are invalid
+     * @throws RepositoryErrorException - the criteria can not be evaluated
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    synchronized List<EntityDetail>  findEntities(Date                          asOfTime,
+                                                  InstanceMatcher<EntityDetail> matcher) throws InvalidParameterException,
+                                                                                                RepositoryErrorException
     {
-        if (asOfTime == null)
-        {
-            return new HashMap<>(entityStore);
-        }
-
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+        List<EntityDetail>  foundEntities = new ArrayList<>();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
         for (EntityDetail  entity : entityStore.values())
         {
             if (entity != null)
             {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
+                EntityDetail  timeWarpedEntity = getVersionAt(entity, entityHistoryStore.get(entity.getGUID()), asOfTime);
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
+                if ((timeWarpedEntity != null) && (matcher.matches(timeWarpedEntity)))
                 {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
+                    foundEntities.add(timeWarpedEntity);
                 }
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
-        {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+        return foundEntities;
+    }
 
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
-            }
-        }
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     * Only the versions of this entity are examined.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity (or null means now)
+     * @return entity object or null if it did not exist at that time
+     */
+    synchronized EntityDetail  timeWarpEntity(String   guid,
+                                              Date     asOfTime)
+    {
+        return getVersionAt(entityStore.get(guid), entityHistoryStore.get(guid), asOfTime);
+    }
+
 
-        return timeWarpedEntityStore;
+    /**
+     * Return the versions of an entity that were in effect between the fromTime and the toTime.
+     *
+     * @param guid - unique identifier for the entity
+     * @param fromTime - earliest time of the versions (inclusive) or null for the first version
+     * @param toTime - latest time of the versions (exclusive) or null for the current version
+     * @param startFromElement - number of versions to skip
+     * @param pageSize - maximum number of versions to return (zero means unrestricted)
+     * @param oldestFirst - return the versions in chronological order rather than newest first
+     * @return list of versions
+     */
+    synchronized List<EntityDetail>  getEntityHistory(String    guid,
+                                                      Date      fromTime,
+                                                      Date      toTime,
+                                                      int       startFromElement,
+                                                      int       pageSize,
+                                                      boolean   oldestFirst)
+    {
+        return getVersionPage(entityStore.get(guid),
+                              entityHistoryStore.get(guid),
+                              fromTime,
+                              toTime,
+                              startFromElement,
+                              pageSize,
+                              oldestFirst);
     }
 
 
@@ -183,110 +187,136 @@ class InMemoryOMRSMetadataStore
     }
 
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the relationships that match a search as they were at the time supplied in the asOfTime parameter.
+     * The version of each relationship at that time is found as the store is scanned, and only the versions that
+     * match are collected.  Relationships that did not exist at that time are not included.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @param asOfTime - time for the relationships (or null means now)
+     * @param matcher - criteria of the search
+     * @return list of relationships
+     * @throws InvalidParameterException - the criteria are invalid
+     * @throws RepositoryErrorException - the criteria can not be evaluated
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    synchronized List<Relationship>  findRelationships(Date                          asOfTime,
+                                                       InstanceMatcher<Relationship> matcher) throws InvalidParameterException,
+                                                                                                     RepositoryErrorException
     {
-        if (asOfTime == null)
-        {
-            return new HashMap<>(relationshipStore);
-        }
-
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
-
+        List<Relationship>  foundRelationships = new ArrayList<>();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
         for (Relationship  relationship : relationshipStore.values())
         {
             if (relationship != null)
             {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
+                Relationship  timeWarpedRelationship = getVersionAt(relationship, relationshipHistoryStore.get(relationship.getGUID()), asOfTime);
 
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
+                if ((timeWarpedRelationship != null) && (matcher.matches(timeWarpedRelationship)))
                 {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
+                    foundRelationships.add(timeWarpedRelationship);
                 }
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
-        {
-            if (oldRelationship != null)
-            {
-                String relationshipGUID = oldRelationship.getGUID();
+        return foundRelationships;
+    }
 
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
-            }
+    /**
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
+     * Only the versions of this relationship are examined.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship (or null means now)
+     * @return relationship object or null if it did not exist at that time
+     */
+    synchronized Relationship  timeWarpRelationship(String   guid,
+                                                    Date     asOfTime)
+    {
+        return getVersionAt(relationshipStore.get(guid), relationshipHistoryStore.get(guid), asOfTime);
+    }
+
+
+    /**
+     * Return the versions of a relationship that were in effect between the fromTime and the toTime.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param fromTime - earliest time of the versions (inclusive) or null for the first version
+     * @param toTime - latest time of the versions (exclusive) or null for the current version
+     * @param startFromElement - number of versions to skip
+     * @param pageSize - maximum number of versions to return (zero means unrestricted)
+     * @param oldestFirst - return the versions in chronological order rather than newest first
+     * @return list of versions
+     */
+    synchronized List<Relationship>  getRelationshipHistory(String    guid,
+                                                            Date      fromTime,
+                                                            Date      toTime,
+                                                            int       startFromElement,
+                                                            int       pageSize,
+                                                            boolean   oldestFirst)
+    {
+        return getVersionPage(relationshipStore.get(guid),
+                              relationshipHistoryStore.get(guid),
+                              fromTime,
+                              toTime,
+                              startFromElement,
+                              pageSize,
+                              oldestFirst);
+    }
+
+
+    /**
+     * Return the unique identifiers of the relationships that have (or have had) the entity at one of their ends.
+     * The set may include relationships that no longer reference the entity so the caller must check the
+     * ends of each relationship it retrieves.
+     *
+     * @param entityGUID - unique identifier for the entity
+     * @return set of relationship guids
+     */
+    synchronized Set<String>  getRelationshipGUIDsForEntity(String   entityGUID)
+    {
+        Set<String>  relationshipGUIDs = entityRelationshipIndex.get(entityGUID);
+
+        if (relationshipGUIDs == null)
+        {
+            return new HashSet<>();
         }
 
-        return timeWarpedRelationshipStore;
+        return new HashSet<>(relationshipGUIDs);
     }
 
+
     /**
      * Create a new entity in the entity store.
      *
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity) throws RepositoryErrorException
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+        long logPosition;
 
-        while (existingEntity != null)
+        synchronized (this)
         {
-            entityStore.put(entity.getGUID(), existingEntity);
-            entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
+            this.validateStoreWritable();
+
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing relationship.
+             * If this happens a new GUID is generated for the relationship and the process repeats.
+             */
+            EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+
+            while (existingEntity != null)
+            {
+                entityStore.put(entity.getGUID(), existingEntity);
+                entity.setGUID(UUID.randomUUID().toString());
+                existingEntity = entityStore.put(entity.getGUID(), entity);
+            }
+
+            logPosition = this.logChange(StoreOperation.PUT_ENTITY, entity);
         }
 
+        this.waitForLog(logPosition);
+
         return entity;
     }
 
@@ -296,22 +326,36 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship) throws RepositoryErrorException
     {
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        long logPosition;
 
-        while (existingRelationship != null)
+        synchronized (this)
         {
-            relationshipStore.put(relationship.getGUID(), existingRelationship);
-            relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            this.validateStoreWritable();
+
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing relationship.
+             * If this happens a new GUID is generated for the relationship and the process repeats.
+             */
+            Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+            while (existingRelationship != null)
+            {
+                relationshipStore.put(relationship.getGUID(), existingRelationship);
+                relationship.setGUID(UUID.randomUUID().toString());
+                existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            }
+
+            indexRelationship(relationship);
+
+            logPosition = this.logChange(StoreOperation.PUT_RELATIONSHIP, relationship);
         }
 
+        this.waitForLog(logPosition);
+
         return relationship;
     }
 
@@ -320,26 +364,61 @@ class InMemoryOMRSMetadataStore
      * Save an entity proxy to the entity store.
      *
      * @param entityProxy - entity proxy object to add
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy) throws RepositoryErrorException
     {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+
+            logPosition = this.logChange(StoreOperation.PUT_ENTITY_PROXY, entityProxy);
+        }
+
+        this.waitForLog(logPosition);
     }
 
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The history of each entity is maintained in the order of the versions' update time.
+     *
+     * @param entity - new version of the entity
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
+     */
+    void updateEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    {
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            this.applyEntityUpdate(entity);
+
+            logPosition = this.logChange(StoreOperation.UPDATE_ENTITY, entity);
+        }
+
+        this.waitForLog(logPosition);
+    }
+
+
+    /**
+     * Store a new version of an entity and move the previous version to the history.
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity)
+    private void applyEntityUpdate(EntityDetail entity)
     {
         EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
 
         if (oldEntity != null)
         {
-            entityHistoryStore.add(0, oldEntity);
+            addToHistory(entityHistoryStore, oldEntity);
         }
     }
 
@@ -348,27 +427,63 @@ class InMemoryOMRSMetadataStore
      * Update an entity proxy in the proxy store.
      *
      * @param entityProxy - entity proxy object to add
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy) throws RepositoryErrorException
     {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+
+            logPosition = this.logChange(StoreOperation.PUT_ENTITY_PROXY, entityProxy);
+        }
+
+        this.waitForLog(logPosition);
     }
 
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The history of each relationship is maintained in the order of the versions' update time.
      *
      * @param relationship - new version of the relationship
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship) throws RepositoryErrorException
     {
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            this.applyRelationshipUpdate(relationship);
+
+            logPosition = this.logChange(StoreOperation.UPDATE_RELATIONSHIP, relationship);
+        }
+
+        this.waitForLog(logPosition);
+    }
+
 
+    /**
+     * Store a new version of a relationship and move the previous version to the history.
+     *
+     * @param relationship - new version of the relationship
+     */
+    private void applyRelationshipUpdate(Relationship    relationship)
+    {
         Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
+        indexRelationship(relationship);
+
         if (oldRelationship != null)
         {
-            relationshipHistoryStore.add(0, oldRelationship);
+            addToHistory(relationshipHistoryStore, oldRelationship);
         }
     }
 
@@ -378,10 +493,22 @@ class InMemoryOMRSMetadataStore
      * history store.
      *
      * @param entity - object to save
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity) throws RepositoryErrorException
     {
-        entityStore.put(entity.getGUID(), entity);
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            entityStore.put(entity.getGUID(), entity);
+
+            logPosition = this.logChange(StoreOperation.PUT_ENTITY, entity);
+        }
+
+        this.waitForLog(logPosition);
     }
 
 
@@ -390,10 +517,23 @@ class InMemoryOMRSMetadataStore
      * history store.
      *
      * @param relationship - object to save
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship) throws RepositoryErrorException
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            relationshipStore.put(relationship.getGUID(), relationship);
+            indexRelationship(relationship);
+
+            logPosition = this.logChange(StoreOperation.PUT_RELATIONSHIP, relationship);
+        }
+
+        this.waitForLog(logPosition);
     }
 
 
@@ -403,8 +543,39 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
+     */
+    Relationship retrievePreviousVersionOfRelationship(String   guid) throws RepositoryErrorException
+    {
+        Relationship restoredRelationship;
+        long         logPosition = 0;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            restoredRelationship = this.restorePreviousVersionOfRelationship(guid);
+
+            if (restoredRelationship != null)
+            {
+                logPosition = this.logChange(StoreOperation.RESTORE_RELATIONSHIP, restoredRelationship);
+            }
+        }
+
+        this.waitForLog(logPosition);
+
+        return restoredRelationship;
+    }
+
+
+    /**
+     * Restore the previous version of a Relationship as a new version.  This is the latest version of this
+     * element in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    private Relationship restorePreviousVersionOfRelationship(String   guid)
     {
         if (guid != null)
         {
@@ -418,33 +589,29 @@ class InMemoryOMRSMetadataStore
             }
 
 
-            for (Relationship relationship : relationshipHistoryStore)
+            List<Relationship> relationshipHistory = relationshipHistoryStore.get(guid);
+
+            if ((relationshipHistory != null) && (! relationshipHistory.isEmpty()))
             {
-                if (relationship != null)
-                {
-                    if (guid.equals(relationship.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
+                Relationship relationship = relationshipHistory.get(relationshipHistory.size() - 1);
 
-                    }
+                if (versionNumber == 0)
+                {
+                    versionNumber = relationship.getVersion() + 1;
                 }
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                Relationship newRelationship = new Relationship(relationship);
+                newRelationship.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newRelationship.setUpdateTime(restoreTime);
+                this.applyRelationshipRestore(newRelationship);
+                return newRelationship;
             }
         }
 
@@ -458,8 +625,39 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
+     */
+    EntityDetail retrievePreviousVersionOfEntity(String   guid) throws RepositoryErrorException
+    {
+        EntityDetail restoredEntity;
+        long         logPosition = 0;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            restoredEntity = this.restorePreviousVersionOfEntity(guid);
+
+            if (restoredEntity != null)
+            {
+                logPosition = this.logChange(StoreOperation.RESTORE_ENTITY, restoredEntity);
+            }
+        }
+
+        this.waitForLog(logPosition);
+
+        return restoredEntity;
+    }
+
+
+    /**
+     * Restore the previous version of an Entity from the history store as a new version.
+     * This is the latest version of this element in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    private EntityDetail restorePreviousVersionOfEntity(String   guid)
     {
         if (guid != null)
         {
@@ -472,35 +670,31 @@ class InMemoryOMRSMetadataStore
                 versionNumber = currentVersionOfEntity.getVersion() + 1;
             }
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
-                if (entity != null)
-                {
-                    if (guid.equals(entity.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
+            List<EntityDetail> entityHistory = entityHistoryStore.get(guid);
 
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
+            if ((entityHistory != null) && (! entityHistory.isEmpty()))
+            {
+                EntityDetail entity = entityHistory.get(entityHistory.size() - 1);
 
-                    }
+                if (versionNumber == 0)
+                {
+                    versionNumber = entity.getVersion() + 1;
                 }
+
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 *
+                 */
+                EntityDetail newEntity = new EntityDetail(entity);
+                newEntity.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newEntity.setUpdateTime(restoreTime);
+                this.applyEntityRestore(newEntity);
+                return newEntity;
             }
         }
 
@@ -512,20 +706,34 @@ class InMemoryOMRSMetadataStore
      * Remove an entity from the active store and add it to the history store.
      *
      * @param entity - entity to remove
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity) throws RepositoryErrorException
     {
-        String entityGUID = entity.getGUID();
-        entityStore.remove(entityGUID);
-        List<EntityDetail> purgedHistory = new ArrayList<>();
-        for (EntityDetail history : entityHistoryStore)
+        long logPosition;
+
+        synchronized (this)
         {
-            if (history != null && !entityGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            this.validateStoreWritable();
+
+            this.applyEntityPurge(entity.getGUID());
+
+            logPosition = this.logChange(StoreOperation.PURGE_ENTITY, entity.getGUID());
         }
-        entityHistoryStore = purgedHistory;
+
+        this.waitForLog(logPosition);
+    }
+
+
+    /**
+     * Remove an entity and its history from the store.
+     *
+     * @param entityGUID - unique identifier of the entity to remove
+     */
+    private void applyEntityPurge(String     entityGUID)
+    {
+        entityStore.remove(entityGUID);
+        entityHistoryStore.remove(entityGUID);
     }
 
 
@@ -533,23 +741,25 @@ class InMemoryOMRSMetadataStore
      * Remove a reference entity from the active store and add it to the history store.
      *
      * @param guid - entity to remove
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid) throws RepositoryErrorException
     {
-        EntityDetail entity = entityStore.remove(guid);
+        long logPosition = 0;
 
-        if (entity != null)
+        synchronized (this)
         {
-            List<EntityDetail> purgedHistory = new ArrayList<>();
-            for (EntityDetail history : entityHistoryStore)
+            this.validateStoreWritable();
+
+            if (entityStore.get(guid) != null)
             {
-                if (history != null && !guid.equals(history.getGUID()))
-                {
-                    purgedHistory.add(history);
-                }
+                this.applyEntityPurge(guid);
+
+                logPosition = this.logChange(StoreOperation.PURGE_ENTITY, guid);
             }
-            entityHistoryStore = purgedHistory;
         }
+
+        this.waitForLog(logPosition);
     }
 
 
@@ -557,10 +767,22 @@ class InMemoryOMRSMetadataStore
      * Remove an entity from the active store and add it to the history store.
      *
      * @param guid - entity proxy to remove
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid) throws RepositoryErrorException
     {
-        entityProxyStore.remove(guid);
+        long logPosition;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            entityProxyStore.remove(guid);
+
+            logPosition = this.logChange(StoreOperation.PURGE_ENTITY_PROXY, guid);
+        }
+
+        this.waitForLog(logPosition);
     }
 
 
@@ -568,44 +790,678 @@ class InMemoryOMRSMetadataStore
      * Remove a relationship from the active store and add it to the history store.
      *
      * @param relationship - relationship to remove
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship) throws RepositoryErrorException
     {
-        String relationshipGUID = relationship.getGUID();
-        relationshipStore.remove(relationshipGUID);
-        List<Relationship> purgedHistory = new ArrayList<>();
-        for (Relationship history : relationshipHistoryStore)
+        long logPosition;
+
+        synchronized (this)
         {
-            if (history != null && !relationshipGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            this.validateStoreWritable();
+
+            this.applyRelationshipPurge(relationship);
+
+            logPosition = this.logChange(StoreOperation.PURGE_RELATIONSHIP, relationship);
         }
-        relationshipHistoryStore = purgedHistory;
+
+        this.waitForLog(logPosition);
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Remove a relationship and its history from the store.
      *
-     * @param guid - relationship to remove
+     * @param relationship - relationship to remove
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    private void applyRelationshipPurge(Relationship     relationship)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
-
-        if (relationship != null)
+        String relationshipGUID = relationship.getGUID();
+        unindexRelationship(relationshipGUID, relationshipStore.remove(relationshipGUID));
+        unindexRelationship(relationshipGUID, relationship);
+        List<Relationship> purgedHistory = relationshipHistoryStore.remove(relationshipGUID);
+        if (purgedHistory != null)
+        {
+            for (Relationship history : purgedHistory)
+            {
+                unindexRelationship(relationshipGUID, history);
+            }
+        }
+    }
+
+
+    /**
+     * Remove a reference relationship from the active store and add it to the history store.
+     *
+     * @param guid - relationship to remove
+     * @throws RepositoryErrorException - the change can not be saved by the durable store
+     */
+    void removeReferenceRelationshipFromStore(String     guid) throws RepositoryErrorException
+    {
+        long logPosition = 0;
+
+        synchronized (this)
+        {
+            this.validateStoreWritable();
+
+            Relationship  relationship = relationshipStore.get(guid);
+
+            if (relationship != null)
+            {
+                this.applyRelationshipPurge(relationship);
+
+                logPosition = this.logChange(StoreOperation.PURGE_RELATIONSHIP, relationship);
+            }
+        }
+
+        this.waitForLog(logPosition);
+    }
+
+
+    /**
+     * Store a restored version of an entity and move the current version to the history.
+     *
+     * @param restoredEntity - new version of the entity made from an old version
+     */
+    private void applyEntityRestore(EntityDetail restoredEntity)
+    {
+        EntityDetail currentVersionOfEntity = entityStore.put(restoredEntity.getGUID(), restoredEntity);
+
+        if (currentVersionOfEntity != null)
+        {
+            addToHistory(entityHistoryStore, currentVersionOfEntity);
+        }
+    }
+
+
+    /**
+     * Store a restored version of a relationship and move the current version to the history.
+     *
+     * @param restoredRelationship - new version of the relationship made from an old version
+     */
+    private void applyRelationshipRestore(Relationship restoredRelationship)
+    {
+        Relationship currentVersionOfRelationship = relationshipStore.put(restoredRelationship.getGUID(), restoredRelationship);
+
+        indexRelationship(restoredRelationship);
+
+        if (currentVersionOfRelationship != null)
+        {
+            addToHistory(relationshipHistoryStore, currentVersionOfRelationship);
+        }
+    }
+
+
+    /**
+     * Load the content saved by the durable store and start recording the changes to the store in its log.
+     * This is called before the repository is in use.  If the log was damaged, a snapshot of the recovered
+     * content is written before the repository is used.
+     *
+     * @param durableStore - files that hold a copy of the store
+     * @throws IOException - the files can not be read, the log can not be created or the snapshot can not be written
+     */
+    void startDurableStore(InMemoryOMRSDurableStore durableStore) throws IOException
+    {
+        synchronized (this)
+        {
+            durableStore.recover(this);
+
+            this.durableStore = durableStore;
+        }
+
+        if (durableStore.isSnapshotRequired())
+        {
+            this.checkpoint();
+
+            if (durableStore.isSnapshotRequired())
+            {
+                this.durableStore = null;
+                durableStore.close();
+
+                throw new IOException("Unable to write a snapshot of the content recovered from a damaged log");
+            }
+        }
+
+        durableStore.startCheckpoints(this);
+    }
+
+
+    /**
+     * Take a final checkpoint and stop recording changes to the store.
+     */
+    void stopDurableStore()
+    {
+        InMemoryOMRSDurableStore currentDurableStore = durableStore;
+
+        if (currentDurableStore != null)
+        {
+            currentDurableStore.stopCheckpoints();
+            this.checkpoint();
+
+            durableStore = null;
+            currentDurableStore.close();
+        }
+    }
+
+
+    /**
+     * Write the content of the store to a snapshot so that the log of changes can be discarded.  The content is
+     * copied and a new log is started while the store is locked.  The snapshot is written after the lock
+     * is released so that the store stays in use.
+     */
+    void checkpoint()
+    {
+        synchronized (checkpointLock)
         {
-            List<Relationship> purgedHistory = new ArrayList<>();
-            for (Relationship history : relationshipHistoryStore)
+            InMemoryOMRSDurableStore currentDurableStore = durableStore;
+
+            if ((currentDurableStore == null) || (! currentDurableStore.isCheckpointNeeded()))
             {
-                if (history != null && !guid.equals(history.getGUID()))
+                return;
+            }
+
+            long                     logGeneration;
+            List<EntityDetail>       entities;
+            List<EntityDetail>       entityHistory;
+            List<EntityProxy>        entityProxies;
+            List<Relationship>       relationships;
+            List<Relationship>       relationshipHistory;
+
+            try
+            {
+                synchronized (this)
                 {
-                    purgedHistory.add(history);
+                    logGeneration = currentDurableStore.startNewLog();
+
+                    entities = new ArrayList<>(entityStore.values());
+                    entityHistory = getAllVersions(entityHistoryStore);
+                    entityProxies = new ArrayList<>(entityProxyStore.values());
+                    relationships = new ArrayList<>(relationshipStore.values());
+                    relationshipHistory = getAllVersions(relationshipHistoryStore);
                 }
             }
-            relationshipHistoryStore = purgedHistory;
+            catch (IOException error)
+            {
+                /*
+                 * The changes continue to be written to the current log.  The durable store has logged the error.
+                 */
+                return;
+            }
+
+            currentDurableStore.writeSnapshot(logGeneration, entities, entityHistory, entityProxies, relationships, relationshipHistory);
+        }
+    }
+
+
+    /**
+     * Apply a change read from the durable store's snapshot or log.
+     *
+     * @param operation - type of change
+     * @param payload - instance or unique identifier
+     */
+    synchronized void applyStoreOperation(StoreOperation operation,
+                                          Object         payload)
+    {
+        switch (operation)
+        {
+            case PUT_ENTITY:
+                EntityDetail entity = (EntityDetail)payload;
+                entityStore.put(entity.getGUID(), entity);
+                break;
+
+            case UPDATE_ENTITY:
+                this.applyEntityUpdate((EntityDetail)payload);
+                break;
+
+            case RESTORE_ENTITY:
+                this.applyEntityRestore((EntityDetail)payload);
+                break;
+
+            case PURGE_ENTITY:
+                this.applyEntityPurge((String)payload);
+                break;
+
+            case ENTITY_HISTORY:
+                addToHistory(entityHistoryStore, (EntityDetail)payload);
+                break;
+
+            case PUT_ENTITY_PROXY:
+                EntityProxy entityProxy = (EntityProxy)payload;
+                entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+                break;
+
+            case PURGE_ENTITY_PROXY:
+                entityProxyStore.remove((String)payload);
+                break;
+
+            case PUT_RELATIONSHIP:
+                Relationship relationship = (Relationship)payload;
+                relationshipStore.put(relationship.getGUID(), relationship);
+                indexRelationship(relationship);
+                break;
+
+            case UPDATE_RELATIONSHIP:
+                this.applyRelationshipUpdate((Relationship)payload);
+                break;
+
+            case RESTORE_RELATIONSHIP:
+                this.applyRelationshipRestore((Relationship)payload);
+                break;
+
+            case PURGE_RELATIONSHIP:
+                this.applyRelationshipPurge((Relationship)payload);
+                break;
+
+            case RELATIONSHIP_HISTORY:
+                Relationship oldRelationship = (Relationship)payload;
+                addToHistory(relationshipHistoryStore, oldRelationship);
+                indexRelationship(oldRelationship);
+                break;
         }
     }
 
+
+    /**
+     * Check that the durable store, if there is one, is able to save changes.  This is called while the store is
+     * locked, before a change is made.
+     *
+     * @throws RepositoryErrorException - an earlier change could not be saved so the store rejects further changes
+     */
+    private void validateStoreWritable() throws RepositoryErrorException
+    {
+        InMemoryOMRSDurableStore currentDurableStore = durableStore;
+
+        if (currentDurableStore != null)
+        {
+            currentDurableStore.validateWritable();
+        }
+    }
+
+
+    /**
+     * Add a change to the durable store's log.  This is called while the store is locked so the changes are
+     * logged in the order they are made.
+     *
+     * @param operation - type of change
+     * @param payload - instance or unique identifier
+     * @return position to pass to waitForLog or 0 if the store is not durable
+     * @throws RepositoryErrorException - the change can not be added to the log
+     */
+    private long logChange(StoreOperation operation,
+                           Object         payload) throws RepositoryErrorException
+    {
+        InMemoryOMRSDurableStore currentDurableStore = durableStore;
+
+        if (currentDurableStore != null)
+        {
+            return currentDurableStore.append(operation, payload);
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Wait for a change to be written to disk by the durable store.  This is called after the store is unlocked
+     * so that the changes of concurrent callers are written together.
+     *
+     * @param logPosition - position returned by logChange
+     * @throws RepositoryErrorException - the change can not be written to disk
+     */
+    private void waitForLog(long logPosition) throws RepositoryErrorException
+    {
+        InMemoryOMRSDurableStore currentDurableStore = durableStore;
+
+        if ((logPosition > 0) && (currentDurableStore != null))
+        {
+            currentDurableStore.waitForCommit(logPosition);
+        }
+    }
+
+
+    /**
+     * Add the relationship to the index of relationships for the entities at each of its ends.
+     * The index is only added to as new versions are stored so it also covers the ends of older versions.
+     *
+     * @param relationship - relationship to index
+     */
+    private void indexRelationship(Relationship    relationship)
+    {
+        String relationshipGUID = relationship.getGUID();
+
+        for (EntityProxy entityProxy : Arrays.asList(relationship.getEntityOneProxy(), relationship.getEntityTwoProxy()))
+        {
+            if ((entityProxy != null) && (entityProxy.getGUID() != null))
+            {
+                entityRelationshipIndex.computeIfAbsent(entityProxy.getGUID(), entityGUID -> new HashSet<>()).add(relationshipGUID);
+            }
+        }
+    }
+
+
+    /**
+     * Remove a version of a relationship from the index of relationships for the entities at each of its ends.
+     *
+     * @param relationshipGUID - unique identifier of the relationship being purged
+     * @param relationship - version of the relationship (may be null)
+     */
+    private void unindexRelationship(String          relationshipGUID,
+                                     Relationship    relationship)
+    {
+        if (relationship != null)
+        {
+            for (EntityProxy entityProxy : Arrays.asList(relationship.getEntityOneProxy(), relationship.getEntityTwoProxy()))
+            {
+                if ((entityProxy != null) && (entityProxy.getGUID() != null))
+                {
+                    Set<String> relationshipGUIDs = entityRelationshipIndex.get(entityProxy.getGUID());
+
+                    if (relationshipGUIDs != null)
+                    {
+                        relationshipGUIDs.remove(relationshipGUID);
+
+                        if (relationshipGUIDs.isEmpty())
+                        {
+                            entityRelationshipIndex.remove(entityProxy.getGUID());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add a previous version of an instance to its history.  The versions are kept in the order of their
+     * update time.
+     *
+     * @param historyStore - map from instance guid to its previous versions
+     * @param oldVersion - previous version of the instance
+     * @param <T> - entity or relationship
+     */
+    private <T extends InstanceHeader> void addToHistory(Map<String, List<T>> historyStore,
+                                                         T                    oldVersion)
+    {
+        List<T> versions = historyStore.computeIfAbsent(oldVersion.getGUID(), instanceGUID -> new ArrayList<>());
+
+        versions.add(countVersionsBefore(versions, getVersionTime(oldVersion), true), oldVersion);
+    }
+
+
+    /**
+     * Return the previous versions of all of the instances in a history store in the order of their update time.
+     *
+     * @param historyStore - map from instance guid to its previous versions
+     * @param <T> - entity or relationship
+     * @return list of versions
+     */
+    private <T extends InstanceHeader> List<T> getAllVersions(Map<String, List<T>> historyStore)
+    {
+        List<T> allVersions = new ArrayList<>();
+
+        for (List<T> versions : historyStore.values())
+        {
+            allVersions.addAll(versions);
+        }
+
+        return allVersions;
+    }
+
+
+    /**
+     * Return the version of an instance that was in effect at the asOfTime.
+     *
+     * @param currentVersion - current version of the instance (may be null)
+     * @param history - previous versions of the instance in the order of their update time (may be null)
+     * @param asOfTime - time for the instance (or null means now)
+     * @param <T> - entity or relationship
+     * @return version or null if the instance did not exist at that time
+     */
+    private <T extends InstanceHeader> T getVersionAt(T        currentVersion,
+                                                      List<T>  history,
+                                                      Date     asOfTime)
+    {
+        if ((asOfTime == null) || (currentVersion == null) || (existedAt(currentVersion, asOfTime)))
+        {
+            return currentVersion;
+        }
+
+        if (history != null)
+        {
+            int versionCount = countVersionsBefore(history, asOfTime.getTime(), true);
+
+            if ((versionCount > 0) && (existedAt(history.get(versionCount - 1), asOfTime)))
+            {
+                return history.get(versionCount - 1);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a page of the versions of an instance that were in effect between the fromTime and the toTime.
+     * The range starts with the version that was in effect at the fromTime and ends with the last version
+     * stored before the toTime.
+     *
+     * @param currentVersion - current version of the instance (may be null)
+     * @param history - previous versions of the instance in the order of their update time (may be null)
+     * @param fromTime - earliest time of the versions (inclusive) or null for the first version
+     * @param toTime - latest time of the versions (exclusive) or null for the current version
+     * @param startFromElement - number of versions to skip
+     * @param pageSize - maximum number of versions to return (zero means unrestricted)
+     * @param oldestFirst - return the versions in chronological order rather than newest first
+     * @param <T> - entity or relationship
+     * @return list of versions
+     */
+    private <T extends InstanceHeader> List<T> getVersionPage(T        currentVersion,
+                                                              List<T>  history,
+                                                              Date     fromTime,
+                                                              Date     toTime,
+                                                              int      startFromElement,
+                                                              int      pageSize,
+                                                              boolean  oldestFirst)
+    {
+        /*
+         * The versions are indexed in place: the previous versions are followed by the current version.
+         */
+        int versionCount = getVersionCount(history, currentVersion);
+        int firstVersion = 0;
+        int endVersion   = versionCount;
+
+        if (fromTime != null)
+        {
+            firstVersion = Math.max(0, countVersionsBefore(history, currentVersion, fromTime.getTime(), true) - 1);
+        }
+
+        if (toTime != null)
+        {
+            endVersion = countVersionsBefore(history, currentVersion, toTime.getTime(), false);
+        }
+
+        List<T> page = new ArrayList<>();
+
+        for (int element = Math.max(0, startFromElement); element < endVersion - firstVersion; element++)
+        {
+            if ((pageSize > 0) && (page.size() >= pageSize))
+            {
+                break;
+            }
+
+            if (oldestFirst)
+            {
+                page.add(getVersion(history, currentVersion, firstVersion + element));
+            }
+            else
+            {
+                page.add(getVersion(history, currentVersion, endVersion - 1 - element));
+            }
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Return the number of versions in a list ordered by update time that were stored before the supplied time.
+     *
+     * @param versions - versions of an instance in the order of their update time
+     * @param time - time in milliseconds
+     * @param inclusive - include the versions stored at the supplied time
+     * @param <T> - entity or relationship
+     * @return number of versions
+     */
+    private <T extends InstanceHeader> int countVersionsBefore(List<T> versions,
+                                                               long    time,
+                                                               boolean inclusive)
+    {
+        return countVersionsBefore(versions, null, time, inclusive);
+    }
+
+
+    /**
+     * Return the number of versions of an instance that were stored before the supplied time.  The versions are
+     * the previous versions followed by the current version.
+     *
+     * @param history - previous versions of the instance in the order of their update time (may be null)
+     * @param currentVersion - current version of the instance (may be null)
+     * @param time - time in milliseconds
+     * @param inclusive - include the versions stored at the supplied time
+     * @param <T> - entity or relationship
+     * @return number of versions
+     */
+    private <T extends InstanceHeader> int countVersionsBefore(List<T> history,
+                                                               T       currentVersion,
+                                                               long    time,
+                                                               boolean inclusive)
+    {
+        int low  = 0;
+        int high = getVersionCount(history, currentVersion);
+
+        while (low < high)
+        {
+            int  middle      = (low + high) >>> 1;
+            long versionTime = getVersionTime(getVersion(history, currentVersion, middle));
+
+            if ((versionTime < time) || ((inclusive) && (versionTime == time)))
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    /**
+     * Return the number of versions of an instance.
+     *
+     * @param history - previous versions of the instance (may be null)
+     * @param currentVersion - current version of the instance (may be null)
+     * @param <T> - entity or relationship
+     * @return number of versions
+     */
+    private <T extends InstanceHeader> int getVersionCount(List<T> history,
+                                                           T       currentVersion)
+    {
+        int versionCount = (history == null) ? 0 : history.size();
+
+        if (currentVersion != null)
+        {
+            versionCount++;
+        }
+
+        return versionCount;
+    }
+
+
+    /**
+     * Return a version of an instance by its position.  The previous versions come first and the current version
+     * is last.
+     *
+     * @param history - previous versions of the instance (may be null)
+     * @param currentVersion - current version of the instance (may be null)
+     * @param position - position of the version
+     * @param <T> - entity or relationship
+     * @return version
+     */
+    private <T extends InstanceHeader> T getVersion(List<T> history,
+                                                    T       currentVersion,
+                                                    int     position)
+    {
+        if ((history != null) && (position < history.size()))
+        {
+            return history.get(position);
+        }
+
+        return currentVersion;
+    }
+
+
+    /**
+     * Return the time that a version of an instance was stored.
+     *
+     * @param instance - version of the instance
+     * @return time in milliseconds or the earliest possible time if the instance has no times
+     */
+    private long getVersionTime(InstanceAuditHeader instance)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime().getTime();
+        }
+        else if (instance.getCreateTime() != null)
+        {
+            return instance.getCreateTime().getTime();
+        }
+
+        return Long.MIN_VALUE;
+    }
+
+
+    /**
+     * Return whether a version of an instance had been stored by the supplied time.
+     *
+     * @param instance - version of the instance
+     * @param asOfTime - time to test
+     * @return boolean flag
+     */
+    private boolean existedAt(InstanceAuditHeader instance,
+                              Date                asOfTime)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return ! instance.getUpdateTime().after(asOfTime);
+        }
+        else if (instance.getCreateTime() != null)
+        {
+            return ! instance.getCreateTime().after(asOfTime);
+        }
+
+        return false;
+    }
+
+
+    /**
+     * The criteria of a search of the store.  The store is locked while the criteria are evaluated.
+     *
+     * @param <T> - entity or relationship
+     */
+    interface InstanceMatcher<T extends InstanceHeader>
+    {
+        /**
+         * Return whether the version of an instance matches the search.
+         *
+         * @param instance - version of the instance
+         * @return boolean flag
+         * @throws InvalidParameterException - the criteria are invalid
+         * @throws RepositoryErrorException - the criteria can not be evaluated
+         */
+        boolean matches(T instance) throws InvalidParameterException, RepositoryErrorException;
+    }
 }
@@ -3,15 +3,25 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+
+import java.io.IOException;
+import java.util.Map;
 
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
  * other members of connected open metadata repository cohorts.
+ *
+ * If the durableStoreDirectory configuration property is set in the connection, the content of the repository
+ * is also kept in files in this directory so that it is restored when the server restarts.
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    private static final long defaultCheckpointInterval = 300;
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -45,4 +55,98 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
                                                                           metadataCollectionId);
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.  If a durable store
+     * is configured, the content saved when the server last stopped is loaded into the repository.
+     *
+     * @throws ConnectorCheckedException the saved content can not be loaded
+     */
+    @Override
+    public void start() throws ConnectorCheckedException
+    {
+        final String methodName = "start";
+
+        super.start();
+
+        String durableStoreDirectory = null;
+        long   checkpointInterval    = defaultCheckpointInterval;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object directoryProperty = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.DURABLE_STORE_DIRECTORY_PROPERTY);
+                Object intervalProperty  = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.CHECKPOINT_INTERVAL_PROPERTY);
+
+                if (directoryProperty != null)
+                {
+                    durableStoreDirectory = directoryProperty.toString();
+                }
+
+                if (intervalProperty instanceof Number)
+                {
+                    checkpointInterval = ((Number)intervalProperty).longValue();
+                }
+                else if (intervalProperty != null)
+                {
+                    try
+                    {
+                        checkpointInterval = Long.parseLong(intervalProperty.toString().trim());
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        /*
+                         * Keep the default interval.
+                         */
+                    }
+                }
+            }
+        }
+
+        if ((durableStoreDirectory != null) && (metadataCollection instanceof InMemoryOMRSMetadataCollection))
+        {
+            InMemoryOMRSDurableStore durableStore = new InMemoryOMRSDurableStore(durableStoreDirectory,
+                                                                                 metadataCollectionId,
+                                                                                 serverName,
+                                                                                 auditLog,
+                                                                                 checkpointInterval);
+
+            try
+            {
+                ((InMemoryOMRSMetadataCollection)metadataCollection).getRepositoryStore().startDurableStore(durableStore);
+            }
+            catch (IOException error)
+            {
+                throw new ConnectorCheckedException(OMRSErrorCode.IN_MEMORY_STORE_NOT_LOADED.getMessageDefinition(serverName,
+                                                                                                                durableStoreDirectory,
+                                                                                                                error.getClass().getName(),
+                                                                                                                error.getMessage()),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    error);
+            }
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  If a durable store is configured,
+     * the content of the repository is saved to its snapshot.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (metadataCollection instanceof InMemoryOMRSMetadataCollection)
+        {
+            ((InMemoryOMRSMetadataCollection)metadataCollection).getRepositoryStore().stopDurableStore();
+        }
+
+        super.disconnect();
+    }
+}
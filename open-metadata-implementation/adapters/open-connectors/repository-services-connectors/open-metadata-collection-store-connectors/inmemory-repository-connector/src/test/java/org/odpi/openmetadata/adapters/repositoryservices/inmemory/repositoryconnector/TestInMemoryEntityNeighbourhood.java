@@ -7,6 +7,7 @@ import org.mockito.MockitoAnnotations;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -162,6 +163,80 @@ public class TestInMemoryEntityNeighbourhood
 
     }
 
+    @Test
+    void testGetGraphFromStore() throws TypeErrorException, RepositoryErrorException {
+        InMemoryOMRSMetadataStore repositoryStore = new InMemoryOMRSMetadataStore();
+        InstanceType type = new InstanceType();
+        type.setTypeDefGUID("4444");
+
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenReturn(true);
+
+        EntityDetail root = new EntityDetail();
+        root.setGUID("root");
+        root.setCreateTime(new Date(10));
+        repositoryStore.createEntityInStore(root);
+
+        // a wide frontier at level 1, each entity with one neighbour at level 2
+        for (int i = 0; i < 100; i++)
+        {
+            EntityDetail child = new EntityDetail();
+            child.setGUID("child" + i);
+            child.setCreateTime(new Date(10));
+            repositoryStore.createEntityInStore(child);
+
+            EntityDetail grandChild = new EntityDetail();
+            grandChild.setGUID("grandChild" + i);
+            grandChild.setCreateTime(new Date(10));
+            repositoryStore.createEntityInStore(grandChild);
+
+            Relationship relationship = new Relationship();
+            relationship.setGUID("toChild" + i);
+            relationship.setCreateTime(new Date(10));
+            relationship.setEntityOneProxy(getEntityProxy(root.getGUID(), null, type));
+            relationship.setEntityTwoProxy(getEntityProxy(child.getGUID(), null, type));
+            repositoryStore.createRelationshipInStore(relationship);
+
+            relationship = new Relationship();
+            relationship.setGUID("toGrandChild" + i);
+            relationship.setCreateTime(new Date(10));
+            relationship.setEntityOneProxy(getEntityProxy(grandChild.getGUID(), null, type));
+            relationship.setEntityTwoProxy(getEntityProxy(child.getGUID(), null, type));
+            repositoryStore.createRelationshipInStore(relationship);
+        }
+
+        // relationship created later than the asOfTime used below
+        EntityDetail later = new EntityDetail();
+        later.setGUID("later");
+        later.setCreateTime(new Date(10));
+        repositoryStore.createEntityInStore(later);
+
+        Relationship laterRelationship = new Relationship();
+        laterRelationship.setGUID("toLater");
+        laterRelationship.setCreateTime(new Date(100));
+        laterRelationship.setEntityOneProxy(getEntityProxy(root.getGUID(), null, type));
+        laterRelationship.setEntityTwoProxy(getEntityProxy(later.getGUID(), null, type));
+        repositoryStore.createRelationshipInStore(laterRelationship);
+
+        InMemoryEntityNeighbourhood inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, repositoryStore, null, "root", null, null, null, null, 1);
+        InstanceGraph graph = inMemoryEntityNeighbourhood.createInstanceGraph();
+        assertTrue(graph.getEntities().size() == 102);
+        assertTrue(graph.getEntities().get(0).getGUID().equals("root"));
+        assertTrue(graphContainsRelationshipWithGuid(graph, "toLater"));
+
+        inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, repositoryStore, new Date(50), "root", null, null, null, null, 2);
+        graph = inMemoryEntityNeighbourhood.createInstanceGraph();
+        assertTrue(graph.getEntities().size() == 201);
+        assertTrue(graph.getRelationships().size() == 200);
+        assertTrue(graphContainsEntityWithGuid(graph, "grandChild99"));
+        assertTrue(!graphContainsRelationshipWithGuid(graph, "toLater"));
+
+        // purged relationships are no longer reached
+        repositoryStore.removeRelationshipFromStore(laterRelationship);
+        inMemoryEntityNeighbourhood = new InMemoryEntityNeighbourhood(repositoryHelper, "", repositoryValidator, repositoryStore, null, "root", null, null, null, null, 1);
+        graph = inMemoryEntityNeighbourhood.createInstanceGraph();
+        assertTrue(graph.getEntities().size() == 101);
+    }
+
     private boolean graphContainsEntityWithGuid(InstanceGraph graph, String guid)
     {
         boolean valid = false;
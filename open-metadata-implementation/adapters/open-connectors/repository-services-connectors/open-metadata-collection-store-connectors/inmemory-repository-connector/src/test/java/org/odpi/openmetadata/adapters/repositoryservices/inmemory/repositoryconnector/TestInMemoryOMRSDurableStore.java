@@ -0,0 +1,585 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.ArgumentCaptor;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that InMemoryOMRSDurableStore writes each change to the in-memory store as a CRC-framed record, restores the
+ * store from its snapshot and log, recovers from a damaged log and rejects changes once a change can not be saved.
+ */
+public class TestInMemoryOMRSDurableStore
+{
+    private static final String metadataCollectionId = "test-mcid";
+    private static final String repositoryName       = "testRepository";
+
+    private File     directory = null;
+    private AuditLog auditLog  = null;
+
+
+    /**
+     * Create an empty directory for the files.
+     *
+     * @throws IOException unable to create the directory
+     */
+    @BeforeMethod
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("inmemory-durable-store").toFile();
+        auditLog  = mock(AuditLog.class);
+    }
+
+
+    /**
+     * Remove the directory and its files.
+     */
+    @AfterMethod
+    public void tearDown()
+    {
+        File[] files = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                assertTrue(file.delete());
+            }
+        }
+
+        assertTrue(directory.delete());
+    }
+
+
+    /**
+     * Return a new in-memory store that has loaded the content of the files in the directory.
+     *
+     * @return store and the durable store recording its changes
+     * @throws IOException the files can not be loaded
+     */
+    private StartedStore startStore() throws IOException
+    {
+        InMemoryOMRSMetadataStore metadataStore = new InMemoryOMRSMetadataStore();
+        InMemoryOMRSDurableStore  durableStore  = new InMemoryOMRSDurableStore(directory.getPath(),
+                                                                               metadataCollectionId,
+                                                                               repositoryName,
+                                                                               auditLog,
+                                                                               0);
+
+        metadataStore.setRepositoryName(repositoryName);
+        metadataStore.startDurableStore(durableStore);
+
+        return new StartedStore(metadataStore, durableStore);
+    }
+
+
+    /**
+     * In-memory store with its durable store.  Closing the durable store without a checkpoint leaves the files
+     * as they would be if the server stopped unexpectedly.
+     */
+    private static class StartedStore
+    {
+        private final InMemoryOMRSMetadataStore metadataStore;
+        private final InMemoryOMRSDurableStore  durableStore;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataStore in-memory store
+         * @param durableStore files for the store
+         */
+        StartedStore(InMemoryOMRSMetadataStore metadataStore,
+                     InMemoryOMRSDurableStore  durableStore)
+        {
+            this.metadataStore = metadataStore;
+            this.durableStore = durableStore;
+        }
+
+
+        /**
+         * Stop writing to the files without taking a checkpoint.
+         */
+        void crash()
+        {
+            durableStore.close();
+        }
+    }
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version of the entity
+     * @param updateTime time of the version
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   long   updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(updateTime));
+
+        return entity;
+    }
+
+
+    /**
+     * Return a relationship between two entities.
+     *
+     * @param guid unique identifier of the relationship
+     * @param entityOneGUID unique identifier of the entity at end one
+     * @param entityTwoGUID unique identifier of the entity at end two
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid,
+                                         String entityOneGUID,
+                                         String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOne    = new EntityProxy();
+        EntityProxy  entityTwo    = new EntityProxy();
+
+        entityOne.setGUID(entityOneGUID);
+        entityTwo.setGUID(entityTwoGUID);
+
+        relationship.setGUID(guid);
+        relationship.setVersion(1);
+        relationship.setCreateTime(new Date(1000));
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return the log file for a generation.
+     *
+     * @param generation generation of the log
+     * @return file
+     */
+    private File getLogFile(long generation)
+    {
+        return new File(directory, metadataCollectionId + "." + generation + ".log");
+    }
+
+
+    /**
+     * Return the start offset of each record in a log.
+     *
+     * @param logContent content of the log file
+     * @return list of offsets
+     */
+    private List<Integer> getRecordOffsets(byte[] logContent)
+    {
+        List<Integer> offsets = new ArrayList<>();
+        ByteBuffer    buffer  = ByteBuffer.wrap(logContent);
+
+        buffer.position(8);
+
+        while (buffer.remaining() >= 9)
+        {
+            offsets.add(buffer.position());
+            buffer.position(buffer.position() + 9 + buffer.getInt(buffer.position()));
+        }
+
+        return offsets;
+    }
+
+
+    /**
+     * Return the ids of the messages written to the audit log.
+     *
+     * @return list of message ids
+     */
+    private List<String> getMessageIds()
+    {
+        ArgumentCaptor<AuditLogMessageDefinition> messages = ArgumentCaptor.forClass(AuditLogMessageDefinition.class);
+
+        verify(auditLog, atLeast(0)).logMessage(anyString(), messages.capture());
+
+        List<String> messageIds = new ArrayList<>();
+
+        for (AuditLogMessageDefinition message : messages.getAllValues())
+        {
+            messageIds.add(message.getMessageId());
+        }
+
+        return messageIds;
+    }
+
+
+    /**
+     * Test that each change is written to the log as a record with its length, a CRC-32 checksum of its operation
+     * code and payload, its operation code and the instance's JSON.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testRecordFraming() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+        store.metadataStore.removeEntityProxyFromStore("proxy1");
+        store.crash();
+
+        byte[]     logContent = Files.readAllBytes(getLogFile(1).toPath());
+        ByteBuffer buffer     = ByteBuffer.wrap(logContent);
+
+        assertEquals(buffer.getInt(), 0x45474d4c);
+        assertEquals(buffer.getInt(), 1);
+
+        byte[] expectedCodes = { 1, 7 };
+        int    recordCount   = 0;
+        CRC32  checksum      = new CRC32();
+
+        while (buffer.hasRemaining())
+        {
+            int    payloadLength = buffer.getInt();
+            int    recordCRC     = buffer.getInt();
+            byte   code          = buffer.get();
+            byte[] payload       = new byte[payloadLength];
+
+            buffer.get(payload);
+
+            checksum.reset();
+            checksum.update(code);
+            checksum.update(payload, 0, payloadLength);
+
+            assertEquals(code, expectedCodes[recordCount]);
+            assertEquals(recordCRC, (int)checksum.getValue());
+
+            if (recordCount == 0)
+            {
+                assertTrue(new String(payload, StandardCharsets.UTF_8).contains("\"guid\":\"entity1\""));
+            }
+            else
+            {
+                assertEquals(new String(payload, StandardCharsets.UTF_8), "proxy1");
+            }
+
+            recordCount++;
+        }
+
+        assertEquals(recordCount, 2);
+    }
+
+
+    /**
+     * Test that the changes in the log are replayed when the store restarts without a snapshot, including the
+     * history of updated entities and the removal of purged instances.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testReplayLog() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+        store.metadataStore.updateEntityInStore(getEntity("entity1", 2, 2000));
+        store.metadataStore.createEntityInStore(getEntity("entity2", 1, 1000));
+        store.metadataStore.createRelationshipInStore(getRelationship("relationship1", "entity1", "entity2"));
+        store.metadataStore.createEntityInStore(getEntity("entity3", 1, 1000));
+        store.metadataStore.removeEntityFromStore(getEntity("entity3", 1, 1000));
+        store.crash();
+
+        store = startStore();
+
+        assertEquals(store.metadataStore.getEntity("entity1").getVersion(), 2);
+        assertEquals(store.metadataStore.getEntityHistory("entity1", null, null, 0, 0, true).size(), 2);
+        assertNotNull(store.metadataStore.getEntity("entity2"));
+        assertNull(store.metadataStore.getEntity("entity3"));
+        assertNotNull(store.metadataStore.getRelationship("relationship1"));
+        assertEquals(store.metadataStore.getRelationshipGUIDsForEntity("entity2").size(), 1);
+
+        store.crash();
+    }
+
+
+    /**
+     * Test that a checkpoint writes a snapshot, removes the logs it replaces, and that the store is restored from
+     * the snapshot followed by the changes logged after it.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testSnapshotAndReplay() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+        store.metadataStore.updateEntityInStore(getEntity("entity1", 2, 2000));
+        store.metadataStore.addEntityProxyToStore(new EntityProxy(getEntity("proxy1", 1, 1000)));
+        store.metadataStore.checkpoint();
+
+        assertTrue(new File(directory, metadataCollectionId + ".snapshot").exists());
+        assertFalse(getLogFile(1).exists());
+        assertTrue(getLogFile(2).exists());
+
+        store.metadataStore.updateEntityInStore(getEntity("entity1", 3, 3000));
+        store.metadataStore.createEntityInStore(getEntity("entity2", 1, 1000));
+        store.crash();
+
+        store = startStore();
+
+        assertEquals(store.metadataStore.getEntity("entity1").getVersion(), 3);
+        assertEquals(store.metadataStore.getEntityHistory("entity1", null, null, 0, 0, true).size(), 3);
+        assertNotNull(store.metadataStore.getEntity("entity2"));
+        assertNotNull(store.metadataStore.getEntityProxy("proxy1"));
+
+        /*
+         * A clean stop takes a final checkpoint so nothing is left to replay.
+         */
+        store.metadataStore.stopDurableStore();
+
+        store = startStore();
+
+        assertEquals(store.metadataStore.getEntity("entity1").getVersion(), 3);
+        assertFalse(store.durableStore.isCheckpointNeeded());
+
+        store.crash();
+    }
+
+
+    /**
+     * Test that a record that was only partly written when the server stopped is ignored, that the log is replaced
+     * by a snapshot before the store is used and that the changes made after recovery survive the next restart.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testTornTail() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+        store.metadataStore.createEntityInStore(getEntity("entity2", 1, 1000));
+        store.crash();
+
+        File          logFile    = getLogFile(1);
+        byte[]        logContent = Files.readAllBytes(logFile.toPath());
+        List<Integer> offsets    = getRecordOffsets(logContent);
+
+        /*
+         * Remove the end of the last record as if the server stopped part way through writing it.
+         */
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "rw"))
+        {
+            file.setLength(logContent.length - 5);
+        }
+
+        store = startStore();
+
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+        assertNull(store.metadataStore.getEntity("entity2"));
+        assertTrue(getMessageIds().contains(OMRSAuditCode.IN_MEMORY_LOG_DAMAGED.getMessageDefinition().getMessageId()));
+        assertEquals(offsets.size(), 2);
+
+        /*
+         * The snapshot written after recovery replaces the damaged log.
+         */
+        assertFalse(store.durableStore.isSnapshotRequired());
+        assertTrue(new File(directory, metadataCollectionId + ".snapshot").exists());
+        assertFalse(logFile.exists());
+
+        store.metadataStore.createEntityInStore(getEntity("entity3", 1, 1000));
+        store.crash();
+
+        store = startStore();
+
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+        assertNotNull(store.metadataStore.getEntity("entity3"));
+
+        store.crash();
+    }
+
+
+    /**
+     * Test that replay stops at a record whose checksum does not match its content and that the records after it
+     * are discarded, leaving the store as it was before the damaged change.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testChecksumMismatch() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+        store.metadataStore.createEntityInStore(getEntity("entity2", 1, 1000));
+        store.metadataStore.createEntityInStore(getEntity("entity3", 1, 1000));
+        store.crash();
+
+        File          logFile    = getLogFile(1);
+        byte[]        logContent = Files.readAllBytes(logFile.toPath());
+        List<Integer> offsets    = getRecordOffsets(logContent);
+
+        assertEquals(offsets.size(), 3);
+
+        /*
+         * Change a byte of the payload of the second record.
+         */
+        logContent[offsets.get(1) + 9 + 2] ^= 0x01;
+        Files.write(logFile.toPath(), logContent);
+
+        store = startStore();
+
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+        assertNull(store.metadataStore.getEntity("entity2"));
+        assertNull(store.metadataStore.getEntity("entity3"));
+
+        store.crash();
+
+        store = startStore();
+
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+        assertNull(store.metadataStore.getEntity("entity3"));
+        assertFalse(store.durableStore.isSnapshotRequired());
+
+        store.crash();
+    }
+
+
+    /**
+     * Test that a change that can not be saved is reported to the caller and that the store then rejects all
+     * changes and does not take a checkpoint.
+     *
+     * @throws Exception problem with the files
+     */
+    @Test
+    public void testSaveFailureRejectsChanges() throws Exception
+    {
+        StartedStore store = startStore();
+
+        store.metadataStore.createEntityInStore(getEntity("entity1", 1, 1000));
+
+        /*
+         * A property value that has no JSON form can not be written to the log.
+         */
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        InstanceProperties     properties    = new InstanceProperties();
+        EntityDetail           badEntity     = getEntity("entity2", 1, 1000);
+
+        propertyValue.setPrimitiveValue(new Object());
+        properties.setProperty("badProperty", propertyValue);
+        badEntity.setProperties(properties);
+
+        String storeFailedId = OMRSErrorCode.IN_MEMORY_STORE_FAILED.getMessageDefinition().getMessageId();
+
+        try
+        {
+            store.metadataStore.createEntityInStore(badEntity);
+            fail("The change was not rejected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), storeFailedId);
+        }
+
+        createEntity(store, "entity3");
+        removeEntity(store, "entity1");
+
+        assertNull(store.metadataStore.getEntity("entity3"));
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+
+        store.metadataStore.checkpoint();
+
+        assertFalse(new File(directory, metadataCollectionId + ".snapshot").exists());
+
+        store.crash();
+
+        store = startStore();
+
+        assertNotNull(store.metadataStore.getEntity("entity1"));
+        assertNull(store.metadataStore.getEntity("entity2"));
+
+        store.crash();
+    }
+
+
+    /**
+     * Create an entity in a failed store, checking that the change is rejected.
+     *
+     * @param store failed store
+     * @param guid unique identifier of the entity
+     */
+    private void createEntity(StartedStore store,
+                              String       guid)
+    {
+        try
+        {
+            store.metadataStore.createEntityInStore(getEntity(guid, 1, 1000));
+            fail("The change was not rejected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(),
+                         OMRSErrorCode.IN_MEMORY_STORE_FAILED.getMessageDefinition().getMessageId());
+        }
+    }
+
+
+    /**
+     * Remove an entity from a failed store, checking that the change is rejected.
+     *
+     * @param store failed store
+     * @param guid unique identifier of the entity
+     */
+    private void removeEntity(StartedStore store,
+                              String       guid)
+    {
+        try
+        {
+            store.metadataStore.removeReferenceEntityFromStore(guid);
+            fail("The change was not rejected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(),
+                         OMRSErrorCode.IN_MEMORY_STORE_FAILED.getMessageDefinition().getMessageId());
+        }
+    }
+}
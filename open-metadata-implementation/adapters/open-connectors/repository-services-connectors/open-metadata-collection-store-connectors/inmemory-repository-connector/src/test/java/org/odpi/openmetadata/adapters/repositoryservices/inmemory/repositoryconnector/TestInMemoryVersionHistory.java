@@ -0,0 +1,326 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that InMemoryOMRSMetadataStore keeps the versions of each instance in the order of their update time and
+ * returns the correct versions for asOfTime queries, pages of history, restores and purges.
+ */
+public class TestInMemoryVersionHistory
+{
+    /**
+     * Return a version of an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version number
+     * @param updateTime time the version was stored
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   long   updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(updateTime));
+
+        return entity;
+    }
+
+
+    /**
+     * Return a version of a relationship between two entities.
+     *
+     * @param guid unique identifier of the relationship
+     * @param version version number
+     * @param updateTime time the version was stored
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid,
+                                         long   version,
+                                         long   updateTime)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOne    = new EntityProxy();
+        EntityProxy  entityTwo    = new EntityProxy();
+
+        entityOne.setGUID("entity1");
+        entityTwo.setGUID("entity2");
+
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+        relationship.setCreateTime(new Date(1000));
+        relationship.setUpdateTime(new Date(updateTime));
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return a store holding an entity with a version stored at each of the update times.
+     *
+     * @param guid unique identifier of the entity
+     * @param updateTimes times of the versions in the order they are stored
+     * @return store
+     * @throws Exception problem storing the entity
+     */
+    private InMemoryOMRSMetadataStore getStore(String  guid,
+                                               long... updateTimes) throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity(guid, 1, updateTimes[0]));
+
+        for (int version = 2; version <= updateTimes.length; version++)
+        {
+            store.updateEntityInStore(getEntity(guid, version, updateTimes[version - 1]));
+        }
+
+        return store;
+    }
+
+
+    /**
+     * Return the version numbers of a list of instances.
+     *
+     * @param instances list of instances
+     * @return list of version numbers
+     */
+    private List<Long> getVersions(List<? extends InstanceHeader> instances)
+    {
+        List<Long> versions = new ArrayList<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            versions.add(instance.getVersion());
+        }
+
+        return versions;
+    }
+
+
+    /**
+     * Test that a previous version is placed in the history by its update time rather than the order it arrived.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testHistoryOrder() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 5000, 1000, 6000);
+
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 0, 0, true)), Arrays.asList(2L, 1L, 3L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 0, 0, false)), Arrays.asList(3L, 1L, 2L));
+        assertEquals(store.timeWarpEntity("entity1", new Date(3000)).getVersion(), 2);
+    }
+
+
+    /**
+     * Test that the version returned for an asOfTime is the last version stored at or before that time and that
+     * no version is returned before the instance existed.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testVersionAt() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 1000, 2000, 3000);
+
+        assertNull(store.timeWarpEntity("entity1", new Date(999)));
+        assertEquals(store.timeWarpEntity("entity1", new Date(1000)).getVersion(), 1);
+        assertEquals(store.timeWarpEntity("entity1", new Date(1999)).getVersion(), 1);
+        assertEquals(store.timeWarpEntity("entity1", new Date(2000)).getVersion(), 2);
+        assertEquals(store.timeWarpEntity("entity1", new Date(2500)).getVersion(), 2);
+        assertEquals(store.timeWarpEntity("entity1", new Date(3000)).getVersion(), 3);
+        assertEquals(store.timeWarpEntity("entity1", new Date(9000)).getVersion(), 3);
+        assertEquals(store.timeWarpEntity("entity1", null).getVersion(), 3);
+        assertNull(store.timeWarpEntity("unknown", new Date(2000)));
+
+        store.createEntityInStore(getEntity("entity2", 1, 2500));
+
+        assertEquals(getVersions(store.findEntities(new Date(1500), entity -> true)), Collections.singletonList(1L));
+        assertEquals(store.findEntities(new Date(2600), entity -> true).size(), 2);
+        assertEquals(store.findEntities(null, entity -> true).size(), 2);
+
+        /*
+         * The search criteria are applied to the version in effect at the asOfTime.
+         */
+        assertEquals(getVersions(store.findEntities(new Date(2600), entity -> entity.getVersion() == 2)), Collections.singletonList(2L));
+        assertTrue(store.findEntities(new Date(3500), entity -> entity.getVersion() == 2).isEmpty());
+    }
+
+
+    /**
+     * Test that a page of history starts with the version in effect at the fromTime, ends before the toTime
+     * and is paged in the requested order.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testVersionPage() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 1000, 2000, 3000, 4000);
+
+        assertEquals(getVersions(store.getEntityHistory("entity1", new Date(2500), new Date(4000), 0, 0, true)), Arrays.asList(2L, 3L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", new Date(2500), new Date(4000), 0, 0, false)), Arrays.asList(3L, 2L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", new Date(2000), null, 0, 0, true)), Arrays.asList(2L, 3L, 4L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", new Date(500), new Date(2000), 0, 0, true)), Collections.singletonList(1L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, new Date(4001), 0, 0, false)), Arrays.asList(4L, 3L, 2L, 1L));
+
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 1, 2, true)), Arrays.asList(2L, 3L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 1, 2, false)), Arrays.asList(3L, 2L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 3, 2, true)), Collections.singletonList(4L));
+
+        assertTrue(store.getEntityHistory("entity1", null, null, 4, 2, true).isEmpty());
+        assertTrue(store.getEntityHistory("entity1", null, new Date(1000), 0, 0, true).isEmpty());
+        assertTrue(store.getEntityHistory("unknown", null, null, 0, 0, true).isEmpty());
+    }
+
+
+    /**
+     * Test that the versions stored at the same time are counted consistently at the boundaries of a page.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testVersionsAtSameTime() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 1000, 2000, 2000, 3000);
+
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 0, 0, true)), Arrays.asList(1L, 2L, 3L, 4L));
+        assertEquals(store.timeWarpEntity("entity1", new Date(2000)).getVersion(), 3);
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, new Date(2000), 0, 0, true)), Collections.singletonList(1L));
+        assertEquals(getVersions(store.getEntityHistory("entity1", new Date(2000), null, 0, 0, true)), Arrays.asList(3L, 4L));
+    }
+
+
+    /**
+     * Test that restoring an entity adds a new version copied from the latest previous version and keeps the
+     * earlier versions available for asOfTime queries.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testRestoreEntity() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 1000, 2000);
+
+        store.getEntity("entity1").setInstanceURL("version2");
+
+        EntityDetail restoredEntity = store.retrievePreviousVersionOfEntity("entity1");
+
+        assertEquals(restoredEntity.getVersion(), 3);
+        assertEquals(store.getEntity("entity1").getVersion(), 3);
+        assertNull(restoredEntity.getInstanceURL());
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 0, 0, true)), Arrays.asList(1L, 2L, 3L));
+        assertEquals(store.timeWarpEntity("entity1", new Date(1500)).getVersion(), 1);
+        assertEquals(store.timeWarpEntity("entity1", new Date(2500)).getInstanceURL(), "version2");
+
+        assertNull(store.retrievePreviousVersionOfEntity("unknown"));
+        assertNull(getStore("entity2", 1000).retrievePreviousVersionOfEntity("entity2"));
+    }
+
+
+    /**
+     * Test that restoring a relationship adds a new version copied from the latest previous version.
+     *
+     * @throws Exception problem storing the relationship
+     */
+    @Test
+    void testRestoreRelationship() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("relationship1", 1, 1000));
+        store.updateRelationshipInStore(getRelationship("relationship1", 2, 2000));
+        store.updateRelationshipInStore(getRelationship("relationship1", 3, 3000));
+
+        Relationship restoredRelationship = store.retrievePreviousVersionOfRelationship("relationship1");
+
+        assertEquals(restoredRelationship.getVersion(), 4);
+        assertEquals(store.getRelationship("relationship1").getVersion(), 4);
+        assertEquals(getVersions(store.getRelationshipHistory("relationship1", null, null, 0, 0, true)), Arrays.asList(1L, 2L, 3L, 4L));
+        assertEquals(store.timeWarpRelationship("relationship1", new Date(2500)).getVersion(), 2);
+        assertEquals(getVersions(store.findRelationships(new Date(1500), relationship -> true)), Collections.singletonList(1L));
+        assertNull(store.timeWarpRelationship("relationship1", new Date(500)));
+    }
+
+
+    /**
+     * Test that purging an entity removes all of its versions.
+     *
+     * @throws Exception problem storing the entity
+     */
+    @Test
+    void testPurgeEntity() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = getStore("entity1", 1000, 2000, 3000);
+
+        store.retrievePreviousVersionOfEntity("entity1");
+        store.removeEntityFromStore(store.getEntity("entity1"));
+
+        assertNull(store.getEntity("entity1"));
+        assertNull(store.timeWarpEntity("entity1", new Date(1500)));
+        assertTrue(store.getEntityHistory("entity1", null, null, 0, 0, true).isEmpty());
+        assertNull(store.retrievePreviousVersionOfEntity("entity1"));
+
+        /*
+         * An entity stored again with the same guid starts a new chain.
+         */
+        store.createEntityInStore(getEntity("entity1", 1, 5000));
+
+        assertEquals(getVersions(store.getEntityHistory("entity1", null, null, 0, 0, true)), Collections.singletonList(1L));
+    }
+
+
+    /**
+     * Test that purging a relationship removes all of its versions and its entries in the index of the
+     * relationships for each entity.
+     *
+     * @throws Exception problem storing the relationship
+     */
+    @Test
+    void testPurgeRelationship() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("relationship1", 1, 1000));
+        store.updateRelationshipInStore(getRelationship("relationship1", 2, 2000));
+        store.createRelationshipInStore(getRelationship("relationship2", 1, 1000));
+
+        assertEquals(store.getRelationshipGUIDsForEntity("entity1").size(), 2);
+
+        store.removeReferenceRelationshipFromStore("relationship1");
+
+        assertNull(store.getRelationship("relationship1"));
+        assertNull(store.timeWarpRelationship("relationship1", new Date(1500)));
+        assertTrue(store.getRelationshipHistory("relationship1", null, null, 0, 0, true).isEmpty());
+        assertEquals(store.getRelationshipGUIDsForEntity("entity1"), Collections.singleton("relationship2"));
+
+        store.removeRelationshipFromStore(store.getRelationship("relationship2"));
+
+        assertTrue(store.getRelationships().isEmpty());
+        assertTrue((store.getRelationshipGUIDsForEntity("entity2") == null) || (store.getRelationshipGUIDsForEntity("entity2").isEmpty()));
+    }
+}
@@ -30,6 +30,15 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *         enterpriseOMRSTopicProtocolVersion - the protocol version for the events passed on the
  *                                            enterprise OMRS topic.
  *     </li>
+ *     <li>
+ *         enterpriseInstanceCacheSize - maximum weight of the entities and relationships cached by the enterprise
+ *                                     repository connectors.  The weight of an instance is one plus its number of
+ *                                     properties and classifications.  Null or zero means no caching.
+ *     </li>
+ *     <li>
+ *         enterpriseInstanceCacheTimeToLive - number of seconds that a cached instance is used before it is
+ *                                           retrieved again from the cohorts.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -43,6 +52,8 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private String                           enterpriseMetadataCollectionId     = null;
     private Connection                       enterpriseOMRSTopicConnection      = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion = null;
+    private Integer                          enterpriseInstanceCacheSize        = null;
+    private Integer                          enterpriseInstanceCacheTimeToLive  = null;
 
 
     /**
@@ -179,6 +190,52 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum weight of the entities and relationships cached by the enterprise repository connectors.
+     * The weight of an instance is one plus its number of properties and classifications.
+     *
+     * @return maximum weight or null if instances are not cached
+     */
+    public Integer getEnterpriseInstanceCacheSize()
+    {
+        return enterpriseInstanceCacheSize;
+    }
+
+
+    /**
+     * Set up the maximum weight of the entities and relationships cached by the enterprise repository connectors.
+     * Null or zero turns off the cache.
+     *
+     * @param enterpriseInstanceCacheSize maximum weight
+     */
+    public void setEnterpriseInstanceCacheSize(Integer enterpriseInstanceCacheSize)
+    {
+        this.enterpriseInstanceCacheSize = enterpriseInstanceCacheSize;
+    }
+
+
+    /**
+     * Return the number of seconds that a cached instance is used before it is retrieved again from the cohorts.
+     *
+     * @return number of seconds or null for the default
+     */
+    public Integer getEnterpriseInstanceCacheTimeToLive()
+    {
+        return enterpriseInstanceCacheTimeToLive;
+    }
+
+
+    /**
+     * Set up the number of seconds that a cached instance is used before it is retrieved again from the cohorts.
+     *
+     * @param enterpriseInstanceCacheTimeToLive number of seconds
+     */
+    public void setEnterpriseInstanceCacheTimeToLive(Integer enterpriseInstanceCacheTimeToLive)
+    {
+        this.enterpriseInstanceCacheTimeToLive = enterpriseInstanceCacheTimeToLive;
+    }
+
+
     /**
      * Standard toString method.
      *
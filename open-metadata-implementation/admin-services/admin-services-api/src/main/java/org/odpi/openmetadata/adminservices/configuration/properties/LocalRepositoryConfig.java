@@ -57,6 +57,21 @@ import java.util.Objects;
  *         APIs that can change metadata in the repository without going through the OMRS interfaces.
  *         It maps the proprietary events from the local repository to the OMRS Events.
  *     </li>
+ *     <li>
+ *         referenceCopyBatchSize - maximum number of reference copies saved or purged in the local repository
+ *         in one batch when they are received from the cohorts.  If this value is null or less than two, each
+ *         reference copy is saved as its event is received.
+ *     </li>
+ *     <li>
+ *         referenceCopyBatchWindow - number of milliseconds that a reference copy may wait for its batch to fill
+ *         before the batch is saved.  If this value is null, a default is used.
+ *     </li>
+ *     <li>
+ *         archiveFingerprintDirectory - directory where the fingerprints of the open metadata archives loaded into
+ *         the local repository are kept.  The instances of an archive that has not changed since it was last loaded
+ *         are not loaded again.  If this value is null, the archives are loaded in full every time the server starts.
+ *         This is only useful for a local repository that stores its metadata persistently.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -76,6 +91,9 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
     private OpenMetadataExchangeRule eventsToSendRule                = null;
     private List<TypeDefSummary>     selectedTypesToSend             = null;
     private Connection               eventMapperConnection           = null;
+    private Integer                  referenceCopyBatchSize          = null;
+    private Integer                  referenceCopyBatchWindow        = null;
+    private String                   archiveFingerprintDirectory     = null;
 
 
     /**
@@ -109,6 +127,9 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
             this.eventsToSendRule = template.getEventsToSendRule();
             this.selectedTypesToSend = template.getSelectedTypesToSend();
             this.eventMapperConnection = template.getEventMapperConnection();
+            this.referenceCopyBatchSize = template.getReferenceCopyBatchSize();
+            this.referenceCopyBatchWindow = template.getReferenceCopyBatchWindow();
+            this.archiveFingerprintDirectory = template.getArchiveFingerprintDirectory();
         }
     }
 
@@ -391,6 +412,80 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of reference copies received from the cohorts that are saved or purged in the
+     * local repository in one batch.  Null (or a value less than two) means each reference copy is saved as its
+     * event is received.
+     *
+     * @return maximum batch size
+     */
+    public Integer getReferenceCopyBatchSize()
+    {
+        return referenceCopyBatchSize;
+    }
+
+
+    /**
+     * Set up the maximum number of reference copies received from the cohorts that are saved or purged in the
+     * local repository in one batch.  Null (or a value less than two) means each reference copy is saved as its
+     * event is received.
+     *
+     * @param referenceCopyBatchSize maximum batch size
+     */
+    public void setReferenceCopyBatchSize(Integer referenceCopyBatchSize)
+    {
+        this.referenceCopyBatchSize = referenceCopyBatchSize;
+    }
+
+
+    /**
+     * Return the number of milliseconds that a reference copy may wait for its batch to fill before the batch
+     * is saved in the local repository.
+     *
+     * @return milliseconds or null for the default
+     */
+    public Integer getReferenceCopyBatchWindow()
+    {
+        return referenceCopyBatchWindow;
+    }
+
+
+    /**
+     * Set up the number of milliseconds that a reference copy may wait for its batch to fill before the batch
+     * is saved in the local repository.
+     *
+     * @param referenceCopyBatchWindow milliseconds
+     */
+    public void setReferenceCopyBatchWindow(Integer referenceCopyBatchWindow)
+    {
+        this.referenceCopyBatchWindow = referenceCopyBatchWindow;
+    }
+
+
+    /**
+     * Return the directory where the fingerprints of the open metadata archives loaded into the local repository
+     * are kept.  Null means the archives are loaded in full every time the server starts.
+     *
+     * @return directory name
+     */
+    public String getArchiveFingerprintDirectory()
+    {
+        return archiveFingerprintDirectory;
+    }
+
+
+    /**
+     * Set up the directory where the fingerprints of the open metadata archives loaded into the local repository
+     * are kept.  This should only be set for a local repository that stores its metadata persistently.
+     *
+     * @param archiveFingerprintDirectory directory name
+     */
+    public void setArchiveFingerprintDirectory(String archiveFingerprintDirectory)
+    {
+        this.archiveFingerprintDirectory = archiveFingerprintDirectory;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -410,6 +505,9 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
                 ", eventsToSendRule=" + eventsToSendRule +
                 ", selectedTypesToSend=" + selectedTypesToSend +
                 ", eventMapperConnection=" + eventMapperConnection +
+                ", referenceCopyBatchSize=" + referenceCopyBatchSize +
+                ", referenceCopyBatchWindow=" + referenceCopyBatchWindow +
+                ", archiveFingerprintDirectory='" + archiveFingerprintDirectory + '\'' +
                 '}';
     }
 
@@ -441,7 +539,10 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
                 Objects.equals(selectedTypesToSave, that.selectedTypesToSave) &&
                 eventsToSendRule == that.eventsToSendRule &&
                 Objects.equals(selectedTypesToSend, that.selectedTypesToSend) &&
-                Objects.equals(eventMapperConnection, that.eventMapperConnection);
+                Objects.equals(eventMapperConnection, that.eventMapperConnection) &&
+                Objects.equals(referenceCopyBatchSize, that.referenceCopyBatchSize) &&
+                Objects.equals(referenceCopyBatchWindow, that.referenceCopyBatchWindow) &&
+                Objects.equals(archiveFingerprintDirectory, that.archiveFingerprintDirectory);
     }
 
 
@@ -456,6 +557,7 @@ public class LocalRepositoryConfig extends AdminServicesConfigHeader
         return Objects.hash(getMetadataCollectionId(), getMetadataCollectionName(), getLocalRepositoryMode(),
                             getLocalRepositoryLocalConnection(), getLocalRepositoryRemoteConnection(),
                             getEventsToSaveRule(), getSelectedTypesToSave(),
-                            getEventsToSendRule(), getSelectedTypesToSend(), getEventMapperConnection());
+                            getEventsToSendRule(), getSelectedTypesToSend(), getEventMapperConnection(),
+                            getReferenceCopyBatchSize(), getReferenceCopyBatchWindow(), getArchiveFingerprintDirectory());
     }
 }
@@ -13,14 +13,16 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 
 /**
  * OpenMetadataEventProtocolVersion provides the identifier for the version number of the event payload.  There is
- * only one version at the moment which is why it looks a little sad.
+ * only one version of the payload at the moment.  V1_COMPACT sends the same payload in a compact binary encoding
+ * once all members of the cohort have said that they are able to receive it.  Until then JSON is used.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown=true)
 public enum OpenMetadataEventProtocolVersion implements Serializable
 {
-    V1 (1, "V1", "Version 1");
+    V1         (1, "V1", "Version 1"),
+    V1_COMPACT (2, "V1_COMPACT", "Version 1 using the compact binary encoding");
 
     private static final long     serialVersionUID = 1L;
 
@@ -31,6 +31,11 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
     private int      waitBetweenScenarios = 60;
     private List<String> profilesToSkip = Collections.emptyList();
     private List<String> methodsToSkip  = Collections.emptyList();
+    private int      concurrentClients = 0;
+    private int      concurrentDuration = 60;
+    private int      concurrentWarmUp = 10;
+    private int      concurrentTargetRate = 0;
+    private int      concurrentReadPercentage = 80;
 
 
     /**
@@ -58,6 +63,11 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
             waitBetweenScenarios = template.getWaitBetweenScenarios();
             profilesToSkip = template.getProfilesToSkip();
             methodsToSkip  = template.getMethodsToSkip();
+            concurrentClients = template.getConcurrentClients();
+            concurrentDuration = template.getConcurrentDuration();
+            concurrentWarmUp = template.getConcurrentWarmUp();
+            concurrentTargetRate = template.getConcurrentTargetRate();
+            concurrentReadPercentage = template.getConcurrentReadPercentage();
         }
     }
 
@@ -198,6 +208,122 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
     }
 
 
+    /**
+     * Return the number of clients that call the server under test at the same time in the concurrent load profile.
+     * Zero (the default) means the concurrent load profile is not run.
+     *
+     * @return number of concurrent clients
+     */
+    public int getConcurrentClients()
+    {
+        return concurrentClients;
+    }
+
+
+    /**
+     * Set up the number of clients that call the server under test at the same time in the concurrent load profile.
+     * Zero (the default) means the concurrent load profile is not run.
+     *
+     * @param concurrentClients number of concurrent clients
+     */
+    public void setConcurrentClients(int concurrentClients)
+    {
+        this.concurrentClients = concurrentClients;
+    }
+
+
+    /**
+     * Return the amount of time (in seconds) that the concurrent load is measured for, after the warm-up.
+     *
+     * @return measurement time in seconds
+     */
+    public int getConcurrentDuration()
+    {
+        return concurrentDuration;
+    }
+
+
+    /**
+     * Set up the amount of time (in seconds) that the concurrent load is measured for, after the warm-up.
+     *
+     * @param concurrentDuration measurement time in seconds
+     */
+    public void setConcurrentDuration(int concurrentDuration)
+    {
+        this.concurrentDuration = concurrentDuration;
+    }
+
+
+    /**
+     * Return the amount of time (in seconds) that the concurrent load runs before it is measured.  The requests made
+     * during the warm-up are not included in the results.
+     *
+     * @return warm-up time in seconds
+     */
+    public int getConcurrentWarmUp()
+    {
+        return concurrentWarmUp;
+    }
+
+
+    /**
+     * Set up the amount of time (in seconds) that the concurrent load runs before it is measured.  The requests made
+     * during the warm-up are not included in the results.
+     *
+     * @param concurrentWarmUp warm-up time in seconds
+     */
+    public void setConcurrentWarmUp(int concurrentWarmUp)
+    {
+        this.concurrentWarmUp = concurrentWarmUp;
+    }
+
+
+    /**
+     * Return the total number of requests per second that the concurrent clients aim to make.  Zero (the default)
+     * means each client makes its next request as soon as the previous one completes.
+     *
+     * @return requests per second across all clients
+     */
+    public int getConcurrentTargetRate()
+    {
+        return concurrentTargetRate;
+    }
+
+
+    /**
+     * Set up the total number of requests per second that the concurrent clients aim to make.  Zero (the default)
+     * means each client makes its next request as soon as the previous one completes.
+     *
+     * @param concurrentTargetRate requests per second across all clients
+     */
+    public void setConcurrentTargetRate(int concurrentTargetRate)
+    {
+        this.concurrentTargetRate = concurrentTargetRate;
+    }
+
+
+    /**
+     * Return the percentage of the concurrent requests that are reads - the rest are writes.
+     *
+     * @return percentage between 0 and 100
+     */
+    public int getConcurrentReadPercentage()
+    {
+        return concurrentReadPercentage;
+    }
+
+
+    /**
+     * Set up the percentage of the concurrent requests that are reads - the rest are writes.
+     *
+     * @param concurrentReadPercentage percentage between 0 and 100
+     */
+    public void setConcurrentReadPercentage(int concurrentReadPercentage)
+    {
+        this.concurrentReadPercentage = concurrentReadPercentage;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -213,6 +339,11 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
                 "waitBetweenScenarios='" + waitBetweenScenarios + '\'' +
                 "profilesToSkip=" + profilesToSkip +
                 "methodsToSkip=" + methodsToSkip +
+                "concurrentClients='" + concurrentClients + '\'' +
+                "concurrentDuration='" + concurrentDuration + '\'' +
+                "concurrentWarmUp='" + concurrentWarmUp + '\'' +
+                "concurrentTargetRate='" + concurrentTargetRate + '\'' +
+                "concurrentReadPercentage='" + concurrentReadPercentage + '\'' +
                 '}';
     }
 
@@ -240,7 +371,12 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
                 && Objects.equals(getMaxSearchResults(), that.getMaxSearchResults())
                 && Objects.equals(getWaitBetweenScenarios(), that.getWaitBetweenScenarios())
                 && Objects.equals(getProfilesToSkip(), that.getProfilesToSkip())
-                && Objects.equals(getMethodsToSkip(), that.getMethodsToSkip());
+                && Objects.equals(getMethodsToSkip(), that.getMethodsToSkip())
+                && getConcurrentClients() == that.getConcurrentClients()
+                && getConcurrentDuration() == that.getConcurrentDuration()
+                && getConcurrentWarmUp() == that.getConcurrentWarmUp()
+                && getConcurrentTargetRate() == that.getConcurrentTargetRate()
+                && getConcurrentReadPercentage() == that.getConcurrentReadPercentage();
     }
 
 
@@ -252,6 +388,7 @@ public class RepositoryPerformanceWorkbenchConfig extends AdminServicesConfigHea
     @Override
     public int hashCode()
     {
-        return Objects.hash(getTutRepositoryServerName(), getInstancesPerType(), getMaxSearchResults(), getWaitBetweenScenarios(), getProfilesToSkip(), getMethodsToSkip());
+        return Objects.hash(getTutRepositoryServerName(), getInstancesPerType(), getMaxSearchResults(), getWaitBetweenScenarios(), getProfilesToSkip(), getMethodsToSkip(),
+                            getConcurrentClients(), getConcurrentDuration(), getConcurrentWarmUp(), getConcurrentTargetRate(), getConcurrentReadPercentage());
     }
 }
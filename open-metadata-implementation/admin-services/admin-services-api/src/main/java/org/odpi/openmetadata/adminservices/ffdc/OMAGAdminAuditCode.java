@@ -83,6 +83,14 @@ public enum OMAGAdminAuditCode implements AuditLogMessageSet
                             "Review the shutdown messages to ensure that all of the subsystems have successfully released the" +
                                     "resources that they were using.  Restart the server whenever its services are needed again."),
 
+    SERVER_STARTUP_STEP("OMAG-ADMIN-0008",
+                        OMRSAuditLogRecordSeverity.STARTUP,
+                        "The {0} server completed the start up of its {1} in {2} milliseconds",
+                        "The operational admin services have completed one of the steps needed to start the server.  " +
+                                "The time taken by each step shows where the start up time of the server is spent.",
+                        "No action is required.  If the server is slow to start, review the time taken by each step and the " +
+                                "start up messages of the subsystems involved in the slowest steps."),
+
     STARTING_ACCESS_SERVICES("OMAG-ADMIN-0010",
         OMRSAuditLogRecordSeverity.STARTUP,
         "The Open Metadata Access Services (OMASs) are starting",
@@ -90,7 +98,7 @@ public enum OMAGAdminAuditCode implements AuditLogMessageSet
                 "These provide specialist APIs for accessing open metadata.  Many of the access services support " +
                 "both a REST API and event-based interaction through a topic.  They also support options that " +
                 "control their behavior and the scope of the metadata that they work with.  The access service " +
-                "subsystems are started one at a time.  A fatal error in any of them prevents the server from starting.",
+                "subsystems are started in parallel.  A fatal error in any of them prevents the server from starting.",
         "The server's configuration document lists the access services that should be started in this server.  " +
                 "Verify that the expected access services are started and that they each report that their components are " +
                 "working correctly."),
@@ -167,12 +175,18 @@ public enum OMAGAdminAuditCode implements AuditLogMessageSet
                     "in the access service's configuration and restart the server instance. Otherwise, " +
                     "remove the configuration for this access service and restart the server."),
 
+    ACCESS_SERVICE_STARTED("OMAG-ADMIN-0019",
+            OMRSAuditLogRecordSeverity.STARTUP,
+            "The {0} has started in the {1} server in {2} milliseconds",
+            "The operational admin services have completed the initialization of an access service subsystem.",
+            "No action is required.  The access service reports the start up of its own components in its own messages."),
+
     STARTING_VIEW_SERVICES("OMAG-ADMIN-0020",
             OMRSAuditLogRecordSeverity.STARTUP,
             "The Open Metadata View Services (OMVSs) are starting",
             "The operational admin services are initializing the view service subsystems in a metadata server instance.  " +
                     "These provide specialist task orientated APIs for viewing open metadata.  The view services support " +
-                    "a REST API. The view service subsystems are started one at a time.  A fatal error in any of them prevents the server from starting.",
+                    "a REST API. The view service subsystems are started in parallel.  A fatal error in any of them prevents the server from starting.",
             "The server's configuration document lists the view services that should be started in this server.  " +
                     "Verify that the expected view services are started and that they each report that their components are " +
                     "working correctly."),
@@ -250,6 +264,12 @@ public enum OMAGAdminAuditCode implements AuditLogMessageSet
                     "in the view service's configuration and restart the server instance. Otherwise, " +
                     "remove the configuration for this view service and restart the view server."),
 
+    VIEW_SERVICE_STARTED("OMAG-ADMIN-0029",
+            OMRSAuditLogRecordSeverity.STARTUP,
+            "The {0} has started in the {1} view server in {2} milliseconds",
+            "The operational admin services have completed the initialization of a view service subsystem.",
+            "No action is required.  The view service reports the start up of its own components in its own messages."),
+
     STARTING_ENGINE_SERVICES("OMAG-ADMIN-0040",
                            OMRSAuditLogRecordSeverity.STARTUP,
                            "The Open Metadata Engine Services (OMESs) are starting",
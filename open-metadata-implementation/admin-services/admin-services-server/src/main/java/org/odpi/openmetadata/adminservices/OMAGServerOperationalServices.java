@@ -37,7 +37,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * OMAGServerOperationalServices will provide support to start, manage and stop services in the OMAG Server.
@@ -52,6 +63,17 @@ public class OMAGServerOperationalServices
     private OMAGServerErrorHandler         errorHandler = new OMAGServerErrorHandler();
     private OMAGServerExceptionHandler     exceptionHandler = new OMAGServerExceptionHandler();
 
+    /*
+     * Runs the initialization of the access services and view services of a server in parallel.
+     */
+    private static final ExecutorService serviceStartUpPool = Executors.newCachedThreadPool(runnable ->
+    {
+        Thread thread = new Thread(runnable, "OMAGServiceStartUp");
+
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static RESTCallLogger restCallLogger = new RESTCallLogger(LoggerFactory.getLogger(OMAGServerOperationalServices.class),
                                                                       CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceName());
 
@@ -75,6 +97,29 @@ public class OMAGServerOperationalServices
      */
     public SuccessMessageResponse activateServerListWithStoredConfig(String       userId,
                                                                      List<String> serverNames)
+    {
+        return activateServerListWithStoredConfig(userId, serverNames, 1);
+    }
+
+
+    /**
+     * Activate the list of open metadata and governance servers using the stored configuration information.
+     * Up to maxParallelServers servers are started at the same time.  A server that calls another server in the list
+     * (for example, a view server calling its metadata server) is only started once the server it calls has started.
+     * No more servers are started once one of the servers fails to start, and the error is returned.  Otherwise
+     * the successful start up messages are returned in the order of the list.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverNames  list of server names
+     * @param maxParallelServers maximum number of servers to start at the same time
+     * @return success message or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException the server name is invalid or
+     * OMAGConfigurationErrorException there is a problem using the supplied configuration.
+     */
+    public SuccessMessageResponse activateServerListWithStoredConfig(String       userId,
+                                                                     List<String> serverNames,
+                                                                     int          maxParallelServers)
     {
         String                 startUpMessage = null;
         SuccessMessageResponse response       = new SuccessMessageResponse();
@@ -83,16 +128,68 @@ public class OMAGServerOperationalServices
 
         if (serverNames != null)
         {
+            List<String> serverList = new ArrayList<>();
+
             for (String serverName : serverNames)
             {
-                if (serverName != null)
+                if ((serverName != null) && (! serverList.contains(serverName.trim())))
                 {
-                    response = activateWithStoredConfig(userId, serverName.trim());
+                    serverList.add(serverName.trim());
+                }
+            }
+
+            Map<String, Set<String>> serverDependencies = this.getServerDependencies(userId, serverList);
 
-                    if (response.getRelatedHTTPCode() == 200)
+            /*
+             * Each server is only added to the pool once the servers it calls have been added so it can wait for them.
+             */
+            ExecutorService serverStartUpPool = Executors.newFixedThreadPool(Math.max(1, Math.min(maxParallelServers, serverList.size())),
+                                                                             runnable ->
+                                                                             {
+                                                                                 Thread thread = new Thread(runnable, "OMAGServerStartUp");
+
+                                                                                 thread.setDaemon(true);
+                                                                                 return thread;
+                                                                             });
+            AtomicBoolean                                          startUpFailed     = new AtomicBoolean(false);
+            Map<String, CompletableFuture<SuccessMessageResponse>> serverActivations = new HashMap<>();
+
+            try
+            {
+                for (String serverName : this.getServerStartUpOrder(serverList, serverDependencies))
+                {
+                    List<CompletableFuture<SuccessMessageResponse>> calledServerActivations = new ArrayList<>();
+
+                    for (String calledServerName : serverDependencies.get(serverName))
+                    {
+                        if (serverActivations.containsKey(calledServerName))
+                        {
+                            calledServerActivations.add(serverActivations.get(calledServerName));
+                        }
+                    }
+
+                    serverActivations.put(serverName,
+                                          CompletableFuture.allOf(calledServerActivations.toArray(new CompletableFuture[0]))
+                                                           .thenApplyAsync(ignored -> this.activateListedServer(userId, serverName, startUpFailed),
+                                                                           serverStartUpPool));
+                }
+
+                for (String serverName : serverList)
+                {
+                    SuccessMessageResponse serverResponse = serverActivations.get(serverName).join();
+
+                    if (serverResponse == null)
+                    {
+                        /*
+                         * The server was not started because another server failed.
+                         */
+                        continue;
+                    }
+
+                    if (serverResponse.getRelatedHTTPCode() == 200)
                     {
                         String serverStartUpMessage = "OMAG Server '" + serverName + "' successful start , with message: " +
-                                response.getSuccessMessage() + System.lineSeparator();
+                                serverResponse.getSuccessMessage() + System.lineSeparator();
                         if (startUpMessage == null)
                         {
                             startUpMessage = serverStartUpMessage;
@@ -102,12 +199,16 @@ public class OMAGServerOperationalServices
                             startUpMessage += serverStartUpMessage;
                         }
                     }
-                    else
+                    else if (response.getRelatedHTTPCode() == 200)
                     {
-                        break;
+                        response = serverResponse;
                     }
                 }
             }
+            finally
+            {
+                serverStartUpPool.shutdown();
+            }
         }
         else
         {
@@ -123,6 +224,196 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Activate one of the servers from a list of servers unless another server from the list has already failed to start.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @param startUpFailed flag set when a server from the list fails to start
+     * @return success message response or null if the server was not started
+     */
+    private SuccessMessageResponse activateListedServer(String        userId,
+                                                        String        serverName,
+                                                        AtomicBoolean startUpFailed)
+    {
+        if (startUpFailed.get())
+        {
+            return null;
+        }
+
+        SuccessMessageResponse response = activateWithStoredConfig(userId, serverName);
+
+        if (response.getRelatedHTTPCode() != 200)
+        {
+            startUpFailed.set(true);
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Work out which servers in a list call other servers in the same list.  These are found from the
+     * server names in the client configuration of the view services, integration services and engine services,
+     * and the access service server names of the data engine proxy and open lineage services.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverList list of server names
+     * @return map from server name to the names of the other servers in the list that it calls
+     */
+    private Map<String, Set<String>> getServerDependencies(String       userId,
+                                                           List<String> serverList)
+    {
+        final String methodName = "getServerDependencies";
+
+        Map<String, OMAGServerConfig> configurations = new HashMap<>();
+
+        for (String serverName : serverList)
+        {
+            try
+            {
+                configurations.put(serverName, configStore.getServerConfig(userId, serverName, methodName));
+            }
+            catch (Exception error)
+            {
+                /*
+                 * The error is reported when the server is activated.
+                 */
+            }
+        }
+
+        return this.getServerDependencies(serverList, configurations);
+    }
+
+
+    /**
+     * Work out which servers in a list call other servers in the same list from their configuration.
+     * A server with no configuration calls no other servers.
+     *
+     * @param serverList list of server names
+     * @param configurations map from server name to its configuration
+     * @return map from server name to the names of the other servers in the list that it calls
+     */
+    Map<String, Set<String>> getServerDependencies(List<String>                  serverList,
+                                                   Map<String, OMAGServerConfig> configurations)
+    {
+        Map<String, Set<String>> serverDependencies = new HashMap<>();
+
+        for (String serverName : serverList)
+        {
+            Set<String>      calledServers = new HashSet<>();
+            OMAGServerConfig configuration = configurations.get(serverName);
+
+            if (configuration != null)
+            {
+                if (configuration.getViewServicesConfig() != null)
+                {
+                    for (ViewServiceConfig viewServiceConfig : configuration.getViewServicesConfig())
+                    {
+                        if (viewServiceConfig != null)
+                        {
+                            calledServers.add(viewServiceConfig.getOMAGServerName());
+                        }
+                    }
+                }
+
+                if (configuration.getIntegrationServicesConfig() != null)
+                {
+                    for (IntegrationServiceConfig integrationServiceConfig : configuration.getIntegrationServicesConfig())
+                    {
+                        if (integrationServiceConfig != null)
+                        {
+                            calledServers.add(integrationServiceConfig.getOMAGServerName());
+                        }
+                    }
+                }
+
+                EngineHostServicesConfig engineHostServicesConfig = configuration.getEngineHostServicesConfig();
+
+                if (engineHostServicesConfig != null)
+                {
+                    calledServers.add(engineHostServicesConfig.getOMAGServerName());
+
+                    if (engineHostServicesConfig.getEngineServiceConfigs() != null)
+                    {
+                        for (EngineServiceConfig engineServiceConfig : engineHostServicesConfig.getEngineServiceConfigs())
+                        {
+                            if (engineServiceConfig != null)
+                            {
+                                calledServers.add(engineServiceConfig.getOMAGServerName());
+                            }
+                        }
+                    }
+                }
+
+                if (configuration.getDataEngineProxyConfig() != null)
+                {
+                    calledServers.add(configuration.getDataEngineProxyConfig().getAccessServiceServerName());
+                }
+
+                if ((configuration.getOpenLineageServerConfig() != null) && (configuration.getOpenLineageServerConfig().getAccessServiceConfig() != null))
+                {
+                    calledServers.add(configuration.getOpenLineageServerConfig().getAccessServiceConfig().getServerName());
+                }
+            }
+
+            calledServers.remove(serverName);
+            calledServers.retainAll(serverList);
+            serverDependencies.put(serverName, calledServers);
+        }
+
+        return serverDependencies;
+    }
+
+
+    /**
+     * Order a list of servers so that each server comes after the servers it calls.  The list order is kept where
+     * possible.  If servers call one another in a loop, the loop is broken at the server that is first in the list.
+     *
+     * @param serverList list of server names
+     * @param serverDependencies map from server name to the names of the other servers in the list that it calls
+     * @return ordered list of server names
+     */
+    List<String> getServerStartUpOrder(List<String>             serverList,
+                                       Map<String, Set<String>> serverDependencies)
+    {
+        List<String> startUpOrder = new ArrayList<>();
+        Set<String>  visited      = new HashSet<>();
+
+        for (String serverName : serverList)
+        {
+            this.addToServerStartUpOrder(serverName, serverDependencies, visited, startUpOrder);
+        }
+
+        return startUpOrder;
+    }
+
+
+    /**
+     * Add a server to the start up order after the servers that it calls.
+     *
+     * @param serverName server to add
+     * @param serverDependencies map from server name to the names of the other servers in the list that it calls
+     * @param visited servers that have already been reached
+     * @param startUpOrder ordered list of server names
+     */
+    private void addToServerStartUpOrder(String                   serverName,
+                                         Map<String, Set<String>> serverDependencies,
+                                         Set<String>              visited,
+                                         List<String>             startUpOrder)
+    {
+        if (visited.add(serverName))
+        {
+            for (String calledServerName : serverDependencies.get(serverName))
+            {
+                this.addToServerStartUpOrder(calledServerName, serverDependencies, visited, startUpOrder);
+            }
+
+            startUpOrder.add(serverName);
+        }
+    }
+
+
     /**
      * Activate the open metadata and governance services using the stored configuration information.
      *
@@ -255,6 +546,8 @@ public class OMAGServerOperationalServices
              * (Even the governance servers need the audit log.)
              */
             OMRSOperationalServices         operationalRepositoryServices;
+            long                            serverStartTime = System.currentTimeMillis();
+            long                            stepStartTime   = serverStartTime;
 
             operationalRepositoryServices = new OMRSOperationalServices(configuration.getLocalServerName(),
                                                                         configuration.getLocalServerType(),
@@ -312,6 +605,7 @@ public class OMAGServerOperationalServices
                  * This server is a source of metadata and is capable of joining an open metadata repository cohort.
                  */
                 operationalRepositoryServices.initializeCohortMember(configuration.getRepositoryServicesConfig());
+                stepStartTime = this.logStartUpStep(serverName, "repository services", stepStartTime, auditLog);
 
                 /*
                  * Set up the server instance - ensure it is active and the security has been set up correctly.
@@ -380,6 +674,7 @@ public class OMAGServerOperationalServices
                                          serverName,
                                          activatedServiceList,
                                          auditLog);
+                this.logStartUpStep(serverName, "access services", stepStartTime, auditLog);
 
                 /*
                  * Initialize the Open Metadata Conformance Suite Services.  This runs the Open Metadata TestLabs that are
@@ -432,6 +727,7 @@ public class OMAGServerOperationalServices
                  * Set up the repository services REST API
                  */
                 operationalRepositoryServices.initializeViewServer(configuration.getRepositoryServicesConfig());
+                stepStartTime = this.logStartUpStep(serverName, "repository services", stepStartTime, auditLog);
 
                 /*
                  * Set up the server instance - ensure it is active and the security has been set up correctly.
@@ -457,6 +753,7 @@ public class OMAGServerOperationalServices
                                        activatedServiceList,
                                        configuration.getMaxPageSize(),
                                        auditLog);
+                this.logStartUpStep(serverName, "view services", stepStartTime, auditLog);
             }
             else /* governance servers */
             {
@@ -464,6 +761,7 @@ public class OMAGServerOperationalServices
                  * Set up the repository services REST API
                  */
                 operationalRepositoryServices.initializeGovernanceServer(configuration.getRepositoryServicesConfig());
+                stepStartTime = this.logStartUpStep(serverName, "repository services", stepStartTime, auditLog);
 
                 /*
                  * Governance servers are varied in nature.  Many host connectors that exchange metadata with third party technologies.
@@ -499,6 +797,7 @@ public class OMAGServerOperationalServices
                                                  serverTypeClassification,
                                                  operationalRepositoryServices,
                                                  activatedServiceList);
+                    this.logStartUpStep(serverName, "governance services", stepStartTime, auditLog);
 
                     auditLog.logMessage(actionDescription,
                                         OMAGAdminAuditCode.GOVERNANCE_SERVICES_STARTED.getMessageDefinition(serverTypeClassifier.getServerType().getServerTypeName(),
@@ -537,6 +836,8 @@ public class OMAGServerOperationalServices
             /*
              * All subsystems are started - just log messages and return.
              */
+            this.logStartUpStep(serverName, "services", serverStartTime, auditLog);
+
             String successMessage = new Date().toString() + " " + serverName + " is running the following services: " + activatedServiceList.toString();
 
             auditLog.logMessage(actionDescription,
@@ -576,6 +877,32 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Record the time taken by one of the steps of the server's start up in the audit log.
+     *
+     * @param serverName name of the server
+     * @param step description of the step
+     * @param stepStartTime time that the step started
+     * @param auditLog logging destination
+     * @return time that the step completed (the start time of the next step)
+     */
+    private long logStartUpStep(String       serverName,
+                                String       step,
+                                long         stepStartTime,
+                                OMRSAuditLog auditLog)
+    {
+        final String actionDescription = "Initialize OMAG Server subsystems";
+
+        long stepEndTime = System.currentTimeMillis();
+
+        auditLog.logMessage(actionDescription,
+                            OMAGAdminAuditCode.SERVER_STARTUP_STEP.getMessageDefinition(serverName,
+                                                                                        step,
+                                                                                        Long.toString(stepEndTime - stepStartTime)));
+        return stepEndTime;
+    }
+
+
     /**
      * There are many paging services in Egeria.  This value sets a maximum page size that a requester can use.
      * It is passed to each component at start up so each can enforce it on all REST calls.
@@ -655,6 +982,14 @@ public class OMAGServerOperationalServices
             int  configuredAccessServiceCount = 0;
             int  enabledAccessServiceCount = 0;
 
+            /*
+             * The admin objects are created in the order of the configuration.  Their initialization, which is where
+             * most of the start up time of an access service is spent, runs in parallel once they are all created.
+             */
+            List<AccessServiceConfig>          startingAccessServices       = new ArrayList<>();
+            List<AccessServiceAdmin>           startingAccessServiceAdmins  = new ArrayList<>();
+            List<Callable<AccessServiceAdmin>> accessServiceInitializations = new ArrayList<>();
+
             for (AccessServiceConfig  accessServiceConfig : accessServiceConfigList)
             {
                 /*
@@ -682,19 +1017,31 @@ public class OMAGServerOperationalServices
                                                                                 accessServiceConfig.getAccessServiceFullName(),
                                                                                 accessServiceConfig.getAccessServiceDescription(),
                                                                                 accessServiceConfig.getAccessServiceWiki());
-
-                            /*
-                             * We will switch to the new version of this method once all access services have move from using OMRSAuditLog to
-                             * AuditLog.  The default implementation of this method delegates to the new version of the method so
-                             */
-                            accessServiceAdmin.initialize(accessServiceConfig,
-                                                          enterpriseTopicConnector,
-                                                          operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceFullName()),
-                                                          accessServicesAuditLog,
-                                                          localServerUserId);
-                            operationalAccessServiceAdminList.add(accessServiceAdmin);
-                            activatedServiceList.add(accessServiceConfig.getAccessServiceFullName());
-
+                            OMRSRepositoryConnector enterpriseRepositoryConnector
+                                    = operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceFullName());
+
+                            startingAccessServices.add(accessServiceConfig);
+                            startingAccessServiceAdmins.add(accessServiceAdmin);
+                            accessServiceInitializations.add(() ->
+                            {
+                                long startTime = System.currentTimeMillis();
+
+                                /*
+                                 * We will switch to the new version of this method once all access services have move from using OMRSAuditLog to
+                                 * AuditLog.  The default implementation of this method delegates to the new version of the method so
+                                 */
+                                accessServiceAdmin.initialize(accessServiceConfig,
+                                                              enterpriseTopicConnector,
+                                                              enterpriseRepositoryConnector,
+                                                              accessServicesAuditLog,
+                                                              localServerUserId);
+
+                                auditLog.logMessage(actionDescription,
+                                                    OMAGAdminAuditCode.ACCESS_SERVICE_STARTED.getMessageDefinition(accessServiceConfig.getAccessServiceFullName(),
+                                                                                                                   serverName,
+                                                                                                                   Long.toString(System.currentTimeMillis() - startTime)));
+                                return accessServiceAdmin;
+                            });
                         }
                         catch (OMAGConfigurationErrorException error)
                         {
@@ -707,19 +1054,7 @@ public class OMAGServerOperationalServices
                         }
                         catch (Exception error)
                         {
-                            auditLog.logException(methodName,
-                                                  OMAGAdminAuditCode.ACCESS_SERVICE_INSTANCE_FAILURE.getMessageDefinition(error.getMessage(),
-                                                                                                                          accessServiceConfig.getAccessServiceName(),
-                                                                                                                          error.getMessage()),
-                                                  accessServiceConfig.toString(),
-                                                  error);
-
-                            throw new OMAGConfigurationErrorException(OMAGAdminErrorCode.UNEXPECTED_INITIALIZATION_EXCEPTION.getMessageDefinition(serverName,
-                                                                                                                                                  accessServiceConfig.getAccessServiceName(),
-                                                                                                                                                  error.getMessage()),
-                                                                      this.getClass().getName(),
-                                                                      methodName,
-                                                                      error);
+                            throw this.getAccessServiceFailure(accessServiceConfig, serverName, auditLog, error);
                         }
                     }
                     else
@@ -731,6 +1066,45 @@ public class OMAGServerOperationalServices
                 }
             }
 
+            List<Future<AccessServiceAdmin>> initializedAccessServices = this.startInParallel(accessServiceInitializations);
+
+            /*
+             * Wait for all of the access services so that those that started are shutdown with the server if one of them failed.
+             * The first failure in the order of the configuration is reported.
+             */
+            Throwable           failure             = null;
+            AccessServiceConfig failedAccessService = null;
+
+            for (int index = 0; index < initializedAccessServices.size(); index++)
+            {
+                Throwable initializationFailure = this.waitForStartUp(initializedAccessServices.get(index));
+
+                if (initializationFailure == null)
+                {
+                    operationalAccessServiceAdminList.add(startingAccessServiceAdmins.get(index));
+                    activatedServiceList.add(startingAccessServices.get(index).getAccessServiceFullName());
+                }
+                else if (failure == null)
+                {
+                    failure = initializationFailure;
+                    failedAccessService = startingAccessServices.get(index);
+                }
+            }
+
+            if (failure instanceof OMAGConfigurationErrorException)
+            {
+                auditLog.logException(methodName,
+                                      OMAGAdminAuditCode.ACCESS_SERVICE_INSTANCE_FAILURE.getMessageDefinition(failedAccessService.getAccessServiceName(),
+                                                                                                              failure.getMessage()),
+                                      failedAccessService.toString(),
+                                      failure);
+                throw (OMAGConfigurationErrorException) failure;
+            }
+            else if (failure != null)
+            {
+                throw this.getAccessServiceFailure(failedAccessService, serverName, auditLog, failure);
+            }
+
             auditLog.logMessage(actionDescription,
                                 OMAGAdminAuditCode.ALL_ACCESS_SERVICES_STARTED.getMessageDefinition(Integer.toString(enabledAccessServiceCount),
                                                                                                     Integer.toString(configuredAccessServiceCount)));
@@ -781,6 +1155,14 @@ public class OMAGServerOperationalServices
             int configuredViewServiceCount = 0;
             int enabledViewServiceCount = 0;
 
+            /*
+             * As for the access services, the admin objects are created in the order of the configuration and then
+             * initialized in parallel.
+             */
+            List<ViewServiceConfig>          startingViewServices       = new ArrayList<>();
+            List<ViewServiceAdmin>           startingViewServiceAdmins  = new ArrayList<>();
+            List<Callable<ViewServiceAdmin>> viewServiceInitializations = new ArrayList<>();
+
             for (ViewServiceConfig viewServiceConfig : viewServiceConfigList)
             {
                 configuredViewServiceCount++;
@@ -802,14 +1184,24 @@ public class OMAGServerOperationalServices
                                                                             viewServiceConfig.getViewServiceDescription(),
                                                                             viewServiceConfig.getViewServiceWiki());
 
-                        viewServiceAdmin.initialize(serverName,
-                                                    viewServiceConfig,
-                                                    viewServicesAuditLog,
-                                                    localServerUserId,
-                                                    maxPageSize);
-                        operationalViewServiceAdminList.add(viewServiceAdmin);
-                        activatedServiceList.add(viewServiceConfig.getViewServiceFullName());
+                        startingViewServices.add(viewServiceConfig);
+                        startingViewServiceAdmins.add(viewServiceAdmin);
+                        viewServiceInitializations.add(() ->
+                        {
+                            long startTime = System.currentTimeMillis();
+
+                            viewServiceAdmin.initialize(serverName,
+                                                        viewServiceConfig,
+                                                        viewServicesAuditLog,
+                                                        localServerUserId,
+                                                        maxPageSize);
 
+                            auditLog.logMessage(actionDescription,
+                                                OMAGAdminAuditCode.VIEW_SERVICE_STARTED.getMessageDefinition(viewServiceConfig.getViewServiceFullName(),
+                                                                                                             serverName,
+                                                                                                             Long.toString(System.currentTimeMillis() - startTime)));
+                            return viewServiceAdmin;
+                        });
                     }
                     catch (OMAGConfigurationErrorException error)
                     {
@@ -822,19 +1214,7 @@ public class OMAGServerOperationalServices
                     }
                     catch (Exception error)
                     {
-                        auditLog.logException(methodName,
-                                              OMAGAdminAuditCode.VIEW_SERVICE_INSTANCE_FAILURE.getMessageDefinition(error.getMessage(),
-                                                                                                                    viewServiceConfig.getViewServiceName(),
-                                                                                                                    error.getMessage()),
-                                              viewServiceConfig.toString(),
-                                              error);
-
-                        throw new OMAGConfigurationErrorException(OMAGAdminErrorCode.UNEXPECTED_INITIALIZATION_EXCEPTION.getMessageDefinition(serverName,
-                                                                                                                                              viewServiceConfig.getViewServiceName(),
-                                                                                                                                              error.getMessage()),
-                                                                  this.getClass().getName(),
-                                                                  methodName,
-                                                                  error);
+                        throw this.getViewServiceFailure(viewServiceConfig, serverName, auditLog, error);
                     }
                 }
                 else
@@ -846,6 +1226,41 @@ public class OMAGServerOperationalServices
 
             }
 
+            List<Future<ViewServiceAdmin>> initializedViewServices = this.startInParallel(viewServiceInitializations);
+
+            Throwable         failure           = null;
+            ViewServiceConfig failedViewService = null;
+
+            for (int index = 0; index < initializedViewServices.size(); index++)
+            {
+                Throwable initializationFailure = this.waitForStartUp(initializedViewServices.get(index));
+
+                if (initializationFailure == null)
+                {
+                    operationalViewServiceAdminList.add(startingViewServiceAdmins.get(index));
+                    activatedServiceList.add(startingViewServices.get(index).getViewServiceFullName());
+                }
+                else if (failure == null)
+                {
+                    failure = initializationFailure;
+                    failedViewService = startingViewServices.get(index);
+                }
+            }
+
+            if (failure instanceof OMAGConfigurationErrorException)
+            {
+                auditLog.logException(methodName,
+                                      OMAGAdminAuditCode.VIEW_SERVICE_INSTANCE_FAILURE.getMessageDefinition(failedViewService.getViewServiceName(),
+                                                                                                            failure.getMessage()),
+                                      failedViewService.toString(),
+                                      failure);
+                throw (OMAGConfigurationErrorException) failure;
+            }
+            else if (failure != null)
+            {
+                throw this.getViewServiceFailure(failedViewService, serverName, auditLog, failure);
+            }
+
             auditLog.logMessage(actionDescription,
                                 OMAGAdminAuditCode.ALL_VIEW_SERVICES_STARTED.getMessageDefinition(Integer.toString(enabledViewServiceCount),
                                                                                                   Integer.toString(configuredViewServiceCount)));
@@ -859,6 +1274,119 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Run the initialization of a group of services in parallel.  The services in a group only share the
+     * subsystems (such as the repository services) that were started before them.
+     *
+     * @param initializations initialization of each service
+     * @param <T> type of the admin object for the services
+     * @return one future for each initialization, in the same order
+     */
+    private <T> List<Future<T>> startInParallel(List<Callable<T>> initializations)
+    {
+        List<Future<T>> results = new ArrayList<>();
+
+        for (Callable<T> initialization : initializations)
+        {
+            results.add(serviceStartUpPool.submit(initialization));
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Wait for the initialization of a service to complete.
+     *
+     * @param initialization running initialization
+     * @param <T> type of the admin object for the service
+     * @return null if the service started or the exception that it failed with
+     */
+    private <T> Throwable waitForStartUp(Future<T> initialization)
+    {
+        try
+        {
+            initialization.get();
+
+            return null;
+        }
+        catch (ExecutionException error)
+        {
+            return error.getCause();
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+
+            return error;
+        }
+    }
+
+
+    /**
+     * Log an unexpected exception from the start up of an access service and return the exception that stops the server.
+     *
+     * @param accessServiceConfig configuration of the failing access service
+     * @param serverName server name
+     * @param auditLog logging destination
+     * @param error exception from the access service
+     * @return exception to throw
+     */
+    private OMAGConfigurationErrorException getAccessServiceFailure(AccessServiceConfig accessServiceConfig,
+                                                                    String              serverName,
+                                                                    OMRSAuditLog        auditLog,
+                                                                    Throwable           error)
+    {
+        final String methodName = "initializeAccessServices";
+
+        auditLog.logException(methodName,
+                              OMAGAdminAuditCode.ACCESS_SERVICE_INSTANCE_FAILURE.getMessageDefinition(error.getMessage(),
+                                                                                                      accessServiceConfig.getAccessServiceName(),
+                                                                                                      error.getMessage()),
+                              accessServiceConfig.toString(),
+                              error);
+
+        return new OMAGConfigurationErrorException(OMAGAdminErrorCode.UNEXPECTED_INITIALIZATION_EXCEPTION.getMessageDefinition(serverName,
+                                                                                                                              accessServiceConfig.getAccessServiceName(),
+                                                                                                                              error.getMessage()),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   error);
+    }
+
+
+    /**
+     * Log an unexpected exception from the start up of a view service and return the exception that stops the server.
+     *
+     * @param viewServiceConfig configuration of the failing view service
+     * @param serverName server name
+     * @param auditLog logging destination
+     * @param error exception from the view service
+     * @return exception to throw
+     */
+    private OMAGConfigurationErrorException getViewServiceFailure(ViewServiceConfig viewServiceConfig,
+                                                                  String            serverName,
+                                                                  OMRSAuditLog      auditLog,
+                                                                  Throwable         error)
+    {
+        final String methodName = "initializeViewServices";
+
+        auditLog.logException(methodName,
+                              OMAGAdminAuditCode.VIEW_SERVICE_INSTANCE_FAILURE.getMessageDefinition(error.getMessage(),
+                                                                                                    viewServiceConfig.getViewServiceName(),
+                                                                                                    error.getMessage()),
+                              viewServiceConfig.toString(),
+                              error);
+
+        return new OMAGConfigurationErrorException(OMAGAdminErrorCode.UNEXPECTED_INITIALIZATION_EXCEPTION.getMessageDefinition(serverName,
+                                                                                                                              viewServiceConfig.getViewServiceName(),
+                                                                                                                              error.getMessage()),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   error);
+    }
+
+
     /**
      * Create an instance of the access service's admin class from the class name in the configuration.
      *
@@ -0,0 +1,177 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.DataEngineProxyConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineHostServicesConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.OLSSimplifiedAccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.OpenLineageServerConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.ViewServiceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the ordering of the servers in the platform's start up list.
+ */
+public class TestOMAGServerOperationalServices
+{
+    private final OMAGServerOperationalServices operationalServices = new OMAGServerOperationalServices();
+
+
+    /**
+     * Return a map of server dependencies.
+     *
+     * @param dependencies pairs of server name and the name of a server it calls
+     * @param serverList list of server names
+     * @return map from server name to the names of the servers it calls
+     */
+    private Map<String, Set<String>> getDependencies(List<String> serverList,
+                                                     String...    dependencies)
+    {
+        Map<String, Set<String>> serverDependencies = new HashMap<>();
+
+        for (String serverName : serverList)
+        {
+            serverDependencies.put(serverName, new HashSet<>());
+        }
+
+        for (int i = 0; i < dependencies.length; i = i + 2)
+        {
+            serverDependencies.get(dependencies[i]).add(dependencies[i + 1]);
+        }
+
+        return serverDependencies;
+    }
+
+
+    /**
+     * Validate that the dependencies are found from the client configuration of each type of service and only
+     * include the other servers in the list.
+     */
+    @Test
+    public void testGetServerDependencies()
+    {
+        ViewServiceConfig viewServiceConfig = new ViewServiceConfig();
+        viewServiceConfig.setOMAGServerName("metadataServer");
+
+        OMAGServerConfig viewServer = new OMAGServerConfig();
+        viewServer.setViewServicesConfig(Collections.singletonList(viewServiceConfig));
+
+        IntegrationServiceConfig integrationServiceConfig = new IntegrationServiceConfig();
+        integrationServiceConfig.setOMAGServerName("metadataServer");
+
+        OMAGServerConfig integrationDaemon = new OMAGServerConfig();
+        integrationDaemon.setIntegrationServicesConfig(Collections.singletonList(integrationServiceConfig));
+
+        EngineServiceConfig engineServiceConfig = new EngineServiceConfig();
+        engineServiceConfig.setOMAGServerName("metadataServer");
+
+        EngineHostServicesConfig engineHostServicesConfig = new EngineHostServicesConfig();
+        engineHostServicesConfig.setOMAGServerName("unlistedServer");
+        engineHostServicesConfig.setEngineServiceConfigs(Collections.singletonList(engineServiceConfig));
+
+        OMAGServerConfig engineHost = new OMAGServerConfig();
+        engineHost.setEngineHostServicesConfig(engineHostServicesConfig);
+
+        DataEngineProxyConfig dataEngineProxyConfig = new DataEngineProxyConfig();
+        dataEngineProxyConfig.setAccessServiceServerName("metadataServer");
+
+        OMAGServerConfig dataEngineProxy = new OMAGServerConfig();
+        dataEngineProxy.setDataEngineProxyConfig(dataEngineProxyConfig);
+
+        OLSSimplifiedAccessServiceConfig accessServiceConfig = new OLSSimplifiedAccessServiceConfig();
+        accessServiceConfig.setServerName("metadataServer");
+
+        OpenLineageServerConfig openLineageServerConfig = new OpenLineageServerConfig();
+        openLineageServerConfig.setAccessServiceConfig(accessServiceConfig);
+
+        OMAGServerConfig lineageServer = new OMAGServerConfig();
+        lineageServer.setOpenLineageServerConfig(openLineageServerConfig);
+
+        ViewServiceConfig selfViewServiceConfig = new ViewServiceConfig();
+        selfViewServiceConfig.setOMAGServerName("metadataServer");
+
+        OMAGServerConfig metadataServer = new OMAGServerConfig();
+        metadataServer.setViewServicesConfig(Collections.singletonList(selfViewServiceConfig));
+
+        Map<String, OMAGServerConfig> configurations = new HashMap<>();
+
+        configurations.put("viewServer", viewServer);
+        configurations.put("integrationDaemon", integrationDaemon);
+        configurations.put("engineHost", engineHost);
+        configurations.put("dataEngineProxy", dataEngineProxy);
+        configurations.put("lineageServer", lineageServer);
+        configurations.put("metadataServer", metadataServer);
+
+        List<String> serverList = Arrays.asList("viewServer", "integrationDaemon", "engineHost", "dataEngineProxy",
+                                                "lineageServer", "metadataServer", "unconfiguredServer");
+
+        Map<String, Set<String>> serverDependencies = operationalServices.getServerDependencies(serverList, configurations);
+
+        Set<String> metadataServerOnly = Collections.singleton("metadataServer");
+
+        assertEquals(metadataServerOnly, serverDependencies.get("viewServer"));
+        assertEquals(metadataServerOnly, serverDependencies.get("integrationDaemon"));
+        assertEquals(metadataServerOnly, serverDependencies.get("engineHost"));
+        assertEquals(metadataServerOnly, serverDependencies.get("dataEngineProxy"));
+        assertEquals(metadataServerOnly, serverDependencies.get("lineageServer"));
+        assertTrue(serverDependencies.get("metadataServer").isEmpty());
+        assertTrue(serverDependencies.get("unconfiguredServer").isEmpty());
+    }
+
+
+    /**
+     * Validate that each server starts after the servers it calls and that the list order is otherwise kept.
+     */
+    @Test
+    public void testGetServerStartUpOrder()
+    {
+        List<String> serverList = Arrays.asList("viewServer", "otherServer", "engineHost", "metadataServer", "governanceServer");
+
+        Map<String, Set<String>> serverDependencies = getDependencies(serverList,
+                                                                      "viewServer", "metadataServer",
+                                                                      "engineHost", "governanceServer",
+                                                                      "governanceServer", "metadataServer");
+
+        assertEquals(Arrays.asList("metadataServer", "viewServer", "otherServer", "governanceServer", "engineHost"),
+                     operationalServices.getServerStartUpOrder(serverList, serverDependencies));
+
+        List<String> independentServers = Arrays.asList("server1", "server2", "server3");
+
+        assertEquals(independentServers,
+                     operationalServices.getServerStartUpOrder(independentServers, getDependencies(independentServers)));
+    }
+
+
+    /**
+     * Validate that servers that call one another in a loop are all started once, with the loop broken at the
+     * server that is first in the list.
+     */
+    @Test
+    public void testGetServerStartUpOrderWithCycle()
+    {
+        List<String> serverList = Arrays.asList("server1", "server2", "server3", "server4");
+
+        Map<String, Set<String>> serverDependencies = getDependencies(serverList,
+                                                                      "server1", "server2",
+                                                                      "server2", "server3",
+                                                                      "server3", "server1",
+                                                                      "server4", "server4");
+
+        assertEquals(Arrays.asList("server3", "server2", "server1", "server4"),
+                     operationalServices.getServerStartUpOrder(serverList, serverDependencies));
+    }
+}
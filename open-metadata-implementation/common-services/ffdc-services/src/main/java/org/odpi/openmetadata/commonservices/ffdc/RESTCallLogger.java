@@ -3,16 +3,52 @@
 
 package org.odpi.openmetadata.commonservices.ffdc;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.slf4j.Logger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * RESTCallLogger provides standard logging for REST API method invocations.  It logs
  * the start and end of the call and manages a timer so the the elapsed time of a call is logged.
+ * When a meter registry is available, it also records the metrics for the calls:
+ * <ul>
+ *     <li>egeria.rest.call - timer for the calls to each method of the service on each server.</li>
+ *     <li>egeria.rest.call.exceptions - count of the calls to each method that returned an exception, by exception type.</li>
+ *     <li>egeria.rest.calls.active - gauge of the calls to the service on each server that are in progress.</li>
+ * </ul>
+ * By default, the metrics are recorded in Micrometer's global registry.  This has no effect until a registry
+ * (such as the Prometheus registry of the OMAG Server Platform) is added to it, so the metrics cost nothing in
+ * a runtime that does not collect them.
  */
 public class RESTCallLogger
 {
-    private  Logger  log;
-    private  String  serviceName;
+    static final String CALL_TIMER_NAME      = "egeria.rest.call";
+    static final String CALL_EXCEPTIONS_NAME = "egeria.rest.call.exceptions";
+    static final String ACTIVE_CALLS_NAME    = "egeria.rest.calls.active";
+
+    private static final String SERVICE_TAG   = "service";
+    private static final String SERVER_TAG    = "server";
+    private static final String METHOD_TAG    = "method";
+    private static final String EXCEPTION_TAG = "exception";
+
+    private static final String EXCEPTION_CLASS_NAME_FIELD = "exceptionClassName='";
+
+    private  Logger        log;
+    private  String        serviceName;
+    private  MeterRegistry meterRegistry;
+
+    private final Map<String, Map<String, Timer>>                callTimers        = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, Counter>>> exceptionCounters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger>                     activeCalls       = new ConcurrentHashMap<>();
 
     /**
      * Create a REST Call logger for a REST Service.
@@ -22,8 +58,22 @@ public class RESTCallLogger
      */
     public RESTCallLogger(Logger log, String serviceName)
     {
-        this.log         = log;
-        this.serviceName = serviceName;
+        this(log, serviceName, Metrics.globalRegistry);
+    }
+
+
+    /**
+     * Create a REST Call logger for a REST Service that records its metrics in a specific meter registry.
+     *
+     * @param log debug logger
+     * @param serviceName service name
+     * @param meterRegistry registry for the metrics of the calls
+     */
+    public RESTCallLogger(Logger log, String serviceName, MeterRegistry meterRegistry)
+    {
+        this.log           = log;
+        this.serviceName   = String.valueOf(serviceName);
+        this.meterRegistry = meterRegistry;
     }
 
 
@@ -33,17 +83,31 @@ public class RESTCallLogger
      * @param serverName destination server
      * @param userId calling user
      * @param methodName called method
-     * @return stop watch measuring the call execution length
+     * @return stop watch measuring the call execution length (null if the call is neither logged nor measured)
      */
     public RESTCallToken logRESTCall(String serverName,
                                      String userId,
                                      String methodName)
     {
-        if (log.isDebugEnabled())
+        boolean debugEnabled   = log.isDebugEnabled();
+        boolean metricsEnabled = isMetricsEnabled();
+
+        if (debugEnabled || metricsEnabled)
         {
             RESTCallToken token = new RESTCallToken(serviceName, serverName, userId, methodName);
 
-            log.debug(token.getRESTCallStartText());
+            if (debugEnabled)
+            {
+                log.debug(token.getRESTCallStartText());
+            }
+
+            if (metricsEnabled)
+            {
+                AtomicInteger serverActiveCalls = getActiveCalls(token.getServerName());
+
+                serverActiveCalls.incrementAndGet();
+                token.setActiveCalls(serverActiveCalls);
+            }
 
             return token;
         }
@@ -74,5 +138,138 @@ public class RESTCallLogger
                 log.debug(serviceName + ":" + " returned with response " + response);
             }
         }
+
+        if ((token != null) && (token.getActiveCalls() != null))
+        {
+            token.getActiveCalls().decrementAndGet();
+
+            getCallTimer(token.getServerName(), token.getMethodName()).record(token.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+            String exceptionClassName = getExceptionClassName(response);
+
+            if (exceptionClassName != null)
+            {
+                getExceptionCounter(token.getServerName(), token.getMethodName(), exceptionClassName).increment();
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the meters recorded by this logger are collected.
+     *
+     * @return boolean flag
+     */
+    private boolean isMetricsEnabled()
+    {
+        if (meterRegistry instanceof CompositeMeterRegistry)
+        {
+            return ! ((CompositeMeterRegistry) meterRegistry).getRegistries().isEmpty();
+        }
+
+        return meterRegistry != null;
+    }
+
+
+    /**
+     * Return the timer for a method of the service on a server.
+     *
+     * @param serverName name of the server
+     * @param methodName called method
+     * @return timer
+     */
+    private Timer getCallTimer(String serverName,
+                               String methodName)
+    {
+        return callTimers.computeIfAbsent(serverName, server -> new ConcurrentHashMap<>())
+                         .computeIfAbsent(methodName, method -> Timer.builder(CALL_TIMER_NAME)
+                                                                     .description("Elapsed time of the REST calls to a service")
+                                                                     .tag(SERVICE_TAG, serviceName)
+                                                                     .tag(SERVER_TAG, serverName)
+                                                                     .tag(METHOD_TAG, String.valueOf(method))
+                                                                     .register(meterRegistry));
+    }
+
+
+    /**
+     * Return the counter for an exception returned by a method of the service on a server.
+     *
+     * @param serverName name of the server
+     * @param methodName called method
+     * @param exceptionClassName class name of the returned exception
+     * @return counter
+     */
+    private Counter getExceptionCounter(String serverName,
+                                        String methodName,
+                                        String exceptionClassName)
+    {
+        return exceptionCounters.computeIfAbsent(serverName, server -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(methodName, method -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(exceptionClassName, exception -> Counter.builder(CALL_EXCEPTIONS_NAME)
+                                                                                         .description("REST calls to a service that returned an exception")
+                                                                                         .tag(SERVICE_TAG, serviceName)
+                                                                                         .tag(SERVER_TAG, serverName)
+                                                                                         .tag(METHOD_TAG, String.valueOf(methodName))
+                                                                                         .tag(EXCEPTION_TAG, exception)
+                                                                                         .register(meterRegistry));
+    }
+
+
+    /**
+     * Return the count of the calls to the service on a server that are in progress.  The gauge for the count is
+     * registered when the count is created.
+     *
+     * @param serverName name of the server
+     * @return counter
+     */
+    private AtomicInteger getActiveCalls(String serverName)
+    {
+        return activeCalls.computeIfAbsent(serverName, server ->
+        {
+            AtomicInteger serverActiveCalls = new AtomicInteger();
+
+            Gauge.builder(ACTIVE_CALLS_NAME, serverActiveCalls, AtomicInteger::get)
+                 .description("REST calls to a service that are in progress")
+                 .tag(SERVICE_TAG, serviceName)
+                 .tag(SERVER_TAG, server)
+                 .register(meterRegistry);
+
+            return serverActiveCalls;
+        });
+    }
+
+
+    /**
+     * Extract the class name of the exception captured in a response.  The responses of the REST services
+     * all format the exception class name in the same way in their toString() methods.
+     *
+     * @param response result of call
+     * @return class name or null if the call was successful
+     */
+    static String getExceptionClassName(String response)
+    {
+        if (response != null)
+        {
+            int start = response.indexOf(EXCEPTION_CLASS_NAME_FIELD);
+
+            if (start != -1)
+            {
+                start = start + EXCEPTION_CLASS_NAME_FIELD.length();
+
+                int end = response.indexOf('\'', start);
+
+                if (end > start)
+                {
+                    String exceptionClassName = response.substring(start, end);
+
+                    if (! "null".equals(exceptionClassName))
+                    {
+                        return exceptionClassName;
+                    }
+                }
+            }
+        }
+
+        return null;
     }
 }
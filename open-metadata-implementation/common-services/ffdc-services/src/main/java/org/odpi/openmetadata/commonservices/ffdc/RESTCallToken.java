@@ -5,23 +5,25 @@ package org.odpi.openmetadata.commonservices.ffdc;
 
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * RESTCallToken provides a cache of information about a single REST API call invocation.
- * It is used for logging and diagnosis.
+ * It is used for logging, diagnosis and the REST call metrics.
  */
 public class RESTCallToken
 {
-    static volatile private long nextCallId = 0;
+    static final private AtomicLong nextCallId = new AtomicLong();
     static final String PLATFORM_NAME = "<*>";
 
-    static private synchronized long getNextCallId() { return nextCallId++; }
-
-    private StopWatch watch;
-    private long      callId;
-    private String    serviceName;
-    private String    serverName;
-    private String    userId;
-    private String    methodName;
+    private StopWatch     watch;
+    private long          callId;
+    private String        serviceName;
+    private String        serverName;
+    private String        userId;
+    private String        methodName;
+    private AtomicInteger activeCalls = null;
 
     /**
      * Set up the values that will be used in the logging process.
@@ -38,7 +40,7 @@ public class RESTCallToken
         this.methodName  = methodName;
 
         this.watch = StopWatch.createStarted();
-        this.callId = getNextCallId();
+        this.callId = nextCallId.getAndIncrement();
 
         if (serverName == null)
         {
@@ -51,6 +53,61 @@ public class RESTCallToken
     }
 
 
+    /**
+     * Return the name of the server (or the platform name if it is a platform request).
+     *
+     * @return string
+     */
+    String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Return the name of the called method.
+     *
+     * @return string
+     */
+    String getMethodName()
+    {
+        return methodName;
+    }
+
+
+    /**
+     * Return the elapsed time of the call so far.
+     *
+     * @return nanoseconds
+     */
+    long getElapsedNanos()
+    {
+        return watch.getNanoTime();
+    }
+
+
+    /**
+     * Return the count of active calls that this call is included in.
+     *
+     * @return counter or null if the call is not being counted
+     */
+    AtomicInteger getActiveCalls()
+    {
+        return activeCalls;
+    }
+
+
+    /**
+     * Set up the count of active calls that this call is included in.
+     *
+     * @param activeCalls counter
+     */
+    void setActiveCalls(AtomicInteger activeCalls)
+    {
+        this.activeCalls = activeCalls;
+    }
+
+
     /**
      * Build the start text.
      *
@@ -0,0 +1,146 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ffdc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.PropertyServerException;
+import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Verify the metrics recorded by the RESTCallLogger.
+ */
+public class RESTCallLoggerTest
+{
+    private static final Logger log         = NOPLogger.NOP_LOGGER;
+    private static final String serviceName = "Test Service";
+    private static final String serverName  = "testServer";
+    private static final String userId      = "testUser";
+
+
+    /**
+     * Validate that a successful call is timed and not counted as an exception.
+     */
+    @Test public void testSuccessfulCall()
+    {
+        SimpleMeterRegistry meterRegistry  = new SimpleMeterRegistry();
+        RESTCallLogger      restCallLogger = new RESTCallLogger(log, serviceName, meterRegistry);
+
+        RESTCallToken token = restCallLogger.logRESTCall(serverName, userId, "testMethod");
+
+        assertNotNull(token);
+        assertEquals(getActiveCalls(meterRegistry), 1.0);
+
+        restCallLogger.logRESTCallReturn(token, new VoidResponse().toString());
+
+        Timer timer = meterRegistry.get(RESTCallLogger.CALL_TIMER_NAME)
+                                   .tag("service", serviceName)
+                                   .tag("server", serverName)
+                                   .tag("method", "testMethod")
+                                   .timer();
+
+        assertEquals(timer.count(), 1L);
+        assertEquals(getActiveCalls(meterRegistry), 0.0);
+        assertNull(meterRegistry.find(RESTCallLogger.CALL_EXCEPTIONS_NAME).counter());
+    }
+
+
+    /**
+     * Validate that a call that returns an exception is counted by exception type.
+     */
+    @Test public void testFailedCall()
+    {
+        SimpleMeterRegistry meterRegistry  = new SimpleMeterRegistry();
+        RESTCallLogger      restCallLogger = new RESTCallLogger(log, serviceName, meterRegistry);
+        VoidResponse        response       = new VoidResponse();
+
+        response.setExceptionClassName(InvalidParameterException.class.getName());
+
+        for (int i = 0; i < 3; i++)
+        {
+            restCallLogger.logRESTCallReturn(restCallLogger.logRESTCall(serverName, userId, "testMethod"), response.toString());
+        }
+
+        double exceptionCount = meterRegistry.get(RESTCallLogger.CALL_EXCEPTIONS_NAME)
+                                             .tag("method", "testMethod")
+                                             .tag("exception", InvalidParameterException.class.getName())
+                                             .counter()
+                                             .count();
+
+        assertEquals(exceptionCount, 3.0);
+        assertEquals(meterRegistry.get(RESTCallLogger.CALL_TIMER_NAME).timer().count(), 3L);
+    }
+
+
+    /**
+     * Validate that platform calls are recorded against the platform name.
+     */
+    @Test public void testPlatformCall()
+    {
+        SimpleMeterRegistry meterRegistry  = new SimpleMeterRegistry();
+        RESTCallLogger      restCallLogger = new RESTCallLogger(log, serviceName, meterRegistry);
+
+        restCallLogger.logRESTCallReturn(restCallLogger.logRESTCall(null, userId, "testMethod"), null);
+
+        assertEquals(meterRegistry.get(RESTCallLogger.CALL_TIMER_NAME).tag("server", RESTCallToken.PLATFORM_NAME).timer().count(), 1L);
+    }
+
+
+    /**
+     * Validate that nothing is recorded when the registry has nowhere to publish the metrics.
+     */
+    @Test public void testMetricsDisabled()
+    {
+        CompositeMeterRegistry meterRegistry  = new CompositeMeterRegistry();
+        RESTCallLogger         restCallLogger = new RESTCallLogger(log, serviceName, meterRegistry);
+
+        RESTCallToken token = restCallLogger.logRESTCall(serverName, userId, "testMethod");
+
+        assertNull(token);
+
+        restCallLogger.logRESTCallReturn(token, new VoidResponse().toString());
+
+        assertEquals(meterRegistry.getMeters().size(), 0);
+    }
+
+
+    /**
+     * Validate the extraction of the exception class name from responses.
+     */
+    @Test public void testExceptionClassName()
+    {
+        VoidResponse response = new VoidResponse();
+
+        assertNull(RESTCallLogger.getExceptionClassName(null));
+        assertNull(RESTCallLogger.getExceptionClassName(response.toString()));
+
+        response.setExceptionClassName(PropertyServerException.class.getName());
+
+        assertEquals(RESTCallLogger.getExceptionClassName(response.toString()), PropertyServerException.class.getName());
+    }
+
+
+    /**
+     * Return the value of the active calls gauge for the test server.
+     *
+     * @param meterRegistry registry
+     * @return gauge value
+     */
+    private double getActiveCalls(SimpleMeterRegistry meterRegistry)
+    {
+        Gauge gauge = meterRegistry.get(RESTCallLogger.ACTIVE_CALLS_NAME).tag("server", serverName).gauge();
+
+        return gauge.value();
+    }
+}
@@ -989,7 +989,8 @@ public class GovernanceActionHandler<B> extends OpenMetadataAPIGenericHandler<B>
 
 
     /**
-     * Update the status of the governance action - providing the caller is permitted.
+     * Update the status of the governance action - providing the caller is permitted.  If the engine host that
+     * claimed the governance action sets the status back to APPROVED, the claim is released.
      *
      * @param userId identifier of calling user
      * @param governanceActionGUID identifier of the governance action request
@@ -1040,10 +1041,26 @@ public class GovernanceActionHandler<B> extends OpenMetadataAPIGenericHandler<B>
                 if (((processingEngineUserId == null) && (governanceActionStatus == OpenMetadataAPIMapper.APPROVED_GA_STATUS_ORDINAL)) ||
                             (userId.equals(processingEngineUserId)))
                 {
+                    InstanceProperties updateProperties = null;
+                    boolean            isMergeUpdate    = true;
+
+                    if ((processingEngineUserId != null) && (governanceActionStatus == OpenMetadataAPIMapper.APPROVED_GA_STATUS_ORDINAL))
+                    {
+                        /*
+                         * The engine host is giving back a governance action that it claimed but did not run - for example,
+                         * because it is shutting down.  The claim is removed so any engine host running the governance engine
+                         * is able to claim it again.
+                         */
+                        updateProperties = new InstanceProperties(properties);
+                        updateProperties.setProperty(OpenMetadataAPIMapper.PROCESSING_ENGINE_USER_ID_PROPERTY_NAME, null);
+                        updateProperties.setProperty(OpenMetadataAPIMapper.START_DATE_PROPERTY_NAME, null);
+                        isMergeUpdate = false;
+                    }
+
                     try
                     {
                         properties = repositoryHelper.addEnumPropertyToInstance(serviceName,
-                                                                                null,
+                                                                                updateProperties,
                                                                                 OpenMetadataAPIMapper.ACTION_STATUS_PROPERTY_NAME,
                                                                                 OpenMetadataAPIMapper.GOVERNANCE_ACTION_STATUS_ENUM_TYPE_GUID,
                                                                                 OpenMetadataAPIMapper.GOVERNANCE_ACTION_STATUS_ENUM_TYPE_NAME,
@@ -1066,7 +1083,7 @@ public class GovernanceActionHandler<B> extends OpenMetadataAPIGenericHandler<B>
                                            false,
                                            supportedZones,
                                            properties,
-                                           true,
+                                           isMergeUpdate,
                                            effectiveTime,
                                            methodName);
                 }
@@ -0,0 +1,464 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * OpenMetadataSecurityDecisionCache remembers the decisions made by the open metadata server security connector
+ * so that repeated checks for the same user, operation and element do not call the connector again.
+ * Both permits and denials are cached.  Each decision is keyed by a fingerprint of the content that the
+ * connector based its decision on (for example the whole asset, including its zones, owner and governance
+ * classifications) so a change to any of these properties results in a new call to the connector.
+ * Decisions expire after their time to live and can be removed explicitly through the invalidate methods.
+ *
+ * The cache is enabled by setting the decisionCacheTimeToLive property in the configuration properties of the
+ * server security connector's connection.  Subclasses may be plugged into the security verifier to change how
+ * the decisions are stored.
+ */
+public class OpenMetadataSecurityDecisionCache
+{
+    /**
+     * Number of seconds that a decision is used before the connector is called again.
+     */
+    public static final String TIME_TO_LIVE_PROPERTY        = "decisionCacheTimeToLive";
+
+    /**
+     * Number of seconds that a denial is used before the connector is called again.  The default is the
+     * decisionCacheTimeToLive.
+     */
+    public static final String DENIAL_TIME_TO_LIVE_PROPERTY = "decisionCacheDenialTimeToLive";
+
+    /**
+     * Maximum number of decisions in the cache.
+     */
+    public static final String SIZE_PROPERTY                = "decisionCacheSize";
+
+    private static final int    defaultSize     = 10000;
+    private static final String digestAlgorithm = "SHA-256";
+
+    /*
+     * Elements are serialized with their property maps in key order so the same content always has the same fingerprint.
+     */
+    private static final ObjectMapper fingerprintMapper = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final long                        timeToLive;
+    private final long                        denialTimeToLive;
+    private final Map<DecisionKey, Decision>  decisions;
+
+
+    /**
+     * Constructor sets up the limits of the cache.
+     *
+     * @param timeToLive number of milliseconds that a decision is used
+     * @param denialTimeToLive number of milliseconds that a denial is used
+     * @param maxSize maximum number of decisions cached - the least recently used decisions are removed first
+     */
+    public OpenMetadataSecurityDecisionCache(long timeToLive,
+                                             long denialTimeToLive,
+                                             int  maxSize)
+    {
+        this.timeToLive = timeToLive;
+        this.denialTimeToLive = denialTimeToLive;
+        this.decisions = new LinkedHashMap<DecisionKey, Decision>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DecisionKey, Decision> eldest)
+            {
+                return size() > maxSize;
+            }
+        };
+    }
+
+
+    /**
+     * Return a decision cache configured from the configuration properties of the server security connector's
+     * connection.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @return decision cache or null if decisions are not to be cached
+     */
+    static OpenMetadataSecurityDecisionCache getDecisionCache(Map<String, Object> configurationProperties)
+    {
+        if (configurationProperties == null)
+        {
+            return null;
+        }
+
+        int timeToLive = getIntegerProperty(configurationProperties, TIME_TO_LIVE_PROPERTY, 0);
+
+        if (timeToLive <= 0)
+        {
+            return null;
+        }
+
+        int denialTimeToLive = getIntegerProperty(configurationProperties, DENIAL_TIME_TO_LIVE_PROPERTY, timeToLive);
+        int maxSize          = getIntegerProperty(configurationProperties, SIZE_PROPERTY, defaultSize);
+
+        if (maxSize <= 0)
+        {
+            return null;
+        }
+
+        return new OpenMetadataSecurityDecisionCache(timeToLive * 1000L, denialTimeToLive * 1000L, maxSize);
+    }
+
+
+    /**
+     * Return an integer configuration property.  The value may be an integer or a string.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is missing or not a number
+     * @return property value
+     */
+    private static int getIntegerProperty(Map<String, Object> configurationProperties,
+                                          String              propertyName,
+                                          int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).intValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                /*
+                 * Drop through to the default.
+                 */
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the fingerprint of the content that an authorization decision is based on.
+     *
+     * @param content values passed to the security connector
+     * @return base 64 encoded digest or null if the content can not be fingerprinted
+     */
+    public static String getFingerprint(Object... content)
+    {
+        try
+        {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance(digestAlgorithm).digest(fingerprintMapper.writeValueAsBytes(content)));
+        }
+        catch (Exception error)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Run an authorization check, using the cached decision if there is one.  A denial is cached and returned
+     * as a new copy of the original exception.
+     *
+     * @param userId calling user
+     * @param operation name of the check
+     * @param fingerprint fingerprint of the content the check is based on - null means the decision is not cached
+     * @param check call to the security connector
+     * @throws UserNotAuthorizedException the user is not authorized
+     */
+    public void validate(String             userId,
+                         String             operation,
+                         String             fingerprint,
+                         AuthorizationCheck check) throws UserNotAuthorizedException
+    {
+        if (fingerprint == null)
+        {
+            check.validate();
+            return;
+        }
+
+        DecisionKey key      = new DecisionKey(userId, operation, fingerprint);
+        Decision    decision = this.getDecision(key);
+
+        if (decision == null)
+        {
+            try
+            {
+                check.validate();
+                this.putDecision(key, new Decision(null, null, System.currentTimeMillis() + timeToLive));
+            }
+            catch (UserNotAuthorizedException denial)
+            {
+                this.putDecision(key, new Decision(null, denial, System.currentTimeMillis() + denialTimeToLive));
+                throw denial;
+            }
+        }
+        else if (decision.denial != null)
+        {
+            throw this.getDenial(decision.denial);
+        }
+    }
+
+
+    /**
+     * Return a new copy of a cached denial.  The exception's copy constructor does not keep the message id
+     * and parameters so all of the reported values are copied explicitly.
+     *
+     * @param denial exception returned by the connector
+     * @return new exception with the same values
+     */
+    private UserNotAuthorizedException getDenial(UserNotAuthorizedException denial)
+    {
+        return new UserNotAuthorizedException(denial.getReportedHTTPCode(),
+                                              denial.getReportingClassName(),
+                                              denial.getReportingActionDescription(),
+                                              denial.getReportedErrorMessage(),
+                                              denial.getReportedErrorMessageId(),
+                                              denial.getReportedErrorMessageParameters(),
+                                              denial.getReportedSystemAction(),
+                                              denial.getReportedUserAction(),
+                                              denial.getReportedCaughtExceptionClassName(),
+                                              denial.getUserId(),
+                                              denial.getRelatedProperties());
+    }
+
+
+    /**
+     * Return the zones for an asset, using the cached decision if there is one.  Exceptions are not cached
+     * because they indicate a problem with the request or the connector rather than a decision.
+     *
+     * @param operation name of the decision
+     * @param fingerprint fingerprint of the content the decision is based on - null means the decision is not cached
+     * @param zoneDecision call to the security connector
+     * @return list of zones
+     * @throws InvalidParameterException one of the asset values is invalid
+     * @throws PropertyServerException there is a problem calculating the zones
+     */
+    public List<String> getZones(String       operation,
+                                 String       fingerprint,
+                                 ZoneDecision zoneDecision) throws InvalidParameterException,
+                                                                   PropertyServerException
+    {
+        if (fingerprint == null)
+        {
+            return zoneDecision.getZones();
+        }
+
+        DecisionKey key      = new DecisionKey(null, operation, fingerprint);
+        Decision    decision = this.getDecision(key);
+
+        if (decision == null)
+        {
+            List<String> zones = zoneDecision.getZones();
+
+            this.putDecision(key, new Decision(zones, null, System.currentTimeMillis() + timeToLive));
+
+            return zones;
+        }
+
+        return decision.zones == null ? null : new ArrayList<>(decision.zones);
+    }
+
+
+    /**
+     * Remove all of the cached decisions.  This is used when the security policies change.
+     */
+    public synchronized void invalidate()
+    {
+        decisions.clear();
+    }
+
+
+    /**
+     * Remove the cached decisions for a user.  This is used when the user's groups or roles change.
+     *
+     * @param userId calling user
+     */
+    public synchronized void invalidate(String userId)
+    {
+        Iterator<DecisionKey> keys = decisions.keySet().iterator();
+
+        while (keys.hasNext())
+        {
+            DecisionKey key = keys.next();
+
+            if ((key.userId != null) && (key.userId.equals(userId)))
+            {
+                keys.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Return the unexpired decision for a key.
+     *
+     * @param key user, operation and fingerprint
+     * @return decision or null
+     */
+    protected synchronized Decision getDecision(DecisionKey key)
+    {
+        Decision decision = decisions.get(key);
+
+        if ((decision != null) && (decision.expiryTime < System.currentTimeMillis()))
+        {
+            decisions.remove(key);
+            return null;
+        }
+
+        return decision;
+    }
+
+
+    /**
+     * Save a decision.
+     *
+     * @param key user, operation and fingerprint
+     * @param decision result from the connector
+     */
+    protected synchronized void putDecision(DecisionKey key,
+                                            Decision    decision)
+    {
+        decisions.put(key, decision);
+    }
+
+
+    /**
+     * AuthorizationCheck is the call to the security connector for a decision that permits or denies an action.
+     */
+    public interface AuthorizationCheck
+    {
+        /**
+         * Call the security connector.
+         *
+         * @throws UserNotAuthorizedException the user is not authorized
+         */
+        void validate() throws UserNotAuthorizedException;
+    }
+
+
+    /**
+     * ZoneDecision is the call to the security connector for the zones of an asset.
+     */
+    public interface ZoneDecision
+    {
+        /**
+         * Call the security connector.
+         *
+         * @return list of zones
+         * @throws InvalidParameterException one of the asset values is invalid
+         * @throws PropertyServerException there is a problem calculating the zones
+         */
+        List<String> getZones() throws InvalidParameterException, PropertyServerException;
+    }
+
+
+    /**
+     * DecisionKey identifies a decision.
+     */
+    protected static class DecisionKey
+    {
+        private final String userId;
+        private final String operation;
+        private final String fingerprint;
+
+
+        /**
+         * Constructor
+         *
+         * @param userId calling user or null for decisions that are not specific to a user
+         * @param operation name of the check
+         * @param fingerprint fingerprint of the content the check is based on
+         */
+        DecisionKey(String userId,
+                    String operation,
+                    String fingerprint)
+        {
+            this.userId = userId;
+            this.operation = operation;
+            this.fingerprint = fingerprint;
+        }
+
+
+        /**
+         * Compare the values of the supplied object with those stored in the current object.
+         *
+         * @param objectToCompare supplied object
+         * @return boolean result of comparison
+         */
+        @Override
+        public boolean equals(Object objectToCompare)
+        {
+            if (this == objectToCompare)
+            {
+                return true;
+            }
+            if (objectToCompare == null || getClass() != objectToCompare.getClass())
+            {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) objectToCompare;
+            return Objects.equals(userId, that.userId) &&
+                           Objects.equals(operation, that.operation) &&
+                           Objects.equals(fingerprint, that.fingerprint);
+        }
+
+
+        /**
+         * Create a hash code for this element type.
+         *
+         * @return int hash code
+         */
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(userId, operation, fingerprint);
+        }
+    }
+
+
+    /**
+     * Decision is the cached result from the security connector.
+     */
+    protected static class Decision
+    {
+        private final List<String>               zones;
+        private final UserNotAuthorizedException denial;
+        private final long                       expiryTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param zones zones returned by the connector
+         * @param denial exception returned by the connector
+         * @param expiryTime time that the decision expires
+         */
+        Decision(List<String>               zones,
+                 UserNotAuthorizedException denial,
+                 long                       expiryTime)
+        {
+            this.zones = zones == null ? null : new ArrayList<>(zones);
+            this.denial = denial;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -46,6 +46,8 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     private OpenMetadataConnectionSecurity connectionSecurityConnector = null;
     private OpenMetadataAssetSecurity      assetSecurityConnector      = null;
 
+    private volatile OpenMetadataSecurityDecisionCache decisionCache = null;
+
     /**
      * Default constructor
      */
@@ -102,6 +104,18 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
             {
                 assetSecurityConnector = (OpenMetadataAssetSecurity)connector;
             }
+
+            /*
+             * Decisions from a previous connector are not kept.
+             */
+            if (connector != null)
+            {
+                decisionCache = OpenMetadataSecurityDecisionCache.getDecisionCache(connection.getConfigurationProperties());
+            }
+            else
+            {
+                decisionCache = null;
+            }
         }
         catch (InvalidParameterException error)
         {
@@ -110,6 +124,70 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Plug in the cache used to remember the decisions of the security connector.  This replaces the cache set up
+     * from the configuration properties of the connector's connection so it is called after the security
+     * connector is registered.
+     *
+     * @param decisionCache decision cache or null to call the security connector for every check
+     */
+    synchronized public void setDecisionCache(OpenMetadataSecurityDecisionCache decisionCache)
+    {
+        this.decisionCache = decisionCache;
+    }
+
+
+    /**
+     * Remove all of the cached decisions of the security connector.  This is called when the security
+     * policies change.
+     */
+    public void invalidateCachedDecisions()
+    {
+        OpenMetadataSecurityDecisionCache cache = decisionCache;
+
+        if (cache != null)
+        {
+            cache.invalidate();
+        }
+    }
+
+
+    /**
+     * Remove the cached decisions of the security connector for a specific user.  This is called when the
+     * user's groups or roles change.
+     *
+     * @param userId user whose access has changed
+     */
+    public void invalidateCachedDecisions(String userId)
+    {
+        OpenMetadataSecurityDecisionCache cache = decisionCache;
+
+        if (cache != null)
+        {
+            cache.invalidate(userId);
+        }
+    }
+
+
+    /**
+     * Return the fingerprint of a type for the decision cache.  The version of the type changes each time
+     * the type is updated.
+     *
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param guid unique identifier of the type
+     * @param name name of the type
+     * @param version version of the type
+     * @return fingerprint
+     */
+    private String getTypeFingerprint(String metadataCollectionName,
+                                      String guid,
+                                      String name,
+                                      long   version)
+    {
+        return OpenMetadataSecurityDecisionCache.getFingerprint(metadataCollectionName, guid, name, version);
+    }
+
+
     /**
      * Return the Open Metadata Server Security Connector for the connection.
      *
@@ -326,9 +404,18 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                          Asset         updatedAsset) throws InvalidParameterException,
                                                                             PropertyServerException
     {
-        if (assetSecurityConnector != null)
+        final OpenMetadataAssetSecurity         connector = assetSecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null))
+        {
+            return cache.getZones("verifyAssetZones",
+                                  OpenMetadataSecurityDecisionCache.getFingerprint(defaultZones, supportedZones, originalAsset, updatedAsset),
+                                  () -> connector.verifyAssetZones(defaultZones, supportedZones, originalAsset, updatedAsset));
+        }
+        else if (connector != null)
         {
-            return assetSecurityConnector.verifyAssetZones(defaultZones, supportedZones, originalAsset, updatedAsset);
+            return connector.verifyAssetZones(defaultZones, supportedZones, originalAsset, updatedAsset);
         }
 
         List<String>  resultingZones = null;
@@ -370,7 +457,7 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
             Asset originalAsset = this.getAssetFromOCFAsset(ocfOriginalAsset);
             Asset updatedAsset = this.getAssetFromOCFAsset(ocfUpdatedAsset);
 
-            return assetSecurityConnector.verifyAssetZones(defaultZones, supportedZones, null, originalAsset, updatedAsset);
+            return this.verifyAssetZones(defaultZones, supportedZones, null, originalAsset, updatedAsset);
         }
 
         List<String>  resultingZones = null;
@@ -409,9 +496,18 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                          Asset         updatedAsset) throws InvalidParameterException,
                                                                             PropertyServerException
     {
-        if (assetSecurityConnector != null)
+        final OpenMetadataAssetSecurity         connector = assetSecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null))
+        {
+            return cache.getZones("verifyAssetZones",
+                                  OpenMetadataSecurityDecisionCache.getFingerprint(defaultZones, supportedZones, publishZones, originalAsset, updatedAsset),
+                                  () -> connector.verifyAssetZones(defaultZones, supportedZones, publishZones, originalAsset, updatedAsset));
+        }
+        else if (connector != null)
         {
-            return assetSecurityConnector.verifyAssetZones(defaultZones, supportedZones, publishZones, originalAsset, updatedAsset);
+            return connector.verifyAssetZones(defaultZones, supportedZones, publishZones, originalAsset, updatedAsset);
         }
 
         List<String>  resultingZones = null;
@@ -526,9 +622,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                  String   serviceName,
                                                  String   serviceOperationName) throws UserNotAuthorizedException
     {
-        if (serviceSecurityConnector != null)
+        final OpenMetadataServiceSecurity       connector = serviceSecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null))
+        {
+            cache.validate(userId,
+                           "validateUserForServiceOperation",
+                           OpenMetadataSecurityDecisionCache.getFingerprint(serviceName, serviceOperationName),
+                           () -> connector.validateUserForServiceOperation(userId, serviceName, serviceOperationName));
+        }
+        else if (connector != null)
         {
-            serviceSecurityConnector.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+            connector.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
         }
     }
 
@@ -654,9 +760,23 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public void  validateUserForAssetRead(String     userId,
                                           Asset      asset) throws UserNotAuthorizedException
     {
-        if (assetSecurityConnector != null)
+        final OpenMetadataAssetSecurity         connector = assetSecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null))
+        {
+            /*
+             * The fingerprint covers all of the asset's properties, including its zones, owner, security labels
+             * and governance classifications, so any change to the asset results in a new decision.
+             */
+            cache.validate(userId,
+                           "validateUserForAssetRead",
+                           OpenMetadataSecurityDecisionCache.getFingerprint(asset),
+                           () -> connector.validateUserForAssetRead(userId, new Asset(asset)));
+        }
+        else if (connector != null)
         {
-            assetSecurityConnector.validateUserForAssetRead(userId, new Asset(asset));
+            connector.validateUserForAssetRead(userId, new Asset(asset));
         }
     }
 
@@ -826,9 +946,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                          String     metadataCollectionName,
                                          TypeDef    typeDef) throws UserNotAuthorizedException
     {
-        if (repositorySecurityConnector != null)
+        final OpenMetadataRepositorySecurity    connector = repositorySecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null) && (typeDef != null))
+        {
+            cache.validate(userId,
+                           "validateUserForTypeRead",
+                           this.getTypeFingerprint(metadataCollectionName, typeDef.getGUID(), typeDef.getName(), typeDef.getVersion()),
+                           () -> connector.validateUserForTypeRead(userId, metadataCollectionName, typeDef));
+        }
+        else if (connector != null)
         {
-            repositorySecurityConnector.validateUserForTypeRead(userId, metadataCollectionName, typeDef);
+            connector.validateUserForTypeRead(userId, metadataCollectionName, typeDef);
         }
     }
 
@@ -846,9 +976,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                          String              metadataCollectionName,
                                          AttributeTypeDef    attributeTypeDef) throws UserNotAuthorizedException
     {
-        if (repositorySecurityConnector != null)
+        final OpenMetadataRepositorySecurity    connector = repositorySecurityConnector;
+        final OpenMetadataSecurityDecisionCache cache     = decisionCache;
+
+        if ((connector != null) && (cache != null) && (attributeTypeDef != null))
+        {
+            cache.validate(userId,
+                           "validateUserForAttributeTypeRead",
+                           this.getTypeFingerprint(metadataCollectionName, attributeTypeDef.getGUID(), attributeTypeDef.getName(), attributeTypeDef.getVersion()),
+                           () -> connector.validateUserForTypeRead(userId, metadataCollectionName, attributeTypeDef));
+        }
+        else if (connector != null)
         {
-            repositorySecurityConnector.validateUserForTypeRead(userId, metadataCollectionName, attributeTypeDef);
+            connector.validateUserForTypeRead(userId, metadataCollectionName, attributeTypeDef);
         }
     }
 
@@ -0,0 +1,365 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that OpenMetadataSecurityDecisionCache only calls the security connector again when the user, the check
+ * or the content change, when a decision expires or when decisions are invalidated.
+ */
+public class OpenMetadataSecurityDecisionCacheTest
+{
+    private static final String operation = "validateUserForServiceOperation";
+
+
+    /**
+     * Security connector check that counts its calls.
+     */
+    private static class CountedCheck implements OpenMetadataSecurityDecisionCache.AuthorizationCheck
+    {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final String        deniedUserId;
+
+
+        /**
+         * Constructor
+         *
+         * @param deniedUserId user to deny or null to permit every user
+         */
+        CountedCheck(String deniedUserId)
+        {
+            this.deniedUserId = deniedUserId;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void validate() throws UserNotAuthorizedException
+        {
+            calls.incrementAndGet();
+
+            if (deniedUserId != null)
+            {
+                throw new UserNotAuthorizedException(OpenMetadataSecurityErrorCode.UNAUTHORIZED_SERVICE_ACCESS.getMessageDefinition(deniedUserId,
+                                                                                                                                     operation),
+                                                     this.getClass().getName(),
+                                                     operation,
+                                                     deniedUserId);
+            }
+        }
+    }
+
+
+    /**
+     * Run a check that is expected to be permitted.
+     *
+     * @param cache decision cache
+     * @param userId calling user
+     * @param fingerprint fingerprint of the content
+     * @param check call to the security connector
+     */
+    private void permit(OpenMetadataSecurityDecisionCache                    cache,
+                        String                                               userId,
+                        String                                               fingerprint,
+                        OpenMetadataSecurityDecisionCache.AuthorizationCheck check)
+    {
+        try
+        {
+            cache.validate(userId, operation, fingerprint, check);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            fail("User " + userId + " was denied");
+        }
+    }
+
+
+    /**
+     * Run a check that is expected to be denied.
+     *
+     * @param cache decision cache
+     * @param userId calling user
+     * @param fingerprint fingerprint of the content
+     * @param check call to the security connector
+     * @return exception returned to the caller
+     */
+    private UserNotAuthorizedException deny(OpenMetadataSecurityDecisionCache                    cache,
+                                            String                                               userId,
+                                            String                                               fingerprint,
+                                            OpenMetadataSecurityDecisionCache.AuthorizationCheck check)
+    {
+        try
+        {
+            cache.validate(userId, operation, fingerprint, check);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            return error;
+        }
+
+        fail("User " + userId + " was permitted");
+        return null;
+    }
+
+
+    /**
+     * Test that a repeated check uses the cached decision and that a different user, check or content calls
+     * the connector.
+     */
+    @Test
+    public void testCacheHit()
+    {
+        OpenMetadataSecurityDecisionCache cache       = new OpenMetadataSecurityDecisionCache(60000, 60000, 100);
+        CountedCheck                      check       = new CountedCheck(null);
+        String                            fingerprint = OpenMetadataSecurityDecisionCache.getFingerprint("server", "service");
+
+        permit(cache, "user1", fingerprint, check);
+        permit(cache, "user1", fingerprint, check);
+
+        assertEquals(check.calls.get(), 1);
+
+        permit(cache, "user2", fingerprint, check);
+        permit(cache, "user1", OpenMetadataSecurityDecisionCache.getFingerprint("server", "otherService"), check);
+
+        try
+        {
+            cache.validate("user1", "validateUserForTypeRead", fingerprint, check);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            fail("User was denied");
+        }
+
+        assertEquals(check.calls.get(), 4);
+
+        /*
+         * Content that can not be fingerprinted is never cached.
+         */
+        permit(cache, "user1", null, check);
+        permit(cache, "user1", null, check);
+
+        assertEquals(check.calls.get(), 6);
+    }
+
+
+    /**
+     * Test that the fingerprint covers the whole content and does not depend on the order of map entries.
+     */
+    @Test
+    public void testFingerprint()
+    {
+        Map<String, Object> properties1 = new HashMap<>();
+        Map<String, Object> properties2 = new HashMap<>();
+
+        for (int i = 0; i < 20; i++)
+        {
+            properties1.put("property" + i, i);
+            properties2.put("property" + (19 - i), 19 - i);
+        }
+
+        assertEquals(OpenMetadataSecurityDecisionCache.getFingerprint(properties1),
+                     OpenMetadataSecurityDecisionCache.getFingerprint(properties2));
+
+        properties2.put("property0", "changed");
+
+        assertNotEquals(OpenMetadataSecurityDecisionCache.getFingerprint(properties1),
+                        OpenMetadataSecurityDecisionCache.getFingerprint(properties2));
+        assertNotEquals(OpenMetadataSecurityDecisionCache.getFingerprint("zone1", "zone2"),
+                        OpenMetadataSecurityDecisionCache.getFingerprint("zone2", "zone1"));
+    }
+
+
+    /**
+     * Test that a permit is no longer used once its time to live has passed.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testTimeToLive() throws InterruptedException
+    {
+        OpenMetadataSecurityDecisionCache cache       = new OpenMetadataSecurityDecisionCache(50, 50, 100);
+        CountedCheck                      check       = new CountedCheck(null);
+        String                            fingerprint = OpenMetadataSecurityDecisionCache.getFingerprint("server", "service");
+
+        permit(cache, "user1", fingerprint, check);
+        permit(cache, "user1", fingerprint, check);
+
+        assertEquals(check.calls.get(), 1);
+
+        Thread.sleep(100);
+
+        permit(cache, "user1", fingerprint, check);
+
+        assertEquals(check.calls.get(), 2);
+    }
+
+
+    /**
+     * Test that a denial is returned as a copy of the original exception and that it expires after its own time
+     * to live while permits are still used.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testDenialExpiry() throws InterruptedException
+    {
+        OpenMetadataSecurityDecisionCache cache       = new OpenMetadataSecurityDecisionCache(60000, 50, 100);
+        CountedCheck                      denial      = new CountedCheck("user1");
+        CountedCheck                      permit      = new CountedCheck(null);
+        String                            fingerprint = OpenMetadataSecurityDecisionCache.getFingerprint("server", "service");
+
+        UserNotAuthorizedException firstDenial  = deny(cache, "user1", fingerprint, denial);
+        UserNotAuthorizedException cachedDenial = deny(cache, "user1", fingerprint, denial);
+
+        assertEquals(denial.calls.get(), 1);
+        assertNotNull(cachedDenial);
+        assertFalse(cachedDenial == firstDenial);
+        assertEquals(cachedDenial.getUserId(), "user1");
+        assertEquals(cachedDenial.getReportedErrorMessageId(), firstDenial.getReportedErrorMessageId());
+        assertEquals(cachedDenial.getReportedErrorMessage(), firstDenial.getReportedErrorMessage());
+
+        permit(cache, "user2", fingerprint, permit);
+
+        Thread.sleep(100);
+
+        deny(cache, "user1", fingerprint, denial);
+        permit(cache, "user2", fingerprint, permit);
+
+        assertEquals(denial.calls.get(), 2);
+        assertEquals(permit.calls.get(), 1);
+    }
+
+
+    /**
+     * Test that invalidating the decisions of one user leaves the decisions of the other users and that
+     * invalidating all decisions removes them all.
+     */
+    @Test
+    public void testInvalidation()
+    {
+        OpenMetadataSecurityDecisionCache cache       = new OpenMetadataSecurityDecisionCache(60000, 60000, 100);
+        CountedCheck                      check1      = new CountedCheck(null);
+        CountedCheck                      check2      = new CountedCheck(null);
+        String                            fingerprint = OpenMetadataSecurityDecisionCache.getFingerprint("server", "service");
+
+        permit(cache, "user1", fingerprint, check1);
+        permit(cache, "user2", fingerprint, check2);
+
+        cache.invalidate("user1");
+
+        permit(cache, "user1", fingerprint, check1);
+        permit(cache, "user2", fingerprint, check2);
+
+        assertEquals(check1.calls.get(), 2);
+        assertEquals(check2.calls.get(), 1);
+
+        cache.invalidate();
+
+        permit(cache, "user1", fingerprint, check1);
+        permit(cache, "user2", fingerprint, check2);
+
+        assertEquals(check1.calls.get(), 3);
+        assertEquals(check2.calls.get(), 2);
+    }
+
+
+    /**
+     * Test that the least recently used decisions are removed when the cache is full.
+     */
+    @Test
+    public void testMaxSize()
+    {
+        OpenMetadataSecurityDecisionCache cache = new OpenMetadataSecurityDecisionCache(60000, 60000, 2);
+        CountedCheck                      check = new CountedCheck(null);
+
+        permit(cache, "user1", "fingerprint1", check);
+        permit(cache, "user1", "fingerprint2", check);
+        permit(cache, "user1", "fingerprint1", check);
+        permit(cache, "user1", "fingerprint3", check);
+
+        assertEquals(check.calls.get(), 3);
+
+        permit(cache, "user1", "fingerprint1", check);
+
+        assertEquals(check.calls.get(), 3);
+
+        permit(cache, "user1", "fingerprint2", check);
+
+        assertEquals(check.calls.get(), 4);
+    }
+
+
+    /**
+     * Test that the zones of an asset are cached and returned as a copy.
+     *
+     * @throws Exception problem calculating the zones
+     */
+    @Test
+    public void testZones() throws Exception
+    {
+        OpenMetadataSecurityDecisionCache cache       = new OpenMetadataSecurityDecisionCache(60000, 60000, 100);
+        AtomicInteger                     calls       = new AtomicInteger();
+        String                            fingerprint = OpenMetadataSecurityDecisionCache.getFingerprint("asset");
+
+        OpenMetadataSecurityDecisionCache.ZoneDecision zoneDecision = () ->
+        {
+            calls.incrementAndGet();
+            return Arrays.asList("zone1", "zone2");
+        };
+
+        List<String> zones = cache.getZones("verifyAssetZones", fingerprint, zoneDecision);
+
+        zones.set(0, "changed");
+
+        assertEquals(cache.getZones("verifyAssetZones", fingerprint, zoneDecision), Arrays.asList("zone1", "zone2"));
+        assertEquals(calls.get(), 1);
+
+        assertNull(cache.getZones("verifyAssetZones", "noZones", () -> null));
+        assertNull(cache.getZones("verifyAssetZones", "noZones", () -> Collections.singletonList("zone1")));
+    }
+
+
+    /**
+     * Test that the cache is only set up when the connection's configuration properties request it.
+     */
+    @Test
+    public void testGetDecisionCache()
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        assertNull(OpenMetadataSecurityDecisionCache.getDecisionCache(null));
+        assertNull(OpenMetadataSecurityDecisionCache.getDecisionCache(configurationProperties));
+
+        configurationProperties.put(OpenMetadataSecurityDecisionCache.TIME_TO_LIVE_PROPERTY, "60");
+
+        assertNotNull(OpenMetadataSecurityDecisionCache.getDecisionCache(configurationProperties));
+
+        configurationProperties.put(OpenMetadataSecurityDecisionCache.SIZE_PROPERTY, 0);
+
+        assertNull(OpenMetadataSecurityDecisionCache.getDecisionCache(configurationProperties));
+
+        configurationProperties.put(OpenMetadataSecurityDecisionCache.TIME_TO_LIVE_PROPERTY, "notANumber");
+        configurationProperties.remove(OpenMetadataSecurityDecisionCache.SIZE_PROPERTY);
+
+        assertNull(OpenMetadataSecurityDecisionCache.getDecisionCache(configurationProperties));
+    }
+}
@@ -106,6 +106,7 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                                                           configurationClient,
                                                                                                           governanceActionClient,
                                                                                                           restClient,
+                                                                                                          engineServiceConfig,
                                                                                                           maxPageSize);
 
             if (discoveryEngineHandlers == null)
@@ -167,6 +168,7 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
      * @param configurationClient client to retrieve configuration from
      * @param governanceActionClient client used by the engine host services to connect to the Governance Engine OMAS to manage governance actions
      * @param odfRESTClient client for calling REST APIs
+     * @param engineServiceConfig configuration for the engine service - supplies the options for the governance service executors
      * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
      * @return map of discovery engine GUIDs to handlers
      * @throws OMAGConfigurationErrorException problem with config
@@ -178,6 +180,7 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                             GovernanceEngineConfigurationClient configurationClient,
                                                                             GovernanceEngineClient              governanceActionClient,
                                                                             ODFRESTClient                       odfRESTClient,
+                                                                            EngineServiceConfig                 engineServiceConfig,
                                                                             int                                 maxPageSize) throws OMAGConfigurationErrorException
     {
         final String methodName        = "getDiscoveryEngineHandlers";
@@ -220,6 +223,7 @@ public class AssetAnalysisAdmin extends EngineServiceAdmin
                                                                              configurationClient,
                                                                              governanceActionClient,
                                                                              discoveryEngineClient,
+                                                                             super.getGovernanceServiceExecutor(engineServiceConfig, discoveryEngine),
                                                                              auditLog,
                                                                              maxPageSize);
 
@@ -15,6 +15,7 @@ import org.odpi.openmetadata.frameworks.governanceaction.properties.ActionTarget
 import org.odpi.openmetadata.frameworks.governanceaction.properties.RequestSourceElement;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceEngineHandler;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceCache;
+import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceExecutor;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceHandler;
 
 import java.util.*;
@@ -40,6 +41,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
      * @param configurationClient client to retrieve the configuration
      * @param serverClient client used by the engine host services to control the execution of governance action requests
      * @param discoveryEngineClient REST client for direct REST Calls to Discovery Engine OMAS - used by discovery services
+     * @param governanceServiceExecutor thread pool for running the discovery services
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
      */
@@ -49,6 +51,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                   GovernanceEngineConfigurationClient configurationClient,
                                   GovernanceEngineClient              serverClient,
                                   DiscoveryEngineClient               discoveryEngineClient,
+                                  GovernanceServiceExecutor           governanceServiceExecutor,
                                   AuditLog                            auditLog,
                                   int                                 maxPageSize)
     {
@@ -58,6 +61,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
               EngineServiceDescription.ASSET_ANALYSIS_OMES.getEngineServiceFullName(),
               configurationClient,
               serverClient,
+              governanceServiceExecutor,
               auditLog,
               maxPageSize);
 
@@ -169,7 +173,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue an instance of a discovery service to run on the governance engine's thread pool and return the handler
+     * (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -225,8 +230,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-            thread.start();
+            super.startGovernanceService(discoveryServiceHandler,
+                                         governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString(),
+                                         requestParameters);
 
             return discoveryServiceHandler;
         }
@@ -236,7 +242,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Queue an instance of a discovery service to run on the governance engine's thread pool.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
@@ -265,8 +271,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-        thread.start();
+        super.startGovernanceService(discoveryServiceHandler,
+                                     governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString(),
+                                     suppliedAnalysisParameters);
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
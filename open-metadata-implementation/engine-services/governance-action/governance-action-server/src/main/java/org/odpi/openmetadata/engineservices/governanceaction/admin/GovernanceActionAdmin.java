@@ -112,6 +112,7 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                                                                configurationClient,
                                                                                                                                serverClient,
                                                                                                                                governanceEngineClient,
+                                                                                                                               engineServiceConfig,
                                                                                                                                maxPageSize);
 
             if (governanceActionEngineHandlers == null)
@@ -176,6 +177,7 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
      * @param configurationClient client to retrieve configuration from
      * @param serverClient client to control the execution of governance action requests
      * @param governanceEngineClient client for calling REST APIs
+     * @param engineServiceConfig configuration for the engine service - supplies the options for the governance service executors
      * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
      * @return map of governance action engine GUIDs to handlers
      */
@@ -186,6 +188,7 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                           GovernanceEngineConfigurationClient configurationClient,
                                                                                           GovernanceEngineClient              serverClient,
                                                                                           GovernanceEngineClient              governanceEngineClient,
+                                                                                          EngineServiceConfig                 engineServiceConfig,
                                                                                           int                                 maxPageSize)
     {
         Map<String, GovernanceActionEngineHandler> governanceActionEngineHandlers = new HashMap<>();
@@ -205,6 +208,7 @@ public class GovernanceActionAdmin extends EngineServiceAdmin
                                                                                            configurationClient,
                                                                                            serverClient,
                                                                                            governanceEngineClient,
+                                                                                           super.getGovernanceServiceExecutor(engineServiceConfig, governanceActionEngine),
                                                                                            auditLog,
                                                                                            maxPageSize);
 
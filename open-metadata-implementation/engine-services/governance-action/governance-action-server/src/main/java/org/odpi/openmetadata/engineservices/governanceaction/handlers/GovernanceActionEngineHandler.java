@@ -13,6 +13,7 @@ import org.odpi.openmetadata.frameworks.governanceaction.properties.ActionTarget
 import org.odpi.openmetadata.frameworks.governanceaction.properties.RequestSourceElement;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceEngineHandler;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceCache;
+import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceExecutor;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceHandler;
 
 import java.util.*;
@@ -44,6 +45,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
      * @param configurationClient client to retrieve the configuration
      * @param serverClient client to control the execution of governance action requests
      * @param governanceEngineClient REST client for calls made by the governance action services
+     * @param governanceServiceExecutor thread pool for running the governance action services
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
      */
@@ -55,6 +57,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                          GovernanceEngineConfigurationClient configurationClient,
                                          GovernanceEngineClient              serverClient,
                                          GovernanceEngineClient              governanceEngineClient,
+                                         GovernanceServiceExecutor           governanceServiceExecutor,
                                          AuditLog                            auditLog,
                                          int                                 maxPageSize)
     {
@@ -64,6 +67,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
               EngineServiceDescription.GOVERNANCE_ACTION_OMES.getEngineServiceFullName(),
               configurationClient,
               serverClient,
+              governanceServiceExecutor,
               auditLog,
               maxPageSize);
 
@@ -93,7 +97,8 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue an instance of a governance action service to run on the governance engine's thread pool and return the handler
+     * (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
@@ -140,8 +145,9 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceListenerManager,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString());
-            thread.start();
+            super.startGovernanceService(governanceActionServiceHandler,
+                                         governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString(),
+                                         requestParameters);
 
             return governanceActionServiceHandler;
         }
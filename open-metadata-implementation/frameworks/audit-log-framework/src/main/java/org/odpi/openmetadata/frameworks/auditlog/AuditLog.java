@@ -13,6 +13,7 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * AuditLog is the superclass of audit log implementations.  It is concrete
@@ -25,7 +26,7 @@ public class AuditLog extends MessageFormatter
     private AuditLogDestination        destination;          /* Initialized in the constructor */
     private AuditLogReportingComponent reportingComponent;   /* Initialized in the constructor */
 
-    protected List<AuditLog>            childAuditLogs         = new ArrayList<>();
+    protected List<AuditLog>            childAuditLogs         = new CopyOnWriteArrayList<>();
     protected AuditLogActivity          auditLogActivity       = new AuditLogActivity();
 
 
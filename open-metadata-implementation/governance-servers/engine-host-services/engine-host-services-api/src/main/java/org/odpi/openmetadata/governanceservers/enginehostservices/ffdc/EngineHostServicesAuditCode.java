@@ -298,6 +298,43 @@ public enum EngineHostServicesAuditCode implements AuditLogMessageSet
                                 "Review the error messages and resolve the cause of the problem.  Once resolved, it is possible to " +
                                         "retry the governance action by updating its status back to REQUESTED status."),
 
+    GOVERNANCE_SERVICE_POOL("ENGINE-HOST-SERVICES-0033",
+                            OMRSAuditLogRecordSeverity.STARTUP,
+                            "The governance engine {0} will run up to {1} governance services at a time using {2} threads",
+                            "Requests to run a governance service are queued when the maximum number of governance services are running.  " +
+                                    "Queued requests are run in priority order and then in the order that they were received.",
+                            "Review the queue depth and wait time in the governance engine summary.  If requests are waiting too long, " +
+                                    "increase the maxConcurrentGovernanceServices option for the engine service."),
+
+    VIRTUAL_THREADS_NOT_AVAILABLE("ENGINE-HOST-SERVICES-0034",
+                                  OMRSAuditLogRecordSeverity.INFO,
+                                  "The governance engine {0} is configured to use virtual threads but they are not supported by this Java runtime",
+                                  "The governance engine uses platform threads to run its governance services.",
+                                  "Either remove the useVirtualThreads option from the engine service or run the server on a Java runtime " +
+                                          "that supports virtual threads."),
+
+    GOVERNANCE_SERVICE_NOT_STARTED("ENGINE-HOST-SERVICES-0035",
+                                   OMRSAuditLogRecordSeverity.ERROR,
+                                   "The governance engine {0} is not able to queue governance service {1} for governance action {2} because its thread pool rejected the request: {3}",
+                                   "The governance service is not run.  The thread pool rejects requests once the governance engine is shutting down.  " +
+                                           "The governance action is released so that it can be claimed again.",
+                                   "If the governance engine is not shutting down, review the error message and other messages from " +
+                                           "this governance engine to determine the cause of the problem."),
+
+    GOVERNANCE_ACTION_RELEASED("ENGINE-HOST-SERVICES-0036",
+                               OMRSAuditLogRecordSeverity.INFO,
+                               "The governance engine {0} has released governance action {1} without running governance service {2}",
+                               "The governance action was waiting for a thread when the governance engine stopped.  Its status is set back " +
+                                       "to APPROVED and its claim is removed so that an engine host running the governance engine can claim it again.",
+                               "No action is required.  The governance action runs when a server running the governance engine picks it up."),
+
+    GOVERNANCE_ACTION_NOT_RELEASED("ENGINE-HOST-SERVICES-0037",
+                                   OMRSAuditLogRecordSeverity.EXCEPTION,
+                                   "The governance engine {0} is not able to release governance action {1} because of exception {2} with message {3}",
+                                   "The governance action was claimed by this engine host but its governance service was never run.  " +
+                                           "The governance action remains in IN_PROGRESS status.",
+                                   "Once the metadata server is available, set the status of the governance action back to APPROVED so it is run again."),
+
     NO_OMAS_SERVER_URL("ENGINE-HOST-SERVICES-0150",
                        OMRSAuditLogRecordSeverity.ERROR,
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
@@ -24,13 +24,18 @@ public class GovernanceEngineSummary implements Serializable
 {
     private static final long    serialVersionUID = 1L;
 
-    private String                 governanceEngineName        = null;
-    private String                 governanceEngineTypeName    = null;
-    private String                 governanceEngineService     = null;
-    private String                 governanceEngineGUID        = null;
-    private String                 governanceEngineDescription = null;
-    private GovernanceEngineStatus governanceEngineStatus      = null;
-    private List<String>           governanceRequestTypes      = null;
+    private String                 governanceEngineName            = null;
+    private String                 governanceEngineTypeName        = null;
+    private String                 governanceEngineService         = null;
+    private String                 governanceEngineGUID            = null;
+    private String                 governanceEngineDescription     = null;
+    private GovernanceEngineStatus governanceEngineStatus          = null;
+    private List<String>           governanceRequestTypes          = null;
+    private int                    maxConcurrentGovernanceServices = 0;
+    private int                    activeGovernanceServiceCount    = 0;
+    private int                    queuedGovernanceRequestCount    = 0;
+    private long                   averageRequestWaitTime          = 0;
+    private long                   maxRequestWaitTime              = 0;
 
 
     /**
@@ -57,6 +62,11 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            maxConcurrentGovernanceServices = template.getMaxConcurrentGovernanceServices();
+            activeGovernanceServiceCount = template.getActiveGovernanceServiceCount();
+            queuedGovernanceRequestCount = template.getQueuedGovernanceRequestCount();
+            averageRequestWaitTime = template.getAverageRequestWaitTime();
+            maxRequestWaitTime = template.getMaxRequestWaitTime();
         }
     }
 
@@ -224,6 +234,116 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the maximum number of governance services that this governance engine runs at the same time.
+     *
+     * @return int
+     */
+    public int getMaxConcurrentGovernanceServices()
+    {
+        return maxConcurrentGovernanceServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that this governance engine runs at the same time.
+     *
+     * @param maxConcurrentGovernanceServices int
+     */
+    public void setMaxConcurrentGovernanceServices(int maxConcurrentGovernanceServices)
+    {
+        this.maxConcurrentGovernanceServices = maxConcurrentGovernanceServices;
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return int
+     */
+    public int getActiveGovernanceServiceCount()
+    {
+        return activeGovernanceServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are running.
+     *
+     * @param activeGovernanceServiceCount int
+     */
+    public void setActiveGovernanceServiceCount(int activeGovernanceServiceCount)
+    {
+        this.activeGovernanceServiceCount = activeGovernanceServiceCount;
+    }
+
+
+    /**
+     * Return the number of requests that are waiting for a governance service to be free.
+     *
+     * @return int (queue depth)
+     */
+    public int getQueuedGovernanceRequestCount()
+    {
+        return queuedGovernanceRequestCount;
+    }
+
+
+    /**
+     * Set up the number of requests that are waiting for a governance service to be free.
+     *
+     * @param queuedGovernanceRequestCount int (queue depth)
+     */
+    public void setQueuedGovernanceRequestCount(int queuedGovernanceRequestCount)
+    {
+        this.queuedGovernanceRequestCount = queuedGovernanceRequestCount;
+    }
+
+
+    /**
+     * Return the average time (in milliseconds) that requests have waited before their governance service started.
+     *
+     * @return long
+     */
+    public long getAverageRequestWaitTime()
+    {
+        return averageRequestWaitTime;
+    }
+
+
+    /**
+     * Set up the average time (in milliseconds) that requests have waited before their governance service started.
+     *
+     * @param averageRequestWaitTime long
+     */
+    public void setAverageRequestWaitTime(long averageRequestWaitTime)
+    {
+        this.averageRequestWaitTime = averageRequestWaitTime;
+    }
+
+
+    /**
+     * Return the longest time (in milliseconds) that a request has waited before its governance service started.
+     *
+     * @return long
+     */
+    public long getMaxRequestWaitTime()
+    {
+        return maxRequestWaitTime;
+    }
+
+
+    /**
+     * Set up the longest time (in milliseconds) that a request has waited before its governance service started.
+     *
+     * @param maxRequestWaitTime long
+     */
+    public void setMaxRequestWaitTime(long maxRequestWaitTime)
+    {
+        this.maxRequestWaitTime = maxRequestWaitTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +360,11 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", maxConcurrentGovernanceServices=" + maxConcurrentGovernanceServices +
+                       ", activeGovernanceServiceCount=" + activeGovernanceServiceCount +
+                       ", queuedGovernanceRequestCount=" + queuedGovernanceRequestCount +
+                       ", averageRequestWaitTime=" + averageRequestWaitTime +
+                       ", maxRequestWaitTime=" + maxRequestWaitTime +
                        '}';
     }
 
@@ -262,7 +387,12 @@ public class GovernanceEngineSummary implements Serializable
             return false;
         }
         GovernanceEngineSummary that = (GovernanceEngineSummary) objectToCompare;
-        return Objects.equals(governanceEngineName, that.governanceEngineName) &&
+        return maxConcurrentGovernanceServices == that.maxConcurrentGovernanceServices &&
+                       activeGovernanceServiceCount == that.activeGovernanceServiceCount &&
+                       queuedGovernanceRequestCount == that.queuedGovernanceRequestCount &&
+                       averageRequestWaitTime == that.averageRequestWaitTime &&
+                       maxRequestWaitTime == that.maxRequestWaitTime &&
+                       Objects.equals(governanceEngineName, that.governanceEngineName) &&
                        Objects.equals(governanceEngineTypeName, that.governanceEngineTypeName) &&
                        Objects.equals(governanceEngineService, that.governanceEngineService) &&
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
@@ -281,6 +411,8 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           maxConcurrentGovernanceServices, activeGovernanceServiceCount, queuedGovernanceRequestCount,
+                           averageRequestWaitTime, maxRequestWaitTime);
    }
 }
@@ -29,6 +29,16 @@ public abstract class EngineServiceAdmin
 
     protected InvalidParameterHandler invalidParameterHandler = new InvalidParameterHandler();
 
+    /**
+     * Engine service option that sets the maximum number of governance services that each governance engine runs at the same time.
+     */
+    public static final String maxConcurrentServicesOption = "maxConcurrentGovernanceServices";
+
+    /**
+     * Engine service option that requests that the governance services run on virtual threads.
+     */
+    public static final String useVirtualThreadsOption     = "useVirtualThreads";
+
 
     /**
      * Initialize engine service.
@@ -185,4 +195,50 @@ public abstract class EngineServiceAdmin
             return engineNames;
         }
     }
+
+
+    /**
+     * Create the thread pool that runs the governance services for a governance engine.  It is configured from the
+     * maxConcurrentGovernanceServices and useVirtualThreads engine service options.
+     *
+     * @param engineServiceConfig configuration
+     * @param engineConfig configuration for the governance engine
+     * @return governance service executor
+     */
+    protected GovernanceServiceExecutor getGovernanceServiceExecutor(EngineServiceConfig engineServiceConfig,
+                                                                     EngineConfig        engineConfig)
+    {
+        int     maxConcurrentServices = GovernanceServiceExecutor.DEFAULT_MAX_CONCURRENT_SERVICES;
+        boolean useVirtualThreads     = false;
+
+        Map<String, Object> engineServiceOptions = engineServiceConfig.getEngineServiceOptions();
+
+        if (engineServiceOptions != null)
+        {
+            Object maxConcurrentServicesValue = engineServiceOptions.get(maxConcurrentServicesOption);
+
+            if (maxConcurrentServicesValue != null)
+            {
+                try
+                {
+                    maxConcurrentServices = Integer.parseInt(maxConcurrentServicesValue.toString());
+                }
+                catch (NumberFormatException badValue)
+                {
+                    /*
+                     * The default value is used.
+                     */
+                }
+            }
+
+            Object useVirtualThreadsValue = engineServiceOptions.get(useVirtualThreadsOption);
+
+            if (useVirtualThreadsValue != null)
+            {
+                useVirtualThreads = Boolean.parseBoolean(useVirtualThreadsValue.toString());
+            }
+        }
+
+        return new GovernanceServiceExecutor(engineConfig.getEngineQualifiedName(), maxConcurrentServices, useVirtualThreads, auditLog);
+    }
 }
@@ -25,6 +25,7 @@ import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHos
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
 
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The GovernanceEngineHandler is responsible for running governance services on demand.  It is initialized
@@ -55,6 +56,8 @@ public abstract class GovernanceEngineHandler
 
     private GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
 
+    private GovernanceServiceExecutor  governanceServiceExecutor;               /* Initialized in constructor */
+
 
     /**
      * Create a client-side object for calling a governance engine.
@@ -65,6 +68,7 @@ public abstract class GovernanceEngineHandler
      * @param engineServiceName name of the OMES that is supporting this governance engine
      * @param configurationClient client to retrieve the configuration
      * @param serverClient client to control the execution of governance action requests
+     * @param governanceServiceExecutor thread pool for running the governance services
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
      */
@@ -74,6 +78,7 @@ public abstract class GovernanceEngineHandler
                                    String                              engineServiceName,
                                    GovernanceEngineConfigurationClient configurationClient,
                                    GovernanceEngineClient              serverClient,
+                                   GovernanceServiceExecutor           governanceServiceExecutor,
                                    AuditLog                            auditLog,
                                    int                                 maxPageSize)
     {
@@ -88,6 +93,7 @@ public abstract class GovernanceEngineHandler
         }
         this.configurationClient = configurationClient;
         this.serverClient = serverClient;
+        this.governanceServiceExecutor = governanceServiceExecutor;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
     }
@@ -138,6 +144,12 @@ public abstract class GovernanceEngineHandler
             mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.RUNNING);
         }
 
+        mySummary.setMaxConcurrentGovernanceServices(governanceServiceExecutor.getMaxConcurrentServices());
+        mySummary.setActiveGovernanceServiceCount(governanceServiceExecutor.getActiveServiceCount());
+        mySummary.setQueuedGovernanceRequestCount(governanceServiceExecutor.getQueueDepth());
+        mySummary.setAverageRequestWaitTime(governanceServiceExecutor.getAverageWaitTime());
+        mySummary.setMaxRequestWaitTime(governanceServiceExecutor.getMaxWaitTime());
+
         return mySummary;
     }
 
@@ -472,6 +484,83 @@ public abstract class GovernanceEngineHandler
                                                                                                                           PropertyServerException;
 
 
+    /**
+     * Queue a governance service to run on the governance engine's thread pool.  The governance service starts
+     * as soon as a thread is free.  Higher priority requests are started first.  If the thread pool rejects the
+     * request (because the governance engine is shutting down) the governance action is released.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param requestName name used for the thread while the governance service is running
+     * @param requestParameters name-value properties for the governance service - the requestPriority value sets the priority
+     */
+    protected void startGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                          String                   requestName,
+                                          Map<String, String>      requestParameters)
+    {
+        final String actionDescription = "startGovernanceService";
+
+        try
+        {
+            governanceServiceExecutor.submit(governanceServiceHandler, requestName, requestParameters);
+        }
+        catch (RejectedExecutionException error)
+        {
+            auditLog.logMessage(actionDescription,
+                                EngineHostServicesAuditCode.GOVERNANCE_SERVICE_NOT_STARTED.getMessageDefinition(governanceEngineName,
+                                                                                                                governanceServiceHandler.getGovernanceServiceName(),
+                                                                                                                governanceServiceHandler.getGovernanceActionGUID(),
+                                                                                                                error.getMessage()));
+
+            this.releaseGovernanceService(governanceServiceHandler, actionDescription);
+        }
+    }
+
+
+    /**
+     * Give back the governance action of a governance service that is not going to run and disconnect the
+     * governance service.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param actionDescription calling activity
+     */
+    private void releaseGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                          String                   actionDescription)
+    {
+        try
+        {
+            governanceServiceHandler.releaseGovernanceAction();
+
+            if (governanceServiceHandler.getGovernanceActionGUID() != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    EngineHostServicesAuditCode.GOVERNANCE_ACTION_RELEASED.getMessageDefinition(governanceEngineName,
+                                                                                                                governanceServiceHandler.getGovernanceActionGUID(),
+                                                                                                                governanceServiceHandler.getGovernanceServiceName()));
+            }
+        }
+        catch (Exception error)
+        {
+            auditLog.logException(actionDescription,
+                                  EngineHostServicesAuditCode.GOVERNANCE_ACTION_NOT_RELEASED.getMessageDefinition(governanceEngineName,
+                                                                                                                  governanceServiceHandler.getGovernanceActionGUID(),
+                                                                                                                  error.getClass().getName(),
+                                                                                                                  error.getMessage()),
+                                  error);
+        }
+
+        try
+        {
+            governanceServiceHandler.disconnect();
+        }
+        catch (Exception error)
+        {
+            /*
+             * The governance service never started so there is nothing to clean up.
+             */
+        }
+    }
+
+
     /**
      * Pass on the watchdog event to any governance service that supports them.
      *
@@ -492,7 +581,8 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Confirms termination of the governance engine.
+     * Confirms termination of the governance engine.  The governance actions that are waiting for a thread
+     * are released so they can be claimed again.
      */
     public void terminate()
     {
@@ -505,5 +595,10 @@ public abstract class GovernanceEngineHandler
         governanceEngineGUID = null;
         governanceEngineProperties = null;
         governanceServiceLookupTable.clear();
+
+        for (GovernanceServiceHandler unstartedService : governanceServiceExecutor.shutdown())
+        {
+            this.releaseGovernanceService(unstartedService, actionDescription);
+        }
     }
 }
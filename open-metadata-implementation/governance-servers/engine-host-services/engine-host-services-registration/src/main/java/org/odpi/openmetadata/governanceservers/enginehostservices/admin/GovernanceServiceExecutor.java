@@ -0,0 +1,313 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesAuditCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * GovernanceServiceExecutor runs the governance services for a single governance engine.  There is a limit on the
+ * number of governance services that run at the same time.  Further requests wait in a priority queue until a
+ * thread is free.  The priority comes from the requestPriority request parameter (higher values run first).
+ * Requests with the same priority run in the order they were received.
+ * <p>
+ * The threads may be virtual threads if the Java runtime supports them.  Otherwise, a pool of platform threads is used.
+ * The threads are created on demand and removed when they have been idle for a minute.
+ * </p>
+ */
+public class GovernanceServiceExecutor
+{
+    /**
+     * Number of governance services that can run at the same time if no value is configured.
+     */
+    public static final int    DEFAULT_MAX_CONCURRENT_SERVICES = 10;
+
+    /**
+     * Name of the request parameter that sets the priority of a request.  Requests without this parameter have priority 0.
+     */
+    public static final String REQUEST_PRIORITY_PARAMETER = "requestPriority";
+
+    private static final long  idleThreadTimeout          = 60;
+
+    private final String             governanceEngineName;
+    private final int                maxConcurrentServices;
+    private final boolean            usingVirtualThreads;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong         sequenceNumber = new AtomicLong(0);
+
+    private long startedRequestCount = 0;
+    private long totalWaitTime       = 0;
+    private long maxWaitTime         = 0;
+
+
+    /**
+     * Constructor sets up the thread pool.
+     *
+     * @param governanceEngineName name of the governance engine that is using this executor
+     * @param maxConcurrentServices maximum number of governance services that can run at the same time
+     * @param useVirtualThreads should virtual threads be used (if supported)?
+     * @param auditLog logging destination
+     */
+    public GovernanceServiceExecutor(String   governanceEngineName,
+                                     int      maxConcurrentServices,
+                                     boolean  useVirtualThreads,
+                                     AuditLog auditLog)
+    {
+        final String actionDescription = "Initialize governance service executor";
+        final String threadName        = "::GovernanceService-";
+
+        this.governanceEngineName  = governanceEngineName;
+        this.maxConcurrentServices = (maxConcurrentServices > 0) ? maxConcurrentServices : DEFAULT_MAX_CONCURRENT_SERVICES;
+
+        ThreadFactory threadFactory = null;
+
+        if (useVirtualThreads)
+        {
+            threadFactory = getVirtualThreadFactory();
+
+            if ((threadFactory == null) && (auditLog != null))
+            {
+                auditLog.logMessage(actionDescription,
+                                    EngineHostServicesAuditCode.VIRTUAL_THREADS_NOT_AVAILABLE.getMessageDefinition(governanceEngineName));
+            }
+        }
+
+        this.usingVirtualThreads = (threadFactory != null);
+
+        if (threadFactory == null)
+        {
+            AtomicInteger threadCount = new AtomicInteger(0);
+
+            threadFactory = (runnable) -> new Thread(runnable, governanceEngineName + threadName + threadCount.incrementAndGet());
+        }
+
+        this.executor = new ThreadPoolExecutor(this.maxConcurrentServices,
+                                               this.maxConcurrentServices,
+                                               idleThreadTimeout,
+                                               TimeUnit.SECONDS,
+                                               new PriorityBlockingQueue<>(),
+                                               threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                EngineHostServicesAuditCode.GOVERNANCE_SERVICE_POOL.getMessageDefinition(governanceEngineName,
+                                                                                                         Integer.toString(this.maxConcurrentServices),
+                                                                                                         usingVirtualThreads ? "virtual" : "platform"));
+        }
+    }
+
+
+    /**
+     * Return a factory for virtual threads.  Virtual threads are located by reflection since they are
+     * not available in all the Java runtimes that the server supports.
+     *
+     * @return thread factory or null if virtual threads are not supported
+     */
+    private static ThreadFactory getVirtualThreadFactory()
+    {
+        try
+        {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        }
+        catch (Exception notSupported)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Queue a governance service to run.  It is started immediately if the maximum number of governance services are not
+     * already running.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param requestName name used for the thread while the governance service is running
+     * @param requestParameters request parameters for the governance service - used to find the priority
+     * @throws RejectedExecutionException the executor is shut down
+     */
+    public void submit(GovernanceServiceHandler governanceServiceHandler,
+                       String                   requestName,
+                       Map<String, String>      requestParameters) throws RejectedExecutionException
+    {
+        /*
+         * The execute method is used rather than submit because the priority queue needs to compare the requests.
+         */
+        executor.execute(new GovernanceServiceRequest(governanceServiceHandler,
+                                                      requestName,
+                                                      getPriority(requestParameters),
+                                                      sequenceNumber.incrementAndGet(),
+                                                      this));
+    }
+
+
+    /**
+     * Extract the priority of the request from the request parameters.
+     *
+     * @param requestParameters request parameters for the governance service
+     * @return priority - 0 if not set or not a number
+     */
+    private int getPriority(Map<String, String> requestParameters)
+    {
+        if (requestParameters != null)
+        {
+            String priority = requestParameters.get(REQUEST_PRIORITY_PARAMETER);
+
+            if (priority != null)
+            {
+                try
+                {
+                    return Integer.parseInt(priority.trim());
+                }
+                catch (NumberFormatException badValue)
+                {
+                    return 0;
+                }
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Called as each request starts to run.
+     *
+     * @param waitTime time in milliseconds that the request spent in the queue
+     */
+    synchronized void recordWaitTime(long waitTime)
+    {
+        startedRequestCount ++;
+        totalWaitTime = totalWaitTime + waitTime;
+
+        if (waitTime > maxWaitTime)
+        {
+            maxWaitTime = waitTime;
+        }
+    }
+
+
+    /**
+     * Return the name of the governance engine that is using this executor.
+     *
+     * @return name
+     */
+    public String getGovernanceEngineName()
+    {
+        return governanceEngineName;
+    }
+
+
+    /**
+     * Return the maximum number of governance services that can run at the same time.
+     *
+     * @return int
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Return whether the governance services are running on virtual threads.
+     *
+     * @return boolean flag
+     */
+    public boolean isUsingVirtualThreads()
+    {
+        return usingVirtualThreads;
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return int
+     */
+    public int getActiveServiceCount()
+    {
+        return executor.getActiveCount();
+    }
+
+
+    /**
+     * Return the number of requests waiting for a thread.
+     *
+     * @return int
+     */
+    public int getQueueDepth()
+    {
+        return executor.getQueue().size();
+    }
+
+
+    /**
+     * Return the average time in milliseconds that a request waited before its governance service started.
+     *
+     * @return long
+     */
+    public synchronized long getAverageWaitTime()
+    {
+        if (startedRequestCount == 0)
+        {
+            return 0;
+        }
+
+        return totalWaitTime / startedRequestCount;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds that a request waited before its governance service started.
+     *
+     * @return long
+     */
+    public synchronized long getMaxWaitTime()
+    {
+        return maxWaitTime;
+    }
+
+
+    /**
+     * Stop accepting requests and remove any that are waiting.  The handlers of the governance services that were
+     * waiting are returned so the caller can give back their governance actions.  The governance services that
+     * are running are left to finish, or to be disconnected by the governance engine.
+     *
+     * @return handlers for the governance services that were queued but not started
+     */
+    public List<GovernanceServiceHandler> shutdown()
+    {
+        executor.shutdown();
+
+        List<Runnable> queuedRequests = new ArrayList<>();
+        executor.getQueue().drainTo(queuedRequests);
+
+        List<GovernanceServiceHandler> unstartedServices = new ArrayList<>();
+
+        for (Runnable queuedRequest : queuedRequests)
+        {
+            if (queuedRequest instanceof GovernanceServiceRequest)
+            {
+                unstartedServices.add(((GovernanceServiceRequest) queuedRequest).getGovernanceServiceHandler());
+            }
+        }
+
+        return unstartedServices;
+    }
+}
@@ -111,6 +111,37 @@ public abstract class GovernanceServiceHandler implements Runnable
     }
 
 
+    /**
+     * Return the unique identifier of the governance action that this governance service is running for.
+     *
+     * @return string guid or null if the governance service was requested directly
+     */
+    public String getGovernanceActionGUID()
+    {
+        return governanceActionGUID;
+    }
+
+
+    /**
+     * Give back a governance action that was claimed by this engine host but whose governance service has not run.
+     * The status of the governance action is set back to APPROVED, which removes the claim so it can be
+     * claimed again.
+     *
+     * @throws InvalidParameterException the governance action GUID is not recognized
+     * @throws UserNotAuthorizedException the engine host is not authorized to update the governance action
+     * @throws PropertyServerException there is a problem connecting to the metadata store
+     */
+    public void releaseGovernanceAction() throws InvalidParameterException,
+                                                 UserNotAuthorizedException,
+                                                 PropertyServerException
+    {
+        if (governanceActionGUID != null)
+        {
+            governanceActionClient.updateGovernanceActionStatus(engineHostUserId, governanceActionGUID, GovernanceActionStatus.APPROVED);
+        }
+    }
+
+
     /**
      * Update the status of a specific action target. By default, these values are derived from
      * the values for the governance action service.  However, if the governance action service has to process name
@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+
+/**
+ * GovernanceServiceRequest is an entry in the priority queue of a governance engine's GovernanceServiceExecutor.
+ * It wraps the governance service handler with the information needed to order the queue and to measure how long the
+ * request waited for a thread.  Requests with a higher priority run first.  Requests with the same priority run in the
+ * order they were received.
+ */
+class GovernanceServiceRequest implements Runnable, Comparable<GovernanceServiceRequest>
+{
+    private final GovernanceServiceHandler  governanceServiceHandler;
+    private final String                    requestName;
+    private final int                       priority;
+    private final long                      sequenceNumber;
+    private final long                      queueTime;
+    private final GovernanceServiceExecutor executor;
+
+
+    /**
+     * Constructor
+     *
+     * @param governanceServiceHandler handler for the governance service to run
+     * @param requestName name used for the thread while the governance service is running
+     * @param priority priority of the request - higher values run first
+     * @param sequenceNumber order that the request was received
+     * @param executor executor that is running the request - notified of the wait time
+     */
+    GovernanceServiceRequest(GovernanceServiceHandler  governanceServiceHandler,
+                             String                    requestName,
+                             int                       priority,
+                             long                      sequenceNumber,
+                             GovernanceServiceExecutor executor)
+    {
+        this.governanceServiceHandler = governanceServiceHandler;
+        this.requestName              = requestName;
+        this.priority                 = priority;
+        this.sequenceNumber           = sequenceNumber;
+        this.queueTime                = System.currentTimeMillis();
+        this.executor                 = executor;
+    }
+
+
+    /**
+     * Return the handler for the governance service.
+     *
+     * @return governance service handler
+     */
+    GovernanceServiceHandler getGovernanceServiceHandler()
+    {
+        return governanceServiceHandler;
+    }
+
+
+    /**
+     * Run the governance service on the calling thread.  The thread is named after the request while
+     * the governance service is running.
+     */
+    @Override
+    public void run()
+    {
+        executor.recordWaitTime(System.currentTimeMillis() - queueTime);
+
+        Thread currentThread = Thread.currentThread();
+        String threadName    = currentThread.getName();
+
+        currentThread.setName(requestName);
+
+        try
+        {
+            governanceServiceHandler.run();
+        }
+        finally
+        {
+            currentThread.setName(threadName);
+        }
+    }
+
+
+    /**
+     * Order the requests by priority and then by the order they were received.
+     *
+     * @param other other request
+     * @return comparison result
+     */
+    @Override
+    public int compareTo(GovernanceServiceRequest other)
+    {
+        int result = Integer.compare(other.priority, priority);
+
+        if (result == 0)
+        {
+            result = Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "GovernanceServiceRequest{" +
+                "requestName='" + requestName + '\'' +
+                ", priority=" + priority +
+                ", sequenceNumber=" + sequenceNumber +
+                ", queueTime=" + queueTime +
+                '}';
+    }
+}
@@ -0,0 +1,192 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.accessservices.governanceengine.client.GovernanceEngineClient;
+import org.odpi.openmetadata.accessservices.governanceengine.client.GovernanceEngineConfigurationClient;
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.governanceaction.properties.ActionTargetElement;
+import org.odpi.openmetadata.frameworks.governanceaction.properties.RequestSourceElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the governance engine handler gives back the governance actions that it does not run.
+ */
+public class TestGovernanceEngineHandler
+{
+    private GovernanceServiceExecutor executor;
+    private TestEngineHandler         engineHandler;
+    private AuditLog                  auditLog;
+
+
+    /**
+     * Create a governance engine handler with a single thread.
+     */
+    @BeforeMethod public void setUp()
+    {
+        EngineConfig engineConfig = new EngineConfig();
+        engineConfig.setEngineQualifiedName("testEngine");
+
+        auditLog      = mock(AuditLog.class);
+        executor      = new GovernanceServiceExecutor("testEngine", 1, false, null);
+        engineHandler = new TestEngineHandler(engineConfig,
+                                              mock(GovernanceEngineConfigurationClient.class),
+                                              mock(GovernanceEngineClient.class),
+                                              executor,
+                                              auditLog);
+    }
+
+
+    /**
+     * Return a governance service handler for a governance action.
+     *
+     * @param governanceActionGUID unique identifier of the governance action
+     * @return mock handler
+     */
+    private GovernanceServiceHandler getService(String governanceActionGUID)
+    {
+        GovernanceServiceHandler handler = mock(GovernanceServiceHandler.class);
+
+        when(handler.getGovernanceActionGUID()).thenReturn(governanceActionGUID);
+        when(handler.getGovernanceServiceName()).thenReturn("testService");
+
+        return handler;
+    }
+
+
+    /**
+     * Validate that a request rejected by the thread pool releases its governance action.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testRejectedServiceIsReleased() throws Exception
+    {
+        GovernanceServiceHandler service = this.getService("action1");
+
+        executor.shutdown();
+        engineHandler.startGovernanceService(service, "rejected", null);
+
+        verify(service, never()).run();
+        verify(service).releaseGovernanceAction();
+        verify(service).disconnect();
+        verify(auditLog, times(2)).logMessage(anyString(), any());
+    }
+
+
+    /**
+     * Validate that terminate releases the governance actions that are waiting and leaves the running service alone.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testTerminateReleasesQueuedServices() throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        GovernanceServiceHandler runningService = this.getService("running");
+        GovernanceServiceHandler queuedService  = this.getService("queued");
+
+        doAnswer(invocation ->
+                 {
+                     started.countDown();
+                     release.await(10, TimeUnit.SECONDS);
+                     return null;
+                 }).when(runningService).run();
+
+        engineHandler.startGovernanceService(runningService, "running", null);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        engineHandler.startGovernanceService(queuedService, "queued", null);
+
+        engineHandler.terminate();
+        release.countDown();
+
+        verify(queuedService).releaseGovernanceAction();
+        verify(queuedService).disconnect();
+        verify(queuedService, never()).run();
+        verify(runningService, never()).releaseGovernanceAction();
+    }
+
+
+    /**
+     * Validate that a failure to release the governance action is logged and the service is still disconnected.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testReleaseFailure() throws Exception
+    {
+        GovernanceServiceHandler service = this.getService("action1");
+
+        doThrow(PropertyServerException.class).when(service).releaseGovernanceAction();
+
+        executor.shutdown();
+        engineHandler.startGovernanceService(service, "rejected", null);
+
+        verify(service).disconnect();
+        verify(auditLog).logException(anyString(), any(), any(Throwable.class));
+    }
+
+
+    /**
+     * Minimal governance engine handler.
+     */
+    private static class TestEngineHandler extends GovernanceEngineHandler
+    {
+        /**
+         * Constructor
+         *
+         * @param engineConfig engine configuration
+         * @param configurationClient configuration client
+         * @param serverClient governance action client
+         * @param executor thread pool
+         * @param auditLog logging destination
+         */
+        TestEngineHandler(EngineConfig                        engineConfig,
+                          GovernanceEngineConfigurationClient configurationClient,
+                          GovernanceEngineClient              serverClient,
+                          GovernanceServiceExecutor           executor,
+                          AuditLog                            auditLog)
+        {
+            super(engineConfig, "testServer", "testUser", "Test Engine Service", configurationClient, serverClient, executor, auditLog, 100);
+        }
+
+
+        /**
+         * Not used by these tests.
+         *
+         * @param governanceActionGUID unique identifier of the governance action
+         * @param requestType request type
+         * @param requestParameters request parameters
+         * @param requestSourceElements source elements
+         * @param actionTargetElements action targets
+         * @return null
+         */
+        @Override
+        public GovernanceServiceHandler runGovernanceService(String                     governanceActionGUID,
+                                                             String                     requestType,
+                                                             Map<String, String>        requestParameters,
+                                                             List<RequestSourceElement> requestSourceElements,
+                                                             List<ActionTargetElement>  actionTargetElements)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the queueing of governance services by the GovernanceServiceExecutor.
+ */
+public class TestGovernanceServiceExecutor
+{
+    private GovernanceServiceExecutor executor;
+    private CountDownLatch            releaseBlockingService;
+    private CountDownLatch            blockingServiceStarted;
+    private List<String>              runOrder;
+
+
+    /**
+     * Create an executor that runs one governance service at a time.
+     */
+    @BeforeMethod public void setUp()
+    {
+        executor               = new GovernanceServiceExecutor("testEngine", 1, false, null);
+        releaseBlockingService = new CountDownLatch(1);
+        blockingServiceStarted = new CountDownLatch(1);
+        runOrder               = new CopyOnWriteArrayList<>();
+    }
+
+
+    /**
+     * Make sure the blocking service finishes.
+     */
+    @AfterMethod public void tearDown()
+    {
+        releaseBlockingService.countDown();
+        executor.shutdown();
+    }
+
+
+    /**
+     * Return a governance service handler that waits for the test before returning from run.
+     *
+     * @return mock handler
+     */
+    private GovernanceServiceHandler getBlockingService()
+    {
+        GovernanceServiceHandler handler = mock(GovernanceServiceHandler.class);
+
+        doAnswer(invocation ->
+                 {
+                     blockingServiceStarted.countDown();
+                     releaseBlockingService.await(10, TimeUnit.SECONDS);
+                     return null;
+                 }).when(handler).run();
+
+        return handler;
+    }
+
+
+    /**
+     * Return a governance service handler that records when it runs.
+     *
+     * @param name name to record
+     * @return mock handler
+     */
+    private GovernanceServiceHandler getRecordingService(String name)
+    {
+        GovernanceServiceHandler handler = mock(GovernanceServiceHandler.class);
+
+        doAnswer(invocation -> runOrder.add(name)).when(handler).run();
+
+        return handler;
+    }
+
+
+    /**
+     * Validate that queued requests run in priority order and then in the order they were received.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testPriorityOrder() throws Exception
+    {
+        executor.submit(this.getBlockingService(), "blocking", null);
+        assertTrue(blockingServiceStarted.await(10, TimeUnit.SECONDS));
+
+        executor.submit(this.getRecordingService("low"), "low", null);
+        executor.submit(this.getRecordingService("high"), "high", Collections.singletonMap(GovernanceServiceExecutor.REQUEST_PRIORITY_PARAMETER, "5"));
+        executor.submit(this.getRecordingService("low2"), "low2", Collections.singletonMap(GovernanceServiceExecutor.REQUEST_PRIORITY_PARAMETER, "bad"));
+
+        assertEquals(executor.getQueueDepth(), 3);
+
+        releaseBlockingService.countDown();
+
+        for (int wait = 0; (wait < 100) && (runOrder.size() < 3); wait++)
+        {
+            Thread.sleep(100);
+        }
+
+        assertEquals(runOrder, List.of("high", "low", "low2"));
+    }
+
+
+    /**
+     * Validate that shutdown returns the handlers of the requests that were waiting and that they never run.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testShutdownReturnsQueuedServices() throws Exception
+    {
+        GovernanceServiceHandler blockingService = this.getBlockingService();
+        GovernanceServiceHandler queuedService1  = this.getRecordingService("queued1");
+        GovernanceServiceHandler queuedService2  = this.getRecordingService("queued2");
+
+        executor.submit(blockingService, "blocking", null);
+        assertTrue(blockingServiceStarted.await(10, TimeUnit.SECONDS));
+
+        executor.submit(queuedService1, "queued1", null);
+        executor.submit(queuedService2, "queued2", null);
+
+        List<GovernanceServiceHandler> unstartedServices = executor.shutdown();
+
+        assertEquals(unstartedServices.size(), 2);
+        assertTrue(unstartedServices.contains(queuedService1));
+        assertTrue(unstartedServices.contains(queuedService2));
+        assertEquals(executor.getQueueDepth(), 0);
+
+        releaseBlockingService.countDown();
+        Thread.sleep(200);
+
+        verify(queuedService1, never()).run();
+        verify(queuedService2, never()).run();
+        assertTrue(runOrder.isEmpty());
+    }
+
+
+    /**
+     * Validate that requests are rejected once the executor is shut down.
+     */
+    @Test(expectedExceptions = RejectedExecutionException.class)
+    public void testRejectedAfterShutdown()
+    {
+        executor.shutdown();
+        executor.submit(this.getRecordingService("late"), "late", null);
+    }
+}
@@ -19,6 +19,8 @@ public abstract class IntegrationConnectorBase extends ConnectorBase implements
     protected AuditLog auditLog = null;
     protected String   connectorName = null;
 
+    private volatile Runnable refreshRequester = null;
+
     /**
      * Receive an audit log object that can be used to record audit log messages.  The caller has initialized it
      * with the correct component description and log destinations.
@@ -43,6 +45,40 @@ public abstract class IntegrationConnectorBase extends ConnectorBase implements
     }
 
 
+    /**
+     * Set up the callback that asks the integration daemon to refresh this connector.  It is called by the
+     * integration daemon before start().
+     *
+     * @param refreshRequester callback that queues a refresh of this connector
+     */
+    public void setRefreshRequester(Runnable refreshRequester)
+    {
+        this.refreshRequester = refreshRequester;
+    }
+
+
+    /**
+     * Ask the integration daemon to call refresh() as soon as one of its refresh threads is free.  This is for
+     * connectors that learn, outside of refresh(), that their view of the third party technology is out of date.
+     * The refresh runs on the integration daemon's threads so it never runs at the same time as another refresh of
+     * this connector.
+     *
+     * @return false if the connector is not running in an integration daemon and so the refresh is not queued
+     */
+    protected boolean requestRefresh()
+    {
+        Runnable currentRefreshRequester = refreshRequester;
+
+        if (currentRefreshRequester == null)
+        {
+            return false;
+        }
+
+        currentRefreshRequester.run();
+        return true;
+    }
+
+
     /**
      * This method is for blocking calls to wait for new metadata.  It is called from its own thread iff
      * the connector is configured to have its own thread.  It is recommended that the engage() method
@@ -285,6 +285,13 @@ public enum IntegrationDaemonServicesAuditCode implements AuditLogMessageSet
                     "Use the message from the exception and knowledge of the integration connector's behavior to " +
                             "track down and resolve the cause of the error and then restart the connector.  The integration daemon thread will then continue to call the connector."),
 
+    DAEMON_CONNECTOR_REFRESH_OVERRUN("INTEGRATION-DAEMON-SERVICES-0045",
+                    OMRSAuditLogRecordSeverity.INFO,
+                    "The refresh of integration connector {0} in integration daemon {1} took longer than its refresh interval of {2} minutes and {3} refresh cycle(s) have been skipped",
+                    "The integration daemon thread schedules the next refresh of the connector for the next refresh cycle that has not yet passed.  " +
+                            "The other connectors in the integration daemon are not affected.",
+                    "If this happens regularly, either increase the refresh interval of the connector or investigate why its refresh processing is slow."),
+
     SERVER_NOT_AUTHORIZED("INTEGRATION-DAEMON-SERVICES-0050",
                           OMRSAuditLogRecordSeverity.SECURITY,
                           "Integration service {0} is not authorized to call its partner " +
@@ -33,6 +33,13 @@ public class IntegrationConnectorReport implements Serializable
     private long                       minMinutesBetweenRefresh = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
+    private Date                       nextRefreshTime          = null;
+    private long                       refreshCount             = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       maxRefreshDuration       = 0L;
+    private long                       averageRefreshDuration   = 0L;
+    private long                       overrunCount             = 0L;
+    private long                       skippedRefreshCount      = 0L;
 
 
     /**
@@ -59,6 +66,13 @@ public class IntegrationConnectorReport implements Serializable
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
+            nextRefreshTime          = template.getNextRefreshTime();
+            refreshCount             = template.getRefreshCount();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            maxRefreshDuration       = template.getMaxRefreshDuration();
+            averageRefreshDuration   = template.getAverageRefreshDuration();
+            overrunCount             = template.getOverrunCount();
+            skippedRefreshCount      = template.getSkippedRefreshCount();
         }
     }
 
@@ -223,6 +237,164 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the date/time when the integration daemon plans to call refresh on the connector next.
+     * Null means no refresh is scheduled.
+     *
+     * @return timestamp
+     */
+    public Date getNextRefreshTime()
+    {
+        return nextRefreshTime;
+    }
+
+
+    /**
+     * Set up the date/time when the integration daemon plans to call refresh on the connector next.
+     * Null means no refresh is scheduled.
+     *
+     * @param nextRefreshTime timestamp
+     */
+    public void setNextRefreshTime(Date nextRefreshTime)
+    {
+        this.nextRefreshTime = nextRefreshTime;
+    }
+
+
+    /**
+     * Return the number of times that refresh has been called on the connector since it was last initialized.
+     *
+     * @return count
+     */
+    public long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+    /**
+     * Set up the number of times that refresh has been called on the connector since it was last initialized.
+     *
+     * @param refreshCount count
+     */
+    public void setRefreshCount(long refreshCount)
+    {
+        this.refreshCount = refreshCount;
+    }
+
+
+    /**
+     * Return the time in milliseconds that the last call to refresh took.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up the time in milliseconds that the last call to refresh took.
+     *
+     * @param lastRefreshDuration milliseconds
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds that a call to refresh has taken.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration;
+    }
+
+
+    /**
+     * Set up the longest time in milliseconds that a call to refresh has taken.
+     *
+     * @param maxRefreshDuration milliseconds
+     */
+    public void setMaxRefreshDuration(long maxRefreshDuration)
+    {
+        this.maxRefreshDuration = maxRefreshDuration;
+    }
+
+
+    /**
+     * Return the average time in milliseconds that a call to refresh has taken.
+     *
+     * @return milliseconds
+     */
+    public long getAverageRefreshDuration()
+    {
+        return averageRefreshDuration;
+    }
+
+
+    /**
+     * Set up the average time in milliseconds that a call to refresh has taken.
+     *
+     * @param averageRefreshDuration milliseconds
+     */
+    public void setAverageRefreshDuration(long averageRefreshDuration)
+    {
+        this.averageRefreshDuration = averageRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of times that a scheduled refresh finished after the next refresh was due.
+     *
+     * @return count
+     */
+    public long getOverrunCount()
+    {
+        return overrunCount;
+    }
+
+
+    /**
+     * Set up the number of times that a scheduled refresh finished after the next refresh was due.
+     *
+     * @param overrunCount count
+     */
+    public void setOverrunCount(long overrunCount)
+    {
+        this.overrunCount = overrunCount;
+    }
+
+
+    /**
+     * Return the number of scheduled refresh cycles that were skipped because the connector was still busy
+     * with an earlier refresh.
+     *
+     * @return count
+     */
+    public long getSkippedRefreshCount()
+    {
+        return skippedRefreshCount;
+    }
+
+
+    /**
+     * Set up the number of scheduled refresh cycles that were skipped because the connector was still busy
+     * with an earlier refresh.
+     *
+     * @param skippedRefreshCount count
+     */
+    public void setSkippedRefreshCount(long skippedRefreshCount)
+    {
+        this.skippedRefreshCount = skippedRefreshCount;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -239,6 +411,13 @@ public class IntegrationConnectorReport implements Serializable
                 ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
                 ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                 ", statistics=" + statistics +
+                ", nextRefreshTime=" + nextRefreshTime +
+                ", refreshCount=" + refreshCount +
+                ", lastRefreshDuration=" + lastRefreshDuration +
+                ", maxRefreshDuration=" + maxRefreshDuration +
+                ", averageRefreshDuration=" + averageRefreshDuration +
+                ", overrunCount=" + overrunCount +
+                ", skippedRefreshCount=" + skippedRefreshCount +
                 '}';
     }
 
@@ -262,12 +441,19 @@ public class IntegrationConnectorReport implements Serializable
         }
         IntegrationConnectorReport that = (IntegrationConnectorReport) objectToCompare;
         return minMinutesBetweenRefresh == that.minMinutesBetweenRefresh &&
+                refreshCount == that.refreshCount &&
+                lastRefreshDuration == that.lastRefreshDuration &&
+                maxRefreshDuration == that.maxRefreshDuration &&
+                averageRefreshDuration == that.averageRefreshDuration &&
+                overrunCount == that.overrunCount &&
+                skippedRefreshCount == that.skippedRefreshCount &&
                 Objects.equals(connectorName, that.connectorName) &&
                 connectorStatus == that.connectorStatus &&
                 Objects.equals(lastStatusChange, that.lastStatusChange) &&
                 Objects.equals(lastRefreshTime, that.lastRefreshTime) &&
                 Objects.equals(failingExceptionMessage, that.failingExceptionMessage) &&
-                Objects.equals(statistics, that.statistics);
+                Objects.equals(statistics, that.statistics) &&
+                Objects.equals(nextRefreshTime, that.nextRefreshTime);
     }
 
 
@@ -279,6 +465,8 @@ public class IntegrationConnectorReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage,
+                            statistics, nextRefreshTime, refreshCount, lastRefreshDuration, maxRefreshDuration, averageRefreshDuration,
+                            overrunCount, skippedRefreshCount);
     }
 }
@@ -58,6 +58,14 @@ public class IntegrationConnectorHandler implements Serializable
     private String                              failingExceptionMessage             = null;
     private Map<String, Object>                 statistics                          = null;
     private Date                                lastRefreshTime                     = null;
+    private Date                                nextRefreshTime                     = null;
+    private long                                refreshCount                        = 0L;
+    private long                                lastRefreshDuration                 = 0L;
+    private long                                maxRefreshDuration                  = 0L;
+    private long                                totalRefreshDuration                = 0L;
+    private long                                overrunCount                        = 0L;
+    private long                                skippedRefreshCount                 = 0L;
+    private transient volatile Runnable         refreshRequester                    = null;
 
 
     /**
@@ -176,6 +184,109 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the date/time when the integration daemon thread plans to call refresh next.
+     * Null means no refresh is scheduled.
+     *
+     * @return timestamp
+     */
+    Date getNextRefreshTime()
+    {
+        return nextRefreshTime;
+    }
+
+
+    /**
+     * Return the number of calls to refresh since the connector was initialized.
+     *
+     * @return count
+     */
+    long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+    /**
+     * Return the time in milliseconds taken by the last call to refresh.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds taken by a call to refresh.
+     *
+     * @return milliseconds
+     */
+    long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration;
+    }
+
+
+    /**
+     * Return the average time in milliseconds taken by a call to refresh.
+     *
+     * @return milliseconds
+     */
+    long getAverageRefreshDuration()
+    {
+        if (refreshCount == 0)
+        {
+            return 0L;
+        }
+
+        return totalRefreshDuration / refreshCount;
+    }
+
+
+    /**
+     * Return the number of scheduled refreshes that finished after the following refresh was due.
+     *
+     * @return count
+     */
+    long getOverrunCount()
+    {
+        return overrunCount;
+    }
+
+
+    /**
+     * Return the number of scheduled refresh cycles that were skipped because of overruns.
+     *
+     * @return count
+     */
+    long getSkippedRefreshCount()
+    {
+        return skippedRefreshCount;
+    }
+
+
+    /**
+     * Record the outcome of scheduling the connector's refresh.  This is called by the integration daemon thread
+     * each time it works out when the connector should be refreshed next.
+     *
+     * @param nextRefreshTime when the next refresh is due - null if no more refreshes are scheduled
+     * @param skippedCycles number of refresh cycles that were missed because the last refresh overran
+     */
+    public synchronized void recordRefreshSchedule(Date nextRefreshTime,
+                                                   long skippedCycles)
+    {
+        this.nextRefreshTime = nextRefreshTime;
+
+        if (skippedCycles > 0)
+        {
+            this.overrunCount ++;
+            this.skippedRefreshCount += skippedCycles;
+        }
+    }
+
+
     /**
      * Return the connector described in the connection object.
      *
@@ -417,7 +528,11 @@ public class IntegrationConnectorHandler implements Serializable
                     }
                 }
 
+                long startTime = System.currentTimeMillis();
+
                 integrationConnector.refresh();
+
+                this.recordRefreshDuration(System.currentTimeMillis() - startTime);
             }
 
             this.lastRefreshTime = new Date();
@@ -429,6 +544,24 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Accumulate the timing of a call to refresh.
+     *
+     * @param duration elapsed time in milliseconds
+     */
+    private void recordRefreshDuration(long duration)
+    {
+        this.refreshCount ++;
+        this.lastRefreshDuration   = duration;
+        this.totalRefreshDuration += duration;
+
+        if (duration > maxRefreshDuration)
+        {
+            this.maxRefreshDuration = duration;
+        }
+    }
+
+
     /**
      * Shutdown the connector handler.
      *
@@ -441,6 +574,32 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Set up the callback that queues a refresh of this connector with the thread that schedules the refreshes.
+     *
+     * @param refreshRequester callback
+     */
+    public void setRefreshRequester(Runnable refreshRequester)
+    {
+        this.refreshRequester = refreshRequester;
+    }
+
+
+    /**
+     * Called by the connector to ask for a refresh.  The request is passed to the thread that schedules the
+     * refreshes.  It is ignored if that thread is not running yet since it refreshes each connector when it starts.
+     */
+    private void requestRefresh()
+    {
+        Runnable currentRefreshRequester = refreshRequester;
+
+        if (currentRefreshRequester != null)
+        {
+            currentRefreshRequester.run();
+        }
+    }
+
+
     /**
      * Start the connector running.
      *
@@ -457,6 +616,7 @@ public class IntegrationConnectorHandler implements Serializable
                 if (integrationConnector instanceof IntegrationConnectorBase)
                 {
                     integrationConnector.setConnectorName(integrationConnectorName);
+                    ((IntegrationConnectorBase)integrationConnector).setRefreshRequester(this::requestRefresh);
                 }
 
                 integrationConnector.start();
@@ -511,6 +671,13 @@ public class IntegrationConnectorHandler implements Serializable
         this.failingExceptionMessage             = null;
         this.statistics                          = null;
         this.lastRefreshTime                     = null;
+        this.nextRefreshTime                     = null;
+        this.refreshCount                        = 0L;
+        this.lastRefreshDuration                 = 0L;
+        this.maxRefreshDuration                  = 0L;
+        this.totalRefreshDuration                = 0L;
+        this.overrunCount                        = 0L;
+        this.skippedRefreshCount                 = 0L;
     }
 
 
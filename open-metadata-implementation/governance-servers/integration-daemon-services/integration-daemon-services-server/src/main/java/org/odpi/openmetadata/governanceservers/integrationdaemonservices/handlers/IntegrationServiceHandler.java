@@ -135,6 +135,13 @@ public class IntegrationServiceHandler
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
+                    connectorReport.setNextRefreshTime(connectorHandler.getNextRefreshTime());
+                    connectorReport.setRefreshCount(connectorHandler.getRefreshCount());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setMaxRefreshDuration(connectorHandler.getMaxRefreshDuration());
+                    connectorReport.setAverageRefreshDuration(connectorHandler.getAverageRefreshDuration());
+                    connectorReport.setOverrunCount(connectorHandler.getOverrunCount());
+                    connectorReport.setSkippedRefreshCount(connectorHandler.getSkippedRefreshCount());
 
                     connectorReports.add(connectorReport);
                 }
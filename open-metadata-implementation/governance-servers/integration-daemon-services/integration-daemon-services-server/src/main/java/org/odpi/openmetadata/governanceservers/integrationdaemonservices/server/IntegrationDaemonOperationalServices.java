@@ -27,6 +27,12 @@ import java.util.Map;
  */
 public class IntegrationDaemonOperationalServices
 {
+    /*
+     * Integration service options that control the thread that refreshes the integration connectors.
+     */
+    private static final String maxRefreshThreadsOption    = "maxRefreshThreads";
+    private static final String refreshJitterPercentOption = "refreshJitterPercent";
+
     private String                         localServerName;               /* Initialized in constructor */
     private String                         localServerUserId;             /* Initialized in constructor */
     private String                         localServerPassword;           /* Initialized in constructor */
@@ -151,7 +157,13 @@ public class IntegrationDaemonOperationalServices
              */
             IntegrationDaemonThread integrationDaemonThread = new IntegrationDaemonThread(localServerName,
                                                                                           daemonConnectorHandlers,
-                                                                                          auditLog);
+                                                                                          auditLog,
+                                                                                          this.getIntegerOption(configuration,
+                                                                                                                maxRefreshThreadsOption,
+                                                                                                                IntegrationDaemonThread.DEFAULT_MAX_REFRESH_THREADS),
+                                                                                          this.getIntegerOption(configuration,
+                                                                                                                refreshJitterPercentOption,
+                                                                                                                IntegrationDaemonThread.DEFAULT_REFRESH_JITTER_PERCENT));
 
             integrationDaemonThread.start();
 
@@ -195,6 +207,57 @@ public class IntegrationDaemonOperationalServices
     }
 
 
+    /**
+     * Return the largest value of an integer option set in the integration service options.  The option applies
+     * to the whole integration daemon so the largest value from any of the integration services is used.
+     *
+     * @param configuration configuration for the integration services
+     * @param optionName name of the option
+     * @param defaultValue value to use if the option is not set
+     * @return option value
+     */
+    private int getIntegerOption(List<IntegrationServiceConfig> configuration,
+                                 String                         optionName,
+                                 int                            defaultValue)
+    {
+        Integer result = null;
+
+        for (IntegrationServiceConfig integrationServiceConfig : configuration)
+        {
+            if ((integrationServiceConfig != null) && (integrationServiceConfig.getIntegrationServiceOptions() != null))
+            {
+                Object optionValue = integrationServiceConfig.getIntegrationServiceOptions().get(optionName);
+
+                if (optionValue != null)
+                {
+                    try
+                    {
+                        int value = Integer.parseInt(optionValue.toString());
+
+                        if ((result == null) || (value > result))
+                        {
+                            result = value;
+                        }
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        /*
+                         * Ignore values that are not numbers.
+                         */
+                    }
+                }
+            }
+        }
+
+        if (result == null)
+        {
+            return defaultValue;
+        }
+
+        return result;
+    }
+
+
     /**
      * Return the open metadata server's root URL from the configuration.
      *
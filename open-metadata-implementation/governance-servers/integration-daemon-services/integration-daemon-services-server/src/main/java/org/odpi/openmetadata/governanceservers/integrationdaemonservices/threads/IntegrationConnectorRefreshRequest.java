@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IntegrationConnectorRefreshRequest is an entry in the integration daemon thread's delay queue.  It records
+ * when the next call to refresh is due for a connector.  The delay queue orders the requests by their due time.
+ * The scheduled time is the due time without the random jitter.  It is used to calculate the following refresh
+ * so the jitter does not build up from one refresh to the next.
+ */
+class IntegrationConnectorRefreshRequest implements Delayed
+{
+    private final IntegrationConnectorHandler connectorHandler;
+    private final long                        scheduledTime;
+    private final long                        dueTime;
+    private final boolean                     firstCall;
+
+
+    /**
+     * Constructor
+     *
+     * @param connectorHandler handler for the connector to refresh
+     * @param scheduledTime time in milliseconds when the refresh is scheduled, before jitter is added
+     * @param dueTime time in milliseconds when the refresh is due
+     * @param firstCall is this the first call to refresh?
+     */
+    IntegrationConnectorRefreshRequest(IntegrationConnectorHandler connectorHandler,
+                                       long                        scheduledTime,
+                                       long                        dueTime,
+                                       boolean                     firstCall)
+    {
+        this.connectorHandler = connectorHandler;
+        this.scheduledTime    = scheduledTime;
+        this.dueTime          = dueTime;
+        this.firstCall        = firstCall;
+    }
+
+
+    /**
+     * Return the handler for the connector to refresh.
+     *
+     * @return connector handler
+     */
+    IntegrationConnectorHandler getConnectorHandler()
+    {
+        return connectorHandler;
+    }
+
+
+    /**
+     * Return the time in milliseconds when the refresh is scheduled, before jitter is added.
+     *
+     * @return time
+     */
+    long getScheduledTime()
+    {
+        return scheduledTime;
+    }
+
+
+    /**
+     * Return the time in milliseconds when the refresh is due.
+     *
+     * @return time
+     */
+    long getDueTime()
+    {
+        return dueTime;
+    }
+
+
+    /**
+     * Return whether this is the first call to refresh for the connector.
+     *
+     * @return boolean flag
+     */
+    boolean isFirstCall()
+    {
+        return firstCall;
+    }
+
+
+    /**
+     * Return the time remaining until the refresh is due.
+     *
+     * @param unit units for the result
+     * @return remaining delay - zero or negative means the refresh is due
+     */
+    @Override
+    public long getDelay(TimeUnit unit)
+    {
+        return unit.convert(dueTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Order the requests by due time.
+     *
+     * @param other other request
+     * @return comparison result
+     */
+    @Override
+    public int compareTo(Delayed other)
+    {
+        if (other instanceof IntegrationConnectorRefreshRequest)
+        {
+            return Long.compare(dueTime, ((IntegrationConnectorRefreshRequest) other).dueTime);
+        }
+
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return JSON style description of variables.
+     */
+    @Override
+    public String toString()
+    {
+        return "IntegrationConnectorRefreshRequest{" +
+                "connectorName='" + connectorHandler.getIntegrationConnectorName() + '\'' +
+                ", scheduledTime=" + scheduledTime +
+                ", dueTime=" + dueTime +
+                ", firstCall=" + firstCall +
+                '}';
+    }
+}
@@ -10,22 +10,75 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ * <p>
+ * Each connector has an entry in a delay queue that is ordered by the time that its next refresh is due.
+ * The daemon thread takes the entries from the queue as they become due and passes them to a bounded pool
+ * of worker threads that call refresh.  This means a slow connector does not delay the refresh of the
+ * other connectors.  When the refresh completes, the next refresh is scheduled one interval after the time the
+ * last refresh was scheduled (rather than when it finished) so the refresh cadence does not drift.  A small random
+ * jitter is added to the due time of each refresh to spread the load of connectors with the same refresh interval.
+ * The jitter is not carried forward to the following refresh.  If the refresh overran, the missed cycles are
+ * skipped and counted.
+ * </p>
+ * <p>
+ * A connector only has one entry in the queue (or running in the pool) at any one time, so this thread never
+ * calls refresh concurrently on the same connector.  This limit of one is fixed rather than configurable because
+ * integration connectors are not required to have a thread-safe refresh method, and
+ * IntegrationConnectorHandler.refreshConnector is synchronized, so a second concurrent call would only wait for the
+ * first and tie up a worker thread.  The maxRefreshThreads option controls how many different connectors are
+ * refreshed at the same time.
+ * </p>
+ * <p>
+ * A connector may also ask for a refresh outside of its schedule (for example when it learns that it has missed
+ * changes).  The request moves its queued refresh forward to now, or, if a refresh is running, queues another one
+ * for when it completes.
+ * </p>
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /**
+     * Default maximum number of worker threads used to call refresh.
+     */
+    public static final int DEFAULT_MAX_REFRESH_THREADS = 10;
+
+    /**
+     * Default jitter added to the refresh interval as a percentage of the interval.
+     */
+    public static final int DEFAULT_REFRESH_JITTER_PERCENT = 5;
+
+    private static final long pollInterval = 1000;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
     private AuditLog                          auditLog;
+    private int                               maxRefreshThreads;
+    private int                               refreshJitterPercent;
 
+    private final DelayQueue<IntegrationConnectorRefreshRequest>                        refreshQueue     = new DelayQueue<>();
+    private final Map<IntegrationConnectorHandler, IntegrationConnectorRefreshRequest>  queuedRequests   = new ConcurrentHashMap<>();
+    private final Map<IntegrationConnectorHandler, IntegrationConnectorRefreshRequest>  activeRequests   = new ConcurrentHashMap<>();
+    private final Set<IntegrationConnectorHandler>                                      requestedRefreshes = new HashSet<>();
+    private ExecutorService                                                             refreshWorkers   = null;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
 
@@ -40,10 +93,42 @@ public class IntegrationDaemonThread implements Runnable
     public IntegrationDaemonThread(String                            integrationDaemonName,
                                    List<IntegrationConnectorHandler> connectorHandlers,
                                    AuditLog                          auditLog)
+    {
+        this(integrationDaemonName, connectorHandlers, auditLog, DEFAULT_MAX_REFRESH_THREADS, DEFAULT_REFRESH_JITTER_PERCENT);
+    }
+
+
+    /**
+     * Constructor provides access to the variables needed to run the connector.
+     *
+     * @param integrationDaemonName name of this integration daemon server
+     * @param connectorHandlers wrapper for the connector.
+     * @param auditLog logging destination
+     * @param maxRefreshThreads maximum number of worker threads calling refresh
+     * @param refreshJitterPercent maximum random delay added to each refresh interval as a percentage of the interval
+     */
+    public IntegrationDaemonThread(String                            integrationDaemonName,
+                                   List<IntegrationConnectorHandler> connectorHandlers,
+                                   AuditLog                          auditLog,
+                                   int                               maxRefreshThreads,
+                                   int                               refreshJitterPercent)
     {
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
         this.auditLog              = auditLog;
+        this.maxRefreshThreads     = Math.max(1, maxRefreshThreads);
+        this.refreshJitterPercent  = Math.max(0, refreshJitterPercent);
+
+        if (connectorHandlers != null)
+        {
+            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+            {
+                if (connectorHandler != null)
+                {
+                    connectorHandler.setRefreshRequester(() -> this.requestRefresh(connectorHandler));
+                }
+            }
+        }
     }
 
 
@@ -81,45 +166,51 @@ public class IntegrationDaemonThread implements Runnable
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
+        refreshWorkers = this.createRefreshWorkers();
+
         while (running.get())
         {
-            Date now = new Date();
-
-            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+            try
             {
-                if (connectorHandler != null)
+                this.scheduleFirstRefreshes();
+
+                IntegrationConnectorRefreshRequest refreshRequest = refreshQueue.poll(pollInterval, TimeUnit.MILLISECONDS);
+
+                if ((refreshRequest != null) && (running.get()))
                 {
-                    try
+                    IntegrationConnectorHandler connectorHandler = refreshRequest.getConnectorHandler();
+
+                    /*
+                     * The handover from queued to active is made under the same lock as requestRefresh so a
+                     * connector is never seen as neither queued nor active.
+                     */
+                    synchronized (requestedRefreshes)
                     {
-                        if (connectorHandler.getLastRefreshTime() == null)
-                        {
-                            connectorHandler.refreshConnector(actionDescription, true);
-                        }
-                        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
+                        if (queuedRequests.remove(connectorHandler, refreshRequest))
                         {
-                            long nextRefreshTime =
-                                    connectorHandler.getLastRefreshTime().getTime() +
-                                            (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
-
-                            if (nextRefreshTime < now.getTime())
-                            {
-                                connectorHandler.refreshConnector(actionDescription, false);
-                            }
+                            activeRequests.put(connectorHandler, refreshRequest);
+                            refreshWorkers.submit(() -> this.refreshConnector(refreshRequest, actionDescription));
                         }
                     }
-                    catch (Exception error)
-                    {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                  error.getClass().getName(),
-                                                                                                                                  error.getMessage()));
-                    }
                 }
             }
-
-            waitToRetry();
+            catch (InterruptedException error)
+            {
+                log.debug("Ignored interrupt while waiting for the next refresh - probably ok", error);
+            }
+            catch (Exception error)
+            {
+                auditLog.logMessage(actionDescription,
+                                    IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                          error.getClass().getName(),
+                                                                                                                          error.getMessage()));
+            }
         }
 
+        refreshWorkers.shutdownNow();
+        refreshQueue.clear();
+        queuedRequests.clear();
+
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
 
@@ -127,19 +218,240 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Wait before retrying ...
+     * Create the pool of worker threads that call refresh.  The pool is never larger than the number of connectors
+     * since each connector only has one refresh running at a time.
+     *
+     * @return executor service
+     */
+    private ExecutorService createRefreshWorkers()
+    {
+        final String threadName = "::IntegrationConnectorRefresh-";
+
+        int poolSize = maxRefreshThreads;
+
+        if ((connectorHandlers != null) && (! connectorHandlers.isEmpty()))
+        {
+            poolSize = Math.min(maxRefreshThreads, connectorHandlers.size());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        return new ThreadPoolExecutor(poolSize,
+                                      poolSize,
+                                      0L,
+                                      TimeUnit.MILLISECONDS,
+                                      new LinkedBlockingQueue<>(),
+                                      (runnable) -> new Thread(runnable, integrationDaemonName + threadName + threadCount.incrementAndGet()));
+    }
+
+
+    /**
+     * Queue an immediate refresh for any connector that has not been refreshed since it was (re)initialized.
+     * This covers the connectors at start up and the connectors that are restarted through the REST API.
      */
-    private void waitToRetry()
+    private void scheduleFirstRefreshes()
     {
-        final int  sleepTime = 1000;
+        if (connectorHandlers != null)
+        {
+            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+            {
+                if ((connectorHandler != null) &&
+                    (connectorHandler.getLastRefreshTime() == null) &&
+                    (! activeRequests.containsKey(connectorHandler)))
+                {
+                    IntegrationConnectorRefreshRequest queuedRequest = queuedRequests.get(connectorHandler);
+
+                    if ((queuedRequest == null) || (! queuedRequest.isFirstCall()))
+                    {
+                        if (queuedRequest != null)
+                        {
+                            refreshQueue.remove(queuedRequest);
+                        }
+
+                        long now = System.currentTimeMillis();
+
+                        this.queueRefresh(new IntegrationConnectorRefreshRequest(connectorHandler, now, now, true));
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add a refresh request to the delay queue.
+     *
+     * @param refreshRequest request
+     */
+    private void queueRefresh(IntegrationConnectorRefreshRequest refreshRequest)
+    {
+        queuedRequests.put(refreshRequest.getConnectorHandler(), refreshRequest);
+        refreshQueue.add(refreshRequest);
+
+        refreshRequest.getConnectorHandler().recordRefreshSchedule(new Date(refreshRequest.getDueTime()), 0);
+    }
+
+
+    /**
+     * Runs in a worker thread to refresh a single connector and then schedule its next refresh.
+     *
+     * @param refreshRequest request that is now due
+     * @param actionDescription calling activity
+     */
+    private void refreshConnector(IntegrationConnectorRefreshRequest refreshRequest,
+                                  String                             actionDescription)
+    {
+        IntegrationConnectorHandler connectorHandler = refreshRequest.getConnectorHandler();
 
         try
         {
-            Thread.sleep(sleepTime);
+            connectorHandler.refreshConnector(actionDescription, refreshRequest.isFirstCall());
         }
         catch (Exception error)
         {
-            log.error("Ignored exception from sleep - probably ok", error);
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+        finally
+        {
+            IntegrationConnectorRefreshRequest nextRequest = null;
+
+            if (running.get())
+            {
+                nextRequest = this.scheduleNextRefresh(refreshRequest);
+            }
+
+            synchronized (requestedRefreshes)
+            {
+                activeRequests.remove(connectorHandler);
+
+                if ((requestedRefreshes.remove(connectorHandler)) && (running.get()))
+                {
+                    this.queueRequestedRefresh(connectorHandler, nextRequest);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Called when a connector asks to be refreshed outside of its schedule.  If the connector is being refreshed,
+     * the request is remembered and another refresh is queued when the current one completes.  Otherwise its
+     * queued refresh is moved forward to now.
+     *
+     * @param connectorHandler connector to refresh
+     */
+    void requestRefresh(IntegrationConnectorHandler connectorHandler)
+    {
+        if (running.get())
+        {
+            synchronized (requestedRefreshes)
+            {
+                if (activeRequests.containsKey(connectorHandler))
+                {
+                    requestedRefreshes.add(connectorHandler);
+                }
+                else
+                {
+                    this.queueRequestedRefresh(connectorHandler, queuedRequests.get(connectorHandler));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Queue an immediate refresh in place of the queued request.  The new request keeps the scheduled time of the
+     * queued request so the connector's refresh cadence does not change.
+     *
+     * @param connectorHandler connector to refresh
+     * @param queuedRequest request that is in the queue for the connector - may be null
+     */
+    private void queueRequestedRefresh(IntegrationConnectorHandler        connectorHandler,
+                                       IntegrationConnectorRefreshRequest queuedRequest)
+    {
+        long now = System.currentTimeMillis();
+
+        if (queuedRequest == null)
+        {
+            this.queueRefresh(new IntegrationConnectorRefreshRequest(connectorHandler, now, now, false));
+        }
+        else if (queuedRequest.getDueTime() > now)
+        {
+            refreshQueue.remove(queuedRequest);
+            this.queueRefresh(new IntegrationConnectorRefreshRequest(connectorHandler,
+                                                                     queuedRequest.getScheduledTime(),
+                                                                     now,
+                                                                     queuedRequest.isFirstCall()));
+        }
+    }
+
+
+    /**
+     * Work out when the connector should next be refreshed.  The next refresh is one interval after the last refresh
+     * was scheduled.  The jitter that was added to the last refresh is ignored so it does not build up over time.
+     * If the next scheduled time has already passed, the refresh overran and the missed cycles are skipped.
+     *
+     * @param completedRequest the request for the refresh that has just completed
+     * @return the queued request for the next refresh or null if there is no scheduled refresh
+     */
+    IntegrationConnectorRefreshRequest scheduleNextRefresh(IntegrationConnectorRefreshRequest completedRequest)
+    {
+        IntegrationConnectorHandler connectorHandler = completedRequest.getConnectorHandler();
+
+        long interval = connectorHandler.getMinMinutesBetweenRefresh() * 60000;
+
+        if ((interval <= 0) || (connectorHandler.getLastRefreshTime() == null))
+        {
+            /*
+             * Either the connector is only refreshed on request or it has been restarted, in which case
+             * scheduleFirstRefreshes will pick it up.
+             */
+            connectorHandler.recordRefreshSchedule(null, 0);
+            return null;
+        }
+
+        long now               = System.currentTimeMillis();
+        long nextScheduledTime = completedRequest.getScheduledTime() + interval;
+        long skippedCycles     = 0;
+
+        if (nextScheduledTime < now)
+        {
+            skippedCycles     = ((now - nextScheduledTime) / interval) + 1;
+            nextScheduledTime = nextScheduledTime + (skippedCycles * interval);
         }
+
+        long nextDueTime = nextScheduledTime;
+        long jitter      = (interval * refreshJitterPercent) / 100;
+
+        if (jitter > 0)
+        {
+            nextDueTime = nextDueTime + ThreadLocalRandom.current().nextLong(jitter);
+        }
+
+        IntegrationConnectorRefreshRequest nextRequest = new IntegrationConnectorRefreshRequest(connectorHandler,
+                                                                                                nextScheduledTime,
+                                                                                                nextDueTime,
+                                                                                                false);
+
+        queuedRequests.put(connectorHandler, nextRequest);
+        refreshQueue.add(nextRequest);
+
+        connectorHandler.recordRefreshSchedule(new Date(nextDueTime), skippedCycles);
+
+        if (skippedCycles > 0)
+        {
+            final String actionDescription = "Schedule refresh of connector";
+
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH_OVERRUN.getMessageDefinition(connectorHandler.getIntegrationConnectorName(),
+                                                                                                                         integrationDaemonName,
+                                                                                                                         Long.toString(connectorHandler.getMinMinutesBetweenRefresh()),
+                                                                                                                         Long.toString(skippedCycles)));
+        }
+
+        return nextRequest;
     }
 }
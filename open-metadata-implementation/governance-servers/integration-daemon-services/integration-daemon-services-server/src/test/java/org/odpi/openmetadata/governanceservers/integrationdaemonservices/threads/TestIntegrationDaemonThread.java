@@ -0,0 +1,226 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the scheduling of connector refreshes by the IntegrationDaemonThread.
+ */
+public class TestIntegrationDaemonThread
+{
+    private static final long interval = 60000;
+
+    private IntegrationConnectorHandler connectorHandler;
+    private AuditLog                    auditLog;
+
+
+    /**
+     * Create a connector handler that is refreshed every minute.
+     */
+    @BeforeMethod public void setUp()
+    {
+        connectorHandler = mock(IntegrationConnectorHandler.class);
+        auditLog         = mock(AuditLog.class);
+
+        when(connectorHandler.getIntegrationConnectorName()).thenReturn("testConnector");
+        when(connectorHandler.getMinMinutesBetweenRefresh()).thenReturn(interval / 60000);
+        when(connectorHandler.getLastRefreshTime()).thenReturn(new Date());
+    }
+
+
+    /**
+     * Return a daemon thread that manages the test connector.
+     *
+     * @param jitterPercent jitter added to each refresh
+     * @return daemon thread (not started)
+     */
+    private IntegrationDaemonThread getDaemonThread(int jitterPercent)
+    {
+        return new IntegrationDaemonThread("testServer",
+                                           Collections.singletonList(connectorHandler),
+                                           auditLog,
+                                           1,
+                                           jitterPercent);
+    }
+
+
+    /**
+     * Validate that the jitter is added to the due time of each refresh but is not carried forward
+     * into the schedule.
+     */
+    @Test public void testJitterDoesNotDrift()
+    {
+        final int jitterPercent = 50;
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(jitterPercent);
+
+        long startTime = System.currentTimeMillis();
+
+        IntegrationConnectorRefreshRequest request = new IntegrationConnectorRefreshRequest(connectorHandler, startTime, startTime, true);
+
+        for (int cycle = 1; cycle <= 100; cycle++)
+        {
+            request = daemonThread.scheduleNextRefresh(request);
+
+            long scheduledTime = startTime + (cycle * interval);
+
+            assertEquals(request.getScheduledTime(), scheduledTime);
+            assertTrue(request.getDueTime() >= scheduledTime);
+            assertTrue(request.getDueTime() < scheduledTime + (interval * jitterPercent / 100));
+            assertFalse(request.isFirstCall());
+        }
+
+        verify(connectorHandler, never()).recordRefreshSchedule(any(), eq(1L));
+    }
+
+
+    /**
+     * Validate that a refresh with no jitter is due at exactly the scheduled time.
+     */
+    @Test public void testNoJitter()
+    {
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(0);
+
+        long startTime = System.currentTimeMillis();
+
+        IntegrationConnectorRefreshRequest request = daemonThread.scheduleNextRefresh(new IntegrationConnectorRefreshRequest(connectorHandler,
+                                                                                                                             startTime,
+                                                                                                                             startTime + 1000,
+                                                                                                                             false));
+
+        assertEquals(request.getScheduledTime(), startTime + interval);
+        assertEquals(request.getDueTime(), startTime + interval);
+    }
+
+
+    /**
+     * Validate that the missed cycles are skipped and reported when a refresh overruns.
+     */
+    @Test public void testOverrunSkipsCycles()
+    {
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(0);
+
+        long scheduledTime = System.currentTimeMillis() - (interval * 5 / 2);
+
+        IntegrationConnectorRefreshRequest request = daemonThread.scheduleNextRefresh(new IntegrationConnectorRefreshRequest(connectorHandler,
+                                                                                                                             scheduledTime,
+                                                                                                                             scheduledTime,
+                                                                                                                             false));
+
+        assertEquals(request.getScheduledTime(), scheduledTime + (3 * interval));
+        verify(connectorHandler).recordRefreshSchedule(new Date(request.getDueTime()), 2L);
+        verify(auditLog).logMessage(anyString(), any(AuditLogMessageDefinition.class));
+    }
+
+
+    /**
+     * Validate that a connector that is only refreshed on request is not scheduled.
+     */
+    @Test public void testRefreshOnRequestOnly()
+    {
+        when(connectorHandler.getMinMinutesBetweenRefresh()).thenReturn(0L);
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(0);
+
+        long startTime = System.currentTimeMillis();
+
+        assertNull(daemonThread.scheduleNextRefresh(new IntegrationConnectorRefreshRequest(connectorHandler, startTime, startTime, true)));
+        verify(connectorHandler).recordRefreshSchedule(null, 0);
+    }
+
+
+    /**
+     * Return the callback that the daemon thread gave to the connector handler.
+     *
+     * @return refresh requester
+     */
+    private Runnable getRefreshRequester()
+    {
+        ArgumentCaptor<Runnable> refreshRequester = ArgumentCaptor.forClass(Runnable.class);
+
+        verify(connectorHandler).setRefreshRequester(refreshRequester.capture());
+
+        return refreshRequester.getValue();
+    }
+
+
+    /**
+     * Validate that a refresh requested by a connector is ignored until the daemon thread is running.
+     */
+    @Test public void testRequestRefreshBeforeStart()
+    {
+        this.getDaemonThread(0);
+        this.getRefreshRequester().run();
+
+        verify(connectorHandler, never()).recordRefreshSchedule(any(), eq(0L));
+    }
+
+
+    /**
+     * Validate that a refresh requested by a connector runs on the daemon's worker threads and that a request made
+     * during a refresh queues another refresh.
+     *
+     * @throws Exception problem in the refresh
+     */
+    @Test public void testRequestRefresh() throws Exception
+    {
+        IntegrationDaemonThread daemonThread     = this.getDaemonThread(0);
+        Runnable                refreshRequester = this.getRefreshRequester();
+        AtomicInteger           refreshCount     = new AtomicInteger(0);
+        String                  daemonThreadName = Thread.currentThread().getName();
+
+        doAnswer(invocation ->
+                 {
+                     assertFalse(Thread.currentThread().getName().equals(daemonThreadName));
+
+                     if (refreshCount.incrementAndGet() == 1)
+                     {
+                         refreshRequester.run();
+                     }
+
+                     return null;
+                 }).when(connectorHandler).refreshConnector(anyString(), eq(false));
+
+        daemonThread.start();
+
+        try
+        {
+            verify(auditLog, timeout(5000)).logMessage(anyString(), any(AuditLogMessageDefinition.class));
+
+            refreshRequester.run();
+
+            verify(connectorHandler, timeout(5000).times(2)).refreshConnector(anyString(), eq(false));
+        }
+        finally
+        {
+            daemonThread.stop();
+        }
+
+        assertEquals(refreshCount.get(), 2);
+    }
+}
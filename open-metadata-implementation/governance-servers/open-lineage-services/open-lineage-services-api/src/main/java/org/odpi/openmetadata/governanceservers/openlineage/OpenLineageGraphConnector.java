@@ -5,6 +5,7 @@ package org.odpi.openmetadata.governanceservers.openlineage;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageQueryCacheStatistics;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageVertexResponse;
@@ -40,4 +41,11 @@ public interface OpenLineageGraphConnector {
      * @return the entity details
      */
     LineageVertexResponse getEntityDetails(String guid);
+
+    /**
+     * Returns the statistics of the cache of lineage query results.
+     *
+     * @return hit, miss and size statistics of the cache
+     */
+    LineageQueryCacheStatistics getLineageQueryCacheStatistics();
 }
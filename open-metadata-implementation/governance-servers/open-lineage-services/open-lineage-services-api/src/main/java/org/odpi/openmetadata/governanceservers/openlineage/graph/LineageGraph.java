@@ -6,6 +6,7 @@ import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
 import org.odpi.openmetadata.accessservices.assetlineage.model.LineageRelationship;
 import org.odpi.openmetadata.governanceservers.openlineage.OpenLineageGraphConnector;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageGraphJobStatistics;
 
 import java.util.Optional;
 import java.util.Set;
@@ -83,6 +84,13 @@ public interface LineageGraph extends OpenLineageGraphConnector {
      */
     void performLineageGraphJob();
 
+    /**
+     * Returns the statistics of the lineage graph job runs
+     *
+     * @return statistics of the runs so far
+     */
+    LineageGraphJobStatistics getLineageGraphJobStatistics();
+
     /**
      * Save last asset lineage update time in the graph
      *
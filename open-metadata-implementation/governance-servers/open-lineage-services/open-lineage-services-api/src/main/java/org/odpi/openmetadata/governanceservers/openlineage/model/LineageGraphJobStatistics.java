@@ -0,0 +1,172 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.openlineage.model;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * Statistics about the runs of the lineage graph job.  The job only processes the processes that have changed since
+ * they were last processed, so the counts describe the amount of change handled by each run.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LineageGraphJobStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long runCount;
+    private Date lastRunStartTime;
+    private long lastRunDuration;
+    private long lastRunProcessedCount;
+    private long lastRunFailedCount;
+    private long lastRunBatchCount;
+    private long remainingCount;
+    private long totalProcessedCount;
+
+    public LineageGraphJobStatistics() {
+    }
+
+    public LineageGraphJobStatistics(LineageGraphJobStatistics template) {
+        if (template != null) {
+            runCount = template.getRunCount();
+            lastRunStartTime = template.getLastRunStartTime();
+            lastRunDuration = template.getLastRunDuration();
+            lastRunProcessedCount = template.getLastRunProcessedCount();
+            lastRunFailedCount = template.getLastRunFailedCount();
+            lastRunBatchCount = template.getLastRunBatchCount();
+            remainingCount = template.getRemainingCount();
+            totalProcessedCount = template.getTotalProcessedCount();
+        }
+    }
+
+    /**
+     * Number of times the job has run since the server started.
+     *
+     * @return count
+     */
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(long runCount) {
+        this.runCount = runCount;
+    }
+
+    public Date getLastRunStartTime() {
+        return lastRunStartTime;
+    }
+
+    public void setLastRunStartTime(Date lastRunStartTime) {
+        this.lastRunStartTime = lastRunStartTime;
+    }
+
+    /**
+     * Duration of the last run in milliseconds.
+     *
+     * @return duration
+     */
+    public long getLastRunDuration() {
+        return lastRunDuration;
+    }
+
+    public void setLastRunDuration(long lastRunDuration) {
+        this.lastRunDuration = lastRunDuration;
+    }
+
+    /**
+     * Number of changed processes that the last run processed.
+     *
+     * @return count
+     */
+    public long getLastRunProcessedCount() {
+        return lastRunProcessedCount;
+    }
+
+    public void setLastRunProcessedCount(long lastRunProcessedCount) {
+        this.lastRunProcessedCount = lastRunProcessedCount;
+    }
+
+    /**
+     * Number of processes that failed in the last run.  They are retried by the next run.
+     *
+     * @return count
+     */
+    public long getLastRunFailedCount() {
+        return lastRunFailedCount;
+    }
+
+    public void setLastRunFailedCount(long lastRunFailedCount) {
+        this.lastRunFailedCount = lastRunFailedCount;
+    }
+
+    /**
+     * Number of transactions (batches of processes) committed by the last run.
+     *
+     * @return count
+     */
+    public long getLastRunBatchCount() {
+        return lastRunBatchCount;
+    }
+
+    public void setLastRunBatchCount(long lastRunBatchCount) {
+        this.lastRunBatchCount = lastRunBatchCount;
+    }
+
+    /**
+     * Number of changed processes still waiting to be processed when the last run finished.
+     *
+     * @return count
+     */
+    public long getRemainingCount() {
+        return remainingCount;
+    }
+
+    public void setRemainingCount(long remainingCount) {
+        this.remainingCount = remainingCount;
+    }
+
+    public long getTotalProcessedCount() {
+        return totalProcessedCount;
+    }
+
+    public void setTotalProcessedCount(long totalProcessedCount) {
+        this.totalProcessedCount = totalProcessedCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LineageGraphJobStatistics that = (LineageGraphJobStatistics) o;
+        return runCount == that.runCount && lastRunDuration == that.lastRunDuration && lastRunProcessedCount == that.lastRunProcessedCount && lastRunFailedCount == that.lastRunFailedCount && lastRunBatchCount == that.lastRunBatchCount && remainingCount == that.remainingCount && totalProcessedCount == that.totalProcessedCount && Objects.equals(lastRunStartTime, that.lastRunStartTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(runCount, lastRunStartTime, lastRunDuration, lastRunProcessedCount, lastRunFailedCount, lastRunBatchCount, remainingCount, totalProcessedCount);
+    }
+
+    @Override
+    public String toString() {
+        return "LineageGraphJobStatistics{" +
+                "runCount=" + runCount +
+                ", lastRunStartTime=" + lastRunStartTime +
+                ", lastRunDuration=" + lastRunDuration +
+                ", lastRunProcessedCount=" + lastRunProcessedCount +
+                ", lastRunFailedCount=" + lastRunFailedCount +
+                ", lastRunBatchCount=" + lastRunBatchCount +
+                ", remainingCount=" + remainingCount +
+                ", totalProcessedCount=" + totalProcessedCount +
+                '}';
+    }
+}
@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.openlineage.model;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * Statistics about the cache of lineage query results.  The weight is an estimate of the memory used by the cached
+ * responses, in bytes.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LineageQueryCacheStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+    private long entryCount;
+    private long weight;
+    private long maxWeight;
+
+    public LineageQueryCacheStatistics() {
+    }
+
+    public LineageQueryCacheStatistics(LineageQueryCacheStatistics template) {
+        if (template != null) {
+            hitCount = template.getHitCount();
+            missCount = template.getMissCount();
+            evictionCount = template.getEvictionCount();
+            invalidationCount = template.getInvalidationCount();
+            entryCount = template.getEntryCount();
+            weight = template.getWeight();
+            maxWeight = template.getMaxWeight();
+        }
+    }
+
+    /**
+     * Number of lineage queries answered from the cache.
+     *
+     * @return count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Number of lineage queries that ran against the graph.
+     *
+     * @return count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * Number of responses removed to stay within the maximum weight, or because they expired.
+     *
+     * @return count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Number of responses removed because the graph changed under them.
+     *
+     * @return count
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public void setInvalidationCount(long invalidationCount) {
+        this.invalidationCount = invalidationCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public void setWeight(long weight) {
+        this.weight = weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LineageQueryCacheStatistics that = (LineageQueryCacheStatistics) o;
+        return hitCount == that.hitCount && missCount == that.missCount && evictionCount == that.evictionCount && invalidationCount == that.invalidationCount && entryCount == that.entryCount && weight == that.weight && maxWeight == that.maxWeight;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, evictionCount, invalidationCount, entryCount, weight, maxWeight);
+    }
+
+    @Override
+    public String toString() {
+        return "LineageQueryCacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                ", entryCount=" + entryCount +
+                ", weight=" + weight +
+                ", maxWeight=" + maxWeight +
+                '}';
+    }
+}
@@ -34,5 +34,7 @@ public class LineageGraphJob implements Job {
      */
     private void performTask(LineageGraph lineageGraph){
         lineageGraph.performLineageGraphJob();
+        log.debug("LineageGraphJob task finished with statistics {}", lineageGraph.getLineageGraphJobStatistics());
+        log.debug("Lineage query cache statistics {}", lineageGraph.getLineageQueryCacheStatistics());
     }
 }
@@ -0,0 +1,104 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventEncoding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OMRSCohortEventEncodings records the event encodings that each member of a cohort has said it is able to
+ * receive.  Every event sent by a topic connector lists the encodings that its server accepts.  Servers that
+ * predate the compact encoding send no list, so they are recorded as only accepting JSON.
+ * <p>
+ * The topic connectors of a cohort share one instance so that the members learnt from the registration
+ * topic are also known to the types and instances topics.  An encoding is only used when every member seen
+ * on the cohort's topics accepts it.  A member is forgotten when it unregisters from the cohort.
+ * </p>
+ */
+public class OMRSCohortEventEncodings
+{
+    private final Map<String, Boolean> memberAcceptsCompact = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSCohortEventEncodings()
+    {
+    }
+
+
+    /**
+     * Return the names of the encodings that this server is able to receive.  These are sent in each
+     * outbound event.
+     *
+     * @return list of encoding names
+     */
+    public static List<String> getLocalAcceptedEncodings()
+    {
+        List<String> acceptedEncodings = new ArrayList<>();
+
+        for (OpenMetadataEventEncoding encoding : OpenMetadataEventEncoding.values())
+        {
+            acceptedEncodings.add(encoding.getName());
+        }
+
+        return acceptedEncodings;
+    }
+
+
+    /**
+     * Record the encodings listed in an event from a member of the cohort.
+     *
+     * @param metadataCollectionId metadata collection of the member that sent the event
+     * @param acceptedEncodings encoding names from the event - null means JSON only
+     */
+    public void recordMember(String       metadataCollectionId,
+                             List<String> acceptedEncodings)
+    {
+        if (metadataCollectionId != null)
+        {
+            memberAcceptsCompact.put(metadataCollectionId,
+                                     (acceptedEncodings != null) &&
+                                             (acceptedEncodings.contains(OpenMetadataEventEncoding.COMPACT.getName())));
+        }
+    }
+
+
+    /**
+     * Forget a member that has left the cohort.
+     *
+     * @param metadataCollectionId metadata collection of the member
+     */
+    public void removeMember(String metadataCollectionId)
+    {
+        if (metadataCollectionId != null)
+        {
+            memberAcceptsCompact.remove(metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Return the encoding to use for an event.  The compact encoding is only used if it is requested and
+     * at least one member is known and all of the known members accept it.
+     *
+     * @param requestedEncoding encoding selected by the configuration
+     * @return encoding to use
+     */
+    public OpenMetadataEventEncoding getEncoding(OpenMetadataEventEncoding requestedEncoding)
+    {
+        if ((requestedEncoding == OpenMetadataEventEncoding.COMPACT) &&
+                    (! memberAcceptsCompact.isEmpty()) &&
+                    (! memberAcceptsCompact.containsValue(Boolean.FALSE)))
+        {
+            return OpenMetadataEventEncoding.COMPACT;
+        }
+
+        return OpenMetadataEventEncoding.JSON;
+    }
+}
@@ -2,7 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -11,21 +12,29 @@ import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.EventLatencyRecorder;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventEncoding;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.properties.EventListenerReport;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -34,10 +43,17 @@ import java.util.List;
  * <p>
  *     The OMRSTopicConnector is a virtual connector.  It uses one or more event bus connectors to
  *     interact with real event buses.   These connectors are passed to it during initialization.
- *     During its operation, it acts as a go-between the event buses processing JSON payloads and
+ *     During its operation, it acts as a go-between the event buses processing JSON (or compact) payloads and
  *     internal open metadata components that expect to receive OMRS Events.
  * </p>
  * <p>
+ *     The event protocol version controls the encoding of outbound events.  V1_COMPACT sends type and instance
+ *     events in the compact binary encoding once every member seen on the cohort's topics has said (in the events
+ *     it sends) that it accepts this encoding.  Until then, and whenever a member that predates the compact
+ *     encoding is seen, JSON is used.  Registry events are always sent as JSON so members that only
+ *     understand JSON can still join the cohort.  Inbound events are accepted in either encoding.
+ * </p>
+ * <p>
  *     OMRSTopicConnector implements 3 interfaces:
  * </p>
  * <ul>
@@ -53,6 +69,11 @@ import java.util.List;
  *         connectors that implement OpenMetadataTopic.
  *     </li>
  * </ul>
+ * <p>
+ *     The connector counts the inbound events and measures their age when they are passed to the listeners
+ *     (the time since the originating server sent them).  Together with the measurements of the event bus connectors
+ *     and the listeners, these are published as metrics and summarized by getTopicReport().
+ * </p>
  */
 public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                                                  VirtualConnectorExtension,
@@ -63,12 +84,19 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
+    private List<OMRSTopicListenerWrapper>   internalTopicListeners = new CopyOnWriteArrayList<>();
     private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
     private String                    topicName = "<Unknown>";
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
+    private String                    serverName           = "<Unknown>";
+    private OMRSCohortEventEncodings  cohortEventEncodings = new OMRSCohortEventEncodings();
+
+    private final LongAdder           eventsReceived       = new LongAdder();
+    private final LongAdder           eventParsingErrors   = new LongAdder();
+    private EventLatencyRecorder      eventAge             = null;
+    private Counter                   eventParsingCounter  = null;
 
     protected AuditLog auditLog = null;
 
@@ -105,6 +133,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     public void setAuditLog(AuditLog   auditLog)
     {
         this.auditLog = auditLog;
+        this.serverName = EventLatencyRecorder.getServerName(auditLog);
+    }
+
+
+    /**
+     * Set up the record of the event encodings accepted by the members of the cohort.  It is shared by the
+     * topic connectors of a cohort so the members seen on one topic are known to the others.
+     *
+     * @param cohortEventEncodings shared record
+     */
+    public void setCohortEventEncodings(OMRSCohortEventEncodings cohortEventEncodings)
+    {
+        if (cohortEventEncodings != null)
+        {
+            this.cohortEventEncodings = cohortEventEncodings;
+        }
     }
 
 
@@ -135,7 +179,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener, auditLog));
+            this.addListener(new OMRSTopicListenerWrapper(topicListener, auditLog));
         }
         else
         {
@@ -161,9 +205,9 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener,
-                                                                    serviceName,
-                                                                    auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER)));
+            this.addListener(new OMRSTopicListenerWrapper(topicListener,
+                                                          serviceName,
+                                                          auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER)));
         }
         else
         {
@@ -176,6 +220,18 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Add a wrapped listener to the list of listeners that receive the events from the topic.
+     *
+     * @param topicListener wrapped listener
+     */
+    private void addListener(OMRSTopicListenerWrapper topicListener)
+    {
+        topicListener.setMetricTags(topicName, serverName);
+        internalTopicListeners.add(topicListener);
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * OMRSTopicConnector needs to pass on the start() to its embedded connectors.
@@ -253,6 +309,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         }
         else
         {
+            eventAge = new EventLatencyRecorder("egeria.omrs.topic.event.age",
+                                                "Time between an event being sent by its originating server and it being passed to the listeners",
+                                                "topic", topicName,
+                                                "server", serverName);
+
+            eventParsingCounter = Counter.builder("egeria.omrs.topic.parsing.errors")
+                                         .description("Events received from a topic that could not be parsed")
+                                         .tag("topic", topicName)
+                                         .tag("server", serverName)
+                                         .register(Metrics.globalRegistry);
+
+            for (OMRSTopicListenerWrapper topicListener : internalTopicListeners)
+            {
+                topicListener.setMetricTags(topicName, serverName);
+            }
+
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 eventBusConnector.start();
@@ -297,9 +369,9 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         final String methodName = "sendRegistryEvent";
 
-        if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
+        if ((eventProtocolVersion == OMRSEventProtocolVersion.V1) || (eventProtocolVersion == OMRSEventProtocolVersion.V1_COMPACT))
         {
-            this.sendEvent(registryEvent.getOMRSEventV1());
+            this.sendEvent(registryEvent.getOMRSEventV1(), OpenMetadataEventEncoding.JSON);
         }
         else
         {
@@ -321,7 +393,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
         if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
         {
-            this.sendEvent(typeDefEvent.getOMRSEventV1());
+            this.sendEvent(typeDefEvent.getOMRSEventV1(), OpenMetadataEventEncoding.JSON);
+        }
+        else if (eventProtocolVersion == OMRSEventProtocolVersion.V1_COMPACT)
+        {
+            this.sendEvent(typeDefEvent.getOMRSEventV1(), cohortEventEncodings.getEncoding(OpenMetadataEventEncoding.COMPACT));
         }
         else
         {
@@ -344,7 +420,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
         if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
         {
-            this.sendEvent(instanceEvent.getOMRSEventV1());
+            this.sendEvent(instanceEvent.getOMRSEventV1(), OpenMetadataEventEncoding.JSON);
+        }
+        else if (eventProtocolVersion == OMRSEventProtocolVersion.V1_COMPACT)
+        {
+            this.sendEvent(instanceEvent.getOMRSEventV1(), cohortEventEncodings.getEncoding(OpenMetadataEventEncoding.COMPACT));
         }
         else
         {
@@ -357,9 +437,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
      * Sends the supplied event outbound to the OMRSTopicListeners using the event bus connectors.
      *
      * @param event OMRSEvent object containing the event properties.
+     * @param encoding encoding to use for the event payload
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void sendEvent(OMRSEventV1 event) throws ConnectorCheckedException
+    private void sendEvent(OMRSEventV1               event,
+                           OpenMetadataEventEncoding encoding) throws ConnectorCheckedException
     {
         final String methodName = "send";
 
@@ -367,13 +449,15 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                event.setAcceptedEncodings(OMRSCohortEventEncodings.getLocalAcceptedEncodings());
+
+                String eventString = OpenMetadataEventCodec.encode(event, encoding);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -422,17 +506,24 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             OMRSEventBean   eventBean = null;
 
+            eventsReceived.increment();
+
             /*
-             * Parse the string (JSON) event into a bean.
+             * Parse the string (JSON or compact) event into a bean.
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = OpenMetadataEventCodec.decode(event, OMRSEventBean.class);
             }
             catch (Exception   exception)
             {
+                eventParsingErrors.increment();
+
+                if (eventParsingCounter != null)
+                {
+                    eventParsingCounter.increment();
+                }
+
                 if (auditLog != null)
                 {
                     auditLog.logException(actionDescription,
@@ -447,6 +538,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             if (eventBean instanceof OMRSEventV1)
             {
+                this.recordEventEncodings((OMRSEventV1) eventBean);
+
+                if ((eventAge != null) && (((OMRSEventV1) eventBean).getTimestamp() != null))
+                {
+                    eventAge.record((System.currentTimeMillis() - ((OMRSEventV1) eventBean).getTimestamp().getTime()) * 1000000L);
+                }
+
                 OMRSEventBean finalEventBean = eventBean;
                 internalTopicListeners.parallelStream().forEach((topicListener) ->
                 {
@@ -483,6 +581,29 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Record the encodings accepted by the server that sent an event.  A server that unregisters from the
+     * cohort is forgotten.
+     *
+     * @param event inbound event
+     */
+    private void recordEventEncodings(OMRSEventV1 event)
+    {
+        if ((event.getOriginator() != null) && (event.getOriginator().getMetadataCollectionId() != null))
+        {
+            if ((event.getRegistryEventSection() != null) &&
+                        (event.getRegistryEventSection().getRegistryEventType() == OMRSRegistryEventType.UN_REGISTRATION_EVENT))
+            {
+                cohortEventEncodings.removeMember(event.getOriginator().getMetadataCollectionId());
+            }
+            else
+            {
+                cohortEventEncodings.recordMember(event.getOriginator().getMetadataCollectionId(), event.getAcceptedEncodings());
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -548,6 +669,67 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         }
     }
 
+    /**
+     * Return the summary of the inbound events of the topic.  The backlog and dispatch delays are combined
+     * from all of the event bus connectors.
+     *
+     * @return report
+     */
+    public EventTopicReport getTopicReport()
+    {
+        EventTopicReport report = new EventTopicReport();
+
+        report.setTopicName(topicName);
+        report.setEventsReceived(eventsReceived.sum());
+        report.setEventParsingErrors(eventParsingErrors.sum());
+
+        int    backlog          = 0;
+        long   dispatchedEvents = 0;
+        double totalDelay       = 0;
+        double maxDelay         = 0;
+
+        for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
+        {
+            backlog = backlog + eventBusConnector.getBacklog();
+
+            EventLatencyRecorder dispatchDelay = eventBusConnector.getDispatchDelay();
+
+            if (dispatchDelay != null)
+            {
+                dispatchedEvents = dispatchedEvents + dispatchDelay.getCount();
+                totalDelay = totalDelay + (dispatchDelay.getAverageMillis() * dispatchDelay.getCount());
+                maxDelay = Math.max(maxDelay, dispatchDelay.getMaxMillis());
+            }
+        }
+
+        report.setBacklog(backlog);
+        report.setMaxDispatchDelay(maxDelay);
+
+        if (dispatchedEvents > 0)
+        {
+            report.setAverageDispatchDelay(totalDelay / dispatchedEvents);
+        }
+
+        if (eventAge != null)
+        {
+            report.setAverageEventAge(eventAge.getAverageMillis());
+            report.setMaxEventAge(eventAge.getMaxMillis());
+            report.setLastEventAge(eventAge.getLastMillis());
+        }
+
+        List<EventListenerReport> listenerReports = new ArrayList<>();
+
+        for (OMRSTopicListenerWrapper topicListener : internalTopicListeners)
+        {
+            listenerReports.add(topicListener.getReport());
+        }
+
+        report.setListeners(listenerReports);
+
+        return report;
+    }
+
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
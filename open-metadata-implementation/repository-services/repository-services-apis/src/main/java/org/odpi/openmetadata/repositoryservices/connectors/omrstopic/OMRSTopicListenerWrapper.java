@@ -3,11 +3,20 @@
 
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
+import io.micrometer.core.instrument.Metrics;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.EventLatencyRecorder;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.properties.EventListenerReport;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -16,6 +25,11 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
  * diagnostics.  The listeners are called in parallel with no mechanism for the connector to properly
  * manage errors from the listener so this wrapper has been installed.  If the real OMRSTopicListener
  * has been implemented properly then no errors should be handled by this wrapper class
+ * <p>
+ * The wrapper also measures the time the real listener takes to process each category of event and counts
+ * the events it fails to process by event type.  These are published as the egeria.omrs.listener.processing
+ * and egeria.omrs.listener.errors metrics, and summarized by getReport().
+ * </p>
  */
 public class OMRSTopicListenerWrapper implements OMRSTopicListener
 {
@@ -25,6 +39,12 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
     private AuditLog           auditLog;
     private String             serviceName = "<Unknown Service>";
 
+    private volatile String    topicName   = "<Unknown>";
+    private volatile String    serverName  = "<Unknown>";
+
+    private final Map<OMRSEventCategory, EventLatencyRecorder> processingTimes   = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder>                       errorsByEventType = new ConcurrentHashMap<>();
+
 
     /**
      * Save the real listener and other error handling information.
@@ -58,6 +78,112 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
     }
 
 
+    /**
+     * Set up the names used to tag the metrics of the listener.  This is called when the listener is registered
+     * and again when the topic connector starts and learns the name of its topic.
+     *
+     * @param topicName name of the topic that the listener is registered with
+     * @param serverName name of the server that the listener belongs to
+     */
+    void setMetricTags(String topicName,
+                       String serverName)
+    {
+        this.topicName  = topicName;
+        this.serverName = serverName;
+    }
+
+
+    /**
+     * Return the summary of the events processed by the real listener.
+     *
+     * @return report
+     */
+    EventListenerReport getReport()
+    {
+        EventListenerReport report = new EventListenerReport();
+
+        long   eventsProcessed = 0;
+        double totalTime       = 0;
+        double maxTime         = 0;
+
+        for (EventLatencyRecorder processingTime : processingTimes.values())
+        {
+            eventsProcessed = eventsProcessed + processingTime.getCount();
+            totalTime = totalTime + (processingTime.getAverageMillis() * processingTime.getCount());
+            maxTime = Math.max(maxTime, processingTime.getMaxMillis());
+        }
+
+        Map<String, Long> errors     = new HashMap<>();
+        long              errorCount = 0;
+
+        for (String eventType : errorsByEventType.keySet())
+        {
+            long eventTypeErrors = errorsByEventType.get(eventType).sum();
+
+            errors.put(eventType, eventTypeErrors);
+            errorCount = errorCount + eventTypeErrors;
+        }
+
+        report.setServiceName(serviceName);
+        report.setEventsProcessed(eventsProcessed);
+        report.setMaxProcessingTime(maxTime);
+        report.setErrorCount(errorCount);
+        report.setErrorsByEventType(errors);
+
+        if (eventsProcessed > 0)
+        {
+            report.setAverageProcessingTime(totalTime / eventsProcessed);
+        }
+
+        return report;
+    }
+
+
+    /**
+     * Record the time the real listener took to process an event.
+     *
+     * @param eventCategory category of the event
+     * @param startTime time that the processing started (from System.nanoTime())
+     */
+    private void recordProcessingTime(OMRSEventCategory eventCategory,
+                                      long              startTime)
+    {
+        EventLatencyRecorder processingTime = processingTimes.computeIfAbsent(eventCategory,
+                                                                              category -> new EventLatencyRecorder("egeria.omrs.listener.processing",
+                                                                                                                   "Time a service's listener takes to process an event from a topic",
+                                                                                                                   "topic", topicName,
+                                                                                                                   "server", serverName,
+                                                                                                                   "service", String.valueOf(serviceName),
+                                                                                                                   "category", category.getName()));
+
+        processingTime.record(System.nanoTime() - startTime);
+    }
+
+
+    /**
+     * Count an event that the real listener failed to process.
+     *
+     * @param eventType name of the type of the event
+     */
+    private void recordError(String eventType)
+    {
+        String eventTypeName = eventType;
+
+        if (eventTypeName == null)
+        {
+            eventTypeName = "<Unknown>";
+        }
+
+        errorsByEventType.computeIfAbsent(eventTypeName, type -> new LongAdder()).increment();
+
+        Metrics.counter("egeria.omrs.listener.errors",
+                        "topic", topicName,
+                        "server", serverName,
+                        "service", String.valueOf(serviceName),
+                        "eventType", eventTypeName).increment();
+    }
+
+
     /**
      * Log an audit log message to record an unexpected exception.  We should never see this message.
      * It indicates a logic error in the service that threw the exception.
@@ -89,15 +215,20 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
 
         Thread.currentThread().setName(serviceName + THREAD_NAME_DESCRIPTION);
 
+        long startTime = System.nanoTime();
+
         try
         {
             realListener.processRegistryEvent(event);
         }
         catch (Throwable  error)
         {
+            recordError(((event == null) || (event.getRegistryEventType() == null)) ? null : event.getRegistryEventType().getName());
             logUnhandledException(error, methodName);
         }
 
+        recordProcessingTime(OMRSEventCategory.REGISTRY, startTime);
+
         Thread.currentThread().setName(currentThreadName);
     }
 
@@ -115,15 +246,20 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
 
         Thread.currentThread().setName(serviceName + THREAD_NAME_DESCRIPTION);
 
+        long startTime = System.nanoTime();
+
         try
         {
             realListener.processTypeDefEvent(event);
         }
         catch (Throwable  error)
         {
+            recordError(((event == null) || (event.getTypeDefEventType() == null)) ? null : event.getTypeDefEventType().getName());
             logUnhandledException(error, methodName);
         }
 
+        recordProcessingTime(OMRSEventCategory.TYPEDEF, startTime);
+
         Thread.currentThread().setName(currentThreadName);
     }
 
@@ -141,15 +277,20 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
 
         Thread.currentThread().setName(serviceName + THREAD_NAME_DESCRIPTION);
 
+        long startTime = System.nanoTime();
+
         try
         {
             realListener.processInstanceEvent(event);
         }
         catch (Throwable  error)
         {
+            recordError(((event == null) || (event.getInstanceEventType() == null)) ? null : event.getInstanceEventType().getName());
             logUnhandledException(error, methodName);
         }
 
+        recordProcessingTime(OMRSEventCategory.INSTANCE, startTime);
+
         Thread.currentThread().setName(currentThreadName);
     }
 }
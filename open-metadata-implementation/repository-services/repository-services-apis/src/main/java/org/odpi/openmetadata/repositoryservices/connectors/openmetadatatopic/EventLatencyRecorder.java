@@ -0,0 +1,141 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EventLatencyRecorder records one of the latencies measured along the event path, such as the time that a
+ * listener takes to process an event.  Each latency is passed to a Micrometer timer so it can be published
+ * as a metric, and a running summary is kept for the status reports of the server.
+ * It is safe for use by several threads at once.
+ */
+public class EventLatencyRecorder
+{
+    private static final double nanosPerMilli     = 1000000.0;
+    private static final String unknownServerName = "<Unknown>";
+
+    private final Timer           timer;
+    private final LongAdder       count      = new LongAdder();
+    private final LongAdder       totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos   = new LongAccumulator(Long::max, 0);
+    private volatile long         lastNanos  = 0;
+
+
+    /**
+     * Create a recorder that publishes its latencies through a timer in Micrometer's global registry.
+     *
+     * @param name name of the timer
+     * @param description description of the timer
+     * @param tags name and value pairs that identify the timer
+     */
+    public EventLatencyRecorder(String    name,
+                                String    description,
+                                String... tags)
+    {
+        this.timer = Timer.builder(name)
+                          .description(description)
+                          .tags(tags)
+                          .register(Metrics.globalRegistry);
+    }
+
+
+    /**
+     * Record a latency.  Negative values, caused for example by the clocks of two servers being out of step,
+     * are recorded as zero.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos)
+    {
+        long latency = Math.max(nanos, 0);
+
+        timer.record(latency, TimeUnit.NANOSECONDS);
+        count.increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+        lastNanos = latency;
+    }
+
+
+    /**
+     * Return the number of latencies recorded.
+     *
+     * @return count
+     */
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+
+    /**
+     * Return the mean of the latencies recorded.
+     *
+     * @return milliseconds
+     */
+    public double getAverageMillis()
+    {
+        long recorded = count.sum();
+
+        if (recorded == 0)
+        {
+            return 0;
+        }
+
+        return totalNanos.sum() / nanosPerMilli / recorded;
+    }
+
+
+    /**
+     * Return the largest latency recorded.
+     *
+     * @return milliseconds
+     */
+    public double getMaxMillis()
+    {
+        return maxNanos.get() / nanosPerMilli;
+    }
+
+
+    /**
+     * Return the most recent latency recorded.
+     *
+     * @return milliseconds
+     */
+    public double getLastMillis()
+    {
+        return lastNanos / nanosPerMilli;
+    }
+
+
+    /**
+     * Return the name of the server that an audit log belongs to.  It is used to tag the metrics of the event path
+     * since several servers on the same platform may share a topic.
+     *
+     * @param auditLog audit log of the component
+     * @return server name
+     */
+    public static String getServerName(AuditLog auditLog)
+    {
+        if (auditLog != null)
+        {
+            Map<String, String> originatorProperties = auditLog.getOriginatorProperties();
+
+            if ((originatorProperties != null) && (originatorProperties.get(OMRSAuditLogRecordOriginator.SERVER_NAME_PROPERTY) != null))
+            {
+                return originatorProperties.get(OMRSAuditLogRecordOriginator.SERVER_NAME_PROPERTY);
+            }
+        }
+
+        return unknownServerName;
+    }
+}
@@ -0,0 +1,147 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OpenMetadataEventCodec is the shared registry of preconfigured Jackson readers and writers used to convert
+ * event beans to and from the strings passed over the event bus connectors.  ObjectMapper instances are
+ * expensive to create and their serializer caches are lost each time, so the topic connectors use this class
+ * rather than creating a new ObjectMapper for each event.  The readers and writers are immutable and thread-safe.
+ * <p>
+ * Events may be sent as JSON or in the compact encoding.  The compact encoding is Smile (binary JSON) with
+ * shared property names and shared string values enabled.  This means the type names, TypeDef names and GUIDs
+ * that are repeated within an event are only sent once.  Since the event bus connectors pass strings,
+ * compact events are sent as Base64 text after the COMPACT_EVENT_PREFIX.  When an event is received, its
+ * encoding is detected from this prefix, so JSON and compact events can arrive on the same topic.
+ * </p>
+ */
+public final class OpenMetadataEventCodec
+{
+    /**
+     * Prefix placed in front of the Base64 text of a compact event.  It can not be the start of a JSON document.
+     */
+    public static final String COMPACT_EVENT_PREFIX = "~SMILE~";
+
+    private static final ObjectMapper jsonMapper  = new ObjectMapper();
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()
+                                                                             .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                                                                             .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+
+    private static final ObjectWriter jsonWriter  = jsonMapper.writer();
+    private static final ObjectWriter smileWriter = smileMapper.writer();
+
+    private static final Map<Class<?>, ObjectReader> jsonReaders  = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> smileReaders = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private OpenMetadataEventCodec()
+    {
+    }
+
+
+    /**
+     * Return the shared JSON object mapper.  It must not be reconfigured by the caller.
+     *
+     * @return object mapper
+     */
+    public static ObjectMapper getJSONMapper()
+    {
+        return jsonMapper;
+    }
+
+
+    /**
+     * Convert an event bean into the string to send on the event bus.
+     *
+     * @param event event bean
+     * @param encoding requested encoding - null means JSON
+     * @return encoded event
+     * @throws IOException the bean can not be serialized
+     */
+    public static String encode(Object                    event,
+                                OpenMetadataEventEncoding encoding) throws IOException
+    {
+        if (encoding == OpenMetadataEventEncoding.COMPACT)
+        {
+            return COMPACT_EVENT_PREFIX + Base64.getEncoder().encodeToString(smileWriter.writeValueAsBytes(event));
+        }
+
+        return jsonWriter.writeValueAsString(event);
+    }
+
+
+    /**
+     * Convert an event received from the event bus into a bean.  The encoding is detected from the event.
+     *
+     * @param event event string
+     * @param eventClass class of the bean
+     * @param <T> type of the bean
+     * @return bean
+     * @throws IOException the event can not be parsed into the requested bean
+     */
+    public static <T> T decode(String   event,
+                               Class<T> eventClass) throws IOException
+    {
+        if (isCompact(event))
+        {
+            byte[] payload = Base64.getDecoder().decode(event.substring(COMPACT_EVENT_PREFIX.length()));
+
+            return smileReaders.computeIfAbsent(eventClass, smileMapper::readerFor).readValue(payload);
+        }
+
+        return jsonReaders.computeIfAbsent(eventClass, jsonMapper::readerFor).readValue(event);
+    }
+
+
+    /**
+     * Return whether the supplied event uses the compact encoding.
+     *
+     * @param event event string
+     * @return boolean flag
+     */
+    public static boolean isCompact(String event)
+    {
+        return (event != null) && (event.startsWith(COMPACT_EVENT_PREFIX));
+    }
+
+
+    /**
+     * Return the event as JSON.  This is used when the content of a compact event needs to be
+     * displayed, for example, in a log message.
+     *
+     * @param event event string in either encoding
+     * @return JSON string
+     */
+    public static String toJSON(String event)
+    {
+        if (isCompact(event))
+        {
+            try
+            {
+                byte[] payload = Base64.getDecoder().decode(event.substring(COMPACT_EVENT_PREFIX.length()));
+
+                return jsonWriter.writeValueAsString(smileMapper.readTree(payload));
+            }
+            catch (Exception error)
+            {
+                return event;
+            }
+        }
+
+        return event;
+    }
+}
@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import java.io.Serializable;
+
+/**
+ * OpenMetadataEventEncoding defines how an event bean is turned into the string that is passed to the
+ * event bus connectors.  The encoding is chosen by the sender.  Receivers detect the encoding from the
+ * event itself so a server can always receive events in either encoding.
+ */
+public enum OpenMetadataEventEncoding implements Serializable
+{
+    /**
+     * The event is a JSON document.
+     */
+    JSON    (0, "JSON",    "Event is sent as a JSON document."),
+
+    /**
+     * The event is a Smile document (binary JSON) with shared property names and string values, sent as Base64 text.
+     */
+    COMPACT (1, "Compact", "Event is sent in the Smile binary encoding with shared names and values.");
+
+    private static final long     serialVersionUID = 1L;
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Typical Constructor
+     *
+     * @param ordinal index number
+     * @param name short name
+     * @param description longer explanation
+     */
+    OpenMetadataEventEncoding(int ordinal, String name, String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the encoding that matches the supplied name.  The match is case-insensitive.
+     * JSON is returned if the name is null or not recognized.
+     *
+     * @param name name of the encoding - typically from the configuration properties of a connection
+     * @return encoding enum
+     */
+    public static OpenMetadataEventEncoding getEncoding(String name)
+    {
+        if (name != null)
+        {
+            for (OpenMetadataEventEncoding encoding : OpenMetadataEventEncoding.values())
+            {
+                if (encoding.getName().equalsIgnoreCase(name.trim()) || encoding.name().equalsIgnoreCase(name.trim()))
+                {
+                    return encoding;
+                }
+            }
+        }
+
+        return JSON;
+    }
+
+
+    /**
+     * Return the code for this enum instance
+     *
+     * @return int code
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the default symbol for this enum instance.
+     *
+     * @return String default symbol
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the default description for this enum instance.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OpenMetadataEventEncoding{" +
+                "ordinal=" + ordinal +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
@@ -6,7 +6,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
@@ -34,6 +37,9 @@ import org.slf4j.LoggerFactory;
  *         When the server no longer needs the topic, it will call disconnect().
  *     </li>
  * </ul>
+ * The connector measures the delay between an event being received and it being passed to the listeners, and
+ * publishes the number of events waiting to be distributed.  An implementation that holds received events in its
+ * own queue should override getQueuedEventCount() so they are included.
  */
 public abstract class OpenMetadataTopicConnector extends ConnectorBase implements OpenMetadataTopic,
                                                                                   Runnable,
@@ -51,6 +57,10 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
 
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private EventLatencyRecorder dispatchDelay = null;
+    private Gauge                backlogGauge  = null;
+
     protected AuditLog auditLog = null;
 
     /**
@@ -92,12 +102,16 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
                     if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
                     {
+                        pendingEvents.set(receivedEvents.size());
+
                         for (IncomingEvent event : receivedEvents)
                         {
                             if (event != null)
                             {
                                 this.distributeEvent(event);
                             }
+
+                            pendingEvents.decrementAndGet();
                         }
                     }
                 }
@@ -127,6 +141,11 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
      */
     private void distributeEvent(IncomingEvent event)
     {
+        if (dispatchDelay != null)
+        {
+            dispatchDelay.record((System.currentTimeMillis() - event.getCreationTime()) * 1000000L);
+        }
+
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
         InternalOMRSEventProcessingContext.clear();
@@ -160,6 +179,41 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Return the number of events that have been received from the event bus and not yet passed to the listeners.
+     *
+     * @return count of events
+     */
+    public int getBacklog()
+    {
+        return getQueuedEventCount() + pendingEvents.get();
+    }
+
+
+    /**
+     * Return the number of received events that are held by the implementation, waiting to be returned from
+     * checkForIncomingEvents().
+     *
+     * @return count of events
+     */
+    protected int getQueuedEventCount()
+    {
+        return 0;
+    }
+
+
+    /**
+     * Return the record of the delays between events being received from the event bus and them being passed to the
+     * listeners.
+     *
+     * @return latency recorder or null if the connector is not started
+     */
+    public EventLatencyRecorder getDispatchDelay()
+    {
+        return dispatchDelay;
+    }
+
+
     /**
      * Look to see if there is one of more new events to process.
      *
@@ -258,6 +312,19 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
             }
         }
 
+        String serverName = EventLatencyRecorder.getServerName(auditLog);
+
+        dispatchDelay = new EventLatencyRecorder("egeria.omrs.topic.dispatch.delay",
+                                                 "Time between an event being received from a topic and it being passed to the listeners",
+                                                 "topic", topicName,
+                                                 "server", serverName);
+
+        backlogGauge = Gauge.builder("egeria.omrs.topic.backlog", this, OpenMetadataTopicConnector::getBacklog)
+                            .description("Events received from a topic that have not been passed to the listeners")
+                            .tag("topic", topicName)
+                            .tag("server", serverName)
+                            .register(Metrics.globalRegistry);
+
         Thread listenerThread = new Thread(this, listenerThreadName);
         listenerThread.start();
     }
@@ -274,5 +341,10 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         super.disconnect();
 
         keepRunning = false;
+
+        if (backlogGauge != null)
+        {
+            Metrics.globalRegistry.remove(backlogGauge);
+        }
     }
 }
@@ -3,7 +3,6 @@
 
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
@@ -70,11 +69,9 @@ public abstract class OpenMetadataTopicListenerConnectorBase extends OpenMetadat
                                  Class<T>  eventClass) throws Exception
     {
         /*
-         * Parse the string (JSON) event into a bean.
+         * Parse the string (JSON or compact) event into a bean.
          */
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        return objectMapper.readValue(event, eventClass);
+        return OpenMetadataEventCodec.decode(event, eventClass);
     }
 
 
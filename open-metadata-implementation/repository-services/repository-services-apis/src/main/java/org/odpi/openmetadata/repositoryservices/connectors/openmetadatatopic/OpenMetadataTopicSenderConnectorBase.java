@@ -7,12 +7,65 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.Map;
+
 /**
  * OpenMetadataTopicConnectorBase is a base class to topic connectors that only send
- * events on the embedded event bus connector
+ * events on the embedded event bus connector.  The encoding of the events is set through the
+ * eventEncoding configuration property of the topic connection.  The default is JSON.
  */
 public class OpenMetadataTopicSenderConnectorBase extends OpenMetadataTopicConsumerBase
 {
+    /**
+     * Name of the configuration property that selects the encoding of the events sent by this connector.
+     */
+    public static final String EVENT_ENCODING_PROPERTY = "eventEncoding";
+
+    protected OpenMetadataEventEncoding eventEncoding = OpenMetadataEventEncoding.JSON;
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.
+     * Picks up the event encoding from the configuration properties.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void start() throws ConnectorCheckedException
+    {
+        super.start();
+
+        if (super.connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object encodingName = configurationProperties.get(EVENT_ENCODING_PROPERTY);
+
+                if (encodingName != null)
+                {
+                    eventEncoding = OpenMetadataEventEncoding.getEncoding(encodingName.toString());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Convert the event bean into the string to send using the shared readers and writers and
+     * the configured encoding.
+     *
+     * @param event event bean
+     * @return event string
+     * @throws Exception the bean can not be serialized
+     */
+    protected String encodeEvent(Object event) throws Exception
+    {
+        return OpenMetadataEventCodec.encode(event, eventEncoding);
+    }
+
+
     /**
      * Send the request to the embedded event bus connector(s).
      *
@@ -13,14 +13,19 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 
 /**
  * OMRSEventProtocolVersion provides the identifier for the version number of the event payload.  There is
- * only one version at the moment which is why it looks a little sad.
+ * only one version of the payload structure at the moment.  It can be sent either as JSON (V1) or
+ * in the compact binary encoding (V1_COMPACT).  A server using V1_COMPACT is still able to receive
+ * JSON events and always sends its registry events as JSON so that JSON-only members of the cohort can
+ * still register with it.  Type and instance events only use the compact encoding once every member seen
+ * on the cohort has listed it in the accepted encodings of its events.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown=true)
 public enum OMRSEventProtocolVersion implements Serializable
 {
-    V1 (1, "OMRS V1.0", "OMRS Version 1");
+    V1         (1, "OMRS V1.0", "OMRS Version 1"),
+    V1_COMPACT (2, "OMRS V1.0 Compact", "OMRS Version 1 with type and instance events sent in the compact binary encoding");
 
     private static final long     serialVersionUID = 1L;
 
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 
 import java.util.Date;
+import java.util.List;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
@@ -35,6 +36,7 @@ public class OMRSEventV1 extends OMRSEventBean
     private       OMRSEventV1TypeDefSection  typeDefEventSection  = null;
     private       OMRSEventV1InstanceSection instanceEventSection = null;
     private       OMRSEventV1ErrorSection    errorSection         = null;
+    private       List<String>               acceptedEncodings    = null;
 
 
     /**
@@ -134,6 +136,29 @@ public class OMRSEventV1 extends OMRSEventBean
         this.errorSection = errorSection;
     }
 
+
+    /**
+     * Return the names of the event encodings that the originating server is able to receive.  Servers that
+     * predate the compact encoding do not set this property.
+     *
+     * @return list of encoding names or null
+     */
+    public List<String> getAcceptedEncodings()
+    {
+        return acceptedEncodings;
+    }
+
+
+    /**
+     * Set up the names of the event encodings that the originating server is able to receive.
+     *
+     * @param acceptedEncodings list of encoding names
+     */
+    public void setAcceptedEncodings(List<String> acceptedEncodings)
+    {
+        this.acceptedEncodings = acceptedEncodings;
+    }
+
     /**
      * JSON-style toString.
      *
@@ -150,6 +175,7 @@ public class OMRSEventV1 extends OMRSEventBean
                        ", typeDefEventSection=" + typeDefEventSection +
                        ", instanceEventSection=" + instanceEventSection +
                        ", errorSection=" + errorSection +
+                       ", acceptedEncodings=" + acceptedEncodings +
                        ", protocolVersionId='" + protocolVersionId + '\'' +
                        ", protocolVersionId='" + getProtocolVersionId() + '\'' +
                        '}';
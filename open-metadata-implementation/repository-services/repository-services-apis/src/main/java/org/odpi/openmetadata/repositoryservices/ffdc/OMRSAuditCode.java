@@ -341,6 +341,24 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                 "The connector will not be able to support access to the open metadata repositories connected via the cohort.",
                                 "Review the message to discover why the connector failed to start."),
 
+    IN_MEMORY_REPOSITORY_RECOVERED("OMRS-AUDIT-0044",
+                                   OMRSAuditLogRecordSeverity.STARTUP,
+                                   "The in-memory repository {0} has loaded {1} instance changes from its snapshot and {2} changes from its log in directory {3}",
+                                   "The local server has restored the content of its in-memory repository from the files saved when it last ran.",
+                                   "Verify that the restored content is as expected.  Delete the files in the directory if the repository should start empty."),
+
+    IN_MEMORY_LOG_DAMAGED("OMRS-AUDIT-0045",
+                          OMRSAuditLogRecordSeverity.ERROR,
+                          "The in-memory repository {0} has found a damaged record in log file {1} at offset {2}",
+                          "The log is truncated at this point and the changes after it are discarded.  A new snapshot is written before the repository is used.  This typically happens when the server stopped while writing a change to the log.",
+                          "Check that the changes made just before the server stopped are present in the repository and repeat any that are missing."),
+
+    IN_MEMORY_FILE_ERROR("OMRS-AUDIT-0046",
+                         OMRSAuditLogRecordSeverity.EXCEPTION,
+                         "The in-memory repository {0} was unable to {1} file {2} due to exception {3} with message {4}",
+                         "Changes to the in-memory repository may not be saved and could be lost when the server restarts.",
+                         "Correct the problem with the file system, for example the permissions or free space of the directory."),
+
     PROCESSING_ARCHIVE("OMRS-AUDIT-0050",
                        OMRSAuditLogRecordSeverity.INFO,
                        "The Open Metadata Repository Services (OMRS) is about to process open metadata archive {0}",
@@ -386,6 +404,44 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                               "or a Repository Proxy that connects to a third party repository that supports this type of metadata.  " +
                               "Detail of the different types of servers are found in the admin guide."),
 
+    UNCHANGED_ARCHIVE("OMRS-AUDIT-0056",
+                      OMRSAuditLogRecordSeverity.INFO,
+                      "The Open Metadata Repository Services (OMRS) is skipping the {0} instances from open metadata archive {1} (version {2}) " +
+                              "because they have not changed since they were loaded into metadata collection {3}",
+                      "The fingerprint of the archive's content matches the fingerprint recorded when the archive was last loaded " +
+                              "into the local repository and all of its instances are present in the repository.  " +
+                              "The type definitions from the archive are still processed.",
+                      "No action is required.  To load the archive in full, remove the archive fingerprint file for the " +
+                              "local repository's metadata collection and restart the server."),
+
+    CHANGED_ARCHIVE("OMRS-AUDIT-0057",
+                    OMRSAuditLogRecordSeverity.INFO,
+                    "The Open Metadata Repository Services (OMRS) is processing {0} new or changed instances out of {1} from open metadata " +
+                            "archive {2} (version {3})",
+                    "The archive has changed since it was last loaded into the local repository.  Only the instances whose " +
+                            "fingerprint is different from the fingerprint recorded at the last load are processed.  " +
+                            "Instances that have been removed from the archive are not removed from the local repository.",
+                    "Verify that the changed content has loaded into the local repository.  Instances that are no longer in the " +
+                            "archive can be purged from the local repository if they are not needed."),
+
+    ARCHIVE_CONTENT_MISSING("OMRS-AUDIT-0058",
+                            OMRSAuditLogRecordSeverity.INFO,
+                            "The Open Metadata Repository Services (OMRS) is processing all instances from open metadata archive {0} " +
+                                    "because instance {1} loaded from the archive is not in metadata collection {2}",
+                            "The archive fingerprints show that the archive was loaded before but the local repository does not " +
+                                    "contain all of its instances.  This occurs if the local repository does not store its " +
+                                    "metadata persistently, or its content has been removed.",
+                            "If the local repository does not store its metadata persistently, remove the archive fingerprint " +
+                                    "directory from the local repository configuration since it only adds processing to the server's start up."),
+
+    ARCHIVE_FINGERPRINT_ERROR("OMRS-AUDIT-0059",
+                              OMRSAuditLogRecordSeverity.ERROR,
+                              "The Open Metadata Repository Services (OMRS) is unable to {0} the archive fingerprint file {1}.  " +
+                                      "The {2} exception was returned with message {3}",
+                              "The archives are loaded in full because the instances that they loaded before are not known.",
+                              "Correct the archive fingerprint directory in the local repository configuration or the file system " +
+                                      "permissions so the server can read and write the file."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -423,6 +479,23 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                          "The local server has started up the logging destinations defined in the configuration document.",
                          "Validate that all of the logging destinations are working."),
 
+    FEDERATION_MEMBER_STATISTICS("OMRS-AUDIT-0065",
+                                 OMRSAuditLogRecordSeverity.SHUTDOWN,
+                                 "The enterprise repository connectors sent {0} lookups by unique identifier to the repository with metadata collection id {1}; it was the home of the instance for {2} of them and its average response time was {3} milliseconds",
+                                 "The local server is shutting down and has recorded how each member of its cohorts responded to the " +
+                                         "lookups of instances by unique identifier.  These statistics were used to call the members that were " +
+                                         "most likely to hold the instance first.",
+                                 "No action is required.  A member that rarely holds the instances, or is much slower than the others, " +
+                                         "may need to be investigated."),
+
+    ARCHIVE_FINGERPRINT_NOT_SAVED("OMRS-AUDIT-0066",
+                                  OMRSAuditLogRecordSeverity.INFO,
+                                  "The Open Metadata Repository Services (OMRS) is not recording the fingerprint of open metadata archive {0} " +
+                                          "because {1} errors occurred while its instances were saved in metadata collection {2}",
+                                  "The archive's instances are loaded again the next time the server starts so that the instances " +
+                                          "that failed are retried.",
+                                  "Review the earlier audit log records to determine the cause of the errors and correct them."),
+
     EVENT_PARSING_ERROR("OMRS-AUDIT-0100",
                         OMRSAuditLogRecordSeverity.EXCEPTION,
                         "Unable parse an incoming event {0} due to exception {1}",
@@ -749,6 +749,14 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The open metadata repository connector {0} has returned a null metadata collection identifier",
             "There is an internal error in the remote repository.",
             "Determine the source of the implementation of the remote repository and request help from its developers."),
+    IN_MEMORY_STORE_NOT_LOADED(500, "OMRS-METADATA-COLLECTION-500-018",
+            "The in-memory repository {0} is unable to load its saved content from directory {1} due to exception {2} with message {3}",
+            "The repository connector is not started.",
+            "Correct the problem with the files in the directory.  If the content is not needed, remove the files so the repository starts empty."),
+    IN_MEMORY_STORE_FAILED(500, "OMRS-METADATA-COLLECTION-500-019",
+            "The in-memory repository {0} is unable to save changes to directory {1} due to exception {2} with message {3}",
+            "The request fails.  The repository rejects all further changes because its files no longer match its content.",
+            "Correct the problem with the file system, for example the permissions or free space of the directory, and restart the server.  Changes that were not saved before the failure are lost."),
     NULL_COHORT_NAME(500, "OMRS-COHORT-MANAGER-500-001",
             "OMRSCohortManager has been initialized with a null cohort name",
             "There is an internal error within the OMRS initialization.",
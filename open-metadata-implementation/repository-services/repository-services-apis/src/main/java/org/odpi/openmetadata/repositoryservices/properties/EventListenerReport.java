@@ -0,0 +1,265 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * EventListenerReport summarizes the processing of the events passed from an OMRS topic to the listener
+ * registered by one of the services of the server.  The errors are counted by the type of the event that
+ * the listener failed to process.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class EventListenerReport extends OMRSProperty
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String            serviceName           = null;
+    private long              eventsProcessed       = 0;
+    private double            averageProcessingTime = 0;
+    private double            maxProcessingTime     = 0;
+    private long              errorCount            = 0;
+    private Map<String, Long> errorsByEventType     = null;
+
+
+    /**
+     * Default constructor
+     */
+    public EventListenerReport()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public EventListenerReport(EventListenerReport template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            serviceName = template.getServiceName();
+            eventsProcessed = template.getEventsProcessed();
+            averageProcessingTime = template.getAverageProcessingTime();
+            maxProcessingTime = template.getMaxProcessingTime();
+            errorCount = template.getErrorCount();
+            errorsByEventType = template.getErrorsByEventType();
+        }
+    }
+
+
+    /**
+     * Return the name of the service that registered the listener.
+     *
+     * @return string name
+     */
+    public String getServiceName()
+    {
+        return serviceName;
+    }
+
+
+    /**
+     * Set up the name of the service that registered the listener.
+     *
+     * @param serviceName string name
+     */
+    public void setServiceName(String serviceName)
+    {
+        this.serviceName = serviceName;
+    }
+
+
+    /**
+     * Return the number of events passed to the listener.
+     *
+     * @return count
+     */
+    public long getEventsProcessed()
+    {
+        return eventsProcessed;
+    }
+
+
+    /**
+     * Set up the number of events passed to the listener.
+     *
+     * @param eventsProcessed count
+     */
+    public void setEventsProcessed(long eventsProcessed)
+    {
+        this.eventsProcessed = eventsProcessed;
+    }
+
+
+    /**
+     * Return the mean time that the listener took to process an event.
+     *
+     * @return milliseconds
+     */
+    public double getAverageProcessingTime()
+    {
+        return averageProcessingTime;
+    }
+
+
+    /**
+     * Set up the mean time that the listener took to process an event.
+     *
+     * @param averageProcessingTime milliseconds
+     */
+    public void setAverageProcessingTime(double averageProcessingTime)
+    {
+        this.averageProcessingTime = averageProcessingTime;
+    }
+
+
+    /**
+     * Return the longest time that the listener took to process an event.
+     *
+     * @return milliseconds
+     */
+    public double getMaxProcessingTime()
+    {
+        return maxProcessingTime;
+    }
+
+
+    /**
+     * Set up the longest time that the listener took to process an event.
+     *
+     * @param maxProcessingTime milliseconds
+     */
+    public void setMaxProcessingTime(double maxProcessingTime)
+    {
+        this.maxProcessingTime = maxProcessingTime;
+    }
+
+
+    /**
+     * Return the number of events that the listener failed to process.
+     *
+     * @return count
+     */
+    public long getErrorCount()
+    {
+        return errorCount;
+    }
+
+
+    /**
+     * Set up the number of events that the listener failed to process.
+     *
+     * @param errorCount count
+     */
+    public void setErrorCount(long errorCount)
+    {
+        this.errorCount = errorCount;
+    }
+
+
+    /**
+     * Return the number of events that the listener failed to process for each event type.
+     *
+     * @return map from event type name to count
+     */
+    public Map<String, Long> getErrorsByEventType()
+    {
+        if (errorsByEventType == null)
+        {
+            return null;
+        }
+        else if (errorsByEventType.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return new HashMap<>(errorsByEventType);
+        }
+    }
+
+
+    /**
+     * Set up the number of events that the listener failed to process for each event type.
+     *
+     * @param errorsByEventType map from event type name to count
+     */
+    public void setErrorsByEventType(Map<String, Long> errorsByEventType)
+    {
+        this.errorsByEventType = errorsByEventType;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "EventListenerReport{" +
+                       "serviceName='" + serviceName + '\'' +
+                       ", eventsProcessed=" + eventsProcessed +
+                       ", averageProcessingTime=" + averageProcessingTime +
+                       ", maxProcessingTime=" + maxProcessingTime +
+                       ", errorCount=" + errorCount +
+                       ", errorsByEventType=" + errorsByEventType +
+                       '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        EventListenerReport that = (EventListenerReport) objectToCompare;
+        return eventsProcessed == that.eventsProcessed &&
+                       Double.compare(that.averageProcessingTime, averageProcessingTime) == 0 &&
+                       Double.compare(that.maxProcessingTime, maxProcessingTime) == 0 &&
+                       errorCount == that.errorCount &&
+                       Objects.equals(serviceName, that.serviceName) &&
+                       Objects.equals(getErrorsByEventType(), that.getErrorsByEventType());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(serviceName, eventsProcessed, averageProcessingTime, maxProcessingTime, errorCount, getErrorsByEventType());
+    }
+}
@@ -0,0 +1,371 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * EventTopicReport summarizes the inbound events of one of the OMRS topics used by the server.  It covers
+ * the events waiting to be processed, the delay between an event being received and it being passed to the
+ * listeners, the age of the events (the time since they were sent by the originating server) and the
+ * processing of the events by each listener.  All times are in milliseconds.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class EventTopicReport extends OMRSProperty
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String                    topicName            = null;
+    private long                      eventsReceived       = 0;
+    private long                      eventParsingErrors   = 0;
+    private int                       backlog              = 0;
+    private double                    averageDispatchDelay = 0;
+    private double                    maxDispatchDelay     = 0;
+    private double                    averageEventAge      = 0;
+    private double                    maxEventAge          = 0;
+    private double                    lastEventAge         = 0;
+    private List<EventListenerReport> listeners            = null;
+
+
+    /**
+     * Default constructor
+     */
+    public EventTopicReport()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public EventTopicReport(EventTopicReport template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            topicName = template.getTopicName();
+            eventsReceived = template.getEventsReceived();
+            eventParsingErrors = template.getEventParsingErrors();
+            backlog = template.getBacklog();
+            averageDispatchDelay = template.getAverageDispatchDelay();
+            maxDispatchDelay = template.getMaxDispatchDelay();
+            averageEventAge = template.getAverageEventAge();
+            maxEventAge = template.getMaxEventAge();
+            lastEventAge = template.getLastEventAge();
+            listeners = template.getListeners();
+        }
+    }
+
+
+    /**
+     * Return the name of the topic.
+     *
+     * @return string name
+     */
+    public String getTopicName()
+    {
+        return topicName;
+    }
+
+
+    /**
+     * Set up the name of the topic.
+     *
+     * @param topicName string name
+     */
+    public void setTopicName(String topicName)
+    {
+        this.topicName = topicName;
+    }
+
+
+    /**
+     * Return the number of events received from the topic.
+     *
+     * @return count
+     */
+    public long getEventsReceived()
+    {
+        return eventsReceived;
+    }
+
+
+    /**
+     * Set up the number of events received from the topic.
+     *
+     * @param eventsReceived count
+     */
+    public void setEventsReceived(long eventsReceived)
+    {
+        this.eventsReceived = eventsReceived;
+    }
+
+
+    /**
+     * Return the number of events received from the topic that could not be parsed.
+     *
+     * @return count
+     */
+    public long getEventParsingErrors()
+    {
+        return eventParsingErrors;
+    }
+
+
+    /**
+     * Set up the number of events received from the topic that could not be parsed.
+     *
+     * @param eventParsingErrors count
+     */
+    public void setEventParsingErrors(long eventParsingErrors)
+    {
+        this.eventParsingErrors = eventParsingErrors;
+    }
+
+
+    /**
+     * Return the number of events received from the event bus that are waiting to be passed to the listeners.
+     *
+     * @return count
+     */
+    public int getBacklog()
+    {
+        return backlog;
+    }
+
+
+    /**
+     * Set up the number of events received from the event bus that are waiting to be passed to the listeners.
+     *
+     * @param backlog count
+     */
+    public void setBacklog(int backlog)
+    {
+        this.backlog = backlog;
+    }
+
+
+    /**
+     * Return the mean delay between an event being received from the event bus and it being passed to the listeners.
+     *
+     * @return milliseconds
+     */
+    public double getAverageDispatchDelay()
+    {
+        return averageDispatchDelay;
+    }
+
+
+    /**
+     * Set up the mean delay between an event being received from the event bus and it being passed to the listeners.
+     *
+     * @param averageDispatchDelay milliseconds
+     */
+    public void setAverageDispatchDelay(double averageDispatchDelay)
+    {
+        this.averageDispatchDelay = averageDispatchDelay;
+    }
+
+
+    /**
+     * Return the longest delay between an event being received from the event bus and it being passed to the listeners.
+     *
+     * @return milliseconds
+     */
+    public double getMaxDispatchDelay()
+    {
+        return maxDispatchDelay;
+    }
+
+
+    /**
+     * Set up the longest delay between an event being received from the event bus and it being passed to the listeners.
+     *
+     * @param maxDispatchDelay milliseconds
+     */
+    public void setMaxDispatchDelay(double maxDispatchDelay)
+    {
+        this.maxDispatchDelay = maxDispatchDelay;
+    }
+
+
+    /**
+     * Return the mean age of the events when they were passed to the listeners.  The age is measured from the
+     * timestamp set by the originating server so it includes any difference between the clocks of the servers.
+     *
+     * @return milliseconds
+     */
+    public double getAverageEventAge()
+    {
+        return averageEventAge;
+    }
+
+
+    /**
+     * Set up the mean age of the events when they were passed to the listeners.
+     *
+     * @param averageEventAge milliseconds
+     */
+    public void setAverageEventAge(double averageEventAge)
+    {
+        this.averageEventAge = averageEventAge;
+    }
+
+
+    /**
+     * Return the greatest age of an event when it was passed to the listeners.
+     *
+     * @return milliseconds
+     */
+    public double getMaxEventAge()
+    {
+        return maxEventAge;
+    }
+
+
+    /**
+     * Set up the greatest age of an event when it was passed to the listeners.
+     *
+     * @param maxEventAge milliseconds
+     */
+    public void setMaxEventAge(double maxEventAge)
+    {
+        this.maxEventAge = maxEventAge;
+    }
+
+
+    /**
+     * Return the age of the most recent event when it was passed to the listeners.
+     *
+     * @return milliseconds
+     */
+    public double getLastEventAge()
+    {
+        return lastEventAge;
+    }
+
+
+    /**
+     * Set up the age of the most recent event when it was passed to the listeners.
+     *
+     * @param lastEventAge milliseconds
+     */
+    public void setLastEventAge(double lastEventAge)
+    {
+        this.lastEventAge = lastEventAge;
+    }
+
+
+    /**
+     * Return the reports of the listeners registered with the topic.
+     *
+     * @return list of listener reports
+     */
+    public List<EventListenerReport> getListeners()
+    {
+        if (listeners == null)
+        {
+            return null;
+        }
+        else if (listeners.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return listeners;
+        }
+    }
+
+
+    /**
+     * Set up the reports of the listeners registered with the topic.
+     *
+     * @param listeners list of listener reports
+     */
+    public void setListeners(List<EventListenerReport> listeners)
+    {
+        this.listeners = listeners;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "EventTopicReport{" +
+                       "topicName='" + topicName + '\'' +
+                       ", eventsReceived=" + eventsReceived +
+                       ", eventParsingErrors=" + eventParsingErrors +
+                       ", backlog=" + backlog +
+                       ", averageDispatchDelay=" + averageDispatchDelay +
+                       ", maxDispatchDelay=" + maxDispatchDelay +
+                       ", averageEventAge=" + averageEventAge +
+                       ", maxEventAge=" + maxEventAge +
+                       ", lastEventAge=" + lastEventAge +
+                       ", listeners=" + listeners +
+                       '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        EventTopicReport that = (EventTopicReport) objectToCompare;
+        return eventsReceived == that.eventsReceived &&
+                       eventParsingErrors == that.eventParsingErrors &&
+                       backlog == that.backlog &&
+                       Double.compare(that.averageDispatchDelay, averageDispatchDelay) == 0 &&
+                       Double.compare(that.maxDispatchDelay, maxDispatchDelay) == 0 &&
+                       Double.compare(that.averageEventAge, averageEventAge) == 0 &&
+                       Double.compare(that.maxEventAge, maxEventAge) == 0 &&
+                       Double.compare(that.lastEventAge, lastEventAge) == 0 &&
+                       Objects.equals(topicName, that.topicName) &&
+                       Objects.equals(getListeners(), that.getListeners());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(topicName, eventsReceived, eventParsingErrors, backlog, averageDispatchDelay, maxDispatchDelay,
+                            averageEventAge, maxEventAge, lastEventAge, getListeners());
+    }
+}
@@ -21,6 +21,8 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonSubTypes(
         {
                 @JsonSubTypes.Type(value = CohortDescription.class, name = "CohortDescription"),
+                @JsonSubTypes.Type(value = EventListenerReport.class, name = "EventListenerReport"),
+                @JsonSubTypes.Type(value = EventTopicReport.class, name = "EventTopicReport"),
         })
 abstract class OMRSProperty implements Serializable
 {
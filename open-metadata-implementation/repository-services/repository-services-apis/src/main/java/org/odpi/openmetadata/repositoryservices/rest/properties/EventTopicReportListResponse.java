@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * EventTopicReportListResponse describes the response structure for an OMRS REST API that returns
+ * the reports of the inbound events of the OMRS topics used by a server.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class EventTopicReportListResponse extends OMRSAPIResponse
+{
+    private static final long    serialVersionUID = 1L;
+
+    private List<EventTopicReport> topicReports = null;
+
+
+    /**
+     * Default constructor
+     */
+    public EventTopicReportListResponse()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public EventTopicReportListResponse(EventTopicReportListResponse template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            topicReports = template.getTopicReports();
+        }
+    }
+
+
+    /**
+     * Return the list of topic reports.
+     *
+     * @return list of reports
+     */
+    public List<EventTopicReport> getTopicReports()
+    {
+        if (topicReports == null)
+        {
+            return null;
+        }
+        else if (topicReports.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return topicReports;
+        }
+    }
+
+
+    /**
+     * Set up the list of topic reports.
+     *
+     * @param topicReports list of reports
+     */
+    public void setTopicReports(List<EventTopicReport> topicReports)
+    {
+        this.topicReports = topicReports;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "EventTopicReportListResponse{" +
+                "topicReports=" + topicReports +
+                ", relatedHTTPCode=" + relatedHTTPCode +
+                ", actionDescription='" + actionDescription + '\'' +
+                ", exceptionClassName='" + exceptionClassName + '\'' +
+                ", exceptionCausedBy='" + exceptionCausedBy + '\'' +
+                ", exceptionErrorMessage='" + exceptionErrorMessage + '\'' +
+                ", exceptionErrorMessageId='" + exceptionErrorMessageId + '\'' +
+                ", exceptionErrorMessageParameters=" + Arrays.toString(exceptionErrorMessageParameters) +
+                ", exceptionSystemAction='" + exceptionSystemAction + '\'' +
+                ", exceptionUserAction='" + exceptionUserAction + '\'' +
+                ", exceptionProperties=" + exceptionProperties +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof EventTopicReportListResponse))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        EventTopicReportListResponse
+                that = (EventTopicReportListResponse) objectToCompare;
+        return Objects.equals(getTopicReports(), that.getTopicReports());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getTopicReports());
+    }
+}
@@ -0,0 +1,40 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * MockOpenMetadataTopicConnector is an event bus connector that never receives events and keeps the events
+ * that are sent so the tests can check them.  The tests pass inbound events directly to the OMRSTopicConnector.
+ */
+public class MockOpenMetadataTopicConnector extends OpenMetadataTopicConnector
+{
+    private final List<String> sentEvents = new CopyOnWriteArrayList<>();
+
+
+    /**
+     * Save an outbound event.
+     *
+     * @param event event to send
+     */
+    @Override
+    public void sendEvent(String event)
+    {
+        sentEvents.add(event);
+    }
+
+
+    /**
+     * Return the events sent through this connector.
+     *
+     * @return list of event strings
+     */
+    public List<String> getSentEvents()
+    {
+        return sentEvents;
+    }
+}
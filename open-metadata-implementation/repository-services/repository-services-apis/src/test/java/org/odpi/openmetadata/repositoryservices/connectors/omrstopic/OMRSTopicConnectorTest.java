@@ -0,0 +1,314 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventEncoding;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.properties.EventListenerReport;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify the measurements of the inbound events made by the OMRSTopicConnector and its listener wrappers,
+ * and the choice of encoding for outbound events.
+ */
+public class OMRSTopicConnectorTest
+{
+    private static final String serverName = "testServer";
+    private static final String topicName  = "test.omrs.topic";
+
+    private SimpleMeterRegistry meterRegistry;
+    private OMRSTopicConnector  topicConnector;
+    private MockOpenMetadataTopicConnector eventBusConnector;
+
+
+    /**
+     * Create and start a topic connector with a single event bus connector that receives no events of its own.
+     *
+     * @throws Exception unexpected error
+     */
+    @BeforeMethod public void setUp() throws Exception
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(serverName, "Test Server", "Test Organization", new ArrayList<>()),
+                                                 OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR);
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(topicName);
+
+        Connection connection = new Connection();
+        connection.setQualifiedName("Test Topic Connection");
+        connection.setEndpoint(endpoint);
+
+        eventBusConnector = new MockOpenMetadataTopicConnector();
+        eventBusConnector.initialize("eventBusConnector", new ConnectionProperties(connection));
+
+        topicConnector = new OMRSTopicConnector();
+        topicConnector.initialize("topicConnector", new ConnectionProperties(new Connection()));
+        topicConnector.setAuditLog(auditLog);
+        topicConnector.initializeEmbeddedConnectors(Collections.<Connector>singletonList(eventBusConnector));
+    }
+
+
+    /**
+     * Stop the connector and detach the test registry.
+     *
+     * @throws Exception unexpected error
+     */
+    @AfterMethod public void tearDown() throws Exception
+    {
+        topicConnector.disconnect();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+
+    /**
+     * Validate that events are counted and timed and that listener failures are counted by event type.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testTopicReport() throws Exception
+    {
+        topicConnector.registerListener(new TestListener(false), "Working Service");
+        topicConnector.registerListener(new TestListener(true), "Failing Service");
+        topicConnector.start();
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, new EntityDetail());
+
+        topicConnector.processEvent(OpenMetadataEventCodec.encode(instanceEvent.getOMRSEventV1(), OpenMetadataEventEncoding.JSON));
+        topicConnector.processEvent(OpenMetadataEventCodec.encode(instanceEvent.getOMRSEventV1(), OpenMetadataEventEncoding.COMPACT));
+        topicConnector.processEvent("not an event");
+
+        EventTopicReport report = topicConnector.getTopicReport();
+
+        assertEquals(report.getTopicName(), topicName);
+        assertEquals(report.getEventsReceived(), 3L);
+        assertEquals(report.getEventParsingErrors(), 1L);
+        assertEquals(report.getBacklog(), 0);
+        assertTrue(report.getMaxEventAge() >= report.getAverageEventAge());
+        assertEquals(report.getListeners().size(), 2);
+
+        for (EventListenerReport listenerReport : report.getListeners())
+        {
+            assertEquals(listenerReport.getEventsProcessed(), 2L);
+
+            if ("Failing Service".equals(listenerReport.getServiceName()))
+            {
+                assertEquals(listenerReport.getErrorCount(), 2L);
+                assertEquals(listenerReport.getErrorsByEventType().get(OMRSInstanceEventType.NEW_ENTITY_EVENT.getName()), Long.valueOf(2L));
+            }
+            else
+            {
+                assertEquals(listenerReport.getErrorCount(), 0L);
+                assertNull(listenerReport.getErrorsByEventType());
+            }
+        }
+
+        assertEquals(meterRegistry.get("egeria.omrs.topic.event.age").tag("server", serverName).tag("topic", topicName).timer().count(), 2L);
+        assertEquals(meterRegistry.get("egeria.omrs.topic.parsing.errors").tag("topic", topicName).counter().count(), 1.0);
+        assertEquals(meterRegistry.get("egeria.omrs.listener.processing").tag("service", "Working Service").timer().count(), 2L);
+        assertEquals(meterRegistry.get("egeria.omrs.listener.errors")
+                                  .tag("service", "Failing Service")
+                                  .tag("eventType", OMRSInstanceEventType.NEW_ENTITY_EVENT.getName())
+                                  .counter()
+                                  .count(), 2.0);
+        assertNotNull(meterRegistry.find("egeria.omrs.topic.backlog").tag("topic", topicName).gauge());
+    }
+
+
+    /**
+     * Validate that V1_COMPACT only sends compact type and instance events when every member seen on the
+     * cohort accepts them, and that registry events are always sent as JSON.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testEncodingNegotiation() throws Exception
+    {
+        topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1_COMPACT);
+        topicConnector.start();
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, new EntityDetail());
+
+        /*
+         * No members are known yet.
+         */
+        topicConnector.sendInstanceEvent(instanceEvent);
+        assertFalse(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+
+        /*
+         * A member that accepts the compact encoding.
+         */
+        topicConnector.processEvent(this.getInboundRegistryEvent("newMember", OMRSRegistryEventType.REGISTRATION_EVENT, true));
+        topicConnector.sendInstanceEvent(instanceEvent);
+        assertTrue(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+
+        OMRSEventV1 sentEvent = OpenMetadataEventCodec.decode(lastSentEvent(), OMRSEventV1.class);
+        assertEquals(sentEvent.getAcceptedEncodings(), OMRSCohortEventEncodings.getLocalAcceptedEncodings());
+
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REFRESH_REGISTRATION_REQUEST));
+        assertFalse(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+
+        /*
+         * A member that predates the compact encoding.
+         */
+        topicConnector.processEvent(this.getInboundRegistryEvent("oldMember", OMRSRegistryEventType.REGISTRATION_EVENT, false));
+        topicConnector.sendInstanceEvent(instanceEvent);
+        assertFalse(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+
+        /*
+         * The old member leaves the cohort.
+         */
+        topicConnector.processEvent(this.getInboundRegistryEvent("oldMember", OMRSRegistryEventType.UN_REGISTRATION_EVENT, false));
+        topicConnector.sendInstanceEvent(instanceEvent);
+        assertTrue(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+    }
+
+
+    /**
+     * Validate that V1 always sends JSON whatever the members accept.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testJSONProtocol() throws Exception
+    {
+        topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1);
+        topicConnector.start();
+
+        topicConnector.processEvent(this.getInboundRegistryEvent("newMember", OMRSRegistryEventType.REGISTRATION_EVENT, true));
+        topicConnector.sendInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, new EntityDetail()));
+
+        assertFalse(OpenMetadataEventCodec.isCompact(lastSentEvent()));
+    }
+
+
+    /**
+     * Return the last event passed to the event bus connector.
+     *
+     * @return event string
+     */
+    private String lastSentEvent()
+    {
+        List<String> sentEvents = eventBusConnector.getSentEvents();
+
+        assertFalse(sentEvents.isEmpty());
+
+        return sentEvents.get(sentEvents.size() - 1);
+    }
+
+
+    /**
+     * Build a registry event as sent by another member of the cohort.
+     *
+     * @param metadataCollectionId metadata collection of the member
+     * @param registryEventType type of event
+     * @param acceptsCompact whether the member lists the compact encoding - if not, no list is sent
+     * @return encoded event
+     * @throws Exception unexpected error
+     */
+    private String getInboundRegistryEvent(String                metadataCollectionId,
+                                           OMRSRegistryEventType registryEventType,
+                                           boolean               acceptsCompact) throws Exception
+    {
+        OMRSEventOriginator originator = new OMRSEventOriginator();
+        originator.setMetadataCollectionId(metadataCollectionId);
+
+        OMRSEventV1 event = new OMRSRegistryEvent(registryEventType).getOMRSEventV1();
+        event.setOriginator(originator);
+
+        if (acceptsCompact)
+        {
+            event.setAcceptedEncodings(OMRSCohortEventEncodings.getLocalAcceptedEncodings());
+        }
+
+        return OpenMetadataEventCodec.encode(event, OpenMetadataEventEncoding.JSON);
+    }
+
+
+    /**
+     * Listener that optionally fails when it receives an instance event.
+     */
+    private static class TestListener implements OMRSTopicListener
+    {
+        private final boolean fail;
+
+        /**
+         * Constructor.
+         *
+         * @param fail whether instance events throw an exception
+         */
+        TestListener(boolean fail)
+        {
+            this.fail = fail;
+        }
+
+
+        /**
+         * Ignore registry events.
+         *
+         * @param event inbound event
+         */
+        @Override
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+        }
+
+
+        /**
+         * Ignore type events.
+         *
+         * @param event inbound event
+         */
+        @Override
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+
+        /**
+         * Accept or reject an instance event.
+         *
+         * @param event inbound event
+         */
+        @Override
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            if (fail)
+            {
+                throw new IllegalStateException("Test failure");
+            }
+        }
+    }
+}
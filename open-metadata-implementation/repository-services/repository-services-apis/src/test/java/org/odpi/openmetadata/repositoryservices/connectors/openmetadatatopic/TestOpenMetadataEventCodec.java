@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that OpenMetadataEventCodec produces events that can be read back in both encodings,
+ * and that the encoding is detected on receipt.
+ */
+public class TestOpenMetadataEventCodec
+{
+    /**
+     * Build an instance event with a few properties.
+     *
+     * @return event bean
+     */
+    private OMRSEventV1 getTestEvent()
+    {
+        InstanceType instanceType = new InstanceType();
+
+        instanceType.setTypeDefGUID("TestTypeGUID");
+        instanceType.setTypeDefName("TestTypeName");
+
+        InstanceProperties properties = new InstanceProperties();
+
+        for (int i = 0; i < 5; i++)
+        {
+            PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+            propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            propertyValue.setPrimitiveValue("TestValue" + i);
+            propertyValue.setTypeName("string");
+
+            properties.setProperty("property" + i, propertyValue);
+        }
+
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID("TestEntityGUID");
+        entity.setType(instanceType);
+        entity.setProperties(properties);
+
+        return new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity).getOMRSEventV1();
+    }
+
+
+    /**
+     * Validate that a JSON event can be read back.
+     */
+    @Test public void testJSON()
+    {
+        try
+        {
+            String eventString = OpenMetadataEventCodec.encode(getTestEvent(), OpenMetadataEventEncoding.JSON);
+
+            assertFalse(OpenMetadataEventCodec.isCompact(eventString));
+            assertTrue(eventString.startsWith("{"));
+
+            OMRSEventBean eventBean = OpenMetadataEventCodec.decode(eventString, OMRSEventBean.class);
+
+            assertTrue(eventBean instanceof OMRSEventV1);
+            assertEquals(((OMRSEventV1)eventBean).getInstanceEventSection().getEntity().getGUID(), "TestEntityGUID");
+        }
+        catch (Exception exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+    }
+
+
+    /**
+     * Validate that a compact event can be read back, is smaller than the JSON and can be converted to JSON.
+     */
+    @Test public void testCompact()
+    {
+        try
+        {
+            OMRSEventV1 event = getTestEvent();
+
+            String jsonString    = OpenMetadataEventCodec.encode(event, OpenMetadataEventEncoding.JSON);
+            String compactString = OpenMetadataEventCodec.encode(event, OpenMetadataEventEncoding.COMPACT);
+
+            assertTrue(OpenMetadataEventCodec.isCompact(compactString));
+            assertTrue(compactString.length() < jsonString.length());
+
+            OMRSEventBean eventBean = OpenMetadataEventCodec.decode(compactString, OMRSEventBean.class);
+
+            assertTrue(eventBean instanceof OMRSEventV1);
+
+            EntityDetail entity = ((OMRSEventV1)eventBean).getInstanceEventSection().getEntity();
+
+            assertEquals(entity.getGUID(), "TestEntityGUID");
+            assertEquals(entity.getType().getTypeDefName(), "TestTypeName");
+            assertEquals(entity.getProperties().getPropertyCount(), 5);
+
+            assertTrue(OpenMetadataEventCodec.toJSON(compactString).contains("TestEntityGUID"));
+        }
+        catch (Exception exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+    }
+
+
+    /**
+     * Validate the lookup of encodings by name.
+     */
+    @Test public void testEncodingNames()
+    {
+        assertEquals(OpenMetadataEventEncoding.getEncoding("compact"), OpenMetadataEventEncoding.COMPACT);
+        assertEquals(OpenMetadataEventEncoding.getEncoding("JSON"), OpenMetadataEventEncoding.JSON);
+        assertEquals(OpenMetadataEventEncoding.getEncoding(null), OpenMetadataEventEncoding.JSON);
+        assertEquals(OpenMetadataEventEncoding.getEncoding("unknown"), OpenMetadataEventEncoding.JSON);
+    }
+}
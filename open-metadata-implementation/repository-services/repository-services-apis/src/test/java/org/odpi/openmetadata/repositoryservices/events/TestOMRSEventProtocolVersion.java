@@ -55,6 +55,12 @@ public class TestOMRSEventProtocolVersion
         assertTrue(isUniqueOrdinal(testValue.getOrdinal()));
         assertTrue(testValue.getName() != null);
         assertTrue(testValue.getDescription() != null);
+
+        testValue = OMRSEventProtocolVersion.V1_COMPACT;
+
+        assertTrue(isUniqueOrdinal(testValue.getOrdinal()));
+        assertTrue(testValue.getName() != null);
+        assertTrue(testValue.getDescription() != null);
     }
 
 
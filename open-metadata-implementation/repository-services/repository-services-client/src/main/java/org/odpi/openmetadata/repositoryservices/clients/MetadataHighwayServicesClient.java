@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistry
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
 import org.odpi.openmetadata.repositoryservices.rest.properties.*;
 import java.util.List;
 import java.util.Map;
@@ -189,6 +190,49 @@ public class MetadataHighwayServicesClient implements AuditLoggingComponent
     }
 
 
+    /**
+     * Returns the reports of the inbound events of the topics used by the cohorts the server is a member of.
+     *
+     * @param userId calling user
+     * @return List of EventTopicReport objects summarizing the events received from each topic
+     * @throws InvalidParameterException one of the supplied parameters caused a problem
+     * @throws RepositoryErrorException there is a problem communicating with the remote server.
+     * @throws UserNotAuthorizedException the user is not authorized to perform the operation requested
+     */
+    public List<EventTopicReport> getTopicReports(String   userId) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getTopicReports";
+        final String operationSpecificURL = "/metadata-highway/topic-reports";
+
+        EventTopicReportListResponse restResult = null;
+
+        try {
+            restResult = restClient.callGetRESTCall(methodName,
+                                                    EventTopicReportListResponse.class,
+                                                    restURLRoot + rootServiceNameInURL + userIdInURL + operationSpecificURL,
+                                                    userId);
+        }
+        catch (Throwable error)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.REMOTE_REPOSITORY_ERROR.getMessageDefinition(methodName,
+                                                                                                          serverName,
+                                                                                                          error.getClass().getSimpleName(),
+                                                                                                          error.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+
+        return restResult.getTopicReports();
+    }
+
+
 
     /**
      * Returns the registration of the local server in the specified cohort
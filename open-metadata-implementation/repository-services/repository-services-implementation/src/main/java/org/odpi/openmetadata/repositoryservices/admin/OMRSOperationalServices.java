@@ -25,6 +25,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryeventmapper.OMRSRepositoryEventMapperConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectionConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSEnterpriseConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseInstanceCache;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseInstanceCacheEventProcessor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSConnection;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventExchangeRule;
@@ -33,6 +35,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSConnectorProvider;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationMemberStatistics;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationRoutingStatistics;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSConnectorProvider;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
@@ -91,6 +95,8 @@ public class OMRSOperationalServices
     private OMRSArchiveManager             archiveManager                   = null;
     private OMRSAuditLogDestination        auditLogDestination              = null;
     private OMRSAuditLog                   auditLog                         = null;
+    private FederationRoutingStatistics    federationRoutingStatistics      = null;
+    private EnterpriseInstanceCache        enterpriseInstanceCache          = null;
 
 
 
@@ -169,6 +175,8 @@ public class OMRSOperationalServices
 
                 omrsRepositoryConnector.setCallingServiceName(callingServiceName);
                 omrsRepositoryConnector.setMaxPageSize(maxPageSize);
+                omrsRepositoryConnector.setRoutingStatistics(this.getFederationRoutingStatistics());
+                omrsRepositoryConnector.setInstanceCache(enterpriseInstanceCache);
 
                 auditLog.logMessage(actionDescription, OMRSAuditCode.NEW_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
 
@@ -190,6 +198,25 @@ public class OMRSOperationalServices
     }
 
 
+    /**
+     * Return the statistics used by the enterprise connectors to route lookups of instances by unique identifier.
+     * They are shared by all of the enterprise connectors so each access service benefits from the lookups of the others.
+     *
+     * @return statistics object
+     */
+    public synchronized FederationRoutingStatistics getFederationRoutingStatistics()
+    {
+        if (federationRoutingStatistics == null)
+        {
+            federationRoutingStatistics = new FederationRoutingStatistics(localServerName,
+                                                                          FederationRoutingStatistics.DEFAULT_HOME_CACHE_SIZE,
+                                                                          FederationRoutingStatistics.DEFAULT_HEDGE_PERCENTILE);
+        }
+
+        return federationRoutingStatistics;
+    }
+
+
     /**
      * Return the enterprise connector manager.  This is used by the conformance suite to get access to connectors
      * to registered members of the cohorts that this server is connected to.  That way it can exercise their
@@ -348,6 +375,7 @@ public class OMRSOperationalServices
                                                                           maxPageSize,
                                                                           localRepositoryContentManager);
         enterpriseOMRSTopicConnector = initializeEnterpriseOMRSTopicConnector(enterpriseAccessConfig);
+        enterpriseInstanceCache = initializeEnterpriseInstanceCache(enterpriseAccessConfig);
 
         /*
          * The archive manager loads pre-defined types and instances that are stored in open metadata archives.
@@ -394,6 +422,15 @@ public class OMRSOperationalServices
                 this.localRepositoryEventManager.registerRepositoryEventProcessor(enterpriseEventPublisher);
             }
 
+            /*
+             * Changes made to the local repository must remove the old versions of the instances from
+             * the enterprise instance cache.
+             */
+            if (enterpriseInstanceCache != null)
+            {
+                this.localRepositoryEventManager.registerInstanceProcessor(new EnterpriseInstanceCacheEventProcessor(enterpriseInstanceCache));
+            }
+
             /*
              * Pass the local metadata collectionId to the AuditLog
              */
@@ -428,6 +465,8 @@ public class OMRSOperationalServices
          */
         if (localRepositoryConnector != null)
         {
+            archiveManager.setArchiveFingerprintDirectory(localRepositoryConfig.getArchiveFingerprintDirectory(),
+                                                          localRepositoryConnector);
             archiveManager.setLocalRepository(localMetadataCollectionId,
                                               localRepositoryContentManager,
                                               localRepositoryConnector.getIncomingInstanceEventProcessor());
@@ -628,6 +667,35 @@ public class OMRSOperationalServices
     }
 
 
+    /**
+     * Create the cache of entities and relationships shared by the enterprise repository connectors.  The cache is
+     * optional and is only created if the enterprise access configuration sets a cache size.
+     *
+     * @param enterpriseAccessConfig enterprise access config (may be null)
+     * @return instance cache or null if instances are not cached
+     */
+    private EnterpriseInstanceCache initializeEnterpriseInstanceCache(EnterpriseAccessConfig  enterpriseAccessConfig)
+    {
+        if ((enterpriseAccessConfig != null) &&
+            (enterpriseAccessConfig.getEnterpriseInstanceCacheSize() != null) &&
+            (enterpriseAccessConfig.getEnterpriseInstanceCacheSize() > 0))
+        {
+            int timeToLive = EnterpriseInstanceCache.DEFAULT_TIME_TO_LIVE;
+
+            if (enterpriseAccessConfig.getEnterpriseInstanceCacheTimeToLive() != null)
+            {
+                timeToLive = enterpriseAccessConfig.getEnterpriseInstanceCacheTimeToLive();
+            }
+
+            return new EnterpriseInstanceCache(localServerName,
+                                               enterpriseAccessConfig.getEnterpriseInstanceCacheSize(),
+                                               timeToLive);
+        }
+
+        return null;
+    }
+
+
     /**
      * Initialize the OMRSEnterpriseConnectorManager and the EnterpriseOMRSConnector class.  If the
      * enterprise access configuration is null it means federation is not enabled.  However, the enterprise
@@ -737,6 +805,9 @@ public class OMRSOperationalServices
             }
             localRepositoryConnector = this.getLocalOMRSConnector(localRepositoryConnection,
                                                                   localConnectorProvider);
+
+            localRepositoryConnector.setReferenceCopyBatching(localRepositoryConfig.getReferenceCopyBatchSize(),
+                                                              localRepositoryConfig.getReferenceCopyBatchWindow());
         }
 
         return localRepositoryConnector;
@@ -817,6 +888,14 @@ public class OMRSOperationalServices
                                                                                             enterpriseTopicConnector,
                                                                                             auditLog.createNewAuditLog(OMRSAuditingComponent.METADATA_HIGHWAY_MANAGER));
 
+        /*
+         * Events from the cohorts must remove the old versions of the instances from the enterprise instance cache.
+         */
+        if (enterpriseInstanceCache != null)
+        {
+            metadataHighwayManager.setEnterpriseInstanceEventProcessor(new EnterpriseInstanceCacheEventProcessor(enterpriseInstanceCache));
+        }
+
         /*
          * The metadata highway manager is initialize with the details specific to each cohort.
          */
@@ -923,6 +1002,23 @@ public class OMRSOperationalServices
             archiveManager.close();
         }
 
+        if (enterpriseInstanceCache != null)
+        {
+            enterpriseInstanceCache.shutdown();
+        }
+
+        if (federationRoutingStatistics != null)
+        {
+            for (FederationMemberStatistics memberStatistics : federationRoutingStatistics.getMemberStatistics())
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.FEDERATION_MEMBER_STATISTICS.getMessageDefinition(Long.toString(memberStatistics.getRequests()),
+                                                                                                    memberStatistics.getMetadataCollectionId(),
+                                                                                                    Long.toString(memberStatistics.getHits()),
+                                                                                                    String.format("%.1f", memberStatistics.getAverageLatencyMillis())));
+            }
+        }
+
         auditLog.logMessage(actionDescription, OMRSAuditCode.OMRS_DISCONNECTED.getMessageDefinition());
 
         return true;
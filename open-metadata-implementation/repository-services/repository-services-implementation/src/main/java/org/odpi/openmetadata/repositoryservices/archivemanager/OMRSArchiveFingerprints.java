@@ -0,0 +1,349 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * OMRSArchiveFingerprints records the content of the open metadata archives that have been loaded into the local
+ * repository.  There is one fingerprint file for each metadata collection.  It maps the unique identifier (guid)
+ * of each archive to the archive version, a fingerprint of its whole content, the fingerprints of its type
+ * definitions and classifications, and the fingerprint of each entity and relationship.  The archive manager uses
+ * these fingerprints to skip the instances that have not changed since the archive was last loaded.
+ */
+class OMRSArchiveFingerprints
+{
+    private static final String fingerprintFileSuffix = ".archives.json";
+    private static final String digestAlgorithm       = "SHA-256";
+
+    /*
+     * Content is serialized with its maps in key order so the same content always has the same fingerprint.
+     */
+    private static final ObjectMapper contentMapper = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private static final ObjectMapper fileMapper     = new ObjectMapper();
+
+    private final File                            fingerprintFile;
+    private final AuditLog                        auditLog;
+    private final Map<String, ArchiveFingerprint> archiveFingerprints = new HashMap<>();
+
+
+    /**
+     * Constructor reads any fingerprints saved for the metadata collection.
+     *
+     * @param fingerprintDirectory directory where the fingerprint files are kept
+     * @param metadataCollectionId metadata collection of the local repository
+     * @param auditLog logging destination
+     */
+    OMRSArchiveFingerprints(String   fingerprintDirectory,
+                            String   metadataCollectionId,
+                            AuditLog auditLog)
+    {
+        this.fingerprintFile = new File(fingerprintDirectory, metadataCollectionId + fingerprintFileSuffix);
+        this.auditLog = auditLog;
+
+        if (fingerprintFile.exists())
+        {
+            try
+            {
+                Map<String, ArchiveFingerprint> savedFingerprints
+                        = fileMapper.readValue(fingerprintFile,
+                                               fileMapper.getTypeFactory().constructMapType(HashMap.class, String.class, ArchiveFingerprint.class));
+                if (savedFingerprints != null)
+                {
+                    archiveFingerprints.putAll(savedFingerprints);
+                }
+            }
+            catch (Exception error)
+            {
+                this.logFingerprintError("read", error);
+            }
+        }
+    }
+
+
+    /**
+     * Return the fingerprint recorded when an archive was last loaded.
+     *
+     * @param archiveGUID unique identifier of the archive
+     * @return fingerprint or null if the archive has not been loaded before
+     */
+    ArchiveFingerprint getArchiveFingerprint(String archiveGUID)
+    {
+        return archiveFingerprints.get(archiveGUID);
+    }
+
+
+    /**
+     * Record the fingerprint of an archive that has been loaded and save the fingerprint file.
+     *
+     * @param archiveGUID unique identifier of the archive
+     * @param archiveFingerprint fingerprint of the loaded content
+     */
+    void saveArchiveFingerprint(String             archiveGUID,
+                                ArchiveFingerprint archiveFingerprint)
+    {
+        archiveFingerprints.put(archiveGUID, archiveFingerprint);
+
+        try
+        {
+            File directory = fingerprintFile.getAbsoluteFile().getParentFile();
+
+            if (directory != null)
+            {
+                Files.createDirectories(directory.toPath());
+            }
+
+            /*
+             * The new content is written to a separate file first so that a failure part way through does
+             * not leave a damaged fingerprint file.
+             */
+            File newFingerprintFile = new File(fingerprintFile.getPath() + ".new");
+
+            fileMapper.writeValue(newFingerprintFile, archiveFingerprints);
+            Files.move(newFingerprintFile.toPath(), fingerprintFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (Exception error)
+        {
+            this.logFingerprintError("write", error);
+        }
+    }
+
+
+    /**
+     * Return the fingerprint of part of an archive as it is passed to the local repository.
+     *
+     * @param content entity, relationship, list of classifications or type store from the archive (may be null)
+     * @return base 64 encoded digest of the content's JSON form or null if it can not be calculated
+     */
+    static String getFingerprint(Object content)
+    {
+        try
+        {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance(digestAlgorithm).digest(contentMapper.writeValueAsBytes(content)));
+        }
+        catch (Exception error)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the fingerprint of the whole content of an archive.  It is calculated from the fingerprints of its
+     * type definitions and classifications, and the fingerprints of its entities and relationships in the order
+     * they appear in the archive.
+     *
+     * @param archiveFingerprint fingerprints of the parts of the archive
+     * @return base 64 encoded digest
+     * @throws NoSuchAlgorithmException the digest algorithm is not available
+     */
+    static String getContentFingerprint(ArchiveFingerprint archiveFingerprint) throws NoSuchAlgorithmException
+    {
+        MessageDigest digest = MessageDigest.getInstance(digestAlgorithm);
+
+        digest.update(String.valueOf(archiveFingerprint.getTypeFingerprint()).getBytes(StandardCharsets.UTF_8));
+        digest.update(String.valueOf(archiveFingerprint.getClassificationFingerprint()).getBytes(StandardCharsets.UTF_8));
+
+        for (Map.Entry<String, String> entityFingerprint : archiveFingerprint.getEntityFingerprints().entrySet())
+        {
+            digest.update(entityFingerprint.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(entityFingerprint.getValue()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (Map.Entry<String, String> relationshipFingerprint : archiveFingerprint.getRelationshipFingerprints().entrySet())
+        {
+            digest.update(relationshipFingerprint.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(relationshipFingerprint.getValue()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+
+    /**
+     * Log a problem with the fingerprint file.
+     *
+     * @param operation read or write
+     * @param error exception from the file system or JSON parser
+     */
+    private void logFingerprintError(String    operation,
+                                     Exception error)
+    {
+        final String actionDescription = "Process Open Metadata Archive";
+
+        auditLog.logException(actionDescription,
+                              OMRSAuditCode.ARCHIVE_FINGERPRINT_ERROR.getMessageDefinition(operation,
+                                                                                           fingerprintFile.getPath(),
+                                                                                           error.getClass().getName(),
+                                                                                           error.getMessage()),
+                              error);
+    }
+
+
+    /**
+     * ArchiveFingerprint describes the content of an archive when it was loaded into the local repository.
+     */
+    static class ArchiveFingerprint
+    {
+        private String              archiveVersion            = null;
+        private String              contentFingerprint        = null;
+        private String              typeFingerprint           = null;
+        private String              classificationFingerprint = null;
+        private Map<String, String> entityFingerprints        = new LinkedHashMap<>();
+        private Map<String, String> relationshipFingerprints  = new LinkedHashMap<>();
+
+
+        /**
+         * Default constructor used for JSON to Java processes.
+         */
+        public ArchiveFingerprint()
+        {
+        }
+
+
+        /**
+         * Return the version of the archive.
+         *
+         * @return version string
+         */
+        public String getArchiveVersion()
+        {
+            return archiveVersion;
+        }
+
+
+        /**
+         * Set up the version of the archive.
+         *
+         * @param archiveVersion version string
+         */
+        public void setArchiveVersion(String archiveVersion)
+        {
+            this.archiveVersion = archiveVersion;
+        }
+
+
+        /**
+         * Return the fingerprint of the whole content of the archive.
+         *
+         * @return base 64 encoded digest
+         */
+        public String getContentFingerprint()
+        {
+            return contentFingerprint;
+        }
+
+
+        /**
+         * Set up the fingerprint of the whole content of the archive.
+         *
+         * @param contentFingerprint base 64 encoded digest
+         */
+        public void setContentFingerprint(String contentFingerprint)
+        {
+            this.contentFingerprint = contentFingerprint;
+        }
+
+
+        /**
+         * Return the fingerprint of the archive's type store.
+         *
+         * @return base 64 encoded digest
+         */
+        public String getTypeFingerprint()
+        {
+            return typeFingerprint;
+        }
+
+
+        /**
+         * Set up the fingerprint of the archive's type store.
+         *
+         * @param typeFingerprint base 64 encoded digest
+         */
+        public void setTypeFingerprint(String typeFingerprint)
+        {
+            this.typeFingerprint = typeFingerprint;
+        }
+
+
+        /**
+         * Return the fingerprint of the archive's classification entity extensions.
+         *
+         * @return base 64 encoded digest
+         */
+        public String getClassificationFingerprint()
+        {
+            return classificationFingerprint;
+        }
+
+
+        /**
+         * Set up the fingerprint of the archive's classification entity extensions.
+         *
+         * @param classificationFingerprint base 64 encoded digest
+         */
+        public void setClassificationFingerprint(String classificationFingerprint)
+        {
+            this.classificationFingerprint = classificationFingerprint;
+        }
+
+
+        /**
+         * Return the map from entity guid to the fingerprint of the entity.
+         *
+         * @return map in archive order
+         */
+        public Map<String, String> getEntityFingerprints()
+        {
+            return entityFingerprints;
+        }
+
+
+        /**
+         * Set up the map from entity guid to the fingerprint of the entity.
+         *
+         * @param entityFingerprints map in archive order
+         */
+        public void setEntityFingerprints(Map<String, String> entityFingerprints)
+        {
+            this.entityFingerprints = (entityFingerprints == null) ? new LinkedHashMap<>() : entityFingerprints;
+        }
+
+
+        /**
+         * Return the map from relationship guid to the fingerprint of the relationship.
+         *
+         * @return map in archive order
+         */
+        public Map<String, String> getRelationshipFingerprints()
+        {
+            return relationshipFingerprints;
+        }
+
+
+        /**
+         * Set up the map from relationship guid to the fingerprint of the relationship.
+         *
+         * @param relationshipFingerprints map in archive order
+         */
+        public void setRelationshipFingerprints(Map<String, String> relationshipFingerprints)
+        {
+            this.relationshipFingerprints = (relationshipFingerprints == null) ? new LinkedHashMap<>() : relationshipFingerprints;
+        }
+    }
+}
@@ -12,16 +12,22 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.p
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSInstanceEventProcessor;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
@@ -33,6 +39,9 @@ public class OMRSArchiveManager
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private LocalOMRSInstanceEventProcessor         localInstanceEventProcessor = null;
+    private String                                  archiveFingerprintDirectory = null;
+    private OMRSRepositoryConnector                 localRepositoryConnector    = null;
+    private OMRSArchiveFingerprints                 archiveFingerprints         = null;
 
 
     /*
@@ -84,6 +93,21 @@ public class OMRSArchiveManager
     }
 
 
+    /**
+     * Request that the fingerprints of the archives loaded into the local repository are kept in the supplied directory
+     * so that unchanged instances are not loaded again.  This must be called before the local repository is set up.
+     *
+     * @param archiveFingerprintDirectory directory for the fingerprint files (null means always load the archives in full)
+     * @param localRepositoryConnector connector to the local repository used to check that it holds the loaded instances
+     */
+    public void setArchiveFingerprintDirectory(String                  archiveFingerprintDirectory,
+                                               OMRSRepositoryConnector localRepositoryConnector)
+    {
+        this.archiveFingerprintDirectory = archiveFingerprintDirectory;
+        this.localRepositoryConnector = localRepositoryConnector;
+    }
+
+
     /**
      * The local repository is accessed through its inbound event processors.  A server will always have
      * the local Content Manager and TypeDef Processor but the local Instance Processor is only available
@@ -100,6 +124,12 @@ public class OMRSArchiveManager
         this.repositoryContentManager = repositoryContentManager;
         this.localInstanceEventProcessor = instanceProcessor;
 
+        if ((archiveFingerprintDirectory != null) && (localRepositoryConnector != null) &&
+            (instanceProcessor != null) && (localMetadataCollectionId != null))
+        {
+            this.archiveFingerprints = new OMRSArchiveFingerprints(archiveFingerprintDirectory, localMetadataCollectionId, auditLog);
+        }
+
         /*
          * The repository content manager is seeded with all of the open metadata types.
          */
@@ -217,7 +247,7 @@ public class OMRSArchiveManager
 
             if (archiveInstanceStore != null)
             {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                instanceCount = this.processInstanceStore(archiveProperties, archiveTypeStore, archiveInstanceStore, instanceProcessor);
             }
 
             auditLog.logMessage(actionDescription,
@@ -349,12 +379,14 @@ public class OMRSArchiveManager
      * Any problems found in applying the archive contents are recorded on the audit log.
      *
      * @param archiveProperties properties describing the archive used in logging
+     * @param archiveTypeStore the type store from the same archive (may be null) - it is part of the archive's fingerprint
      * @param archiveInstanceStore the instance store to process
      * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
      *                          if there is no local repository configured for this server.
      * @return instance count
      */
     private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
+                                      OpenMetadataArchiveTypeStore              archiveTypeStore,
                                       OpenMetadataArchiveInstanceStore          archiveInstanceStore,
                                       OMRSInstanceEventProcessorInterface       instanceProcessor)
     {
@@ -388,6 +420,9 @@ public class OMRSArchiveManager
                 originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
             }
 
+            /*
+             * The headers are set up first because they are part of the archive's fingerprint.
+             */
             if (entities != null)
             {
                 for (EntityDetail entity : entities)
@@ -402,7 +437,79 @@ public class OMRSArchiveManager
                                                     provenanceType,
                                                     originatorLicense,
                                                     entity);
+                    }
+                }
+            }
+
+            if (relationships != null)
+            {
+                for (Relationship relationship : relationships)
+                {
+                    if (relationship != null)
+                    {
+                        this.setInstanceAuditHeader(localMetadataCollectionId,
+                                                    homeMetadataCollectionId,
+                                                    archiveName,
+                                                    originatorName,
+                                                    archiveCreationTime,
+                                                    provenanceType,
+                                                    originatorLicense,
+                                                    relationship);
+                    }
+                }
+            }
+
+            if (classifications != null)
+            {
+                for (ClassificationEntityExtension classificationEntityExtension : classifications)
+                {
+                    if ((classificationEntityExtension != null) && (classificationEntityExtension.getClassification() != null))
+                    {
+                        this.setInstanceAuditHeader(localMetadataCollectionId,
+                                                    homeMetadataCollectionId,
+                                                    archiveName,
+                                                    originatorName,
+                                                    archiveCreationTime,
+                                                    provenanceType,
+                                                    originatorLicense,
+                                                    classificationEntityExtension.getClassification());
+                    }
+                }
+            }
+
+            OMRSArchiveFingerprints.ArchiveFingerprint archiveFingerprint = null;
+            Set<String>                                unchangedInstances = new HashSet<>();
+            boolean                                    archiveUnchanged   = false;
+            long                                       failedEventCount   = 0;
+
+            if (archiveFingerprints != null)
+            {
+                archiveFingerprint = this.getArchiveFingerprint(archiveProperties, archiveTypeStore, entities, relationships, classifications);
+
+                if (archiveFingerprint != null)
+                {
+                    unchangedInstances = this.getUnchangedInstances(archiveProperties, archiveFingerprint, entities, relationships);
+
+                    if (unchangedInstances == null)
+                    {
+                        /*
+                         * The archive has not changed since it was last loaded so its entities and relationships
+                         * are skipped.
+                         */
+                        archiveUnchanged   = true;
+                        unchangedInstances = new HashSet<>();
+                    }
+
+                    failedEventCount = localInstanceEventProcessor.getFailedEventCount();
+                }
+            }
 
+            if ((entities != null) && (! archiveUnchanged))
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if ((entity != null) && (! unchangedInstances.contains(entity.getGUID())))
+                    {
                         /*
                          * There is no need to support delete in archive because the elements are
                          * reference copies and can be deleted from the receiving repositories.
@@ -432,21 +539,12 @@ public class OMRSArchiveManager
                 }
             }
 
-            if (relationships != null)
+            if ((relationships != null) && (! archiveUnchanged))
             {
                 for (Relationship relationship : relationships)
                 {
-                    if (relationship != null)
+                    if ((relationship != null) && (! unchangedInstances.contains(relationship.getGUID())))
                     {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
                         /*
                          * There is no need to support delete in archive because the elements are
                          * reference copies and can be deleted from the receiving repositories.
@@ -476,26 +574,12 @@ public class OMRSArchiveManager
                 }
             }
 
-
             if (classifications != null)
             {
                 for (ClassificationEntityExtension classificationEntityExtension : classifications)
                 {
                     if (classificationEntityExtension != null)
                     {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
                         // Todo
                         /* new methods required
                         if (classification.getVersion() == 1L)
@@ -522,6 +606,11 @@ public class OMRSArchiveManager
                     }
                 }
             }
+
+            if ((archiveFingerprint != null) && (! archiveUnchanged))
+            {
+                this.saveArchiveFingerprint(archiveProperties, archiveFingerprint, failedEventCount);
+            }
         }
         else
         {
@@ -534,6 +623,266 @@ public class OMRSArchiveManager
     }
 
 
+    /**
+     * Record the fingerprint of an archive once its instances have been saved in the local repository.  Any
+     * reference copies that are waiting to be batched are saved first.  The fingerprint is not recorded if any
+     * of the instances failed so they are retried when the archive is next loaded.
+     *
+     * @param archiveProperties properties describing the archive
+     * @param archiveFingerprint fingerprint of the archive's content
+     * @param failedEventCount count of the local instance event processor's failures before the instances were processed
+     */
+    private void saveArchiveFingerprint(OpenMetadataArchiveProperties              archiveProperties,
+                                        OMRSArchiveFingerprints.ArchiveFingerprint archiveFingerprint,
+                                        long                                       failedEventCount)
+    {
+        final String actionDescription = "Process Open Metadata Archive";
+
+        localInstanceEventProcessor.flushReferenceCopies();
+
+        long failures = localInstanceEventProcessor.getFailedEventCount() - failedEventCount;
+
+        if (failures == 0)
+        {
+            archiveFingerprints.saveArchiveFingerprint(archiveProperties.getArchiveGUID(), archiveFingerprint);
+        }
+        else
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.ARCHIVE_FINGERPRINT_NOT_SAVED.getMessageDefinition(archiveProperties.getArchiveName(),
+                                                                                                 Long.toString(failures),
+                                                                                                 localMetadataCollectionId));
+        }
+    }
+
+
+    /**
+     * Calculate the fingerprint of the content of an archive.  This covers its type definitions, entities,
+     * relationships and classifications.
+     *
+     * @param archiveProperties properties describing the archive
+     * @param archiveTypeStore type definitions from the archive (may be null)
+     * @param entities entities from the archive
+     * @param relationships relationships from the archive
+     * @param classifications classifications from the archive
+     * @return fingerprint or null if it can not be calculated
+     */
+    private OMRSArchiveFingerprints.ArchiveFingerprint getArchiveFingerprint(OpenMetadataArchiveProperties       archiveProperties,
+                                                                             OpenMetadataArchiveTypeStore        archiveTypeStore,
+                                                                             List<EntityDetail>                  entities,
+                                                                             List<Relationship>                  relationships,
+                                                                             List<ClassificationEntityExtension> classifications)
+    {
+        OMRSArchiveFingerprints.ArchiveFingerprint archiveFingerprint = new OMRSArchiveFingerprints.ArchiveFingerprint();
+
+        archiveFingerprint.setArchiveVersion(archiveProperties.getArchiveVersion());
+        archiveFingerprint.setTypeFingerprint(OMRSArchiveFingerprints.getFingerprint(archiveTypeStore));
+        archiveFingerprint.setClassificationFingerprint(OMRSArchiveFingerprints.getFingerprint(classifications));
+
+        if (entities != null)
+        {
+            for (EntityDetail entity : entities)
+            {
+                if ((entity != null) && (entity.getGUID() != null))
+                {
+                    archiveFingerprint.getEntityFingerprints().put(entity.getGUID(), OMRSArchiveFingerprints.getFingerprint(entity));
+                }
+            }
+        }
+
+        if (relationships != null)
+        {
+            for (Relationship relationship : relationships)
+            {
+                if ((relationship != null) && (relationship.getGUID() != null))
+                {
+                    archiveFingerprint.getRelationshipFingerprints().put(relationship.getGUID(),
+                                                                         OMRSArchiveFingerprints.getFingerprint(relationship));
+                }
+            }
+        }
+
+        try
+        {
+            archiveFingerprint.setContentFingerprint(OMRSArchiveFingerprints.getContentFingerprint(archiveFingerprint));
+        }
+        catch (Exception error)
+        {
+            return null;
+        }
+
+        return archiveFingerprint;
+    }
+
+
+    /**
+     * Compare the instances in an archive with the fingerprint recorded when the archive was last loaded.
+     * The instances that have not changed are only skipped if all of them are found in the local repository.
+     *
+     * @param archiveProperties properties describing the archive
+     * @param archiveFingerprint fingerprint of the archive's current content
+     * @param entities entities from the archive
+     * @param relationships relationships from the archive
+     * @return guids of the instances that do not need to be processed, or null if the whole archive is unchanged
+     */
+    private Set<String> getUnchangedInstances(OpenMetadataArchiveProperties              archiveProperties,
+                                              OMRSArchiveFingerprints.ArchiveFingerprint archiveFingerprint,
+                                              List<EntityDetail>                         entities,
+                                              List<Relationship>                         relationships)
+    {
+        final String actionDescription = "Process Open Metadata Archive";
+
+        OMRSArchiveFingerprints.ArchiveFingerprint previousFingerprint = archiveFingerprints.getArchiveFingerprint(archiveProperties.getArchiveGUID());
+        Set<String>                                unchangedInstances  = new HashSet<>();
+
+        if (previousFingerprint == null)
+        {
+            return unchangedInstances;
+        }
+
+        List<EntityDetail> unchangedEntities      = new ArrayList<>();
+        List<Relationship> unchangedRelationships = new ArrayList<>();
+
+        this.addUnchangedInstances(entities,
+                                   archiveFingerprint.getEntityFingerprints(),
+                                   previousFingerprint.getEntityFingerprints(),
+                                   unchangedEntities);
+        this.addUnchangedInstances(relationships,
+                                   archiveFingerprint.getRelationshipFingerprints(),
+                                   previousFingerprint.getRelationshipFingerprints(),
+                                   unchangedRelationships);
+
+        String missingInstanceGUID = this.getMissingInstance(unchangedEntities, unchangedRelationships);
+
+        if (missingInstanceGUID != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.ARCHIVE_CONTENT_MISSING.getMessageDefinition(archiveProperties.getArchiveName(),
+                                                                                           missingInstanceGUID,
+                                                                                           localMetadataCollectionId));
+            return unchangedInstances;
+        }
+
+        int instanceCount = archiveFingerprint.getEntityFingerprints().size() + archiveFingerprint.getRelationshipFingerprints().size();
+
+        if ((Objects.equals(archiveFingerprint.getArchiveVersion(), previousFingerprint.getArchiveVersion())) &&
+            (Objects.equals(archiveFingerprint.getContentFingerprint(), previousFingerprint.getContentFingerprint())))
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.UNCHANGED_ARCHIVE.getMessageDefinition(Integer.toString(instanceCount),
+                                                                                     archiveProperties.getArchiveName(),
+                                                                                     archiveProperties.getArchiveVersion(),
+                                                                                     localMetadataCollectionId));
+            return null;
+        }
+
+        for (EntityDetail entity : unchangedEntities)
+        {
+            unchangedInstances.add(entity.getGUID());
+        }
+
+        for (Relationship relationship : unchangedRelationships)
+        {
+            unchangedInstances.add(relationship.getGUID());
+        }
+
+        auditLog.logMessage(actionDescription,
+                            OMRSAuditCode.CHANGED_ARCHIVE.getMessageDefinition(Integer.toString(instanceCount - unchangedInstances.size()),
+                                                                               Integer.toString(instanceCount),
+                                                                               archiveProperties.getArchiveName(),
+                                                                               archiveProperties.getArchiveVersion()));
+        return unchangedInstances;
+    }
+
+
+    /**
+     * Add the instances whose fingerprint matches the fingerprint recorded at the last load to a list.
+     *
+     * @param instances instances from the archive
+     * @param currentFingerprints fingerprints of the instances now
+     * @param previousFingerprints fingerprints of the instances at the last load
+     * @param unchangedInstances list of unchanged instances
+     * @param <T> type of instance
+     */
+    private <T extends InstanceHeader> void addUnchangedInstances(List<T>             instances,
+                                                                  Map<String, String> currentFingerprints,
+                                                                  Map<String, String> previousFingerprints,
+                                                                  List<T>             unchangedInstances)
+    {
+        if (instances != null)
+        {
+            for (T instance : instances)
+            {
+                if (instance != null)
+                {
+                    String currentFingerprint = currentFingerprints.get(instance.getGUID());
+
+                    if ((currentFingerprint != null) && (currentFingerprint.equals(previousFingerprints.get(instance.getGUID()))))
+                    {
+                        unchangedInstances.add(instance);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check that the local repository still holds the instances that were loaded from the archive before.  Each of
+     * the unchanged entities and relationships is retrieved.  This detects repositories that do not keep their content
+     * when the server restarts, or that have lost some of it.
+     *
+     * @param unchangedEntities entities that are not going to be loaded again
+     * @param unchangedRelationships relationships that are not going to be loaded again
+     * @return guid of an instance that is missing from the local repository, or null if they were all found
+     */
+    private String getMissingInstance(List<EntityDetail> unchangedEntities,
+                                      List<Relationship> unchangedRelationships)
+    {
+        try
+        {
+            OMRSMetadataCollection localMetadataCollection = localRepositoryConnector.getMetadataCollection();
+            String                 userId                  = localRepositoryConnector.getServerUserId();
+
+            for (EntityDetail entity : unchangedEntities)
+            {
+                EntityDetail storedEntity = localMetadataCollection.isEntityKnown(userId, entity.getGUID());
+
+                if ((storedEntity == null) || (storedEntity.getVersion() < entity.getVersion()))
+                {
+                    return entity.getGUID();
+                }
+            }
+
+            for (Relationship relationship : unchangedRelationships)
+            {
+                Relationship storedRelationship = localMetadataCollection.isRelationshipKnown(userId, relationship.getGUID());
+
+                if ((storedRelationship == null) || (storedRelationship.getVersion() < relationship.getVersion()))
+                {
+                    return relationship.getGUID();
+                }
+            }
+        }
+        catch (Exception error)
+        {
+            /*
+             * The instance can not be retrieved so the archive is processed in full.
+             */
+            if (! unchangedEntities.isEmpty())
+            {
+                return unchangedEntities.get(0).getGUID();
+            }
+            else if (! unchangedRelationships.isEmpty())
+            {
+                return unchangedRelationships.get(0).getGUID();
+            }
+        }
+
+        return null;
+    }
+
+
     /**
      * Set up the header of an archive instance.  The header information from the archive
      * is used in the instance header unless it is set up explicitly in an export archive.
@@ -0,0 +1,545 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EnterpriseInstanceCache holds the current versions of the entities and relationships recently retrieved by the
+ * enterprise repository connectors of a server.  It is shared by all of the enterprise connectors and is kept up to
+ * date by the EnterpriseInstanceCacheEventProcessor, which removes an instance from the cache whenever an event
+ * about it is received from the cohorts or the local repository.
+ * <p>
+ *     An instance is cached separately for each user that retrieved it so the repositories' security checks and any
+ *     redaction they perform still apply.  Instances are removed once they are older than the time to live (this
+ *     covers repositories that do not send events) and, least recently used first, when the total weight of the
+ *     cached instances exceeds the maximum.  The weight of an instance is one plus its number of properties and
+ *     classifications.
+ * </p>
+ * <p>
+ *     Each federated read takes a generation number before it starts.  The instance it retrieves is only cached if
+ *     no event for the instance has been received since, so a read that overlaps an update can not put the old
+ *     version back into the cache.
+ * </p>
+ * <p>
+ *     The cache's meters are tagged with the server name and are removed from the meter registry when the cache
+ *     is shut down, so a server that is restarted registers meters for its new cache.
+ * </p>
+ */
+public class EnterpriseInstanceCache
+{
+    /**
+     * Default number of seconds that an instance is cached.
+     */
+    public static final int DEFAULT_TIME_TO_LIVE = 60;
+
+    private static final int invalidationHistorySize = 10000;
+
+    private final long          maxWeight;
+    private final long          timeToLiveNanos;
+    private final MeterRegistry meterRegistry;
+    private final List<Meter>   meters = new ArrayList<>();
+
+    private final LinkedHashMap<String, Map<String, CachedInstance>> instances          = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long>                        invalidations      = new LinkedHashMap<>();
+    private long                                                     generation         = 0;
+    private long                                                     oldestInvalidation = 0;
+    private long                                                     totalWeight        = 0;
+    private long                                                     hits               = 0;
+    private long                                                     misses             = 0;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter expiryCounter;
+    private final Counter invalidationCounter;
+
+
+    /**
+     * Constructor for a cache that publishes its metrics to the global meter registry.
+     *
+     * @param serverName name of the server (used to tag the metrics)
+     * @param maxWeight maximum total weight of the cached instances
+     * @param timeToLiveSeconds number of seconds that an instance is cached
+     */
+    public EnterpriseInstanceCache(String serverName,
+                                   long   maxWeight,
+                                   int    timeToLiveSeconds)
+    {
+        this(serverName, maxWeight, timeToLiveSeconds, Metrics.globalRegistry);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param serverName name of the server (used to tag the metrics)
+     * @param maxWeight maximum total weight of the cached instances
+     * @param timeToLiveSeconds number of seconds that an instance is cached
+     * @param meterRegistry registry for the cache's metrics
+     */
+    public EnterpriseInstanceCache(String        serverName,
+                                   long          maxWeight,
+                                   int           timeToLiveSeconds,
+                                   MeterRegistry meterRegistry)
+    {
+        final String serverTag = String.valueOf(serverName);
+
+        this.maxWeight       = maxWeight;
+        this.timeToLiveNanos = timeToLiveSeconds * 1000000000L;
+        this.meterRegistry   = meterRegistry;
+
+        this.hitCounter          = this.getCounter("egeria.omrs.enterprise.cache.requests", "result", "hit", serverTag);
+        this.missCounter         = this.getCounter("egeria.omrs.enterprise.cache.requests", "result", "miss", serverTag);
+        this.evictionCounter     = this.getCounter("egeria.omrs.enterprise.cache.removals", "cause", "size", serverTag);
+        this.expiryCounter       = this.getCounter("egeria.omrs.enterprise.cache.removals", "cause", "expired", serverTag);
+        this.invalidationCounter = this.getCounter("egeria.omrs.enterprise.cache.removals", "cause", "event", serverTag);
+
+        meters.add(Gauge.builder("egeria.omrs.enterprise.cache.weight", this, EnterpriseInstanceCache::getWeight)
+                        .description("Total weight of the instances in the enterprise instance cache")
+                        .tag("server", serverTag)
+                        .register(meterRegistry));
+        meters.add(Gauge.builder("egeria.omrs.enterprise.cache.hit.ratio", this, EnterpriseInstanceCache::getHitRatio)
+                        .description("Proportion of the requests to the enterprise instance cache that found the instance")
+                        .tag("server", serverTag)
+                        .register(meterRegistry));
+    }
+
+
+    /**
+     * Register one of the cache's counters.
+     *
+     * @param name meter name
+     * @param tagName name of the tag that distinguishes the counters with the same name
+     * @param tagValue value of the tag
+     * @param serverName name of the server
+     * @return counter
+     */
+    private Counter getCounter(String name,
+                               String tagName,
+                               String tagValue,
+                               String serverName)
+    {
+        Counter counter = Counter.builder(name)
+                                 .tag(tagName, tagValue)
+                                 .tag("server", serverName)
+                                 .register(meterRegistry);
+
+        meters.add(counter);
+
+        return counter;
+    }
+
+
+    /**
+     * Empty the cache and remove its meters from the meter registry.  This is called when the server shuts down.
+     */
+    public synchronized void shutdown()
+    {
+        for (Meter meter : meters)
+        {
+            meterRegistry.remove(meter);
+        }
+
+        meters.clear();
+        instances.clear();
+        totalWeight = 0;
+    }
+
+
+    /**
+     * Return the generation number to pass to putEntity or putRelationship once a federated read completes.
+     *
+     * @return generation number
+     */
+    public synchronized long getGeneration()
+    {
+        return generation;
+    }
+
+
+    /**
+     * Return a copy of the cached entity.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity or null if it is not cached
+     */
+    public EntityDetail getEntity(String userId,
+                                  String guid)
+    {
+        CachedInstance cachedInstance = this.get(userId, guid);
+
+        if ((cachedInstance != null) && (cachedInstance.entity != null))
+        {
+            return new EntityDetail(cachedInstance.entity);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the header and classifications of the cached entity.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity summary or null if the entity is not cached
+     */
+    public EntitySummary getEntitySummary(String userId,
+                                          String guid)
+    {
+        CachedInstance cachedInstance = this.get(userId, guid);
+
+        if ((cachedInstance != null) && (cachedInstance.entity != null))
+        {
+            return new EntitySummary(cachedInstance.entity);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a copy of the cached relationship.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the relationship
+     * @return relationship or null if it is not cached
+     */
+    public Relationship getRelationship(String userId,
+                                        String guid)
+    {
+        CachedInstance cachedInstance = this.get(userId, guid);
+
+        if ((cachedInstance != null) && (cachedInstance.relationship != null))
+        {
+            return new Relationship(cachedInstance.relationship);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Cache an entity retrieved from the cohorts.
+     *
+     * @param userId calling user
+     * @param entity retrieved entity
+     * @param readGeneration generation number taken before the entity was retrieved
+     */
+    public void putEntity(String       userId,
+                          EntityDetail entity,
+                          long         readGeneration)
+    {
+        if (entity != null)
+        {
+            int weight = 1 + this.getPropertyCount(entity.getProperties());
+
+            if (entity.getClassifications() != null)
+            {
+                weight = weight + entity.getClassifications().size();
+            }
+
+            this.put(userId, entity.getGUID(), new CachedInstance(new EntityDetail(entity), null, entity.getVersion(), weight), readGeneration);
+        }
+    }
+
+
+    /**
+     * Cache a relationship retrieved from the cohorts.
+     *
+     * @param userId calling user
+     * @param relationship retrieved relationship
+     * @param readGeneration generation number taken before the relationship was retrieved
+     */
+    public void putRelationship(String       userId,
+                                Relationship relationship,
+                                long         readGeneration)
+    {
+        if (relationship != null)
+        {
+            int weight = 1 + this.getPropertyCount(relationship.getProperties());
+
+            this.put(userId,
+                     relationship.getGUID(),
+                     new CachedInstance(null, new Relationship(relationship), relationship.getVersion(), weight),
+                     readGeneration);
+        }
+    }
+
+
+    /**
+     * Remove an instance from the cache because it has changed.
+     *
+     * @param guid unique identifier of the instance
+     */
+    public synchronized void invalidate(String guid)
+    {
+        if (guid != null)
+        {
+            generation++;
+
+            invalidations.remove(guid);
+            invalidations.put(guid, generation);
+
+            if (invalidations.size() > invalidationHistorySize)
+            {
+                Iterator<Map.Entry<String, Long>> iterator = invalidations.entrySet().iterator();
+
+                oldestInvalidation = iterator.next().getValue();
+                iterator.remove();
+            }
+
+            Map<String, CachedInstance> userInstances = instances.remove(guid);
+
+            if (userInstances != null)
+            {
+                this.removeWeight(userInstances);
+                invalidationCounter.increment();
+            }
+        }
+    }
+
+
+    /**
+     * Remove a list of instances from the cache.
+     *
+     * @param guids unique identifiers of the instances
+     */
+    public void invalidate(List<String> guids)
+    {
+        if (guids != null)
+        {
+            for (String guid : guids)
+            {
+                this.invalidate(guid);
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of instances in the cache.
+     *
+     * @return count
+     */
+    public synchronized int getSize()
+    {
+        return instances.size();
+    }
+
+
+    /**
+     * Return the total weight of the instances in the cache.
+     *
+     * @return weight
+     */
+    public synchronized long getWeight()
+    {
+        return totalWeight;
+    }
+
+
+    /**
+     * Return the proportion of requests that found the instance in the cache.
+     *
+     * @return ratio between 0 and 1
+     */
+    public synchronized double getHitRatio()
+    {
+        if (hits + misses == 0)
+        {
+            return 0;
+        }
+
+        return (double) hits / (hits + misses);
+    }
+
+
+    /**
+     * Return the cached instance for a user if it has not expired.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the instance
+     * @return cached instance or null
+     */
+    private synchronized CachedInstance get(String userId,
+                                            String guid)
+    {
+        Map<String, CachedInstance> userInstances = instances.get(guid);
+        CachedInstance              cachedInstance = null;
+
+        if (userInstances != null)
+        {
+            cachedInstance = userInstances.get(userId);
+
+            if ((cachedInstance != null) && (System.nanoTime() - cachedInstance.cacheTime > timeToLiveNanos))
+            {
+                userInstances.remove(userId);
+                totalWeight = totalWeight - cachedInstance.weight;
+                expiryCounter.increment();
+                cachedInstance = null;
+
+                if (userInstances.isEmpty())
+                {
+                    instances.remove(guid);
+                }
+            }
+        }
+
+        if (cachedInstance == null)
+        {
+            misses++;
+            missCounter.increment();
+        }
+        else
+        {
+            hits++;
+            hitCounter.increment();
+        }
+
+        return cachedInstance;
+    }
+
+
+    /**
+     * Add an instance to the cache unless it has changed since the read began or a later version is cached.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the instance
+     * @param newInstance instance to cache
+     * @param readGeneration generation number taken before the instance was retrieved
+     */
+    private synchronized void put(String         userId,
+                                  String         guid,
+                                  CachedInstance newInstance,
+                                  long           readGeneration)
+    {
+        if ((userId == null) || (guid == null) || (newInstance.weight > maxWeight))
+        {
+            return;
+        }
+
+        Long lastInvalidation = invalidations.get(guid);
+
+        if (lastInvalidation == null)
+        {
+            lastInvalidation = oldestInvalidation;
+        }
+
+        if (lastInvalidation > readGeneration)
+        {
+            return;
+        }
+
+        Map<String, CachedInstance> userInstances = instances.computeIfAbsent(guid, key -> new HashMap<>());
+        CachedInstance              oldInstance   = userInstances.get(userId);
+
+        if (oldInstance != null)
+        {
+            if (oldInstance.version > newInstance.version)
+            {
+                return;
+            }
+
+            totalWeight = totalWeight - oldInstance.weight;
+        }
+
+        userInstances.put(userId, newInstance);
+        totalWeight = totalWeight + newInstance.weight;
+
+        Iterator<Map.Entry<String, Map<String, CachedInstance>>> iterator = instances.entrySet().iterator();
+
+        while ((totalWeight > maxWeight) && (iterator.hasNext()))
+        {
+            Map.Entry<String, Map<String, CachedInstance>> eldest = iterator.next();
+
+            if (! guid.equals(eldest.getKey()))
+            {
+                this.removeWeight(eldest.getValue());
+                evictionCounter.increment();
+                iterator.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Subtract the weight of the removed instances from the total.
+     *
+     * @param userInstances instances removed from the cache
+     */
+    private void removeWeight(Map<String, CachedInstance> userInstances)
+    {
+        for (CachedInstance cachedInstance : userInstances.values())
+        {
+            totalWeight = totalWeight - cachedInstance.weight;
+        }
+    }
+
+
+    /**
+     * Return the number of properties in an instance.
+     *
+     * @param properties instance properties
+     * @return count
+     */
+    private int getPropertyCount(InstanceProperties properties)
+    {
+        if (properties == null)
+        {
+            return 0;
+        }
+
+        return properties.getPropertyCount();
+    }
+
+
+    /**
+     * CachedInstance is a copy of an instance retrieved by one user.
+     */
+    private static class CachedInstance
+    {
+        private final EntityDetail entity;
+        private final Relationship relationship;
+        private final long         version;
+        private final int          weight;
+        private final long         cacheTime = System.nanoTime();
+
+
+        /**
+         * Constructor
+         *
+         * @param entity cached entity (or null for a relationship)
+         * @param relationship cached relationship (or null for an entity)
+         * @param version version of the instance
+         * @param weight weight of the instance
+         */
+        CachedInstance(EntityDetail entity,
+                       Relationship relationship,
+                       long         version,
+                       int          weight)
+        {
+            this.entity = entity;
+            this.relationship = relationship;
+            this.version = version;
+            this.weight = weight;
+        }
+    }
+}
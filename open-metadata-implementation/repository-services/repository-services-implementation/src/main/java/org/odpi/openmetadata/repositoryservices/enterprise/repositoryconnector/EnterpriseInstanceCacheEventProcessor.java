@@ -0,0 +1,796 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EnterpriseInstanceCacheEventProcessor keeps the EnterpriseInstanceCache up to date.  It is registered with the
+ * event manager of the local repository and the inbound event manager of each cohort so it sees every change to
+ * an instance that the server is told about.  Any entity or relationship named in an event is removed from the cache
+ * so the next request retrieves its latest version from the cohorts.
+ */
+public class EnterpriseInstanceCacheEventProcessor extends OMRSInstanceEventProcessor
+{
+    private static final String eventProcessorName = "Enterprise Instance Cache";
+
+    private final EnterpriseInstanceCache instanceCache;
+
+
+    /**
+     * Constructor
+     *
+     * @param instanceCache cache to maintain
+     */
+    public EnterpriseInstanceCacheEventProcessor(EnterpriseInstanceCache instanceCache)
+    {
+        super(eventProcessorName);
+
+        this.instanceCache = instanceCache;
+    }
+
+
+    /**
+     * Process an instance event passed from an event manager.  This removes every instance named in the
+     * event from the cache.
+     *
+     * @param sourceName source of the event
+     * @param instanceEvent properties of the event
+     */
+    @Override
+    public void sendInstanceEvent(String            sourceName,
+                                  OMRSInstanceEvent instanceEvent)
+    {
+        if (instanceEvent != null)
+        {
+            instanceCache.invalidate(Arrays.asList(this.getGUID(instanceEvent.getEntity()),
+                                                   this.getGUID(instanceEvent.getOriginalEntity()),
+                                                   this.getGUID(instanceEvent.getRelationship()),
+                                                   this.getGUID(instanceEvent.getOriginalRelationship()),
+                                                   instanceEvent.getInstanceGUID(),
+                                                   instanceEvent.getOriginalInstanceGUID()));
+
+            this.invalidate(instanceEvent.getInstanceBatch());
+        }
+    }
+
+
+    /**
+     * A new entity has been created.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     */
+    @Override
+    public void processNewEntityEvent(String       sourceName,
+                                      String       originatorMetadataCollectionId,
+                                      String       originatorServerName,
+                                      String       originatorServerType,
+                                      String       originatorOrganizationName,
+                                      EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * An existing entity has been updated.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param oldEntity original values for the entity
+     * @param newEntity details of the new version of the entity
+     */
+    @Override
+    public void processUpdatedEntityEvent(String       sourceName,
+                                          String       originatorMetadataCollectionId,
+                                          String       originatorServerName,
+                                          String       originatorServerType,
+                                          String       originatorOrganizationName,
+                                          EntityDetail oldEntity,
+                                          EntityDetail newEntity)
+    {
+        instanceCache.invalidate(Arrays.asList(this.getGUID(oldEntity), this.getGUID(newEntity)));
+    }
+
+
+    /**
+     * An update to an entity has been undone.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     */
+    @Override
+    public void processUndoneEntityEvent(String       sourceName,
+                                         String       originatorMetadataCollectionId,
+                                         String       originatorServerName,
+                                         String       originatorServerType,
+                                         String       originatorOrganizationName,
+                                         EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * A new classification has been added to an entity.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     * @param classification new classification
+     */
+    @Override
+    public void processClassifiedEntityEvent(String         sourceName,
+                                             String         originatorMetadataCollectionId,
+                                             String         originatorServerName,
+                                             String         originatorServerType,
+                                             String         originatorOrganizationName,
+                                             EntityDetail   entity,
+                                             Classification classification)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * A classification has been removed from an entity.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     * @param originalClassification classification that was removed
+     */
+    @Override
+    public void processDeclassifiedEntityEvent(String         sourceName,
+                                               String         originatorMetadataCollectionId,
+                                               String         originatorServerName,
+                                               String         originatorServerType,
+                                               String         originatorOrganizationName,
+                                               EntityDetail   entity,
+                                               Classification originalClassification)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * An existing classification has been changed on an entity.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     * @param originalClassification original values for the classification
+     * @param classification new values for the classification
+     */
+    @Override
+    public void processReclassifiedEntityEvent(String         sourceName,
+                                               String         originatorMetadataCollectionId,
+                                               String         originatorServerName,
+                                               String         originatorServerType,
+                                               String         originatorOrganizationName,
+                                               EntityDetail   entity,
+                                               Classification originalClassification,
+                                               Classification classification)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * An existing entity has been deleted.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     */
+    @Override
+    public void processDeletedEntityEvent(String       sourceName,
+                                          String       originatorMetadataCollectionId,
+                                          String       originatorServerName,
+                                          String       originatorServerType,
+                                          String       originatorOrganizationName,
+                                          EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * A deleted entity has been restored.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     */
+    @Override
+    public void processRestoredEntityEvent(String       sourceName,
+                                           String       originatorMetadataCollectionId,
+                                           String       originatorServerName,
+                                           String       originatorServerType,
+                                           String       originatorOrganizationName,
+                                           EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * A deleted entity has been permanently removed from the repository.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param typeDefGUID unique identifier for this entity's TypeDef
+     * @param typeDefName name of this entity's TypeDef
+     * @param instanceGUID unique identifier for the entity
+     */
+    @Override
+    public void processPurgedEntityEvent(String sourceName,
+                                         String originatorMetadataCollectionId,
+                                         String originatorServerName,
+                                         String originatorServerType,
+                                         String originatorOrganizationName,
+                                         String typeDefGUID,
+                                         String typeDefName,
+                                         String instanceGUID)
+    {
+        instanceCache.invalidate(instanceGUID);
+    }
+
+
+    /**
+     * An existing entity has had its type changed.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalTypeDef description of this entity's original TypeDef
+     * @param entity details of the entity
+     */
+    @Override
+    public void processReTypedEntityEvent(String         sourceName,
+                                          String         originatorMetadataCollectionId,
+                                          String         originatorServerName,
+                                          String         originatorServerType,
+                                          String         originatorOrganizationName,
+                                          TypeDefSummary originalTypeDef,
+                                          EntityDetail   entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * An existing entity has changed home repository.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalHomeMetadataCollectionId unique identifier for the original home repository
+     * @param entity details of the entity
+     */
+    @Override
+    public void processReHomedEntityEvent(String       sourceName,
+                                          String       originatorMetadataCollectionId,
+                                          String       originatorServerName,
+                                          String       originatorServerType,
+                                          String       originatorOrganizationName,
+                                          String       originalHomeMetadataCollectionId,
+                                          EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * An existing entity has changed its unique identifier.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalEntityGUID the existing identifier for the entity
+     * @param entity details of the entity
+     */
+    @Override
+    public void processReIdentifiedEntityEvent(String       sourceName,
+                                               String       originatorMetadataCollectionId,
+                                               String       originatorServerName,
+                                               String       originatorServerType,
+                                               String       originatorOrganizationName,
+                                               String       originalEntityGUID,
+                                               EntityDetail entity)
+    {
+        instanceCache.invalidate(Arrays.asList(originalEntityGUID, this.getGUID(entity)));
+    }
+
+
+    /**
+     * The local repository is requested to refresh an entity.  This does not change the entity.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param typeDefGUID unique identifier for this entity's TypeDef
+     * @param typeDefName name of this entity's TypeDef
+     * @param instanceGUID unique identifier for the entity
+     * @param homeMetadataCollectionId metadata collection id for the home of this instance
+     */
+    @Override
+    public void processRefreshEntityRequested(String sourceName,
+                                              String originatorMetadataCollectionId,
+                                              String originatorServerName,
+                                              String originatorServerType,
+                                              String originatorOrganizationName,
+                                              String typeDefGUID,
+                                              String typeDefName,
+                                              String instanceGUID,
+                                              String homeMetadataCollectionId)
+    {
+    }
+
+
+    /**
+     * A remote repository has sent the latest version of an entity.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param entity details of the entity
+     */
+    @Override
+    public void processRefreshEntityEvent(String       sourceName,
+                                          String       originatorMetadataCollectionId,
+                                          String       originatorServerName,
+                                          String       originatorServerType,
+                                          String       originatorOrganizationName,
+                                          EntityDetail entity)
+    {
+        instanceCache.invalidate(this.getGUID(entity));
+    }
+
+
+    /**
+     * A new relationship has been created.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processNewRelationshipEvent(String       sourceName,
+                                            String       originatorMetadataCollectionId,
+                                            String       originatorServerName,
+                                            String       originatorServerType,
+                                            String       originatorOrganizationName,
+                                            Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * An existing relationship has been updated.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param oldRelationship original values for the relationship
+     * @param newRelationship details of the new version of the relationship
+     */
+    @Override
+    public void processUpdatedRelationshipEvent(String       sourceName,
+                                                String       originatorMetadataCollectionId,
+                                                String       originatorServerName,
+                                                String       originatorServerType,
+                                                String       originatorOrganizationName,
+                                                Relationship oldRelationship,
+                                                Relationship newRelationship)
+    {
+        instanceCache.invalidate(Arrays.asList(this.getGUID(oldRelationship), this.getGUID(newRelationship)));
+    }
+
+
+    /**
+     * An update to a relationship has been undone.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processUndoneRelationshipEvent(String       sourceName,
+                                               String       originatorMetadataCollectionId,
+                                               String       originatorServerName,
+                                               String       originatorServerType,
+                                               String       originatorOrganizationName,
+                                               Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * An existing relationship has been deleted.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processDeletedRelationshipEvent(String       sourceName,
+                                                String       originatorMetadataCollectionId,
+                                                String       originatorServerName,
+                                                String       originatorServerType,
+                                                String       originatorOrganizationName,
+                                                Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * A deleted relationship has been restored.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processRestoredRelationshipEvent(String       sourceName,
+                                                 String       originatorMetadataCollectionId,
+                                                 String       originatorServerName,
+                                                 String       originatorServerType,
+                                                 String       originatorOrganizationName,
+                                                 Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * A deleted relationship has been permanently removed from the repository.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param typeDefGUID unique identifier for this relationship's TypeDef
+     * @param typeDefName name of this relationship's TypeDef
+     * @param instanceGUID unique identifier for the relationship
+     */
+    @Override
+    public void processPurgedRelationshipEvent(String sourceName,
+                                               String originatorMetadataCollectionId,
+                                               String originatorServerName,
+                                               String originatorServerType,
+                                               String originatorOrganizationName,
+                                               String typeDefGUID,
+                                               String typeDefName,
+                                               String instanceGUID)
+    {
+        instanceCache.invalidate(instanceGUID);
+    }
+
+
+    /**
+     * An existing relationship has had its type changed.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalTypeDef description of this relationship's original TypeDef
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processReTypedRelationshipEvent(String         sourceName,
+                                                String         originatorMetadataCollectionId,
+                                                String         originatorServerName,
+                                                String         originatorServerType,
+                                                String         originatorOrganizationName,
+                                                TypeDefSummary originalTypeDef,
+                                                Relationship   relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * An existing relationship has changed home repository.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalHomeMetadataCollectionId unique identifier for the original home repository
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processReHomedRelationshipEvent(String       sourceName,
+                                                String       originatorMetadataCollectionId,
+                                                String       originatorServerName,
+                                                String       originatorServerType,
+                                                String       originatorOrganizationName,
+                                                String       originalHomeMetadataCollectionId,
+                                                Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * An existing relationship has changed its unique identifier.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param originalRelationshipGUID the existing identifier for the relationship
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processReIdentifiedRelationshipEvent(String       sourceName,
+                                                     String       originatorMetadataCollectionId,
+                                                     String       originatorServerName,
+                                                     String       originatorServerType,
+                                                     String       originatorOrganizationName,
+                                                     String       originalRelationshipGUID,
+                                                     Relationship relationship)
+    {
+        instanceCache.invalidate(Arrays.asList(originalRelationshipGUID, this.getGUID(relationship)));
+    }
+
+
+    /**
+     * The local repository is requested to refresh a relationship.  This does not change the relationship.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param typeDefGUID unique identifier for this relationship's TypeDef
+     * @param typeDefName name of this relationship's TypeDef
+     * @param instanceGUID unique identifier for the relationship
+     * @param homeMetadataCollectionId metadata collection id for the home of this instance
+     */
+    @Override
+    public void processRefreshRelationshipRequest(String sourceName,
+                                                  String originatorMetadataCollectionId,
+                                                  String originatorServerName,
+                                                  String originatorServerType,
+                                                  String originatorOrganizationName,
+                                                  String typeDefGUID,
+                                                  String typeDefName,
+                                                  String instanceGUID,
+                                                  String homeMetadataCollectionId)
+    {
+    }
+
+
+    /**
+     * A remote repository has sent the latest version of a relationship.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param relationship details of the relationship
+     */
+    @Override
+    public void processRefreshRelationshipEvent(String       sourceName,
+                                                String       originatorMetadataCollectionId,
+                                                String       originatorServerName,
+                                                String       originatorServerType,
+                                                String       originatorOrganizationName,
+                                                Relationship relationship)
+    {
+        instanceCache.invalidate(this.getGUID(relationship));
+    }
+
+
+    /**
+     * A batch of instances has been sent, typically from an open metadata archive.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param instances the entities and relationships in the batch
+     */
+    @Override
+    public void processInstanceBatchEvent(String        sourceName,
+                                          String        originatorMetadataCollectionId,
+                                          String        originatorServerName,
+                                          String        originatorServerType,
+                                          String        originatorOrganizationName,
+                                          InstanceGraph instances)
+    {
+        this.invalidate(instances);
+    }
+
+
+    /**
+     * Two instances have been found with the same unique identifier.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param targetMetadataCollectionId metadata collection id of the repository that holds the instance to correct
+     * @param targetTypeDef type of the instance to correct
+     * @param targetInstanceGUID unique identifier of the instance to correct
+     * @param otherMetadataCollectionId metadata collection id of the repository that holds the other instance
+     * @param otherOrigin origin of the other instance
+     * @param otherTypeDef type of the other instance
+     * @param otherInstanceGUID unique identifier of the other instance
+     * @param errorMessage description of the error
+     */
+    @Override
+    public void processConflictingInstancesEvent(String                 sourceName,
+                                                 String                 originatorMetadataCollectionId,
+                                                 String                 originatorServerName,
+                                                 String                 originatorServerType,
+                                                 String                 originatorOrganizationName,
+                                                 String                 targetMetadataCollectionId,
+                                                 TypeDefSummary         targetTypeDef,
+                                                 String                 targetInstanceGUID,
+                                                 String                 otherMetadataCollectionId,
+                                                 InstanceProvenanceType otherOrigin,
+                                                 TypeDefSummary         otherTypeDef,
+                                                 String                 otherInstanceGUID,
+                                                 String                 errorMessage)
+    {
+        instanceCache.invalidate(Arrays.asList(targetInstanceGUID, otherInstanceGUID));
+    }
+
+
+    /**
+     * An instance has been found with a type that does not match its TypeDef.
+     *
+     * @param sourceName name of the source of the event
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that sent the event
+     * @param originatorServerName name of the server that the event came from
+     * @param originatorServerType type of server that the event came from
+     * @param originatorOrganizationName name of the organization that owns the server that sent the event
+     * @param targetMetadataCollectionId metadata collection id of the repository that holds the instance to correct
+     * @param targetTypeDef type of the instance to correct
+     * @param targetInstanceGUID unique identifier of the instance to correct
+     * @param otherTypeDef type that the instance should have
+     * @param errorMessage description of the error
+     */
+    @Override
+    public void processConflictingTypeEvent(String         sourceName,
+                                            String         originatorMetadataCollectionId,
+                                            String         originatorServerName,
+                                            String         originatorServerType,
+                                            String         originatorOrganizationName,
+                                            String         targetMetadataCollectionId,
+                                            TypeDefSummary targetTypeDef,
+                                            String         targetInstanceGUID,
+                                            TypeDefSummary otherTypeDef,
+                                            String         errorMessage)
+    {
+        instanceCache.invalidate(targetInstanceGUID);
+    }
+
+    /**
+     * Remove the instances in a batch from the cache.
+     *
+     * @param instances batch of entities and relationships
+     */
+    private void invalidate(InstanceGraph instances)
+    {
+        if (instances != null)
+        {
+            List<String> guids = new ArrayList<>();
+
+            if (instances.getEntities() != null)
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    guids.add(this.getGUID(entity));
+                }
+            }
+
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
+                {
+                    guids.add(this.getGUID(relationship));
+                }
+            }
+
+            instanceCache.invalidate(guids);
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of an instance.
+     *
+     * @param instance instance from an event (may be null)
+     * @return guid or null
+     */
+    private String getGUID(InstanceHeader instance)
+    {
+        if (instance == null)
+        {
+            return null;
+        }
+
+        return instance.getGUID();
+    }
+}
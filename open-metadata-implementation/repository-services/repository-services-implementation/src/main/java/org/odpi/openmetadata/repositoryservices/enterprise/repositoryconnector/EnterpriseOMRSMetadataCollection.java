@@ -16,6 +16,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.AdaptiveFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
@@ -885,6 +886,18 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * The current version of the entity may be in the instance cache.
+         */
+        EntityDetail cachedEntity = this.getCachedEntity(userId, guid);
+
+        if (cachedEntity != null)
+        {
+            return cachedEntity;
+        }
+
+        long readGeneration = this.getCacheGeneration();
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -893,7 +906,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetEntityExecutor executor          = new GetEntityExecutor(userId, guid, false, auditLog, methodName);
 
         /*
@@ -903,7 +916,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.isEntityKnown();
+        EntityDetail entity = executor.isEntityKnown();
+
+        if (entity != null)
+        {
+            return this.cacheEntity(userId, entity, readGeneration);
+        }
+
+        return null;
     }
 
 
@@ -934,6 +954,16 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * The current version of the entity may be in the instance cache.
+         */
+        EntitySummary cachedEntitySummary = this.getCachedEntitySummary(userId, guid);
+
+        if (cachedEntitySummary != null)
+        {
+            return cachedEntitySummary;
+        }
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -942,7 +972,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        SequentialFederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl           federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetEntitySummaryExecutor    executor          = new GetEntitySummaryExecutor(userId, guid, auditLog, methodName);
 
         /*
@@ -984,6 +1014,19 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * The current version of the entity may be in the instance cache.  If not, the entity is retrieved from
+         * the cohorts and cached.
+         */
+        EntityDetail cachedEntity = this.getCachedEntity(userId, guid);
+
+        if (cachedEntity != null)
+        {
+            return cachedEntity;
+        }
+
+        long readGeneration = this.getCacheGeneration();
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -992,7 +1035,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetEntityExecutor executor          = new GetEntityExecutor(userId, guid, true, auditLog, methodName);
 
         /*
@@ -1008,13 +1051,13 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             {
                 federationControl.executeCommand(executor);
 
-                return executor.getEntityDetail();
+                return this.cacheEntity(userId, executor.getEntityDetail(), readGeneration);
             }
             catch (EntityProxyOnlyException proxyException)
             {
                 cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-                federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+                federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
                 executor          = new GetEntityExecutor(userId, guid, true, auditLog, methodName);
 
                 retryCount ++;
@@ -1023,7 +1066,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         }
         federationControl.executeCommand(executor);
 
-        return executor.getEntityDetail();
+        return this.cacheEntity(userId, executor.getEntityDetail(), readGeneration);
     }
 
 
@@ -1068,7 +1111,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetEntityExecutor executor          = new GetEntityExecutor(userId, guid, asOfTime, auditLog, methodName);
 
         /*
@@ -1650,6 +1693,16 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * The current version of the relationship may be in the instance cache.
+         */
+        Relationship cachedRelationship = this.getCachedRelationship(userId, guid);
+
+        if (cachedRelationship != null)
+        {
+            return cachedRelationship;
+        }
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -1658,7 +1711,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetRelationshipExecutor executor          = new GetRelationshipExecutor(userId, guid, false, auditLog, methodName);
 
         /*
@@ -1699,6 +1752,19 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         super.getInstanceParameterValidation(userId, guid, methodName);
 
+        /*
+         * The current version of the relationship may be in the instance cache.  If not, the relationship is
+         * retrieved from the cohorts and cached.
+         */
+        Relationship cachedRelationship = this.getCachedRelationship(userId, guid);
+
+        if (cachedRelationship != null)
+        {
+            return cachedRelationship;
+        }
+
+        long readGeneration = this.getCacheGeneration();
+
         /*
          * Validation complete, ok to continue with request
          *
@@ -1707,7 +1773,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetRelationshipExecutor executor          = new GetRelationshipExecutor(userId, guid, true, auditLog, methodName);
 
         /*
@@ -1717,7 +1783,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
-        return executor.getRelationship();
+        return this.cacheRelationship(userId, executor.getRelationship(), readGeneration);
     }
 
 
@@ -1760,7 +1826,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new AdaptiveFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getRoutingStatistics());
         GetRelationshipExecutor executor          = new GetRelationshipExecutor(userId, guid, asOfTime, auditLog, methodName);
 
         /*
@@ -2820,7 +2886,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityStatus(userId, entityGUID, newStatus);
+            EntityDetail updatedEntity = metadataCollection.updateEntityStatus(userId, entityGUID, newStatus);
+
+            this.invalidateCachedInstance(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2872,7 +2942,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityProperties(userId, entityGUID, properties);
+            EntityDetail updatedEntity = metadataCollection.updateEntityProperties(userId, entityGUID, properties);
+
+            this.invalidateCachedInstance(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2920,7 +2994,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.undoEntityUpdate(userId, entityGUID);
+            EntityDetail updatedEntity = metadataCollection.undoEntityUpdate(userId, entityGUID);
+
+            this.invalidateCachedInstance(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -2982,7 +3060,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.deleteEntity(userId, typeDefGUID, typeDefName, obsoleteEntityGUID);
+            EntityDetail updatedEntity = metadataCollection.deleteEntity(userId, typeDefGUID, typeDefName, obsoleteEntityGUID);
+
+            this.invalidateCachedInstance(obsoleteEntityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -3053,6 +3135,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(deletedEntityGUID);
+
         executor.getResult();
     }
 
@@ -3109,6 +3193,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(deletedEntityGUID);
+
         return executor.getRestoredEntity();
     }
 
@@ -3188,6 +3274,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(entityGUID);
+
         return executor.getUpdatedEntity();
     }
 
@@ -3275,6 +3363,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(entityGUID);
+
         return executor.getUpdatedEntity();
     }
 
@@ -3323,7 +3413,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         OMRSMetadataCollection metadataCollection = enterpriseParentConnector.getHomeMetadataCollection(classification, methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.declassifyEntity(userId, entityGUID, classificationName);
+            EntityDetail updatedEntity = metadataCollection.declassifyEntity(userId, entityGUID, classificationName);
+
+            this.invalidateCachedInstance(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -3379,10 +3473,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
         OMRSMetadataCollection metadataCollection = enterpriseParentConnector.getHomeMetadataCollection(classification, methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateEntityClassification(userId,
-                                                                 entityGUID,
-                                                                 classificationName,
-                                                                 properties);
+            EntityDetail updatedEntity = metadataCollection.updateEntityClassification(userId,
+                                                                                       entityGUID,
+                                                                                       classificationName,
+                                                                                       properties);
+
+            this.invalidateCachedInstance(entityGUID);
+
+            return updatedEntity;
         }
 
         return null;
@@ -3623,7 +3721,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateRelationshipStatus(userId, relationshipGUID, newStatus);
+            Relationship updatedRelationship = metadataCollection.updateRelationshipStatus(userId, relationshipGUID, newStatus);
+
+            this.invalidateCachedInstance(relationshipGUID);
+
+            return updatedRelationship;
         }
 
         return null;
@@ -3675,7 +3777,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.updateRelationshipProperties(userId, relationshipGUID, properties);
+            Relationship updatedRelationship = metadataCollection.updateRelationshipProperties(userId, relationshipGUID, properties);
+
+            this.invalidateCachedInstance(relationshipGUID);
+
+            return updatedRelationship;
         }
 
         return null;
@@ -3723,7 +3829,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.undoRelationshipUpdate(userId, relationshipGUID);
+            Relationship updatedRelationship = metadataCollection.undoRelationshipUpdate(userId, relationshipGUID);
+
+            this.invalidateCachedInstance(relationshipGUID);
+
+            return updatedRelationship;
         }
 
         return null;
@@ -3783,10 +3893,14 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         methodName);
         if (metadataCollection != null)
         {
-            return metadataCollection.deleteRelationship(userId,
-                                                         typeDefGUID,
-                                                         typeDefName,
-                                                         obsoleteRelationshipGUID);
+            Relationship updatedRelationship = metadataCollection.deleteRelationship(userId,
+                                                                                     typeDefGUID,
+                                                                                     typeDefName,
+                                                                                     obsoleteRelationshipGUID);
+
+            this.invalidateCachedInstance(obsoleteRelationshipGUID);
+
+            return updatedRelationship;
         }
 
         return null;
@@ -3855,6 +3969,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(deletedRelationshipGUID);
+
         executor.getResult();
     }
 
@@ -3912,6 +4028,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.invalidateCachedInstance(deletedRelationshipGUID);
+
         return executor.getRestoredRelationship();
     }
 
@@ -4538,6 +4656,151 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current version of an entity from the instance cache.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity or null if it is not cached (or there is no cache)
+     */
+    private EntityDetail getCachedEntity(String userId,
+                                         String guid)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            return instanceCache.getEntity(userId, guid);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the header and classifications of the current version of an entity from the instance cache.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity summary or null if it is not cached (or there is no cache)
+     */
+    private EntitySummary getCachedEntitySummary(String userId,
+                                                 String guid)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            return instanceCache.getEntitySummary(userId, guid);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the current version of a relationship from the instance cache.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the relationship
+     * @return relationship or null if it is not cached (or there is no cache)
+     */
+    private Relationship getCachedRelationship(String userId,
+                                               String guid)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            return instanceCache.getRelationship(userId, guid);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the instance cache's generation number.  This is taken before an instance is retrieved from the
+     * cohorts so it is only cached if it has not changed during the retrieval.
+     *
+     * @return generation number (zero if there is no cache)
+     */
+    private long getCacheGeneration()
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            return instanceCache.getGeneration();
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Save an entity retrieved from the cohorts in the instance cache.
+     *
+     * @param userId calling user
+     * @param entity retrieved entity
+     * @param readGeneration cache generation number taken before the entity was retrieved
+     * @return the entity
+     */
+    private EntityDetail cacheEntity(String       userId,
+                                     EntityDetail entity,
+                                     long         readGeneration)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            instanceCache.putEntity(userId, entity, readGeneration);
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Save a relationship retrieved from the cohorts in the instance cache.
+     *
+     * @param userId calling user
+     * @param relationship retrieved relationship
+     * @param readGeneration cache generation number taken before the relationship was retrieved
+     * @return the relationship
+     */
+    private Relationship cacheRelationship(String       userId,
+                                           Relationship relationship,
+                                           long         readGeneration)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            instanceCache.putRelationship(userId, relationship, readGeneration);
+        }
+
+        return relationship;
+    }
+
+
+    /**
+     * Remove an instance that has been changed through this metadata collection from the instance cache.
+     * The change is also reported by an event from the instance's home repository but this may arrive later.
+     *
+     * @param guid unique identifier of the instance
+     */
+    private void invalidateCachedInstance(String guid)
+    {
+        EnterpriseInstanceCache instanceCache = enterpriseParentConnector.getInstanceCache();
+
+        if (instanceCache != null)
+        {
+            instanceCache.invalidate(guid);
+        }
+    }
+
+
     /**
      * Verify that a cohort member's metadata collection is not null.
      *
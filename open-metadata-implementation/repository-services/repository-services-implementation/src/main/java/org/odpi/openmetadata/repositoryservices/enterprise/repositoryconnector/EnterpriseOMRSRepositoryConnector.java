@@ -11,6 +11,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationRoutingStatistics;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
@@ -45,7 +46,9 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private String                              localMetadataCollectionId = null;
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
-    private String callingServiceName = null;
+    private String                      callingServiceName = null;
+    private FederationRoutingStatistics routingStatistics  = null;
+    private EnterpriseInstanceCache     instanceCache      = null;
 
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
@@ -106,6 +109,51 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Set up the statistics used to route lookups of instances by unique identifier to the most promising
+     * member of the cohorts.  These are shared by the enterprise connectors of the server.
+     *
+     * @param routingStatistics statistics object
+     */
+    public void setRoutingStatistics(FederationRoutingStatistics routingStatistics)
+    {
+        this.routingStatistics = routingStatistics;
+    }
+
+
+    /**
+     * Return the statistics used to route lookups of instances by unique identifier.
+     *
+     * @return statistics object or null if lookups are not routed adaptively
+     */
+    public FederationRoutingStatistics getRoutingStatistics()
+    {
+        return routingStatistics;
+    }
+
+
+    /**
+     * Set up the cache of entities and relationships shared by the enterprise connectors of the server.
+     *
+     * @param instanceCache cache or null if instances are not cached
+     */
+    public void setInstanceCache(EnterpriseInstanceCache instanceCache)
+    {
+        this.instanceCache = instanceCache;
+    }
+
+
+    /**
+     * Return the cache of entities and relationships.
+     *
+     * @return cache or null if instances are not cached
+     */
+    public EnterpriseInstanceCache getInstanceCache()
+    {
+        return instanceCache;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
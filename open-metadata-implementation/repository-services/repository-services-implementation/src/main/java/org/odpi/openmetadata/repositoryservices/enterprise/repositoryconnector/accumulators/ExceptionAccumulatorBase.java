@@ -255,7 +255,7 @@ public class ExceptionAccumulatorBase
      *
      * @throws TypeDefConflictException the type definition conflicts across the cohort
      */
-    public void throwCapturedTypeDefConflictException() throws TypeDefConflictException
+    public synchronized void throwCapturedTypeDefConflictException() throws TypeDefConflictException
     {
         if (typeDefConflictException != null)
         {
@@ -269,7 +269,7 @@ public class ExceptionAccumulatorBase
      *
      * @throws TypeDefNotSupportedException the type definition is not supported any of the federated repositories
      */
-    public void throwCapturedTypeDefNotSupportedException() throws TypeDefNotSupportedException
+    public synchronized void throwCapturedTypeDefNotSupportedException() throws TypeDefNotSupportedException
     {
         if (typeDefNotSupportedException != null)
         {
@@ -283,7 +283,7 @@ public class ExceptionAccumulatorBase
      *
      * @throws TypeDefNotKnownException the type definition is not known in any of the federated repositories
      */
-    public void throwCapturedTypeDefNotKnownException() throws TypeDefNotKnownException
+    public synchronized void throwCapturedTypeDefNotKnownException() throws TypeDefNotKnownException
     {
         if (typeDefNotKnownException != null)
         {
@@ -297,7 +297,7 @@ public class ExceptionAccumulatorBase
      *
      * @throws TypeErrorException the type definition of the instance is not known in any of the federated repositories
      */
-    public void throwCapturedTypeErrorException() throws TypeErrorException
+    public synchronized void throwCapturedTypeErrorException() throws TypeErrorException
     {
         if (typeErrorException != null)
         {
@@ -311,7 +311,7 @@ public class ExceptionAccumulatorBase
      *
      * @throws UserNotAuthorizedException the userId is not authorized in the server
      */
-    public void throwCapturedUserNotAuthorizedException() throws UserNotAuthorizedException
+    public synchronized void throwCapturedUserNotAuthorizedException() throws UserNotAuthorizedException
     {
         if (userNotAuthorizedException != null)
         {
@@ -182,7 +182,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefConflictException exception)
+    public synchronized void captureException(TypeDefConflictException exception)
     {
         typeDefConflictException = exception;
     }
@@ -193,7 +193,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefNotSupportedException exception)
+    public synchronized void captureException(TypeDefNotSupportedException exception)
     {
         typeDefNotSupportedException = exception;
     }
@@ -204,7 +204,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefNotKnownException exception)
+    public synchronized void captureException(TypeDefNotKnownException exception)
     {
         typeDefNotKnownException = exception;
     }
@@ -215,7 +215,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeErrorException exception)
+    public synchronized void captureException(TypeErrorException exception)
     {
         typeErrorException = exception;
     }
@@ -226,7 +226,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(UserNotAuthorizedException exception)
+    public synchronized void captureException(UserNotAuthorizedException exception)
     {
         userNotAuthorizedException = exception;
     }
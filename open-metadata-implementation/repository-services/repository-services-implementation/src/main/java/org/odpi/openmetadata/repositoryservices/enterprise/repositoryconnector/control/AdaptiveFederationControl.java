@@ -0,0 +1,335 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.InstanceLookupExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AdaptiveFederationControl manages the lookup of a single instance by its unique identifier.  Rather than calling
+ * the members of the cohorts in the order they registered, it calls the instance's home repository first if it
+ * is known (from an earlier lookup or from the home metadata collection id of a reference copy returned during this
+ * lookup) and then the members that have been the cheapest place to find instances in the past.
+ * <p>
+ *     Executors that are satisfied by the first member that returns the instance may also be hedged: if the member
+ *     being called is slower than its usual response time (see FederationRoutingStatistics) the next member is
+ *     called at the same time and the first result is used.  The hedged requests run on a small pool of threads
+ *     shared by all of the enterprise connectors.  When the pool is busy, lookups are not hedged.
+ * </p>
+ * <p>
+ *     Other executors, and lookups where no routing statistics are available, are handled by the
+ *     SequentialFederationControl.
+ * </p>
+ */
+public class AdaptiveFederationControl extends FederationControlBase
+{
+    private static final int  maxHedgeThreads      = 16;
+    private static final long hedgeThreadKeepAlive = 60;
+
+    private static final ExecutorService hedgePool = new ThreadPoolExecutor(0,
+                                                                            maxHedgeThreads,
+                                                                            hedgeThreadKeepAlive,
+                                                                            TimeUnit.SECONDS,
+                                                                            new SynchronousQueue<>(),
+                                                                            runnable ->
+    {
+        Thread thread = new Thread(runnable, "EnterpriseLookupHedge");
+
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FederationRoutingStatistics routingStatistics;
+
+
+    /**
+     * Constructor for an adaptive federated lookup controller
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param auditLog logging destination
+     * @param methodName calling method
+     * @param routingStatistics statistics from previous lookups (may be null)
+     */
+    public AdaptiveFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     AuditLog                      auditLog,
+                                     String                        methodName,
+                                     FederationRoutingStatistics   routingStatistics)
+    {
+        super(userId, cohortConnectors, auditLog, methodName);
+
+        this.routingStatistics = routingStatistics;
+    }
+
+
+    /**
+     * Issue the federated command
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     * This is probably a logic error rather than an outage
+     */
+    public void executeCommand(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        if ((routingStatistics == null) || (! (executor instanceof InstanceLookupExecutor)))
+        {
+            new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName).executeCommand(executor);
+            return;
+        }
+
+        InstanceLookupExecutor lookupExecutor = (InstanceLookupExecutor) executor;
+        List<CohortMember>     cohortMembers  = this.getCohortMembers(lookupExecutor.getInstanceGUID());
+
+        try
+        {
+            int index = 0;
+
+            while (index < cohortMembers.size())
+            {
+                CohortMember cohortMember = cohortMembers.get(index);
+                boolean      searching    = (lookupExecutor.getRetrievedFromHome() == null);
+                long         hedgeDelay   = -1;
+                boolean      complete;
+
+                if ((searching) && (lookupExecutor.isHedgeable()) && (index + 1 < cohortMembers.size()))
+                {
+                    hedgeDelay = routingStatistics.getHedgeDelay(cohortMember.metadataCollectionId);
+                }
+
+                if (hedgeDelay < 0)
+                {
+                    complete = this.issueRequest(lookupExecutor, cohortMember, searching);
+                    index = index + 1;
+                }
+                else
+                {
+                    CompletableFuture<Boolean> primaryRequest = this.submitRequest(lookupExecutor, cohortMember);
+
+                    if (primaryRequest == null)
+                    {
+                        complete = this.issueRequest(lookupExecutor, cohortMember, true);
+                        index = index + 1;
+                    }
+                    else
+                    {
+                        try
+                        {
+                            complete = primaryRequest.get(hedgeDelay, TimeUnit.NANOSECONDS);
+                            index = index + 1;
+                        }
+                        catch (TimeoutException slowMember)
+                        {
+                            CohortMember               nextMember       = cohortMembers.get(index + 1);
+                            CompletableFuture<Boolean> secondaryRequest = this.submitRequest(lookupExecutor, nextMember);
+
+                            if (secondaryRequest == null)
+                            {
+                                complete = primaryRequest.get();
+                                index = index + 1;
+                            }
+                            else
+                            {
+                                routingStatistics.recordHedge();
+
+                                /*
+                                 * Use the first member to return the instance.  If the first to answer did not have it,
+                                 * wait for the other.
+                                 */
+                                complete = Boolean.TRUE.equals(CompletableFuture.anyOf(primaryRequest, secondaryRequest).get())
+                                        || (primaryRequest.get()) || (secondaryRequest.get());
+                                index = index + 2;
+                            }
+                        }
+                    }
+                }
+
+                if (complete)
+                {
+                    /*
+                     * The executor returns true if it has all of the results it needs.
+                     */
+                    return;
+                }
+
+                if (lookupExecutor.getRetrievedFromHome() == null)
+                {
+                    this.promoteKnownHome(cohortMembers, index, lookupExecutor.getKnownHome());
+                }
+            }
+        }
+        catch (ExecutionException error)
+        {
+            /*
+             * The executors handle the exceptions from the repositories so this is unexpected.  The lookup
+             * returns whatever has been retrieved so far.
+             */
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            routingStatistics.saveHome(lookupExecutor.getInstanceGUID(), lookupExecutor.getKnownHome());
+        }
+    }
+
+
+    /**
+     * Build the list of members to call in the order they should be called.  Members are ordered by their
+     * expected cost with the instance's known home (if any) moved to the front.
+     *
+     * @param instanceGUID unique identifier of the instance
+     * @return list of cohort members
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private List<CohortMember> getCohortMembers(String instanceGUID) throws RepositoryErrorException
+    {
+        List<CohortMember> cohortMembers = new ArrayList<>();
+
+        if (cohortConnectors != null)
+        {
+            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            {
+                if (cohortConnector != null)
+                {
+                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                    String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+                    if (metadataCollectionId != null)
+                    {
+                        cohortMembers.add(new CohortMember(metadataCollectionId,
+                                                           metadataCollection,
+                                                           routingStatistics.getExpectedCost(metadataCollectionId)));
+                    }
+                }
+            }
+        }
+
+        cohortMembers.sort(Comparator.comparingDouble(cohortMember -> cohortMember.expectedCost));
+
+        this.promoteKnownHome(cohortMembers, 0, routingStatistics.getHome(instanceGUID));
+
+        return cohortMembers;
+    }
+
+
+    /**
+     * Move the instance's home repository so that it is the next member to be called.
+     *
+     * @param cohortMembers ordered list of members
+     * @param nextIndex position of the next member to be called
+     * @param homeMetadataCollectionId metadata collection id of the instance's home (may be null)
+     */
+    private void promoteKnownHome(List<CohortMember> cohortMembers,
+                                  int                nextIndex,
+                                  String             homeMetadataCollectionId)
+    {
+        if (homeMetadataCollectionId != null)
+        {
+            for (int index = nextIndex + 1; index < cohortMembers.size(); index++)
+            {
+                if (homeMetadataCollectionId.equals(cohortMembers.get(index).metadataCollectionId))
+                {
+                    cohortMembers.add(nextIndex, cohortMembers.remove(index));
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Call a member on one of the hedge threads.
+     *
+     * @param lookupExecutor command to execute
+     * @param cohortMember member to call
+     * @return future for the result of the call or null if all of the hedge threads are busy
+     */
+    private CompletableFuture<Boolean> submitRequest(InstanceLookupExecutor lookupExecutor,
+                                                     CohortMember           cohortMember)
+    {
+        try
+        {
+            return CompletableFuture.supplyAsync(() -> this.issueRequest(lookupExecutor, cohortMember, true), hedgePool);
+        }
+        catch (RejectedExecutionException poolBusy)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Call a member and, if the instance's home has not yet returned it, record the outcome in the
+     * routing statistics.
+     *
+     * @param lookupExecutor command to execute
+     * @param cohortMember member to call
+     * @param searching the instance's home has not yet returned it
+     * @return boolean true means that the required results have been achieved
+     */
+    private boolean issueRequest(InstanceLookupExecutor lookupExecutor,
+                                 CohortMember           cohortMember,
+                                 boolean                searching)
+    {
+        long    startTime = System.nanoTime();
+        boolean complete  = lookupExecutor.issueRequestToRepository(cohortMember.metadataCollectionId,
+                                                                     cohortMember.metadataCollection);
+
+        if (searching)
+        {
+            routingStatistics.recordLookup(cohortMember.metadataCollectionId,
+                                           System.nanoTime() - startTime,
+                                           cohortMember.metadataCollectionId.equals(lookupExecutor.getRetrievedFromHome()));
+        }
+
+        return complete;
+    }
+
+
+    /**
+     * CohortMember is a member that can be called for this lookup.
+     */
+    private static class CohortMember
+    {
+        private final String                 metadataCollectionId;
+        private final OMRSMetadataCollection metadataCollection;
+        private final double                 expectedCost;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionId identifier for the metadata collection
+         * @param metadataCollection metadata collection object for the repository
+         * @param expectedCost relative cost of calling the member
+         */
+        CohortMember(String                 metadataCollectionId,
+                     OMRSMetadataCollection metadataCollection,
+                     double                 expectedCost)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+            this.metadataCollection = metadataCollection;
+            this.expectedCost = expectedCost;
+        }
+    }
+}
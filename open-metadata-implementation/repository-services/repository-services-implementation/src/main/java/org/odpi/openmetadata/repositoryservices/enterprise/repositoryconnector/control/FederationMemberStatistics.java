@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+/**
+ * FederationMemberStatistics is a snapshot of the routing statistics of one member of the cohorts.
+ * They describe how the member has responded to the lookups of instances by unique identifier.
+ */
+public class FederationMemberStatistics
+{
+    private final String metadataCollectionId;
+    private final long   requests;
+    private final long   hits;
+    private final double averageLatencyMillis;
+    private final double hedgeDelayMillis;
+
+
+    /**
+     * Constructor
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @param requests number of lookups sent to the member
+     * @param hits number of lookups where the member returned the instance from its home repository
+     * @param averageLatencyMillis moving average of the member's response time
+     * @param hedgeDelayMillis response time after which a lookup to the member is hedged (negative if it is not hedged)
+     */
+    FederationMemberStatistics(String metadataCollectionId,
+                               long   requests,
+                               long   hits,
+                               double averageLatencyMillis,
+                               double hedgeDelayMillis)
+    {
+        this.metadataCollectionId = metadataCollectionId;
+        this.requests = requests;
+        this.hits = hits;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+    }
+
+
+    /**
+     * Return the unique identifier of the member's metadata collection.
+     *
+     * @return metadata collection id
+     */
+    public String getMetadataCollectionId()
+    {
+        return metadataCollectionId;
+    }
+
+
+    /**
+     * Return the number of lookups sent to the member.
+     *
+     * @return count
+     */
+    public long getRequests()
+    {
+        return requests;
+    }
+
+
+    /**
+     * Return the number of lookups where the member returned the instance from its home repository.
+     *
+     * @return count
+     */
+    public long getHits()
+    {
+        return hits;
+    }
+
+
+    /**
+     * Return the proportion of the lookups sent to the member that it was the home for.
+     *
+     * @return ratio between 0 and 1
+     */
+    public double getHitRate()
+    {
+        if (requests == 0)
+        {
+            return 0;
+        }
+
+        return (double) hits / requests;
+    }
+
+
+    /**
+     * Return the moving average of the member's response time.
+     *
+     * @return milliseconds
+     */
+    public double getAverageLatencyMillis()
+    {
+        return averageLatencyMillis;
+    }
+
+
+    /**
+     * Return the response time after which a lookup to the member is hedged by calling the next member.
+     *
+     * @return milliseconds or a negative value if lookups to the member are not hedged
+     */
+    public double getHedgeDelayMillis()
+    {
+        return hedgeDelayMillis;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FederationMemberStatistics{" +
+                       "metadataCollectionId='" + metadataCollectionId + '\'' +
+                       ", requests=" + requests +
+                       ", hits=" + hits +
+                       ", hitRate=" + getHitRate() +
+                       ", averageLatencyMillis=" + averageLatencyMillis +
+                       ", hedgeDelayMillis=" + hedgeDelayMillis +
+                       '}';
+    }
+}
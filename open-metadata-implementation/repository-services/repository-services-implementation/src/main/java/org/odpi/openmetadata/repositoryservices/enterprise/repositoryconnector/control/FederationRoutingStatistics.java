@@ -0,0 +1,366 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FederationRoutingStatistics records how the members of the cohorts respond to lookups of instances by
+ * unique identifier so the AdaptiveFederationControl can route each lookup to the most promising member first.
+ * It remembers the home metadata collection of recently retrieved instances and, for each member, the proportion
+ * of lookups that it was the home for and its recent response times.  It is shared by the enterprise repository
+ * connectors of a server and is safe for use by several threads at once.
+ * <p>
+ *     The statistics are also published as Micrometer metrics: egeria.omrs.enterprise.lookup times the lookups
+ *     to each member (tagged with whether the member was the home), and egeria.omrs.enterprise.lookup.hedges counts the
+ *     lookups that were hedged.
+ * </p>
+ */
+public class FederationRoutingStatistics
+{
+    /**
+     * Default number of instances whose home metadata collection is remembered.
+     */
+    public static final int DEFAULT_HOME_CACHE_SIZE = 10000;
+
+    /**
+     * Default percentile of a member's response times after which a lookup is hedged.
+     */
+    public static final int DEFAULT_HEDGE_PERCENTILE = 95;
+
+    private static final int    latencySampleSize   = 64;
+    private static final int    minimumHedgeSamples = 16;
+    private static final double latencyWeight       = 0.2;
+    private static final double nanosPerMilli       = 1000000.0;
+
+    private final String              serverName;
+    private final int                 hedgePercentile;
+    private final Map<String, String> instanceHomes;
+    private final Counter             hedgeCounter;
+
+    private final Map<String, MemberStatistics> members = new ConcurrentHashMap<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param serverName name of the server (used to tag the metrics)
+     * @param homeCacheSize number of instances whose home metadata collection is remembered
+     * @param hedgePercentile percentile of a member's response times after which a lookup is hedged (zero to disable hedging)
+     */
+    public FederationRoutingStatistics(String serverName,
+                                       int    homeCacheSize,
+                                       int    hedgePercentile)
+    {
+        this.serverName      = String.valueOf(serverName);
+        this.hedgePercentile = hedgePercentile;
+        this.instanceHomes   = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+            {
+                return size() > homeCacheSize;
+            }
+        });
+        this.hedgeCounter = Counter.builder("egeria.omrs.enterprise.lookup.hedges")
+                                   .description("Lookups of instances that were sent to a second member because the first was slow")
+                                   .tag("server", this.serverName)
+                                   .register(Metrics.globalRegistry);
+    }
+
+
+    /**
+     * Return the home metadata collection recorded for an instance.
+     *
+     * @param instanceGUID unique identifier of the instance
+     * @return metadata collection id or null if it is not known
+     */
+    String getHome(String instanceGUID)
+    {
+        if (instanceGUID == null)
+        {
+            return null;
+        }
+
+        return instanceHomes.get(instanceGUID);
+    }
+
+
+    /**
+     * Record the home metadata collection of an instance.
+     *
+     * @param instanceGUID unique identifier of the instance
+     * @param homeMetadataCollectionId metadata collection id of the instance's home
+     */
+    void saveHome(String instanceGUID,
+                  String homeMetadataCollectionId)
+    {
+        if ((instanceGUID != null) && (homeMetadataCollectionId != null))
+        {
+            instanceHomes.put(instanceGUID, homeMetadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Record the outcome of a lookup sent to a member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @param latencyNanos response time of the member
+     * @param hit the member returned the instance from its home repository
+     */
+    void recordLookup(String  metadataCollectionId,
+                      long    latencyNanos,
+                      boolean hit)
+    {
+        getMember(metadataCollectionId).record(latencyNanos, hit);
+    }
+
+
+    /**
+     * Record that a lookup was hedged.
+     */
+    void recordHedge()
+    {
+        hedgeCounter.increment();
+    }
+
+
+    /**
+     * Return the expected cost of asking a member for an instance that it may not be the home for.
+     * This is its average response time divided by its (smoothed) hit rate.  Members that have not yet
+     * been asked have no cost so they are tried early and their statistics are learnt.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return relative cost (lower is better)
+     */
+    double getExpectedCost(String metadataCollectionId)
+    {
+        MemberStatistics member = members.get(metadataCollectionId);
+
+        if (member == null)
+        {
+            return 0;
+        }
+
+        return member.getExpectedCost();
+    }
+
+
+    /**
+     * Return the time to wait for a member before hedging a lookup by calling the next member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return nanoseconds or -1 if the lookup should not be hedged
+     */
+    long getHedgeDelay(String metadataCollectionId)
+    {
+        if (hedgePercentile <= 0)
+        {
+            return -1;
+        }
+
+        MemberStatistics member = members.get(metadataCollectionId);
+
+        if (member == null)
+        {
+            return -1;
+        }
+
+        return member.getLatencyPercentile(hedgePercentile);
+    }
+
+
+    /**
+     * Return a snapshot of the statistics for each member that has been sent a lookup.
+     *
+     * @return list of member statistics
+     */
+    public List<FederationMemberStatistics> getMemberStatistics()
+    {
+        List<FederationMemberStatistics> memberStatistics = new ArrayList<>();
+
+        for (String metadataCollectionId : members.keySet())
+        {
+            MemberStatistics member     = members.get(metadataCollectionId);
+            long             hedgeDelay = this.getHedgeDelay(metadataCollectionId);
+
+            memberStatistics.add(new FederationMemberStatistics(metadataCollectionId,
+                                                                member.requests.sum(),
+                                                                member.hits.sum(),
+                                                                member.getAverageLatency() / nanosPerMilli,
+                                                                (hedgeDelay < 0) ? -1 : hedgeDelay / nanosPerMilli));
+        }
+
+        return memberStatistics;
+    }
+
+
+    /**
+     * Return the statistics for a member, creating them on first use.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return member statistics
+     */
+    private MemberStatistics getMember(String metadataCollectionId)
+    {
+        return members.computeIfAbsent(metadataCollectionId, MemberStatistics::new);
+    }
+
+
+    /**
+     * MemberStatistics holds the statistics for one member.
+     */
+    private class MemberStatistics
+    {
+        private final LongAdder requests       = new LongAdder();
+        private final LongAdder hits           = new LongAdder();
+        private final long[]    latencySamples = new long[latencySampleSize];
+        private final Timer     hitTimer;
+        private final Timer     missTimer;
+
+        private int    sampleCount    = 0;
+        private int    nextSample     = 0;
+        private double averageLatency = 0;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionId unique identifier of the member's metadata collection
+         */
+        MemberStatistics(String metadataCollectionId)
+        {
+            this.hitTimer  = getTimer(metadataCollectionId, "hit");
+            this.missTimer = getTimer(metadataCollectionId, "miss");
+        }
+
+
+        /**
+         * Register the timer for one of the outcomes of a lookup.
+         *
+         * @param metadataCollectionId unique identifier of the member's metadata collection
+         * @param outcome hit or miss
+         * @return timer
+         */
+        private Timer getTimer(String metadataCollectionId,
+                               String outcome)
+        {
+            return Timer.builder("egeria.omrs.enterprise.lookup")
+                        .description("Lookups of instances by unique identifier sent to a member of the cohorts")
+                        .tag("server", serverName)
+                        .tag("member", metadataCollectionId)
+                        .tag("outcome", outcome)
+                        .register(Metrics.globalRegistry);
+        }
+
+
+        /**
+         * Record the outcome of a lookup.
+         *
+         * @param latencyNanos response time
+         * @param hit the member returned the instance from its home repository
+         */
+        void record(long    latencyNanos,
+                    boolean hit)
+        {
+            requests.increment();
+
+            if (hit)
+            {
+                hits.increment();
+                hitTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            }
+            else
+            {
+                missTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            }
+
+            synchronized (this)
+            {
+                if (sampleCount == 0)
+                {
+                    averageLatency = latencyNanos;
+                }
+                else
+                {
+                    averageLatency = (latencyWeight * latencyNanos) + ((1 - latencyWeight) * averageLatency);
+                }
+
+                latencySamples[nextSample] = latencyNanos;
+                nextSample = (nextSample + 1) % latencySampleSize;
+
+                if (sampleCount < latencySampleSize)
+                {
+                    sampleCount++;
+                }
+            }
+        }
+
+
+        /**
+         * Return the moving average of the response times.
+         *
+         * @return nanoseconds
+         */
+        synchronized double getAverageLatency()
+        {
+            return averageLatency;
+        }
+
+
+        /**
+         * Return the expected cost of a lookup.
+         *
+         * @return relative cost
+         */
+        double getExpectedCost()
+        {
+            double hitRate = (hits.sum() + 1.0) / (requests.sum() + 2.0);
+
+            return getAverageLatency() / hitRate;
+        }
+
+
+        /**
+         * Return a percentile of the recent response times.
+         *
+         * @param percentile percentile between 1 and 100
+         * @return nanoseconds or -1 if there are too few samples
+         */
+        long getLatencyPercentile(int percentile)
+        {
+            long[] samples;
+
+            synchronized (this)
+            {
+                if (sampleCount < minimumHedgeSamples)
+                {
+                    return -1;
+                }
+
+                samples = Arrays.copyOf(latencySamples, sampleCount);
+            }
+
+            Arrays.sort(samples);
+
+            int index = (int) Math.ceil(Math.min(percentile, 100) / 100.0 * samples.length) - 1;
+
+            return samples[Math.max(index, 0)];
+        }
+    }
+}
@@ -116,6 +116,7 @@ public class GetEntityExecutor extends GetEntitySummaryExecutor
                 if (retrievedEntity != null)
                 {
                     saveClassifications(retrievedEntity.getClassifications());
+                    saveHome(metadataCollectionId, retrievedEntity);
 
                     if (metadataCollectionId.equals(retrievedEntity.getMetadataCollectionId()))
                     {
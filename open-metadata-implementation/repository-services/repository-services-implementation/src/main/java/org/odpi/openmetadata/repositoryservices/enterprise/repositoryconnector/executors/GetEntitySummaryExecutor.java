@@ -18,14 +18,19 @@ import java.util.Map;
 
 /**
  * GetEntitySummaryExecutor provides the executor for the getEntitySummary method.
+ * The entity is requested from every repository so the classifications can be harvested, but once the home
+ * repository has returned the entity only the home classifications are requested from the remaining repositories.
+ * This is why the federation control tries the entity's home repository first when it is known.
  */
-public class GetEntitySummaryExecutor extends RepositoryExecutorBase
+public class GetEntitySummaryExecutor extends RepositoryExecutorBase implements InstanceLookupExecutor
 {
     protected MaintenanceAccumulator      accumulator;
     protected String                      entityGUID;
     protected Map<String, Classification> allClassifications = new HashMap<>();
 
     protected boolean                     inPhaseOne         = true;
+    protected String                      retrievedFromHome  = null;
+    protected String                      knownHome          = null;
 
 
     private EntitySummary latestEntity = null;
@@ -81,6 +86,76 @@ public class GetEntitySummaryExecutor extends RepositoryExecutorBase
     }
 
 
+    /**
+     * Remember the home of the entity named in a retrieved copy, and whether the copy came from the home repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection that returned the entity
+     * @param retrievedEntity entity returned by the repository
+     */
+    protected void saveHome(String        metadataCollectionId,
+                            EntitySummary retrievedEntity)
+    {
+        if (knownHome == null)
+        {
+            knownHome = retrievedEntity.getMetadataCollectionId();
+        }
+
+        if (metadataCollectionId.equals(retrievedEntity.getMetadataCollectionId()))
+        {
+            knownHome = metadataCollectionId;
+            retrievedFromHome = metadataCollectionId;
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the entity being retrieved.
+     *
+     * @return guid
+     */
+    @Override
+    public String getInstanceGUID()
+    {
+        return entityGUID;
+    }
+
+
+    /**
+     * Return the metadata collection id of the home repository if the entity has been retrieved from it.
+     *
+     * @return metadata collection id or null
+     */
+    @Override
+    public String getRetrievedFromHome()
+    {
+        return retrievedFromHome;
+    }
+
+
+    /**
+     * Return the metadata collection id of the entity's home repository as recorded in any copy retrieved so far.
+     *
+     * @return metadata collection id or null
+     */
+    @Override
+    public String getKnownHome()
+    {
+        return knownHome;
+    }
+
+
+    /**
+     * The entity is requested from every repository in turn so the calls can not be hedged.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isHedgeable()
+    {
+        return false;
+    }
+
+
     /**
      * Retrieve the home classifications from the repository.
      *
@@ -130,6 +205,7 @@ public class GetEntitySummaryExecutor extends RepositoryExecutorBase
                      * The classifications from every retrieved entity are harvested.
                      */
                     saveClassifications(retrievedEntity.getClassifications());
+                    saveHome(metadataCollectionId, retrievedEntity);
 
                     if (metadataCollectionId.equals(retrievedEntity.getMetadataCollectionId()))
                     {
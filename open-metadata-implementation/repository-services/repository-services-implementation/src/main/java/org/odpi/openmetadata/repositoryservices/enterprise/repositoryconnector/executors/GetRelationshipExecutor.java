@@ -13,14 +13,17 @@ import java.util.Date;
 
 /**
  * GetRelationshipExecutor provides the executor for the isRelationshipKnown and getRelationship methods.
+ * It is satisfied by the first repository that returns the relationship.  The retrieved relationship is saved
+ * under a lock so the federation control may hedge a slow request by calling a second repository at the same time.
  */
-public class GetRelationshipExecutor extends RepositoryExecutorBase
+public class GetRelationshipExecutor extends RepositoryExecutorBase implements InstanceLookupExecutor
 {
     private MaintenanceAccumulator accumulator;
     private String                 relationshipGUID;
     private boolean                allExceptions         = true;
     private Date                   asOfTime              = null;
     private Relationship           retrievedRelationship = null;
+    private String                 retrievedFromHome     = null;
 
 
 
@@ -90,6 +93,8 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
 
         try
         {
+            Relationship relationship;
+
             /*
              * Issue the request and return if it succeeds
              */
@@ -97,23 +102,24 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
             {
                 if (allExceptions)
                 {
-                    retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                               relationshipGUID);
+                    relationship = metadataCollection.getRelationship(userId,
+                                                                      relationshipGUID);
                 }
                 else
                 {
-                    retrievedRelationship = metadataCollection.isRelationshipKnown(userId,
-                                                                                   relationshipGUID);
+                    relationship = metadataCollection.isRelationshipKnown(userId,
+                                                                          relationshipGUID);
                 }
             }
             else
             {
-                retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                           relationshipGUID,
-                                                                           asOfTime);
+                relationship = metadataCollection.getRelationship(userId,
+                                                                  relationshipGUID,
+                                                                  asOfTime);
             }
-            if (retrievedRelationship != null)
+            if (relationship != null)
             {
+                saveRelationship(metadataCollectionId, relationship);
                 result = true;
             }
         }
@@ -144,6 +150,83 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
     }
 
 
+    /**
+     * Save a retrieved relationship.  The first relationship retrieved is kept unless the copy from the
+     * home repository arrives later.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection that returned the relationship
+     * @param relationship retrieved relationship
+     */
+    private synchronized void saveRelationship(String       metadataCollectionId,
+                                               Relationship relationship)
+    {
+        boolean fromHome = metadataCollectionId.equals(relationship.getMetadataCollectionId());
+
+        if ((retrievedRelationship == null) || ((fromHome) && (retrievedFromHome == null)))
+        {
+            retrievedRelationship = relationship;
+        }
+
+        if (fromHome)
+        {
+            retrievedFromHome = metadataCollectionId;
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the relationship being retrieved.
+     *
+     * @return guid
+     */
+    @Override
+    public String getInstanceGUID()
+    {
+        return relationshipGUID;
+    }
+
+
+    /**
+     * Return the metadata collection id of the home repository if the relationship has been retrieved from it.
+     *
+     * @return metadata collection id or null
+     */
+    @Override
+    public synchronized String getRetrievedFromHome()
+    {
+        return retrievedFromHome;
+    }
+
+
+    /**
+     * Return the metadata collection id of the relationship's home repository as recorded in the retrieved copy.
+     *
+     * @return metadata collection id or null
+     */
+    @Override
+    public synchronized String getKnownHome()
+    {
+        if (retrievedRelationship != null)
+        {
+            return retrievedRelationship.getMetadataCollectionId();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * The first repository to return the relationship satisfies the request so a slow request can be hedged.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isHedgeable()
+    {
+        return true;
+    }
+
+
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
      *
@@ -153,9 +236,9 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
      *                                  the metadata collection is stored.
      * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
      */
-    public Relationship isRelationshipKnown() throws InvalidParameterException,
-                                                     RepositoryErrorException,
-                                                     UserNotAuthorizedException
+    public synchronized Relationship isRelationshipKnown() throws InvalidParameterException,
+                                                                  RepositoryErrorException,
+                                                                  UserNotAuthorizedException
     {
         if (retrievedRelationship != null)
         {
@@ -0,0 +1,44 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+/**
+ * InstanceLookupExecutor describes an executor that retrieves a single instance by its unique identifier.
+ * It reports where the instance is homed so the federation control can route the lookup to the home
+ * repository first and learn which repositories are worth trying for future lookups.
+ */
+public interface InstanceLookupExecutor extends RepositoryExecutor
+{
+    /**
+     * Return the unique identifier of the instance being retrieved.
+     *
+     * @return guid
+     */
+    String getInstanceGUID();
+
+
+    /**
+     * Return the metadata collection id of the home repository if the instance has been retrieved from it.
+     *
+     * @return metadata collection id or null if the home repository has not returned the instance
+     */
+    String getRetrievedFromHome();
+
+
+    /**
+     * Return the metadata collection id of the instance's home repository as recorded in any copy of the
+     * instance retrieved so far (including reference copies).
+     *
+     * @return metadata collection id or null if no copy has been retrieved
+     */
+    String getKnownHome();
+
+
+    /**
+     * Return whether the executor may be called for two repositories at the same time.  This is only true for
+     * executors that are satisfied by the first repository that returns the instance.
+     *
+     * @return boolean flag
+     */
+    boolean isHedgeable();
+}
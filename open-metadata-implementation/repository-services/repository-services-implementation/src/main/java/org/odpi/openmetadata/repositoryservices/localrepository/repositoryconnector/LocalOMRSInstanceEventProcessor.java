@@ -25,6 +25,7 @@ import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -49,6 +50,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     private OMRSMetadataCollection          localMetadataCollection = null;
     private boolean                         produceRefreshEvents;
     private OMRSRepositoryEventProcessor    outboundRepositoryEventProcessor;
+    private volatile LocalOMRSReferenceCopyBatcher referenceCopyBatcher = null;
+    private final AtomicLong                      failedEventCount     = new AtomicLong();
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -116,6 +119,55 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Set up the batching of the reference copies saved and purged in the local repository.  Batching
+     * is turned on if the maximum batch size is two or more.
+     *
+     * @param maxBatchSize maximum number of reference copies saved or purged in one batch (null for no batching)
+     * @param batchWindow number of milliseconds that a reference copy may wait for its batch to fill (null for the default)
+     */
+    void setReferenceCopyBatching(Integer maxBatchSize,
+                                  Integer batchWindow)
+    {
+        if (referenceCopyBatcher != null)
+        {
+            referenceCopyBatcher.disconnect();
+            referenceCopyBatcher = null;
+        }
+
+        if ((maxBatchSize != null) && (maxBatchSize > 1) && (localMetadataCollection != null))
+        {
+            int window = LocalOMRSReferenceCopyBatcher.DEFAULT_BATCH_WINDOW;
+
+            if ((batchWindow != null) && (batchWindow > 0))
+            {
+                window = batchWindow;
+            }
+
+            referenceCopyBatcher = new LocalOMRSReferenceCopyBatcher(localServerName,
+                                                                     localRepositoryConnector,
+                                                                     localMetadataCollection,
+                                                                     maxBatchSize,
+                                                                     window,
+                                                                     auditLog,
+                                                                     failedEventCount);
+        }
+    }
+
+
+    /**
+     * Save any reference copies waiting to be batched.  This is called when the local repository is
+     * shutting down.
+     */
+    void disconnect()
+    {
+        if (referenceCopyBatcher != null)
+        {
+            referenceCopyBatcher.disconnect();
+        }
+    }
+
+
     /*
      * ====================================
      * OMRSInstanceEventProcessor
@@ -845,6 +897,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.saveClassificationReferenceCopy(localRepositoryConnector.getServerUserId(), entity, classification);
         }
@@ -885,6 +938,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.purgeClassificationReferenceCopy(localRepositoryConnector.getServerUserId(), entity, originalClassification);
         }
@@ -927,6 +981,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.saveClassificationReferenceCopy(localRepositoryConnector.getServerUserId(), entity, classification);
         }
@@ -972,6 +1027,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.deleteEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
         }
@@ -1011,7 +1067,14 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+            if (referenceCopyBatcher != null)
+            {
+                referenceCopyBatcher.purgeEntityReferenceCopy(entity, methodName, originatorServerName, originatorMetadataCollectionId);
+            }
+            else
+            {
+                localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+            }
         }
         catch (Exception error)
         {
@@ -1056,11 +1119,24 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(),
-                                                             instanceGUID,
-                                                             typeDefGUID,
-                                                             typeDefName,
-                                                             originatorMetadataCollectionId);
+            if (referenceCopyBatcher != null)
+            {
+                referenceCopyBatcher.purgeEntityReferenceCopy(instanceGUID,
+                                                           typeDefGUID,
+                                                           typeDefName,
+                                                           originatorMetadataCollectionId,
+                                                           methodName,
+                                                           originatorServerName,
+                                                           originatorMetadataCollectionId);
+            }
+            else
+            {
+                localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                 instanceGUID,
+                                                                 typeDefGUID,
+                                                                 typeDefName,
+                                                                 originatorMetadataCollectionId);
+            }
         }
         catch (EntityNotKnownException  error)
         {
@@ -1450,6 +1526,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.deleteRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(), relationship);
         }
@@ -1489,7 +1566,14 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(), relationship);
+            if (referenceCopyBatcher != null)
+            {
+                referenceCopyBatcher.purgeRelationshipReferenceCopy(relationship, methodName, originatorServerName, originatorMetadataCollectionId);
+            }
+            else
+            {
+                localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(), relationship);
+            }
         }
         catch (Exception error)
         {
@@ -1534,11 +1618,24 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         {
             verifyEventProcessor(methodName);
 
-            localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
-                                                                   instanceGUID,
-                                                                   typeDefGUID,
-                                                                   typeDefName,
-                                                                   originatorMetadataCollectionId);
+            if (referenceCopyBatcher != null)
+            {
+                referenceCopyBatcher.purgeRelationshipReferenceCopy(instanceGUID,
+                                                                 typeDefGUID,
+                                                                 typeDefName,
+                                                                 originatorMetadataCollectionId,
+                                                                 methodName,
+                                                                 originatorServerName,
+                                                                 originatorMetadataCollectionId);
+            }
+            else
+            {
+                localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                       instanceGUID,
+                                                                       typeDefGUID,
+                                                                       typeDefName,
+                                                                       originatorMetadataCollectionId);
+            }
 
         }
         catch (RelationshipNotKnownException error)
@@ -1812,6 +1909,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
         try
         {
             verifyEventProcessor(methodName);
+            flushReferenceCopies();
 
             localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
                                                                 instances);
@@ -1889,6 +1987,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
             {
                 String  newGUID = UUID.randomUUID().toString();
 
+                flushReferenceCopies();
+
                 if (targetTypeDefSummary.getCategory() == TypeDefCategory.ENTITY_DEF)
                 {
                     localMetadataCollection.reIdentifyEntity(localRepositoryConnector.getServerUserId(),
@@ -2019,6 +2119,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
+            flushReferenceCopies();
+
             if (localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
                                                       processedEntityGUID) == null)
             {
@@ -2067,6 +2169,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
+            flushReferenceCopies();
+
             if (localMetadataCollection.isRelationshipKnown(localRepositoryConnector.getServerUserId(),
                                                             processedRelationshipGUID) == null)
             {
@@ -2222,6 +2326,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
+            flushReferenceCopies();
+
             if (typeDefSummary.getCategory() == TypeDefCategory.ENTITY_DEF)
             {
 
@@ -2287,6 +2393,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                                 entity,
                                                                 methodName);
 
+            flushReferenceCopies(entity.getGUID());
+
             EntityDetail storedEntity = localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
                                                                               entity.getGUID());
 
@@ -2306,7 +2414,14 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                  */
                 if ((verifyEventToSave(sourceName, entity)) || (verifyEventToLearn(sourceName, entity)))
                 {
-                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+                    if (referenceCopyBatcher != null)
+                    {
+                        referenceCopyBatcher.saveEntityReferenceCopy(entity, methodName, originatorServerName, originatorMetadataCollectionId);
+                    }
+                    else
+                    {
+                        localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
+                    }
                 }
             }
         }
@@ -2592,6 +2707,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                                 relationship,
                                                                 methodName);
 
+            flushReferenceCopies(relationship.getGUID());
+
             Relationship storedRelationship = localMetadataCollection.isRelationshipKnown(localRepositoryConnector.getServerUserId(),
                                                                                           relationship.getGUID());
 
@@ -2610,8 +2727,15 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                  */
                 if ((verifyEventToSave(sourceName, relationship)) || (verifyEventToLearn(sourceName, relationship)))
                 {
-                    localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
-                                                                          relationship);
+                    if (referenceCopyBatcher != null)
+                    {
+                        referenceCopyBatcher.saveRelationshipReferenceCopy(relationship, methodName, originatorServerName, originatorMetadataCollectionId);
+                    }
+                    else
+                    {
+                        localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                              relationship);
+                    }
                 }
             }
         }
@@ -2627,6 +2751,49 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Return the number of events that could not be applied to the local repository because of an unexpected
+     * error.  The archive manager compares this count before and after loading an archive.
+     *
+     * @return count since the event processor was created
+     */
+    public long getFailedEventCount()
+    {
+        return failedEventCount.get();
+    }
+
+
+    /**
+     * Save any reference copies that are waiting to be batched.  This is called before the local repository
+     * is changed or queried by a request that is not batched so the requests are applied in the order
+     * that their events were received.  It is also called by the archive manager once it has passed the
+     * archive's instances to this event processor.
+     */
+    public void flushReferenceCopies()
+    {
+        if (referenceCopyBatcher != null)
+        {
+            referenceCopyBatcher.flush();
+        }
+    }
+
+
+    /**
+     * Save any reference copies that are waiting to be batched if one of them is for the requested instance.
+     * This is called before the stored version of the instance is retrieved so an incoming event is validated
+     * against the latest version received.
+     *
+     * @param instanceGUID unique identifier of the instance
+     */
+    private void flushReferenceCopies(String instanceGUID)
+    {
+        if (referenceCopyBatcher != null)
+        {
+            referenceCopyBatcher.flush(instanceGUID);
+        }
+    }
+
+
     /**
      * Validate that this event processor is correctly initialized.
      *
@@ -2691,6 +2858,8 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                 String     originatorServerName,
                                                 String     originatorMetadataCollectionId)
     {
+        failedEventCount.incrementAndGet();
+
         auditLog.logException(methodName,
                               OMRSAuditCode.UNEXPECTED_EXCEPTION_FROM_EVENT.getMessageDefinition(methodName,
                                                                                                  originatorServerName,
@@ -7023,7 +7023,9 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
 
                 for (EntityDetail entity : entities)
                 {
-                    if ((entity != null) && (securityVerifier.validateEntityReferenceCopySave(entity)))
+                    if ((entity != null) &&
+                        (entity.getHeaderVersion() <= InstanceAuditHeader.CURRENT_AUDIT_HEADER_VERSION) &&
+                        (securityVerifier.validateEntityReferenceCopySave(entity)))
                     {
                         validatedEntities.add(entity);
                     }
@@ -7045,7 +7047,9 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
 
                 for (Relationship relationship : relationships)
                 {
-                    if ((relationship != null) && (securityVerifier.validateRelationshipReferenceCopySave(relationship)))
+                    if ((relationship != null) &&
+                        (relationship.getHeaderVersion() <= InstanceAuditHeader.CURRENT_AUDIT_HEADER_VERSION) &&
+                        (securityVerifier.validateRelationshipReferenceCopySave(relationship)))
                     {
                         validatedRelationships.add(relationship);
                     }
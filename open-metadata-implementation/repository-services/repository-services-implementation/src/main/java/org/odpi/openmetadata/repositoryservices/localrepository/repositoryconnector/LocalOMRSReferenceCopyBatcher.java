@@ -0,0 +1,663 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LocalOMRSReferenceCopyBatcher collects the reference copies that the LocalOMRSInstanceEventProcessor saves and
+ * purges in the local repository so they can be applied in batches.  A batch is applied when it reaches its
+ * maximum size, when its oldest reference copy has waited for the batch window, or when the event processor
+ * needs the local repository to be up to date before processing an event that is not batched.
+ * <p>
+ *     Repeated versions of the same instance in a batch are collapsed to the latest version, and a purge of an
+ *     instance cancels any save of it that is still waiting.  Consecutive saves are passed to the local
+ *     repository in a single call to saveInstanceReferenceCopies.  If the repository does not support this call,
+ *     or the batch fails, the reference copies are saved one at a time so only the failing instances are lost.
+ *     Purges are applied one at a time in the order they were received.  The event processor flushes the batch
+ *     before it reads an instance that has an operation waiting, so it always compares an incoming event with the
+ *     latest version of the instance.
+ * </p>
+ */
+class LocalOMRSReferenceCopyBatcher
+{
+    /**
+     * Default number of milliseconds that a reference copy may wait for its batch to fill.
+     */
+    static final int DEFAULT_BATCH_WINDOW = 100;
+
+    private final OMRSRepositoryConnector  localRepositoryConnector;
+    private final OMRSMetadataCollection   localMetadataCollection;
+    private final int                      maxBatchSize;
+    private final long                     batchWindow;
+    private final AuditLog                 auditLog;
+    private final AtomicLong               failureCount;
+    private final DistributionSummary      batchSizes;
+    private final ScheduledExecutorService flushTimer;
+
+    private final List<PendingOperation>        pendingOperations = new ArrayList<>();
+    private final Map<String, PendingOperation> pendingSaves      = new HashMap<>();
+    private final Set<String>                   pendingGUIDs      = new HashSet<>();
+
+    private ScheduledFuture<?> scheduledFlush = null;
+    private boolean            batchSupported = true;
+    private boolean            disconnected   = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param localServerName name of the local server (used to tag the metrics)
+     * @param localRepositoryConnector connector to the local repository
+     * @param localMetadataCollection metadata collection for the local repository
+     * @param maxBatchSize maximum number of reference copies in a batch
+     * @param batchWindow number of milliseconds that a reference copy may wait for its batch to fill
+     * @param auditLog logging destination
+     * @param failureCount count of the operations that failed, shared with the event processor
+     */
+    LocalOMRSReferenceCopyBatcher(String                  localServerName,
+                                  OMRSRepositoryConnector localRepositoryConnector,
+                                  OMRSMetadataCollection  localMetadataCollection,
+                                  int                     maxBatchSize,
+                                  long                    batchWindow,
+                                  AuditLog                auditLog,
+                                  AtomicLong              failureCount)
+    {
+        this.localRepositoryConnector = localRepositoryConnector;
+        this.localMetadataCollection = localMetadataCollection;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindow = batchWindow;
+        this.auditLog = auditLog;
+        this.failureCount = failureCount;
+
+        this.batchSizes = DistributionSummary.builder("egeria.omrs.local.reference.copy.batch")
+                                             .description("Reference copies saved or purged in the local repository in one batch")
+                                             .tag("server", String.valueOf(localServerName))
+                                             .register(Metrics.globalRegistry);
+
+        this.flushTimer = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "LocalReferenceCopyBatch-" + localServerName);
+
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Add the save of an entity reference copy to the batch.
+     *
+     * @param entity reference copy to save
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void saveEntityReferenceCopy(EntityDetail entity,
+                                              String       methodName,
+                                              String       originatorServerName,
+                                              String       originatorMetadataCollectionId)
+    {
+        this.addSave(new PendingOperation(OperationType.SAVE_ENTITY,
+                                          entity,
+                                          methodName,
+                                          originatorServerName,
+                                          originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Add the save of a relationship reference copy to the batch.
+     *
+     * @param relationship reference copy to save
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void saveRelationshipReferenceCopy(Relationship relationship,
+                                                    String       methodName,
+                                                    String       originatorServerName,
+                                                    String       originatorMetadataCollectionId)
+    {
+        this.addSave(new PendingOperation(OperationType.SAVE_RELATIONSHIP,
+                                          relationship,
+                                          methodName,
+                                          originatorServerName,
+                                          originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Add the purge of an entity reference copy to the batch.
+     *
+     * @param entity reference copy to purge
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void purgeEntityReferenceCopy(EntityDetail entity,
+                                               String       methodName,
+                                               String       originatorServerName,
+                                               String       originatorMetadataCollectionId)
+    {
+        this.addPurge(new PendingOperation(OperationType.PURGE_ENTITY,
+                                           entity,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Add the purge of an entity reference copy identified by its unique identifier to the batch.
+     *
+     * @param instanceGUID unique identifier of the entity
+     * @param typeDefGUID unique identifier of the entity's type
+     * @param typeDefName name of the entity's type
+     * @param homeMetadataCollectionId metadata collection id of the entity's home repository
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void purgeEntityReferenceCopy(String instanceGUID,
+                                               String typeDefGUID,
+                                               String typeDefName,
+                                               String homeMetadataCollectionId,
+                                               String methodName,
+                                               String originatorServerName,
+                                               String originatorMetadataCollectionId)
+    {
+        this.addPurge(new PendingOperation(OperationType.PURGE_ENTITY_BY_GUID,
+                                           instanceGUID,
+                                           typeDefGUID,
+                                           typeDefName,
+                                           homeMetadataCollectionId,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Add the purge of a relationship reference copy to the batch.
+     *
+     * @param relationship reference copy to purge
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void purgeRelationshipReferenceCopy(Relationship relationship,
+                                                     String       methodName,
+                                                     String       originatorServerName,
+                                                     String       originatorMetadataCollectionId)
+    {
+        this.addPurge(new PendingOperation(OperationType.PURGE_RELATIONSHIP,
+                                           relationship,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Add the purge of a relationship reference copy identified by its unique identifier to the batch.
+     *
+     * @param instanceGUID unique identifier of the relationship
+     * @param typeDefGUID unique identifier of the relationship's type
+     * @param typeDefName name of the relationship's type
+     * @param homeMetadataCollectionId metadata collection id of the relationship's home repository
+     * @param methodName calling method
+     * @param originatorServerName name of the server that sent the event
+     * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+     */
+    synchronized void purgeRelationshipReferenceCopy(String instanceGUID,
+                                                     String typeDefGUID,
+                                                     String typeDefName,
+                                                     String homeMetadataCollectionId,
+                                                     String methodName,
+                                                     String originatorServerName,
+                                                     String originatorMetadataCollectionId)
+    {
+        this.addPurge(new PendingOperation(OperationType.PURGE_RELATIONSHIP_BY_GUID,
+                                           instanceGUID,
+                                           typeDefGUID,
+                                           typeDefName,
+                                           homeMetadataCollectionId,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId));
+    }
+
+
+    /**
+     * Apply the waiting reference copies to the local repository.
+     */
+    synchronized void flush()
+    {
+        if (scheduledFlush != null)
+        {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (pendingOperations.isEmpty())
+        {
+            return;
+        }
+
+        List<PendingOperation> operations = new ArrayList<>(pendingOperations);
+
+        pendingOperations.clear();
+        pendingSaves.clear();
+        pendingGUIDs.clear();
+        batchSizes.record(operations.size());
+
+        List<PendingOperation> saves = new ArrayList<>();
+
+        for (PendingOperation operation : operations)
+        {
+            if (! operation.cancelled)
+            {
+                if (operation.operationType.isPurge())
+                {
+                    this.applySaves(saves);
+                    saves.clear();
+                    this.applyPurge(operation);
+                }
+                else
+                {
+                    saves.add(operation);
+                }
+            }
+        }
+
+        this.applySaves(saves);
+    }
+
+
+    /**
+     * Apply the waiting reference copies if any of them is for the requested instance.  This is called before
+     * the local repository is queried for the instance.
+     *
+     * @param instanceGUID unique identifier of the instance
+     */
+    synchronized void flush(String instanceGUID)
+    {
+        if (pendingGUIDs.contains(instanceGUID))
+        {
+            this.flush();
+        }
+    }
+
+
+    /**
+     * Apply the waiting reference copies and stop the timer.  Any reference copies received after this
+     * call are applied immediately.
+     */
+    synchronized void disconnect()
+    {
+        this.flush();
+        disconnected = true;
+        flushTimer.shutdown();
+    }
+
+
+    /**
+     * Add a save to the batch.  If a save of an earlier version of the same instance is waiting, it is
+     * replaced.  If a later version is waiting, this save is ignored.
+     *
+     * @param operation save to add
+     */
+    private void addSave(PendingOperation operation)
+    {
+        PendingOperation waitingSave = pendingSaves.get(operation.instanceGUID);
+
+        if (waitingSave != null)
+        {
+            if (waitingSave.instance.getVersion() <= operation.instance.getVersion())
+            {
+                waitingSave.supersede(operation);
+            }
+
+            return;
+        }
+
+        pendingSaves.put(operation.instanceGUID, operation);
+        this.addOperation(operation);
+    }
+
+
+    /**
+     * Add a purge to the batch.  Any save of the same instance that is waiting is cancelled.
+     *
+     * @param operation purge to add
+     */
+    private void addPurge(PendingOperation operation)
+    {
+        PendingOperation waitingSave = pendingSaves.remove(operation.instanceGUID);
+
+        if (waitingSave != null)
+        {
+            waitingSave.cancelled = true;
+        }
+
+        this.addOperation(operation);
+    }
+
+
+    /**
+     * Add an operation to the batch and either apply the batch (if it is full) or make sure it will be
+     * applied at the end of the batch window.
+     *
+     * @param operation operation to add
+     */
+    private void addOperation(PendingOperation operation)
+    {
+        pendingOperations.add(operation);
+        pendingGUIDs.add(operation.instanceGUID);
+
+        if ((disconnected) || (pendingOperations.size() >= maxBatchSize))
+        {
+            this.flush();
+        }
+        else if (scheduledFlush == null)
+        {
+            scheduledFlush = flushTimer.schedule(() -> this.flush(), batchWindow, TimeUnit.MILLISECONDS);
+        }
+    }
+
+
+    /**
+     * Save a list of reference copies in the local repository, as a batch if possible.
+     *
+     * @param saves list of saves
+     */
+    private void applySaves(List<PendingOperation> saves)
+    {
+        if (saves.isEmpty())
+        {
+            return;
+        }
+
+        if ((batchSupported) && (saves.size() > 1))
+        {
+            List<EntityDetail> entities      = new ArrayList<>();
+            List<Relationship> relationships = new ArrayList<>();
+
+            for (PendingOperation save : saves)
+            {
+                if (save.operationType == OperationType.SAVE_ENTITY)
+                {
+                    entities.add((EntityDetail) save.instance);
+                }
+                else
+                {
+                    relationships.add((Relationship) save.instance);
+                }
+            }
+
+            InstanceGraph instances = new InstanceGraph();
+
+            instances.setEntities(entities.isEmpty() ? null : entities);
+            instances.setRelationships(relationships.isEmpty() ? null : relationships);
+
+            try
+            {
+                localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(), instances);
+                return;
+            }
+            catch (FunctionNotSupportedException notSupported)
+            {
+                /*
+                 * The repository only supports saving reference copies one at a time.
+                 */
+                batchSupported = false;
+            }
+            catch (Exception error)
+            {
+                /*
+                 * One or more of the instances is in error.  Saving the instances one at a time means
+                 * only the failing instances are lost, and each error is logged against its event.
+                 */
+            }
+        }
+
+        for (PendingOperation save : saves)
+        {
+            try
+            {
+                if (save.operationType == OperationType.SAVE_ENTITY)
+                {
+                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                    (EntityDetail) save.instance);
+                }
+                else
+                {
+                    localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                          (Relationship) save.instance);
+                }
+            }
+            catch (Exception error)
+            {
+                this.logError(save, error);
+            }
+        }
+    }
+
+
+    /**
+     * Purge a reference copy from the local repository.
+     *
+     * @param purge details of the purge
+     */
+    private void applyPurge(PendingOperation purge)
+    {
+        try
+        {
+            switch (purge.operationType)
+            {
+                case PURGE_ENTITY:
+                    localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                     (EntityDetail) purge.instance);
+                    break;
+
+                case PURGE_ENTITY_BY_GUID:
+                    localMetadataCollection.purgeEntityReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                     purge.instanceGUID,
+                                                                     purge.typeDefGUID,
+                                                                     purge.typeDefName,
+                                                                     purge.homeMetadataCollectionId);
+                    break;
+
+                case PURGE_RELATIONSHIP:
+                    localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                           (Relationship) purge.instance);
+                    break;
+
+                case PURGE_RELATIONSHIP_BY_GUID:
+                    localMetadataCollection.purgeRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
+                                                                           purge.instanceGUID,
+                                                                           purge.typeDefGUID,
+                                                                           purge.typeDefName,
+                                                                           purge.homeMetadataCollectionId);
+                    break;
+            }
+        }
+        catch (EntityNotKnownException | RelationshipNotKnownException error)
+        {
+            /*
+             * A purge by unique identifier is ignored if the repository does not have the instance.
+             */
+            if (purge.instance != null)
+            {
+                this.logError(purge, error);
+            }
+        }
+        catch (Exception error)
+        {
+            this.logError(purge, error);
+        }
+    }
+
+
+    /**
+     * Log the failure of a batched operation against the event that requested it.
+     *
+     * @param operation failing operation
+     * @param error exception from the local repository
+     */
+    private void logError(PendingOperation operation,
+                          Exception        error)
+    {
+        failureCount.incrementAndGet();
+
+        auditLog.logException(operation.methodName,
+                              OMRSAuditCode.UNEXPECTED_EXCEPTION_FROM_EVENT.getMessageDefinition(operation.methodName,
+                                                                                                 operation.originatorServerName,
+                                                                                                 operation.originatorMetadataCollectionId,
+                                                                                                 error.getClass().getName(),
+                                                                                                 error.getMessage()),
+                              error);
+    }
+
+
+    /**
+     * OperationType describes the change to the local repository requested by a pending operation.
+     */
+    private enum OperationType
+    {
+        SAVE_ENTITY,
+        SAVE_RELATIONSHIP,
+        PURGE_ENTITY,
+        PURGE_ENTITY_BY_GUID,
+        PURGE_RELATIONSHIP,
+        PURGE_RELATIONSHIP_BY_GUID;
+
+        /**
+         * Return whether this operation removes a reference copy.
+         *
+         * @return boolean
+         */
+        boolean isPurge()
+        {
+            return (this != SAVE_ENTITY) && (this != SAVE_RELATIONSHIP);
+        }
+    }
+
+
+    /**
+     * PendingOperation is a save or purge of a reference copy that is waiting in the batch.
+     */
+    private static class PendingOperation
+    {
+        private final OperationType  operationType;
+        private final String         instanceGUID;
+        private final String         typeDefGUID;
+        private final String         typeDefName;
+        private final String         homeMetadataCollectionId;
+
+        private InstanceHeader instance;
+        private String         methodName;
+        private String         originatorServerName;
+        private String         originatorMetadataCollectionId;
+        private boolean        cancelled = false;
+
+
+        /**
+         * Constructor for an operation on a supplied instance.
+         *
+         * @param operationType requested change
+         * @param instance reference copy
+         * @param methodName calling method
+         * @param originatorServerName name of the server that sent the event
+         * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+         */
+        PendingOperation(OperationType  operationType,
+                         InstanceHeader instance,
+                         String         methodName,
+                         String         originatorServerName,
+                         String         originatorMetadataCollectionId)
+        {
+            this.operationType = operationType;
+            this.instanceGUID = instance.getGUID();
+            this.typeDefGUID = null;
+            this.typeDefName = null;
+            this.homeMetadataCollectionId = null;
+            this.instance = instance;
+            this.methodName = methodName;
+            this.originatorServerName = originatorServerName;
+            this.originatorMetadataCollectionId = originatorMetadataCollectionId;
+        }
+
+
+        /**
+         * Constructor for an operation on an instance identified by its unique identifier.
+         *
+         * @param operationType requested change
+         * @param instanceGUID unique identifier of the instance
+         * @param typeDefGUID unique identifier of the instance's type
+         * @param typeDefName name of the instance's type
+         * @param homeMetadataCollectionId metadata collection id of the instance's home repository
+         * @param methodName calling method
+         * @param originatorServerName name of the server that sent the event
+         * @param originatorMetadataCollectionId metadata collection id of the server that sent the event
+         */
+        PendingOperation(OperationType operationType,
+                         String        instanceGUID,
+                         String        typeDefGUID,
+                         String        typeDefName,
+                         String        homeMetadataCollectionId,
+                         String        methodName,
+                         String        originatorServerName,
+                         String        originatorMetadataCollectionId)
+        {
+            this.operationType = operationType;
+            this.instanceGUID = instanceGUID;
+            this.typeDefGUID = typeDefGUID;
+            this.typeDefName = typeDefName;
+            this.homeMetadataCollectionId = homeMetadataCollectionId;
+            this.instance = null;
+            this.methodName = methodName;
+            this.originatorServerName = originatorServerName;
+            this.originatorMetadataCollectionId = originatorMetadataCollectionId;
+        }
+
+
+        /**
+         * Replace the instance in this save with a later version.
+         *
+         * @param laterSave save of the later version
+         */
+        void supersede(PendingOperation laterSave)
+        {
+            this.instance = laterSave.instance;
+            this.methodName = laterSave.methodName;
+            this.originatorServerName = laterSave.originatorServerName;
+            this.originatorMetadataCollectionId = laterSave.originatorMetadataCollectionId;
+        }
+    }
+}
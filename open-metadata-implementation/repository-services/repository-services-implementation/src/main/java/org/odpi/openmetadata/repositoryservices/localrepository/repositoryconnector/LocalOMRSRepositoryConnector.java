@@ -170,6 +170,11 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     @Override
     public void disconnect() throws ConnectorCheckedException
     {
+        if (incomingInstanceEventProcessor != null)
+        {
+            incomingInstanceEventProcessor.disconnect();
+        }
+
         super.disconnect();
 
         if (realLocalConnector  != null)
@@ -355,6 +360,23 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     }
 
 
+    /**
+     * Set up the batching of the reference copies that are received from the cohorts and saved or purged
+     * in the local repository.  This is called after the metadata collection id is set up.
+     *
+     * @param maxBatchSize maximum number of reference copies saved or purged in one batch (null for no batching)
+     * @param batchWindow number of milliseconds that a reference copy may wait for its batch to fill (null for the default)
+     */
+    public void setReferenceCopyBatching(Integer maxBatchSize,
+                                         Integer batchWindow)
+    {
+        if (incomingInstanceEventProcessor != null)
+        {
+            incomingInstanceEventProcessor.setReferenceCopyBatching(maxBatchSize, batchWindow);
+        }
+    }
+
+
     /**
      * Set up the unique Id for this metadata collection.
      *
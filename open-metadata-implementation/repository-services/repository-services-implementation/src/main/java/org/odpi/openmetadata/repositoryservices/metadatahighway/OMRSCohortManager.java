@@ -5,9 +5,11 @@ package org.odpi.openmetadata.repositoryservices.metadatahighway;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessor;
 import org.odpi.openmetadata.repositoryservices.events.OpenMetadataEventsSecurity;
 import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
 import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
@@ -292,6 +294,21 @@ public class OMRSCohortManager
     }
 
 
+    /**
+     * Register an additional processor for the instance events received from the cohort.  This must be called
+     * before the cohort's event manager is started by setSecurityVerifier.
+     *
+     * @param instanceEventProcessor instance event processor
+     */
+    void registerInstanceProcessor(OMRSInstanceEventProcessor instanceEventProcessor)
+    {
+        if ((this.cohortRepositoryEventManager != null) && (instanceEventProcessor != null))
+        {
+            this.cohortRepositoryEventManager.registerInstanceProcessor(instanceEventProcessor);
+        }
+    }
+
+
     /**
      * Set up a new security verifier (the metadata collection runs with a default verifier until this
      * method is called).
@@ -442,6 +459,30 @@ public class OMRSCohortManager
     }
 
 
+    /**
+     * Return the reports of the inbound events of each of the cohort's topics.
+     *
+     * @return list of topic reports
+     */
+    List<EventTopicReport> getTopicReports()
+    {
+        List<EventTopicReport> topicReports = new ArrayList<>();
+
+        for (OMRSTopicConnector topicConnector : new OMRSTopicConnector[]{ cohortSingleTopicConnector,
+                                                                           cohortRegistrationTopicConnector,
+                                                                           cohortTypesTopicConnector,
+                                                                           cohortInstancesTopicConnector })
+        {
+            if (topicConnector != null)
+            {
+                topicReports.add(topicConnector.getTopicReport());
+            }
+        }
+
+        return topicReports;
+    }
+
+
     /**
      * Return the remote members for this cohort.
      *
@@ -5,8 +5,10 @@ package org.odpi.openmetadata.repositoryservices.metadatahighway;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
 import org.odpi.openmetadata.repositoryservices.events.OpenMetadataEventsSecurity;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessor;
 import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
 import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
+import org.odpi.openmetadata.repositoryservices.properties.EventTopicReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.adminservices.configuration.properties.OpenMetadataEventProtocolVersion;
@@ -18,6 +20,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSCohortEventEncodings;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.OMRSCohortRegistryStore;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
@@ -45,6 +48,7 @@ public class OMRSMetadataHighwayManager
     private OMRSConnectionConsumer       enterpriseAccessConnectionConsumer; /* set in constructor */
     private OMRSTopicConnector           enterpriseAccessTopicConnector;     /* set in constructor */
     private AuditLog                     auditLog;
+    private OMRSInstanceEventProcessor   enterpriseInstanceEventProcessor = null;
 
     private static final Logger log = LoggerFactory.getLogger(OMRSMetadataHighwayManager.class);
 
@@ -82,6 +86,18 @@ public class OMRSMetadataHighwayManager
     }
 
 
+    /**
+     * Set up the processor that keeps the enterprise repository services up to date with the instance events
+     * received from each cohort.  It must be set up before the cohorts are connected.
+     *
+     * @param enterpriseInstanceEventProcessor instance event processor
+     */
+    public void setEnterpriseInstanceEventProcessor(OMRSInstanceEventProcessor enterpriseInstanceEventProcessor)
+    {
+        this.enterpriseInstanceEventProcessor = enterpriseInstanceEventProcessor;
+    }
+
+
     /**
      * Initialize each cohort manager in turn.  Configuration errors will result in an exception and the initialization
      * process will halt.
@@ -193,33 +209,38 @@ public class OMRSMetadataHighwayManager
             OMRSTopicConnector cohortRegistrationTopicConnector = null;
             OMRSTopicConnector cohortTypesTopicConnector = null;
             OMRSTopicConnector cohortInstancesTopicConnector = null;
+            OMRSCohortEventEncodings cohortEventEncodings = new OMRSCohortEventEncodings();
 
             if (cohortConfig.getCohortOMRSTopicConnection() != null)
             {
                 cohortSingleTopicConnector = getTopicConnector(cohortConfig.getCohortName() + " (single)",
                                                                cohortConfig.getCohortOMRSTopicConnection(),
-                                                               cohortConfig.getCohortOMRSTopicProtocolVersion());
+                                                               cohortConfig.getCohortOMRSTopicProtocolVersion(),
+                                                               cohortEventEncodings);
             }
 
             if (cohortConfig.getCohortOMRSRegistrationTopicConnection() != null)
             {
                 cohortRegistrationTopicConnector = getTopicConnector(cohortConfig.getCohortName() + " (registration)",
                                                                      cohortConfig.getCohortOMRSRegistrationTopicConnection(),
-                                                                     cohortConfig.getCohortOMRSTopicProtocolVersion());
+                                                                     cohortConfig.getCohortOMRSTopicProtocolVersion(),
+                                                                     cohortEventEncodings);
             }
 
             if (cohortConfig.getCohortOMRSTypesTopicConnection() != null)
             {
                 cohortTypesTopicConnector = getTopicConnector(cohortConfig.getCohortName() + " (types)",
                                                               cohortConfig.getCohortOMRSTypesTopicConnection(),
-                                                              cohortConfig.getCohortOMRSTopicProtocolVersion());
+                                                              cohortConfig.getCohortOMRSTopicProtocolVersion(),
+                                                              cohortEventEncodings);
             }
 
             if (cohortConfig.getCohortOMRSInstancesTopicConnection() != null)
             {
                 cohortInstancesTopicConnector = getTopicConnector(cohortConfig.getCohortName() + " (instances)",
                                                                   cohortConfig.getCohortOMRSInstancesTopicConnection(),
-                                                                  cohortConfig.getCohortOMRSTopicProtocolVersion());
+                                                                  cohortConfig.getCohortOMRSTopicProtocolVersion(),
+                                                                  cohortEventEncodings);
             }
 
             OMRSRepositoryEventExchangeRule inboundEventExchangeRule
@@ -247,6 +268,11 @@ public class OMRSMetadataHighwayManager
                                      cohortInstancesTopicConnector,
                                      inboundEventExchangeRule);
 
+            if (enterpriseInstanceEventProcessor != null)
+            {
+                cohortManager.registerInstanceProcessor(enterpriseInstanceEventProcessor);
+            }
+
             /*
              * The cohort manager is only added to the list if it initializes successfully.
              */
@@ -380,6 +406,27 @@ public class OMRSMetadataHighwayManager
     }
 
 
+    /**
+     * Return the reports of the inbound events of the topics used by each of the cohorts.
+     *
+     * @return list of topic reports
+     */
+    public List<EventTopicReport> getTopicReports()
+    {
+        List<EventTopicReport>  topicReports = new ArrayList<>();
+
+        for (OMRSCohortManager  existingCohortManager : cohortManagers)
+        {
+            if (existingCohortManager != null)
+            {
+                topicReports.addAll(existingCohortManager.getTopicReports());
+            }
+        }
+
+        return topicReports;
+    }
+
+
     /**
      * Return the status of the named cohort.
      *
@@ -526,11 +573,13 @@ public class OMRSMetadataHighwayManager
      * @param cohortName name of the cohort that this registry store is for
      * @param topicConnection connection parameters
      * @param protocolVersion event protocol version
+     * @param cohortEventEncodings record of the encodings accepted by the cohort members, shared by the cohort's topic connectors
      * @return OMRSTopicConnector for managing communications with the event/messaging infrastructure.
      */
     private OMRSTopicConnector getTopicConnector(String                           cohortName,
                                                  Connection                       topicConnection,
-                                                 OpenMetadataEventProtocolVersion protocolVersion)
+                                                 OpenMetadataEventProtocolVersion protocolVersion,
+                                                 OMRSCohortEventEncodings         cohortEventEncodings)
     {
         try
         {
@@ -540,11 +589,16 @@ public class OMRSMetadataHighwayManager
             OMRSTopicConnector topicConnector  = (OMRSTopicConnector)connector;
 
             topicConnector.setAuditLog(auditLog.createNewAuditLog(OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR));
+            topicConnector.setCohortEventEncodings(cohortEventEncodings);
 
             if (protocolVersion == OpenMetadataEventProtocolVersion.V1)
             {
                 topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1);
             }
+            else if (protocolVersion == OpenMetadataEventProtocolVersion.V1_COMPACT)
+            {
+                topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1_COMPACT);
+            }
 
             return topicConnector;
         }
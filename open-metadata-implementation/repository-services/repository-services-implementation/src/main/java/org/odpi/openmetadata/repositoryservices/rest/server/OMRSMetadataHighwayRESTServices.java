@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.metadatahighway.OMRSMetadataHigh
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.EventTopicReportListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.services.OMRSRepositoryServicesInstance;
 import org.odpi.openmetadata.repositoryservices.rest.services.OMRSRepositoryServicesInstanceHandler;
 import org.slf4j.Logger;
@@ -83,6 +84,56 @@ public class OMRSMetadataHighwayRESTServices
     }
 
 
+    /**
+     * Return the reports of the inbound events of the topics used by the cohorts that this server is participating in.
+     * They cover the events waiting to be processed, the delays in passing them to the listeners and the
+     * processing times and errors of each listener.
+     *
+     * @param serverName name of server
+     * @param userId calling user
+     * @return list of topic reports or
+     * InvalidParameterException invalid parameter
+     * UserNotAuthorizedException user not authorized
+     * RepositoryErrorException there is a problem communicating with the metadata repository.
+     */
+    public EventTopicReportListResponse getTopicReports(String     serverName,
+                                                        String     userId)
+    {
+        final  String   methodName = "getTopicReports";
+
+        log.debug("Calling method: " + methodName);
+
+        EventTopicReportListResponse response = new EventTopicReportListResponse();
+
+        try
+        {
+            OMRSMetadataHighwayManager metadataHighwayManager = getMetadataHighway(userId, serverName, methodName);
+
+            response.setTopicReports(metadataHighwayManager.getTopicReports());
+        }
+        catch (InvalidParameterException  error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (UserNotAuthorizedException  error)
+        {
+            exceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            exceptionHandler.captureRepositoryErrorException(response, error);
+        }
+        catch (Exception  error)
+        {
+            exceptionHandler.captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return the local registration information used by this server to register with open metadata repository cohorts.
      * No registration time is provided.  Use the cohort specific version to retrieve the registration time.
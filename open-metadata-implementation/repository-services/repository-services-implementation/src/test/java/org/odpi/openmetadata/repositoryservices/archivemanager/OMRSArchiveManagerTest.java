@@ -0,0 +1,426 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.mockito.ArgumentCaptor;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSInstanceEventProcessor;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that OMRSArchiveManager only skips the instances of an archive that have not changed since it was last
+ * loaded and are still in the local repository, and that it only records the fingerprint of an archive once all
+ * of its instances have been saved.
+ */
+public class OMRSArchiveManagerTest
+{
+    private static final String localMetadataCollectionId = "local-mcid";
+    private static final String archiveGUID               = "archive-guid";
+    private static final String serverUserId              = "serverUser";
+    private static final Date   archiveCreationTime       = new Date(1600000000000L);
+    private static final String fingerprintFileName       = localMetadataCollectionId + ".archives.json";
+
+    private static final String unchangedArchive = OMRSAuditCode.UNCHANGED_ARCHIVE.getMessageDefinition().getMessageId();
+    private static final String changedArchive   = OMRSAuditCode.CHANGED_ARCHIVE.getMessageDefinition().getMessageId();
+    private static final String contentMissing   = OMRSAuditCode.ARCHIVE_CONTENT_MISSING.getMessageDefinition().getMessageId();
+    private static final String notSaved         = OMRSAuditCode.ARCHIVE_FINGERPRINT_NOT_SAVED.getMessageDefinition().getMessageId();
+
+    private File                            fingerprintDirectory = null;
+    private Map<String, EntityDetail>       storedEntities       = null;
+    private Map<String, Relationship>       storedRelationships  = null;
+    private AtomicLong                      failedEventCount     = null;
+    private LocalOMRSInstanceEventProcessor instanceProcessor    = null;
+    private List<String>                    messageIds           = null;
+    private boolean                         failFlush            = false;
+
+
+    /**
+     * Create an empty fingerprint directory and a local repository that holds no instances.
+     *
+     * @throws Exception unable to create the directory
+     */
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        fingerprintDirectory = Files.createTempDirectory("archive-fingerprints").toFile();
+        storedEntities       = new HashMap<>();
+        storedRelationships  = new HashMap<>();
+        failedEventCount     = new AtomicLong();
+        failFlush            = false;
+    }
+
+
+    /**
+     * Remove the fingerprint directory.
+     */
+    @AfterMethod
+    public void tearDown()
+    {
+        File[] files = fingerprintDirectory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                assertTrue(file.delete());
+            }
+        }
+
+        assertTrue(fingerprintDirectory.delete());
+    }
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a relationship.
+     *
+     * @param guid unique identifier of the relationship
+     * @param version version of the relationship
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid,
+                                         long   version)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return a new copy of the test archive.  It has two entities, a relationship and a classification.
+     *
+     * @param entity2Version version of the second entity
+     * @param classificationName name of the classification
+     * @param archiveTypeStore type definitions of the archive (may be null)
+     * @return archive
+     */
+    private OpenMetadataArchive getArchive(long                         entity2Version,
+                                           String                       classificationName,
+                                           OpenMetadataArchiveTypeStore archiveTypeStore)
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID(archiveGUID);
+        archiveProperties.setArchiveName("Test Archive");
+        archiveProperties.setArchiveType(OpenMetadataArchiveType.CONTENT_PACK);
+        archiveProperties.setArchiveVersion("1.0");
+        archiveProperties.setOriginatorName("Test Originator");
+        archiveProperties.setCreationDate(archiveCreationTime);
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        entities.add(getEntity("entity-guid1", 1));
+        entities.add(getEntity("entity-guid2", entity2Version));
+
+        EntityProxy entityProxy = new EntityProxy();
+
+        entityProxy.setGUID("entity-guid1");
+
+        Classification classification = new Classification();
+
+        classification.setName(classificationName);
+        classification.setVersion(1);
+
+        ClassificationEntityExtension classificationEntityExtension = new ClassificationEntityExtension();
+
+        classificationEntityExtension.setEntityToClassify(entityProxy);
+        classificationEntityExtension.setClassification(classification);
+
+        OpenMetadataArchiveInstanceStore archiveInstanceStore = new OpenMetadataArchiveInstanceStore();
+
+        archiveInstanceStore.setEntities(entities);
+        archiveInstanceStore.setRelationships(Collections.singletonList(getRelationship("relationship-guid", 1)));
+        archiveInstanceStore.setClassifications(Collections.singletonList(classificationEntityExtension));
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(archiveTypeStore);
+        archive.setArchiveInstanceStore(archiveInstanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Return a type store with a single primitive type definition.
+     *
+     * @param primitiveDefCategory category of the primitive type
+     * @return type store
+     */
+    private OpenMetadataArchiveTypeStore getTypeStore(PrimitiveDefCategory primitiveDefCategory)
+    {
+        PrimitiveDef primitiveDef = new PrimitiveDef(primitiveDefCategory);
+
+        primitiveDef.setGUID(primitiveDefCategory.getGUID());
+        primitiveDef.setName(primitiveDefCategory.getName());
+
+        List<AttributeTypeDef> attributeTypeDefs = new ArrayList<>();
+
+        attributeTypeDefs.add(primitiveDef);
+
+        OpenMetadataArchiveTypeStore archiveTypeStore = new OpenMetadataArchiveTypeStore();
+
+        archiveTypeStore.setAttributeTypeDefs(attributeTypeDefs);
+
+        return archiveTypeStore;
+    }
+
+
+    /**
+     * Start an archive manager, as happens when the server starts, and load an archive.  The instances that the
+     * event processor receives are stored in the mock local repository.  If failFlush is set, the event processor
+     * reports a failure when its waiting reference copies are flushed.
+     *
+     * @param archive archive to load
+     * @throws Exception problem setting up the mocks
+     */
+    private void loadArchive(OpenMetadataArchive archive) throws Exception
+    {
+        OMRSRepositoryConnector           repositoryConnector = mock(OMRSRepositoryConnector.class);
+        OMRSMetadataCollection            metadataCollection  = mock(OMRSMetadataCollection.class);
+        OpenMetadataArchiveStoreConnector archiveStore        = mock(OpenMetadataArchiveStoreConnector.class);
+        AuditLog                          auditLog            = mock(AuditLog.class);
+
+        instanceProcessor = mock(LocalOMRSInstanceEventProcessor.class);
+
+        when(repositoryConnector.getServerUserId()).thenReturn(serverUserId);
+        when(repositoryConnector.getMetadataCollection()).thenReturn(metadataCollection);
+        when(metadataCollection.isEntityKnown(eq(serverUserId), anyString()))
+                .thenAnswer(invocation -> storedEntities.get(invocation.<String>getArgument(1)));
+        when(metadataCollection.isRelationshipKnown(eq(serverUserId), anyString()))
+                .thenAnswer(invocation -> storedRelationships.get(invocation.<String>getArgument(1)));
+        when(instanceProcessor.getFailedEventCount()).thenAnswer(invocation -> failedEventCount.get());
+        when(archiveStore.getArchiveContents()).thenReturn(archive);
+
+        doAnswer(invocation ->
+                 {
+                     EntityDetail entity = invocation.getArgument(5);
+                     storedEntities.put(entity.getGUID(), entity);
+                     return null;
+                 }).when(instanceProcessor).processNewEntityEvent(any(), any(), any(), any(), any(), any(EntityDetail.class));
+        doAnswer(invocation ->
+                 {
+                     EntityDetail entity = invocation.getArgument(6);
+                     storedEntities.put(entity.getGUID(), entity);
+                     return null;
+                 }).when(instanceProcessor).processUpdatedEntityEvent(any(), any(), any(), any(), any(), any(), any(EntityDetail.class));
+        doAnswer(invocation ->
+                 {
+                     Relationship relationship = invocation.getArgument(5);
+                     storedRelationships.put(relationship.getGUID(), relationship);
+                     return null;
+                 }).when(instanceProcessor).processNewRelationshipEvent(any(), any(), any(), any(), any(), any(Relationship.class));
+        doAnswer(invocation ->
+                 {
+                     if (failFlush)
+                     {
+                         failedEventCount.incrementAndGet();
+                     }
+                     return null;
+                 }).when(instanceProcessor).flushReferenceCopies();
+
+        OMRSArchiveManager archiveManager = new OMRSArchiveManager(null, auditLog);
+
+        archiveManager.setArchiveFingerprintDirectory(fingerprintDirectory.getPath(), repositoryConnector);
+        archiveManager.setLocalRepository(localMetadataCollectionId, mock(OMRSRepositoryContentManager.class), instanceProcessor);
+        archiveManager.addOpenMetadataArchive(archiveStore, "test");
+
+        ArgumentCaptor<AuditLogMessageDefinition> messages = ArgumentCaptor.forClass(AuditLogMessageDefinition.class);
+
+        verify(auditLog, atLeastOnce()).logMessage(anyString(), messages.capture());
+
+        messageIds = new ArrayList<>();
+
+        for (AuditLogMessageDefinition message : messages.getAllValues())
+        {
+            messageIds.add(message.getMessageId());
+        }
+    }
+
+
+    /**
+     * Test that an archive is loaded in full the first time and that its entities and relationships are skipped
+     * when it is loaded again unchanged.  The headers of the classifications are still set up.
+     *
+     * @throws Exception problem with the mocks
+     */
+    @Test
+    public void testUnchangedArchiveSkipped() throws Exception
+    {
+        loadArchive(getArchive(1, "Confidentiality", null));
+
+        verify(instanceProcessor, times(2)).processNewEntityEvent(any(), eq(archiveGUID), any(), any(), any(), any(EntityDetail.class));
+        verify(instanceProcessor, times(1)).processNewRelationshipEvent(any(), eq(archiveGUID), any(), any(), any(), any(Relationship.class));
+        verify(instanceProcessor).flushReferenceCopies();
+        assertTrue(new File(fingerprintDirectory, fingerprintFileName).exists());
+
+        OpenMetadataArchive archive = getArchive(1, "Confidentiality", null);
+
+        loadArchive(archive);
+
+        assertTrue(messageIds.contains(unchangedArchive));
+        verify(instanceProcessor, never()).processNewEntityEvent(any(), any(), any(), any(), any(), any(EntityDetail.class));
+        verify(instanceProcessor, never()).processNewRelationshipEvent(any(), any(), any(), any(), any(), any(Relationship.class));
+
+        Classification classification = archive.getArchiveInstanceStore().getClassifications().get(0).getClassification();
+
+        assertEquals(classification.getMetadataCollectionId(), archiveGUID);
+        assertEquals(classification.getReplicatedBy(), localMetadataCollectionId);
+    }
+
+
+    /**
+     * Test that only the instances that have changed are loaded.
+     *
+     * @throws Exception problem with the mocks
+     */
+    @Test
+    public void testChangedInstanceLoaded() throws Exception
+    {
+        loadArchive(getArchive(1, "Confidentiality", null));
+        loadArchive(getArchive(2, "Confidentiality", null));
+
+        assertTrue(messageIds.contains(changedArchive));
+        verify(instanceProcessor, never()).processNewEntityEvent(any(), any(), any(), any(), any(), any(EntityDetail.class));
+        verify(instanceProcessor, times(1)).processUpdatedEntityEvent(any(), eq(archiveGUID), any(), any(), any(), any(), any(EntityDetail.class));
+        verify(instanceProcessor, never()).processNewRelationshipEvent(any(), any(), any(), any(), any(), any(Relationship.class));
+    }
+
+
+    /**
+     * Test that a change to the type definitions or classifications of an archive means it is not treated as
+     * unchanged, and that the new content is recorded.
+     *
+     * @throws Exception problem with the mocks
+     */
+    @Test
+    public void testTypesAndClassificationsFingerprinted() throws Exception
+    {
+        loadArchive(getArchive(1, "Confidentiality", getTypeStore(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)));
+        loadArchive(getArchive(1, "Confidentiality", getTypeStore(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT)));
+
+        assertTrue(messageIds.contains(changedArchive));
+        assertFalse(messageIds.contains(unchangedArchive));
+
+        loadArchive(getArchive(1, "Criticality", getTypeStore(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT)));
+
+        assertTrue(messageIds.contains(changedArchive));
+        assertFalse(messageIds.contains(unchangedArchive));
+
+        loadArchive(getArchive(1, "Criticality", getTypeStore(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT)));
+
+        assertTrue(messageIds.contains(unchangedArchive));
+    }
+
+
+    /**
+     * Test that an archive is loaded in full if the local repository no longer holds one of its instances.
+     *
+     * @throws Exception problem with the mocks
+     */
+    @Test
+    public void testMissingInstanceReloads() throws Exception
+    {
+        loadArchive(getArchive(1, "Confidentiality", null));
+
+        storedRelationships.clear();
+
+        loadArchive(getArchive(1, "Confidentiality", null));
+
+        assertTrue(messageIds.contains(contentMissing));
+        verify(instanceProcessor, times(2)).processNewEntityEvent(any(), eq(archiveGUID), any(), any(), any(), any(EntityDetail.class));
+        verify(instanceProcessor, times(1)).processNewRelationshipEvent(any(), eq(archiveGUID), any(), any(), any(), any(Relationship.class));
+    }
+
+
+    /**
+     * Test that the fingerprint is not recorded if the local repository fails to save any of the instances, so that
+     * the archive is loaded in full the next time.
+     *
+     * @throws Exception problem with the mocks
+     */
+    @Test
+    public void testFailedLoadNotRecorded() throws Exception
+    {
+        failFlush = true;
+        loadArchive(getArchive(1, "Confidentiality", null));
+
+        assertTrue(messageIds.contains(notSaved));
+        assertFalse(new File(fingerprintDirectory, fingerprintFileName).exists());
+
+        failFlush = false;
+        loadArchive(getArchive(1, "Confidentiality", null));
+
+        assertFalse(messageIds.contains(unchangedArchive));
+        verify(instanceProcessor, times(2)).processNewEntityEvent(any(), eq(archiveGUID), any(), any(), any(), any(EntityDetail.class));
+        assertTrue(new File(fingerprintDirectory, fingerprintFileName).exists());
+    }
+}
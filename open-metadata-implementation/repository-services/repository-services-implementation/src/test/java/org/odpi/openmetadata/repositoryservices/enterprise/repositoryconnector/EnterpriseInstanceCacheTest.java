@@ -0,0 +1,285 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that EnterpriseInstanceCache only returns current instances: it must drop instances that are invalidated,
+ * expire or are evicted, and must not cache an instance whose read overlapped an invalidation.
+ */
+public class EnterpriseInstanceCacheTest
+{
+    private static final String serverName = "testServer";
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version of the entity
+     * @param propertyCount number of properties to give the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   int    propertyCount)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        if (propertyCount > 0)
+        {
+            InstanceProperties properties = new InstanceProperties();
+
+            for (int i = 0; i < propertyCount; i++)
+            {
+                PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+                propertyValue.setPrimitiveValue("value" + i);
+                properties.setProperty("property" + i, propertyValue);
+            }
+
+            entity.setProperties(properties);
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Test that entities and relationships are returned as copies of the requested type and only to the user that
+     * retrieved them.
+     */
+    @Test
+    public void testGetReturnsCopiesPerUser()
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 100, 60, new SimpleMeterRegistry());
+
+        cache.putEntity("user1", getEntity("entity-guid", 1, 2), cache.getGeneration());
+
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID("relationship-guid");
+        relationship.setVersion(1);
+        cache.putRelationship("user1", relationship, cache.getGeneration());
+
+        EntityDetail  entity        = cache.getEntity("user1", "entity-guid");
+        EntitySummary entitySummary = cache.getEntitySummary("user1", "entity-guid");
+
+        assertNotNull(entity);
+        assertEquals(entitySummary.getClass(), EntitySummary.class);
+        assertEquals(entitySummary.getGUID(), "entity-guid");
+        assertEquals(cache.getRelationship("user1", "relationship-guid").getGUID(), "relationship-guid");
+
+        entity.setVersion(5);
+
+        assertEquals(cache.getEntity("user1", "entity-guid").getVersion(), 1);
+        assertNull(cache.getEntity("user2", "entity-guid"));
+        assertNull(cache.getEntitySummary("user1", "relationship-guid"));
+        assertNull(cache.getRelationship("user1", "entity-guid"));
+        assertEquals(cache.getWeight(), 4);
+    }
+
+
+    /**
+     * Test that an invalidation removes the instance for every user and that an older version does not replace
+     * the cached version.
+     */
+    @Test
+    public void testInvalidation()
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 100, 60, new SimpleMeterRegistry());
+
+        cache.putEntity("user1", getEntity("entity-guid", 2, 0), cache.getGeneration());
+        cache.putEntity("user2", getEntity("entity-guid", 2, 0), cache.getGeneration());
+        cache.putEntity("user1", getEntity("entity-guid", 1, 0), cache.getGeneration());
+
+        assertEquals(cache.getEntity("user1", "entity-guid").getVersion(), 2);
+
+        cache.invalidate("entity-guid");
+
+        assertNull(cache.getEntity("user1", "entity-guid"));
+        assertNull(cache.getEntity("user2", "entity-guid"));
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getWeight(), 0);
+    }
+
+
+    /**
+     * Test that an instance read before an invalidation of the same instance is not cached, that reads of other
+     * instances are unaffected and that a read that starts after the invalidation is cached.
+     */
+    @Test
+    public void testReadOverlappingInvalidationNotCached()
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 100, 60, new SimpleMeterRegistry());
+
+        long readGeneration = cache.getGeneration();
+
+        cache.invalidate("entity-guid");
+
+        cache.putEntity("user1", getEntity("entity-guid", 1, 0), readGeneration);
+        cache.putEntity("user1", getEntity("other-guid", 1, 0), readGeneration);
+
+        assertNull(cache.getEntity("user1", "entity-guid"));
+        assertNotNull(cache.getEntity("user1", "other-guid"));
+
+        cache.putEntity("user1", getEntity("entity-guid", 2, 0), cache.getGeneration());
+
+        assertEquals(cache.getEntity("user1", "entity-guid").getVersion(), 2);
+    }
+
+
+    /**
+     * Test that once an invalidation has dropped out of the history, any read that started before it is treated
+     * as overlapping an invalidation.
+     */
+    @Test
+    public void testInvalidationHistoryOverflow()
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 100, 60, new SimpleMeterRegistry());
+
+        long readGeneration = cache.getGeneration();
+
+        for (int i = 0; i <= 10000; i++)
+        {
+            cache.invalidate("guid" + i);
+        }
+
+        cache.putEntity("user1", getEntity("guid0", 1, 0), readGeneration);
+        cache.putEntity("user1", getEntity("never-invalidated-guid", 1, 0), readGeneration);
+
+        assertNull(cache.getEntity("user1", "guid0"));
+        assertNull(cache.getEntity("user1", "never-invalidated-guid"));
+
+        cache.putEntity("user1", getEntity("guid0", 1, 0), cache.getGeneration());
+
+        assertNotNull(cache.getEntity("user1", "guid0"));
+    }
+
+
+    /**
+     * Test that instances expire after the time to live.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testTimeToLive() throws InterruptedException
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 100, 0, new SimpleMeterRegistry());
+
+        cache.putEntity("user1", getEntity("entity-guid", 1, 0), cache.getGeneration());
+
+        Thread.sleep(5);
+
+        assertNull(cache.getEntity("user1", "entity-guid"));
+        assertEquals(cache.getWeight(), 0);
+        assertEquals(cache.getSize(), 0);
+    }
+
+
+    /**
+     * Test that the least recently used instances are evicted when the cache is over its maximum weight and that
+     * an instance heavier than the whole cache is not cached.
+     */
+    @Test
+    public void testWeightEviction()
+    {
+        EnterpriseInstanceCache cache = new EnterpriseInstanceCache(serverName, 6, 60, new SimpleMeterRegistry());
+
+        cache.putEntity("user1", getEntity("guid1", 1, 1), cache.getGeneration());
+        cache.putEntity("user1", getEntity("guid2", 1, 1), cache.getGeneration());
+        cache.putEntity("user1", getEntity("guid3", 1, 1), cache.getGeneration());
+
+        assertNotNull(cache.getEntity("user1", "guid1"));
+
+        cache.putEntity("user1", getEntity("guid4", 1, 1), cache.getGeneration());
+
+        assertNull(cache.getEntity("user1", "guid2"));
+        assertNotNull(cache.getEntity("user1", "guid1"));
+        assertNotNull(cache.getEntity("user1", "guid4"));
+        assertEquals(cache.getWeight(), 6);
+
+        cache.putEntity("user1", getEntity("heavy-guid", 1, 6), cache.getGeneration());
+
+        assertNull(cache.getEntity("user1", "heavy-guid"));
+        assertEquals(cache.getWeight(), 6);
+    }
+
+
+    /**
+     * Test that the events received by the event processor remove the instances from the cache.
+     */
+    @Test
+    public void testEventProcessorInvalidates()
+    {
+        EnterpriseInstanceCache               cache          = new EnterpriseInstanceCache(serverName, 100, 60, new SimpleMeterRegistry());
+        EnterpriseInstanceCacheEventProcessor eventProcessor = new EnterpriseInstanceCacheEventProcessor(cache);
+
+        cache.putEntity("user1", getEntity("old-guid", 1, 0), cache.getGeneration());
+        cache.putEntity("user1", getEntity("new-guid", 1, 0), cache.getGeneration());
+        cache.putEntity("user1", getEntity("other-guid", 1, 0), cache.getGeneration());
+
+        long readGeneration = cache.getGeneration();
+
+        eventProcessor.processUpdatedEntityEvent("source", "mcid", "server", "type", "org",
+                                                 getEntity("old-guid", 1, 0),
+                                                 getEntity("new-guid", 2, 0));
+
+        assertNull(cache.getEntity("user1", "old-guid"));
+        assertNull(cache.getEntity("user1", "new-guid"));
+        assertNotNull(cache.getEntity("user1", "other-guid"));
+
+        /*
+         * A read that was in progress when the event arrived must not restore the old version.
+         */
+        cache.putEntity("user1", getEntity("new-guid", 1, 0), readGeneration);
+
+        assertNull(cache.getEntity("user1", "new-guid"));
+    }
+
+
+    /**
+     * Test that the meters are tagged with the server name and are removed by shutdown so a new cache for the
+     * same server reports its own values.
+     */
+    @Test
+    public void testMetersRemovedOnShutdown()
+    {
+        SimpleMeterRegistry     meterRegistry = new SimpleMeterRegistry();
+        EnterpriseInstanceCache cache         = new EnterpriseInstanceCache(serverName, 100, 60, meterRegistry);
+
+        cache.putEntity("user1", getEntity("entity-guid", 1, 0), cache.getGeneration());
+        cache.getEntity("user1", "entity-guid");
+
+        assertEquals(meterRegistry.get("egeria.omrs.enterprise.cache.weight").tag("server", serverName).gauge().value(), 1.0);
+        assertEquals(meterRegistry.get("egeria.omrs.enterprise.cache.requests").tag("result", "hit").counter().count(), 1.0);
+
+        cache.shutdown();
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+        assertEquals(cache.getSize(), 0);
+
+        EnterpriseInstanceCache newCache = new EnterpriseInstanceCache(serverName, 100, 60, meterRegistry);
+
+        assertEquals(meterRegistry.get("egeria.omrs.enterprise.cache.weight").tag("server", serverName).gauge().value(), 0.0);
+        assertFalse(meterRegistry.getMeters().isEmpty());
+
+        newCache.shutdown();
+    }
+}
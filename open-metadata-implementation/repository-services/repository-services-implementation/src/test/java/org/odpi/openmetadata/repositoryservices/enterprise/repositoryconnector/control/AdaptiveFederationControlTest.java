@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.InstanceLookupExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that AdaptiveFederationControl calls the instance's home first, orders the other members by their
+ * expected cost and hedges a lookup when a member is slow.
+ */
+public class AdaptiveFederationControlTest
+{
+    private static final String instanceGUID = "instance-guid";
+
+
+    /**
+     * InstanceLookupExecutor that records the members it is called for.  The home member returns the instance;
+     * members holding a reference copy report the home; the other members do not have the instance.
+     */
+    private static class TestLookupExecutor implements InstanceLookupExecutor
+    {
+        private final String            homeMetadataCollectionId;
+        private final boolean           hedgeable;
+        private final Set<String>       referenceCopyMembers = new HashSet<>();
+        private final Map<String, Long> delays               = new HashMap<>();
+        private final List<String>      calledMembers        = Collections.synchronizedList(new ArrayList<>());
+
+        private String retrievedFromHome = null;
+        private String knownHome         = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param homeMetadataCollectionId metadata collection id of the instance's home
+         * @param hedgeable whether the first member to return the instance satisfies the lookup
+         */
+        TestLookupExecutor(String  homeMetadataCollectionId,
+                           boolean hedgeable)
+        {
+            this.homeMetadataCollectionId = homeMetadataCollectionId;
+            this.hedgeable = hedgeable;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                                OMRSMetadataCollection metadataCollection)
+        {
+            calledMembers.add(metadataCollectionId);
+
+            if (delays.containsKey(metadataCollectionId))
+            {
+                try
+                {
+                    Thread.sleep(delays.get(metadataCollectionId));
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            synchronized (this)
+            {
+                if (metadataCollectionId.equals(homeMetadataCollectionId))
+                {
+                    retrievedFromHome = metadataCollectionId;
+                    knownHome = metadataCollectionId;
+
+                    return hedgeable;
+                }
+
+                if (referenceCopyMembers.contains(metadataCollectionId))
+                {
+                    knownHome = homeMetadataCollectionId;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getInstanceGUID()
+        {
+            return instanceGUID;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized String getRetrievedFromHome()
+        {
+            return retrievedFromHome;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized String getKnownHome()
+        {
+            return knownHome;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isHedgeable()
+        {
+            return hedgeable;
+        }
+    }
+
+
+    /**
+     * Return a connector for each of the members in the order they registered.
+     *
+     * @param metadataCollectionIds metadata collection ids of the members
+     * @return list of connectors
+     * @throws Exception problem setting up the mocks
+     */
+    private List<OMRSRepositoryConnector> getCohortConnectors(String... metadataCollectionIds) throws Exception
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        for (String metadataCollectionId : metadataCollectionIds)
+        {
+            OMRSRepositoryConnector cohortConnector    = mock(OMRSRepositoryConnector.class);
+            OMRSMetadataCollection  metadataCollection = mock(OMRSMetadataCollection.class);
+
+            when(metadataCollection.getMetadataCollectionId(anyString())).thenReturn(metadataCollectionId);
+            when(cohortConnector.getMetadataCollection()).thenReturn(metadataCollection);
+
+            cohortConnectors.add(cohortConnector);
+        }
+
+        return cohortConnectors;
+    }
+
+
+    /**
+     * Return statistics where member2 is the cheapest member to call, then member3, then member1.  There are
+     * too few samples for any lookup to be hedged.
+     *
+     * @return routing statistics
+     */
+    private FederationRoutingStatistics getRoutingStatistics()
+    {
+        FederationRoutingStatistics routingStatistics = new FederationRoutingStatistics("testServer", 100, 95);
+
+        for (int i = 0; i < 4; i++)
+        {
+            routingStatistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(10), false);
+            routingStatistics.recordLookup("member2", TimeUnit.MILLISECONDS.toNanos(1), true);
+            routingStatistics.recordLookup("member3", TimeUnit.MILLISECONDS.toNanos(5), (i % 2 == 0));
+        }
+
+        return routingStatistics;
+    }
+
+
+    /**
+     * Run a lookup.
+     *
+     * @param executor lookup to run
+     * @param routingStatistics statistics to route the lookup
+     * @throws Exception problem running the lookup
+     */
+    private void runLookup(RepositoryExecutor          executor,
+                           FederationRoutingStatistics routingStatistics) throws Exception
+    {
+        AdaptiveFederationControl federationControl = new AdaptiveFederationControl("testUser",
+                                                                                    getCohortConnectors("member1", "member2", "member3"),
+                                                                                    mock(AuditLog.class),
+                                                                                    "runLookup",
+                                                                                    routingStatistics);
+
+        federationControl.executeCommand(executor);
+    }
+
+
+    /**
+     * Test that the members are called in order of their expected cost when the home is not known.
+     *
+     * @throws Exception problem running the lookup
+     */
+    @Test
+    public void testMembersOrderedByCost() throws Exception
+    {
+        TestLookupExecutor executor = new TestLookupExecutor("member4", true);
+
+        runLookup(executor, getRoutingStatistics());
+
+        assertEquals(executor.calledMembers, Arrays.asList("member2", "member3", "member1"));
+    }
+
+
+    /**
+     * Test that the home recorded by an earlier lookup is called first.
+     *
+     * @throws Exception problem running the lookup
+     */
+    @Test
+    public void testKnownHomeCalledFirst() throws Exception
+    {
+        FederationRoutingStatistics routingStatistics = getRoutingStatistics();
+        TestLookupExecutor          executor          = new TestLookupExecutor("member1", true);
+
+        routingStatistics.saveHome(instanceGUID, "member1");
+
+        runLookup(executor, routingStatistics);
+
+        assertEquals(executor.calledMembers, Collections.singletonList("member1"));
+
+        /*
+         * Lookups that need every member still call the home first.
+         */
+        executor = new TestLookupExecutor("member1", false);
+
+        runLookup(executor, routingStatistics);
+
+        assertEquals(executor.calledMembers, Arrays.asList("member1", "member2", "member3"));
+    }
+
+
+    /**
+     * Test that the home named by a reference copy is called next and is remembered for the next lookup.
+     *
+     * @throws Exception problem running the lookup
+     */
+    @Test
+    public void testReferenceCopyPromotesHome() throws Exception
+    {
+        FederationRoutingStatistics routingStatistics = getRoutingStatistics();
+        TestLookupExecutor          executor          = new TestLookupExecutor("member1", true);
+
+        executor.referenceCopyMembers.add("member2");
+
+        runLookup(executor, routingStatistics);
+
+        assertEquals(executor.calledMembers, Arrays.asList("member2", "member1"));
+        assertEquals(routingStatistics.getHome(instanceGUID), "member1");
+    }
+
+
+    /**
+     * Test that a lookup to a member that is slower than usual is sent to the next member as well and that the
+     * lookup completes with the first result.
+     *
+     * @throws Exception problem running the lookup
+     */
+    @Test
+    public void testSlowMemberHedged() throws Exception
+    {
+        FederationRoutingStatistics routingStatistics = new FederationRoutingStatistics("testServer", 100, 95);
+
+        for (int i = 0; i < 20; i++)
+        {
+            routingStatistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(1), true);
+            routingStatistics.recordLookup("member2", TimeUnit.MILLISECONDS.toNanos(50), false);
+            routingStatistics.recordLookup("member3", TimeUnit.MILLISECONDS.toNanos(100), false);
+        }
+
+        TestLookupExecutor executor = new TestLookupExecutor("member2", true);
+
+        executor.delays.put("member1", 5000L);
+
+        long startTime = System.currentTimeMillis();
+
+        runLookup(executor, routingStatistics);
+
+        assertTrue(System.currentTimeMillis() - startTime < 4000, "Lookup waited for the slow member");
+        assertEquals(executor.getRetrievedFromHome(), "member2");
+        assertTrue(executor.calledMembers.containsAll(Arrays.asList("member1", "member2")));
+        assertEquals(executor.calledMembers.size(), 2);
+    }
+
+
+    /**
+     * Test that a lookup that is not hedgeable is never sent to two members at once.
+     *
+     * @throws Exception problem running the lookup
+     */
+    @Test
+    public void testUnhedgeableLookupNotHedged() throws Exception
+    {
+        FederationRoutingStatistics routingStatistics = new FederationRoutingStatistics("testServer", 100, 95);
+
+        for (int i = 0; i < 20; i++)
+        {
+            routingStatistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(1), true);
+            routingStatistics.recordLookup("member2", TimeUnit.MILLISECONDS.toNanos(50), false);
+            routingStatistics.recordLookup("member3", TimeUnit.MILLISECONDS.toNanos(100), false);
+        }
+
+        TestLookupExecutor executor = new TestLookupExecutor("member2", false);
+
+        executor.delays.put("member1", 200L);
+
+        runLookup(executor, routingStatistics);
+
+        assertEquals(executor.calledMembers, Arrays.asList("member1", "member2", "member3"));
+    }
+
+
+    /**
+     * Test that commands that are not lookups are sent to the members in the order they registered.
+     *
+     * @throws Exception problem running the command
+     */
+    @Test
+    public void testOtherCommandsSequential() throws Exception
+    {
+        List<String> calledMembers = new ArrayList<>();
+
+        runLookup((metadataCollectionId, metadataCollection) ->
+                  {
+                      calledMembers.add(metadataCollectionId);
+                      return false;
+                  },
+                  getRoutingStatistics());
+
+        assertEquals(calledMembers, Arrays.asList("member1", "member2", "member3"));
+    }
+}
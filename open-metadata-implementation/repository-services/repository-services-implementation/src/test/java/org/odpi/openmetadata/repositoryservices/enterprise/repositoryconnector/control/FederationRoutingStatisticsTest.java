@@ -0,0 +1,126 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that FederationRoutingStatistics remembers a bounded number of instance homes and derives the expected
+ * cost and hedge delay of each member from its lookups.
+ */
+public class FederationRoutingStatisticsTest
+{
+    /**
+     * Test that the least recently used homes are forgotten when the cache is full.
+     */
+    @Test
+    public void testHomeCacheBounded()
+    {
+        FederationRoutingStatistics statistics = new FederationRoutingStatistics("testServer", 2, 95);
+
+        statistics.saveHome("guid1", "member1");
+        statistics.saveHome("guid2", "member2");
+
+        assertEquals(statistics.getHome("guid1"), "member1");
+
+        statistics.saveHome("guid3", "member3");
+
+        assertEquals(statistics.getHome("guid1"), "member1");
+        assertNull(statistics.getHome("guid2"));
+        assertEquals(statistics.getHome("guid3"), "member3");
+
+        statistics.saveHome("guid4", null);
+        statistics.saveHome(null, "member4");
+
+        assertNull(statistics.getHome("guid4"));
+        assertNull(statistics.getHome(null));
+    }
+
+
+    /**
+     * Test that members that are fast and often hold the instance are the cheapest and that members with no
+     * lookups are tried first.
+     */
+    @Test
+    public void testExpectedCost()
+    {
+        FederationRoutingStatistics statistics = new FederationRoutingStatistics("testServer", 10, 95);
+
+        for (int i = 0; i < 4; i++)
+        {
+            statistics.recordLookup("slowMember", TimeUnit.MILLISECONDS.toNanos(10), false);
+            statistics.recordLookup("fastMember", TimeUnit.MILLISECONDS.toNanos(1), true);
+        }
+
+        assertEquals(statistics.getExpectedCost("unknownMember"), 0.0);
+        assertTrue(statistics.getExpectedCost("fastMember") < statistics.getExpectedCost("slowMember"));
+    }
+
+
+    /**
+     * Test that lookups are only hedged once a member has enough samples and that the delay is the requested
+     * percentile of the recent response times.
+     */
+    @Test
+    public void testHedgeDelay()
+    {
+        FederationRoutingStatistics statistics = new FederationRoutingStatistics("testServer", 10, 95);
+
+        assertEquals(statistics.getHedgeDelay("member1"), -1);
+
+        for (int i = 1; i <= 15; i++)
+        {
+            statistics.recordLookup("member1", i, true);
+        }
+
+        assertEquals(statistics.getHedgeDelay("member1"), -1);
+
+        for (int i = 16; i <= 20; i++)
+        {
+            statistics.recordLookup("member1", i, true);
+        }
+
+        assertEquals(statistics.getHedgeDelay("member1"), 19);
+
+        FederationRoutingStatistics noHedging = new FederationRoutingStatistics("testServer", 10, 0);
+
+        for (int i = 1; i <= 20; i++)
+        {
+            noHedging.recordLookup("member1", i, true);
+        }
+
+        assertEquals(noHedging.getHedgeDelay("member1"), -1);
+    }
+
+
+    /**
+     * Test the snapshot of the statistics of each member.
+     */
+    @Test
+    public void testMemberStatistics()
+    {
+        FederationRoutingStatistics statistics = new FederationRoutingStatistics("testServer", 10, 95);
+
+        statistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(2), true);
+        statistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(2), false);
+        statistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(2), true);
+        statistics.recordLookup("member1", TimeUnit.MILLISECONDS.toNanos(2), true);
+
+        List<FederationMemberStatistics> memberStatistics = statistics.getMemberStatistics();
+
+        assertEquals(memberStatistics.size(), 1);
+        assertEquals(memberStatistics.get(0).getMetadataCollectionId(), "member1");
+        assertEquals(memberStatistics.get(0).getRequests(), 4);
+        assertEquals(memberStatistics.get(0).getHits(), 3);
+        assertEquals(memberStatistics.get(0).getHitRate(), 0.75);
+        assertEquals(memberStatistics.get(0).getAverageLatencyMillis(), 2.0, 0.001);
+        assertTrue(memberStatistics.get(0).getHedgeDelayMillis() < 0);
+    }
+}
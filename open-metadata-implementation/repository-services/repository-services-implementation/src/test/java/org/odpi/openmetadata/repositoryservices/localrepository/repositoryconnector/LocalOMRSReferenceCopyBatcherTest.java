@@ -0,0 +1,251 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test that LocalOMRSReferenceCopyBatcher collapses repeated saves, lets a purge cancel a waiting save and
+ * applies the waiting operations to the local repository in the order they were received.
+ */
+public class LocalOMRSReferenceCopyBatcherTest
+{
+    private static final String serverUserId = "serverUser";
+
+    private OMRSMetadataCollection        metadataCollection = null;
+    private LocalOMRSReferenceCopyBatcher batcher            = null;
+    private AtomicLong                    failureCount       = null;
+
+
+    /**
+     * Create a batcher for a mock local repository.  The batch window is long enough that the batch is only
+     * applied when the test flushes it.
+     */
+    @BeforeMethod
+    public void setUp()
+    {
+        OMRSRepositoryConnector repositoryConnector = mock(OMRSRepositoryConnector.class);
+
+        metadataCollection = mock(OMRSMetadataCollection.class);
+        failureCount       = new AtomicLong();
+        when(repositoryConnector.getServerUserId()).thenReturn(serverUserId);
+
+        batcher = new LocalOMRSReferenceCopyBatcher("testServer",
+                                                    repositoryConnector,
+                                                    metadataCollection,
+                                                    100,
+                                                    60000,
+                                                    mock(AuditLog.class),
+                                                    failureCount);
+    }
+
+
+    /**
+     * Stop the batcher's timer.
+     */
+    @AfterMethod
+    public void tearDown()
+    {
+        batcher.disconnect();
+    }
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    /**
+     * Test that repeated saves of an instance are collapsed to its latest version.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testSavesCollapsed() throws Exception
+    {
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 1), "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 3), "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 2), "test", "server", "mcid");
+
+        verifyNoInteractions(metadataCollection);
+
+        batcher.flush();
+
+        ArgumentCaptor<EntityDetail> savedEntity = ArgumentCaptor.forClass(EntityDetail.class);
+
+        verify(metadataCollection, times(1)).saveEntityReferenceCopy(anyString(), savedEntity.capture());
+        verify(metadataCollection, never()).saveInstanceReferenceCopies(anyString(), any());
+        assertEquals(savedEntity.getValue().getVersion(), 3);
+    }
+
+
+    /**
+     * Test that a purge cancels the save of the same instance that is still waiting.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testPurgeCancelsSave() throws Exception
+    {
+        EntityDetail entity = getEntity("guid1", 1);
+
+        batcher.saveEntityReferenceCopy(entity, "test", "server", "mcid");
+        batcher.purgeEntityReferenceCopy(entity, "test", "server", "mcid");
+
+        /*
+         * A save received after the purge is applied after it.
+         */
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 2), "test", "server", "mcid");
+        batcher.flush();
+
+        InOrder order = inOrder(metadataCollection);
+
+        order.verify(metadataCollection).purgeEntityReferenceCopy(serverUserId, entity);
+        order.verify(metadataCollection).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+        verify(metadataCollection, times(1)).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+    }
+
+
+    /**
+     * Test that consecutive saves are applied in one call and that the saves and purges are applied in the order
+     * they were received.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testFlushOrdering() throws Exception
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID("guid2");
+        relationship.setVersion(1);
+
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 1), "test", "server", "mcid");
+        batcher.saveRelationshipReferenceCopy(relationship, "test", "server", "mcid");
+        batcher.purgeEntityReferenceCopy("guid3", "typeGUID", "typeName", "homeId", "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid4", 1), "test", "server", "mcid");
+        batcher.flush();
+
+        InOrder                       order      = inOrder(metadataCollection);
+        ArgumentCaptor<InstanceGraph> savedBatch = ArgumentCaptor.forClass(InstanceGraph.class);
+
+        order.verify(metadataCollection).saveInstanceReferenceCopies(anyString(), savedBatch.capture());
+        order.verify(metadataCollection).purgeEntityReferenceCopy(serverUserId, "guid3", "typeGUID", "typeName", "homeId");
+        order.verify(metadataCollection).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+
+        assertEquals(savedBatch.getValue().getEntities().get(0).getGUID(), "guid1");
+        assertEquals(savedBatch.getValue().getRelationships().get(0).getGUID(), "guid2");
+    }
+
+
+    /**
+     * Test that the saves are applied one at a time if the repository does not support batches.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testBatchNotSupported() throws Exception
+    {
+        doThrow(FunctionNotSupportedException.class).when(metadataCollection).saveInstanceReferenceCopies(anyString(), any());
+
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 1), "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid2", 1), "test", "server", "mcid");
+        batcher.flush();
+
+        batcher.saveEntityReferenceCopy(getEntity("guid3", 1), "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid4", 1), "test", "server", "mcid");
+        batcher.flush();
+
+        verify(metadataCollection, times(1)).saveInstanceReferenceCopies(anyString(), any());
+        verify(metadataCollection, times(4)).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+    }
+
+
+    /**
+     * Test that flushing for an instance only applies the batch if an operation for the instance is waiting,
+     * so the event processor reads the latest version of the instance.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testFlushForInstance() throws Exception
+    {
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 1), "test", "server", "mcid");
+        batcher.flush("guid2");
+
+        verifyNoInteractions(metadataCollection);
+
+        batcher.flush("guid1");
+
+        verify(metadataCollection, times(1)).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+
+        batcher.purgeRelationshipReferenceCopy("guid2", "typeGUID", "typeName", "homeId", "test", "server", "mcid");
+        batcher.flush("guid2");
+
+        verify(metadataCollection, times(1)).purgeRelationshipReferenceCopy(serverUserId, "guid2", "typeGUID", "typeName", "homeId");
+
+        batcher.flush("guid1");
+
+        verify(metadataCollection, times(1)).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+    }
+
+
+    /**
+     * Test that an instance the local repository fails to save is counted so the archive manager can tell that
+     * the load of an archive did not complete.
+     *
+     * @throws Exception problem with the mock repository
+     */
+    @Test
+    public void testFailureCounted() throws Exception
+    {
+        doThrow(FunctionNotSupportedException.class).when(metadataCollection).saveInstanceReferenceCopies(anyString(), any());
+        doThrow(RepositoryErrorException.class).when(metadataCollection).saveEntityReferenceCopy(anyString(), any(EntityDetail.class));
+
+        batcher.saveEntityReferenceCopy(getEntity("guid1", 1), "test", "server", "mcid");
+        batcher.saveEntityReferenceCopy(getEntity("guid2", 1), "test", "server", "mcid");
+        batcher.flush();
+
+        assertEquals(failureCount.get(), 2);
+    }
+}
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.EventTopicReportListResponse;
 import org.odpi.openmetadata.repositoryservices.rest.server.OMRSMetadataHighwayRESTServices;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -57,6 +58,25 @@ public class MetadataHighwayServicesResource
     }
 
 
+    /**
+     * Return the reports of the inbound events of the topics used by the cohorts that this server is participating in.
+     *
+     * @param serverName name of server
+     * @param userId calling user
+     * @return list of topic reports or
+     * InvalidParameterException invalid parameter
+     * UserNotAuthorizedException user not authorized
+     * RepositoryErrorException there is a problem communicating with the metadata repository.
+     */
+    @GetMapping(path = "/topic-reports")
+
+    public EventTopicReportListResponse getTopicReports(@PathVariable String   serverName,
+                                                        @PathVariable String   userId)
+    {
+        return restAPI.getTopicReports(serverName, userId);
+    }
+
+
     /**
      * Return the local registration information used by this server to register with open metadata repository cohorts.
      * No registration time is provided.  Use the cohort specific version to retrieve the registration time.
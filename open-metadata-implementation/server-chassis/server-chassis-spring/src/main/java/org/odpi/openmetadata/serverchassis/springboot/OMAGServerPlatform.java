@@ -77,6 +77,9 @@ public class OMAGServerPlatform
     @Value("${startup.server.list}")
     String startupServers;
 
+    @Value("${startup.server.parallelism:4}")
+    int startupServerParallelism;
+
     @Autowired
     private Environment env;
 
@@ -117,7 +120,7 @@ public class OMAGServerPlatform
         {
             String[] splits = startupServers.split(",");
             //remove eventual duplicates
-            HashSet<String> serverSet = new HashSet<>(Arrays.asList(splits));
+            Set<String> serverSet = new LinkedHashSet<>(Arrays.asList(splits));
 
             if (! serverSet.isEmpty())
             {
@@ -140,7 +143,9 @@ public class OMAGServerPlatform
             log.info("Startup detected for servers: {}", startupServers);
         }
 
-        SuccessMessageResponse response = operationalServices.activateServerListWithStoredConfig(sysUser.trim(), servers);
+        SuccessMessageResponse response = operationalServices.activateServerListWithStoredConfig(sysUser.trim(),
+                                                                                                 servers,
+                                                                                                 startupServerParallelism);
 
         if (response.getRelatedHTTPCode() == 200)
         {
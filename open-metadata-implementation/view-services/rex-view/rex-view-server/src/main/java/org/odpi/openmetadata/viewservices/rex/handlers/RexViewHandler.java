@@ -55,9 +55,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 
 /**
@@ -116,6 +124,25 @@ public class RexViewHandler
     private Map<String, ResourceEndpoint>  configuredPlatforms = null;          // map is keyed using platformRootURL
     private Map<String, ResourceEndpoint>  configuredServerInstances   = null;  // map is keyed using serverName+platformRootURL so each instance is unique
 
+    /*
+     * The repository services clients are reused across requests so that each one keeps its connections to the
+     * server.  The maps are keyed using the restRootURL of the server.  The type explorer cache is keyed using the
+     * restRootURL and the enterprise option.  It only saves the work of assembling the type explorer - the types
+     * are still retrieved under each caller's userId so the repository can check that the caller may see them.
+     */
+    private final Map<String, LocalRepositoryServicesClient>      localRepositoryServicesClients      = new ConcurrentHashMap<>();
+    private final Map<String, EnterpriseRepositoryServicesClient> enterpriseRepositoryServicesClients = new ConcurrentHashMap<>();
+    private final Map<String, CachedTypeExplorer>                 typeExplorerCache                   = new ConcurrentHashMap<>();
+
+    /*
+     * Runs the independent repository calls of a traversal at the same time.
+     */
+    private final ExecutorService repositoryCallExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "RexViewRepositoryCall");
+        thread.setDaemon(true);
+        return thread;
+    });
+
 
 
 
@@ -174,6 +201,19 @@ public class RexViewHandler
 
 
 
+    /**
+     * Release the threads and clients used by the handler when the view service shuts down.
+     */
+    public void shutdown()
+    {
+        repositoryCallExecutor.shutdownNow();
+        localRepositoryServicesClients.clear();
+        enterpriseRepositoryServicesClients.clear();
+        typeExplorerCache.clear();
+    }
+
+
+
     /**
      * getResourceEndpoints - returns a list of the configured resource endpoints. Does not include discovered resource endpoints.
      *
@@ -270,25 +310,27 @@ public class RexViewHandler
 
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
+
             /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
+             * The types are always retrieved with the caller's userId.  The type explorer is only rebuilt if the
+             * types returned by the repository have changed.
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
+            TypeDefGallery typeDefGallery = repositoryServicesClient.getAllTypes(userId);
 
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
+            String             typeSystemVersion = this.getTypeSystemVersion(typeDefGallery);
+            String             cacheKey          = this.getRESTRootURL(repositoryServerName, platformRootURL) + (enterpriseOption ? "/enterprise" : "/local");
+            CachedTypeExplorer cachedTypes       = typeExplorerCache.get(cacheKey);
+
+            if ((cachedTypes != null) && (typeSystemVersion.equals(cachedTypes.getTypeSystemVersion())))
             {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
+                return cachedTypes.getTypeExplorer();
             }
 
             TypeExplorer tex = new TypeExplorer();
 
-            TypeDefGallery typeDefGallery = repositoryServicesClient.getAllTypes(userId);
-
             List<TypeDef> typeDefs = typeDefGallery.getTypeDefs();
             for (TypeDef typeDef : typeDefs)
             {
@@ -332,6 +374,7 @@ public class RexViewHandler
             // All typeDefs processed, resolve linkages and return the TEX object
             // The platformRootURL and repositoryName are passed in only for error logging
             tex.resolve(platformRootURL, repositoryServerName);
+            typeExplorerCache.put(cacheKey, new CachedTypeExplorer(tex, typeSystemVersion));
             return tex;
 
         }
@@ -383,20 +426,9 @@ public class RexViewHandler
 
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
-            /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
-             */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
@@ -491,20 +523,9 @@ public class RexViewHandler
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
 
-            /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
-             */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
@@ -622,20 +643,9 @@ public class RexViewHandler
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
 
-            /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
-             */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
@@ -778,20 +788,9 @@ public class RexViewHandler
 
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
-            /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
-             */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
@@ -973,65 +972,36 @@ public class RexViewHandler
 
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
+
             /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
+             * The neighborhood is retrieved while the types are being retrieved.
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            Future<InstanceGraph> instGraphFuture = repositoryCallExecutor.submit(
+                    this.getNeighborhoodCall(repositoryServicesClient, userId, entityGUID, depth, null, null, null));
 
             /*
              * Because we will want to extract labels based on type we'll need to know the types supported by the repository...
              */
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
-
-            InstanceGraph instGraph = null;
+            TypeExplorer  typeExplorer;
+            InstanceGraph instGraph;
 
-            if (depth > 0)
+            try
             {
+                typeExplorer = getTypeExplorer(userId,
+                                               repositoryServerName,
+                                               platformName,
+                                               enterpriseOption,
+                                               methodName);
 
-                instGraph = repositoryServicesClient.getEntityNeighborhood(userId,
-                                                                           entityGUID,
-                                                                           null,
-                                                                           null,
-                                                                           null,
-                                                                           null,
-                                                                           null,
-                                                                           depth);
+                instGraph = this.waitForRepositoryCall(instGraphFuture, methodName);
             }
-
-
-            else
+            finally
             {
-
-                /*
-                 * Since depth is 0 - use getEntityDetail instead of neighborhood
-                 */
-
-                EntityDetail entityDetail = repositoryServicesClient.getEntityDetail(
-                        userId,
-                        entityGUID);
-
-                // Construct an InstanceGraph containing just the entityDetail
-                instGraph = new InstanceGraph();
-
-                List<EntityDetail> entityDetailList = new ArrayList<>();
-                entityDetailList.add(entityDetail);
-                instGraph.setEntities(entityDetailList);
-
+                this.cancelRepositoryCalls(instGraphFuture);
             }
 
 
@@ -1228,74 +1198,51 @@ public class RexViewHandler
 
             String platformRootURL = resolvePlatformRootURL(platformName, methodName);
 
-            /*
-             *  Switch between local and enterprise services clients depending
-             *  on enterprise option...
-             */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                       platformRootURL,
+                                                                                                       enterpriseOption);
 
 
             /*
-             * Find the metadataCollectionId of the repository - this is used later to determine whether
+             * The metadataCollectionId and the neighborhood are retrieved while the types are being retrieved.
+             *
+             * The metadataCollectionId of the repository is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
-
-
+            Future<String> metadataCollectionIdFuture = repositoryCallExecutor.submit(
+                    () -> repositoryServicesClient.getMetadataCollectionId(userId));
+
+            Future<InstanceGraph> instGraphFuture = repositoryCallExecutor.submit(
+                    this.getNeighborhoodCall(repositoryServicesClient,
+                                             userId,
+                                             entityGUID,
+                                             depth,
+                                             entityTypeGUIDs,
+                                             relationshipTypeGUIDs,
+                                             classificationNames));
 
             /*
              * Because we will want to extract labels based on type we'll need to know the types supported by the repository...
              */
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
-
-            InstanceGraph instGraph = null;
+            TypeExplorer  typeExplorer;
+            String        metadataCollectionId;
+            InstanceGraph instGraph;
 
-            if (depth > 0)
+            try
             {
-
-                instGraph = repositoryServicesClient.getEntityNeighborhood(userId,
-                                                                           entityGUID,
-                                                                           entityTypeGUIDs,
-                                                                           relationshipTypeGUIDs,
-                                                                           null,
-                                                                           classificationNames,
-                                                                           null,
-                                                                           depth);
+                typeExplorer = getTypeExplorer(userId,
+                                               repositoryServerName,
+                                               platformName,
+                                               enterpriseOption,
+                                               methodName);
+
+                metadataCollectionId = this.waitForRepositoryCall(metadataCollectionIdFuture, methodName);
+                instGraph            = this.waitForRepositoryCall(instGraphFuture, methodName);
             }
-
-
-            else
+            finally
             {
-
-                /*
-                 * Since depth is 0 - use getEntityDetail instead of neighborhood
-                 */
-
-                EntityDetail entityDetail = repositoryServicesClient.getEntityDetail(
-                        userId,
-                        entityGUID);
-
-                // Construct an InstanceGraph containing just the entityDetail
-                instGraph = new InstanceGraph();
-
-                List<EntityDetail> entityDetailList = new ArrayList<>();
-                entityDetailList.add(entityDetail);
-                instGraph.setEntities(entityDetailList);
-
+                this.cancelRepositoryCalls(metadataCollectionIdFuture, instGraphFuture);
             }
 
 
@@ -1497,6 +1444,33 @@ public class RexViewHandler
     }
 
 
+    /**
+     * Return the repository services client for a server.  The enterprise client performs federation across the
+     * cohorts that the server belongs to; the local client connects to the server's own repository.
+     *
+     * @param serverName - name of the server to connect to
+     * @param serverRootURL - the root URL to connect to the server
+     * @param enterpriseOption - whether the query is at cohort level or server specific
+     * @return client
+     * @throws InvalidParameterException - an invalid parameter was detected and reported
+     */
+    MetadataCollectionServicesClient getRepositoryServicesClient(String  serverName,
+                                                                 String  serverRootURL,
+                                                                 boolean enterpriseOption)
+    throws
+    InvalidParameterException
+    {
+        if (!enterpriseOption)
+        {
+            return this.getLocalRepositoryServicesClient(serverName, serverRootURL);
+        }
+        else
+        {
+            return this.getEnterpriseRepositoryServicesClient(serverName, serverRootURL);
+        }
+    }
+
+
     /**
      * getLocalRepositoryServicesClient
      *
@@ -1524,8 +1498,20 @@ public class RexViewHandler
          * here because we want to surface it to the REST API that called this method so that the
          * exception can be wrapped and a suitable indication sent in the REST Response.
          */
-        String restRootURL = serverRootURL + "/servers/" + serverName;
-        LocalRepositoryServicesClient client = new LocalRepositoryServicesClient(serverName, restRootURL);
+        String restRootURL = this.getRESTRootURL(serverName, serverRootURL);
+        LocalRepositoryServicesClient client = localRepositoryServicesClients.get(restRootURL);
+
+        if (client == null)
+        {
+            client = new LocalRepositoryServicesClient(serverName, restRootURL);
+
+            LocalRepositoryServicesClient existingClient = localRepositoryServicesClients.putIfAbsent(restRootURL, client);
+
+            if (existingClient != null)
+            {
+                client = existingClient;
+            }
+        }
 
         return client;
     }
@@ -1557,12 +1543,242 @@ public class RexViewHandler
          * here because we want to surface it to the REST API that called this method so that the
          * exception can be wrapped and a suitable indication sent in the REST Response.
          */
-        String restRootURL = serverRootURL + "/servers/" + serverName;
-        EnterpriseRepositoryServicesClient client = new EnterpriseRepositoryServicesClient(serverName, restRootURL);
+        String restRootURL = this.getRESTRootURL(serverName, serverRootURL);
+        EnterpriseRepositoryServicesClient client = enterpriseRepositoryServicesClients.get(restRootURL);
+
+        if (client == null)
+        {
+            client = new EnterpriseRepositoryServicesClient(serverName, restRootURL);
+
+            EnterpriseRepositoryServicesClient existingClient = enterpriseRepositoryServicesClients.putIfAbsent(restRootURL, client);
+
+            if (existingClient != null)
+            {
+                client = existingClient;
+            }
+        }
 
         return client;
     }
 
+
+    /**
+     * Return the root URL of the REST API for a server.
+     *
+     * @param serverName - name of the server to connect to
+     * @param serverRootURL - the root URL of the platform that the server runs on
+     * @return the URL used to call the server
+     */
+    private String getRESTRootURL(String serverName,
+                                  String serverRootURL)
+    {
+        return serverRootURL + "/servers/" + serverName;
+    }
+
+
+    /**
+     * Return a value that changes whenever a type is added to, or updated in, a type gallery.
+     *
+     * @param typeDefGallery - the types returned by the repository
+     * @return a version string for the type system
+     */
+    private String getTypeSystemVersion(TypeDefGallery typeDefGallery)
+    {
+        List<String> typeVersions = new ArrayList<>();
+
+        if (typeDefGallery.getTypeDefs() != null)
+        {
+            for (TypeDef typeDef : typeDefGallery.getTypeDefs())
+            {
+                typeVersions.add(typeDef.getGUID() + ":" + typeDef.getVersion());
+            }
+        }
+
+        if (typeDefGallery.getAttributeTypeDefs() != null)
+        {
+            for (AttributeTypeDef attributeTypeDef : typeDefGallery.getAttributeTypeDefs())
+            {
+                typeVersions.add(attributeTypeDef.getGUID() + ":" + attributeTypeDef.getVersion());
+            }
+        }
+
+        /*
+         * The order of the types in the gallery is not significant.
+         */
+        Collections.sort(typeVersions);
+
+        CRC32 checksum = new CRC32();
+
+        for (String typeVersion : typeVersions)
+        {
+            checksum.update(typeVersion.getBytes());
+        }
+
+        return typeVersions.size() + "-" + checksum.getValue();
+    }
+
+
+    /**
+     * Return the call to retrieve the neighborhood of an entity.  If the depth is 0 the entity is retrieved on its own.
+     *
+     * @param repositoryServicesClient - client for the repository
+     * @param userId - userId under which the request is performed
+     * @param entityGUID - the identity of the entity from which to traverse
+     * @param depth - the depth to which the call should traverse
+     * @param entityTypeGUIDs - the GUIDs of entity types to filter the neighborhood
+     * @param relationshipTypeGUIDs - the GUIDs of relationship types to filter the neighborhood
+     * @param classificationNames - the names of classification types to filter the neighborhood
+     * @return call returning an InstanceGraph
+     */
+    private Callable<InstanceGraph> getNeighborhoodCall(MetadataCollectionServicesClient repositoryServicesClient,
+                                                        String                           userId,
+                                                        String                           entityGUID,
+                                                        int                              depth,
+                                                        List<String>                     entityTypeGUIDs,
+                                                        List<String>                     relationshipTypeGUIDs,
+                                                        List<String>                     classificationNames)
+    {
+        return () -> {
+
+            if (depth > 0)
+            {
+                return repositoryServicesClient.getEntityNeighborhood(userId,
+                                                                      entityGUID,
+                                                                      entityTypeGUIDs,
+                                                                      relationshipTypeGUIDs,
+                                                                      null,
+                                                                      classificationNames,
+                                                                      null,
+                                                                      depth);
+            }
+
+            /*
+             * Since depth is 0 - use getEntityDetail instead of neighborhood
+             */
+
+            EntityDetail entityDetail = repositoryServicesClient.getEntityDetail(userId, entityGUID);
+
+            // Construct an InstanceGraph containing just the entityDetail
+            InstanceGraph instGraph = new InstanceGraph();
+
+            List<EntityDetail> entityDetailList = new ArrayList<>();
+            entityDetailList.add(entityDetail);
+            instGraph.setEntities(entityDetailList);
+
+            return instGraph;
+        };
+    }
+
+
+    /**
+     * Wait for a repository call submitted to the executor and return its result.  Exceptions from the repository
+     * are thrown to the caller as if the call had been made on the caller's thread.
+     *
+     * @param future - the submitted call
+     * @param methodName - the name of the method being invoked
+     * @param <T> type of the result
+     * @return result of the call
+     * @throws RexViewServiceException the wait was interrupted or an unexpected error occurred
+     * @throws UserNotAuthorizedException the user is not authorized to make the call
+     * @throws RepositoryErrorException there was a problem communicating with the repository
+     * @throws InvalidParameterException a parameter was invalid
+     * @throws TypeErrorException a type was not known
+     * @throws PropertyErrorException a property was invalid
+     * @throws FunctionNotSupportedException the repository does not support the call
+     * @throws EntityNotKnownException the entity was not found
+     * @throws EntityProxyOnlyException the entity is only available as a proxy
+     */
+    private <T> T waitForRepositoryCall(Future<T> future,
+                                        String    methodName)
+    throws
+    RexViewServiceException,
+    UserNotAuthorizedException,
+    RepositoryErrorException,
+    InvalidParameterException,
+    TypeErrorException,
+    PropertyErrorException,
+    FunctionNotSupportedException,
+    EntityNotKnownException,
+    EntityProxyOnlyException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RexViewServiceException(RexViewErrorCode.UNKNOWN_ERROR.getMessageDefinition(methodName, e.getMessage()),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof UserNotAuthorizedException)
+            {
+                throw (UserNotAuthorizedException) cause;
+            }
+            if (cause instanceof RepositoryErrorException)
+            {
+                throw (RepositoryErrorException) cause;
+            }
+            if (cause instanceof InvalidParameterException)
+            {
+                throw (InvalidParameterException) cause;
+            }
+            if (cause instanceof TypeErrorException)
+            {
+                throw (TypeErrorException) cause;
+            }
+            if (cause instanceof PropertyErrorException)
+            {
+                throw (PropertyErrorException) cause;
+            }
+            if (cause instanceof FunctionNotSupportedException)
+            {
+                throw (FunctionNotSupportedException) cause;
+            }
+            if (cause instanceof EntityNotKnownException)
+            {
+                throw (EntityNotKnownException) cause;
+            }
+            if (cause instanceof EntityProxyOnlyException)
+            {
+                throw (EntityProxyOnlyException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+
+            throw new RexViewServiceException(RexViewErrorCode.UNKNOWN_ERROR.getMessageDefinition(methodName, cause.getMessage()),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+    }
+
+
+    /**
+     * Cancel repository calls whose results are no longer needed, for example because another call of the same
+     * request failed.  Calls that have already completed are not affected.
+     *
+     * @param futures - the submitted calls
+     */
+    private void cancelRepositoryCalls(Future<?>... futures)
+    {
+        for (Future<?> future : futures)
+        {
+            future.cancel(true);
+        }
+    }
+
+
     private String chooseLabelForEntity(EntityDetail entityDetail, TypeExplorer typeExplorer)
     {
 
@@ -1896,4 +2112,30 @@ public class RexViewHandler
     }
 
 
+
+
+    /**
+     * A type explorer built from the types of a repository, with the version of the types it was built from.
+     */
+    private static class CachedTypeExplorer
+    {
+        private final TypeExplorer typeExplorer;
+        private final String       typeSystemVersion;
+
+        CachedTypeExplorer(TypeExplorer typeExplorer, String typeSystemVersion)
+        {
+            this.typeExplorer      = typeExplorer;
+            this.typeSystemVersion = typeSystemVersion;
+        }
+
+        TypeExplorer getTypeExplorer()
+        {
+            return typeExplorer;
+        }
+
+        String getTypeSystemVersion()
+        {
+            return typeSystemVersion;
+        }
+    }
 }
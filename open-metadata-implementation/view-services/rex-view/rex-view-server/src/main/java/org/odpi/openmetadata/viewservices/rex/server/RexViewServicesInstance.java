@@ -70,4 +70,20 @@ public class RexViewServicesInstance extends OMVSServiceInstance
 
 
 
+    /**
+     * Release the resources held by the handler and unregister from the instance map.
+     */
+    @Override
+    public void shutdown()
+    {
+        if (rexViewHandler != null)
+        {
+            rexViewHandler.shutdown();
+        }
+
+        super.shutdown();
+    }
+
+
+
 }
@@ -0,0 +1,231 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.viewservices.rex.handlers;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.ResourceEndpointConfig;
+import org.odpi.openmetadata.repositoryservices.clients.MetadataCollectionServicesClient;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EnumDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.odpi.openmetadata.viewservices.rex.api.ffdc.RexViewServiceException;
+import org.odpi.openmetadata.viewservices.rex.api.properties.TypeExplorer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that RexViewHandler retrieves the types with each caller's userId while reusing the assembled type
+ * explorer, and that it cancels the repository calls of a traversal that fails.
+ */
+public class RexViewHandlerTest
+{
+    private static final String platformName = "Platform1";
+    private static final String serverName   = "Metadata_Server";
+    private static final String methodName   = "RexViewHandlerTest";
+
+    private RexViewHandler                   handler = null;
+    private MetadataCollectionServicesClient client  = null;
+
+
+    /**
+     * Create a handler for one configured platform that uses a mock repository services client.
+     *
+     * @throws Exception problem setting up the mock
+     */
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        ResourceEndpointConfig platform = new ResourceEndpointConfig();
+
+        platform.setResourceCategory("Platform");
+        platform.setPlatformName(platformName);
+        platform.setPlatformRootURL("https://localhost:9443");
+
+        client  = mock(MetadataCollectionServicesClient.class);
+        handler = spy(new RexViewHandler(Collections.singletonList(platform)));
+
+        doReturn(client).when(handler).getRepositoryServicesClient(anyString(), anyString(), anyBoolean());
+    }
+
+
+    /**
+     * Release the handler's threads.
+     */
+    @AfterMethod
+    public void tearDown()
+    {
+        handler.shutdown();
+    }
+
+
+    /**
+     * Return a type gallery containing one entity type and one enum type.
+     *
+     * @param version version of the entity type
+     * @return type gallery
+     */
+    private TypeDefGallery getTypeDefGallery(long version)
+    {
+        EntityDef entityDef = new EntityDef();
+
+        entityDef.setGUID("referenceable-guid");
+        entityDef.setName("Referenceable");
+        entityDef.setVersion(version);
+
+        List<TypeDef> typeDefs = new ArrayList<>();
+
+        typeDefs.add(entityDef);
+
+        EnumDef enumDef = new EnumDef();
+
+        enumDef.setGUID("key-pattern-guid");
+        enumDef.setName("KeyPattern");
+        enumDef.setVersion(1);
+
+        List<AttributeTypeDef> attributeTypeDefs = new ArrayList<>();
+
+        attributeTypeDefs.add(enumDef);
+
+        TypeDefGallery typeDefGallery = new TypeDefGallery();
+
+        typeDefGallery.setTypeDefs(typeDefs);
+        typeDefGallery.setAttributeTypeDefs(attributeTypeDefs);
+
+        return typeDefGallery;
+    }
+
+
+    /**
+     * Test that every request retrieves the types with its own userId and that the type explorer is only
+     * rebuilt when the types change.
+     *
+     * @throws Exception problem calling the handler
+     */
+    @Test
+    public void testTypeExplorerReusedForUnchangedTypes() throws Exception
+    {
+        when(client.getAllTypes(anyString())).thenReturn(getTypeDefGallery(1));
+
+        TypeExplorer first  = handler.getTypeExplorer("user1", serverName, platformName, false, methodName);
+        TypeExplorer second = handler.getTypeExplorer("user2", serverName, platformName, false, methodName);
+
+        assertSame(second, first);
+        assertTrue(first.getEntities().containsKey("Referenceable"));
+        assertTrue(first.getEnums().containsKey("KeyPattern"));
+        verify(client, times(1)).getAllTypes("user1");
+        verify(client, times(1)).getAllTypes("user2");
+
+        /*
+         * The enterprise view of the same server has its own type explorer.
+         */
+        assertNotSame(handler.getTypeExplorer("user1", serverName, platformName, true, methodName), first);
+
+        when(client.getAllTypes(anyString())).thenReturn(getTypeDefGallery(2));
+
+        TypeExplorer third = handler.getTypeExplorer("user1", serverName, platformName, false, methodName);
+
+        assertNotSame(third, first);
+        assertSame(handler.getTypeExplorer("user2", serverName, platformName, false, methodName), third);
+    }
+
+
+    /**
+     * Test that a user who may not retrieve the types is not given the type explorer built for another user.
+     *
+     * @throws Exception problem calling the handler
+     */
+    @Test
+    public void testUnauthorizedUserNotServedFromCache() throws Exception
+    {
+        when(client.getAllTypes("user1")).thenReturn(getTypeDefGallery(1));
+        doThrow(UserNotAuthorizedException.class).when(client).getAllTypes("user2");
+
+        handler.getTypeExplorer("user1", serverName, platformName, false, methodName);
+
+        try
+        {
+            handler.getTypeExplorer("user2", serverName, platformName, false, methodName);
+            fail("Unauthorized user was given the type explorer");
+        }
+        catch (RexViewServiceException expected)
+        {
+            verify(client, times(1)).getAllTypes("user2");
+        }
+    }
+
+
+    /**
+     * Test that the neighborhood retrieval of a pre-traversal is cancelled when the types can not be retrieved.
+     *
+     * @throws Exception problem calling the handler
+     */
+    @Test
+    public void testNeighborhoodCancelledWhenTypesFail() throws Exception
+    {
+        CountDownLatch neighborhoodStarted     = new CountDownLatch(1);
+        CountDownLatch neighborhoodInterrupted = new CountDownLatch(1);
+
+        when(client.getEntityNeighborhood(anyString(), anyString(), any(), any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            neighborhoodStarted.countDown();
+
+            try
+            {
+                Thread.sleep(60000);
+            }
+            catch (InterruptedException interrupted)
+            {
+                neighborhoodInterrupted.countDown();
+            }
+
+            return new InstanceGraph();
+        });
+
+        when(client.getAllTypes(anyString())).thenAnswer(invocation -> {
+            assertTrue(neighborhoodStarted.await(10, TimeUnit.SECONDS));
+            throw new RepositoryErrorException(OMRSErrorCode.REMOTE_REPOSITORY_ERROR.getMessageDefinition("getAllTypes",
+                                                                                                         serverName,
+                                                                                                         "IOException",
+                                                                                                         "Connection reset"),
+                                               this.getClass().getName(),
+                                               methodName);
+        });
+
+        try
+        {
+            handler.preTraversal("user1", serverName, platformName, false, "entity-guid", 1, methodName);
+            fail("Pre-traversal succeeded without the types");
+        }
+        catch (RexViewServiceException expected)
+        {
+            assertTrue(neighborhoodInterrupted.await(10, TimeUnit.SECONDS), "Neighborhood retrieval was not cancelled");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * BenchmarkComparison compares two sets of benchmark results saved in the JMH JSON format (<code>-rf json</code>).
+ * It reports the change in score of each benchmark and exits with a non-zero return code if any benchmark is worse
+ * than the baseline by more than the threshold percentage and by more than the combined error of the two scores.
+ * <p>
+ * Usage: <code>BenchmarkComparison baseline.json candidate.json [thresholdPercentage]</code>
+ */
+public class BenchmarkComparison
+{
+    private static final double defaultThresholdPercentage = 10.0;
+
+
+    /**
+     * Compare the results files named on the command line.
+     *
+     * @param args baseline file, candidate file and optional threshold percentage
+     * @throws IOException unable to read the results
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2)
+        {
+            System.out.println("Usage: BenchmarkComparison baseline.json candidate.json [thresholdPercentage]");
+            System.exit(-1);
+        }
+
+        double thresholdPercentage = defaultThresholdPercentage;
+
+        if (args.length > 2)
+        {
+            thresholdPercentage = Double.parseDouble(args[2]);
+        }
+
+        Map<String, JsonNode> baseline  = readResults(new File(args[0]));
+        Map<String, JsonNode> candidate = readResults(new File(args[1]));
+
+        int regressions = 0;
+
+        System.out.println(String.format("%-100s %14s %14s %9s", "Benchmark", "Baseline", "Candidate", "Change"));
+
+        for (Map.Entry<String, JsonNode> result : candidate.entrySet())
+        {
+            JsonNode baselineResult = baseline.get(result.getKey());
+
+            if (baselineResult == null)
+            {
+                System.out.println(String.format("%-100s %14s %14.3f %9s", result.getKey(), "-", getScore(result.getValue()), "new"));
+                continue;
+            }
+
+            double baselineScore  = getScore(baselineResult);
+            double candidateScore = getScore(result.getValue());
+            double changePercentage = ((candidateScore - baselineScore) / baselineScore) * 100.0;
+            double combinedError = getScoreError(baselineResult) + getScoreError(result.getValue());
+
+            /*
+             * For throughput a lower score is worse; for the time-based modes a higher score is worse.
+             */
+            boolean higherIsBetter = "thrpt".equals(result.getValue().path("mode").asText());
+            double  worsePercentage = higherIsBetter ? -changePercentage : changePercentage;
+            boolean isRegression = (worsePercentage > thresholdPercentage) && (Math.abs(candidateScore - baselineScore) > combinedError);
+
+            if (isRegression)
+            {
+                regressions++;
+            }
+
+            System.out.println(String.format("%-100s %14.3f %14.3f %+8.1f%% %s",
+                                             result.getKey(),
+                                             baselineScore,
+                                             candidateScore,
+                                             changePercentage,
+                                             isRegression ? "REGRESSION" : ""));
+        }
+
+        System.out.println(regressions + " regression(s) beyond " + thresholdPercentage + "%");
+
+        if (regressions > 0)
+        {
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * Read a JMH results file into a map of results keyed by benchmark name and parameters.
+     *
+     * @param resultsFile file written by JMH with -rf json
+     * @return map of results
+     * @throws IOException unable to read the file
+     */
+    private static Map<String, JsonNode> readResults(File resultsFile) throws IOException
+    {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+
+        for (JsonNode result : new ObjectMapper().readTree(resultsFile))
+        {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+
+            while (params.hasNext())
+            {
+                Map.Entry<String, JsonNode> param = params.next();
+
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+
+            results.put(key.toString(), result);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the primary score of a result.
+     *
+     * @param result JMH result
+     * @return score
+     */
+    private static double getScore(JsonNode result)
+    {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+
+    /**
+     * Return the error of the primary score of a result.  JMH reports NaN when there are too few iterations to
+     * calculate it, in which case zero is used.
+     *
+     * @param result JMH result
+     * @return score error
+     */
+    private static double getScoreError(JsonNode result)
+    {
+        double scoreError = result.path("primaryMetric").path("scoreError").asDouble();
+
+        return Double.isNaN(scoreError) ? 0.0 : scoreError;
+    }
+}
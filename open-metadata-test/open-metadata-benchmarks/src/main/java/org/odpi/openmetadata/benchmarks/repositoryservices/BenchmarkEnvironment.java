@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryOMRSRepositoryConnectorProvider;
+import org.odpi.openmetadata.adminservices.configuration.properties.OpenMetadataExchangeRule;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.repositoryservices.archivemanager.OMRSArchiveManager;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventExchangeRule;
+import org.odpi.openmetadata.repositoryservices.eventmanagement.OMRSRepositoryEventManager;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSConnectorProvider;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentValidator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * BenchmarkEnvironment sets up the repository services components that the benchmarks exercise.  The repository
+ * content manager is loaded with the open metadata types archive, just as it is in an OMAG Server, and the instances
+ * are generated from those types so that the benchmarks run against realistic property sets.
+ */
+public class BenchmarkEnvironment
+{
+    static final String sourceName           = "Benchmarks";
+    static final String userId               = "benchmarkUser";
+    static final String metadataCollectionId = "benchmark-metadata-collection-id";
+
+    private final OMRSAuditLog                   auditLog;
+    private final OMRSRepositoryContentManager   contentManager;
+    private final OMRSRepositoryContentHelper    repositoryHelper;
+    private final OMRSRepositoryContentValidator repositoryValidator;
+    private final Map<String, TypeDef>           entityTypes = new TreeMap<>();
+
+
+    /**
+     * Load the open metadata types into a new repository content manager.
+     */
+    public BenchmarkEnvironment()
+    {
+        OMRSAuditLogDestination destination = new OMRSAuditLogDestination(sourceName,
+                                                                          "Benchmark",
+                                                                          "Egeria",
+                                                                          Collections.emptyList());
+
+        auditLog = new OMRSAuditLog(destination, OMRSAuditingComponent.REPOSITORY_CONTENT_MANAGER);
+        contentManager = new OMRSRepositoryContentManager(userId, auditLog);
+        repositoryHelper = new OMRSRepositoryContentHelper(contentManager);
+        repositoryValidator = new OMRSRepositoryContentValidator(contentManager);
+
+        new OMRSArchiveManager(null, auditLog).setLocalRepository(metadataCollectionId, contentManager, null);
+
+        for (TypeDef typeDef : repositoryHelper.getKnownTypeDefGallery().getTypeDefs())
+        {
+            if ((typeDef.getCategory() == TypeDefCategory.ENTITY_DEF) && (hasPrimitiveProperties(typeDef)))
+            {
+                entityTypes.put(typeDef.getName(), typeDef);
+            }
+        }
+    }
+
+
+    /**
+     * Return the repository helper.
+     *
+     * @return helper loaded with the open metadata types
+     */
+    public OMRSRepositoryContentHelper getRepositoryHelper()
+    {
+        return repositoryHelper;
+    }
+
+
+    /**
+     * Return the repository validator.
+     *
+     * @return validator loaded with the open metadata types
+     */
+    public OMRSRepositoryContentValidator getRepositoryValidator()
+    {
+        return repositoryValidator;
+    }
+
+
+    /**
+     * Return the names of the entity types that have primitive properties.
+     *
+     * @return sorted list of type names
+     */
+    public List<String> getEntityTypeNames()
+    {
+        return new ArrayList<>(entityTypes.keySet());
+    }
+
+
+    /**
+     * Return a local repository connector wrapping an in-memory repository that uses the types of this environment.
+     * The wrapper is the connector that the OMAG Server and the access services call, so the benchmarks include
+     * its validation and the outbound event processing.
+     *
+     * @return started connector
+     * @throws Exception unable to create the connector
+     */
+    public OMRSRepositoryConnector getLocalRepositoryConnector() throws Exception
+    {
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setConnectorProviderClassName(InMemoryOMRSRepositoryConnectorProvider.class.getName());
+
+        Connection connection = new Connection();
+        connection.setConnectorType(connectorType);
+
+        OMRSRepositoryEventExchangeRule exchangeRule = new OMRSRepositoryEventExchangeRule(OpenMetadataExchangeRule.ALL, null);
+        OMRSRepositoryEventManager      eventManager = new OMRSRepositoryEventManager("Benchmark Outbound",
+                                                                                      exchangeRule,
+                                                                                      repositoryValidator,
+                                                                                      auditLog);
+
+        LocalOMRSConnectorProvider connectorProvider = new LocalOMRSConnectorProvider(metadataCollectionId,
+                                                                                      connection,
+                                                                                      null,
+                                                                                      eventManager,
+                                                                                      contentManager,
+                                                                                      exchangeRule);
+
+        LocalOMRSRepositoryConnector repositoryConnector = (LocalOMRSRepositoryConnector) connectorProvider.getConnector(connection);
+
+        repositoryConnector.setAuditLog(auditLog);
+        repositoryConnector.setRepositoryHelper(repositoryHelper);
+        repositoryConnector.setRepositoryValidator(repositoryValidator);
+        repositoryConnector.setMetadataCollectionId(metadataCollectionId);
+
+        eventManager.start();
+        repositoryConnector.start();
+
+        return repositoryConnector;
+    }
+
+
+    /**
+     * Generate the properties of an instance of a type.  Every primitive attribute of the type and its supertypes
+     * is given a value that is distinct for each instance count.
+     *
+     * @param typeName name of the type
+     * @param instanceCount number used to make the values distinct
+     * @return instance properties
+     */
+    public InstanceProperties getInstanceProperties(String typeName, int instanceCount)
+    {
+        final String methodName = "getInstanceProperties";
+
+        Map<String, InstancePropertyValue> propertyMap = new HashMap<>();
+
+        List<TypeDefAttribute> attributes = repositoryHelper.getAllPropertiesForTypeDef(sourceName, entityTypes.get(typeName), methodName);
+
+        if (attributes != null)
+        {
+            for (TypeDefAttribute attribute : attributes)
+            {
+                if (attribute.getAttributeType().getCategory() == AttributeTypeDefCategory.PRIMITIVE)
+                {
+                    PrimitiveDef primitiveDef = (PrimitiveDef) attribute.getAttributeType();
+                    Object       value        = getPrimitiveValue(attribute.getAttributeName(), primitiveDef.getPrimitiveDefCategory(), instanceCount);
+
+                    if (value != null)
+                    {
+                        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+                        propertyValue.setPrimitiveDefCategory(primitiveDef.getPrimitiveDefCategory());
+                        propertyValue.setTypeGUID(primitiveDef.getGUID());
+                        propertyValue.setTypeName(primitiveDef.getName());
+                        propertyValue.setPrimitiveValue(value);
+                        propertyMap.put(attribute.getAttributeName(), propertyValue);
+                    }
+                }
+            }
+        }
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setInstanceProperties(propertyMap);
+
+        return properties;
+    }
+
+
+    /**
+     * Generate an entity of a type with all of its primitive properties set.
+     *
+     * @param typeName name of the type
+     * @param instanceCount number used to make the property values distinct
+     * @return new entity
+     * @throws Exception the type is not known
+     */
+    public EntityDetail getEntity(String typeName, int instanceCount) throws Exception
+    {
+        return repositoryHelper.getNewEntity(sourceName,
+                                             metadataCollectionId,
+                                             InstanceProvenanceType.LOCAL_COHORT,
+                                             userId,
+                                             typeName,
+                                             getInstanceProperties(typeName, instanceCount),
+                                             null);
+    }
+
+
+    /**
+     * Return whether a type has any primitive attributes, including those it inherits.
+     *
+     * @param typeDef type to test
+     * @return boolean flag
+     */
+    private boolean hasPrimitiveProperties(TypeDef typeDef)
+    {
+        final String methodName = "hasPrimitiveProperties";
+
+        List<TypeDefAttribute> attributes = repositoryHelper.getAllPropertiesForTypeDef(sourceName, typeDef, methodName);
+
+        if (attributes != null)
+        {
+            for (TypeDefAttribute attribute : attributes)
+            {
+                if (attribute.getAttributeType().getCategory() == AttributeTypeDefCategory.PRIMITIVE)
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return a value for a primitive attribute.
+     *
+     * @param attributeName name of the attribute
+     * @param category primitive type of the attribute
+     * @param instanceCount number used to make the value distinct
+     * @return value or null if the type is not supported
+     */
+    private Object getPrimitiveValue(String attributeName, PrimitiveDefCategory category, int instanceCount)
+    {
+        switch (category)
+        {
+            case OM_PRIMITIVE_TYPE_STRING:
+                return attributeName + "-" + instanceCount;
+            case OM_PRIMITIVE_TYPE_INT:
+                return instanceCount;
+            case OM_PRIMITIVE_TYPE_LONG:
+            case OM_PRIMITIVE_TYPE_DATE:
+                return (long) instanceCount;
+            case OM_PRIMITIVE_TYPE_SHORT:
+                return (short) instanceCount;
+            case OM_PRIMITIVE_TYPE_BOOLEAN:
+                return (instanceCount % 2) == 0;
+            case OM_PRIMITIVE_TYPE_FLOAT:
+                return (float) instanceCount;
+            case OM_PRIMITIVE_TYPE_DOUBLE:
+                return (double) instanceCount;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * InMemoryRepositoryBenchmark measures the local metadata collection backed by the in-memory repository, with the store loaded
+ * with generated instances of every open metadata entity type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryRepositoryBenchmark
+{
+    private static final String searchTypeName = "GlossaryTerm";
+
+    @Param({"10"})
+    public int instancesPerType;
+
+    private final AtomicInteger instanceCount = new AtomicInteger();
+
+    private OMRSRepositoryConnector repositoryConnector;
+    private OMRSMetadataCollection  metadataCollection;
+    private BenchmarkEnvironment    environment;
+    private List<String>            entityGUIDs;
+    private String                  searchTypeGUID;
+    private String                  searchValue;
+
+
+    /**
+     * Load the repository with the generated entities.
+     *
+     * @throws Exception unable to set up the repository
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        environment = new BenchmarkEnvironment();
+        repositoryConnector = environment.getLocalRepositoryConnector();
+        metadataCollection = repositoryConnector.getMetadataCollection();
+        entityGUIDs = new ArrayList<>();
+
+        OMRSRepositoryHelper repositoryHelper = repositoryConnector.getRepositoryHelper();
+
+        for (String typeName : environment.getEntityTypeNames())
+        {
+            String typeGUID = repositoryHelper.getTypeDefByName(BenchmarkEnvironment.sourceName, typeName).getGUID();
+
+            for (int i = 0; i < instancesPerType; i++)
+            {
+                EntityDetail entity = metadataCollection.addEntity(BenchmarkEnvironment.userId,
+                                                                   typeGUID,
+                                                                   environment.getInstanceProperties(typeName, i),
+                                                                   null,
+                                                                   null);
+                entityGUIDs.add(entity.getGUID());
+            }
+        }
+
+        instanceCount.set(instancesPerType);
+        searchTypeGUID = repositoryHelper.getTypeDefByName(BenchmarkEnvironment.sourceName, searchTypeName).getGUID();
+        searchValue = repositoryHelper.getExactMatchRegex("qualifiedName-" + (instancesPerType / 2));
+    }
+
+
+    /**
+     * Disconnect the repository.
+     *
+     * @throws Exception unable to disconnect
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        repositoryConnector.disconnect();
+    }
+
+
+    /**
+     * Retrieve an entity by GUID.
+     *
+     * @return entity
+     * @throws Exception repository error
+     */
+    @Benchmark
+    public EntityDetail getEntityDetail() throws Exception
+    {
+        String guid = entityGUIDs.get(ThreadLocalRandom.current().nextInt(entityGUIDs.size()));
+
+        return metadataCollection.getEntityDetail(BenchmarkEnvironment.userId, guid);
+    }
+
+
+    /**
+     * Search every entity for a property value.
+     *
+     * @return matching entities
+     * @throws Exception repository error
+     */
+    @Benchmark
+    public List<EntityDetail> findEntitiesByPropertyValue() throws Exception
+    {
+        return metadataCollection.findEntitiesByPropertyValue(BenchmarkEnvironment.userId,
+                                                              null,
+                                                              searchValue,
+                                                              0,
+                                                              null,
+                                                              null,
+                                                              null,
+                                                              null,
+                                                              null,
+                                                              100);
+    }
+
+
+    /**
+     * Retrieve a page of the entities of one type.
+     *
+     * @return entities
+     * @throws Exception repository error
+     */
+    @Benchmark
+    public List<EntityDetail> findEntitiesByType() throws Exception
+    {
+        return metadataCollection.findEntities(BenchmarkEnvironment.userId,
+                                               searchTypeGUID,
+                                               null,
+                                               null,
+                                               0,
+                                               null,
+                                               null,
+                                               null,
+                                               null,
+                                               null,
+                                               100);
+    }
+
+
+    /**
+     * Update the properties of an entity.  Each update adds a version to the history of the entity, so results are
+     * only comparable between runs with the same iteration settings.
+     *
+     * @return updated entity
+     * @throws Exception repository error
+     */
+    @Benchmark
+    public EntityDetail updateEntityProperties() throws Exception
+    {
+        String guid = entityGUIDs.get(ThreadLocalRandom.current().nextInt(entityGUIDs.size()));
+        EntityDetail entity = metadataCollection.getEntityDetail(BenchmarkEnvironment.userId, guid);
+
+        return metadataCollection.updateEntityProperties(BenchmarkEnvironment.userId,
+                                                         guid,
+                                                         environment.getInstanceProperties(entity.getType().getTypeDefName(),
+                                                                                           instanceCount.incrementAndGet()));
+    }
+
+
+    /**
+     * Add a new entity.  The store grows during the benchmark so results are only comparable between runs with the
+     * same iteration settings.
+     *
+     * @return new entity
+     * @throws Exception repository error
+     */
+    @Benchmark
+    public EntityDetail addEntity() throws Exception
+    {
+        return metadataCollection.addEntity(BenchmarkEnvironment.userId,
+                                            searchTypeGUID,
+                                            environment.getInstanceProperties(searchTypeName, instanceCount.incrementAndGet()),
+                                            null,
+                                            null);
+    }
+}
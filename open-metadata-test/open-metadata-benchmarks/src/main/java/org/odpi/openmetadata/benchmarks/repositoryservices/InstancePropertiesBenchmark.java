@@ -0,0 +1,111 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * InstancePropertiesBenchmark measures the copying and reading of instance properties, which happens each time an
+ * instance is cloned, updated, validated or sent in an event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstancePropertiesBenchmark
+{
+    private static final String methodName = "benchmark";
+
+    @Param({"Referenceable", "GlossaryTerm", "RelationalColumn"})
+    public String typeName;
+
+    private OMRSRepositoryContentHelper repositoryHelper;
+    private InstanceProperties          properties;
+
+
+    /**
+     * Generate the template properties.
+     */
+    @Setup
+    public void setUp()
+    {
+        BenchmarkEnvironment environment = new BenchmarkEnvironment();
+
+        repositoryHelper = environment.getRepositoryHelper();
+        properties = environment.getInstanceProperties(typeName, 1);
+    }
+
+
+    /**
+     * Take a deep copy of the properties.
+     *
+     * @return copy of the properties
+     */
+    @Benchmark
+    public InstanceProperties copyProperties()
+    {
+        return new InstanceProperties(properties);
+    }
+
+
+    /**
+     * Read every property value through the property name iterator.
+     *
+     * @param blackhole consumes the values
+     */
+    @Benchmark
+    public void iterateProperties(Blackhole blackhole)
+    {
+        Iterator<String> propertyNames = properties.getPropertyNames();
+
+        while (propertyNames.hasNext())
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyNames.next());
+
+            blackhole.consume(propertyValue.valueAsString());
+        }
+    }
+
+
+    /**
+     * Build a set of string properties one at a time through the repository helper.
+     *
+     * @return new properties
+     */
+    @Benchmark
+    public InstanceProperties addStringProperties()
+    {
+        InstanceProperties newProperties = null;
+
+        for (int i = 0; i < 10; i++)
+        {
+            newProperties = repositoryHelper.addStringPropertyToInstance(BenchmarkEnvironment.sourceName,
+                                                                         newProperties,
+                                                                         "property" + i,
+                                                                         "value" + i,
+                                                                         methodName);
+        }
+
+        return newProperties;
+    }
+}
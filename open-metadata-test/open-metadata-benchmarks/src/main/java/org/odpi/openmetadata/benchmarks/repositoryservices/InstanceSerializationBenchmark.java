@@ -0,0 +1,130 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventCodec;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataEventEncoding;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * InstanceSerializationBenchmark measures the conversion of entities to and from the strings that are sent over
+ * REST and the cohort topic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstanceSerializationBenchmark
+{
+    @Param({"Referenceable", "GlossaryTerm", "RelationalColumn"})
+    public String typeName;
+
+    @Param({"JSON", "COMPACT"})
+    public OpenMetadataEventEncoding encoding;
+
+    private ObjectMapper objectMapper;
+    private EntityDetail entity;
+    private String       entityString;
+    private OMRSEventV1  eventBean;
+    private String       eventString;
+
+
+    /**
+     * Generate the entity and the event that carries it.
+     *
+     * @throws Exception unable to generate the entity
+     */
+    @Setup
+    public void setUp() throws Exception
+    {
+        BenchmarkEnvironment environment = new BenchmarkEnvironment();
+
+        objectMapper = OpenMetadataEventCodec.getJSONMapper();
+        entity = environment.getEntity(typeName, 1);
+        entityString = objectMapper.writeValueAsString(entity);
+
+        OMRSEventOriginator originator = new OMRSEventOriginator();
+        originator.setMetadataCollectionId(BenchmarkEnvironment.metadataCollectionId);
+        originator.setServerName(BenchmarkEnvironment.sourceName);
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+        instanceEvent.setEventOriginator(originator);
+
+        eventBean = instanceEvent.getOMRSEventV1();
+        eventString = OpenMetadataEventCodec.encode(eventBean, encoding);
+    }
+
+
+    /**
+     * Serialize an entity to JSON, as the REST APIs do.
+     *
+     * @return JSON string
+     * @throws Exception unable to serialize
+     */
+    @Benchmark
+    public String serializeEntity() throws Exception
+    {
+        return objectMapper.writeValueAsString(entity);
+    }
+
+
+    /**
+     * Deserialize an entity from JSON, as the REST clients do.
+     *
+     * @return entity
+     * @throws Exception unable to deserialize
+     */
+    @Benchmark
+    public EntityDetail deserializeEntity() throws Exception
+    {
+        return objectMapper.readValue(entityString, EntityDetail.class);
+    }
+
+
+    /**
+     * Encode a new entity event, as the cohort topic connector does when it sends an event.
+     *
+     * @return event string
+     * @throws Exception unable to encode
+     */
+    @Benchmark
+    public String encodeEvent() throws Exception
+    {
+        return OpenMetadataEventCodec.encode(eventBean, encoding);
+    }
+
+
+    /**
+     * Decode a new entity event, as the cohort topic connector does when it receives an event.
+     *
+     * @return event bean
+     * @throws Exception unable to decode
+     */
+    @Benchmark
+    public OMRSEventBean decodeEvent() throws Exception
+    {
+        return OpenMetadataEventCodec.decode(eventString, OMRSEventBean.class);
+    }
+}
@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * RepositoryContentHelperBenchmark measures the construction and cloning of instances that the repository
+ * helper performs on every create, update and event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryContentHelperBenchmark
+{
+    @Param({"Referenceable", "GlossaryTerm", "RelationalColumn"})
+    public String typeName;
+
+    private OMRSRepositoryContentHelper repositoryHelper;
+    private InstanceProperties          properties;
+    private EntityDetail                entity;
+
+
+    /**
+     * Generate the template entity.
+     *
+     * @throws Exception unable to generate the entity
+     */
+    @Setup
+    public void setUp() throws Exception
+    {
+        BenchmarkEnvironment environment = new BenchmarkEnvironment();
+
+        repositoryHelper = environment.getRepositoryHelper();
+        properties = environment.getInstanceProperties(typeName, 1);
+        entity = environment.getEntity(typeName, 1);
+    }
+
+
+    /**
+     * Build a new entity from its type and properties, as addEntity does.
+     *
+     * @return new entity
+     * @throws Exception unknown type
+     */
+    @Benchmark
+    public EntityDetail getNewEntity() throws Exception
+    {
+        return repositoryHelper.getNewEntity(BenchmarkEnvironment.sourceName,
+                                             BenchmarkEnvironment.metadataCollectionId,
+                                             InstanceProvenanceType.LOCAL_COHORT,
+                                             BenchmarkEnvironment.userId,
+                                             typeName,
+                                             properties,
+                                             null);
+    }
+
+
+    /**
+     * Build an entity with no properties.
+     *
+     * @return new entity
+     * @throws Exception unknown type
+     */
+    @Benchmark
+    public EntityDetail getSkeletonEntity() throws Exception
+    {
+        return repositoryHelper.getSkeletonEntity(BenchmarkEnvironment.sourceName,
+                                                  BenchmarkEnvironment.metadataCollectionId,
+                                                  InstanceProvenanceType.LOCAL_COHORT,
+                                                  BenchmarkEnvironment.userId,
+                                                  typeName);
+    }
+
+
+    /**
+     * Take a deep copy of an entity, as the repositories do before returning or storing it.
+     *
+     * @return copy of the entity
+     */
+    @Benchmark
+    public EntityDetail cloneEntity()
+    {
+        return new EntityDetail(entity);
+    }
+
+
+    /**
+     * Apply new property values to an entity, as updateEntityProperties does.
+     *
+     * @return updated copy of the entity
+     */
+    @Benchmark
+    public EntityDetail incrementVersionAndSetProperties()
+    {
+        EntityDetail updatedEntity = new EntityDetail(entity);
+
+        updatedEntity.setProperties(properties);
+        return repositoryHelper.incrementVersion(BenchmarkEnvironment.userId, entity, updatedEntity);
+    }
+
+
+    /**
+     * Extract the unique properties of an entity, as the checks for duplicate qualified names do.
+     *
+     * @return unique properties
+     */
+    @Benchmark
+    public InstanceProperties getUniqueProperties()
+    {
+        return repositoryHelper.getUniqueProperties(BenchmarkEnvironment.sourceName,
+                                                    typeName,
+                                                    entity.getProperties());
+    }
+}
@@ -0,0 +1,143 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.benchmarks.repositoryservices;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * RepositoryContentValidatorBenchmark measures the property matching that repositories without a native query
+ * language (such as the in-memory repository) perform on every instance they scan during a search.
+ * Each benchmark operation matches one set of search criteria against one generated entity of every open metadata
+ * entity type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryContentValidatorBenchmark
+{
+    private static final String methodName = "benchmark";
+
+    @Param({"10"})
+    public int instancesPerType;
+
+    private OMRSRepositoryContentValidator repositoryValidator;
+    private List<EntityDetail>             entities;
+    private InstanceProperties             exactMatchProperties;
+    private String                         containsSearchCriteria;
+    private String                         exactPropertyValue;
+
+
+    /**
+     * Generate the entities and search criteria.
+     *
+     * @throws Exception unable to generate the entities
+     */
+    @Setup
+    public void setUp() throws Exception
+    {
+        BenchmarkEnvironment        environment      = new BenchmarkEnvironment();
+        OMRSRepositoryContentHelper repositoryHelper = environment.getRepositoryHelper();
+
+        repositoryValidator = environment.getRepositoryValidator();
+        entities = new ArrayList<>();
+
+        for (String typeName : environment.getEntityTypeNames())
+        {
+            for (int i = 0; i < instancesPerType; i++)
+            {
+                entities.add(environment.getEntity(typeName, i));
+            }
+        }
+
+        String matchValue = "qualifiedName-" + (instancesPerType / 2);
+
+        exactMatchProperties = repositoryHelper.addStringPropertyToInstance(BenchmarkEnvironment.sourceName,
+                                                                            null,
+                                                                            "qualifiedName",
+                                                                            repositoryHelper.getExactMatchRegex(matchValue),
+                                                                            methodName);
+        containsSearchCriteria = repositoryHelper.getContainsRegex("Name-" + (instancesPerType / 2));
+        exactPropertyValue = repositoryHelper.getExactMatchRegex(matchValue);
+    }
+
+
+    /**
+     * Match a single property (as findEntitiesByProperty does) against every entity.
+     *
+     * @param blackhole consumes the results
+     * @throws Exception invalid match properties
+     */
+    @Benchmark
+    public void verifyMatchingInstancePropertyValues(Blackhole blackhole) throws Exception
+    {
+        for (EntityDetail entity : entities)
+        {
+            blackhole.consume(repositoryValidator.verifyMatchingInstancePropertyValues(exactMatchProperties,
+                                                                                       entity,
+                                                                                       entity.getProperties(),
+                                                                                       MatchCriteria.ALL));
+        }
+    }
+
+
+    /**
+     * Match a regular expression against any string property (as findEntitiesByPropertyValue does) of every entity.
+     *
+     * @param blackhole consumes the results
+     * @throws Exception invalid search criteria
+     */
+    @Benchmark
+    public void verifyInstancePropertiesMatchSearchCriteria(Blackhole blackhole) throws Exception
+    {
+        for (EntityDetail entity : entities)
+        {
+            blackhole.consume(repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(BenchmarkEnvironment.sourceName,
+                                                                                              entity.getProperties(),
+                                                                                              containsSearchCriteria,
+                                                                                              methodName));
+        }
+    }
+
+
+    /**
+     * Match an exact value against any string property of every entity.
+     *
+     * @param blackhole consumes the results
+     * @throws Exception invalid search value
+     */
+    @Benchmark
+    public void verifyInstancePropertiesMatchPropertyValue(Blackhole blackhole) throws Exception
+    {
+        for (EntityDetail entity : entities)
+        {
+            blackhole.consume(repositoryValidator.verifyInstancePropertiesMatchPropertyValue(BenchmarkEnvironment.sourceName,
+                                                                                             entity.getProperties(),
+                                                                                             exactPropertyValue,
+                                                                                             methodName));
+        }
+    }
+}